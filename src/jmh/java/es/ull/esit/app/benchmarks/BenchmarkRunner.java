@@ -0,0 +1,187 @@
+package es.ull.esit.app.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the same arguments as the JMH
+ * launcher and, unless told otherwise, adds the GC profiler and writes the
+ * results as CSV to target/jmh-result.csv. When the run ends, the average time
+ * (ns/op) and the allocation (B/op) of every benchmark are compared with the
+ * baseline file.
+ *
+ * System properties:
+ * <ul>
+ * <li>benchmarks.baseline: baseline file (src/jmh/baseline.csv).</li>
+ * <li>benchmarks.threshold: relative increase reported as a regression (0.10).</li>
+ * <li>benchmarks.failOnRegression: exit with status 1 on a regression (false).</li>
+ * <li>benchmarks.updateBaseline: replace the baseline with the new results (false).</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+  /** Default file of the results. */
+  private static final String DEFAULT_RESULT = "target/jmh-result.csv";
+
+  /** Units compared with the baseline; the rest of the profiler rows are informative. */
+  private static final List<String> COMPARED_UNITS = List.of("ns/op", "B/op");
+
+  /**
+   * Runs the benchmarks and compares them with the baseline.
+   *
+   * @param args [String[]] JMH command line arguments.
+   * @throws Exception If the run fails.
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions command = new CommandLineOptions(args);
+    if (command.shouldHelp() || command.shouldList() || command.shouldListWithParams()
+        || command.shouldListProfilers() || command.shouldListResultFormats()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(command);
+    if (command.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (!command.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.CSV);
+    }
+    String result = command.getResult().orElse(DEFAULT_RESULT);
+    options.result(result);
+    Path resultFile = Paths.get(result);
+    if (resultFile.getParent() != null) {
+      Files.createDirectories(resultFile.getParent());
+    }
+
+    new Runner(options.build()).run();
+
+    Path baseline = Paths.get(System.getProperty("benchmarks.baseline", "src/jmh/baseline.csv"));
+    boolean regression = false;
+    if (Files.exists(baseline)) {
+      double threshold = Double.parseDouble(System.getProperty("benchmarks.threshold", "0.10"));
+      regression = compare(read(baseline), read(resultFile), threshold);
+    } else {
+      System.out.println("No baseline at " + baseline);
+    }
+    if (Boolean.getBoolean("benchmarks.updateBaseline")) {
+      Files.copy(resultFile, baseline, StandardCopyOption.REPLACE_EXISTING);
+      System.out.println("Baseline updated: " + baseline);
+    }
+    if (regression && Boolean.getBoolean("benchmarks.failOnRegression")) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Prints the comparison of the results with the baseline.
+   *
+   * @param baseline [Map<String, Double>] Scores of the baseline.
+   * @param current [Map<String, Double>] Scores of the run.
+   * @param threshold [double] Relative increase reported as a regression.
+   * @return [boolean] True if some score increased beyond the threshold.
+   */
+  static boolean compare(Map<String, Double> baseline, Map<String, Double> current, double threshold) {
+    boolean regression = false;
+    System.out.println();
+    System.out.printf("%-100s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+    for (Map.Entry<String, Double> entry : current.entrySet()) {
+      Double before = baseline.get(entry.getKey());
+      if (before == null) {
+        System.out.printf("%-100s %14s %14.1f %9s%n", entry.getKey(), "-", entry.getValue(), "new");
+        continue;
+      }
+      if (before < 1) {
+        // Nearly nothing allocated: a relative change is meaningless.
+        System.out.printf("%-100s %14.1f %14.1f %9s%n", entry.getKey(), before, entry.getValue(), "-");
+        continue;
+      }
+      double change = entry.getValue() / before - 1;
+      boolean worse = change > threshold;
+      regression |= worse;
+      System.out.printf("%-100s %14.1f %14.1f %+8.1f%%%s%n", entry.getKey(), before, entry.getValue(),
+          change * 100, worse ? " REGRESSION" : "");
+    }
+    return regression;
+  }
+
+  /**
+   * Reads the compared scores of a CSV file written by JMH.
+   *
+   * @param file [Path] The CSV file.
+   * @return [Map<String, Double>] Score of each benchmark, by name, parameters and unit.
+   * @throws IOException If the file cannot be read.
+   */
+  static Map<String, Double> read(Path file) throws IOException {
+    Map<String, Double> scores = new LinkedHashMap<>();
+    List<String> lines = Files.readAllLines(file);
+    if (lines.isEmpty()) {
+      return scores;
+    }
+    List<String> header = split(lines.get(0));
+    int benchmark = header.indexOf("Benchmark");
+    int score = header.indexOf("Score");
+    int unit = header.indexOf("Unit");
+    for (String line : lines.subList(1, lines.size())) {
+      List<String> fields = split(line);
+      if (fields.size() != header.size() || !COMPARED_UNITS.contains(fields.get(unit))) {
+        continue;
+      }
+      StringBuilder key = new StringBuilder(fields.get(benchmark));
+      for (int i = unit + 1; i < fields.size(); i++) {
+        if (!fields.get(i).isEmpty()) {
+          key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+        }
+      }
+      key.append(" [").append(fields.get(unit)).append(']');
+      try {
+        scores.put(key.toString(), Double.parseDouble(fields.get(score)));
+      } catch (NumberFormatException e) {
+        // Score not available (NaN written as text).
+      }
+    }
+    return scores;
+  }
+
+  /**
+   * Splits a CSV line, removing the quotes of the fields.
+   *
+   * @param line [String] The line.
+   * @return [List<String>] The fields.
+   */
+  private static List<String> split(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (char c : line.toCharArray()) {
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private BenchmarkRunner() {
+    // Entry point only.
+  }
+}
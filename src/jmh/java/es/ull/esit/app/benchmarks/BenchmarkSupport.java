@@ -0,0 +1,93 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.ull.esit.app.factory_method.FactoryRegistry;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.metaheuristics.generators.HillClimbing;
+import es.ull.esit.app.metaheuristics.generators.SimulatedAnnealing;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Setup shared by the benchmarks.
+ */
+final class BenchmarkSupport {
+
+  /**
+   * Binds in the FactoryRegistry the generator types that the library does not
+   * bind, so whole runs can be executed.
+   */
+  static void registerComponents() {
+    // Strategy.initialize() instantiates every GeneratorType; these two have no
+    // implementation in the library, so a hill climber stands in for them.
+    FactoryRegistry.register(GeneratorType.StochasticHillClimbing, HillClimbing::new);
+    FactoryRegistry.register(GeneratorType.HillClimbingDistance, HillClimbing::new);
+  }
+
+  /**
+   * Sets the cooling schedule of Simulated Annealing, which has no default.
+   */
+  static void configureGenerators() {
+    SimulatedAnnealing.setAlpha(0.93);
+    SimulatedAnnealing.setTinitial(250.0);
+    SimulatedAnnealing.setTfinal(41.66);
+    SimulatedAnnealing.setCountIterationsT(50);
+  }
+
+  /**
+   * Creates a population of random evaluated states.
+   *
+   * @param problem [Problem] The problem.
+   * @param size [int] Number of states.
+   * @return [List<State>] The population.
+   * @throws Exception If an evaluation fails.
+   */
+  static List<State> population(Problem problem, int size) throws Exception {
+    List<State> population = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      population.add(SyntheticProblem.randomState(problem));
+    }
+    return population;
+  }
+
+  /**
+   * Creates a state with the given evaluation, as the members of a Pareto front.
+   *
+   * @param id [int] Only variable of the code, to tell the states apart.
+   * @param objectives [double...] Value of each objective.
+   * @return [State] The state.
+   */
+  static State point(int id, double... objectives) {
+    List<Object> code = new ArrayList<>(1);
+    code.add(id);
+    State state = new State(code);
+    List<Double> evaluation = new ArrayList<>(objectives.length);
+    for (double objective : objectives) {
+      evaluation.add(objective);
+    }
+    state.setEvaluation(evaluation);
+    return state;
+  }
+
+  /**
+   * Creates a non-dominated front of two maximized objectives, with the points
+   * evenly spread on the line f1 + f2 = 1.
+   *
+   * @param size [int] Number of points.
+   * @return [List<State>] The front.
+   */
+  static List<State> front(int size) {
+    List<State> front = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      double f1 = (double) i / size;
+      front.add(point(i, f1, 1 - f1));
+    }
+    return front;
+  }
+
+  private BenchmarkSupport() {
+    // Utility class.
+  }
+}
@@ -0,0 +1,96 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.local_search.acceptation_type.Dominance;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.metaheuristics.generators.RandomSearch;
+
+/**
+ * Dominance.listDominance against Pareto archives of growing size.
+ *
+ * The archive is a front of two maximized objectives. Neither candidate changes
+ * it, so no copy is needed between invocations:
+ * <ul>
+ * <li>dominated: dominated only by the last member, so the whole archive is
+ * traversed before rejecting it.</li>
+ * <li>duplicate: non-dominated but equal to the last member, so the archive is
+ * traversed twice (dominance and duplicate check) before rejecting it.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DominanceBenchmark {
+
+  /** Number of solutions of the archive. */
+  @Param({"10", "100", "1000", "10000"})
+  public int archiveSize;
+
+  /** The archive. */
+  private List<es.ull.esit.app.problem.definition.State> archive;
+
+  /** Candidate dominated by the last member of the archive. */
+  private es.ull.esit.app.problem.definition.State dominated;
+
+  /** Candidate equal to the last member of the archive. */
+  private es.ull.esit.app.problem.definition.State duplicate;
+
+  /** The dominance checker. */
+  private final Dominance dominance = new Dominance();
+
+  /**
+   * Builds the archive and the candidates.
+   */
+  @Setup
+  public void setUp() {
+    SearchContext.global().clear();
+    RandomService.reseed(1L);
+    Strategy.getStrategy().setProblem(SyntheticProblem.ONE_MAX.create(1));
+    Strategy.getStrategy().setGenerator(new RandomSearch());
+    archive = BenchmarkSupport.front(archiveSize);
+    es.ull.esit.app.problem.definition.State last = archive.get(archiveSize - 1);
+    double f1 = last.getEvaluation().get(0);
+    double f2 = last.getEvaluation().get(1);
+    dominated = BenchmarkSupport.point(-1, f1 - 0.5 / archiveSize, f2 - 0.5 / archiveSize);
+    duplicate = BenchmarkSupport.point(archiveSize - 1, f1, f2);
+  }
+
+  /**
+   * Offers a dominated candidate.
+   *
+   * @return [boolean] Whether it was added (never).
+   */
+  @Benchmark
+  public boolean dominated() {
+    return dominance.listDominance(dominated, archive);
+  }
+
+  /**
+   * Offers a candidate already in the archive.
+   *
+   * @return [boolean] Whether it was added (never).
+   */
+  @Benchmark
+  public boolean duplicate() {
+    return dominance.listDominance(duplicate, archive);
+  }
+}
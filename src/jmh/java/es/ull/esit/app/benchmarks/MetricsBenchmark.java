@@ -0,0 +1,135 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.extension.Hipervolumen;
+import es.ull.esit.app.problem.extension.MetricasMultiobjetivo;
+
+/**
+ * Quality metrics of MetricasMultiobjetivo on fronts of two objectives. The
+ * current front is the true one with every other point moved a little, so
+ * half of it is not in the true front.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+  /** Number of solutions of each front. */
+  @Param({"10", "100", "1000"})
+  public int frontSize;
+
+  /** True front. */
+  private List<es.ull.esit.app.problem.definition.State> trueFront;
+
+  /** Current front. */
+  private List<es.ull.esit.app.problem.definition.State> currentFront;
+
+  /** Reference point of the hypervolume. */
+  private static final double[] REFERENCE = {1.1, 1.1};
+
+  /** True front as a matrix. */
+  private double[][] truePoints;
+
+  /** Current front as a matrix. */
+  private double[][] currentPoints;
+
+  /** The metrics. */
+  private final MetricasMultiobjetivo metrics = new MetricasMultiobjetivo();
+
+  /**
+   * Builds the fronts.
+   */
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(SyntheticProblem.INSTANCE_SEED);
+    trueFront = BenchmarkSupport.front(frontSize);
+    currentFront = new ArrayList<>(frontSize);
+    for (int i = 0; i < frontSize; i++) {
+      List<Double> evaluation = trueFront.get(i).getEvaluation();
+      double shift = (i % 2 == 0) ? 0 : random.nextDouble() / frontSize;
+      currentFront.add(BenchmarkSupport.point(i, evaluation.get(0) - shift, evaluation.get(1) - shift));
+    }
+    truePoints = MetricasMultiobjetivo.objetivos(trueFront, ProblemType.MINIMIZAR);
+    currentPoints = MetricasMultiobjetivo.objetivos(currentFront, ProblemType.MINIMIZAR);
+  }
+
+  /**
+   * Error rate of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double errorRate() {
+    return metrics.calcularTasaError(currentFront, trueFront);
+  }
+
+  /**
+   * Generational distance of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double generationalDistance() {
+    return metrics.calcularDistanciaGeneracional(currentFront, trueFront);
+  }
+
+  /**
+   * Spread of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double dispersion() {
+    return metrics.calcularDispersion(currentFront);
+  }
+
+  /**
+   * Exact hypervolume of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double hypervolume() {
+    return Hipervolumen.calcular(currentPoints, REFERENCE);
+  }
+
+  /**
+   * IGD of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double igd() {
+    return MetricasMultiobjetivo.igd(currentPoints, truePoints);
+  }
+
+  /**
+   * Additive epsilon of the current front.
+   *
+   * @return [double] The metric.
+   */
+  @Benchmark
+  public double epsilon() {
+    return MetricasMultiobjetivo.epsilonAditivo(currentPoints, truePoints);
+  }
+}
@@ -0,0 +1,270 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.config.tspdynamic.TSPState;
+import es.ull.esit.app.evolutionary_algorithms.complement.Crossover;
+import es.ull.esit.app.evolutionary_algorithms.complement.CrossoverType;
+import es.ull.esit.app.evolutionary_algorithms.complement.FatherSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.Mutation;
+import es.ull.esit.app.evolutionary_algorithms.complement.MutationType;
+import es.ull.esit.app.evolutionary_algorithms.complement.Replace;
+import es.ull.esit.app.evolutionary_algorithms.complement.ReplaceType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
+import es.ull.esit.app.factory_method.FactoryCrossover;
+import es.ull.esit.app.factory_method.FactoryFatherSelection;
+import es.ull.esit.app.factory_method.FactoryMutation;
+import es.ull.esit.app.factory_method.FactoryReplace;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+
+/**
+ * Operators of the evolutionary algorithms: crossovers, mutations, father
+ * selections and replacements, each one applied once per invocation to a
+ * population of ONE_MAX.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+  /** Seed of the random numbers. */
+  private static final long SEED = 1L;
+
+  /** Crossover probability. */
+  private static final double PC = 1.0;
+
+  /** Mutation probability. */
+  private static final double PM = 1.0;
+
+  /**
+   * Population shared by the operators, kept in the global context.
+   */
+  @State(Scope.Thread)
+  public static class Population {
+
+    /** Number of variables of each individual. */
+    @Param({"100"})
+    public int size;
+
+    /** Number of individuals. */
+    @Param({"100"})
+    public int individuals;
+
+    /** The problem. */
+    Problem problem;
+
+    /** The individuals. */
+    List<es.ull.esit.app.problem.definition.State> states;
+
+    /** Individual used by the next invocation. */
+    private int next;
+
+    /**
+     * Builds the population.
+     *
+     * @throws Exception If an evaluation fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+      SearchContext.global().clear();
+      RandomService.reseed(SEED);
+      problem = SyntheticProblem.ONE_MAX.create(size);
+      Strategy.getStrategy().setProblem(problem);
+      states = BenchmarkSupport.population(problem, individuals);
+    }
+
+    /**
+     * Gets an individual of the population, a different one on each call.
+     *
+     * @return [State] The individual.
+     */
+    es.ull.esit.app.problem.definition.State nextState() {
+      next = (next + 1) % states.size();
+      return states.get(next);
+    }
+  }
+
+  /**
+   * Crossover under test.
+   */
+  @State(Scope.Thread)
+  public static class CrossoverOperator {
+
+    /** Type of the crossover. */
+    @Param({"ONE_POINT_CROSSOVER", "UNIFORM_CROSSOVER"})
+    public String type;
+
+    /** The crossover. */
+    Crossover operator;
+
+    /**
+     * Creates the crossover.
+     *
+     * @throws Exception If the factory fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+      operator = new FactoryCrossover().createCrossover(CrossoverType.valueOf(type));
+    }
+  }
+
+  /**
+   * Mutation under test, with the individual it mutates.
+   */
+  @State(Scope.Thread)
+  public static class MutationOperator {
+
+    /** Type of the mutation. */
+    @Param({"ONE_POINT_MUTATION", "TOW_POINTS_MUTATION", "AIO_MUTATION"})
+    public String type;
+
+    /** The mutation. */
+    Mutation operator;
+
+    /** Individual mutated on every invocation. */
+    es.ull.esit.app.problem.definition.State target;
+
+    /**
+     * Creates the mutation and its individual. AIO works on TSP codes, so its
+     * individual is a tour of TSPState.
+     *
+     * @param population [Population] The population.
+     * @throws Exception If the factory fails.
+     */
+    @Setup
+    public void setUp(Population population) throws Exception {
+      MutationType mutationType = MutationType.valueOf(type);
+      operator = new FactoryMutation().createMutation(mutationType);
+      if (mutationType == MutationType.AIO_MUTATION) {
+        List<Object> tour = new ArrayList<>(population.size);
+        for (int i = 0; i < population.size; i++) {
+          TSPState city = new TSPState();
+          city.setIdCity(i);
+          city.setValue(RandomService.current().getGenerator().nextInt(population.size));
+          tour.add(city);
+        }
+        target = new es.ull.esit.app.problem.definition.State(tour);
+      } else {
+        target = (es.ull.esit.app.problem.definition.State) population.states.get(0).getCopy();
+      }
+    }
+  }
+
+  /**
+   * Father selection under test.
+   */
+  @State(Scope.Thread)
+  public static class SelectionOperator {
+
+    /** Type of the selection. */
+    @Param({"ROULETTE_SELECTION", "TRUNCATION_SELECTION", "TOURNAMENT_SELECTION", "STOCHASTIC_UNIVERSAL_SAMPLING",
+        "RANK_SELECTION", "BOLTZMANN_SELECTION"})
+    public String type;
+
+    /** The selection. */
+    FatherSelection operator;
+
+    /**
+     * Creates the selection.
+     *
+     * @throws Exception If the factory fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+      operator = new FactoryFatherSelection().createSelectFather(SelectionType.valueOf(type));
+    }
+  }
+
+  /**
+   * Replacement under test.
+   */
+  @State(Scope.Thread)
+  public static class ReplaceOperator {
+
+    /** Type of the replacement. */
+    @Param({"STEADY_STATE_REPLACE", "GENERATIONAL_REPLACE"})
+    public String type;
+
+    /** The replacement. */
+    Replace operator;
+
+    /**
+     * Creates the replacement.
+     *
+     * @throws Exception If the factory fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+      operator = new FactoryReplace().createReplace(ReplaceType.valueOf(type));
+    }
+  }
+
+  /**
+   * Crosses two individuals of the population.
+   *
+   * @param population [Population] The population.
+   * @param crossover [CrossoverOperator] The crossover.
+   * @return [State] The offspring.
+   */
+  @Benchmark
+  public es.ull.esit.app.problem.definition.State crossover(Population population, CrossoverOperator crossover) {
+    return crossover.operator.crossover(population.nextState(), population.nextState(), PC);
+  }
+
+  /**
+   * Mutates an individual in place.
+   *
+   * @param mutation [MutationOperator] The mutation and its individual.
+   * @return [State] The mutated individual.
+   */
+  @Benchmark
+  public es.ull.esit.app.problem.definition.State mutation(MutationOperator mutation) {
+    return mutation.operator.mutation(mutation.target, PM);
+  }
+
+  /**
+   * Selects half of the population as fathers.
+   *
+   * @param population [Population] The population.
+   * @param selection [SelectionOperator] The selection.
+   * @return [List<State>] The fathers.
+   */
+  @Benchmark
+  public List<es.ull.esit.app.problem.definition.State> selection(Population population,
+      SelectionOperator selection) {
+    return selection.operator.selection(population.states, population.individuals / 2);
+  }
+
+  /**
+   * Offers an individual of the population to the replacement.
+   *
+   * @param population [Population] The population.
+   * @param replace [ReplaceOperator] The replacement.
+   * @return [List<State>] The population after the replacement.
+   * @throws Exception If the replacement fails.
+   */
+  @Benchmark
+  public List<es.ull.esit.app.problem.definition.State> replace(Population population, ReplaceOperator replace)
+      throws Exception {
+    return replace.operator.replace(population.nextState(), population.states);
+  }
+}
@@ -0,0 +1,83 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.evolutionary_algorithms.complement.ProbabilisticSampling;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+
+/**
+ * ProbabilisticSampling.sampling, the sampling step of the distribution
+ * estimation algorithm, from a set of fathers of ONE_MAX (2 values per
+ * variable) or SPHERE (100 values per variable). The same fathers are used in
+ * every call, so after the first one the model is only sampled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamplingBenchmark {
+
+  /** Problem of the fathers. */
+  @Param({"ONE_MAX", "SPHERE"})
+  public String problem;
+
+  /** Number of variables of the problem. */
+  @Param({"50", "5000"})
+  public int size;
+
+  /** Number of fathers. */
+  @Param({"50"})
+  public int fathers;
+
+  /** Number of individuals sampled. */
+  @Param({"50"})
+  public int individuals;
+
+  /** The fathers. */
+  private List<es.ull.esit.app.problem.definition.State> parents;
+
+  /** The sampling. */
+  private final ProbabilisticSampling sampling = new ProbabilisticSampling();
+
+  /**
+   * Builds the fathers.
+   *
+   * @throws Exception If an evaluation fails.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    SearchContext.global().clear();
+    RandomService.reseed(1L);
+    Problem instance = SyntheticProblem.valueOf(problem).create(size);
+    Strategy.getStrategy().setProblem(instance);
+    parents = BenchmarkSupport.population(instance, fathers);
+  }
+
+  /**
+   * Samples a new set of individuals.
+   *
+   * @return [List<State>] The sampled individuals.
+   */
+  @Benchmark
+  public List<es.ull.esit.app.problem.definition.State> sampling() {
+    return sampling.sampling(parents, individuals);
+  }
+}
@@ -0,0 +1,99 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.Problem;
+
+/**
+ * Whole runs of Strategy.executeStrategy, one per generator and problem.
+ *
+ * Every invocation is a complete run of {@link #ITERATIONS} iterations inside
+ * its own SearchContext and with the same seed, so all the invocations do the
+ * same work. The population generators are not measured here:
+ * GeneticAlgorithm, EvolutionStrategies, ParticleSwarmOptimization and
+ * MultiGenerator have no setters for their selection and replace types, and
+ * DistributionEstimationAlgorithm, which does have them, has no setter for its
+ * truncation, so it selects no fathers to sample from. Their operators are
+ * measured in {@link OperatorBenchmark} and {@link SamplingBenchmark} instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+  /** Iterations of each run. */
+  private static final int ITERATIONS = 200;
+
+  /** Neighbours generated per iteration. */
+  private static final int OPERATOR_NUMBER = 5;
+
+  /** Seed of every run. */
+  private static final long SEED = 1L;
+
+  /** Generator of the run. */
+  @Param({"HillClimbing", "TabuSearch", "SimulatedAnnealing", "RandomSearch", "LimitThreshold",
+      "HillClimbingRestart", "MultiobjectiveTabuSearch", "MultiobjectiveStochasticHillClimbing",
+      "MultiCaseSimulatedAnnealing", "MultiobjectiveHillClimbingRestart"})
+  public String generator;
+
+  /** Problem of the run. */
+  @Param({"ONE_MAX", "SPHERE", "TSP"})
+  public String problem;
+
+  /** Number of variables of the problem. */
+  @Param({"50"})
+  public int size;
+
+  /** Generator type of the run. */
+  private GeneratorType type;
+
+  /** Problem instance, shared by every run. */
+  private Problem instance;
+
+  /**
+   * Registers the components and builds the problem.
+   */
+  @Setup
+  public void setUp() {
+    BenchmarkSupport.registerComponents();
+    type = GeneratorType.valueOf(generator);
+    instance = SyntheticProblem.valueOf(problem).create(size);
+  }
+
+  /**
+   * Executes a whole run.
+   *
+   * @return [Strategy] The Strategy of the run, so it is not eliminated.
+   * @throws Exception If the run fails.
+   */
+  @Benchmark
+  public Strategy executeStrategy() throws Exception {
+    return new SearchContext().call(() -> {
+      RandomService.reseed(SEED);
+      BenchmarkSupport.configureGenerators();
+      Strategy strategy = Strategy.getStrategy();
+      strategy.setProblem(instance);
+      strategy.executeStrategy(ITERATIONS, ITERATIONS, OPERATOR_NUMBER, type);
+      return strategy;
+    });
+  }
+}
@@ -0,0 +1,89 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheuristics.generators.SwarmEngine;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+
+/**
+ * SwarmEngine.step, one synchronous step of a swarm over a continuous sphere
+ * of 1000 variables: the move of every particle, the evaluation of the swarm
+ * and the update of the bests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwarmBenchmark {
+
+  /** Number of particles. */
+  @Param({"50", "500"})
+  public int particles;
+
+  /** Number of variables of the problem. */
+  @Param({"1000"})
+  public int dimensions;
+
+  /** The swarm. */
+  private SwarmEngine engine;
+
+  /**
+   * Builds and initializes the swarm.
+   *
+   * @throws Exception If an evaluation fails.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    SearchContext.global().clear();
+    RandomService.reseed(1L);
+    Problem problem = new Problem();
+    problem.setTypeProblem(ProblemType.MINIMIZAR);
+    ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(new ObjetiveFunction() {
+      @Override
+      public Double evaluation(es.ull.esit.app.problem.definition.State state) {
+        double sum = 0;
+        for (int i = 0; i < state.size(); i++) {
+          double x = state.getDouble(i);
+          sum += x * x;
+        }
+        return sum;
+      }
+    });
+    problem.setFunction(functions);
+    engine = new SwarmEngine(problem, 1, particles, dimensions);
+    engine.setBounds(-5.12, 5.12);
+    engine.initialize();
+  }
+
+  /**
+   * Runs one step of the swarm.
+   *
+   * @return [double] The best evaluation, so the step is not removed.
+   * @throws Exception If an evaluation fails.
+   */
+  @Benchmark
+  public double step() throws Exception {
+    engine.step();
+    return engine.getBestFitness();
+  }
+}
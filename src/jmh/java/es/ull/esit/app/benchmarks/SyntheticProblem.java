@@ -0,0 +1,305 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.Codification;
+import es.ull.esit.app.problem.definition.DeltaObjetiveFunction;
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.Move;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Operator;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import es.ull.esit.app.problem_operators.MutationOperator;
+
+/**
+ * Synthetic problems used by the benchmarks. Every problem is coded with
+ * integers, so all the generators and operators of the library can work on
+ * them:
+ * <ul>
+ * <li>ONE_MAX: bits, maximize the number of ones.</li>
+ * <li>SPHERE: values in [0, 100), minimize the squared distance to the centre.</li>
+ * <li>TSP: permutation of cities, minimize the length of the closed tour.</li>
+ * </ul>
+ * The minimization objectives are negated and every problem is maximized, since
+ * the smaller candidate of the local search returns no state when the first
+ * neighbour is the best one.
+ * ONE_MAX and SPHERE are separable and support incremental evaluation.
+ */
+public enum SyntheticProblem {
+
+  /** Maximize the number of ones of a bit string. */
+  ONE_MAX {
+    @Override
+    public Problem create(int size) {
+      return problem(ProblemType.MAXIMIZAR, new RangeCodification(size, 2), new OneMaxFunction(),
+          new MutationOperator(), 2);
+    }
+  },
+
+  /** Minimize the sphere function around the centre of the domain. */
+  SPHERE {
+    @Override
+    public Problem create(int size) {
+      return problem(ProblemType.MAXIMIZAR, new RangeCodification(size, SPHERE_VALUES),
+          new SphereFunction(), new MutationOperator(), SPHERE_VALUES);
+    }
+  },
+
+  /** Minimize the length of a tour through random cities. */
+  TSP {
+    @Override
+    public Problem create(int size) {
+      return problem(ProblemType.MAXIMIZAR, new RangeCodification(size, size), new TourFunction(size),
+          new SwapOperator(size), size);
+    }
+  };
+
+  /** Number of values of each variable of SPHERE. */
+  static final int SPHERE_VALUES = 100;
+
+  /** Seed of the instances, so every run uses the same cities. */
+  static final long INSTANCE_SEED = 20_240_501L;
+
+  /**
+   * Creates an instance of the problem.
+   *
+   * @param size [int] Number of variables (bits, coordinates or cities).
+   * @return [Problem] The configured problem.
+   */
+  public abstract Problem create(int size);
+
+  /**
+   * Creates a random state of the problem, already evaluated.
+   *
+   * @param problem [Problem] The problem.
+   * @return [State] The evaluated state.
+   * @throws Exception If the evaluation fails.
+   */
+  public static State randomState(Problem problem) throws Exception {
+    State state = problem.getOperator().generateRandomState(1).get(0);
+    problem.evaluate(state);
+    return state;
+  }
+
+  /**
+   * Builds a problem from its parts.
+   *
+   * @param type [ProblemType] Maximization or minimization.
+   * @param codification [Codification] The codification.
+   * @param function [ObjetiveFunction] The objective function.
+   * @param operator [Operator] The neighbourhood operator.
+   * @param possibleValues [int] Number of values of each variable.
+   * @return [Problem] The problem.
+   */
+  private static Problem problem(ProblemType type, Codification codification, ObjetiveFunction function,
+      Operator operator, int possibleValues) {
+    Problem problem = new Problem();
+    function.setTypeProblem(type);
+    function.setWeight(1);
+    List<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(function);
+    problem.setFunction(functions);
+    problem.setTypeProblem(type);
+    problem.setCodification(codification);
+    problem.setOperator(operator);
+    problem.setPossibleValue(possibleValues);
+    return problem;
+  }
+
+  /**
+   * Codification of a fixed number of integer variables with values in [0, values).
+   */
+  static final class RangeCodification extends Codification {
+
+    /** Number of variables. */
+    private final int variables;
+
+    /** Number of values of each variable. */
+    private final int values;
+
+    /**
+     * Constructor.
+     *
+     * @param variables [int] Number of variables.
+     * @param values [int] Number of values of each variable.
+     */
+    RangeCodification(int variables, int values) {
+      this.variables = variables;
+      this.values = values;
+    }
+
+    @Override
+    public boolean validState(State state) {
+      return state.size() == variables;
+    }
+
+    @Override
+    public Object getVariableAleatoryValue(int key) {
+      return RandomService.current().getGenerator().nextInt(values);
+    }
+
+    @Override
+    public int getAleatoryKey() {
+      return RandomService.current().getGenerator().nextInt(variables);
+    }
+
+    @Override
+    public int getVariableCount() {
+      return variables;
+    }
+
+    @Override
+    public State newState(int length) {
+      return new IntState(length);
+    }
+  }
+
+  /**
+   * Number of ones of the code.
+   */
+  static final class OneMaxFunction extends ObjetiveFunction implements DeltaObjetiveFunction {
+
+    @Override
+    public Double evaluation(State state) {
+      double ones = 0;
+      for (int i = 0; i < state.size(); i++) {
+        ones += state.getInt(i);
+      }
+      return ones;
+    }
+
+    @Override
+    public Double deltaEvaluation(State state, double parentValue, Move move) {
+      return parentValue - ((Number) move.getOldValue()).intValue() + ((Number) move.getNewValue()).intValue();
+    }
+  }
+
+  /**
+   * Squared distance of the code to the centre of the domain, negated.
+   */
+  static final class SphereFunction extends ObjetiveFunction implements DeltaObjetiveFunction {
+
+    @Override
+    public Double evaluation(State state) {
+      double sum = 0;
+      for (int i = 0; i < state.size(); i++) {
+        sum -= term(state.getInt(i));
+      }
+      return sum;
+    }
+
+    @Override
+    public Double deltaEvaluation(State state, double parentValue, Move move) {
+      return parentValue + term(((Number) move.getOldValue()).intValue())
+          - term(((Number) move.getNewValue()).intValue());
+    }
+
+    /**
+     * Term of a variable.
+     *
+     * @param value [int] Value of the variable.
+     * @return [double] Its contribution to the objective.
+     */
+    private static double term(int value) {
+      double offset = value - SPHERE_VALUES / 2.0;
+      return offset * offset;
+    }
+  }
+
+  /**
+   * Length of the closed tour through random cities of the unit square, negated.
+   */
+  static final class TourFunction extends ObjetiveFunction {
+
+    /** Distance between every pair of cities. */
+    private final double[][] distances;
+
+    /**
+     * Constructor. Places the cities with a fixed seed.
+     *
+     * @param cities [int] Number of cities.
+     */
+    TourFunction(int cities) {
+      SplittableRandom random = new SplittableRandom(INSTANCE_SEED);
+      double[] x = new double[cities];
+      double[] y = new double[cities];
+      for (int i = 0; i < cities; i++) {
+        x[i] = random.nextDouble();
+        y[i] = random.nextDouble();
+      }
+      distances = new double[cities][cities];
+      for (int i = 0; i < cities; i++) {
+        for (int j = 0; j < cities; j++) {
+          distances[i][j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+        }
+      }
+    }
+
+    @Override
+    public Double evaluation(State state) {
+      double length = 0;
+      int n = state.size();
+      for (int i = 0; i < n; i++) {
+        length -= distances[state.getInt(i)][state.getInt((i + 1) % n)];
+      }
+      return length;
+    }
+  }
+
+  /**
+   * Operator that swaps two cities of the tour.
+   */
+  static final class SwapOperator extends Operator {
+
+    /** Number of cities. */
+    private final int cities;
+
+    /**
+     * Constructor.
+     *
+     * @param cities [int] Number of cities.
+     */
+    SwapOperator(int cities) {
+      this.cities = cities;
+    }
+
+    @Override
+    public List<State> generatedNewState(State stateCurrent, Integer operatornumber) {
+      List<State> neighbours = new ArrayList<>(operatornumber);
+      for (int n = 0; n < operatornumber; n++) {
+        State state = (State) stateCurrent.getCopy();
+        int i = RandomService.current().getGenerator().nextInt(cities);
+        int j = RandomService.current().getGenerator().nextInt(cities);
+        Object city = state.getValue(i);
+        state.setValue(i, state.getValue(j));
+        state.setValue(j, city);
+        neighbours.add(state);
+      }
+      return neighbours;
+    }
+
+    @Override
+    public List<State> generateRandomState(Integer operatornumber) {
+      List<State> states = new ArrayList<>(operatornumber);
+      for (int n = 0; n < operatornumber; n++) {
+        List<Object> tour = new ArrayList<>(cities);
+        for (int i = 0; i < cities; i++) {
+          tour.add(i);
+        }
+        for (int i = cities - 1; i > 0; i--) {
+          int j = RandomService.current().getGenerator().nextInt(i + 1);
+          Object city = tour.get(i);
+          tour.set(i, tour.get(j));
+          tour.set(j, city);
+        }
+        states.add(new State(tour));
+      }
+      return states;
+    }
+  }
+}
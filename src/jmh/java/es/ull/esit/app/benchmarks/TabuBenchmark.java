@@ -0,0 +1,95 @@
+package es.ull.esit.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import es.ull.esit.app.local_search.complement.TabuMemory;
+import es.ull.esit.app.local_search.complement.TabuSolutions;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+
+/**
+ * TabuSolutions.filterNeighborhood with a full tabu list. One neighbour out of
+ * four is tabu; the neighbourhood is copied on every invocation because the
+ * filter removes the tabu neighbours from the given list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TabuBenchmark {
+
+  /** Number of tabu solutions. */
+  @Param({"10", "100", "1000"})
+  public int tabuSize;
+
+  /** Number of neighbours. */
+  @Param({"20"})
+  public int neighbours;
+
+  /** Number of variables of the problem. */
+  @Param({"100"})
+  public int size;
+
+  /** The neighbourhood. */
+  private List<es.ull.esit.app.problem.definition.State> neighbourhood;
+
+  /** Solution the neighbourhood was generated from. */
+  private es.ull.esit.app.problem.definition.State reference;
+
+  /** The filter. */
+  private final TabuSolutions tabuSolutions = new TabuSolutions();
+
+  /**
+   * Fills the tabu list and builds the neighbourhood.
+   *
+   * @throws Exception If an evaluation fails.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    SearchContext.global().clear();
+    RandomService.reseed(1L);
+    Problem problem = SyntheticProblem.ONE_MAX.create(size);
+    Strategy.getStrategy().setProblem(problem);
+    reference = SyntheticProblem.randomState(problem);
+    neighbourhood = problem.getOperator().generatedNewState(reference, neighbours);
+
+    TabuSolutions.maxelements = tabuSize;
+    TabuMemory tabu = TabuSolutions.getListTabu();
+    for (int i = 0; i < neighbours; i += 4) {
+      tabu.offer(neighbourhood.get(i), tabuSize);
+    }
+    for (es.ull.esit.app.problem.definition.State state : BenchmarkSupport.population(problem, tabuSize)) {
+      if (tabu.size() < tabuSize) {
+        tabu.offer(state, tabuSize);
+      }
+    }
+  }
+
+  /**
+   * Filters a copy of the neighbourhood.
+   *
+   * @return [List<State>] The allowed neighbours.
+   */
+  @Benchmark
+  public List<es.ull.esit.app.problem.definition.State> filterNeighborhood() {
+    return tabuSolutions.filterNeighborhood(reference, new ArrayList<>(neighbourhood));
+  }
+}
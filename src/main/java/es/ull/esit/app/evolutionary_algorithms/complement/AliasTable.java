@@ -0,0 +1,96 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Discrete distribution sampled with the alias method of Walker and Vose. The
+ * table is built in O(n) from the weights and every draw takes O(1): one
+ * uniform column and one biased coin.
+ */
+public final class AliasTable {
+
+  /** Probability of keeping each column instead of taking its alias. */
+  private final double[] probability;
+
+  /** Alias of each column. */
+  private final int[] alias;
+
+  /**
+   * Constructor.
+   *
+   * @param weights [double[]] Non-negative weights, not all of them zero.
+   */
+  public AliasTable(double[] weights) {
+    int n = weights.length;
+    double total = 0;
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Los pesos deben ser finitos y no negativos: " + weight);
+      }
+      total += weight;
+    }
+    if (!(total > 0)) {
+      throw new IllegalArgumentException("Al menos un peso debe ser positivo");
+    }
+    probability = new double[n];
+    alias = new int[n];
+
+    // Pilas de columnas por debajo y por encima de la media, en arrays.
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+    // Lo que queda vale 1 salvo por errores de redondeo.
+    while (largeCount > 0) {
+      int more = large[--largeCount];
+      probability[more] = 1;
+      alias[more] = more;
+    }
+    while (smallCount > 0) {
+      int less = small[--smallCount];
+      probability[less] = 1;
+      alias[less] = less;
+    }
+  }
+
+  /**
+   * Gets the number of outcomes.
+   *
+   * @return [int] The number of weights of the table.
+   */
+  public int size() {
+    return alias.length;
+  }
+
+  /**
+   * Draws an outcome.
+   *
+   * @param random [RandomGenerator] Source of the random numbers.
+   * @return [int] Position of the drawn weight.
+   */
+  public int sample(RandomGenerator random) {
+    int column = random.nextInt(alias.length);
+    return (random.nextDouble() < probability[column]) ? column : alias[column];
+  }
+}
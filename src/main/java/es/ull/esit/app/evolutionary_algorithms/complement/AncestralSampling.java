@@ -0,0 +1,44 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.List;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Sampling of the new states from the model of a
+ * {@link MultivariateDistribution}: each variable is drawn after its parents,
+ * with the values that the fathers with the same values in the parents take.
+ * Without a multivariate distribution it samples like
+ * {@link ProbabilisticSampling}.
+ */
+public class AncestralSampling extends ProbabilisticSampling {
+
+  /**
+   * Tells whether the sampling needs the distribution of the algorithm.
+   *
+   * @return [boolean] Always true.
+   */
+  @Override
+  public boolean usesDistribution() {
+    return true;
+  }
+
+  /**
+   * Samples new states with the model learned by the distribution from the
+   * fathers.
+   *
+   * @param fathers [List<State>] the list of parent states.
+   * @param countInd [int] the number of new states to generate.
+   * @param distribution [Distribution] the distribution of the algorithm.
+   * @return [List<State>] the list of newly generated states.
+   */
+  @Override
+  public List<State> sampling(List<State> fathers, int countInd, Distribution distribution) {
+    if (!(distribution instanceof MultivariateDistribution)) {
+      return sampling(fathers, countInd);
+    }
+    DependencyModel model = ((MultivariateDistribution) distribution).model(fathers);
+    return toStates(model.sampleIndividuals(countInd, RandomService.generator()), fathers.get(0));
+  }
+}
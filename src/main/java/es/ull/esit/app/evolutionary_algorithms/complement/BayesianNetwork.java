@@ -0,0 +1,296 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Bayesian network with a bounded number of parents per variable, as in the
+ * BOA of Pelikan, Goldberg and Cantú-Paz. The network is built greedily: the
+ * arc that most improves the BIC score of the selected states is added while
+ * some arc improves it and does not close a cycle. The parents of each
+ * variable are only looked for among the variables with the highest mutual
+ * information with it, so each step only scores a few families.
+ */
+public class BayesianNetwork extends MultivariateDistribution {
+
+  /** Number of candidate parents of each variable. */
+  static final int CANDIDATES = 8;
+
+  /** Largest number of parents of a variable. */
+  private final int maxParents;
+
+  /**
+   * Constructor, with up to two parents per variable.
+   */
+  public BayesianNetwork() {
+    this(2);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxParents [int] Largest number of parents of a variable.
+   */
+  public BayesianNetwork(int maxParents) {
+    if (maxParents < 1) {
+      throw new IllegalArgumentException("El número máximo de padres debe ser positivo: " + maxParents);
+    }
+    this.maxParents = maxParents;
+  }
+
+  /**
+   * Gets the largest number of parents of a variable.
+   *
+   * @return [int] The number of parents.
+   */
+  public int getMaxParents() {
+    return maxParents;
+  }
+
+  /**
+   * Chooses the parents of each variable.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the values and pairs of values of the fathers.
+   * @param codes [int[][]] Values of each father, -1 where they are not valid.
+   * @return [int[][]] The parents of each variable, without cycles.
+   */
+  @Override
+  protected int[][] structure(JointFrequencyModel statistics, int[][] codes) {
+    int variables = statistics.getVariables();
+    if (variables < 2 || codes.length == 0) {
+      return new int[variables][0];
+    }
+    Search search = new Search(statistics, codes);
+    // Las familias de cada variable se puntúan por separado.
+    IntStream range = IntStream.range(0, variables);
+    (statistics.parallel(codes.length) ? range.parallel() : range).forEach(search::start);
+    while (true) {
+      int child = -1;
+      for (int v = 0; v < variables; v++) {
+        if (search.best[v] >= 0 && (child < 0 || search.gain[v] > search.gain[child])) {
+          child = v;
+        }
+      }
+      if (child < 0) {
+        return search.parents;
+      }
+      int parent = search.best[child];
+      if (!search.reaches(child, parent)) {
+        search.link(parent, child);
+      }
+      // Solo cambia la familia del hijo; el resto se comprueba al elegirlo.
+      search.improve(child);
+    }
+  }
+
+  /**
+   * State of the search of one network.
+   */
+  private final class Search {
+
+    /** Values of each father. */
+    private final int[][] codes;
+
+    /** Number of values of each variable. */
+    private final int values;
+
+    /** Number of different values that each variable takes. */
+    private final int[] observed;
+
+    /** Parents of each variable. */
+    private final int[][] parents;
+
+    /** Children of each variable. */
+    private final List<List<Integer>> children;
+
+    /** Candidate parents of each variable. */
+    private final int[][] candidates;
+
+    /** Score of the family of each variable. */
+    private final double[] score;
+
+    /** Best parent to add to each variable, -1 if none improves the score. */
+    private final int[] best;
+
+    /** Improvement of the score of adding the best parent. */
+    private final double[] gain;
+
+    /** Information of the pairs, by position of the pair. */
+    private final double[] information;
+
+    /** Statistics of the fathers. */
+    private final JointFrequencyModel statistics;
+
+    /**
+     * Constructor of an empty network.
+     *
+     * @param statistics [JointFrequencyModel] Counts of the fathers.
+     * @param codes [int[][]] Values of each father.
+     */
+    private Search(JointFrequencyModel statistics, int[][] codes) {
+      int variables = statistics.getVariables();
+      this.statistics = statistics;
+      this.codes = codes;
+      this.values = statistics.getValues();
+      this.observed = new int[variables];
+      this.parents = new int[variables][0];
+      this.children = new ArrayList<>(variables);
+      this.candidates = new int[variables][];
+      this.score = new double[variables];
+      this.best = new int[variables];
+      this.gain = new double[variables];
+      this.information = statistics.mutualInformation();
+      for (int v = 0; v < variables; v++) {
+        observed[v] = observed(statistics, v);
+        children.add(new ArrayList<>());
+      }
+    }
+
+    /**
+     * Chooses the candidate parents of a variable and its first parent.
+     *
+     * @param variable [int] The variable.
+     */
+    private void start(int variable) {
+      candidates[variable] = IntStream.range(0, parents.length)
+          .filter(u -> u != variable && information[statistics.pair(u, variable)] > 0).boxed()
+          .sorted(Comparator.comparingDouble((Integer u) -> -information[statistics.pair(u, variable)])
+              .thenComparingInt(u -> u))
+          .limit(CANDIDATES).mapToInt(Integer::intValue).toArray();
+      score[variable] = score(variable, parents[variable]);
+      improve(variable);
+    }
+
+    /**
+     * Looks for the candidate parent that most improves the score of a
+     * variable without closing a cycle.
+     *
+     * @param variable [int] The variable.
+     */
+    private void improve(int variable) {
+      best[variable] = -1;
+      gain[variable] = 0;
+      int[] family = parents[variable];
+      if (family.length >= maxParents) {
+        return;
+      }
+      int[] extended = Arrays.copyOf(family, family.length + 1);
+      for (int candidate : candidates[variable]) {
+        if (contains(family, candidate) || reaches(variable, candidate)) {
+          continue;
+        }
+        extended[family.length] = candidate;
+        double improvement = score(variable, extended) - score[variable];
+        if (improvement > gain[variable]) {
+          best[variable] = candidate;
+          gain[variable] = improvement;
+        }
+      }
+    }
+
+    /**
+     * Adds an arc.
+     *
+     * @param parent [int] The parent.
+     * @param child [int] The child.
+     */
+    private void link(int parent, int child) {
+      int[] family = Arrays.copyOf(parents[child], parents[child].length + 1);
+      family[family.length - 1] = parent;
+      parents[child] = family;
+      children.get(parent).add(child);
+      score[child] += gain[child];
+    }
+
+    /**
+     * Checks whether there is a path from a variable to another one.
+     *
+     * @param from [int] The first variable.
+     * @param to [int] The last variable.
+     * @return [boolean] True if the last variable descends from the first one.
+     */
+    private boolean reaches(int from, int to) {
+      boolean[] visited = new boolean[parents.length];
+      List<Integer> pending = new ArrayList<>();
+      pending.add(from);
+      visited[from] = true;
+      while (!pending.isEmpty()) {
+        int v = pending.remove(pending.size() - 1);
+        if (v == to) {
+          return true;
+        }
+        for (int child : children.get(v)) {
+          if (!visited[child]) {
+            visited[child] = true;
+            pending.add(child);
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Computes the BIC score of a variable with some parents: the log
+     * likelihood of its values in the fathers minus half the logarithm of
+     * the number of fathers for each free parameter.
+     *
+     * @param variable [int] The variable.
+     * @param family [int[]] Its parents.
+     * @return [double] The score.
+     */
+    private double score(int variable, int[] family) {
+      Map<Long, int[]> counts = new HashMap<>();
+      for (int[] code : codes) {
+        int value = code[variable];
+        if (value < 0) {
+          continue;
+        }
+        long key = 0;
+        for (int parent : family) {
+          key = (key < 0 || code[parent] < 0) ? -1 : key * values + code[parent];
+        }
+        if (key >= 0) {
+          counts.computeIfAbsent(key, k -> new int[values])[value]++;
+        }
+      }
+      double likelihood = 0;
+      for (int[] row : counts.values()) {
+        int total = 0;
+        for (int count : row) {
+          total += count;
+        }
+        for (int count : row) {
+          if (count > 0) {
+            likelihood += count * Math.log((double) count / total);
+          }
+        }
+      }
+      double parameters = observed[variable] - 1.0;
+      for (int parent : family) {
+        parameters *= observed[parent];
+      }
+      return likelihood - 0.5 * Math.log(codes.length) * parameters;
+    }
+  }
+
+  /**
+   * Checks whether an array contains a value.
+   *
+   * @param array [int[]] The array.
+   * @param value [int] The value.
+   * @return [boolean] True if it is contained.
+   */
+  private static boolean contains(int[] array, int value) {
+    for (int element : array) {
+      if (element == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,91 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Class implementing the Boltzmann selection method. The weight of each state
+ * is {@code exp(-(best - fitness) / temperature)}: a high temperature makes the
+ * selection almost uniform and a low one almost elitist. The weights are taken
+ * from the best state, so they never overflow, and the parents are drawn from
+ * an {@link AliasTable}.
+ */
+public class BoltzmannSelection extends FatherSelection {
+
+  /** Temperature of the selection. */
+  private double temperature;
+
+  /**
+   * Constructor with a temperature of 1.
+   */
+  public BoltzmannSelection() {
+    this(1);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param temperature [double] Temperature of the selection, positive.
+   */
+  public BoltzmannSelection(double temperature) {
+    setTemperature(temperature);
+  }
+
+  /**
+   * Gets the temperature of the selection.
+   *
+   * @return [double] The temperature.
+   */
+  public double getTemperature() {
+    return temperature;
+  }
+
+  /**
+   * Sets the temperature of the selection, for instance to cool it down as
+   * the run advances.
+   *
+   * @param temperature [double] The temperature, positive.
+   */
+  public void setTemperature(double temperature) {
+    if (!(temperature > 0)) {
+      throw new IllegalArgumentException("La temperatura debe ser positiva: " + temperature);
+    }
+    this.temperature = temperature;
+  }
+
+  /**
+   * Selects as many parents as states has the list.
+   * @param listState [List<State>] The list of candidate states (individuals) to select from.
+   * @param truncation [int] The number of individuals to select (not used in this implementation).
+   * @return [List<State>] The list of selected parent states.
+   */
+  @Override
+  public List<State> selection(List<State> listState, int truncation) {
+    int n = listState.size();
+    List<State> fatherList = new ArrayList<>(n);
+    if (n == 0) {
+      return fatherList;
+    }
+    double sign = maximizes() ? 1 : -1;
+    double[] weights = new double[n];
+    double best = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < n; i++) {
+      weights[i] = sign * fitness(listState.get(i));
+      best = Math.max(best, weights[i]);
+    }
+    for (int i = 0; i < n; i++) {
+      // El mejor estado tiene peso 1, así que la suma nunca es cero.
+      weights[i] = Math.exp((weights[i] - best) / temperature);
+    }
+    AliasTable wheel = new AliasTable(weights);
+    RandomGenerator generator = RandomService.generator();
+    for (int j = 0; j < n; j++) {
+      fatherList.add(listState.get(wheel.sample(generator)));
+    }
+    return fatherList;
+  }
+}
@@ -0,0 +1,259 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Bayesian network over discrete variables learned by a
+ * {@link MultivariateDistribution}: the parents of each variable and, for each
+ * configuration of the values of the parents, the values that the variable
+ * takes in the selected states with that configuration. A value is drawn
+ * with the empirical conditional probability by picking one of those values
+ * at random; a configuration that no selected state had falls back to the
+ * values of the variable in all the selected states.
+ * <p>
+ * The variables are sampled in topological order, so the parents of a
+ * variable always have their values first. Chains and trees are networks
+ * with one parent per variable.
+ */
+public class DependencyModel {
+
+  /** Increment of the seeds of the individuals when they are sampled in parallel. */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /** Parents of each variable. */
+  private final int[][] parents;
+
+  /** Variables in an order where the parents go before their children. */
+  private final int[] order;
+
+  /** Number of values of each variable. */
+  private final int values;
+
+  /** Values of each variable in the selected states, -1 excluded. */
+  private final int[][] marginals;
+
+  /** Values of each variable by configuration of its parents. */
+  private final List<Map<Long, int[]>> conditionals;
+
+  /**
+   * Constructor.
+   *
+   * @param parents [int[][]] Parents of each variable; they must not form a cycle.
+   * @param codes [int[][]] Values of each selected state, -1 where they are not valid.
+   * @param values [int] Number of values of each variable.
+   */
+  public DependencyModel(int[][] parents, int[][] codes, int values) {
+    int variables = parents.length;
+    for (int[] members : parents) {
+      if (members.length > 0 && Math.pow(values, members.length) > Long.MAX_VALUE) {
+        throw new IllegalArgumentException("Demasiados padres para " + values + " valores: " + members.length);
+      }
+    }
+    this.parents = new int[variables][];
+    for (int v = 0; v < variables; v++) {
+      this.parents[v] = parents[v].clone();
+    }
+    this.order = topologicalOrder(this.parents);
+    this.values = values;
+    this.marginals = new int[variables][];
+    IntStream range = IntStream.range(0, variables);
+    if ((long) codes.length * variables >= FrequencyModel.PARALLEL_THRESHOLD) {
+      range = range.parallel();
+    }
+    this.conditionals = range.mapToObj(v -> tabulate(v, codes)).toList();
+  }
+
+  /**
+   * Builds the marginal and the conditional values of a variable.
+   *
+   * @param variable [int] The variable.
+   * @param codes [int[][]] Values of each selected state.
+   * @return [Map<Long, int[]>] Values of the variable by configuration of its parents.
+   */
+  private Map<Long, int[]> tabulate(int variable, int[][] codes) {
+    int[] members = parents[variable];
+    int[] valid = new int[codes.length];
+    int size = 0;
+    Map<Long, Integer> sizes = new HashMap<>();
+    for (int[] code : codes) {
+      int value = code[variable];
+      if (value < 0) {
+        continue;
+      }
+      valid[size++] = value;
+      long key = configuration(members, code);
+      if (key >= 0) {
+        sizes.merge(key, 1, Integer::sum);
+      }
+    }
+    marginals[variable] = Arrays.copyOf(valid, size);
+    Map<Long, int[]> table = new HashMap<>(sizes.size() * 2);
+    Map<Long, Integer> filled = new HashMap<>(sizes.size() * 2);
+    for (int[] code : codes) {
+      int value = code[variable];
+      long key = configuration(members, code);
+      if (value < 0 || key < 0) {
+        continue;
+      }
+      int[] list = table.computeIfAbsent(key, k -> new int[sizes.get(k)]);
+      int position = filled.merge(key, 1, Integer::sum) - 1;
+      list[position] = value;
+    }
+    return table;
+  }
+
+  /**
+   * Gets the configuration of the values of some parents, as a number in base
+   * values.
+   *
+   * @param members [int[]] The parents.
+   * @param code [int[]] Values of the variables.
+   * @return [long] The configuration, or -1 if a parent has no valid value.
+   */
+  private long configuration(int[] members, int[] code) {
+    long key = 0;
+    for (int parent : members) {
+      int value = code[parent];
+      if (value < 0) {
+        return -1;
+      }
+      key = key * values + value;
+    }
+    return key;
+  }
+
+  /**
+   * Draws a value of every variable for one individual.
+   *
+   * @param random [RandomGenerator] Source of the random numbers.
+   * @return [int[]] The values, -1 in the variables without valid values.
+   */
+  public int[] sample(RandomGenerator random) {
+    int[] code = new int[parents.length];
+    for (int variable : order) {
+      int[] candidates = null;
+      long key = configuration(parents[variable], code);
+      if (key >= 0 && parents[variable].length > 0) {
+        candidates = conditionals.get(variable).get(key);
+      }
+      if (candidates == null) {
+        candidates = marginals[variable];
+      }
+      code[variable] = (candidates.length == 0) ? -1 : candidates[random.nextInt(candidates.length)];
+    }
+    return code;
+  }
+
+  /**
+   * Draws several individuals. Many individuals are drawn in parallel, each
+   * one with its own generator seeded from the given one, so the result does
+   * not depend on the scheduling.
+   *
+   * @param count [int] Number of individuals.
+   * @param random [RandomGenerator] Source of the random numbers.
+   * @return [int[][]] The values of each individual, -1 in the variables
+   *         without valid values.
+   */
+  public int[][] sampleIndividuals(int count, RandomGenerator random) {
+    int[][] individuals = new int[count][];
+    if ((long) count * parents.length < FrequencyModel.PARALLEL_THRESHOLD) {
+      for (int i = 0; i < count; i++) {
+        individuals[i] = sample(random);
+      }
+      return individuals;
+    }
+    long seed = random.nextLong();
+    IntStream.range(0, count).parallel()
+        .forEach(i -> individuals[i] = sample(new SplittableRandom(seed + i * GOLDEN_GAMMA)));
+    return individuals;
+  }
+
+  /**
+   * Gets the parents of a variable.
+   *
+   * @param variable [int] The variable.
+   * @return [int[]] A copy of its parents.
+   */
+  public int[] getParents(int variable) {
+    return parents[variable].clone();
+  }
+
+  /**
+   * Gets the order in which the variables are sampled.
+   *
+   * @return [int[]] A copy of the order.
+   */
+  public int[] getOrder() {
+    return order.clone();
+  }
+
+  /**
+   * Gets the number of variables.
+   *
+   * @return [int] The number of variables.
+   */
+  public int getVariables() {
+    return parents.length;
+  }
+
+  /**
+   * Sorts the variables so every parent goes before its children, with the
+   * algorithm of Kahn.
+   *
+   * @param parents [int[][]] Parents of each variable.
+   * @return [int[]] The variables in order.
+   */
+  private static int[] topologicalOrder(int[][] parents) {
+    int variables = parents.length;
+    int[] pending = new int[variables];
+    int[][] children = new int[variables][];
+    int[] childCount = new int[variables];
+    for (int v = 0; v < variables; v++) {
+      pending[v] = parents[v].length;
+      for (int parent : parents[v]) {
+        if (parent < 0 || parent >= variables || parent == v) {
+          throw new IllegalArgumentException("Padre no válido para la variable " + v + ": " + parent);
+        }
+        childCount[parent]++;
+      }
+    }
+    for (int v = 0; v < variables; v++) {
+      children[v] = new int[childCount[v]];
+      childCount[v] = 0;
+    }
+    for (int v = 0; v < variables; v++) {
+      for (int parent : parents[v]) {
+        children[parent][childCount[parent]++] = v;
+      }
+    }
+    Deque<Integer> ready = new ArrayDeque<>();
+    for (int v = 0; v < variables; v++) {
+      if (pending[v] == 0) {
+        ready.add(v);
+      }
+    }
+    int[] order = new int[variables];
+    int size = 0;
+    while (!ready.isEmpty()) {
+      int v = ready.poll();
+      order[size++] = v;
+      for (int child : children[v]) {
+        if (--pending[child] == 0) {
+          ready.add(child);
+        }
+      }
+    }
+    if (size < variables) {
+      throw new IllegalArgumentException("Los padres de las variables forman un ciclo");
+    }
+    return order;
+  }
+}
@@ -0,0 +1,88 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.Arrays;
+
+/**
+ * Dependency tree of the BMDA of Pelikan and Mühlenbein: the maximum
+ * spanning tree of the mutual information of the pairs of variables, as in
+ * the trees of Chow and Liu used by COMIT, built with the algorithm of Prim.
+ * As in BMDA, a pair only joins the tree if the chi-square test rejects that
+ * its variables are independent, so the model may be a forest.
+ */
+public class DependencyTree extends MultivariateDistribution {
+
+  /**
+   * Chooses the parent of each variable in the forest.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the values and pairs of values of the fathers.
+   * @param codes [int[][]] Values of each father, -1 where they are not valid.
+   * @return [int[][]] The parent of each variable, none for the roots.
+   */
+  @Override
+  protected int[][] structure(JointFrequencyModel statistics, int[][] codes) {
+    int variables = statistics.getVariables();
+    int[][] parents = new int[variables][0];
+    double[] information = statistics.mutualInformation();
+    int[] observed = new int[variables];
+    for (int v = 0; v < variables; v++) {
+      observed[v] = observed(statistics, v);
+    }
+
+    boolean[] inTree = new boolean[variables];
+    double[] key = new double[variables];
+    int[] link = new int[variables];
+    Arrays.fill(link, -1);
+    for (int added = 0; added < variables; added++) {
+      // Prim: la variable fuera del bosque unida por el par de más información.
+      int next = -1;
+      for (int v = 0; v < variables; v++) {
+        if (!inTree[v] && link[v] >= 0 && (next < 0 || key[v] > key[next])) {
+          next = v;
+        }
+      }
+      if (next < 0) {
+        // Ningún par dependiente llega al bosque: empieza un árbol nuevo.
+        for (int v = 0; v < variables && next < 0; v++) {
+          if (!inTree[v]) {
+            next = v;
+          }
+        }
+      } else {
+        parents[next] = new int[] {link[next]};
+      }
+      inTree[next] = true;
+      for (int v = 0; v < variables; v++) {
+        if (inTree[v]) {
+          continue;
+        }
+        double weight = information[statistics.pair(next, v)];
+        if ((link[v] < 0 || weight > key[v]) && dependent(statistics, next, v, weight, observed)) {
+          key[v] = weight;
+          link[v] = next;
+        }
+      }
+    }
+    return parents;
+  }
+
+  /**
+   * Checks whether two variables are dependent with the G-test, whose
+   * statistic 2 N I(X; Y) follows a chi-square distribution when they are
+   * independent.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the fathers.
+   * @param first [int] A variable.
+   * @param second [int] Another variable.
+   * @param information [double] Mutual information of the pair.
+   * @param observed [int[]] Number of different values of each variable.
+   * @return [boolean] True if independence is rejected at the 5% level.
+   */
+  private static boolean dependent(JointFrequencyModel statistics, int first, int second, double information,
+                                   int[] observed) {
+    if (information <= 0) {
+      return false;
+    }
+    int freedom = Math.max(1, (observed[first] - 1) * (observed[second] - 1));
+    return 2 * statistics.pairTotal(first, second) * information > chiSquareCritical(freedom);
+  }
+}
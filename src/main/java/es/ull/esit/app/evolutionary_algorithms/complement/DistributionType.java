@@ -5,4 +5,7 @@ package es.ull.esit.app.evolutionary_algorithms.complement;
 */
 public enum DistributionType {
   UNIVARIATE   /** Univariate distribution method */ ,
+  MIMIC        /** Chain of MIMIC */ ,
+  BMDA         /** Dependency forest of BMDA */ ,
+  BAYESIAN_NETWORK /** Bayesian network with bounded parents */ ,
 }
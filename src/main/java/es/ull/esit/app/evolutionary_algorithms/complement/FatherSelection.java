@@ -1,6 +1,11 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
+import java.util.Arrays;
 import java.util.List;
+
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
 
 /**
@@ -14,4 +19,56 @@ public abstract class FatherSelection {
    * @return [List<State>] the list of selected father states.
    */
 	public abstract List<State> selection(List<State> listState, int truncation);
+
+  /**
+   * Checks if the problem of the current run is maximized. Without a problem
+   * the fitness is taken as a value to maximize.
+   *
+   * @return [boolean] False only if the problem is minimized.
+   */
+  protected static boolean maximizes() {
+    Problem problem = Strategy.getStrategy().getProblem();
+    return problem == null || problem.getTypeProblem() != ProblemType.MINIMIZAR;
+  }
+
+  /**
+   * Gets the fitness of a state, its first objective.
+   *
+   * @param state [State] The state.
+   * @return [double] The fitness.
+   */
+  protected static double fitness(State state) {
+    return state.getEvaluation().get(0);
+  }
+
+  /**
+   * Turns the fitness of the states into non-negative weights, larger for the
+   * better states. Positive fitness of a maximized problem is used as it is;
+   * otherwise the weights are the distances to the worst state, so negative
+   * fitness and minimization are handled too. If every weight is zero they
+   * are all set to one.
+   *
+   * @param listState [List<State>] The states.
+   * @return [double[]] The weight of each state.
+   */
+  protected static double[] weights(List<State> listState) {
+    boolean maximize = maximizes();
+    double[] weights = new double[listState.size()];
+    double worst = maximize ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = fitness(listState.get(i));
+      worst = maximize ? Math.min(worst, weights[i]) : Math.max(worst, weights[i]);
+    }
+    // La ruleta clásica solo vale para valores no negativos a maximizar.
+    double origin = (maximize && worst >= 0) ? 0 : worst;
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = maximize ? weights[i] - origin : origin - weights[i];
+      total += weights[i];
+    }
+    if (!(total > 0) || Double.isInfinite(total)) {
+      Arrays.fill(weights, 1);
+    }
+    return weights;
+  }
 }
@@ -0,0 +1,409 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Univariate model of a distribution estimation algorithm: how many selected
+ * states take each value in each variable, kept in an int[variables][values]
+ * matrix. The values are the integers from 0 to values - 1; any other value,
+ * such as -1 or a value that is not an Integer, is not counted.
+ * <p>
+ * Between generations the model is updated with the states that enter and
+ * leave the selected set, so a generation that keeps most of the fathers only
+ * counts the new ones. The states are compared by identity and must not
+ * change their code while they are selected. Each variable is sampled with a
+ * binary search on the prefix sums of its counts. Large models are built and
+ * sampled in parallel, one variable per task.
+ */
+public class FrequencyModel {
+
+  /** Cells of the matrix from which the model is built and sampled in parallel. */
+  static final int PARALLEL_THRESHOLD = 1 << 15;
+
+  /** Increment of the seeds of the variables when they are sampled in parallel. */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /** Number of variables. */
+  protected final int variables;
+
+  /** Number of values of each variable. */
+  protected final int values;
+
+  /** Number of selected states with each value in each variable. */
+  private final int[][] counts;
+
+  /** Number of counted values of each variable. */
+  private final int[] totals;
+
+  /** Prefix sums of the counts of each variable, rebuilt when they are stale. */
+  private final int[][] cumulative;
+
+  /** Whether the prefix sums of each variable are stale. */
+  private final boolean[] stale;
+
+  /** Values of each selected state when it was counted, to remove them. */
+  private final Map<State, int[]> members = new IdentityHashMap<>();
+
+  /** Number of times each selected state was counted. */
+  private final Map<State, Integer> multiplicity = new IdentityHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param variables [int] Number of variables.
+   * @param values [int] Number of values of each variable.
+   */
+  public FrequencyModel(int variables, int values) {
+    if (variables < 0 || values < 0) {
+      throw new IllegalArgumentException("El número de variables y de valores no puede ser negativo");
+    }
+    this.variables = variables;
+    this.values = values;
+    this.counts = new int[variables][values];
+    this.totals = new int[variables];
+    this.cumulative = new int[variables][values];
+    this.stale = new boolean[variables];
+  }
+
+  /**
+   * Updates the model to a new selected set. Only the states that entered or
+   * left the set are counted again; if most of the set changed, the model is
+   * built from scratch.
+   *
+   * @param selected [List<State>] The selected states; a state may appear several times.
+   */
+  public void update(List<State> selected) {
+    Map<State, Integer> next = new IdentityHashMap<>(selected.size() * 2);
+    for (State state : selected) {
+      next.merge(state, 1, Integer::sum);
+    }
+    int changes = 0;
+    for (Map.Entry<State, Integer> entry : next.entrySet()) {
+      changes += Math.abs(entry.getValue() - multiplicity.getOrDefault(entry.getKey(), 0));
+    }
+    for (Map.Entry<State, Integer> entry : multiplicity.entrySet()) {
+      if (!next.containsKey(entry.getKey())) {
+        changes += entry.getValue();
+      }
+    }
+    if (2 * changes > selected.size()) {
+      rebuild(selected);
+      return;
+    }
+    // Primero se descuentan los que salen o bajan, luego se cuentan los que entran o suben.
+    for (Map.Entry<State, Integer> entry : new IdentityHashMap<>(multiplicity).entrySet()) {
+      int surplus = entry.getValue() - next.getOrDefault(entry.getKey(), 0);
+      for (int i = 0; i < surplus; i++) {
+        remove(entry.getKey());
+      }
+    }
+    for (Map.Entry<State, Integer> entry : next.entrySet()) {
+      int missing = entry.getValue() - multiplicity.getOrDefault(entry.getKey(), 0);
+      for (int i = 0; i < missing; i++) {
+        add(entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * Builds the model from scratch with a selected set, in parallel over the
+   * variables when the set is large.
+   *
+   * @param selected [List<State>] The selected states; a state may appear several times.
+   */
+  public void rebuild(List<State> selected) {
+    members.clear();
+    multiplicity.clear();
+    int rows = selected.size();
+    int[][] codes = new int[rows][];
+    for (int j = 0; j < rows; j++) {
+      State state = selected.get(j);
+      int[] code = members.get(state);
+      if (code == null) {
+        code = read(state);
+        members.put(state, code);
+      }
+      multiplicity.merge(state, 1, Integer::sum);
+      codes[j] = code;
+    }
+    IntStream range = IntStream.range(0, variables);
+    (parallel(rows) ? range.parallel() : range).forEach(v -> {
+      int[] row = counts[v];
+      Arrays.fill(row, 0);
+      int total = 0;
+      for (int[] code : codes) {
+        int value = code[v];
+        if (value >= 0) {
+          row[value]++;
+          total++;
+        }
+      }
+      totals[v] = total;
+      stale[v] = true;
+    });
+    rebuilt(codes);
+  }
+
+  /**
+   * Called at the end of a rebuild, so subclasses can count their own
+   * statistics from the same values.
+   *
+   * @param codes [int[][]] Values of each selected state, -1 where they are not counted.
+   */
+  protected void rebuilt(int[][] codes) {
+    // El modelo univariante no tiene más estadísticas.
+  }
+
+  /**
+   * Counts one more selected state.
+   *
+   * @param state [State] The state.
+   */
+  public void add(State state) {
+    int[] code = members.computeIfAbsent(state, this::read);
+    multiplicity.merge(state, 1, Integer::sum);
+    count(code, 1);
+  }
+
+  /**
+   * Stops counting a selected state once, with the values it had when it was
+   * counted.
+   *
+   * @param state [State] The state.
+   * @return [boolean] True if the state was counted, false otherwise.
+   */
+  public boolean remove(State state) {
+    int[] code = members.get(state);
+    if (code == null) {
+      return false;
+    }
+    int left = multiplicity.merge(state, -1, Integer::sum);
+    if (left == 0) {
+      multiplicity.remove(state);
+      members.remove(state);
+    }
+    count(code, -1);
+    return true;
+  }
+
+  /**
+   * Adds the values of a state to the counts, or takes them away.
+   *
+   * @param code [int[]] Values of the state, -1 where they are not counted.
+   * @param delta [int] 1 to add the state, -1 to take it away.
+   */
+  protected void count(int[] code, int delta) {
+    for (int v = 0; v < variables; v++) {
+      int value = code[v];
+      if (value >= 0) {
+        counts[v][value] += delta;
+        totals[v] += delta;
+        stale[v] = true;
+      }
+    }
+  }
+
+  /**
+   * Gets the values of a selected state as they were counted.
+   *
+   * @param state [State] The state.
+   * @return [int[]] The value of each variable, -1 where it is not counted,
+   *         or null if the state is not selected.
+   */
+  int[] code(State state) {
+    return members.get(state);
+  }
+
+  /**
+   * Gets the number of selected states with a value in a variable.
+   *
+   * @param variable [int] The variable.
+   * @param value [int] The value.
+   * @return [int] The number of states.
+   */
+  public int count(int variable, int value) {
+    return counts[variable][value];
+  }
+
+  /**
+   * Gets the number of counted values of a variable.
+   *
+   * @param variable [int] The variable.
+   * @return [int] The number of values, 0 if no selected state had a valid value.
+   */
+  public int total(int variable) {
+    return totals[variable];
+  }
+
+  /**
+   * Gets the probability of a value in a variable.
+   *
+   * @param variable [int] The variable.
+   * @param value [int] The value.
+   * @return [double] The probability, 0 if the variable has no counted values.
+   */
+  public double probability(int variable, int value) {
+    int total = totals[variable];
+    return (total == 0) ? 0 : (double) counts[variable][value] / total;
+  }
+
+  /**
+   * Draws a value of a variable with the probabilities of the model.
+   *
+   * @param variable [int] The variable.
+   * @param random [RandomGenerator] Source of the random numbers.
+   * @return [int] The value, or -1 if the variable has no counted values.
+   */
+  public int sample(int variable, RandomGenerator random) {
+    int total = totals[variable];
+    if (total == 0) {
+      return -1;
+    }
+    return search(prefixSums(variable), random.nextInt(total));
+  }
+
+  /**
+   * Draws several individuals with the probabilities of the model. Small
+   * models are sampled variable after variable with the given generator;
+   * large ones in parallel, each variable with its own generator seeded from
+   * the given one, so the result does not depend on the scheduling.
+   *
+   * @param count [int] Number of individuals.
+   * @param random [RandomGenerator] Source of the random numbers.
+   * @return [int[][]] The values of each individual, -1 in the variables
+   *         without counted values.
+   */
+  public int[][] sampleIndividuals(int count, RandomGenerator random) {
+    int[][] individuals = new int[count][variables];
+    if (!parallel(count)) {
+      for (int v = 0; v < variables; v++) {
+        for (int i = 0; i < count; i++) {
+          individuals[i][v] = sample(v, random);
+        }
+      }
+      return individuals;
+    }
+    long seed = random.nextLong();
+    IntStream.range(0, variables).parallel().forEach(v -> {
+      RandomGenerator local = new SplittableRandom(seed + v * GOLDEN_GAMMA);
+      for (int i = 0; i < count; i++) {
+        individuals[i][v] = sample(v, local);
+      }
+    });
+    return individuals;
+  }
+
+  /**
+   * Gets the number of variables.
+   *
+   * @return [int] The number of variables.
+   */
+  public int getVariables() {
+    return variables;
+  }
+
+  /**
+   * Gets the number of values of each variable.
+   *
+   * @return [int] The number of values.
+   */
+  public int getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the prefix sums of the counts of a variable, rebuilding them if the
+   * counts changed. Each variable is only touched by one task at a time.
+   *
+   * @param variable [int] The variable.
+   * @return [int[]] The prefix sums.
+   */
+  private int[] prefixSums(int variable) {
+    int[] sums = cumulative[variable];
+    if (stale[variable]) {
+      int[] row = counts[variable];
+      int sum = 0;
+      for (int k = 0; k < values; k++) {
+        sum += row[k];
+        sums[k] = sum;
+      }
+      stale[variable] = false;
+    }
+    return sums;
+  }
+
+  /**
+   * Finds the first value whose prefix sum is above a number.
+   *
+   * @param sums [int[]] The prefix sums.
+   * @param target [int] The number, below the last sum.
+   * @return [int] The value.
+   */
+  private static int search(int[] sums, int target) {
+    int low = 0;
+    int high = sums.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sums[middle] > target) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Reads the values of a state that the model counts.
+   *
+   * @param state [State] The state.
+   * @return [int[]] The value of each variable, -1 where it is not counted.
+   */
+  private int[] read(State state) {
+    int[] code = new int[variables];
+    int size = Math.min(variables, state.getCode().size());
+    for (int v = 0; v < size; v++) {
+      code[v] = value(state, v, values);
+    }
+    Arrays.fill(code, size, variables, -1);
+    return code;
+  }
+
+  /**
+   * Gets the value of a variable of a state as the model counts it.
+   *
+   * @param state [State] The state.
+   * @param variable [int] The variable.
+   * @param values [int] Number of values of the variable.
+   * @return [int] The value, or -1 if it is not an Integer between 0 and values - 1.
+   */
+  static int value(State state, int variable, int values) {
+    int value;
+    if (state instanceof IntState) {
+      value = state.getInt(variable);
+    } else {
+      Object boxed = state.getCode().get(variable);
+      value = (boxed instanceof Integer) ? (Integer) boxed : -1;
+    }
+    return (value >= 0 && value < values) ? value : -1;
+  }
+
+  /**
+   * Checks whether a pass over a number of rows is worth doing in parallel.
+   *
+   * @param rows [int] Number of rows.
+   * @return [boolean] True if the matrix is large enough.
+   */
+  protected boolean parallel(int rows) {
+    return (long) rows * variables >= PARALLEL_THRESHOLD;
+  }
+}
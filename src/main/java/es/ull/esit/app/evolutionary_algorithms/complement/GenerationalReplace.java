@@ -32,4 +32,26 @@ public class GenerationalReplace extends Replace {
 		
 		return listState;
 	}
+
+  /**
+   * Replaces the oldest states of the population with the batch: the result
+   * is the last states of the population followed by the batch, as many as
+   * the population had, shifting the population once instead of once per
+   * candidate.
+   * @param offspring [List<State>] the candidate states, in order.
+   * @param listState [List<State>] the current population of states.
+   * @return [List<State>] the updated population of states after replacement.
+   */
+	@Override
+	public List<State> replaceBatch(List<State> offspring, List<State> listState) {
+		int size = listState.size();
+		if (offspring.size() >= size) {
+			listState.clear();
+			listState.addAll(offspring.subList(offspring.size() - size, offspring.size()));
+		} else {
+			listState.subList(0, offspring.size()).clear();
+			listState.addAll(offspring);
+		}
+		return listState;
+	}
 }
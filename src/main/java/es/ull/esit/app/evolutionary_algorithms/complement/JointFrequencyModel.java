@@ -0,0 +1,257 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Frequency model that also counts how many selected states take each pair
+ * of values in each pair of variables, the statistics from which the
+ * multivariate distributions learn their dependencies. The pairs are counted
+ * incrementally as the selected set changes, like the single values of
+ * {@link FrequencyModel}, and the mutual information of all the pairs is
+ * computed in parallel.
+ * <p>
+ * The table of a pair only counts the states with valid values in both
+ * variables. It holds values * values cells for each of the
+ * variables * (variables - 1) / 2 pairs, so it is meant for models of up to
+ * a few hundred variables.
+ */
+public class JointFrequencyModel extends FrequencyModel {
+
+  /** Largest number of cells of the tables of the pairs. */
+  static final long MAX_CELLS = 1L << 25;
+
+  /** Number of states with each pair of values in each pair of variables, by pair. */
+  private final int[][] joint;
+
+  /**
+   * Constructor.
+   *
+   * @param variables [int] Number of variables.
+   * @param values [int] Number of values of each variable.
+   */
+  public JointFrequencyModel(int variables, int values) {
+    super(variables, values);
+    long pairs = (long) variables * (variables - 1) / 2;
+    if (pairs * values * values > MAX_CELLS) {
+      throw new IllegalArgumentException("El modelo de pares necesita " + pairs * values * values
+          + " celdas y el máximo es " + MAX_CELLS);
+    }
+    this.joint = new int[(int) pairs][values * values];
+  }
+
+  /**
+   * Gets the position of a pair of variables.
+   *
+   * @param first [int] A variable.
+   * @param second [int] Another variable.
+   * @return [int] The position of the pair.
+   */
+  public int pair(int first, int second) {
+    int i = Math.min(first, second);
+    int j = Math.max(first, second);
+    return i * (2 * variables - i - 1) / 2 + (j - i - 1);
+  }
+
+  /**
+   * Gets the number of selected states with a pair of values.
+   *
+   * @param first [int] A variable.
+   * @param firstValue [int] Value of the first variable.
+   * @param second [int] Another variable.
+   * @param secondValue [int] Value of the second variable.
+   * @return [int] The number of states.
+   */
+  public int count(int first, int firstValue, int second, int secondValue) {
+    int[] table = joint[pair(first, second)];
+    return (first < second) ? table[firstValue * values + secondValue] : table[secondValue * values + firstValue];
+  }
+
+  /**
+   * Adds the values of a state to the counts of the variables and of the
+   * pairs, or takes them away. The pairs of each first variable are counted
+   * by one task.
+   *
+   * @param code [int[]] Values of the state, -1 where they are not counted.
+   * @param delta [int] 1 to add the state, -1 to take it away.
+   */
+  @Override
+  protected void count(int[] code, int delta) {
+    super.count(code, delta);
+    IntStream range = IntStream.range(0, variables);
+    (parallel(variables) ? range.parallel() : range).forEach(i -> {
+      int a = code[i];
+      if (a < 0) {
+        return;
+      }
+      int row = a * values;
+      int p = pair(i, i + 1);
+      for (int j = i + 1; j < variables; j++, p++) {
+        int b = code[j];
+        if (b >= 0) {
+          joint[p][row + b] += delta;
+        }
+      }
+    });
+  }
+
+  /**
+   * Counts the pairs of a rebuilt model, in parallel over the first
+   * variable of the pairs.
+   *
+   * @param codes [int[][]] Values of each selected state, -1 where they are not counted.
+   */
+  @Override
+  protected void rebuilt(int[][] codes) {
+    IntStream range = IntStream.range(0, variables);
+    (parallel(codes.length * variables) ? range.parallel() : range).forEach(i -> {
+      int first = pair(i, i + 1);
+      for (int p = first; p < first + variables - i - 1; p++) {
+        Arrays.fill(joint[p], 0);
+      }
+      for (int[] code : codes) {
+        int a = code[i];
+        if (a < 0) {
+          continue;
+        }
+        int row = a * values;
+        int p = first;
+        for (int j = i + 1; j < variables; j++, p++) {
+          int b = code[j];
+          if (b >= 0) {
+            joint[p][row + b]++;
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Computes the entropy of a variable, in nats.
+   *
+   * @param variable [int] The variable.
+   * @return [double] The entropy, 0 if the variable has no counted values.
+   */
+  public double entropy(int variable) {
+    int total = total(variable);
+    double entropy = 0;
+    for (int k = 0; k < values; k++) {
+      int count = count(variable, k);
+      if (count > 0) {
+        double p = (double) count / total;
+        entropy -= p * Math.log(p);
+      }
+    }
+    return entropy;
+  }
+
+  /**
+   * Computes the entropy of a variable given another one, H(X | Y) =
+   * H(X, Y) - H(Y), from the states with valid values in both.
+   *
+   * @param variable [int] The variable X.
+   * @param given [int] The variable Y.
+   * @return [double] The conditional entropy, in nats.
+   */
+  public double conditionalEntropy(int variable, int given) {
+    int[] table = joint[pair(variable, given)];
+    boolean givenFirst = given < variable;
+    int[] marginal = new int[values];
+    int total = 0;
+    double jointEntropy = 0;
+    for (int a = 0; a < values; a++) {
+      for (int b = 0; b < values; b++) {
+        int count = table[a * values + b];
+        if (count > 0) {
+          marginal[givenFirst ? a : b] += count;
+          total += count;
+          jointEntropy -= count * Math.log(count);
+        }
+      }
+    }
+    if (total == 0) {
+      return entropy(variable);
+    }
+    double givenEntropy = 0;
+    for (int count : marginal) {
+      if (count > 0) {
+        givenEntropy -= count * Math.log(count);
+      }
+    }
+    // Con frecuencias: H = log(N) - (1/N) sum n log n, y los log(N) se cancelan.
+    return (jointEntropy - givenEntropy) / total;
+  }
+
+  /**
+   * Computes the mutual information of a pair of variables, in nats, from
+   * the states with valid values in both.
+   *
+   * @param first [int] A variable.
+   * @param second [int] Another variable.
+   * @return [double] The mutual information, 0 or more.
+   */
+  public double mutualInformation(int first, int second) {
+    return mutualInformation(joint[pair(first, second)]);
+  }
+
+  /**
+   * Computes the mutual information of all the pairs of variables, in
+   * parallel over the pairs.
+   *
+   * @return [double[]] The mutual information of each pair, by position of the pair.
+   */
+  public double[] mutualInformation() {
+    double[] information = new double[joint.length];
+    IntStream range = IntStream.range(0, joint.length);
+    (parallel(joint.length) ? range.parallel() : range).forEach(p -> information[p] = mutualInformation(joint[p]));
+    return information;
+  }
+
+  /**
+   * Gets the number of states counted in the table of a pair of variables.
+   *
+   * @param first [int] A variable.
+   * @param second [int] Another variable.
+   * @return [int] The number of states with valid values in both.
+   */
+  public int pairTotal(int first, int second) {
+    int total = 0;
+    for (int count : joint[pair(first, second)]) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * Computes the mutual information of a table of a pair.
+   *
+   * @param table [int[]] Counts of the pairs of values, by first value.
+   * @return [double] The mutual information, in nats.
+   */
+  private double mutualInformation(int[] table) {
+    int[] rows = new int[values];
+    int[] columns = new int[values];
+    int total = 0;
+    for (int a = 0; a < values; a++) {
+      for (int b = 0; b < values; b++) {
+        int count = table[a * values + b];
+        rows[a] += count;
+        columns[b] += count;
+        total += count;
+      }
+    }
+    if (total == 0) {
+      return 0;
+    }
+    double information = 0;
+    for (int a = 0; a < values; a++) {
+      for (int b = 0; b < values; b++) {
+        int count = table[a * values + b];
+        if (count > 0) {
+          information += count * Math.log((double) count * total / ((double) rows[a] * columns[b]));
+        }
+      }
+    }
+    return Math.max(0, information / total);
+  }
+}
@@ -0,0 +1,64 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.stream.IntStream;
+
+/**
+ * MIMIC distribution of De Bonet, Isbell and Viola: the variables form a
+ * chain, chosen greedily. The chain starts with the variable of lowest
+ * entropy and each next variable is the one with the lowest entropy given
+ * the last one, which becomes its only parent.
+ */
+public class Mimic extends MultivariateDistribution {
+
+  /**
+   * Chooses the chain of the variables.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the values and pairs of values of the fathers.
+   * @param codes [int[][]] Values of each father, -1 where they are not valid.
+   * @return [int[][]] The parent of each variable, none for the first one of the chain.
+   */
+  @Override
+  protected int[][] structure(JointFrequencyModel statistics, int[][] codes) {
+    int variables = statistics.getVariables();
+    int[][] parents = new int[variables][0];
+    if (variables == 0) {
+      return parents;
+    }
+    boolean[] used = new boolean[variables];
+    double[] scores = new double[variables];
+    IntStream.range(0, variables).forEach(v -> scores[v] = statistics.entropy(v));
+    int current = lowest(scores, used);
+    used[current] = true;
+    for (int step = 1; step < variables; step++) {
+      int previous = current;
+      // Las entropías condicionadas de los candidatos son independientes entre sí.
+      IntStream range = IntStream.range(0, variables);
+      (statistics.parallel(statistics.getValues()) ? range.parallel() : range).forEach(v -> {
+        if (!used[v]) {
+          scores[v] = statistics.conditionalEntropy(v, previous);
+        }
+      });
+      current = lowest(scores, used);
+      used[current] = true;
+      parents[current] = new int[] {previous};
+    }
+    return parents;
+  }
+
+  /**
+   * Finds the unused variable with the lowest score; on ties, the first one.
+   *
+   * @param scores [double[]] Score of each variable.
+   * @param used [boolean[]] Whether each variable is already in the chain.
+   * @return [int] The variable.
+   */
+  private static int lowest(double[] scores, boolean[] used) {
+    int best = -1;
+    for (int v = 0; v < scores.length; v++) {
+      if (!used[v] && (best < 0 || scores[v] < scores[best])) {
+        best = v;
+      }
+    }
+    return best;
+  }
+}
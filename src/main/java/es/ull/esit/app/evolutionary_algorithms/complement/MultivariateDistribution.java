@@ -0,0 +1,134 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Distribution that learns the dependencies between the variables of the
+ * fathers as a {@link DependencyModel}, sampled by {@link AncestralSampling}.
+ * The subclasses only choose the parents of each variable, from the counts of
+ * the values and of the pairs of values of the fathers. Those counts are kept
+ * per run in a {@link JointFrequencyModel} and updated with the fathers that
+ * enter and leave the selected set, so the instances hold no state and can be
+ * shared.
+ */
+public abstract class MultivariateDistribution extends Distribution {
+
+  /** Critical value of the normal distribution for a test at the 5% level. */
+  private static final double NORMAL_QUANTILE = 1.6448536269514722;
+
+  /**
+   * Per-run state of the distribution, kept in the current SearchContext.
+   */
+  private static final class RunState {
+    /** Counts of the fathers of the last generation. */
+    private JointFrequencyModel statistics;
+  }
+
+  /**
+   * Calculates the marginal probability of each value of each variable, as
+   * {@link Univariate}. The dependencies are learned by {@link #model(List)}.
+   *
+   * @param fathers [List<State>] List of father states.
+   * @return [List<Probability>] List of Probability objects, by variable and value.
+   */
+  @Override
+  public List<Probability> distribution(List<State> fathers) {
+    List<Probability> listProbability = new ArrayList<>();
+    if (fathers == null || fathers.isEmpty()) {
+      return listProbability;
+    }
+    JointFrequencyModel statistics = statistics(fathers);
+    for (int i = 0; i < statistics.getVariables(); i++) {
+      for (int value = 0; value < statistics.getValues(); value++) {
+        int count = statistics.count(i, value);
+        if (count > 0) {
+          Probability probability = new Probability();
+          probability.setKey(i);
+          probability.setValue(value);
+          probability.setProbability(((float) count) / fathers.size());
+          listProbability.add(probability);
+        }
+      }
+    }
+    return listProbability;
+  }
+
+  /**
+   * Learns the model of the fathers: updates the counts of the run with
+   * them, chooses the parents of each variable and tabulates the values.
+   *
+   * @param fathers [List<State>] List of father states.
+   * @return [DependencyModel] The model.
+   */
+  public DependencyModel model(List<State> fathers) {
+    JointFrequencyModel statistics = statistics(fathers);
+    int[][] codes = new int[fathers.size()][];
+    for (int j = 0; j < codes.length; j++) {
+      codes[j] = statistics.code(fathers.get(j));
+    }
+    return new DependencyModel(structure(statistics, codes), codes, statistics.getValues());
+  }
+
+  /**
+   * Chooses the parents of each variable.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the values and pairs of values of the fathers.
+   * @param codes [int[][]] Values of each father, -1 where they are not valid.
+   * @return [int[][]] The parents of each variable, without cycles.
+   */
+  protected abstract int[][] structure(JointFrequencyModel statistics, int[][] codes);
+
+  /**
+   * Gets the counts of the current run updated with the fathers, created
+   * again when the number of variables or values changes.
+   *
+   * @param fathers [List<State>] List of father states.
+   * @return [JointFrequencyModel] The counts.
+   */
+  protected JointFrequencyModel statistics(List<State> fathers) {
+    int variables = fathers.get(0).getCode().size();
+    int values = Strategy.getStrategy().getProblem().getPossibleValue();
+    RunState run = SearchContext.current().getAttribute(RunState.class, RunState::new);
+    if (run.statistics == null || run.statistics.getVariables() != variables
+        || run.statistics.getValues() != values) {
+      run.statistics = new JointFrequencyModel(variables, values);
+    }
+    run.statistics.update(fathers);
+    return run.statistics;
+  }
+
+  /**
+   * Gets the number of different values that a variable takes in the fathers.
+   *
+   * @param statistics [JointFrequencyModel] Counts of the fathers.
+   * @param variable [int] The variable.
+   * @return [int] The number of values, at least 1.
+   */
+  protected static int observed(JointFrequencyModel statistics, int variable) {
+    int observed = 0;
+    for (int value = 0; value < statistics.getValues(); value++) {
+      if (statistics.count(variable, value) > 0) {
+        observed++;
+      }
+    }
+    return Math.max(observed, 1);
+  }
+
+  /**
+   * Approximates the quantile at 95% of the chi-square distribution, with the
+   * transformation of Wilson and Hilferty.
+   *
+   * @param freedom [int] Degrees of freedom, positive.
+   * @return [double] The critical value.
+   */
+  protected static double chiSquareCritical(int freedom) {
+    double variance = 2.0 / (9.0 * freedom);
+    double root = 1 - variance + NORMAL_QUANTILE * Math.sqrt(variance);
+    return freedom * root * root * root;
+  }
+}
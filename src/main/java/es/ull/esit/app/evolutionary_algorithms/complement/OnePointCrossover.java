@@ -1,9 +1,6 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.List;
-
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 
@@ -24,10 +21,7 @@ public class OnePointCrossover extends Crossover {
 				
 		State newInd = (State) father1.getCopy();
 		
-	    List<Object> ind1 = new ArrayList<>();
-	    List<Object> ind2 = new ArrayList<>();
-	    
-		double number = random.nextDouble();	
+		double number = RandomService.generator().nextDouble();	
 		if(number <= pc){
 
       int limit = Strategy.getStrategy()
@@ -35,29 +29,15 @@ public class OnePointCrossover extends Crossover {
                     .getCodification()
                     .getVariableCount();
 
-      int pos = random.nextInt(limit - 1);
+      int pos = RandomService.generator().nextInt(limit - 1);
       
-      for (int i = 0; i < father1.getCode().size(); i++) {
-				if(i <= pos){
-					ind1.add(father1.getCode().get(i));
-					ind2.add(father2.getCode().get(i));
-				}
-				else{
-					ind1.add(father2.getCode().get(i));
-					ind2.add(father1.getCode().get(i));
-				}
-			}
-	
-		
-			int choice = random.nextInt(2);
+			// The copy already holds father1, so only the part taken from father2
+			// is written, keeping the representation of the state.
+			int choice = RandomService.generator().nextInt(2);
 			if(choice == 0)
-				newInd.setCode(ind1);
-			else newInd.setCode(ind2); 
+				newInd.copyValues(father2, pos + 1, father1.size());
+			else newInd.copyValues(father2, 0, pos + 1); 
 		}
 		return newInd;			
 	}
-
-  /** Random number generator used for crossover operations. */
-  private SecureRandom random = new SecureRandom();
-	
 }
@@ -1,9 +1,9 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Class that implements the one-point mutation operator.
@@ -18,12 +18,12 @@ public class OnePointMutation extends Mutation {
    */
 	@Override
 	public State mutation(State state, double pm) {
-		double probM = ThreadLocalRandom.current().nextDouble();
+		double probM = RandomService.current().getGenerator().nextDouble();
 		if(pm >= probM)
 		{
 			int index =  Strategy.getStrategy().getProblem().getCodification().getAleatoryKey();
 			Object value = Strategy.getStrategy().getProblem().getCodification().getVariableAleatoryValue(index);
-			state.getCode().set(index, value);
+			state.setValue(index, value);
 		}
 		return state;
 	}
@@ -1,20 +1,30 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheuristics.generators.GeneratorType;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 
 /**
- * Class that implements the probabilistic sampling operator.
+ * Class that implements the probabilistic sampling operator. Each variable of
+ * the new states is drawn with the frequencies of its values among the
+ * fathers, kept in a {@link FrequencyModel} that is updated between
+ * generations.
  */
 public class ProbabilisticSampling extends Sampling {
 
-  /** Random number generator used for sampling operations. */
-  private SecureRandom r = new SecureRandom();
+  /**
+   * Per-run state of the sampling, kept in the current SearchContext so the
+   * model of each run is only updated with the changes of its fathers.
+   */
+  private static final class RunState {
+    /** Frequencies of the values of the fathers of the last generation. */
+    private FrequencyModel model;
+  }
 
   /**
    * Applies the probabilistic sampling operation to generate new states based on
@@ -28,112 +38,54 @@ public class ProbabilisticSampling extends Sampling {
   @Override
   public List<State> sampling(List<State> fathers, int countInd) {
     int cantV = fathers.get(0).getCode().size();
-    List<State> staList = listState(countInd);
-    int[] possibleValues = buildPossibleValues();
-
-    for (int i = 0; i < cantV; i++) {
-      int[] valuesPerVariable = collectValuesForVariable(fathers, i);
-      int[] occurrences = countOccurrences(valuesPerVariable, possibleValues);
-      int sum = sumOccurrences(occurrences);
-
-      sampleForVariable(staList, occurrences, sum, possibleValues, countInd);
-    }
-
-    return staList;
+    FrequencyModel model = model(cantV, Strategy.getStrategy().getProblem().getPossibleValue());
+    model.update(fathers);
+    return toStates(model.sampleIndividuals(countInd, RandomService.generator()), fathers.get(0));
   }
 
   /**
-   * Builds an array of possible values for the problem's variables.
-   * @return [int[]] an array containing all possible values.
-   */
-  private int[] buildPossibleValues() {
-    int size = Strategy.getStrategy().getProblem().getPossibleValue();
-    int[] arr = new int[size];
-    for (int j = 0; j < size; j++) {
-      arr[j] = j;
-    }
-    return arr;
-  }
-
-  /**
-   * Collects the values of a specific variable (by index) from each parent state.
-   * @param fathers [List<State>] the list of parent states.
-   * @param variableIndex [int] the index of the variable to collect values for.
-   * @return [int[]] an array containing the values of the specified variable from each parent.
+   * Builds the new states from the sampled values. Every state is a copy of
+   * the code of a father, so it keeps its representation. A variable without
+   * valid values among the fathers takes a random value.
+   *
+   * @param individuals [int[][]] Values of each new state, -1 where they were not sampled.
+   * @param template [State] Father whose representation the new states take.
+   * @return [List<State>] the list of newly generated states.
    */
-  private int[] collectValuesForVariable(List<State> fathers, int variableIndex) {
-    int[] values = new int[fathers.size()];
-    for (int j = 0; j < fathers.size(); j++) {
-      Object v = fathers.get(j).getCode().get(variableIndex);
-      values[j] = (v.getClass() == Integer.class) ? (Integer) v : -1;
-    }
-    return values;
-  }
-
-  // Cuenta ocurrencias de cada valor posible en la lista de valores de la variable.
-  private int[] countOccurrences(int[] values, int[] possibleValues) {
-    int[] occurrences = new int[possibleValues.length];
-    // Usamos una copia para marcar elementos consumidos sin modificar el original.
-    int[] temp = new int[values.length];
-    System.arraycopy(values, 0, temp, 0, values.length);
-
-    for (int k = 0; k < possibleValues.length; k++) {
-      int target = possibleValues[k];
-      int count = 0;
-      for (int j = 0; j < temp.length; j++) {
-        if (temp[j] != -1 && temp[j] == target) {
-          count++;
-          temp[j] = -1;
+  protected List<State> toStates(int[][] individuals, State template) {
+    List<State> staList = new ArrayList<>(individuals.length);
+    for (int l = 0; l < individuals.length; l++) {
+      State state = (State) template.getCopy();
+      state.setNumber(Strategy.getStrategy().getCountCurrent());
+      state.setTypeGenerator(GeneratorType.DistributionEstimationAlgorithm);
+      int[] values = individuals[l];
+      for (int i = 0; i < values.length; i++) {
+        int value = values[i];
+        if (value < 0) {
+          // value es un valor aleatorio entre 0 y el numero de valores posibles de la variable
+          value = RandomService.generator().nextInt(Strategy.getStrategy().getProblem().getCodification().getVariableCount() * 10);
         }
+        state.setInt(i, value);
       }
-      occurrences[k] = count;
-    }
-    return occurrences;
-  }
-
-  /**
-   * Sums the occurrences of all possible values.
-   * @param occurrences [int[]] array of occurrences for each possible value.
-   * @return [int] the sum of all occurrences.
-   */
-  private int sumOccurrences(int[] occurrences) {
-    int sum = 0;
-    for (int occ : occurrences) {
-      sum += occ;
+      staList.add(state);
     }
-    return sum;
+    return staList;
   }
 
   /**
-   * Samples values for a specific variable and assigns them to the new states.
-   * @param staList [List<State>] the list of new states to assign values to.
-   * @param occurrences [int[]] array of occurrences for each possible value.
-   * @param sum [int] the sum of all occurrences.
-   * @param possibleValues [int[]] array of all possible values for the variable.
-   * @param countInd [int] the number of new states to generate.
+   * Gets the model of the current run, created again when the number of
+   * variables or values changes.
+   *
+   * @param variables [int] Number of variables of the fathers.
+   * @param values [int] Number of possible values of each variable.
+   * @return [FrequencyModel] The model.
    */
-  private void sampleForVariable(List<State> staList, int[] occurrences, int sum, int[] possibleValues, int countInd) {
-    for (int l = 0; l < countInd; l++) {
-      boolean find = false;
-      int p = 0;
-      int random = r.nextInt(Math.max(sum, 1)) + 1; // evitar nextInt(0)
-
-      while (p < occurrences.length && !find) {
-        random -= occurrences[p];
-        if (random <= 0) {
-          staList.get(l).getCode().add(possibleValues[p]);
-          find = true;
-        } else {
-          p++;
-        }
-      }
-
-      if (!find) {
-        // value es un valor aleatorio entre 0 y el numero de valores posibles de la variable
-        int value = r.nextInt(Strategy.getStrategy().getProblem().getCodification().getVariableCount() * 10);
-        staList.get(l).getCode().add(value);
-      }
+  private static FrequencyModel model(int variables, int values) {
+    RunState run = SearchContext.current().getAttribute(RunState.class, RunState::new);
+    if (run.model == null || run.model.getVariables() != variables || run.model.getValues() != values) {
+      run.model = new FrequencyModel(variables, values);
     }
+    return run.model;
   }
 
   /**
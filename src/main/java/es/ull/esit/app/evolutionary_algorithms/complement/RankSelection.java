@@ -0,0 +1,110 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Class implementing the linear ranking selection method. The weight of each
+ * state depends only on its rank: the worst one gets {@code 2 - pressure} and
+ * the best one {@code pressure}, so the selection does not depend on the scale
+ * of the fitness. States with the same fitness share the mean of their ranks.
+ * The ranks take O(n log n) and the parents are drawn from an
+ * {@link AliasTable}.
+ */
+public class RankSelection extends FatherSelection {
+
+  /** Expected number of copies of the best state, between 1 and 2. */
+  private final double pressure;
+
+  /**
+   * Constructor with a selective pressure of 1.5.
+   */
+  public RankSelection() {
+    this(1.5);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param pressure [double] Expected number of copies of the best state, between 1 and 2.
+   */
+  public RankSelection(double pressure) {
+    if (!(pressure >= 1 && pressure <= 2)) {
+      throw new IllegalArgumentException("La presión selectiva debe estar entre 1 y 2: " + pressure);
+    }
+    this.pressure = pressure;
+  }
+
+  /**
+   * Gets the selective pressure.
+   *
+   * @return [double] Expected number of copies of the best state.
+   */
+  public double getPressure() {
+    return pressure;
+  }
+
+  /**
+   * Selects as many parents as states has the list.
+   * @param listState [List<State>] The list of candidate states (individuals) to select from.
+   * @param truncation [int] The number of individuals to select (not used in this implementation).
+   * @return [List<State>] The list of selected parent states.
+   */
+  @Override
+  public List<State> selection(List<State> listState, int truncation) {
+    int n = listState.size();
+    List<State> fatherList = new ArrayList<>(n);
+    if (n == 0) {
+      return fatherList;
+    }
+    AliasTable wheel = new AliasTable(rankWeights(listState));
+    RandomGenerator generator = RandomService.generator();
+    for (int j = 0; j < n; j++) {
+      fatherList.add(listState.get(wheel.sample(generator)));
+    }
+    return fatherList;
+  }
+
+  /**
+   * Gets the weight of each state from its rank.
+   *
+   * @param listState [List<State>] The states.
+   * @return [double[]] The weight of each state, in the order of the list.
+   */
+  double[] rankWeights(List<State> listState) {
+    int n = listState.size();
+    double sign = maximizes() ? 1 : -1;
+    double[] score = new double[n];
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      score[i] = sign * fitness(listState.get(i));
+      order[i] = i;
+    }
+    // Del peor al mejor.
+    Arrays.sort(order, (a, b) -> Double.compare(score[a], score[b]));
+    double[] weights = new double[n];
+    double slope = (n > 1) ? 2 * (pressure - 1) / (n - 1) : 0;
+    int start = 0;
+    while (start < n) {
+      int end = start + 1;
+      while (end < n && score[order[end]] == score[order[start]]) {
+        end++;
+      }
+      double rank = (start + end - 1) / 2.0;
+      for (int k = start; k < end; k++) {
+        weights[order[k]] = (2 - pressure) + slope * rank;
+      }
+      start = end;
+    }
+    if (n == 1) {
+      // Con presión 2 el único estado tendría peso cero.
+      weights[0] = 1;
+    }
+    return weights;
+  }
+}
@@ -24,4 +24,28 @@ public abstract class Replace {
    * @throws NoSuchMethodException
    */
 	public abstract List<State> replace(State stateCandidate, List<State>listState) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException;
+
+  /**
+   * Method to replace states in the population based on a batch of candidate
+   * states, with the same result as replacing them one by one in order. By
+   * default it does exactly that; the strategies override it when the whole
+   * batch can be placed in less work.
+   * @param offspring [List<State>] The candidate states, in order.
+   * @param listState [List<State>] The current list of states in the population.
+   * @return [List<State>] The updated list of states after applying the replacement strategy.
+   * @throws IllegalArgumentException
+   * @throws SecurityException
+   * @throws ClassNotFoundException
+   * @throws InstantiationException
+   * @throws IllegalAccessException
+   * @throws InvocationTargetException
+   * @throws NoSuchMethodException
+   */
+	public List<State> replaceBatch(List<State> offspring, List<State> listState) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		List<State> population = listState;
+		for (State stateCandidate : offspring) {
+			population = replace(stateCandidate, population);
+		}
+		return population;
+	}
 }
@@ -1,20 +1,18 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
-import es.ull.esit.app.metaheuristics.generators.LimitRoulette;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.problem.definition.State;
 
 /**
  * Class implementing the roulette wheel selection method for selecting parents in an evolutionary algorithm.
+ * The wheel is an {@link AliasTable}, so each spin takes constant time.
  */
 public class RouletteSelection extends FatherSelection {
 
-  /** Random number generator used for selection operations. */
-  private SecureRandom random = new SecureRandom();
-
   /**
    * Selects parents from the given list of states using the roulette wheel selection method.
    * @param listState [List<State>] The list of candidate states (individuals) to select from.
@@ -23,39 +21,14 @@ public class RouletteSelection extends FatherSelection {
    */
 	@Override
 	public List<State> selection(List<State> listState, int truncation) {
-    
-		float totalWeight = 0;
-		for (int i = 0; i < listState.size(); i++) {
-			totalWeight = (float) (listState.get(i).getEvaluation().get(0) + totalWeight);
-		}
-		List<Float> listProb = new ArrayList<>();
-		for (int i = 0; i < listState.size(); i++) {
-			float probF = (float) (listState.get(i).getEvaluation().get(0) / totalWeight);
-			listProb.add(probF);
-		}
-		List<LimitRoulette> listLimit = new ArrayList<>();
-		float limitHigh = 0;
-		float limitLow = 0;
-		for (int i = 0; i < listProb.size(); i++) {
-			LimitRoulette limitRoulette = new LimitRoulette();
-			limitHigh = listProb.get(i) + limitHigh;
-			limitRoulette.setLimitHigh(limitHigh);
-			limitRoulette.setLimitLow(limitLow);
-			limitLow = limitHigh;
-			listLimit.add(limitRoulette);
+		List<State> fatherList = new ArrayList<>(listState.size());
+		if (listState.isEmpty()) {
+			return fatherList;
 		}
-		List<State> fatherList = new ArrayList<>();
+		AliasTable wheel = new AliasTable(weights(listState));
+		RandomGenerator generator = RandomService.generator();
 		for (int j = 0; j < listState.size(); j++) {
-			float numbAleatory = (float) (random.nextDouble() * 1.0);
-			boolean find = false;
-			int i = 0;
-			while ((!find) && (i < listLimit.size())){
-				if((listLimit.get(i).getLimitLow() <= numbAleatory) && (numbAleatory <= listLimit.get(i).getLimitHigh())){
-					find = true;
-					fatherList.add(listState.get(i));
-				}
-				else i++;
-			}
+			fatherList.add(listState.get(wheel.sample(generator)));
 		}
 		return fatherList;
 	}
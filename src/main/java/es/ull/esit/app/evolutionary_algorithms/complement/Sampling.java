@@ -15,4 +15,24 @@ public abstract class Sampling {
    * @return [List<State>] The list of sampled individuals.
    */
 	public abstract List<State> sampling (List<State> fathers, int countInd);
+
+  /**
+   * Samples individuals from the given list of fathers with the given
+   * distribution. By default the distribution is not used.
+   * @param fathers [List<State>] The list of father states (individuals) to sample from.
+   * @param countInd [int] The number of individuals to sample.
+   * @param distribution [Distribution] The distribution estimated from the fathers.
+   * @return [List<State>] The list of sampled individuals.
+   */
+  public List<State> sampling(List<State> fathers, int countInd, Distribution distribution) {
+    return sampling(fathers, countInd);
+  }
+
+  /**
+   * Tells whether the sampling needs the distribution of the algorithm.
+   * @return [boolean] True if {@link #sampling(List, int, Distribution)} should be called.
+   */
+  public boolean usesDistribution() {
+    return false;
+  }
 }
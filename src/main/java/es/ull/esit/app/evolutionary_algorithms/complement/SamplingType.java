@@ -4,5 +4,6 @@ package es.ull.esit.app.evolutionary_algorithms.complement;
  * Enum defining the types of sampling methods available for selecting individuals in an evolutionary algorithm.
  */
 public enum SamplingType {
-  PROBABILISTIC_SAMPLING;  /** Probabilistic sampling method */
+  PROBABILISTIC_SAMPLING,  /** Probabilistic sampling method */
+  ANCESTRAL_SAMPLING;      /** Ancestral sampling of a multivariate distribution */
 }
@@ -5,5 +5,9 @@ package es.ull.esit.app.evolutionary_algorithms.complement;
  */
 public enum SelectionType {
 	ROULETTE_SELECTION,    /** Roulette wheel selection method */
-  TRUNCATION_SELECTION;  /** Truncation selection method */
+  TRUNCATION_SELECTION,  /** Truncation selection method */
+  TOURNAMENT_SELECTION,  /** K-tournament selection method */
+  STOCHASTIC_UNIVERSAL_SAMPLING, /** Stochastic universal sampling method */
+  RANK_SELECTION,        /** Linear ranking selection method */
+  BOLTZMANN_SELECTION;   /** Boltzmann selection method */
 }
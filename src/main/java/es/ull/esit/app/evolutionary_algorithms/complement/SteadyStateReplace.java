@@ -1,6 +1,7 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
 import java.util.List;
+import java.util.PriorityQueue;
 
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
@@ -35,6 +36,43 @@ public class SteadyStateReplace extends Replace {
 		return listState;
 	}
 	
+  /**
+   * Replaces states in the population with a batch of candidates, with the
+   * same result as replacing them one by one. The members are kept in a heap
+   * ordered from the worst one, ties broken by position as the linear scan
+   * does, so each candidate costs O(log n) instead of a scan of the
+   * population.
+   * @param offspring [List<State>] The candidate states, in order.
+   * @param listState [List<State>] The current population of states.
+   * @return [List<State>] The updated population of states after replacement.
+   */
+	@Override
+	public List<State> replaceBatch(List<State> offspring, List<State> listState) {
+		if (listState.isEmpty() || offspring.isEmpty()) {
+			return listState;
+		}
+		boolean maximize = Strategy.getStrategy().getProblem().getTypeProblem().equals(ProblemType.MAXIMIZAR);
+		// Cada entrada es la posición de un miembro; la cima es el peor.
+		PriorityQueue<Integer> worst = new PriorityQueue<>(listState.size(), (a, b) -> {
+			int order = Double.compare(listState.get(a).getEvaluation().get(0), listState.get(b).getEvaluation().get(0));
+			return (order != 0) ? (maximize ? order : -order) : Integer.compare(a, b);
+		});
+		for (int i = 0; i < listState.size(); i++) {
+			worst.add(i);
+		}
+		for (State stateCandidate : offspring) {
+			int index = worst.peek();
+			double candidateEval = stateCandidate.getEvaluation().get(0);
+			double repEval = listState.get(index).getEvaluation().get(0);
+			if (maximize ? (candidateEval >= repEval) : (candidateEval <= repEval)) {
+				worst.poll();
+				listState.set(index, stateCandidate);
+				worst.add(index);
+			}
+		}
+		return listState;
+	}
+
   /**
    * Finds the state with the minimum evaluation value in a list of states.
    * @param listState [List<State>] The list of states to search.
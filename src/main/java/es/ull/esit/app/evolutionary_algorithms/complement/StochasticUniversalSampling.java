@@ -0,0 +1,54 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Class implementing the stochastic universal sampling method of Baker. The
+ * wheel of the roulette is spun once and the parents are read at equally
+ * spaced pointers, so each state is chosen a number of times within one of
+ * its expected value. The whole selection takes O(n).
+ */
+public class StochasticUniversalSampling extends FatherSelection {
+
+  /**
+   * Selects as many parents as states has the list.
+   * @param listState [List<State>] The list of candidate states (individuals) to select from.
+   * @param truncation [int] The number of individuals to select (not used in this implementation).
+   * @return [List<State>] The list of selected parent states, in the order of the list.
+   */
+  @Override
+  public List<State> selection(List<State> listState, int truncation) {
+    int n = listState.size();
+    List<State> fatherList = new ArrayList<>(n);
+    if (n == 0) {
+      return fatherList;
+    }
+    double[] weights = weights(listState);
+    double total = 0;
+    int last = 0;
+    for (int i = 0; i < n; i++) {
+      total += weights[i];
+      if (weights[i] > 0) {
+        last = i;
+      }
+    }
+    double step = total / n;
+    double pointer = RandomService.generator().nextDouble() * step;
+    double limit = weights[0];
+    int i = 0;
+    for (int j = 0; j < n; j++) {
+      // El último estado con peso absorbe el error de redondeo de la suma.
+      while (pointer >= limit && i < last) {
+        i++;
+        limit += weights[i];
+      }
+      fatherList.add(listState.get(i));
+      pointer += step;
+    }
+    return fatherList;
+  }
+}
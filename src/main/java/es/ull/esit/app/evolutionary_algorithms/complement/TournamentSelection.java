@@ -0,0 +1,78 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Class implementing the k-tournament selection method: each parent is the
+ * best of k states drawn at random with replacement. It only compares the
+ * fitness, so its scale and sign do not matter, and each parent takes O(k).
+ */
+public class TournamentSelection extends FatherSelection {
+
+  /** Number of states of each tournament. */
+  private final int size;
+
+  /**
+   * Constructor of binary tournaments.
+   */
+  public TournamentSelection() {
+    this(2);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param size [int] Number of states of each tournament, at least one.
+   */
+  public TournamentSelection(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("El tamaño del torneo debe ser positivo: " + size);
+    }
+    this.size = size;
+  }
+
+  /**
+   * Gets the number of states of each tournament.
+   *
+   * @return [int] The size of the tournaments.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Selects as many parents as states has the list, each one by a tournament.
+   * @param listState [List<State>] The list of candidate states (individuals) to select from.
+   * @param truncation [int] The number of individuals to select (not used in this implementation).
+   * @return [List<State>] The list of selected parent states.
+   */
+  @Override
+  public List<State> selection(List<State> listState, int truncation) {
+    int n = listState.size();
+    List<State> fatherList = new ArrayList<>(n);
+    if (n == 0) {
+      return fatherList;
+    }
+    double sign = maximizes() ? 1 : -1;
+    RandomGenerator generator = RandomService.generator();
+    for (int j = 0; j < n; j++) {
+      State winner = listState.get(generator.nextInt(n));
+      double best = sign * fitness(winner);
+      for (int k = 1; k < size; k++) {
+        State rival = listState.get(generator.nextInt(n));
+        double score = sign * fitness(rival);
+        if (score > best) {
+          winner = rival;
+          best = score;
+        }
+      }
+      fatherList.add(winner);
+    }
+    return fatherList;
+  }
+}
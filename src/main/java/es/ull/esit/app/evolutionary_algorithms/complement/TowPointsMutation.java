@@ -21,8 +21,8 @@ public class TowPointsMutation extends Mutation {
 		Object key2 = Strategy.getStrategy().getProblem().getCodification().getAleatoryKey();
 		Object value1 = Strategy.getStrategy().getProblem().getCodification().getVariableAleatoryValue((Integer) key1);
 		Object value2 = Strategy.getStrategy().getProblem().getCodification().getVariableAleatoryValue((Integer) key2);
-		newind.getCode().set((Integer) key1, (Integer)value2);
-		newind.getCode().set((Integer) key2, (Integer)value1);
+		newind.setValue((Integer) key1, value2);
+		newind.setValue((Integer) key2, value1);
 		return newind;
 	}
 }
@@ -2,7 +2,9 @@ package es.ull.esit.app.evolutionary_algorithms.complement;
 
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 
@@ -21,16 +23,7 @@ public class TruncationSelection extends FatherSelection {
    * @return [List<State>] Ordered list of states.
    */
 	public List<State> orderBetter (List<State> listState){
-		State actualState = null;
-		for (int i = 0; i < listState.size()- 1; i++) {
-			for (int j = i+1; j < listState.size(); j++) {
-				if(listState.get(i).getEvaluation().get(0) < listState.get(j).getEvaluation().get(0)){
-					actualState = listState.get(i);
-					listState.set(i, listState.get(j));
-					listState.set(j,actualState);
-				}
-			}
-		}
+		listState.sort(Comparator.comparingDouble(FatherSelection::fitness).reversed());
 		return listState;
 	}
 	
@@ -40,38 +33,48 @@ public class TruncationSelection extends FatherSelection {
    * @return [List<State>] Ordered list of states.
    */
 	public List<State> ascOrderBetter (List<State> listState){
-		State actualState = null;
-		for (int i = 0; i < listState.size()- 1; i++) {
-			for (int j = i+1; j < listState.size(); j++) {
-				if(listState.get(i).getEvaluation().get(0) > listState.get(j).getEvaluation().get(0)){
-					actualState = listState.get(i);
-					listState.set(i, listState.get(j));
-					listState.set(j,actualState);
-				}
-			}
-		}
+		listState.sort(Comparator.comparingDouble(FatherSelection::fitness));
 		return listState;
 	}
   
   /**
    * Selects the best states from the list according to the truncation value.
+   * Only the selected states are ordered: a heap keeps the best ones seen, so
+   * the selection takes O(n log truncation) and the list is left unchanged.
    * @param listState [List<State>] List of states to select from.
    * @param truncation [int] Number of states to select.
-   * @return [List<State>] Selected list of states.
+   * @return [List<State>] Selected list of states, from the best to the worst.
    */
 	@Override
 	public List<State> selection(List<State> listState, int truncation) {
-		List<State> auxList = new ArrayList<>();
-		if (Strategy.getStrategy().getProblem().getTypeProblem().equals(ProblemType.MAXIMIZAR)) {
-			listState = orderBetter(listState);
-		} else {
-			if(Strategy.getStrategy().getProblem().getTypeProblem().equals(ProblemType.MINIMIZAR))
-				listState = ascOrderBetter(listState);
+		int count = Math.min(Math.max(truncation, 0), listState.size());
+		ProblemType type = Strategy.getStrategy().getProblem().getTypeProblem();
+		if (!ProblemType.MAXIMIZAR.equals(type) && !ProblemType.MINIMIZAR.equals(type)) {
+			// Sin tipo de problema se toman los primeros, como antes.
+			return new ArrayList<>(listState.subList(0, count));
+		}
+		double sign = ProblemType.MAXIMIZAR.equals(type) ? 1 : -1;
+		double[] score = new double[listState.size()];
+		for (int i = 0; i < score.length; i++) {
+			score[i] = sign * fitness(listState.get(i));
+		}
+		// Cabeza del montículo: el peor elegido; a igualdad, el de mayor posición.
+		Comparator<Integer> worstFirst = (a, b) -> (score[a] != score[b]) ? Double.compare(score[a], score[b])
+				: Integer.compare(b, a);
+		PriorityQueue<Integer> chosen = new PriorityQueue<>(Math.max(count, 1), worstFirst);
+		for (int i = 0; i < score.length && count > 0; i++) {
+			if (chosen.size() < count) {
+				chosen.add(i);
+			} else if (worstFirst.compare(i, chosen.peek()) > 0) {
+				chosen.poll();
+				chosen.add(i);
+			}
 		}
-		int i = 0;
-		while(auxList.size()< truncation){
+		List<Integer> order = new ArrayList<>(chosen);
+		order.sort(worstFirst.reversed());
+		List<State> auxList = new ArrayList<>(count);
+		for (int i : order) {
 			auxList.add(listState.get(i));
-			i++;
 		}
 		return auxList;
 	}
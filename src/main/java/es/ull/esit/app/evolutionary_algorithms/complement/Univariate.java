@@ -3,8 +3,6 @@ package es.ull.esit.app.evolutionary_algorithms.complement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
-import java.util.HashMap;
-import java.util.Map;
 
 import es.ull.esit.app.problem.definition.State;
 
@@ -15,8 +13,11 @@ public class Univariate extends Distribution {
 
   /**
    * Calculates the univariate distribution of variable values from a list of father states.
+   * The frequencies are counted in a {@link FrequencyModel}; negative values
+   * and values that are not integers are skipped.
    * @param fathers [List<State>] List of father states.
-   * @return [List<Probability>] List of Probability objects representing the distribution.
+   * @return [List<Probability>] List of Probability objects representing the distribution,
+   *         by variable and value in ascending order.
    */
 	@Override
 	public List<Probability> distribution(List<State> fathers) {
@@ -27,21 +28,18 @@ public class Univariate extends Distribution {
 		}
 
 		int cantV = fathers.get(0).getCode().size();
+		FrequencyModel model = new FrequencyModel(cantV, valueBound(fathers, cantV));
+		model.rebuild(fathers);
 		for (int i = 0; i < cantV; i++) {
-			Map<Integer, Integer> freq = new HashMap<>();
-			for (int j = 0; j < fathers.size(); j++) {
-				Integer value = (Integer) fathers.get(j).getCode().get(i);
-				if (value == -1) {
+			for (int value = 0; value < model.getValues(); value++) {
+				int count = model.count(i, value);
+				if (count == 0) {
 					continue;
 				}
-				freq.put(value, freq.getOrDefault(value, 0) + 1);
-			}
-
-			for (Map.Entry<Integer, Integer> entry : freq.entrySet()) {
 				Probability probability = new Probability();
-				float prob = ((float) entry.getValue()) / fathers.size();
+				float prob = ((float) count) / fathers.size();
 				probability.setKey(i);
-				probability.setValue(entry.getKey());
+				probability.setValue(value);
 				probability.setProbability(prob);
 				listProbability.add(probability);
 			}
@@ -49,6 +47,23 @@ public class Univariate extends Distribution {
 		return listProbability;
 	}
 
+  /**
+   * Gets the number of values needed to count every value of the fathers.
+   * @param fathers [List<State>] List of father states.
+   * @param cantV [int] Number of variables.
+   * @return [int] The largest value plus one.
+   */
+	private static int valueBound(List<State> fathers, int cantV) {
+		int bound = 0;
+		for (State father : fathers) {
+			int size = Math.min(cantV, father.getCode().size());
+			for (int i = 0; i < size; i++) {
+				bound = Math.max(bound, FrequencyModel.value(father, i, Integer.MAX_VALUE) + 1);
+			}
+		}
+		return bound;
+	}
+
   /**
    * Generates a list of keys from a sorted map.
    * @param map [SortedMap<String, Object>] Input sorted map.
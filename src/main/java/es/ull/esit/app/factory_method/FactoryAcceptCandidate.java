@@ -24,6 +24,10 @@ public class FactoryAcceptCandidate implements IFFactoryAcceptCandidate {
              IllegalAccessException, InvocationTargetException,
              NoSuchMethodException {
 
+    Object registered = FactoryRegistry.resolve(typeacceptation);
+    if (registered != null) {
+      return (AcceptableCandidate) registered;
+    }
     // OJO: aquí va el paquete REAL de tus clases de aceptación
     String className = "es.ull.esit.app.local_search.acceptation_type." + typeacceptation.toString();
     return (AcceptableCandidate) FactoryLoader.getInstance(className);
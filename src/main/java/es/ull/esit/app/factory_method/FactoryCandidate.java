@@ -27,6 +27,10 @@ public class FactoryCandidate implements IFFactoryCandidate{
    * @throws NoSuchMethodException If the constructor is not found.
    */
 	public SearchCandidate createSearchCandidate(CandidateType typeCandidate) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		Object registered = FactoryRegistry.resolve(typeCandidate);
+		if (registered != null) {
+		  return (SearchCandidate) registered;
+		}
 		String className = "local_search.candidate_type." + typeCandidate.toString();
 		return (SearchCandidate) FactoryLoader.getInstance(className);
 	}
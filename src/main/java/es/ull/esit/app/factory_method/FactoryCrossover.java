@@ -28,6 +28,10 @@ public class FactoryCrossover implements IFFactoryCrossover {
    */
 	public Crossover createCrossover(CrossoverType crossovertype) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 		
+		Object registered = FactoryRegistry.resolve(crossovertype);
+		if (registered != null) {
+		  return (Crossover) registered;
+		}
 		String className = "evolutionary_algorithms.complement." + crossovertype.toString();
 		return  (Crossover) FactoryLoader.getInstance(className);
 	}
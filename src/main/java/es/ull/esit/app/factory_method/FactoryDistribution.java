@@ -27,6 +27,10 @@ public class FactoryDistribution implements IFFactoryDistribution {
    */
 	public Distribution createDistribution(DistributionType distributiontype) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 		
+		Object registered = FactoryRegistry.resolve(distributiontype);
+		if (registered != null) {
+		  return (Distribution) registered;
+		}
 		String className = "evolutionary_algorithms.complement." + distributiontype.toString();
 		return (Distribution) FactoryLoader.getInstance(className);
 	}
@@ -24,6 +24,10 @@ public class FactoryFatherSelection implements IFFactoryFatherSelection{
      * @throws NoSuchMethodException If the constructor is not found.
      */
     public FatherSelection createSelectFather(SelectionType selectionType) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    	Object registered = FactoryRegistry.resolve(selectionType);
+    	if (registered != null) {
+    	  return (FatherSelection) registered;
+    	}
     	String className = "evolutionary_algorithms.complement." + selectionType.toString();
 		  return (FatherSelection) FactoryLoader.getInstance(className);
 	}
@@ -26,6 +26,10 @@ public class FactoryGenerator implements IFFactoryGenerator {
    * @throws NoSuchMethodException If the constructor is not found.
    */
 	public Generator createGenerator(GeneratorType generatorType) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		Object registered = FactoryRegistry.resolve(generatorType);
+		if (registered != null) {
+		  return (Generator) registered;
+		}
 		String className = "metaheuristics.generators." + generatorType.toString();
 		return (Generator) FactoryLoader.getInstance(className);
 	}
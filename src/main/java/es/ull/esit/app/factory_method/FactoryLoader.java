@@ -1,14 +1,21 @@
 package es.ull.esit.app.factory_method;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class that provides a method to load and instantiate classes by name.
  */
 public class FactoryLoader {
 
+  /** Constructors already resolved, by class name. */
+  private static final Map<String, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<>();
+
   /**
-   * Factory method to get an instance of a class given its name.
+   * Factory method to get an instance of a class given its name. The constructor
+   * of each class is looked up once and reused afterwards.
    * 
    * @param className [String] The fully qualified name of the class to instantiate.
    * @return [Object] An instance of the specified class.
@@ -27,9 +34,13 @@ public class FactoryLoader {
       throw new IllegalArgumentException("El nombre de la clase no puede ser nulo o vacío");
     }
 
-    Class<?> c = Class.forName(className);
+    Constructor<?> constructor = CONSTRUCTORS.get(className);
+    if (constructor == null) {
+      constructor = Class.forName(className).getDeclaredConstructor();
+      CONSTRUCTORS.putIfAbsent(className, constructor);
+    }
 
-    return c.getDeclaredConstructor().newInstance();
+    return constructor.newInstance();
   }
 
   private FactoryLoader() {
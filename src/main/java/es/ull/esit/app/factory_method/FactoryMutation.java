@@ -25,6 +25,10 @@ public class FactoryMutation implements IFFactoryMutation {
    */
 	public Mutation createMutation(MutationType typeMutation) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 		
+		Object registered = FactoryRegistry.resolve(typeMutation);
+		if (registered != null) {
+		  return (Mutation) registered;
+		}
 		String className = "evolutionary_algorithms.complement." + typeMutation.toString();
 		return  (Mutation) FactoryLoader.getInstance(className);
 	}
@@ -0,0 +1,293 @@
+package es.ull.esit.app.factory_method;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import es.ull.esit.app.evolutionary_algorithms.complement.AIOMutation;
+import es.ull.esit.app.evolutionary_algorithms.complement.AncestralSampling;
+import es.ull.esit.app.evolutionary_algorithms.complement.BayesianNetwork;
+import es.ull.esit.app.evolutionary_algorithms.complement.BoltzmannSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.CrossoverType;
+import es.ull.esit.app.evolutionary_algorithms.complement.DependencyTree;
+import es.ull.esit.app.evolutionary_algorithms.complement.DistributionType;
+import es.ull.esit.app.evolutionary_algorithms.complement.GenerationalReplace;
+import es.ull.esit.app.evolutionary_algorithms.complement.Mimic;
+import es.ull.esit.app.evolutionary_algorithms.complement.MutationType;
+import es.ull.esit.app.evolutionary_algorithms.complement.OnePointCrossover;
+import es.ull.esit.app.evolutionary_algorithms.complement.OnePointMutation;
+import es.ull.esit.app.evolutionary_algorithms.complement.ProbabilisticSampling;
+import es.ull.esit.app.evolutionary_algorithms.complement.RankSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.ReplaceType;
+import es.ull.esit.app.evolutionary_algorithms.complement.RouletteSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.SamplingType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SteadyStateReplace;
+import es.ull.esit.app.evolutionary_algorithms.complement.StochasticUniversalSampling;
+import es.ull.esit.app.evolutionary_algorithms.complement.TournamentSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.TowPointsMutation;
+import es.ull.esit.app.evolutionary_algorithms.complement.TruncationSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.UniformCrossover;
+import es.ull.esit.app.evolutionary_algorithms.complement.Univariate;
+import es.ull.esit.app.local_search.acceptation_type.AcceptAnyone;
+import es.ull.esit.app.local_search.acceptation_type.AcceptBest;
+import es.ull.esit.app.local_search.acceptation_type.AcceptMulticase;
+import es.ull.esit.app.local_search.acceptation_type.AcceptNotBad;
+import es.ull.esit.app.local_search.acceptation_type.AcceptNotBadT;
+import es.ull.esit.app.local_search.acceptation_type.AcceptNotBadU;
+import es.ull.esit.app.local_search.acceptation_type.AcceptNotDominated;
+import es.ull.esit.app.local_search.acceptation_type.AcceptNotDominatedTabu;
+import es.ull.esit.app.local_search.acceptation_type.AcceptType;
+import es.ull.esit.app.local_search.candidate_type.CandidateType;
+import es.ull.esit.app.local_search.candidate_type.GreaterCandidate;
+import es.ull.esit.app.local_search.candidate_type.NotDominatedCandidate;
+import es.ull.esit.app.local_search.candidate_type.RandomCandidate;
+import es.ull.esit.app.local_search.candidate_type.SmallerCandidate;
+import es.ull.esit.app.metaheuristics.generators.CovarianceMatrixAdaptation;
+import es.ull.esit.app.metaheuristics.generators.DistributionEstimationAlgorithm;
+import es.ull.esit.app.metaheuristics.generators.EvolutionStrategies;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.metaheuristics.generators.GeneticAlgorithm;
+import es.ull.esit.app.metaheuristics.generators.HillClimbing;
+import es.ull.esit.app.metaheuristics.generators.HillClimbingRestart;
+import es.ull.esit.app.metaheuristics.generators.LimitThreshold;
+import es.ull.esit.app.metaheuristics.generators.MultiCaseSimulatedAnnealing;
+import es.ull.esit.app.metaheuristics.generators.MultiGenerator;
+import es.ull.esit.app.metaheuristics.generators.MultiobjectiveHillClimbingDistance;
+import es.ull.esit.app.metaheuristics.generators.MultiobjectiveHillClimbingRestart;
+import es.ull.esit.app.metaheuristics.generators.MultiobjectiveStochasticHillClimbing;
+import es.ull.esit.app.metaheuristics.generators.MultiobjectiveTabuSearch;
+import es.ull.esit.app.metaheuristics.generators.ParticleSwarmOptimization;
+import es.ull.esit.app.metaheuristics.generators.RandomSearch;
+import es.ull.esit.app.metaheuristics.generators.SimulatedAnnealing;
+import es.ull.esit.app.metaheuristics.generators.TabuSearch;
+import es.ull.esit.app.problem.extension.FactoresPonderados;
+import es.ull.esit.app.problem.extension.MultiObjetivoPuro;
+import es.ull.esit.app.problem.extension.TypeSolutionMethod;
+
+/**
+ * Registry that resolves the constants of the component enums (AcceptType,
+ * CrossoverType, MutationType, ReplaceType, SelectionType, TypeSolutionMethod,
+ * GeneratorType...) to their implementation without reflection.
+ *
+ * Each constant is bound either to a shared instance, created once on first
+ * use, or to a supplier that builds a new instance per request. The stateless
+ * components of the library are registered as shared instances; generators keep
+ * state and are registered with {@link #register(Enum, Supplier)}. The
+ * factories consult the registry first and only fall back to
+ * {@link FactoryLoader} for constants without a binding.
+ */
+public final class FactoryRegistry {
+
+  /** Bindings of the enum constants. */
+  private static final Map<Enum<?>, Binding> BINDINGS = new ConcurrentHashMap<>();
+
+  static {
+    registerDefaults();
+  }
+
+  /**
+   * Binds a constant to a supplier that creates a new instance per request.
+   *
+   * @param type [Enum] The constant to bind.
+   * @param supplier [Supplier] Supplier of the implementation.
+   */
+  public static void register(Enum<?> type, Supplier<?> supplier) {
+    BINDINGS.put(checkType(type), new Binding(checkSupplier(supplier), false));
+  }
+
+  /**
+   * Binds a constant to a shared instance created once, on first use, with the
+   * given supplier. The implementation must be stateless or thread-safe.
+   *
+   * @param type [Enum] The constant to bind.
+   * @param supplier [Supplier] Supplier of the shared implementation.
+   */
+  public static void registerShared(Enum<?> type, Supplier<?> supplier) {
+    BINDINGS.put(checkType(type), new Binding(checkSupplier(supplier), true));
+  }
+
+  /**
+   * Removes the binding of a constant, so its factory falls back to reflection.
+   *
+   * @param type [Enum] The constant to unbind.
+   */
+  public static void unregister(Enum<?> type) {
+    BINDINGS.remove(type);
+  }
+
+  /**
+   * Checks whether a constant has a binding.
+   *
+   * @param type [Enum] The constant to check.
+   * @return [boolean] True if the constant is bound, false otherwise.
+   */
+  public static boolean isRegistered(Enum<?> type) {
+    return BINDINGS.containsKey(type);
+  }
+
+  /**
+   * Resolves a constant to its implementation.
+   *
+   * @param type [Enum] The constant to resolve.
+   * @return [Object] The shared instance or a new one, or null if the constant is not bound.
+   */
+  public static Object resolve(Enum<?> type) {
+    Binding binding = (type == null) ? null : BINDINGS.get(type);
+    return (binding == null) ? null : binding.get();
+  }
+
+  /**
+   * Discards every custom binding and restores the bindings of the library.
+   */
+  public static void reset() {
+    BINDINGS.clear();
+    registerDefaults();
+  }
+
+  /**
+   * Registers the components of the library: the stateless ones as shared
+   * instances and the generators with a supplier per request. The suppliers
+   * only run when a generator is requested.
+   */
+  private static void registerDefaults() {
+    registerShared(AcceptType.AcceptBest, AcceptBest::new);
+    registerShared(AcceptType.AcceptAnyone, AcceptAnyone::new);
+    registerShared(AcceptType.AcceptNotBadT, AcceptNotBadT::new);
+    registerShared(AcceptType.AcceptNotBadU, AcceptNotBadU::new);
+    registerShared(AcceptType.AcceptNotDominated, AcceptNotDominated::new);
+    registerShared(AcceptType.AcceptNotDominatedTabu, AcceptNotDominatedTabu::new);
+    registerShared(AcceptType.AcceptNotBad, AcceptNotBad::new);
+    registerShared(AcceptType.AcceptMulticase, AcceptMulticase::new);
+
+    registerShared(CrossoverType.ONE_POINT_CROSSOVER, OnePointCrossover::new);
+    registerShared(CrossoverType.UNIFORM_CROSSOVER, UniformCrossover::new);
+
+    registerShared(MutationType.TOW_POINTS_MUTATION, TowPointsMutation::new);
+    registerShared(MutationType.ONE_POINT_MUTATION, OnePointMutation::new);
+    registerShared(MutationType.AIO_MUTATION, AIOMutation::new);
+
+    registerShared(ReplaceType.STEADY_STATE_REPLACE, SteadyStateReplace::new);
+    registerShared(ReplaceType.GENERATIONAL_REPLACE, GenerationalReplace::new);
+
+    registerShared(SelectionType.ROULETTE_SELECTION, RouletteSelection::new);
+    registerShared(SelectionType.TRUNCATION_SELECTION, TruncationSelection::new);
+    registerShared(SelectionType.TOURNAMENT_SELECTION, TournamentSelection::new);
+    registerShared(SelectionType.STOCHASTIC_UNIVERSAL_SAMPLING, StochasticUniversalSampling::new);
+    registerShared(SelectionType.RANK_SELECTION, RankSelection::new);
+    registerShared(SelectionType.BOLTZMANN_SELECTION, BoltzmannSelection::new);
+
+    registerShared(DistributionType.UNIVARIATE, Univariate::new);
+    registerShared(DistributionType.MIMIC, Mimic::new);
+    registerShared(DistributionType.BMDA, DependencyTree::new);
+    registerShared(DistributionType.BAYESIAN_NETWORK, BayesianNetwork::new);
+
+    registerShared(SamplingType.PROBABILISTIC_SAMPLING, ProbabilisticSampling::new);
+    registerShared(SamplingType.ANCESTRAL_SAMPLING, AncestralSampling::new);
+
+    registerShared(CandidateType.SmallerCandidate, SmallerCandidate::new);
+    registerShared(CandidateType.GreaterCandidate, GreaterCandidate::new);
+    registerShared(CandidateType.RandomCandidate, RandomCandidate::new);
+    registerShared(CandidateType.NotDominatedCandidate, NotDominatedCandidate::new);
+
+    registerShared(TypeSolutionMethod.FactoresPonderados, FactoresPonderados::new);
+    registerShared(TypeSolutionMethod.MultiObjetivoPuro, MultiObjetivoPuro::new);
+
+    register(GeneratorType.TabuSearch, TabuSearch::new);
+    register(GeneratorType.SimulatedAnnealing, SimulatedAnnealing::new);
+    register(GeneratorType.RandomSearch, RandomSearch::new);
+    register(GeneratorType.LimitThreshold, LimitThreshold::new);
+    register(GeneratorType.HillClimbingRestart, HillClimbingRestart::new);
+    register(GeneratorType.GeneticAlgorithm, GeneticAlgorithm::new);
+    register(GeneratorType.EvolutionStrategies, EvolutionStrategies::new);
+    register(GeneratorType.DistributionEstimationAlgorithm, DistributionEstimationAlgorithm::new);
+    register(GeneratorType.ParticleSwarmOptimization, ParticleSwarmOptimization::new);
+    register(GeneratorType.MultiGenerator, MultiGenerator::new);
+    register(GeneratorType.MultiobjectiveTabuSearch, MultiobjectiveTabuSearch::new);
+    register(GeneratorType.MultiobjectiveStochasticHillClimbing, MultiobjectiveStochasticHillClimbing::new);
+    register(GeneratorType.MultiCaseSimulatedAnnealing, MultiCaseSimulatedAnnealing::new);
+    register(GeneratorType.MultiobjectiveHillClimbingRestart, MultiobjectiveHillClimbingRestart::new);
+    register(GeneratorType.MultiobjectiveHillClimbingDistance, MultiobjectiveHillClimbingDistance::new);
+    register(GeneratorType.HillClimbing, HillClimbing::new);
+    register(GeneratorType.CovarianceMatrixAdaptation, CovarianceMatrixAdaptation::new);
+  }
+
+  /**
+   * Checks that the constant is not null.
+   *
+   * @param type [Enum] The constant to check.
+   * @return [Enum] The same constant.
+   */
+  private static Enum<?> checkType(Enum<?> type) {
+    if (type == null) {
+      throw new IllegalArgumentException("El tipo no puede ser nulo");
+    }
+    return type;
+  }
+
+  /**
+   * Checks that the supplier is not null.
+   *
+   * @param supplier [Supplier] The supplier to check.
+   * @return [Supplier] The same supplier.
+   */
+  private static Supplier<?> checkSupplier(Supplier<?> supplier) {
+    if (supplier == null) {
+      throw new IllegalArgumentException("El proveedor no puede ser nulo");
+    }
+    return supplier;
+  }
+
+  private FactoryRegistry() {
+    // Private constructor to prevent instantiation of this utility class.
+  }
+
+  /**
+   * Binding of a constant: a supplier and, for shared bindings, the instance
+   * it created.
+   */
+  private static final class Binding {
+
+    /** Supplier of the implementation. */
+    private final Supplier<?> supplier;
+
+    /** Whether the instance is created once and shared. */
+    private final boolean shared;
+
+    /** Shared instance, created on first use. */
+    private volatile Object instance;
+
+    /**
+     * Constructor.
+     *
+     * @param supplier [Supplier] Supplier of the implementation.
+     * @param shared [boolean] Whether the instance is shared.
+     */
+    Binding(Supplier<?> supplier, boolean shared) {
+      this.supplier = supplier;
+      this.shared = shared;
+    }
+
+    /**
+     * Gets the implementation.
+     *
+     * @return [Object] The shared instance or a new one.
+     */
+    Object get() {
+      if (!shared) {
+        return supplier.get();
+      }
+      Object current = instance;
+      if (current == null) {
+        synchronized (this) {
+          current = instance;
+          if (current == null) {
+            current = supplier.get();
+            instance = current;
+          }
+        }
+      }
+      return current;
+    }
+  }
+}
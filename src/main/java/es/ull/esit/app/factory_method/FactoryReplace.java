@@ -28,6 +28,10 @@ public class FactoryReplace implements IFFactoryReplace {
    * 
    */
 	public Replace createReplace( ReplaceType typereplace ) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException{
+		Object registered = FactoryRegistry.resolve(typereplace);
+		if (registered != null) {
+		  return (Replace) registered;
+		}
 		String className = "evolutionary_algorithms.complement." + typereplace.toString();
 		return (Replace) FactoryLoader.getInstance(className);
 	}
@@ -26,6 +26,10 @@ public class FactorySampling implements IFFSampling {
    */
 	public Sampling createSampling(SamplingType typesampling) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 		
+		Object registered = FactoryRegistry.resolve(typesampling);
+		if (registered != null) {
+		  return (Sampling) registered;
+		}
 		String className = "evolutionary_algorithms.complement." + typesampling.toString();
 		return (Sampling) FactoryLoader.getInstance(className);
 	}
@@ -25,6 +25,10 @@ public class FactorySolutionMethod implements IFFactorySolutionMethod {
    */
 	@Override
 	public SolutionMethod createdSolutionMethod(TypeSolutionMethod method) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		Object registered = FactoryRegistry.resolve(method);
+		if (registered != null) {
+		  return (SolutionMethod) registered;
+		}
 		String className = "problem.extension." + method.toString();
 		return (SolutionMethod) FactoryLoader.getInstance(className);
 	}
@@ -1,10 +1,10 @@
 package es.ull.esit.app.local_search.acceptation_type;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheuristics.generators.*;
 import es.ull.esit.app.metaheurictics.strategy.*;
 
 import java.util.List;
-import java.security.SecureRandom;
 
 import es.ull.esit.app.problem.definition.State;
 
@@ -13,9 +13,6 @@ import es.ull.esit.app.problem.definition.State;
  */
 public class AcceptMulticase extends AcceptableCandidate {
 
-  /** Random number generator for acceptance probability calculations. */
-  private SecureRandom rdm = new SecureRandom();
-
   /**
    * Determines if a candidate state is acceptable based on multicase criteria.
    * 
@@ -39,7 +36,7 @@ public class AcceptMulticase extends AcceptableCandidate {
     double pAccept = calculateAcceptanceProbability(stateCurrent, stateCandidate, list, dominance, tInitial);
 
     // Generar un número aleatorio y decidir aceptación
-    if (rdm.nextFloat() < pAccept) {
+    if (RandomService.generator().nextFloat() < pAccept) {
       // Verificando que la solución candidata domina a alguna de las soluciones
       accept = dominance.listDominance(stateCandidate, list);
     }
@@ -127,9 +124,12 @@ public class AcceptMulticase extends AcceptableCandidate {
    * @return [int] The count of states dominated by the candidate state.
    */
   private int dominanceCounter(State stateCandidate, List<State> list) {
+    if (list instanceof ParetoArchive) {
+      return ((ParetoArchive) list).dominatedCount(stateCandidate);
+    }
     int counter = 0;
+    Dominance dominance = new Dominance();
     for (State solution : list) {
-      Dominance dominance = new Dominance();
       if (dominance.dominance(stateCandidate, solution)) {
         counter++;
       }
@@ -145,14 +145,16 @@ public class AcceptMulticase extends AcceptableCandidate {
    * @return [int] The dominance rank of the candidate state.
    */
   private int dominanceRank(State stateCandidate, List<State> list) {
+    if (list instanceof ParetoArchive) {
+      return ((ParetoArchive) list).dominanceRank(stateCandidate);
+    }
     int rank = 0;
+    Dominance dominance = new Dominance();
     for (State solution : list) {
-      Dominance dominance = new Dominance();
       if (dominance.dominance(solution, stateCandidate)) {
         rank++;
       }
     }
     return rank;
   }
-
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -5,8 +5,8 @@
 package es.ull.esit.app.local_search.acceptation_type;
 
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheuristics.generators.SimulatedAnnealing;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
@@ -19,8 +19,6 @@ import es.ull.esit.app.problem.definition.Problem.ProblemType;
  */
 public class AcceptNotBadT extends AcceptableCandidate{
 
-  /** Random number generator for acceptance decisions. */
-  private SecureRandom random = new SecureRandom();
   /**
    * Decides whether to accept or not a candidate state.
    * @param stateCurrent [State] Current state.
@@ -33,7 +31,7 @@ public class AcceptNotBadT extends AcceptableCandidate{
 		Problem problem = Strategy.getStrategy().getProblem();
 		if (problem.getTypeProblem().equals(ProblemType.MAXIMIZAR)) {
 			double result = (stateCandidate.getEvaluation().get(0) - stateCurrent.getEvaluation().get(0)) / SimulatedAnnealing.getTinitial();
-			double probaleatory = random.nextDouble();
+			double probaleatory = RandomService.generator().nextDouble();
 			double exp = Math.exp(result);
 			if ((stateCandidate.getEvaluation().get(0) >= stateCurrent.getEvaluation().get(0))
 					|| (probaleatory < exp))
@@ -43,7 +41,7 @@ public class AcceptNotBadT extends AcceptableCandidate{
 		} else {
 			double resultMin = (stateCandidate.getEvaluation().get(0) - stateCurrent.getEvaluation().get(0)) / SimulatedAnnealing.getTinitial();
 			if ((stateCandidate.getEvaluation().get(0) <= stateCurrent.getEvaluation().get(0))
-					|| (random.nextDouble() < Math.exp(resultMin)))
+					|| (RandomService.generator().nextDouble() < Math.exp(resultMin)))
 				accept = true;
 			else
 				accept = false;
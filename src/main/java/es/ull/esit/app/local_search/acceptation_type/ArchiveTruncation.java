@@ -0,0 +1,43 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Rule that chooses the member removed from a bounded {@link ParetoArchive}
+ * when it exceeds its capacity. The archive notifies every change of its
+ * members, so the rule can keep its own index up to date instead of scanning
+ * the whole archive on every insertion.
+ *
+ * The points are the objectives of the members, oriented so that every
+ * objective is minimized.
+ */
+public interface ArchiveTruncation {
+
+  /**
+   * Notifies that a member was added.
+   *
+   * @param state [State] The member.
+   * @param point [float[]] Its objectives, every one minimized.
+   */
+  void added(State state, float[] point);
+
+  /**
+   * Notifies that a member was removed.
+   *
+   * @param state [State] The member.
+   * @param point [float[]] Its objectives when it was added.
+   */
+  void removed(State state, float[] point);
+
+  /**
+   * Chooses the member to remove.
+   *
+   * @return [State] The member, or null if there is none.
+   */
+  State select();
+
+  /**
+   * Forgets every member.
+   */
+  void clear();
+}
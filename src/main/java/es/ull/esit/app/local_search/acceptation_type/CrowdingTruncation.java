@@ -0,0 +1,36 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+/**
+ * Truncation by crowding distance, as in NSGA-II: the crowding distance of a
+ * member is the sum, over the objectives, of the normalized distance between
+ * its two neighbours, and the member with the smallest one is removed. The
+ * extreme members of each objective are never removed.
+ *
+ * The distances are kept up to date on every insertion and removal, so
+ * removing members one at a time recomputes the distances of the neighbours
+ * of each removed member, as the iterative variant of the truncation does.
+ */
+public class CrowdingTruncation extends NeighbourTruncation {
+
+  @Override
+  protected double score(Member member) {
+    double distance = 0;
+    for (int i = 0; i < member.point.length; i++) {
+      Member lower = lower(member, i);
+      Member higher = higher(member, i);
+      if (lower == null || higher == null) {
+        return Double.POSITIVE_INFINITY;
+      }
+      double range = range(i);
+      if (range > 0) {
+        distance += (higher.point[i] - lower.point[i]) / range;
+      }
+    }
+    return distance;
+  }
+
+  @Override
+  protected boolean dependsOnRange() {
+    return true;
+  }
+}
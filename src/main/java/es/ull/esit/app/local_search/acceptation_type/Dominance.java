@@ -29,6 +29,16 @@ public class Dominance {
     boolean isDistanceGenerator =
         Strategy.getStrategy().getGenerator().getType().equals(GeneratorType.MultiobjectiveHillClimbingDistance);
 
+    // Un archivo de Pareto indexado resuelve la inserción sin recorrer la lista
+    if (list instanceof ParetoArchive) {
+      boolean added = ((ParetoArchive) list).offer(solutionX);
+      if (added && isDistanceGenerator) {
+        // Si se rechaza, los miembros y sus distancias no han cambiado
+        MultiobjectiveHillClimbingDistance.distanceCalculateAdd(list);
+      }
+      return added;
+    }
+
     ListIterator<State> iterator = list.listIterator();
     while (iterator.hasNext() && !dominatedByList) {
       State current = iterator.next();
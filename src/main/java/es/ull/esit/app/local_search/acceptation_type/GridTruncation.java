@@ -0,0 +1,242 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Truncation by an adaptive grid, as in PAES: the objective space covered by
+ * the archive is split in the same number of divisions per objective, and a
+ * member of the most crowded cell is removed, the last one added to it. A
+ * candidate that falls in the most crowded cell is therefore the one rejected.
+ *
+ * The cells are kept sorted by their number of members, so an insertion or a
+ * removal costs O(log n). The grid only adapts when a point falls outside its
+ * bounds: the bounds are then widened with a margin of half a division and
+ * every member is placed again.
+ */
+public class GridTruncation implements ArchiveTruncation {
+
+  /** Default number of divisions per objective. */
+  public static final int DEFAULT_DIVISIONS = 8;
+
+  /** Cell of the grid with its members. */
+  private static final class Cell {
+    /** Division of each objective. */
+    private final int[] index;
+    /** Members in the cell, in insertion order. */
+    private final List<State> states = new ArrayList<>();
+    /** Order of creation, used to break ties. */
+    private final long serial;
+
+    /**
+     * Constructor.
+     *
+     * @param index [int[]] Division of each objective.
+     * @param serial [long] Order of creation.
+     */
+    private Cell(int[] index, long serial) {
+      this.index = index;
+      this.serial = serial;
+    }
+  }
+
+  /** Key of a cell in the map, comparing the divisions by value. */
+  private static final class Key {
+    /** Division of each objective. */
+    private final int[] index;
+
+    /**
+     * Constructor.
+     *
+     * @param index [int[]] Division of each objective.
+     */
+    private Key(int[] index) {
+      this.index = index;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key && Arrays.equals(index, ((Key) other).index);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(index);
+    }
+  }
+
+  /** Number of divisions per objective. */
+  private final int divisions;
+
+  /** Points of the members, in insertion order. */
+  private final Map<State, float[]> points = new LinkedHashMap<>();
+
+  /** Cell of each member. */
+  private final Map<State, Cell> cellOf = new IdentityHashMap<>();
+
+  /** Cells with members. */
+  private final Map<Key, Cell> cells = new HashMap<>();
+
+  /** Cells sorted by number of members, the most crowded last. */
+  private final TreeSet<Cell> byCrowding = new TreeSet<>(
+      Comparator.<Cell>comparingInt(c -> c.states.size()).thenComparingLong(c -> c.serial));
+
+  /** Lower bound of each objective. */
+  private double[] lower;
+
+  /** Upper bound of each objective. */
+  private double[] upper;
+
+  /** Number of cells created so far. */
+  private long serial;
+
+  /**
+   * Default constructor, with {@link #DEFAULT_DIVISIONS} divisions per objective.
+   */
+  public GridTruncation() {
+    this(DEFAULT_DIVISIONS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param divisions [int] Number of divisions per objective.
+   */
+  public GridTruncation(int divisions) {
+    if (divisions < 1) {
+      throw new IllegalArgumentException("El número de divisiones de la rejilla debe ser positivo");
+    }
+    this.divisions = divisions;
+  }
+
+  @Override
+  public void added(State state, float[] point) {
+    points.put(state, point);
+    if (lower == null || outside(point)) {
+      adapt();
+    } else {
+      place(state, point);
+    }
+  }
+
+  @Override
+  public void removed(State state, float[] point) {
+    if (points.remove(state) == null) {
+      return;
+    }
+    Cell cell = cellOf.remove(state);
+    byCrowding.remove(cell);
+    cell.states.removeIf(member -> member == state);
+    if (cell.states.isEmpty()) {
+      cells.remove(new Key(cell.index));
+    } else {
+      byCrowding.add(cell);
+    }
+    if (points.isEmpty()) {
+      clear();
+    }
+  }
+
+  @Override
+  public State select() {
+    if (byCrowding.isEmpty()) {
+      return null;
+    }
+    List<State> states = byCrowding.last().states;
+    return states.get(states.size() - 1);
+  }
+
+  @Override
+  public void clear() {
+    points.clear();
+    cellOf.clear();
+    cells.clear();
+    byCrowding.clear();
+    lower = null;
+    upper = null;
+  }
+
+  /**
+   * Gets the number of members in the cell of a member.
+   *
+   * @param state [State] The member.
+   * @return [int] Number of members sharing its cell, 0 if it is not a member.
+   */
+  public int crowding(State state) {
+    Cell cell = cellOf.get(state);
+    return (cell != null) ? cell.states.size() : 0;
+  }
+
+  /**
+   * Checks whether a point is outside the bounds of the grid.
+   *
+   * @param point [float[]] The point.
+   * @return [boolean] True if some objective is out of bounds.
+   */
+  private boolean outside(float[] point) {
+    for (int i = 0; i < point.length; i++) {
+      if (point[i] < lower[i] || point[i] > upper[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Recomputes the bounds of the grid from the members and places every member
+   * again.
+   */
+  private void adapt() {
+    int objectives = points.values().iterator().next().length;
+    lower = new double[objectives];
+    upper = new double[objectives];
+    Arrays.fill(lower, Double.POSITIVE_INFINITY);
+    Arrays.fill(upper, Double.NEGATIVE_INFINITY);
+    for (float[] point : points.values()) {
+      for (int i = 0; i < objectives; i++) {
+        lower[i] = Math.min(lower[i], point[i]);
+        upper[i] = Math.max(upper[i], point[i]);
+      }
+    }
+    for (int i = 0; i < objectives; i++) {
+      double margin = (upper[i] - lower[i]) / (2.0 * divisions);
+      lower[i] -= margin;
+      upper[i] += margin;
+    }
+    cellOf.clear();
+    cells.clear();
+    byCrowding.clear();
+    for (Map.Entry<State, float[]> member : points.entrySet()) {
+      place(member.getKey(), member.getValue());
+    }
+  }
+
+  /**
+   * Places a member in its cell.
+   *
+   * @param state [State] The member.
+   * @param point [float[]] Its objectives.
+   */
+  private void place(State state, float[] point) {
+    int[] index = new int[point.length];
+    for (int i = 0; i < point.length; i++) {
+      double width = upper[i] - lower[i];
+      int division = (width > 0) ? (int) ((point[i] - lower[i]) / width * divisions) : 0;
+      index[i] = Math.min(Math.max(division, 0), divisions - 1);
+    }
+    Cell cell = cells.computeIfAbsent(new Key(index), k -> new Cell(index, serial++));
+    byCrowding.remove(cell);
+    cell.states.add(state);
+    byCrowding.add(cell);
+    cellOf.put(state, cell);
+  }
+}
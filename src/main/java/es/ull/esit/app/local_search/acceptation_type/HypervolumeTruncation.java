@@ -0,0 +1,26 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+/**
+ * Truncation by hypervolume contribution, as in SMS-EMOA: the member that
+ * adds the least hypervolume to the front is removed. The contribution of a
+ * member is the product, over the objectives, of the distance to the next
+ * member with a worse value; with two objectives this is the exact area
+ * dominated only by the member. With more objectives it is an estimate of the
+ * exclusive box of the member, which keeps the cost of an insertion in
+ * O(m log n). The extreme members of each objective are never removed.
+ */
+public class HypervolumeTruncation extends NeighbourTruncation {
+
+  @Override
+  protected double score(Member member) {
+    double contribution = 1;
+    for (int i = 0; i < member.point.length; i++) {
+      Member higher = higher(member, i);
+      if (higher == null || lower(member, i) == null) {
+        return Double.POSITIVE_INFINITY;
+      }
+      contribution *= (double) higher.point[i] - member.point[i];
+    }
+    return contribution;
+  }
+}
@@ -0,0 +1,295 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Index of a front of any number of objectives, kept in a k-d tree. Every node
+ * stores the bounding box of its subtree, so the searches for dominating or
+ * dominated members skip the subtrees whose box cannot hold any.
+ *
+ * Removed points leave their node empty; the tree is rebuilt, balanced, when
+ * the empty nodes outnumber the live ones.
+ */
+class KdTreeIndex implements ParetoIndex {
+
+  /** Node of the tree. */
+  private static final class Node {
+    /** Point of the node. */
+    private final float[] point;
+    /** Members at this point; empty once they are removed. */
+    private final List<State> states = new ArrayList<>(1);
+    /** Objective used to split the subtree. */
+    private final int axis;
+    /** Smallest value of each objective in the subtree. */
+    private final float[] min;
+    /** Greatest value of each objective in the subtree. */
+    private final float[] max;
+    /** Points below the split value. */
+    private Node left;
+    /** Points at or above the split value. */
+    private Node right;
+
+    /**
+     * Constructor.
+     *
+     * @param point [float[]] Point of the node.
+     * @param axis [int] Objective used to split the subtree.
+     */
+    private Node(float[] point, int axis) {
+      this.point = point;
+      this.axis = axis;
+      this.min = point.clone();
+      this.max = point.clone();
+    }
+  }
+
+  /** Root of the tree. */
+  private Node root;
+
+  /** Number of nodes with members. */
+  private int live;
+
+  /** Number of nodes whose members were removed. */
+  private int empty;
+
+  @Override
+  public void insert(float[] point, State state) {
+    if (root == null) {
+      root = new Node(point, 0);
+      root.states.add(state);
+      live++;
+      return;
+    }
+    Node node = root;
+    while (true) {
+      expand(node, point);
+      if (Arrays.equals(node.point, point)) {
+        if (node.states.isEmpty()) {
+          empty--;
+          live++;
+        }
+        node.states.add(state);
+        return;
+      }
+      boolean goLeft = point[node.axis] < node.point[node.axis];
+      Node child = goLeft ? node.left : node.right;
+      if (child == null) {
+        child = new Node(point, (node.axis + 1) % point.length);
+        child.states.add(state);
+        live++;
+        if (goLeft) {
+          node.left = child;
+        } else {
+          node.right = child;
+        }
+        return;
+      }
+      node = child;
+    }
+  }
+
+  @Override
+  public void remove(float[] point, State state) {
+    Node node = find(point);
+    if (node != null && node.states.removeIf(member -> member == state) && node.states.isEmpty()) {
+      live--;
+      empty++;
+      if (empty > live) {
+        rebuild();
+      }
+    }
+  }
+
+  @Override
+  public boolean isDominated(float[] point) {
+    return countDominating(root, point, true) > 0;
+  }
+
+  @Override
+  public int countDominating(float[] point) {
+    return countDominating(root, point, false);
+  }
+
+  @Override
+  public void collectDominated(float[] point, List<State> out) {
+    collectDominated(root, point, out);
+  }
+
+  @Override
+  public void clear() {
+    root = null;
+    live = 0;
+    empty = 0;
+  }
+
+  /**
+   * Counts the members of a subtree that dominate a point.
+   *
+   * @param node [Node] Root of the subtree.
+   * @param point [float[]] The point.
+   * @param firstOnly [boolean] True to stop at the first one found.
+   * @return [int] Number of members found.
+   */
+  private static int countDominating(Node node, float[] point, boolean firstOnly) {
+    if (node == null || !below(node.min, point)) {
+      return 0;
+    }
+    int count = 0;
+    if (!node.states.isEmpty() && NonDominatedSorting.dominates(node.point, point)) {
+      count += node.states.size();
+      if (firstOnly) {
+        return count;
+      }
+    }
+    count += countDominating(node.left, point, firstOnly);
+    if (firstOnly && count > 0) {
+      return count;
+    }
+    return count + countDominating(node.right, point, firstOnly);
+  }
+
+  /**
+   * Collects the members of a subtree dominated by a point.
+   *
+   * @param node [Node] Root of the subtree.
+   * @param point [float[]] The point.
+   * @param out [List<State>] List where the dominated members are added.
+   */
+  private static void collectDominated(Node node, float[] point, List<State> out) {
+    if (node == null || !below(point, node.max)) {
+      return;
+    }
+    if (!node.states.isEmpty() && NonDominatedSorting.dominates(point, node.point)) {
+      out.addAll(node.states);
+    }
+    collectDominated(node.left, point, out);
+    collectDominated(node.right, point, out);
+  }
+
+  /**
+   * Checks whether every objective of a point is not above the one of another.
+   *
+   * @param a [float[]] First point.
+   * @param b [float[]] Second point.
+   * @return [boolean] True if a[i] &lt;= b[i] for every objective.
+   */
+  private static boolean below(float[] a, float[] b) {
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] > b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Grows the bounding box of a node to hold a point.
+   *
+   * @param node [Node] The node.
+   * @param point [float[]] The point.
+   */
+  private static void expand(Node node, float[] point) {
+    for (int i = 0; i < point.length; i++) {
+      node.min[i] = Math.min(node.min[i], point[i]);
+      node.max[i] = Math.max(node.max[i], point[i]);
+    }
+  }
+
+  /**
+   * Finds the node of a point.
+   *
+   * @param point [float[]] The point.
+   * @return [Node] The node, or null if the point was never inserted.
+   */
+  private Node find(float[] point) {
+    Node node = root;
+    while (node != null && !Arrays.equals(node.point, point)) {
+      node = (point[node.axis] < node.point[node.axis]) ? node.left : node.right;
+    }
+    return node;
+  }
+
+  /**
+   * Rebuilds a balanced tree with the nodes that still have members.
+   */
+  private void rebuild() {
+    List<Node> nodes = new ArrayList<>(live);
+    gather(root, nodes);
+    root = null;
+    live = 0;
+    empty = 0;
+    if (!nodes.isEmpty()) {
+      root = build(nodes, 0, nodes.size(), 0);
+    }
+  }
+
+  /**
+   * Gathers the nodes of a subtree that have members.
+   *
+   * @param node [Node] Root of the subtree.
+   * @param out [List<Node>] List where the nodes are added.
+   */
+  private static void gather(Node node, List<Node> out) {
+    if (node != null) {
+      if (!node.states.isEmpty()) {
+        out.add(node);
+      }
+      gather(node.left, out);
+      gather(node.right, out);
+    }
+  }
+
+  /**
+   * Builds a balanced subtree, splitting at the median of each axis.
+   *
+   * @param nodes [List<Node>] Nodes to place.
+   * @param from [int] First node of the range.
+   * @param to [int] End of the range (exclusive).
+   * @param axis [int] Objective used to split.
+   * @return [Node] Root of the subtree.
+   */
+  private Node build(List<Node> nodes, int from, int to, int axis) {
+    if (from >= to) {
+      return null;
+    }
+    List<Node> range = nodes.subList(from, to);
+    range.sort(Comparator.comparingDouble(n -> n.point[axis]));
+    int middle = (from + to) >>> 1;
+    // Points equal to the median on the axis must go to the right subtree.
+    while (middle > from && nodes.get(middle - 1).point[axis] == nodes.get(middle).point[axis]) {
+      middle--;
+    }
+    Node old = nodes.get(middle);
+    Node node = new Node(old.point, axis);
+    node.states.addAll(old.states);
+    live++;
+    int next = (axis + 1) % old.point.length;
+    node.left = build(nodes, from, middle, next);
+    node.right = build(nodes, middle + 1, to, next);
+    if (node.left != null) {
+      expandBox(node, node.left);
+    }
+    if (node.right != null) {
+      expandBox(node, node.right);
+    }
+    return node;
+  }
+
+  /**
+   * Grows the bounding box of a node to hold the box of a child.
+   *
+   * @param node [Node] The node.
+   * @param child [Node] The child.
+   */
+  private static void expandBox(Node node, Node child) {
+    for (int i = 0; i < node.min.length; i++) {
+      node.min[i] = Math.min(node.min[i], child.min[i]);
+      node.max[i] = Math.max(node.max[i], child.max[i]);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Base of the truncation rules whose score of a member only depends on its
+ * neighbours along each objective. The members are kept sorted by every
+ * objective and by score, so an insertion or a removal only scores again the
+ * neighbours of the member in each objective, in O(m log n) for m objectives,
+ * and the member with the smallest score is the one removed.
+ */
+abstract class NeighbourTruncation implements ArchiveTruncation {
+
+  /** Member of the archive. */
+  static final class Member {
+    /** The solution. */
+    final State state;
+    /** Its objectives, every one minimized. */
+    final float[] point;
+    /** Order of insertion, used to break ties. */
+    private final long serial;
+    /** Current score. */
+    private double score;
+
+    /**
+     * Constructor.
+     *
+     * @param state [State] The solution.
+     * @param point [float[]] Its objectives.
+     * @param serial [long] Order of insertion.
+     */
+    private Member(State state, float[] point, long serial) {
+      this.state = state;
+      this.point = point;
+      this.serial = serial;
+    }
+  }
+
+  /** Members by solution. */
+  private final Map<State, Member> members = new IdentityHashMap<>();
+
+  /** Members sorted by each objective. */
+  private final List<TreeSet<Member>> byObjective = new ArrayList<>();
+
+  /** Members sorted by score, the one to remove first. */
+  private final TreeSet<Member> byScore = new TreeSet<>(
+      Comparator.<Member>comparingDouble(m -> m.score).thenComparingLong(m -> m.serial));
+
+  /** Number of members added so far. */
+  private long serial;
+
+  @Override
+  public void added(State state, float[] point) {
+    if (byObjective.isEmpty()) {
+      for (int i = 0; i < point.length; i++) {
+        final int objective = i;
+        byObjective.add(new TreeSet<>(
+            Comparator.<Member>comparingDouble(m -> m.point[objective]).thenComparingLong(m -> m.serial)));
+      }
+    }
+    Member member = new Member(state, point, serial++);
+    members.put(state, member);
+    boolean extreme = false;
+    for (TreeSet<Member> sorted : byObjective) {
+      sorted.add(member);
+      extreme |= sorted.first() == member || sorted.last() == member;
+    }
+    if (extreme && dependsOnRange()) {
+      rescoreAll();
+    } else {
+      rescore(neighbours(member, true));
+    }
+  }
+
+  @Override
+  public void removed(State state, float[] point) {
+    Member member = members.remove(state);
+    if (member == null) {
+      return;
+    }
+    byScore.remove(member);
+    List<Member> neighbours = neighbours(member, false);
+    boolean extreme = false;
+    for (TreeSet<Member> sorted : byObjective) {
+      extreme |= sorted.first() == member || sorted.last() == member;
+      sorted.remove(member);
+    }
+    if (members.isEmpty()) {
+      clear();
+    } else if (extreme && dependsOnRange()) {
+      rescoreAll();
+    } else {
+      rescore(neighbours);
+    }
+  }
+
+  @Override
+  public State select() {
+    return byScore.isEmpty() ? null : byScore.first().state;
+  }
+
+  @Override
+  public void clear() {
+    members.clear();
+    byObjective.clear();
+    byScore.clear();
+  }
+
+  /**
+   * Computes the score of a member. The members with the smallest score are
+   * removed first.
+   *
+   * @param member [Member] The member.
+   * @return [double] Its score.
+   */
+  protected abstract double score(Member member);
+
+  /**
+   * Tells whether the score depends on the range of the objectives, so every
+   * member has to be scored again when an extreme member changes.
+   *
+   * @return [boolean] True if the scores are normalized by the range.
+   */
+  protected boolean dependsOnRange() {
+    return false;
+  }
+
+  /**
+   * Gets the previous member along an objective.
+   *
+   * @param member [Member] The member.
+   * @param objective [int] The objective.
+   * @return [Member] The member with the next smaller value, or null.
+   */
+  protected Member lower(Member member, int objective) {
+    return byObjective.get(objective).lower(member);
+  }
+
+  /**
+   * Gets the next member along an objective.
+   *
+   * @param member [Member] The member.
+   * @param objective [int] The objective.
+   * @return [Member] The member with the next greater value, or null.
+   */
+  protected Member higher(Member member, int objective) {
+    return byObjective.get(objective).higher(member);
+  }
+
+  /**
+   * Gets the range of an objective.
+   *
+   * @param objective [int] The objective.
+   * @return [double] Difference between the greatest and the smallest value.
+   */
+  protected double range(int objective) {
+    TreeSet<Member> sorted = byObjective.get(objective);
+    return (double) sorted.last().point[objective] - sorted.first().point[objective];
+  }
+
+  /**
+   * Gets the neighbours of a member along every objective.
+   *
+   * @param member [Member] The member.
+   * @param self [boolean] Whether the member itself is included.
+   * @return [List<Member>] The neighbours.
+   */
+  private List<Member> neighbours(Member member, boolean self) {
+    List<Member> neighbours = new ArrayList<>(2 * byObjective.size() + 1);
+    if (self) {
+      neighbours.add(member);
+    }
+    for (int i = 0; i < byObjective.size(); i++) {
+      Member lower = lower(member, i);
+      Member higher = higher(member, i);
+      if (lower != null) {
+        neighbours.add(lower);
+      }
+      if (higher != null) {
+        neighbours.add(higher);
+      }
+    }
+    return neighbours;
+  }
+
+  /**
+   * Scores several members again.
+   *
+   * @param changed [List<Member>] The members, possibly repeated.
+   */
+  private void rescore(List<Member> changed) {
+    for (Member member : changed) {
+      byScore.remove(member);
+    }
+    for (Member member : changed) {
+      member.score = score(member);
+      byScore.add(member);
+    }
+  }
+
+  /**
+   * Scores every member again.
+   */
+  private void rescoreAll() {
+    byScore.clear();
+    for (Member member : members.values()) {
+      member.score = score(member);
+      byScore.add(member);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Non-dominated sorting of a set of solutions, with the Efficient
+ * Non-dominated Sort and binary search strategy (ENS-BS).
+ *
+ * The solutions are sorted lexicographically by their objectives, so no
+ * solution can be dominated by a later one, and each solution is placed in the
+ * first front none of whose members dominates it, found by binary search over
+ * the fronts. With two objectives only the last member of a front has to be
+ * checked, so the whole sort takes O(n log n); otherwise the members of the
+ * front are checked from the last one.
+ *
+ * Dominance follows {@link Dominance#dominance(State, State)}: the objectives
+ * are compared as floats and a solution dominates another one when it is
+ * better in at least one objective and not worse in any.
+ */
+public final class NonDominatedSorting {
+
+  private NonDominatedSorting() {
+    // Utility class.
+  }
+
+  /**
+   * Sorts the solutions in fronts.
+   *
+   * @param states [List<State>] Evaluated solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [List<List<State>>] The fronts, the non-dominated one first.
+   */
+  public static List<List<State>> sort(List<State> states, ProblemType type) {
+    int[] ranks = ranks(states, type);
+    List<List<State>> fronts = new ArrayList<>();
+    for (int i = 0; i < ranks.length; i++) {
+      while (fronts.size() <= ranks[i]) {
+        fronts.add(new ArrayList<>());
+      }
+      fronts.get(ranks[i]).add(states.get(i));
+    }
+    return fronts;
+  }
+
+  /**
+   * Gets the non-dominated solutions of a set.
+   *
+   * @param states [List<State>] Evaluated solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [List<State>] The solutions of the first front, in their original order.
+   */
+  public static List<State> firstFront(List<State> states, ProblemType type) {
+    int[] ranks = ranks(states, type);
+    List<State> front = new ArrayList<>();
+    for (int i = 0; i < ranks.length; i++) {
+      if (ranks[i] == 0) {
+        front.add(states.get(i));
+      }
+    }
+    return front;
+  }
+
+  /**
+   * Gets the front of each solution.
+   *
+   * @param states [List<State>] Evaluated solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [int[]] Front of each solution, in the order of the list (0 is the non-dominated one).
+   */
+  public static int[] ranks(List<State> states, ProblemType type) {
+    int n = states.size();
+    int[] ranks = new int[n];
+    if (n == 0) {
+      return ranks;
+    }
+    float[][] points = new float[n][];
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      points[i] = objectives(states.get(i), type);
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Arrays.compare(points[a], points[b]));
+
+    boolean twoObjectives = points[0].length == 2;
+    int[][] fronts = new int[8][];
+    int[] sizes = new int[8];
+    int count = 0;
+    for (Integer index : order) {
+      float[] point = points[index];
+      int low = 0;
+      int high = count;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (dominatedByFront(point, fronts[middle], sizes[middle], points, twoObjectives)) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      if (low == count) {
+        if (count == fronts.length) {
+          fronts = Arrays.copyOf(fronts, count * 2);
+          sizes = Arrays.copyOf(sizes, count * 2);
+        }
+        fronts[count] = new int[4];
+        count++;
+      }
+      if (sizes[low] == fronts[low].length) {
+        fronts[low] = Arrays.copyOf(fronts[low], sizes[low] * 2);
+      }
+      fronts[low][sizes[low]++] = index;
+      ranks[index] = low;
+    }
+    return ranks;
+  }
+
+  /**
+   * Checks whether some member of a front dominates a point. The members were
+   * added in lexicographic order, so the last ones are the most likely to
+   * dominate it; with two objectives the last one is the only candidate.
+   *
+   * @param point [float[]] The point.
+   * @param front [int[]] Indexes of the members of the front.
+   * @param size [int] Number of members of the front.
+   * @param points [float[][]] Points of every solution.
+   * @param twoObjectives [boolean] Whether there are two objectives.
+   * @return [boolean] True if the point is dominated by the front.
+   */
+  private static boolean dominatedByFront(float[] point, int[] front, int size, float[][] points,
+      boolean twoObjectives) {
+    if (twoObjectives) {
+      return dominates(points[front[size - 1]], point);
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      if (dominates(points[front[i]], point)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the objectives of a solution as a point where every objective is
+   * minimized: maximized objectives are negated. The values are converted to
+   * float, as {@link Dominance} compares them.
+   *
+   * @param state [State] Evaluated solution.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [float[]] The point.
+   */
+  static float[] objectives(State state, ProblemType type) {
+    List<Double> evaluation = state.getEvaluation();
+    float[] point = new float[evaluation.size()];
+    boolean maximize = ProblemType.MAXIMIZAR.equals(type);
+    for (int i = 0; i < point.length; i++) {
+      float value = evaluation.get(i).floatValue();
+      // Adding 0 turns -0.0 into 0.0, so equal values are equal for Arrays.equals.
+      point[i] = (maximize ? -value : value) + 0.0f;
+    }
+    return point;
+  }
+
+  /**
+   * Checks whether a point dominates another one, every objective minimized.
+   *
+   * @param a [float[]] First point.
+   * @param b [float[]] Second point.
+   * @return [boolean] True if a is not worse than b in any objective and better in one.
+   */
+  static boolean dominates(float[] a, float[] b) {
+    boolean better = false;
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] > b[i]) {
+        return false;
+      }
+      if (a[i] < b[i]) {
+        better = true;
+      }
+    }
+    return better;
+  }
+}
@@ -0,0 +1,691 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Archive of non-dominated solutions.
+ *
+ * The members are kept in insertion order, so the archive can be read and
+ * filled as the former list of non-dominated solutions, and are indexed by
+ * their objectives: with two objectives in a sorted tree (the front is a
+ * staircase) and otherwise in a k-d tree. Offering a solution checks whether it
+ * is dominated and finds the members it dominates without traversing the
+ * archive, and the dominance rank and count queries only visit the members
+ * that take part in them. Members with the same code are found through
+ * {@link State#fingerprint()}.
+ *
+ * The members can also be added through the List methods, without any
+ * filtering, as the former list allowed. If such an addition breaks the
+ * non-dominance of the archive, the index is dropped and every operation
+ * traverses the members, as {@link Dominance} does, until the archive is
+ * cleared.
+ *
+ * By default the objectives are maximized or minimized as the problem of the
+ * current Strategy says, read on every operation.
+ *
+ * The archive can be bounded: when an offered solution makes it exceed its
+ * capacity, an {@link ArchiveTruncation} chooses the member to remove, which
+ * may be the offered solution itself. The truncation rules keep their own
+ * index, updated on every change, so a truncation does not traverse the
+ * archive. The archive can also keep the sum of the distances in the search
+ * space from each member to the others, updated in O(n) per change, as
+ * {@link es.ull.esit.app.metaheuristics.generators.MultiobjectiveHillClimbingDistance}
+ * uses them.
+ */
+public class ParetoArchive extends AbstractList<State> implements RandomAccess {
+
+  /** Member of the archive, with the data it was indexed with. */
+  private static final class Entry {
+    /** The solution. */
+    private final State state;
+    /** Objectives of the solution, every one minimized. */
+    private final float[] point;
+    /** Fingerprint of the code of the solution. */
+    private final long code;
+    /** Sum of the distances to the other members, if they are tracked. */
+    private double distance;
+
+    /**
+     * Constructor.
+     *
+     * @param state [State] The solution.
+     * @param point [float[]] Objectives of the solution, every one minimized.
+     */
+    private Entry(State state, float[] point) {
+      this.state = state;
+      this.point = point;
+      this.code = state.fingerprint();
+    }
+  }
+
+  /** Fixed orientation of the objectives, or null to follow the Strategy. */
+  private final ProblemType fixedType;
+
+  /** Orientation of the points of the members. */
+  private ProblemType type;
+
+  /** Members in insertion order. */
+  private final List<Entry> entries = new ArrayList<>();
+
+  /** Entry of each member. */
+  private final Map<State, Entry> byState = new IdentityHashMap<>();
+
+  /** Members by fingerprint of their code. */
+  private final Map<Long, List<Entry>> byCode = new HashMap<>();
+
+  /** Index of the points, or null while the archive is not known to be non-dominated. */
+  private ParetoIndex index;
+
+  /** Maximum number of members kept by {@link #offer(State)}. */
+  private final int capacity;
+
+  /** Rule that chooses the member to remove, or null if the archive is unbounded. */
+  private final ArchiveTruncation truncation;
+
+  /** Whether the sum of the distances of each member is kept. */
+  private boolean trackDistances;
+
+  /**
+   * Default constructor. The objectives are maximized or minimized as the
+   * problem of the current Strategy says.
+   */
+  public ParetoArchive() {
+    this(null);
+  }
+
+  /**
+   * Constructor with a fixed orientation of the objectives.
+   *
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   */
+  public ParetoArchive(ProblemType type) {
+    this(type, Integer.MAX_VALUE, null);
+  }
+
+  /**
+   * Constructor of a bounded archive. The objectives are maximized or
+   * minimized as the problem of the current Strategy says.
+   *
+   * @param capacity [int] Maximum number of members.
+   * @param truncation [TruncationType] Rule that chooses the member to remove.
+   */
+  public ParetoArchive(int capacity, TruncationType truncation) {
+    this(null, capacity, newTruncation(truncation));
+  }
+
+  /**
+   * Constructor of a bounded archive with a given truncation rule.
+   *
+   * @param type [ProblemType] Whether the objectives are maximized or minimized, or null to follow the Strategy.
+   * @param capacity [int] Maximum number of members.
+   * @param truncation [ArchiveTruncation] Rule that chooses the member to remove, or null if unbounded.
+   */
+  public ParetoArchive(ProblemType type, int capacity, ArchiveTruncation truncation) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("La capacidad del archivo debe ser positiva");
+    }
+    if (truncation == null && capacity != Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Un archivo acotado necesita una regla de truncado");
+    }
+    this.fixedType = type;
+    this.capacity = capacity;
+    this.truncation = truncation;
+  }
+
+  /**
+   * Creates the truncation rule of a type.
+   *
+   * @param type [TruncationType] The type of rule.
+   * @return [ArchiveTruncation] A new rule of that type.
+   */
+  private static ArchiveTruncation newTruncation(TruncationType type) {
+    switch (type) {
+      case GridTruncation:
+        return new GridTruncation();
+      case HypervolumeTruncation:
+        return new HypervolumeTruncation();
+      case CrowdingTruncation:
+      default:
+        return new CrowdingTruncation();
+    }
+  }
+
+  /**
+   * Gets the maximum number of members kept by {@link #offer(State)}.
+   *
+   * @return [int] The capacity, Integer.MAX_VALUE if the archive is unbounded.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Starts or stops keeping the sum of the distances from each member to the
+   * others. Starting computes them for the current members.
+   *
+   * @param track [boolean] Whether the distances are kept.
+   */
+  public void setTrackDistances(boolean track) {
+    if (track && !trackDistances) {
+      for (Entry entry : entries) {
+        entry.distance = 0;
+      }
+      for (int i = 0; i < entries.size(); i++) {
+        for (int j = i + 1; j < entries.size(); j++) {
+          double d = entries.get(i).state.distance(entries.get(j).state);
+          entries.get(i).distance += d;
+          entries.get(j).distance += d;
+        }
+      }
+    }
+    trackDistances = track;
+  }
+
+  /**
+   * Gets the sum of the distances from each member to the others, in the order
+   * of the archive. The distances are kept from then on.
+   *
+   * @return [List<Double>] The distance of each member.
+   */
+  public List<Double> getDistances() {
+    setTrackDistances(true);
+    List<Double> distances = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      distances.add(entry.distance);
+    }
+    return distances;
+  }
+
+  /**
+   * Gets the member at the given position, in insertion order.
+   *
+   * @param position [int] Position of the member.
+   * @return [State] The member.
+   */
+  @Override
+  public State get(int position) {
+    return entries.get(position).state;
+  }
+
+  /**
+   * Gets the number of members.
+   *
+   * @return [int] The number of members.
+   */
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Adds a member without checking dominance. If it dominates or is dominated
+   * by a member, or is already a member, the archive stops using its index.
+   *
+   * @param position [int] Position of the new member.
+   * @param state [State] The member.
+   */
+  @Override
+  public void add(int position, State state) {
+    Entry entry = new Entry(state, point(state));
+    if (index != null && (byState.containsKey(state) || !fits(entry.point))) {
+      index = null;
+    }
+    entries.add(position, entry);
+    register(entry);
+    modCount++;
+  }
+
+  /**
+   * Replaces the member at the given position, without checking dominance.
+   *
+   * @param position [int] Position of the member.
+   * @param state [State] The new member.
+   * @return [State] The replaced member.
+   */
+  @Override
+  public State set(int position, State state) {
+    Entry old = entries.get(position);
+    unregister(old);
+    Entry entry = new Entry(state, point(state));
+    if (index != null && (byState.containsKey(state) || !fits(entry.point))) {
+      index = null;
+    }
+    entries.set(position, entry);
+    register(entry);
+    return old.state;
+  }
+
+  /**
+   * Removes the member at the given position.
+   *
+   * @param position [int] Position of the member.
+   * @return [State] The removed member.
+   */
+  @Override
+  public State remove(int position) {
+    Entry entry = entries.remove(position);
+    unregister(entry);
+    modCount++;
+    return entry.state;
+  }
+
+  /**
+   * Removes every member and indexes the archive again.
+   */
+  @Override
+  public void clear() {
+    entries.clear();
+    byState.clear();
+    byCode.clear();
+    index = null;
+    if (truncation != null) {
+      truncation.clear();
+    }
+    modCount++;
+  }
+
+  /**
+   * Offers a solution to the archive, as {@link Dominance#listDominance}: if no
+   * member dominates it, the members it dominates are removed and, unless a
+   * member has the same code, a copy of the solution is added. If the archive
+   * then exceeds its capacity, the truncation rule removes members until it
+   * fits again.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [boolean] True if the solution was added and kept; when false the
+   *         members of the archive have not changed.
+   */
+  public boolean offer(State state) {
+    float[] point = point(state);
+    if (isDominated(point)) {
+      return false;
+    }
+    removeAll(dominatedBy(point));
+    if (containsCode(state)) {
+      return false;
+    }
+    Entry entry = new Entry(state.copy(), point);
+    entries.add(entry);
+    register(entry);
+    modCount++;
+    boolean kept = true;
+    while (entries.size() > capacity) {
+      Entry victim = byState.get(truncation.select());
+      kept &= victim != entry;
+      removeAll(Collections.singletonList(victim));
+    }
+    return kept;
+  }
+
+  /**
+   * Offers several solutions. The solutions dominated by another one of the
+   * batch are discarded first with a non-dominated sort, so only the first
+   * front of the batch is offered to the archive.
+   *
+   * @param states [Collection<State>] The evaluated solutions.
+   * @return [int] Number of solutions added.
+   */
+  public int offerAll(Collection<State> states) {
+    int added = 0;
+    for (State state : NonDominatedSorting.firstFront(new ArrayList<>(states), currentType())) {
+      if (offer(state)) {
+        added++;
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Checks whether a solution is dominated by some member.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [boolean] True if a member dominates it.
+   */
+  public boolean isDominated(State state) {
+    return isDominated(point(state));
+  }
+
+  /**
+   * Counts the members that dominate a solution.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [int] The dominance rank of the solution (0 if it is not dominated).
+   */
+  public int dominanceRank(State state) {
+    float[] point = point(state);
+    if (ensureIndex()) {
+      return index.countDominating(point);
+    }
+    int rank = 0;
+    for (Entry entry : entries) {
+      if (NonDominatedSorting.dominates(entry.point, point)) {
+        rank++;
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Counts the members dominated by a solution.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [int] Number of members it dominates.
+   */
+  public int dominatedCount(State state) {
+    return dominatedBy(point(state)).size();
+  }
+
+  /**
+   * Gets the members dominated by a solution.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [List<State>] The dominated members.
+   */
+  public List<State> getDominated(State state) {
+    List<State> dominated = new ArrayList<>();
+    for (Entry entry : dominatedBy(point(state))) {
+      dominated.add(entry.state);
+    }
+    return dominated;
+  }
+
+  /**
+   * Checks whether the archive holds a solution with the same code.
+   *
+   * @param state [State] The solution.
+   * @return [boolean] True if a member has the same code.
+   */
+  public boolean containsCode(State state) {
+    List<Entry> bucket = byCode.get(state.fingerprint());
+    if (bucket != null) {
+      for (Entry entry : bucket) {
+        if (entry.state == state || state.comparator(entry.state)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether some member dominates a point.
+   *
+   * @param point [float[]] The point.
+   * @return [boolean] True if a member dominates it.
+   */
+  private boolean isDominated(float[] point) {
+    if (ensureIndex()) {
+      return index.isDominated(point);
+    }
+    for (Entry entry : entries) {
+      if (NonDominatedSorting.dominates(entry.point, point)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the members dominated by a point.
+   *
+   * @param point [float[]] The point.
+   * @return [List<Entry>] The dominated members.
+   */
+  private List<Entry> dominatedBy(float[] point) {
+    List<Entry> dominated = new ArrayList<>();
+    if (ensureIndex()) {
+      List<State> states = new ArrayList<>();
+      index.collectDominated(point, states);
+      for (State state : states) {
+        dominated.add(byState.get(state));
+      }
+    } else {
+      for (Entry entry : entries) {
+        if (NonDominatedSorting.dominates(point, entry.point)) {
+          dominated.add(entry);
+        }
+      }
+    }
+    return dominated;
+  }
+
+  /**
+   * Removes several members with a single pass over the archive.
+   *
+   * @param removed [List<Entry>] The members to remove.
+   */
+  private void removeAll(List<Entry> removed) {
+    if (removed.isEmpty()) {
+      return;
+    }
+    Set<Entry> set = Collections.newSetFromMap(new IdentityHashMap<>());
+    set.addAll(removed);
+    entries.removeIf(set::contains);
+    for (Entry entry : removed) {
+      unregister(entry);
+    }
+    modCount++;
+  }
+
+  /**
+   * Checks whether a point can join the indexed members without breaking their
+   * non-dominance.
+   *
+   * @param point [float[]] The point.
+   * @return [boolean] True if it neither dominates nor is dominated by a member.
+   */
+  private boolean fits(float[] point) {
+    if (!indexable(point)) {
+      return false;
+    }
+    List<State> dominated = new ArrayList<>();
+    index.collectDominated(point, dominated);
+    return dominated.isEmpty() && !index.isDominated(point);
+  }
+
+  /**
+   * Adds a member to the lookup tables and to the index.
+   *
+   * @param entry [Entry] The member.
+   */
+  private void register(Entry entry) {
+    if (trackDistances) {
+      entry.distance = 0;
+      for (Entry other : entries) {
+        if (other != entry) {
+          double d = entry.state.distance(other.state);
+          other.distance += d;
+          entry.distance += d;
+        }
+      }
+    }
+    if (truncation != null) {
+      truncation.added(entry.state, entry.point);
+    }
+    byState.put(entry.state, entry);
+    byCode.computeIfAbsent(entry.code, k -> new ArrayList<>(1)).add(entry);
+    if (index != null) {
+      index.insert(entry.point, entry.state);
+    }
+  }
+
+  /**
+   * Removes a member from the lookup tables and from the index.
+   *
+   * @param entry [Entry] The member.
+   */
+  private void unregister(Entry entry) {
+    if (trackDistances) {
+      for (Entry other : entries) {
+        if (other != entry) {
+          other.distance -= entry.state.distance(other.state);
+        }
+      }
+    }
+    if (truncation != null) {
+      truncation.removed(entry.state, entry.point);
+    }
+    byState.remove(entry.state);
+    List<Entry> bucket = byCode.get(entry.code);
+    if (bucket != null) {
+      bucket.removeIf(e -> e == entry);
+      if (bucket.isEmpty()) {
+        byCode.remove(entry.code);
+      }
+    }
+    if (index != null) {
+      index.remove(entry.point, entry.state);
+    }
+  }
+
+  /**
+   * Makes sure the index is available, building it when the archive is empty
+   * and rebuilding every point if the orientation of the objectives changed.
+   *
+   * @return [boolean] True if the index can be used.
+   */
+  private boolean ensureIndex() {
+    ProblemType current = currentType();
+    if (current != type) {
+      type = current;
+      List<Entry> old = new ArrayList<>(entries);
+      entries.clear();
+      byState.clear();
+      byCode.clear();
+      index = null;
+      if (truncation != null) {
+        truncation.clear();
+      }
+      for (Entry entry : old) {
+        Entry reoriented = new Entry(entry.state, NonDominatedSorting.objectives(entry.state, type));
+        entries.add(reoriented);
+        register(reoriented);
+      }
+      index = buildIndex();
+    } else if (index == null && entries.isEmpty()) {
+      index = buildIndex();
+    }
+    return index != null;
+  }
+
+  /**
+   * Builds the index of the current members, if they are non-dominated.
+   *
+   * @return [ParetoIndex] The index, or null if some member dominates another one.
+   */
+  private ParetoIndex buildIndex() {
+    if (entries.isEmpty()) {
+      return new Index();
+    }
+    List<State> states = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      if (!indexable(entry.point)) {
+        return null;
+      }
+      states.add(entry.state);
+    }
+    if (NonDominatedSorting.firstFront(states, type).size() != states.size()) {
+      return null;
+    }
+    Index built = new Index();
+    for (Entry entry : entries) {
+      built.insert(entry.point, entry.state);
+    }
+    return built;
+  }
+
+  /**
+   * Gets the point of a solution in the current orientation.
+   *
+   * @param state [State] The evaluated solution.
+   * @return [float[]] Its objectives, every one minimized.
+   */
+  private float[] point(State state) {
+    ensureIndex();
+    return NonDominatedSorting.objectives(state, type);
+  }
+
+  /**
+   * Gets the orientation of the objectives.
+   *
+   * @return [ProblemType] The fixed one, or the one of the problem of the current Strategy.
+   */
+  private ProblemType currentType() {
+    return (fixedType != null) ? fixedType : Strategy.getStrategy().getProblem().getTypeProblem();
+  }
+
+  /**
+   * Checks whether a point can be indexed.
+   *
+   * @param point [float[]] The point.
+   * @return [boolean] False if some objective is not a number.
+   */
+  private static boolean indexable(float[] point) {
+    for (float value : point) {
+      if (Float.isNaN(value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Index that picks the staircase for two objectives and the k-d tree
+   * otherwise, once the number of objectives is known.
+   */
+  private static final class Index implements ParetoIndex {
+
+    /** The chosen index, created with the first member. */
+    private ParetoIndex delegate;
+
+    @Override
+    public void insert(float[] point, State state) {
+      if (delegate == null) {
+        delegate = (point.length == 2) ? new StaircaseIndex() : new KdTreeIndex();
+      }
+      delegate.insert(point, state);
+    }
+
+    @Override
+    public void remove(float[] point, State state) {
+      if (delegate != null) {
+        delegate.remove(point, state);
+      }
+    }
+
+    @Override
+    public boolean isDominated(float[] point) {
+      return delegate != null && delegate.isDominated(point);
+    }
+
+    @Override
+    public int countDominating(float[] point) {
+      return (delegate != null) ? delegate.countDominating(point) : 0;
+    }
+
+    @Override
+    public void collectDominated(float[] point, List<State> out) {
+      if (delegate != null) {
+        delegate.collectDominated(point, out);
+      }
+    }
+
+    @Override
+    public void clear() {
+      delegate = null;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.List;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Spatial index of the members of a {@link ParetoArchive}. The points are the
+ * objective vectors of the members, oriented so that every objective is
+ * minimized (see {@link NonDominatedSorting#objectives}). The index assumes
+ * that no member dominates another one; several members may share the same
+ * point.
+ */
+interface ParetoIndex {
+
+  /**
+   * Adds a member.
+   *
+   * @param point [float[]] Point of the member.
+   * @param state [State] The member.
+   */
+  void insert(float[] point, State state);
+
+  /**
+   * Removes a member.
+   *
+   * @param point [float[]] Point of the member when it was inserted.
+   * @param state [State] The member.
+   */
+  void remove(float[] point, State state);
+
+  /**
+   * Checks whether some member dominates a point.
+   *
+   * @param point [float[]] The point.
+   * @return [boolean] True if a member dominates it.
+   */
+  boolean isDominated(float[] point);
+
+  /**
+   * Counts the members that dominate a point.
+   *
+   * @param point [float[]] The point.
+   * @return [int] Number of members that dominate it.
+   */
+  int countDominating(float[] point);
+
+  /**
+   * Collects the members dominated by a point.
+   *
+   * @param point [float[]] The point.
+   * @param out [List<State>] List where the dominated members are added.
+   */
+  void collectDominated(float[] point, List<State> out);
+
+  /**
+   * Removes every member.
+   */
+  void clear();
+}
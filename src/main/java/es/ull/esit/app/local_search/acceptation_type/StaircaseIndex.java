@@ -0,0 +1,99 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Index of a front of two objectives. Since no member dominates another one,
+ * sorting the points by the first objective sorts them by the second one in
+ * the opposite order, so the front is a staircase kept in a sorted tree keyed
+ * by the first objective. Checking whether a point is dominated takes one
+ * lookup, and the members dominated by a point are a contiguous run of steps.
+ */
+class StaircaseIndex implements ParetoIndex {
+
+  /** Members sharing the same point. */
+  private static final class Step {
+    /** Second objective of the point. */
+    private final float second;
+    /** Members at this point. */
+    private final List<State> states = new ArrayList<>(1);
+
+    /**
+     * Constructor.
+     *
+     * @param second [float] Second objective of the point.
+     */
+    private Step(float second) {
+      this.second = second;
+    }
+  }
+
+  /** Steps by first objective. */
+  private final TreeMap<Float, Step> steps = new TreeMap<>();
+
+  @Override
+  public void insert(float[] point, State state) {
+    steps.computeIfAbsent(point[0], k -> new Step(point[1])).states.add(state);
+  }
+
+  @Override
+  public void remove(float[] point, State state) {
+    Step step = steps.get(point[0]);
+    if (step != null) {
+      step.states.removeIf(member -> member == state);
+      if (step.states.isEmpty()) {
+        steps.remove(point[0]);
+      }
+    }
+  }
+
+  @Override
+  public boolean isDominated(float[] point) {
+    // The step with the greatest first objective not above the point has the
+    // smallest second objective among those steps.
+    Map.Entry<Float, Step> floor = steps.floorEntry(point[0]);
+    if (floor == null) {
+      return false;
+    }
+    float second = floor.getValue().second;
+    return second < point[1] || (second == point[1] && floor.getKey() < point[0]);
+  }
+
+  @Override
+  public int countDominating(float[] point) {
+    int count = 0;
+    for (Map.Entry<Float, Step> entry : steps.headMap(point[0], true).descendingMap().entrySet()) {
+      Step step = entry.getValue();
+      if (step.second > point[1]) {
+        break;
+      }
+      if (entry.getKey() < point[0] || step.second < point[1]) {
+        count += step.states.size();
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void collectDominated(float[] point, List<State> out) {
+    for (Map.Entry<Float, Step> entry : steps.tailMap(point[0], true).entrySet()) {
+      Step step = entry.getValue();
+      if (step.second < point[1]) {
+        break;
+      }
+      if (entry.getKey() > point[0] || step.second > point[1]) {
+        out.addAll(step.states);
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    steps.clear();
+  }
+}
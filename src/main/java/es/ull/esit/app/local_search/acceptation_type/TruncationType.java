@@ -0,0 +1,11 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+/**
+ * Enum that defines the truncation rules of a bounded {@link ParetoArchive}.
+ */
+public enum TruncationType {
+  CrowdingTruncation,     /** Remove the member with the smallest crowding distance */
+  GridTruncation,         /** Remove a member of the most crowded cell of an adaptive grid */
+  HypervolumeTruncation;  /** Remove the member with the smallest hypervolume contribution */
+
+}
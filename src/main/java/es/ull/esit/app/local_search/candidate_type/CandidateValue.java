@@ -4,6 +4,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
+import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.State;
 
 import es.ull.esit.app.local_search.complement.StrategyType;
@@ -99,7 +100,7 @@ public class CandidateValue {
 		this.tabusolution = new TabuSolutions();
 		if (strategy.equals(StrategyType.TABU)) {
 			try {
-				auxList = this.tabusolution.filterNeighborhood(auxList);
+				auxList = this.tabusolution.filterNeighborhood(stateCurrent, auxList);
 			}
 			catch (Exception e) {
 				Strategy strategys = Strategy.getStrategy();
@@ -109,11 +110,55 @@ public class CandidateValue {
 				return stateCandidate(stateCurrent, typeCandidate, strategy, operatornumber, neighborhood);
 			}
 		}
+		evaluatePending(typeCandidate, auxList);
 		SearchCandidate searchCand = newSearchCandidate(typeCandidate);
 		stateCandidate = searchCand.stateSearch(auxList);
 		return stateCandidate;
 	}
 
+  /**
+   * Evaluates, as a single batch, the neighbours that have not been evaluated yet
+   * when the candidate type compares evaluations.
+   * @param typeCandidate [CandidateType] The type of candidate.
+   * @param neighborhood [List<State>] The neighborhood of states.
+   * @throws IllegalArgumentException If the argument is invalid.
+   * @throws SecurityException If a segurity violation occurs.
+   * @throws ClassNotFoundException If the class cannot be found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to the class is illegal.
+   * @throws InvocationTargetException If the method invocation fails.
+   * @throws NoSuchMethodException If the method does not exist.
+   */
+	private void evaluatePending(CandidateType typeCandidate, List<State> neighborhood) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		if (!evaluatesNeighborhood(typeCandidate)) {
+			return;
+		}
+		Problem problem = Strategy.getStrategy().getProblem();
+		if (problem == null) {
+			return;
+		}
+		List<State> pending = new ArrayList<>();
+		for (State neighbour : neighborhood) {
+			if (neighbour.getEvaluation() == null) {
+				pending.add(neighbour);
+			}
+		}
+		if (!pending.isEmpty()) {
+			problem.evaluateAll(pending);
+		}
+	}
+
+  /**
+   * Checks whether stateCandidate evaluates the neighbourhood, and so the state
+   * it returns, for a candidate type. Only random candidates are picked
+   * without comparing evaluations.
+   * @param typeCandidate [CandidateType] The type of candidate.
+   * @return [boolean] True if the returned candidate comes out evaluated.
+   */
+	public static boolean evaluatesNeighborhood(CandidateType typeCandidate) {
+		return typeCandidate != null && !typeCandidate.equals(CandidateType.RandomCandidate);
+	}
+
   /**
    * Gets the tabu solutions.
    * @return [TabuSolutions] The tabu solutions.
@@ -1,9 +1,9 @@
 package es.ull.esit.app.local_search.candidate_type;
 
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.problem.definition.State;
 
 /**
@@ -11,8 +11,6 @@ import es.ull.esit.app.problem.definition.State;
  */
 public class GreaterCandidate extends SearchCandidate {
 
-  private SecureRandom random = new SecureRandom();
-	
   /**
    * Creates a new State from the list of neighborhood states with the greatest objective function value.
    * @param listNeighborhood [List<State>] List of neighborhood states.
@@ -39,11 +37,11 @@ public class GreaterCandidate extends SearchCandidate {
 				}
 			}
 			if(stateGreater == null){
-				int pos = random.nextInt(listNeighborhood.size());
+				int pos = RandomService.generator().nextInt(listNeighborhood.size());
 				stateGreater = listNeighborhood.get(pos);
 			}
 		}
 		else stateGreater = listNeighborhood.get(0);
 		return stateGreater;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -28,20 +28,24 @@ public class NotDominatedCandidate extends SearchCandidate {
    */
 	@Override
 	public State stateSearch(List<State> listNeighborhood) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-		State state = new State();
 		State stateA = listNeighborhood.get(0);
+		State state = stateA;
 		boolean stop = false;
 		if(listNeighborhood.size() == 1){
 			state = stateA;
 		}
 		else {
-			Strategy.getStrategy().getProblem().evaluate(stateA);
+			if (stateA.getEvaluation() == null) {
+				Strategy.getStrategy().getProblem().evaluate(stateA);
+			}
 			State stateB;
 			Dominance dominance = new Dominance();
 			for (int i = 1; i < listNeighborhood.size(); i++) {
 				while(!stop){
 					stateB = listNeighborhood.get(i);
-					Strategy.getStrategy().getProblem().evaluate(stateB);
+					if (stateB.getEvaluation() == null) {
+						Strategy.getStrategy().getProblem().evaluate(stateB);
+					}
 					if(dominance.dominance(stateB, stateA)){
 						stateA = stateB;
 					}else{
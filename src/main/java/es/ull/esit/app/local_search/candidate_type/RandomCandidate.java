@@ -1,8 +1,8 @@
 package es.ull.esit.app.local_search.candidate_type;
 
 import java.util.List;
-import java.security.SecureRandom;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.problem.definition.State;
 
 /**
@@ -10,7 +10,6 @@ import es.ull.esit.app.problem.definition.State;
  */
 public class RandomCandidate extends SearchCandidate {
 
-  private SecureRandom random = new SecureRandom();
   /**
    * Selects a random state from the provided list of neighboring states.
    * @param listNeighborhood List of neighboring states.
@@ -18,7 +17,7 @@ public class RandomCandidate extends SearchCandidate {
    */
 	@Override
 	public State stateSearch(List<State> listNeighborhood) {
-		int pos = random.nextInt(listNeighborhood.size());
+		int pos = RandomService.generator().nextInt(listNeighborhood.size());
 		return listNeighborhood.get(pos);
 	}
 }
@@ -0,0 +1,417 @@
+package es.ull.esit.app.local_search.complement;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.problem.definition.Move;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Tabu memory of a Tabu Search run.
+ *
+ * The tabu solutions are kept in a ring buffer, oldest first, so the oldest one
+ * is evicted in constant time, and are indexed by the fingerprint of their code
+ * ({@link State#fingerprint()}), so checking whether a state is tabu does not
+ * traverse the list. Two states are the same solution when one is the other or
+ * when {@link State#comparator(State)} says their codes are equal.
+ *
+ * The memory can also forbid moves instead of whole solutions: when a tenure
+ * is set, every accepted move recorded with {@link #recordMove(State, State)}
+ * makes tabu, for the next tenure moves, to give back to a changed variable
+ * the value it had before the move. When the new solution still carries the
+ * {@link Move} that produced it, only the changed variable is looked at;
+ * otherwise both codes are compared variable by variable.
+ *
+ * The memory is a List, oldest solution first, so it can be read and filled as
+ * the former tabu list.
+ */
+public class TabuMemory extends AbstractList<State> implements RandomAccess {
+
+  /** Size of the first allocation of the ring buffer. */
+  private static final int INITIAL_SIZE = 16;
+
+  /** Tabu solutions, in a ring buffer starting at {@link #head}. */
+  private State[] ring = new State[INITIAL_SIZE];
+
+  /** Fingerprint of each solution when it was added, in the same slots as {@link #ring}. */
+  private long[] keys = new long[INITIAL_SIZE];
+
+  /** Position of the oldest solution in the ring buffer. */
+  private int head;
+
+  /** Number of tabu solutions. */
+  private int count;
+
+  /** Tabu solutions by fingerprint. */
+  private final Map<Long, List<State>> index = new HashMap<>();
+
+  /** Number of moves during which a changed variable keeps its old value tabu (0 disables it). */
+  private int tenure;
+
+  /** Number of moves recorded so far. */
+  private long moves;
+
+  /** Move at which each tabu (variable, value) pair stops being tabu, by key. */
+  private final Map<Long, Long> attributes = new HashMap<>();
+
+  /** Tabu (variable, value) keys in the order they were recorded, to expire them. */
+  private final Deque<long[]> expirations = new ArrayDeque<>();
+
+  /**
+   * Gets the tabu solution at the given position, the oldest being at 0.
+   *
+   * @param position [int] Position of the solution.
+   * @return [State] The tabu solution.
+   */
+  @Override
+  public State get(int position) {
+    Objects.checkIndex(position, count);
+    return ring[slot(position)];
+  }
+
+  /**
+   * Gets the number of tabu solutions.
+   *
+   * @return [int] The number of tabu solutions.
+   */
+  @Override
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Adds a solution as the newest one, without checking if it is already tabu.
+   *
+   * @param position [int] Position of the new solution; only the end is supported.
+   * @param state [State] The solution to add.
+   */
+  @Override
+  public void add(int position, State state) {
+    if (position != count) {
+      throw new UnsupportedOperationException("Las soluciones tabu solo se añaden al final");
+    }
+    append(state, state.fingerprint());
+  }
+
+  /**
+   * Adds a solution as the newest one, indexed by the given fingerprint.
+   *
+   * @param state [State] The solution to add.
+   * @param key [long] Fingerprint of the solution.
+   */
+  private void append(State state, long key) {
+    if (count == ring.length) {
+      State[] grown = new State[ring.length * 2];
+      long[] grownKeys = new long[ring.length * 2];
+      for (int i = 0; i < count; i++) {
+        grown[i] = ring[slot(i)];
+        grownKeys[i] = keys[slot(i)];
+      }
+      ring = grown;
+      keys = grownKeys;
+      head = 0;
+    }
+    ring[slot(count)] = state;
+    keys[slot(count)] = key;
+    count++;
+    index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(state);
+    modCount++;
+  }
+
+  /**
+   * Removes the solution at the given position. Removing the oldest one takes
+   * constant time.
+   *
+   * @param position [int] Position of the solution.
+   * @return [State] The removed solution.
+   */
+  @Override
+  public State remove(int position) {
+    State removed = get(position);
+    long key = keys[slot(position)];
+    if (position == 0) {
+      ring[head] = null;
+      head = slot(1);
+    } else {
+      for (int i = position; i < count - 1; i++) {
+        ring[slot(i)] = ring[slot(i + 1)];
+        keys[slot(i)] = keys[slot(i + 1)];
+      }
+      ring[slot(count - 1)] = null;
+    }
+    count--;
+    unindex(removed, key);
+    modCount++;
+    return removed;
+  }
+
+  /**
+   * Removes every tabu solution and every tabu move.
+   */
+  @Override
+  public void clear() {
+    Arrays.fill(ring, null);
+    head = 0;
+    count = 0;
+    index.clear();
+    attributes.clear();
+    expirations.clear();
+    moves = 0;
+    modCount++;
+  }
+
+  /**
+   * Checks whether a solution is tabu.
+   *
+   * @param state [State] The solution to check.
+   * @return [boolean] True if the same solution is in the memory.
+   */
+  public boolean isTabu(State state) {
+    List<State> bucket = index.get(state.fingerprint());
+    if (bucket != null) {
+      for (State tabu : bucket) {
+        if (tabu == state || tabu.comparator(state)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes a solution tabu. If the memory is full the oldest solution is
+   * evicted first; then the solution is added unless it is already tabu.
+   *
+   * @param state [State] The accepted solution.
+   * @param maxElements [int] Maximum number of tabu solutions.
+   */
+  public void offer(State state, int maxElements) {
+    if (count >= maxElements && count > 0) {
+      remove(0);
+    }
+    if (!isTabu(state)) {
+      add(state);
+    }
+  }
+
+  /**
+   * Gets the number of moves during which a changed variable keeps its old
+   * value tabu.
+   *
+   * @return [int] The tenure, 0 if moves are not tabu.
+   */
+  public int getTenure() {
+    return tenure;
+  }
+
+  /**
+   * Sets the number of moves during which a changed variable keeps its old
+   * value tabu. With 0 only whole solutions are tabu.
+   *
+   * @param tenure [int] The tenure.
+   */
+  public void setTenure(int tenure) {
+    if (tenure < 0) {
+      throw new IllegalArgumentException("La permanencia tabu no puede ser negativa");
+    }
+    this.tenure = tenure;
+  }
+
+  /**
+   * Records an accepted move. Every variable changed by the move keeps the
+   * value it had before as tabu during the next tenure moves.
+   *
+   * @param from [State] Solution before the move.
+   * @param to [State] Solution after the move.
+   */
+  public void recordMove(State from, State to) {
+    moves++;
+    expire();
+    if (tenure == 0 || from == null || to == null) {
+      return;
+    }
+    long until = moves + tenure;
+    Move move = moveBetween(from, to);
+    if (move != null) {
+      if (!Objects.equals(move.getOldValue(), move.getNewValue())) {
+        makeTabu(State.zobrist(move.getIndex(), Objects.hashCode(move.getOldValue())), until);
+      }
+      return;
+    }
+    int length = Math.min(from.size(), to.size());
+    for (int i = 0; i < length; i++) {
+      Object before = from.getValue(i);
+      if (!Objects.equals(before, to.getValue(i))) {
+        makeTabu(State.zobrist(i, Objects.hashCode(before)), until);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a move is tabu, that is, whether it gives back to a changed
+   * variable a value that is still tabu.
+   *
+   * @param from [State] Solution before the move.
+   * @param to [State] Solution after the move.
+   * @return [boolean] True if the move is tabu.
+   */
+  public boolean isMoveTabu(State from, State to) {
+    if (attributes.isEmpty() || from == null || to == null) {
+      return false;
+    }
+    Move move = moveBetween(from, to);
+    if (move != null) {
+      return !Objects.equals(move.getOldValue(), move.getNewValue())
+          && isAttributeTabu(State.zobrist(move.getIndex(), Objects.hashCode(move.getNewValue())));
+    }
+    int length = Math.min(from.size(), to.size());
+    for (int i = 0; i < length; i++) {
+      Object after = to.getValue(i);
+      if (!Objects.equals(from.getValue(i), after) && isAttributeTabu(State.zobrist(i, Objects.hashCode(after)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes the memory to a checkpoint: the tabu solutions with the fingerprint
+   * they were indexed by, the tenure, the number of moves and the tabu moves.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    out.writeInt(count);
+    for (int i = 0; i < count; i++) {
+      out.writeState(ring[slot(i)]);
+      out.writeLong(keys[slot(i)]);
+    }
+    out.writeInt(tenure);
+    out.writeLong(moves);
+    out.writeInt(expirations.size());
+    for (long[] expiration : expirations) {
+      out.writeLong(expiration[0]);
+      out.writeLong(expiration[1]);
+    }
+  }
+
+  /**
+   * Replaces the contents of the memory by the ones of a checkpoint.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    clear();
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      State state = in.readState();
+      append(state, in.readLong());
+    }
+    tenure = in.readInt();
+    moves = in.readLong();
+    int pending = in.readInt();
+    // Las claves se registraron en orden, así que la última de cada una es la vigente.
+    for (int i = 0; i < pending; i++) {
+      long key = in.readLong();
+      makeTabu(key, in.readLong());
+    }
+  }
+
+  /**
+   * Gets the move that produced a solution from another one, when the solution
+   * still carries it: the move must come from the evaluation of the first
+   * solution and match the value of the changed variable in both.
+   *
+   * @param from [State] Solution before the move.
+   * @param to [State] Solution after the move.
+   * @return [Move] The move, or null if the codes must be compared.
+   */
+  private static Move moveBetween(State from, State to) {
+    Move move = to.getMove();
+    if (move == null || move.getParentEvaluation() != from.getEvaluation() || from.size() != to.size()) {
+      return null;
+    }
+    int i = move.getIndex();
+    if (i < 0 || i >= to.size() || !Objects.equals(from.getValue(i), move.getOldValue())
+        || !Objects.equals(to.getValue(i), move.getNewValue())) {
+      return null;
+    }
+    return move;
+  }
+
+  /**
+   * Makes a (variable, value) pair tabu until the given move.
+   *
+   * @param key [long] Key of the pair.
+   * @param until [long] Move at which the pair stops being tabu.
+   */
+  private void makeTabu(long key, long until) {
+    attributes.put(key, until);
+    expirations.addLast(new long[] {key, until});
+  }
+
+  /**
+   * Checks whether a (variable, value) pair is still tabu.
+   *
+   * @param key [long] Key of the pair.
+   * @return [boolean] True if the pair is tabu.
+   */
+  private boolean isAttributeTabu(long key) {
+    Long until = attributes.get(key);
+    return until != null && until > moves;
+  }
+
+  /**
+   * Removes the (variable, value) pairs whose tenure is over.
+   */
+  private void expire() {
+    while (!expirations.isEmpty() && expirations.peekFirst()[1] <= moves) {
+      long[] expired = expirations.pollFirst();
+      attributes.remove(expired[0], expired[1]);
+    }
+  }
+
+  /**
+   * Removes a solution from the fingerprint index.
+   *
+   * @param state [State] The removed solution.
+   * @param key [long] Fingerprint of the solution when it was added.
+   */
+  private void unindex(State state, long key) {
+    List<State> bucket = index.get(key);
+    if (bucket != null) {
+      for (int i = 0; i < bucket.size(); i++) {
+        if (bucket.get(i) == state) {
+          bucket.remove(i);
+          break;
+        }
+      }
+      if (bucket.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Gets the position in the ring buffer of a solution.
+   *
+   * @param position [int] Position of the solution, the oldest being at 0.
+   * @return [int] Position in the ring buffer.
+   */
+  private int slot(int position) {
+    return (head + position) % ring.length;
+  }
+}
@@ -1,8 +1,8 @@
 package es.ull.esit.app.local_search.complement;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.problem.definition.State;
 
 /**
@@ -10,8 +10,14 @@ import es.ull.esit.app.problem.definition.State;
  */
 public class TabuSolutions {
 
-  /** List of tabu states (accesible desde otros paquetes como MultiobjectiveTabuSearch y TabuSearch). */
-  private static final List<State> listTabu = new ArrayList<>();
+  /**
+   * Per-run state of the tabu list, kept in the current SearchContext so runs
+   * executed in parallel keep separate tabu lists.
+   */
+  private static final class RunState {
+    /** Tabu memory (accesible desde otros paquetes como MultiobjectiveTabuSearch y TabuSearch). */
+    private final TabuMemory listTabu = new TabuMemory();
+  }
 
   /** Maximum number of elements allowed in the tabu list (nombre esperado: maxelements). */
   public static int maxelements = 100;
@@ -22,35 +28,34 @@ public class TabuSolutions {
    * @return [List<State>] Filtered list of neighborhood states.
    */
   public List<State> filterNeighborhood(List<State> listNeighborhood) {
-    List<State> listFiltrate;
-
-    if (!listTabu.isEmpty()) {
-      for (int i = listNeighborhood.size() - 1; i >= 0; i--) {
-        int countTabu = 0;
-        while (listTabu.size() > countTabu) {
-          if (listNeighborhood.get(i).equals(listTabu.get(countTabu))) {
-            listNeighborhood.remove(i);
-            break; // ya hemos eliminado este índice, salimos del while
-          }
-          countTabu++;
-        }
-      }
-      listFiltrate = listNeighborhood;
-      if (listFiltrate.isEmpty()) {
+    return filterNeighborhood(null, listNeighborhood);
+  }
+
+  /**
+   * Filters the neighborhood states by removing those present in the tabu list
+   * and, when a reference is given, those reached from it with a tabu move.
+   * @param reference [State] Current solution, or null to check only whole solutions.
+   * @param listNeighborhood [List<State>] List of neighborhood states.
+   * @return [List<State>] Filtered list of neighborhood states.
+   */
+  public List<State> filterNeighborhood(State reference, List<State> listNeighborhood) {
+    TabuMemory listTabu = getListTabu();
+
+    if (!listTabu.isEmpty() || listTabu.getTenure() > 0) {
+      listNeighborhood.removeIf(state -> listTabu.isTabu(state) || listTabu.isMoveTabu(reference, state));
+      if (listNeighborhood.isEmpty()) {
         throw new IllegalArgumentException("All neighborhood states are in the tabu list.");
       }
-    } else {
-      listFiltrate = listNeighborhood;
     }
-    return listFiltrate;
+    return listNeighborhood;
   }
 
   /**
    * Gets the tabu list.
    * 
-   * @return [List<State>] The tabu list.
+   * @return [TabuMemory] The tabu memory of the current run.
    */
-  public static List<State> getListTabu() {
-    return listTabu;
+  public static TabuMemory getListTabu() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new).listTabu;
   }
 }
@@ -0,0 +1,94 @@
+package es.ull.esit.app.metaheurictics.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Files of checkpoints. A checkpoint starts with a magic number and the
+ * version of the format, followed by the data written by its owner.
+ *
+ * The file is written next to the target, synced to disk and then moved over
+ * it, so a run killed while saving keeps the previous checkpoint intact.
+ */
+public final class Checkpoint {
+
+  /** Magic number of the files ("BCKP"). */
+  public static final int MAGIC = 0x42434b50;
+
+  /** Version of the format. */
+  public static final int VERSION = 1;
+
+  /**
+   * Writer of the data of a checkpoint.
+   */
+  @FunctionalInterface
+  public interface Writer {
+
+    /**
+     * Writes the data.
+     *
+     * @param out [CheckpointOutput] The stream of the checkpoint.
+     * @throws IOException If the stream fails.
+     */
+    void write(CheckpointOutput out) throws IOException;
+  }
+
+  private Checkpoint() {
+    // Utility class.
+  }
+
+  /**
+   * Saves a checkpoint, replacing the previous one atomically.
+   *
+   * @param file [Path] File of the checkpoint.
+   * @param writer [Writer] Writer of the data.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(Path file, Writer writer) throws IOException {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileOutputStream stream = new FileOutputStream(temporary.toFile());
+         CheckpointOutput out = new CheckpointOutput(new BufferedOutputStream(stream))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writer.write(out);
+      out.flush();
+      stream.getFD().sync();
+    }
+    try {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Opens a checkpoint, checking its header.
+   *
+   * @param file [Path] File of the checkpoint.
+   * @return [CheckpointInput] The stream, positioned at the data.
+   * @throws IOException If the file cannot be read or is not a checkpoint of this version.
+   */
+  public static CheckpointInput open(Path file) throws IOException {
+    CheckpointInput in = new CheckpointInput(new BufferedInputStream(Files.newInputStream(file)));
+    try {
+      if (in.readInt() != MAGIC) {
+        throw new StreamCorruptedException("El fichero no es un punto de control: " + file);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new StreamCorruptedException("Versión de punto de control no soportada: " + version);
+      }
+      return in;
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,272 @@
+package es.ull.esit.app.metaheurictics.checkpoint;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Stream from which a checkpoint written with {@link CheckpointOutput} is read.
+ * The states are created again with the public constructor without arguments
+ * of their class and filled with their code, evaluation, number and generator
+ * type; the moves attached to the states are not kept.
+ */
+public class CheckpointInput extends DataInputStream {
+
+  /** States read so far, by position. */
+  private final List<State> states = new ArrayList<>();
+
+  /** Lists of states read so far, by position. */
+  private final List<List<State>> lists = new ArrayList<>();
+
+  /** Evaluation lists read so far, by position. */
+  private final List<List<Double>> evaluations = new ArrayList<>();
+
+  /** Classes of state read so far, by position. */
+  private final List<Class<? extends State>> classes = new ArrayList<>();
+
+  /**
+   * Constructor.
+   *
+   * @param in [InputStream] Stream from which the checkpoint is read.
+   */
+  public CheckpointInput(InputStream in) {
+    super(in);
+  }
+
+  /**
+   * Reads a state.
+   *
+   * @return [State] The state, or null.
+   * @throws IOException If the stream fails or does not hold a state.
+   */
+  public State readState() throws IOException {
+    int position = readInt();
+    if (position == CheckpointOutput.NULL) {
+      return null;
+    }
+    if (position != CheckpointOutput.NEW) {
+      return get(states, position);
+    }
+    Class<? extends State> type = readClass();
+    State state;
+    try {
+      state = type.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("No se pudo crear un estado de la clase " + type.getName(), e);
+    }
+    states.add(state);
+    state.setTypeGenerator(readGeneratorType());
+    state.setNumber(readInt());
+    List<Double> evaluation = readEvaluation();
+    if (evaluation != null) {
+      state.setEvaluation(evaluation);
+    }
+    List<Object> code = readValues();
+    if (code != null) {
+      state.setCode(code);
+    }
+    return state;
+  }
+
+  /**
+   * Reads a list of states. A list written several times is read as the same
+   * list.
+   *
+   * @return [List<State>] The list, or null.
+   * @throws IOException If the stream fails or does not hold a list.
+   */
+  public List<State> readStates() throws IOException {
+    int position = readInt();
+    if (position == CheckpointOutput.NULL) {
+      return null;
+    }
+    if (position != CheckpointOutput.NEW) {
+      return get(lists, position);
+    }
+    int size = readInt();
+    List<State> list = new ArrayList<>(size);
+    lists.add(list);
+    for (int i = 0; i < size; i++) {
+      list.add(readState());
+    }
+    return list;
+  }
+
+  /**
+   * Reads a list of values, such as a code or a velocity.
+   *
+   * @return [List<Object>] A new list with the values, or null.
+   * @throws IOException If the stream fails or does not hold a list.
+   */
+  public List<Object> readValues() throws IOException {
+    int size = readInt();
+    if (size == CheckpointOutput.NULL) {
+      return null;
+    }
+    List<Object> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(readValue());
+    }
+    return values;
+  }
+
+  /**
+   * Reads an array of ints.
+   *
+   * @return [int[]] The array, or null.
+   * @throws IOException If the stream fails.
+   */
+  public int[] readInts() throws IOException {
+    int size = readInt();
+    if (size == CheckpointOutput.NULL) {
+      return null;
+    }
+    int[] values = new int[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = readInt();
+    }
+    return values;
+  }
+
+  /**
+   * Reads an array of ints into an existing one, when both have the same
+   * length, so the arrays shared with other objects keep being shared.
+   *
+   * @param target [int[]] The array to fill, may be null.
+   * @throws IOException If the stream fails.
+   */
+  public void readInts(int[] target) throws IOException {
+    int[] values = readInts();
+    if (target != null && values != null) {
+      System.arraycopy(values, 0, target, 0, Math.min(values.length, target.length));
+    }
+  }
+
+  /**
+   * Reads a generator type.
+   *
+   * @return [GeneratorType] The type, or null.
+   * @throws IOException If the stream fails or the type does not exist.
+   */
+  public GeneratorType readGeneratorType() throws IOException {
+    int ordinal = readByte();
+    if (ordinal == CheckpointOutput.NULL) {
+      return null;
+    }
+    GeneratorType[] types = GeneratorType.values();
+    if (ordinal < 0 || ordinal >= types.length) {
+      throw new StreamCorruptedException("Tipo de generador desconocido en el punto de control: " + ordinal);
+    }
+    return types[ordinal];
+  }
+
+  /**
+   * Reads a Double that may be null.
+   *
+   * @return [Double] The value, or null.
+   * @throws IOException If the stream fails.
+   */
+  public Double readNullableDouble() throws IOException {
+    return readBoolean() ? readDouble() : null;
+  }
+
+  /**
+   * Reads an evaluation list.
+   *
+   * @return [List<Double>] The list, or null.
+   * @throws IOException If the stream fails.
+   */
+  private List<Double> readEvaluation() throws IOException {
+    int position = readInt();
+    if (position == CheckpointOutput.NULL) {
+      return null;
+    }
+    if (position != CheckpointOutput.NEW) {
+      return get(evaluations, position);
+    }
+    int size = readInt();
+    List<Double> evaluation = new ArrayList<>(size);
+    evaluations.add(evaluation);
+    for (int i = 0; i < size; i++) {
+      evaluation.add(readDouble());
+    }
+    return evaluation;
+  }
+
+  /**
+   * Reads a class of state.
+   *
+   * @return [Class] The class.
+   * @throws IOException If the stream fails or the class is not a state.
+   */
+  private Class<? extends State> readClass() throws IOException {
+    int position = readInt();
+    if (position != CheckpointOutput.NEW) {
+      return get(classes, position);
+    }
+    String name = readUTF();
+    try {
+      Class<? extends State> type = Class.forName(name).asSubclass(State.class);
+      classes.add(type);
+      return type;
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Clase de estado desconocida en el punto de control: " + name, e);
+    }
+  }
+
+  /**
+   * Reads a value of a code.
+   *
+   * @return [Object] The value.
+   * @throws IOException If the stream fails or the type is unknown.
+   */
+  private Object readValue() throws IOException {
+    int tag = readByte();
+    switch (tag) {
+      case CheckpointOutput.TAG_NULL:
+        return null;
+      case CheckpointOutput.TAG_INTEGER:
+        return readInt();
+      case CheckpointOutput.TAG_LONG:
+        return readLong();
+      case CheckpointOutput.TAG_DOUBLE:
+        return readDouble();
+      case CheckpointOutput.TAG_FLOAT:
+        return readFloat();
+      case CheckpointOutput.TAG_BOOLEAN:
+        return readBoolean();
+      case CheckpointOutput.TAG_SHORT:
+        return readShort();
+      case CheckpointOutput.TAG_BYTE:
+        return readByte();
+      case CheckpointOutput.TAG_CHARACTER:
+        return readChar();
+      case CheckpointOutput.TAG_STRING:
+        return readUTF();
+      default:
+        throw new StreamCorruptedException("Tipo de valor desconocido en el punto de control: " + tag);
+    }
+  }
+
+  /**
+   * Gets an element read before.
+   *
+   * @param <T> Type of the elements.
+   * @param read [List<T>] Elements read so far.
+   * @param position [int] Position of the element.
+   * @return [T] The element.
+   * @throws StreamCorruptedException If the position was not read.
+   */
+  private static <T> T get(List<T> read, int position) throws StreamCorruptedException {
+    if (position < 0 || position >= read.size()) {
+      throw new StreamCorruptedException("Referencia no válida en el punto de control: " + position);
+    }
+    return read.get(position);
+  }
+}
@@ -0,0 +1,257 @@
+package es.ull.esit.app.metaheurictics.checkpoint;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Stream where the state of a run is written as a checkpoint, read back with
+ * {@link CheckpointInput}.
+ *
+ * Besides the primitive values of a DataOutputStream it writes states, lists
+ * of states and codes. A state or a list of states that was already written
+ * is written as a reference to it, so the populations, references and bests
+ * that point to the same objects are still shared when the run is resumed.
+ * An evaluation shared by several states is written once too, but each state
+ * gets its own copy back, as State copies the evaluation it is given. The
+ * codes may hold numbers, booleans, characters, strings and nulls.
+ */
+public class CheckpointOutput extends DataOutputStream {
+
+  /** Types of the values of the codes. */
+  static final int TAG_NULL = 0;
+  static final int TAG_INTEGER = 1;
+  static final int TAG_LONG = 2;
+  static final int TAG_DOUBLE = 3;
+  static final int TAG_FLOAT = 4;
+  static final int TAG_BOOLEAN = 5;
+  static final int TAG_SHORT = 6;
+  static final int TAG_BYTE = 7;
+  static final int TAG_CHARACTER = 8;
+  static final int TAG_STRING = 9;
+
+  /** Marks a null state, list or array. */
+  static final int NULL = -1;
+
+  /** Marks a state or list written in full after it. */
+  static final int NEW = -2;
+
+  /** Position of each state already written. */
+  private final Map<State, Integer> states = new IdentityHashMap<>();
+
+  /** Position of each list of states already written. */
+  private final Map<List<State>, Integer> lists = new IdentityHashMap<>();
+
+  /** Position of each evaluation list already written. */
+  private final Map<List<Double>, Integer> evaluations = new IdentityHashMap<>();
+
+  /** Position of each class of state already written. */
+  private final Map<String, Integer> classes = new HashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param out [OutputStream] Stream where the checkpoint is written.
+   */
+  public CheckpointOutput(OutputStream out) {
+    super(out);
+  }
+
+  /**
+   * Writes a state, or a reference to it if it was already written.
+   *
+   * @param state [State] The state, may be null.
+   * @throws IOException If the stream fails.
+   */
+  public void writeState(State state) throws IOException {
+    if (state == null) {
+      writeInt(NULL);
+      return;
+    }
+    Integer position = states.get(state);
+    if (position != null) {
+      writeInt(position);
+      return;
+    }
+    states.put(state, states.size());
+    writeInt(NEW);
+    writeClass(state.getClass().getName());
+    writeByte((state.getTypeGenerator() != null) ? state.getTypeGenerator().ordinal() : NULL);
+    writeInt(state.getNumber());
+    writeEvaluation(state.getEvaluation());
+    writeValues(state.getCode());
+  }
+
+  /**
+   * Writes a list of states, or a reference to it if it was already written.
+   *
+   * @param list [List<State>] The list, may be null.
+   * @throws IOException If the stream fails.
+   */
+  public void writeStates(List<State> list) throws IOException {
+    if (list == null) {
+      writeInt(NULL);
+      return;
+    }
+    Integer position = lists.get(list);
+    if (position != null) {
+      writeInt(position);
+      return;
+    }
+    lists.put(list, lists.size());
+    writeInt(NEW);
+    writeInt(list.size());
+    for (State state : list) {
+      writeState(state);
+    }
+  }
+
+  /**
+   * Writes a list of values, such as a code or a velocity.
+   *
+   * @param values [List<Object>] The values, may be null.
+   * @throws IOException If the stream fails.
+   * @throws IllegalArgumentException If a value is not of a supported type.
+   */
+  public void writeValues(List<Object> values) throws IOException {
+    if (values == null) {
+      writeInt(NULL);
+      return;
+    }
+    writeInt(values.size());
+    for (Object value : values) {
+      writeValue(value);
+    }
+  }
+
+  /**
+   * Writes an array of ints.
+   *
+   * @param values [int[]] The array, may be null.
+   * @throws IOException If the stream fails.
+   */
+  public void writeInts(int[] values) throws IOException {
+    if (values == null) {
+      writeInt(NULL);
+      return;
+    }
+    writeInt(values.length);
+    for (int value : values) {
+      writeInt(value);
+    }
+  }
+
+  /**
+   * Writes a generator type.
+   *
+   * @param type [GeneratorType] The type, may be null.
+   * @throws IOException If the stream fails.
+   */
+  public void writeGeneratorType(GeneratorType type) throws IOException {
+    writeByte((type != null) ? type.ordinal() : NULL);
+  }
+
+  /**
+   * Writes a Double that may be null.
+   *
+   * @param value [Double] The value.
+   * @throws IOException If the stream fails.
+   */
+  public void writeNullableDouble(Double value) throws IOException {
+    writeBoolean(value != null);
+    if (value != null) {
+      writeDouble(value);
+    }
+  }
+
+  /**
+   * Writes an evaluation, or a reference to it if it was already written.
+   *
+   * @param evaluation [List<Double>] The evaluation, may be null.
+   * @throws IOException If the stream fails.
+   */
+  private void writeEvaluation(List<Double> evaluation) throws IOException {
+    if (evaluation == null) {
+      writeInt(NULL);
+      return;
+    }
+    Integer position = evaluations.get(evaluation);
+    if (position != null) {
+      writeInt(position);
+      return;
+    }
+    evaluations.put(evaluation, evaluations.size());
+    writeInt(NEW);
+    writeInt(evaluation.size());
+    for (Double value : evaluation) {
+      writeDouble(value);
+    }
+  }
+
+  /**
+   * Writes the name of a class of state, or its position if it was already
+   * written.
+   *
+   * @param name [String] Name of the class.
+   * @throws IOException If the stream fails.
+   */
+  private void writeClass(String name) throws IOException {
+    Integer position = classes.get(name);
+    if (position != null) {
+      writeInt(position);
+      return;
+    }
+    classes.put(name, classes.size());
+    writeInt(NEW);
+    writeUTF(name);
+  }
+
+  /**
+   * Writes a value of a code with its type.
+   *
+   * @param value [Object] The value.
+   * @throws IOException If the stream fails.
+   */
+  private void writeValue(Object value) throws IOException {
+    if (value == null) {
+      writeByte(TAG_NULL);
+    } else if (value instanceof Integer) {
+      writeByte(TAG_INTEGER);
+      writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      writeByte(TAG_LONG);
+      writeLong((Long) value);
+    } else if (value instanceof Double) {
+      writeByte(TAG_DOUBLE);
+      writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      writeByte(TAG_FLOAT);
+      writeFloat((Float) value);
+    } else if (value instanceof Boolean) {
+      writeByte(TAG_BOOLEAN);
+      writeBoolean((Boolean) value);
+    } else if (value instanceof Short) {
+      writeByte(TAG_SHORT);
+      writeShort((Short) value);
+    } else if (value instanceof Byte) {
+      writeByte(TAG_BYTE);
+      writeByte((Byte) value);
+    } else if (value instanceof Character) {
+      writeByte(TAG_CHARACTER);
+      writeChar((Character) value);
+    } else if (value instanceof String) {
+      writeByte(TAG_STRING);
+      writeUTF((String) value);
+    } else {
+      throw new IllegalArgumentException("El punto de control no admite valores de tipo "
+          + value.getClass().getName());
+    }
+  }
+}
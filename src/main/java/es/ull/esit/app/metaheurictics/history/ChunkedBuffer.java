@@ -0,0 +1,242 @@
+package es.ull.esit.app.metaheurictics.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only byte storage made of fixed-size chunks, allocated as they are
+ * needed in the heap, in direct buffers or mapped from a file. The values are
+ * read and written at absolute positions; the callers keep every value aligned
+ * to its size and the chunk size is a multiple of 16, so no value crosses two
+ * chunks.
+ */
+final class ChunkedBuffer implements AutoCloseable {
+
+  /** Where the chunks are allocated. */
+  private final HistoryStorage storage;
+
+  /** Size of each chunk, in bytes. */
+  private final int chunkSize;
+
+  /** The chunks. */
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+
+  /** File of the chunks, if they are mapped. */
+  private final FileChannel channel;
+
+  /** Number of bytes written. */
+  private long size;
+
+  /**
+   * Constructor.
+   *
+   * @param storage [HistoryStorage] Where the chunks are allocated.
+   * @param file [Path] File of the chunks, used only if they are mapped.
+   * @param chunkSize [int] Size of each chunk, a positive multiple of 16.
+   */
+  ChunkedBuffer(HistoryStorage storage, Path file, int chunkSize) {
+    if (chunkSize < 16 || chunkSize % 16 != 0) {
+      throw new IllegalArgumentException("El tamaño de bloque debe ser un múltiplo positivo de 16: " + chunkSize);
+    }
+    this.storage = storage;
+    this.chunkSize = chunkSize;
+    if (storage == HistoryStorage.MAPPED) {
+      try {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+      } catch (IOException e) {
+        throw new UncheckedIOException("No se pudo abrir el fichero del historial " + file, e);
+      }
+    } else {
+      this.channel = null;
+    }
+  }
+
+  /**
+   * Reserves bytes at the end of the storage.
+   *
+   * @param bytes [int] Number of bytes, at most the chunk size.
+   * @return [long] Position of the first reserved byte.
+   */
+  long append(int bytes) {
+    long position = size;
+    size += bytes;
+    while ((long) chunks.size() * chunkSize < size) {
+      chunks.add(allocate(chunks.size()));
+    }
+    return position;
+  }
+
+  /**
+   * Gets the number of bytes written.
+   *
+   * @return [long] The size.
+   */
+  long size() {
+    return size;
+  }
+
+  /**
+   * Writes a short at a position reserved by {@link #append(int)}.
+   *
+   * @param position [long] The position.
+   * @param value [short] The value.
+   */
+  void putShort(long position, short value) {
+    chunk(position).putShort(offset(position), value);
+  }
+
+  /**
+   * Reads a short at a position.
+   *
+   * @param position [long] The position.
+   * @return [short] The value.
+   */
+  short getShort(long position) {
+    return chunk(position).getShort(offset(position));
+  }
+
+  /**
+   * Writes an int at a position reserved by {@link #append(int)}.
+   *
+   * @param position [long] The position.
+   * @param value [int] The value.
+   */
+  void putInt(long position, int value) {
+    chunk(position).putInt(offset(position), value);
+  }
+
+  /**
+   * Reads an int at a position.
+   *
+   * @param position [long] The position.
+   * @return [int] The value.
+   */
+  int getInt(long position) {
+    return chunk(position).getInt(offset(position));
+  }
+
+  /**
+   * Writes a long at a position reserved by {@link #append(int)}.
+   *
+   * @param position [long] The position.
+   * @param value [long] The value.
+   */
+  void putLong(long position, long value) {
+    chunk(position).putLong(offset(position), value);
+  }
+
+  /**
+   * Reads a long at a position.
+   *
+   * @param position [long] The position.
+   * @return [long] The value.
+   */
+  long getLong(long position) {
+    return chunk(position).getLong(offset(position));
+  }
+
+  /**
+   * Writes a double at a position reserved by {@link #append(int)}.
+   *
+   * @param position [long] The position.
+   * @param value [double] The value.
+   */
+  void putDouble(long position, double value) {
+    chunk(position).putDouble(offset(position), value);
+  }
+
+  /**
+   * Reads a double at a position.
+   *
+   * @param position [long] The position.
+   * @return [double] The value.
+   */
+  double getDouble(long position) {
+    return chunk(position).getDouble(offset(position));
+  }
+
+  /**
+   * Releases the chunks and closes the file, if any.
+   */
+  @Override
+  public void close() {
+    chunks.clear();
+    size = 0;
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException("No se pudo cerrar el fichero del historial", e);
+      }
+    }
+  }
+
+  /**
+   * Gets the chunk of a position.
+   *
+   * @param position [long] The position.
+   * @return [ByteBuffer] The chunk.
+   */
+  private ByteBuffer chunk(long position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Posición fuera del historial: " + position);
+    }
+    return chunks.get((int) (position / chunkSize));
+  }
+
+  /**
+   * Gets the offset of a position inside its chunk.
+   *
+   * @param position [long] The position.
+   * @return [int] The offset.
+   */
+  private int offset(long position) {
+    return (int) (position % chunkSize);
+  }
+
+  /**
+   * Allocates a chunk.
+   *
+   * @param index [int] Position of the chunk.
+   * @return [ByteBuffer] The chunk.
+   */
+  private ByteBuffer allocate(int index) {
+    switch (storage) {
+      case DIRECT:
+        return ByteBuffer.allocateDirect(chunkSize);
+      case MAPPED:
+        try {
+          return channel.map(FileChannel.MapMode.READ_WRITE, (long) index * chunkSize, chunkSize);
+        } catch (IOException e) {
+          throw new UncheckedIOException("No se pudo ampliar el fichero del historial", e);
+        }
+      case HEAP:
+      default:
+        return ByteBuffer.allocate(chunkSize);
+    }
+  }
+
+  /**
+   * Creates the file of a mapped buffer inside a directory.
+   *
+   * @param directory [Path] The directory, created if it does not exist.
+   * @param name [String] Name of the file.
+   * @return [Path] The file.
+   */
+  static Path file(Path directory, String name) {
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("No se pudo crear el directorio del historial " + directory, e);
+    }
+    return directory.resolve(name);
+  }
+}
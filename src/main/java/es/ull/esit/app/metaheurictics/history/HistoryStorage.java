@@ -0,0 +1,11 @@
+package es.ull.esit.app.metaheurictics.history;
+
+/**
+ * Enum that defines where an {@link IterationHistory} keeps its columns.
+ */
+public enum HistoryStorage {
+  HEAP,    /** Byte arrays in the Java heap */
+  DIRECT,  /** Direct buffers, outside the Java heap */
+  MAPPED;  /** Memory-mapped files, paged in and out by the operating system */
+
+}
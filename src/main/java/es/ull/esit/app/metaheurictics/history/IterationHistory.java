@@ -0,0 +1,505 @@
+package es.ull.esit.app.metaheurictics.history;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Compact history of the iterations of a run, kept in primitive columns
+ * instead of lists of states: the iteration number, the generator and the
+ * evaluation of the candidate of every iteration.
+ *
+ * The best evaluation is run-length encoded: a new run is only stored when it
+ * changes, so a best that holds for millions of iterations takes a single
+ * entry. Optionally, the code of each new best solution is stored as a
+ * snapshot encoded as the changes from the previous one, with a full keyframe
+ * every {@link #KEYFRAME_INTERVAL} snapshots; the snapshots only accept
+ * numeric and boolean codes.
+ *
+ * The columns live in the heap, in direct buffers outside the heap or in
+ * memory-mapped files (see {@link HistoryStorage}), so very long runs are
+ * paged by the operating system instead of filling the heap.
+ */
+public class IterationHistory implements AutoCloseable {
+
+  /** Default size of the chunks of the columns, in bytes. */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  /** Number of delta snapshots between two full ones. */
+  public static final int KEYFRAME_INTERVAL = 64;
+
+  /** Kinds of snapshot. */
+  private static final int KEYFRAME = 0;
+  private static final int DELTA = 1;
+
+  /** Types of the values of the codes. */
+  private static final int TAG_INTEGER = 0;
+  private static final int TAG_LONG = 1;
+  private static final int TAG_DOUBLE = 2;
+  private static final int TAG_FLOAT = 3;
+  private static final int TAG_BOOLEAN = 4;
+  private static final int TAG_SHORT = 5;
+  private static final int TAG_BYTE = 6;
+
+  /** Bytes of each snapshot entry: position, type and value. */
+  private static final int ENTRY = 16;
+
+  /** Iteration of each row. */
+  private final ChunkedBuffer iterations;
+  /** Ordinal of the generator of each row, -1 if unknown. */
+  private final ChunkedBuffer generators;
+  /** Evaluation of the candidate of each row. */
+  private final ChunkedBuffer evaluations;
+  /** Runs of the best evaluation: first row and evaluation. */
+  private final ChunkedBuffer bestRuns;
+  /** Index of the snapshots: row and position of the data. */
+  private final ChunkedBuffer snapshotIndex;
+  /** Data of the snapshots, null if they are not kept. */
+  private final ChunkedBuffer snapshotData;
+
+  /** Number of objectives, known with the first row. */
+  private int objectives = -1;
+  /** Number of rows. */
+  private int rows;
+  /** Number of runs of the best evaluation. */
+  private int runs;
+  /** Number of snapshots. */
+  private int snapshots;
+  /** Snapshots since the last keyframe. */
+  private int sinceKeyframe;
+  /** Evaluation of the last run. */
+  private double[] lastBest;
+  /** Best solution of the last row, to detect new bests. */
+  private State lastBestState;
+  /** Code of the last snapshot. */
+  private Object[] lastCode;
+
+  /**
+   * Default constructor: columns in the heap and no snapshots.
+   */
+  public IterationHistory() {
+    this(HistoryStorage.HEAP, null, false, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param storage [HistoryStorage] Where the columns are kept.
+   * @param directory [Path] Directory of the files, required if they are mapped.
+   * @param keepSnapshots [boolean] Whether the codes of the best solutions are kept.
+   */
+  public IterationHistory(HistoryStorage storage, Path directory, boolean keepSnapshots) {
+    this(storage, directory, keepSnapshots, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructor with a given chunk size.
+   *
+   * @param storage [HistoryStorage] Where the columns are kept.
+   * @param directory [Path] Directory of the files, required if they are mapped.
+   * @param keepSnapshots [boolean] Whether the codes of the best solutions are kept.
+   * @param chunkSize [int] Size of the chunks of the columns, a multiple of 16 bytes.
+   */
+  public IterationHistory(HistoryStorage storage, Path directory, boolean keepSnapshots, int chunkSize) {
+    if (storage == HistoryStorage.MAPPED && directory == null) {
+      throw new IllegalArgumentException("El historial en ficheros necesita un directorio");
+    }
+    iterations = column(storage, directory, "iterations.bin", chunkSize);
+    generators = column(storage, directory, "generators.bin", chunkSize);
+    evaluations = column(storage, directory, "evaluations.bin", chunkSize);
+    bestRuns = column(storage, directory, "best.bin", chunkSize);
+    snapshotIndex = keepSnapshots ? column(storage, directory, "snapshots.idx", chunkSize) : null;
+    snapshotData = keepSnapshots ? column(storage, directory, "snapshots.bin", chunkSize) : null;
+  }
+
+  /**
+   * Creates a column.
+   *
+   * @param storage [HistoryStorage] Where it is kept.
+   * @param directory [Path] Directory of the file, if it is mapped.
+   * @param name [String] Name of the file.
+   * @param chunkSize [int] Size of the chunks.
+   * @return [ChunkedBuffer] The column.
+   */
+  private static ChunkedBuffer column(HistoryStorage storage, Path directory, String name, int chunkSize) {
+    Path file = (storage == HistoryStorage.MAPPED) ? ChunkedBuffer.file(directory, name) : null;
+    return new ChunkedBuffer(storage, file, chunkSize);
+  }
+
+  /**
+   * Records an iteration.
+   *
+   * @param iteration [int] Number of the iteration.
+   * @param generator [GeneratorType] Generator that produced the candidate, or null.
+   * @param evaluation [List<Double>] Evaluation of the candidate.
+   * @param best [State] Best solution found so far, or null.
+   */
+  public void record(int iteration, GeneratorType generator, List<Double> evaluation, State best) {
+    if (objectives < 0) {
+      objectives = evaluation.size();
+    } else if (evaluation.size() != objectives) {
+      throw new IllegalArgumentException("La evaluación tiene " + evaluation.size() + " objetivos y el historial "
+          + objectives);
+    }
+    iterations.putInt(iterations.append(4), iteration);
+    generators.putShort(generators.append(2), (short) ((generator != null) ? generator.ordinal() : -1));
+    long position = evaluations.append(8 * objectives);
+    for (int i = 0; i < objectives; i++) {
+      evaluations.putDouble(position + 8L * i, evaluation.get(i));
+    }
+    if (best != null && best != lastBestState) {
+      recordBest(best);
+      lastBestState = best;
+    }
+    rows++;
+  }
+
+  /**
+   * Starts a new run of the best evaluation if it changed, and stores the
+   * snapshot of the best solution.
+   *
+   * @param best [State] The best solution of the current row.
+   */
+  private void recordBest(State best) {
+    double[] values = new double[objectives];
+    for (int i = 0; i < objectives; i++) {
+      values[i] = best.getEvaluation().get(i);
+    }
+    if (lastBest == null || !Arrays.equals(lastBest, values)) {
+      long position = bestRuns.append(8 + 8 * objectives);
+      bestRuns.putLong(position, rows);
+      for (int i = 0; i < objectives; i++) {
+        bestRuns.putDouble(position + 8 + 8L * i, values[i]);
+      }
+      lastBest = values;
+      runs++;
+    }
+    if (snapshotData != null) {
+      snapshot(best.getCode().toArray());
+    }
+  }
+
+  /**
+   * Stores the code of a new best solution, as the changes from the previous
+   * snapshot or in full.
+   *
+   * @param code [Object[]] The code.
+   */
+  private void snapshot(Object[] code) {
+    if (Arrays.equals(code, lastCode)) {
+      return;
+    }
+    boolean keyframe = lastCode == null || lastCode.length != code.length || sinceKeyframe >= KEYFRAME_INTERVAL;
+    long header = snapshotData.append(ENTRY);
+    int count = 0;
+    for (int i = 0; i < code.length; i++) {
+      if (keyframe || !code[i].equals(lastCode[i])) {
+        long entry = snapshotData.append(ENTRY);
+        snapshotData.putInt(entry, i);
+        snapshotData.putInt(entry + 4, tag(code[i]));
+        snapshotData.putLong(entry + 8, bits(code[i]));
+        count++;
+      }
+    }
+    snapshotData.putInt(header, keyframe ? KEYFRAME : DELTA);
+    snapshotData.putInt(header + 4, count);
+    snapshotData.putLong(header + 8, code.length);
+    long index = snapshotIndex.append(16);
+    snapshotIndex.putLong(index, rows);
+    snapshotIndex.putLong(index + 8, header);
+    sinceKeyframe = keyframe ? 0 : sinceKeyframe + 1;
+    lastCode = code;
+    snapshots++;
+  }
+
+  /**
+   * Gets the number of recorded iterations.
+   *
+   * @return [int] The number of rows.
+   */
+  public int size() {
+    return rows;
+  }
+
+  /**
+   * Gets the number of objectives of the evaluations.
+   *
+   * @return [int] The objectives, -1 if nothing was recorded.
+   */
+  public int getObjectives() {
+    return objectives;
+  }
+
+  /**
+   * Gets the number of the iteration of a row.
+   *
+   * @param row [int] The row.
+   * @return [int] The iteration.
+   */
+  public int getIteration(int row) {
+    checkRow(row);
+    return iterations.getInt(4L * row);
+  }
+
+  /**
+   * Gets the generator of a row.
+   *
+   * @param row [int] The row.
+   * @return [GeneratorType] The generator, or null if it was unknown.
+   */
+  public GeneratorType getGenerator(int row) {
+    checkRow(row);
+    short ordinal = generators.getShort(2L * row);
+    return (ordinal < 0) ? null : GeneratorType.values()[ordinal];
+  }
+
+  /**
+   * Gets an objective of the evaluation of the candidate of a row.
+   *
+   * @param row [int] The row.
+   * @param objective [int] The objective.
+   * @return [double] The value.
+   */
+  public double getEvaluation(int row, int objective) {
+    checkRow(row);
+    if (objective < 0 || objective >= objectives) {
+      throw new IndexOutOfBoundsException("Objetivo fuera de rango: " + objective);
+    }
+    return evaluations.getDouble(8L * ((long) row * objectives + objective));
+  }
+
+  /**
+   * Gets the evaluation of the candidate of a row.
+   *
+   * @param row [int] The row.
+   * @return [double[]] The evaluation.
+   */
+  public double[] getEvaluation(int row) {
+    double[] values = new double[objectives];
+    for (int i = 0; i < objectives; i++) {
+      values[i] = getEvaluation(row, i);
+    }
+    return values;
+  }
+
+  /**
+   * Gets the best evaluation found up to a row.
+   *
+   * @param row [int] The row.
+   * @return [double[]] The best evaluation, or null if no best was recorded yet.
+   */
+  public double[] getBest(int row) {
+    checkRow(row);
+    int run = lastAtOrBefore(bestRuns, 8 + 8 * objectives, runs, row);
+    if (run < 0) {
+      return null;
+    }
+    long position = (long) run * (8 + 8 * objectives);
+    double[] values = new double[objectives];
+    for (int i = 0; i < objectives; i++) {
+      values[i] = bestRuns.getDouble(position + 8 + 8L * i);
+    }
+    return values;
+  }
+
+  /**
+   * Gets the number of runs of the best evaluation, that is, how many times it
+   * changed.
+   *
+   * @return [int] The number of runs.
+   */
+  public int getBestRuns() {
+    return runs;
+  }
+
+  /**
+   * Gets the number of snapshots of best solutions.
+   *
+   * @return [int] The number of snapshots.
+   */
+  public int getSnapshots() {
+    return snapshots;
+  }
+
+  /**
+   * Gets the code of the best solution found up to a row.
+   *
+   * @param row [int] The row.
+   * @return [List<Object>] The code, or null if the snapshots are not kept or none was taken yet.
+   */
+  public List<Object> getBestCode(int row) {
+    checkRow(row);
+    if (snapshotIndex == null) {
+      return null;
+    }
+    int target = lastAtOrBefore(snapshotIndex, 16, snapshots, row);
+    if (target < 0) {
+      return null;
+    }
+    int first = target;
+    while (snapshotData.getInt(snapshotIndex.getLong(16L * first + 8)) != KEYFRAME) {
+      first--;
+    }
+    Object[] code = null;
+    for (int k = first; k <= target; k++) {
+      long header = snapshotIndex.getLong(16L * k + 8);
+      if (code == null) {
+        code = new Object[(int) snapshotData.getLong(header + 8)];
+      }
+      int count = snapshotData.getInt(header + 4);
+      for (int e = 0; e < count; e++) {
+        long entry = header + ENTRY + (long) ENTRY * e;
+        code[snapshotData.getInt(entry)] = value(snapshotData.getInt(entry + 4), snapshotData.getLong(entry + 8));
+      }
+    }
+    return new ArrayList<>(Arrays.asList(code));
+  }
+
+  /**
+   * Rebuilds the best solution found up to a row, with its code and evaluation.
+   *
+   * @param row [int] The row.
+   * @return [State] The solution, or null if its code was not kept.
+   */
+  public State getBestSolution(int row) {
+    List<Object> code = getBestCode(row);
+    if (code == null) {
+      return null;
+    }
+    State state = new State(code);
+    double[] best = getBest(row);
+    List<Double> evaluation = new ArrayList<>(best.length);
+    for (double value : best) {
+      evaluation.add(value);
+    }
+    state.setEvaluation(evaluation);
+    return state;
+  }
+
+  /**
+   * Releases the columns and closes their files.
+   */
+  @Override
+  public void close() {
+    iterations.close();
+    generators.close();
+    evaluations.close();
+    bestRuns.close();
+    if (snapshotIndex != null) {
+      snapshotIndex.close();
+      snapshotData.close();
+    }
+    rows = 0;
+    runs = 0;
+    snapshots = 0;
+  }
+
+  /**
+   * Finds the last record whose first row is not after a row. The records
+   * start with their row as a long and are sorted by it.
+   *
+   * @param column [ChunkedBuffer] The records.
+   * @param width [int] Bytes of each record.
+   * @param count [int] Number of records.
+   * @param row [int] The row.
+   * @return [int] Position of the record, or -1 if every record is after the row.
+   */
+  private static int lastAtOrBefore(ChunkedBuffer column, int width, int count, int row) {
+    int low = 0;
+    int high = count - 1;
+    int found = -1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (column.getLong((long) middle * width) <= row) {
+        found = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Checks that a row exists.
+   *
+   * @param row [int] The row.
+   */
+  private void checkRow(int row) {
+    if (row < 0 || row >= rows) {
+      throw new IndexOutOfBoundsException("Fila fuera del historial: " + row);
+    }
+  }
+
+  /**
+   * Gets the type of a value of a code.
+   *
+   * @param value [Object] The value.
+   * @return [int] Its type.
+   */
+  private static int tag(Object value) {
+    if (value instanceof Integer) {
+      return TAG_INTEGER;
+    } else if (value instanceof Long) {
+      return TAG_LONG;
+    } else if (value instanceof Double) {
+      return TAG_DOUBLE;
+    } else if (value instanceof Float) {
+      return TAG_FLOAT;
+    } else if (value instanceof Boolean) {
+      return TAG_BOOLEAN;
+    } else if (value instanceof Short) {
+      return TAG_SHORT;
+    } else if (value instanceof Byte) {
+      return TAG_BYTE;
+    }
+    throw new IllegalArgumentException("El historial solo guarda códigos numéricos o booleanos: " + value);
+  }
+
+  /**
+   * Gets the bits of a value of a code.
+   *
+   * @param value [Object] The value.
+   * @return [long] Its bits.
+   */
+  private static long bits(Object value) {
+    if (value instanceof Double) {
+      return Double.doubleToRawLongBits((Double) value);
+    } else if (value instanceof Float) {
+      return Float.floatToRawIntBits((Float) value);
+    } else if (value instanceof Boolean) {
+      return ((Boolean) value) ? 1 : 0;
+    }
+    return ((Number) value).longValue();
+  }
+
+  /**
+   * Rebuilds a value of a code.
+   *
+   * @param tag [int] Its type.
+   * @param bits [long] Its bits.
+   * @return [Object] The value.
+   */
+  private static Object value(int tag, long bits) {
+    switch (tag) {
+      case TAG_INTEGER:
+        return (int) bits;
+      case TAG_LONG:
+        return bits;
+      case TAG_DOUBLE:
+        return Double.longBitsToDouble(bits);
+      case TAG_FLOAT:
+        return Float.intBitsToFloat((int) bits);
+      case TAG_BOOLEAN:
+        return bits != 0;
+      case TAG_SHORT:
+        return (short) bits;
+      default:
+        return (byte) bits;
+    }
+  }
+}
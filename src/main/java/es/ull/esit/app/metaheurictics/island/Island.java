@@ -0,0 +1,305 @@
+package es.ull.esit.app.metaheurictics.island;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Phaser;
+import java.util.random.RandomGenerator;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.metaheuristics.generators.Generator;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * One population of an {@link IslandModel}. The island runs inside its own
+ * SearchContext, with its own Strategy, generator and random numbers, so the
+ * generators need no changes to run in parallel. The migrants of the other
+ * islands arrive through a lock-free queue and are taken in at the next
+ * migration of the island.
+ */
+final class Island implements Callable<State> {
+
+  /** Model of the island. */
+  private final IslandModel model;
+
+  /** Position of the island. */
+  private final int index;
+
+  /** Seed of the random numbers of the island. */
+  private final long seed;
+
+  /** Context of the island, with the settings of the run that created it. */
+  private final SearchContext context;
+
+  /** Migrants sent to the island and not taken in yet. */
+  private final Queue<State> inbox = new ConcurrentLinkedQueue<>();
+
+  /** Islands to which the island sends its migrants. */
+  private Island[] neighbours = new Island[0];
+
+  /** Barrier of the synchronous migrations, or null if they are asynchronous. */
+  private Phaser phaser;
+
+  /** Best state found by the island. */
+  private volatile State best;
+
+  /** Number of migrants taken in. */
+  private volatile int received;
+
+  /**
+   * Constructor. The island takes the settings of the current context.
+   *
+   * @param model [IslandModel] Model of the island.
+   * @param index [int] Position of the island.
+   * @param seed [long] Seed of the random numbers of the island.
+   */
+  Island(IslandModel model, int index, long seed) {
+    this.model = model;
+    this.index = index;
+    this.seed = seed;
+    this.context = new SearchContext(SearchContext.current());
+  }
+
+  /**
+   * Sets the islands that receive the migrants of this one.
+   *
+   * @param neighbours [Island[]] The receiving islands.
+   * @param phaser [Phaser] Barrier of the synchronous migrations, or null.
+   */
+  void connect(Island[] neighbours, Phaser phaser) {
+    this.neighbours = neighbours;
+    this.phaser = phaser;
+  }
+
+  /**
+   * Gets the position of the island.
+   *
+   * @return [int] The position.
+   */
+  int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the best state found by the island.
+   *
+   * @return [State] The best state, or null if the island did not run.
+   */
+  State getBest() {
+    return best;
+  }
+
+  /**
+   * Gets the number of migrants taken in by the island.
+   *
+   * @return [int] The number of migrants.
+   */
+  int getReceived() {
+    return received;
+  }
+
+  /**
+   * Evolves the population of the island inside its context.
+   *
+   * @return [State] The best state found by the island.
+   * @throws Exception If the generator or the problem fail.
+   */
+  @Override
+  public State call() throws Exception {
+    try {
+      return context.call(this::evolve);
+    } finally {
+      if (phaser != null) {
+        // Las demás islas no deben esperar a una que ya terminó o falló.
+        phaser.arriveAndDeregister();
+      }
+      context.clear();
+    }
+  }
+
+  /**
+   * Creates the population and runs the iterations of the island.
+   *
+   * @return [State] The best state found by the island.
+   * @throws IllegalArgumentException If the generator does not evolve a population.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private State evolve()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    RandomService.reseed(seed);
+    Problem problem = model.getProblem();
+    GeneratorType type = model.getGeneratorType();
+    Strategy strategy = Strategy.getStrategy();
+    strategy.setProblem(problem);
+    // Sin otros generadores registrados, el de la isla empieza con una población vacía.
+    strategy.setMapGenerators(new TreeMap<>());
+    Generator generator = strategy.newGenerator(type);
+    strategy.setGenerator(generator);
+    if (generator.getPopulation() == null) {
+      throw new IllegalArgumentException("El generador " + type + " no evoluciona una población");
+    }
+
+    List<State> initial = problem.getOperator().generateRandomState(model.getPopulationSize());
+    problem.evaluateAll(initial);
+    for (State state : initial) {
+      state.setNumber(0);
+      state.setTypeGenerator(type);
+      offerBest(state);
+    }
+    generator.getPopulation().addAll(initial);
+
+    int interval = model.getMigrationInterval();
+    int operatornumber = model.getOperatorNumber();
+    for (int iteration = 0; iteration < model.getIterations(); iteration++) {
+      if (interval > 0 && iteration > 0 && iteration % interval == 0) {
+        migrate(generator);
+      }
+      strategy.setCountCurrent(iteration);
+      State candidate = generator.generate(operatornumber);
+      if (!generator.evaluatesCandidates()) {
+        problem.evaluate(candidate);
+      }
+      candidate.setNumber(iteration);
+      candidate.setTypeGenerator(type);
+      generator.updateReference(candidate, iteration);
+      offerBest(candidate);
+    }
+    return best;
+  }
+
+  /**
+   * Sends copies of the migrants to the neighbours and takes in the migrants
+   * received. In synchronous mode every island sends before any takes in, and
+   * every island takes in before any sends again, so each migration only moves
+   * the migrants of that round.
+   *
+   * @param generator [Generator] Generator of the island.
+   */
+  private void migrate(Generator generator) {
+    for (State migrant : selectMigrants(generator.getPopulation())) {
+      for (Island neighbour : neighbours) {
+        neighbour.inbox.offer(copy(migrant));
+      }
+    }
+    if (phaser != null) {
+      phaser.arriveAndAwaitAdvance();
+    }
+    State incoming = inbox.poll();
+    while (incoming != null) {
+      takeIn(generator.getPopulation(), incoming);
+      incoming = inbox.poll();
+    }
+    if (phaser != null) {
+      phaser.arriveAndAwaitAdvance();
+    }
+  }
+
+  /**
+   * Chooses the members of the population that leave as migrants.
+   *
+   * @param population [List<State>] The population.
+   * @return [List<State>] The migrants.
+   */
+  private List<State> selectMigrants(List<State> population) {
+    int count = Math.min(model.getMigrants(), population.size());
+    if (model.getMigrantSelection() == MigrantSelection.BEST) {
+      List<State> sorted = new ArrayList<>(population);
+      sorted.sort(bestFirst());
+      return sorted.subList(0, count);
+    }
+    // Fisher-Yates parcial: los primeros count índices quedan elegidos al azar.
+    RandomGenerator random = RandomService.current().getGenerator();
+    int[] positions = new int[population.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = i;
+    }
+    List<State> migrants = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int j = i + random.nextInt(positions.length - i);
+      int position = positions[j];
+      positions[j] = positions[i];
+      positions[i] = position;
+      migrants.add(population.get(position));
+    }
+    return migrants;
+  }
+
+  /**
+   * Puts a migrant in the population, in the place given by the replacement
+   * policy of the model.
+   *
+   * @param population [List<State>] The population.
+   * @param migrant [State] The migrant.
+   */
+  private void takeIn(List<State> population, State migrant) {
+    received++;
+    if (population.isEmpty()) {
+      population.add(migrant);
+    } else if (model.getMigrantReplacement() == MigrantReplacement.RANDOM) {
+      population.set(RandomService.current().getGenerator().nextInt(population.size()), migrant);
+    } else {
+      int worst = 0;
+      for (int i = 1; i < population.size(); i++) {
+        if (bestFirst().compare(population.get(i), population.get(worst)) > 0) {
+          worst = i;
+        }
+      }
+      if (bestFirst().compare(migrant, population.get(worst)) < 0) {
+        population.set(worst, migrant);
+      }
+    }
+    offerBest(migrant);
+  }
+
+  /**
+   * Keeps a state as the best of the island if it improves the current one.
+   *
+   * @param state [State] The state.
+   */
+  private void offerBest(State state) {
+    if (best == null || bestFirst().compare(state, best) < 0) {
+      best = state;
+    }
+  }
+
+  /**
+   * Gets the order of the states from the best to the worst one, by their
+   * first objective.
+   *
+   * @return [Comparator<State>] The order.
+   */
+  private Comparator<State> bestFirst() {
+    Comparator<State> ascending = Comparator.comparingDouble(state -> state.getEvaluation().get(0));
+    return (model.getProblem().getTypeProblem() == ProblemType.MAXIMIZAR) ? ascending.reversed() : ascending;
+  }
+
+  /**
+   * Copies a migrant, so the islands never share a state.
+   *
+   * @param migrant [State] The migrant.
+   * @return [State] The copy, with the same code and evaluation.
+   */
+  private static State copy(State migrant) {
+    State copy = (State) migrant.getCopy();
+    copy.setEvaluation(migrant.getEvaluation());
+    copy.setNumber(migrant.getNumber());
+    copy.setTypeGenerator(migrant.getTypeGenerator());
+    return copy;
+  }
+}
@@ -0,0 +1,465 @@
+package es.ull.esit.app.metaheurictics.island;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Island model: several populations of a population-based generator
+ * (GeneticAlgorithm, EvolutionStrategies, DistributionEstimationAlgorithm)
+ * evolve in parallel, each one in its own thread and SearchContext, and every
+ * few iterations each island sends copies of some of its members to its
+ * neighbours in the topology.
+ *
+ * The migrants go through lock-free queues. By default the migrations are
+ * asynchronous: an island takes in whatever has arrived when it migrates, and
+ * never waits for the others. In synchronous mode every island waits for the
+ * others at each migration, so each run with the same seed gives the same
+ * result, at the cost of running every island in its own thread.
+ *
+ * The problem is shared by the islands, so its objective functions must be
+ * thread-safe, as for {@link Problem#setEvaluationExecutor}. The random
+ * numbers of each island come from a stream of the RandomService of the
+ * caller.
+ *
+ * <pre>
+ * IslandModel model = new IslandModel(problem, GeneratorType.GeneticAlgorithm, 8);
+ * model.setTopology(IslandTopology.TORUS);
+ * model.setMigrationInterval(50);
+ * State best = model.run(10000, 1);
+ * </pre>
+ */
+public class IslandModel {
+
+  /** Problem solved by every island. */
+  private final Problem problem;
+
+  /** Generator of every island. */
+  private final GeneratorType generatorType;
+
+  /** Number of islands. */
+  private final int islands;
+
+  /** Receivers of the migrants of each island. */
+  private IslandTopology topology = IslandTopology.RING;
+
+  /** Iterations between two migrations, 0 for isolated islands. */
+  private int migrationInterval = 10;
+
+  /** Members sent by an island to each neighbour at each migration. */
+  private int migrants = 1;
+
+  /** Members that leave as migrants. */
+  private MigrantSelection migrantSelection = MigrantSelection.BEST;
+
+  /** Members replaced by the incoming migrants. */
+  private MigrantReplacement migrantReplacement = MigrantReplacement.WORST;
+
+  /** Size of the initial population of each island. */
+  private int populationSize = 20;
+
+  /** Whether the islands wait for each other at each migration. */
+  private boolean synchronous;
+
+  /** Maximum number of threads of the asynchronous mode. */
+  private int threads = Runtime.getRuntime().availableProcessors();
+
+  /** Iterations of each island in the current run. */
+  private int iterations;
+
+  /** Number of operators of the current run. */
+  private int operatorNumber;
+
+  /** Islands of the last run. */
+  private List<Island> lastIslands = Collections.emptyList();
+
+  /**
+   * Constructor.
+   *
+   * @param problem [Problem] Problem solved by every island.
+   * @param generatorType [GeneratorType] Population-based generator of every island.
+   * @param islands [int] Number of islands.
+   */
+  public IslandModel(Problem problem, GeneratorType generatorType, int islands) {
+    if (islands < 1) {
+      throw new IllegalArgumentException("Debe haber al menos una isla");
+    }
+    this.problem = problem;
+    this.generatorType = generatorType;
+    this.islands = islands;
+  }
+
+  /**
+   * Runs the islands until each one has done the given number of iterations.
+   *
+   * @param iterations [int] Iterations of each island.
+   * @param operatornumber [int] Number of operators passed to the generators.
+   * @return [State] The best state found by any island.
+   * @throws IllegalArgumentException If the generator does not evolve a population.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public State run(int iterations, int operatornumber)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    this.iterations = iterations;
+    this.operatorNumber = operatornumber;
+    if (problem.getState() == null) {
+      // Los generadores copian el estado del problema como plantilla de los hijos.
+      problem.setState(problem.getOperator().generateRandomState(1).get(0));
+    }
+
+    RandomService random = RandomService.current();
+    Island[] created = new Island[islands];
+    for (int i = 0; i < islands; i++) {
+      created[i] = new Island(this, i, random.getStream(i).nextLong());
+    }
+    Phaser phaser = synchronous ? new Phaser(islands) : null;
+    for (Island island : created) {
+      int[] positions = topology.neighbours(island.getIndex(), islands);
+      Island[] neighbours = new Island[positions.length];
+      for (int i = 0; i < positions.length; i++) {
+        neighbours[i] = created[positions[i]];
+      }
+      island.connect(neighbours, phaser);
+    }
+    lastIslands = List.of(created);
+
+    int workers = synchronous ? islands : Math.max(1, Math.min(threads, islands));
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      List<Future<State>> futures = new ArrayList<>(islands);
+      for (Island island : created) {
+        futures.add(executor.submit(island));
+      }
+      Throwable failure = null;
+      for (Future<State> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrumpido mientras se ejecutaban las islas", e);
+        }
+      }
+      if (failure != null) {
+        rethrowIslandFailure(failure);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return getBestState();
+  }
+
+  /**
+   * Gets the best state found by any island in the last run.
+   *
+   * @return [State] The best state, or null if there was no run.
+   */
+  public State getBestState() {
+    State best = null;
+    for (State state : getIslandBestStates()) {
+      if (state != null && (best == null || isBetter(state, best))) {
+        best = state;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Gets the best state found by each island in the last run.
+   *
+   * @return [List<State>] The best state of each island, in island order.
+   */
+  public List<State> getIslandBestStates() {
+    List<State> bests = new ArrayList<>(lastIslands.size());
+    for (Island island : lastIslands) {
+      bests.add(island.getBest());
+    }
+    return bests;
+  }
+
+  /**
+   * Gets the number of migrants taken in by the islands in the last run.
+   *
+   * @return [int] The number of migrants.
+   */
+  public int getMigrantsReceived() {
+    int total = 0;
+    for (Island island : lastIslands) {
+      total += island.getReceived();
+    }
+    return total;
+  }
+
+  /**
+   * Gets the problem solved by the islands.
+   *
+   * @return [Problem] The problem.
+   */
+  public Problem getProblem() {
+    return problem;
+  }
+
+  /**
+   * Gets the generator of the islands.
+   *
+   * @return [GeneratorType] The generator type.
+   */
+  public GeneratorType getGeneratorType() {
+    return generatorType;
+  }
+
+  /**
+   * Gets the number of islands.
+   *
+   * @return [int] The number of islands.
+   */
+  public int getIslands() {
+    return islands;
+  }
+
+  /**
+   * Gets the topology of the migrations.
+   *
+   * @return [IslandTopology] The topology.
+   */
+  public IslandTopology getTopology() {
+    return topology;
+  }
+
+  /**
+   * Sets the topology of the migrations.
+   *
+   * @param topology [IslandTopology] The topology.
+   */
+  public void setTopology(IslandTopology topology) {
+    this.topology = topology;
+  }
+
+  /**
+   * Gets the number of iterations between two migrations.
+   *
+   * @return [int] The interval, 0 if the islands are isolated.
+   */
+  public int getMigrationInterval() {
+    return migrationInterval;
+  }
+
+  /**
+   * Sets the number of iterations between two migrations.
+   *
+   * @param migrationInterval [int] The interval, 0 to isolate the islands.
+   */
+  public void setMigrationInterval(int migrationInterval) {
+    if (migrationInterval < 0) {
+      throw new IllegalArgumentException("El intervalo de migración no puede ser negativo");
+    }
+    this.migrationInterval = migrationInterval;
+  }
+
+  /**
+   * Gets the number of members sent to each neighbour at each migration.
+   *
+   * @return [int] The number of migrants.
+   */
+  public int getMigrants() {
+    return migrants;
+  }
+
+  /**
+   * Sets the number of members sent to each neighbour at each migration.
+   *
+   * @param migrants [int] The number of migrants.
+   */
+  public void setMigrants(int migrants) {
+    if (migrants < 1) {
+      throw new IllegalArgumentException("Debe migrar al menos un individuo");
+    }
+    this.migrants = migrants;
+  }
+
+  /**
+   * Gets the policy that chooses the migrants.
+   *
+   * @return [MigrantSelection] The policy.
+   */
+  public MigrantSelection getMigrantSelection() {
+    return migrantSelection;
+  }
+
+  /**
+   * Sets the policy that chooses the migrants.
+   *
+   * @param migrantSelection [MigrantSelection] The policy.
+   */
+  public void setMigrantSelection(MigrantSelection migrantSelection) {
+    this.migrantSelection = migrantSelection;
+  }
+
+  /**
+   * Gets the policy that chooses the members replaced by the migrants.
+   *
+   * @return [MigrantReplacement] The policy.
+   */
+  public MigrantReplacement getMigrantReplacement() {
+    return migrantReplacement;
+  }
+
+  /**
+   * Sets the policy that chooses the members replaced by the migrants.
+   *
+   * @param migrantReplacement [MigrantReplacement] The policy.
+   */
+  public void setMigrantReplacement(MigrantReplacement migrantReplacement) {
+    this.migrantReplacement = migrantReplacement;
+  }
+
+  /**
+   * Gets the size of the initial population of each island.
+   *
+   * @return [int] The size.
+   */
+  public int getPopulationSize() {
+    return populationSize;
+  }
+
+  /**
+   * Sets the size of the initial population of each island.
+   *
+   * @param populationSize [int] The size.
+   */
+  public void setPopulationSize(int populationSize) {
+    if (populationSize < 1) {
+      throw new IllegalArgumentException("La población de cada isla no puede estar vacía");
+    }
+    this.populationSize = populationSize;
+  }
+
+  /**
+   * Checks whether the islands wait for each other at each migration.
+   *
+   * @return [boolean] True if the migrations are synchronous.
+   */
+  public boolean isSynchronous() {
+    return synchronous;
+  }
+
+  /**
+   * Sets whether the islands wait for each other at each migration.
+   *
+   * @param synchronous [boolean] True for synchronous migrations.
+   */
+  public void setSynchronous(boolean synchronous) {
+    this.synchronous = synchronous;
+  }
+
+  /**
+   * Gets the maximum number of threads of the asynchronous mode.
+   *
+   * @return [int] The number of threads.
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Sets the maximum number of threads of the asynchronous mode. The
+   * synchronous mode always uses one thread per island.
+   *
+   * @param threads [int] The number of threads.
+   */
+  public void setThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Debe haber al menos un hilo");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Gets the iterations of each island in the current run.
+   *
+   * @return [int] The iterations.
+   */
+  int getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Gets the number of operators of the current run.
+   *
+   * @return [int] The number of operators.
+   */
+  int getOperatorNumber() {
+    return operatorNumber;
+  }
+
+  /**
+   * Checks whether a state is better than another one by their first objective.
+   *
+   * @param state [State] The state.
+   * @param other [State] The state it is compared with.
+   * @return [boolean] True if the first one is better.
+   */
+  private boolean isBetter(State state, State other) {
+    double value = state.getEvaluation().get(0);
+    double otherValue = other.getEvaluation().get(0);
+    return (problem.getTypeProblem() == ProblemType.MAXIMIZAR) ? value > otherValue : value < otherValue;
+  }
+
+  /**
+   * Rethrows the exception raised by an island in its thread.
+   *
+   * @param failure [Throwable] The exception raised by the island.
+   * @throws ClassNotFoundException If the class cannot be found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method cannot be found.
+   */
+  private static void rethrowIslandFailure(Throwable failure)
+      throws ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException,
+             NoSuchMethodException {
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    if (failure instanceof ClassNotFoundException) {
+      throw (ClassNotFoundException) failure;
+    }
+    if (failure instanceof InstantiationException) {
+      throw (InstantiationException) failure;
+    }
+    if (failure instanceof IllegalAccessException) {
+      throw (IllegalAccessException) failure;
+    }
+    if (failure instanceof InvocationTargetException) {
+      throw (InvocationTargetException) failure;
+    }
+    if (failure instanceof NoSuchMethodException) {
+      throw (NoSuchMethodException) failure;
+    }
+    throw new IllegalStateException(failure);
+  }
+}
@@ -0,0 +1,70 @@
+package es.ull.esit.app.metaheurictics.island;
+
+import java.util.Arrays;
+
+/**
+ * Enum that defines to which islands each island of an {@link IslandModel}
+ * sends its migrants.
+ */
+public enum IslandTopology {
+  /** Each island sends to the next one, the last one to the first one */
+  RING {
+    @Override
+    int[] neighbours(int island, int islands) {
+      return (islands < 2) ? new int[0] : new int[] {(island + 1) % islands};
+    }
+  },
+  /** The islands form a grid wrapped at its borders; each one sends to its four neighbours */
+  TORUS {
+    @Override
+    int[] neighbours(int island, int islands) {
+      int rows = rows(islands);
+      int columns = islands / rows;
+      int row = island / columns;
+      int column = island % columns;
+      int[] candidates = {
+          row * columns + (column + 1) % columns,
+          row * columns + (column + columns - 1) % columns,
+          ((row + 1) % rows) * columns + column,
+          ((row + rows - 1) % rows) * columns + column};
+      // En rejillas de una o dos filas o columnas varios vecinos coinciden.
+      return Arrays.stream(candidates).filter(other -> other != island).distinct().toArray();
+    }
+  },
+  /** Each island sends to every other one */
+  FULLY_CONNECTED {
+    @Override
+    int[] neighbours(int island, int islands) {
+      int[] others = new int[Math.max(0, islands - 1)];
+      for (int i = 0, j = 0; i < islands; i++) {
+        if (i != island) {
+          others[j++] = i;
+        }
+      }
+      return others;
+    }
+  };
+
+  /**
+   * Gets the islands to which an island sends its migrants.
+   *
+   * @param island [int] Position of the island.
+   * @param islands [int] Number of islands.
+   * @return [int[]] Positions of the receiving islands, without the island itself.
+   */
+  abstract int[] neighbours(int island, int islands);
+
+  /**
+   * Gets the number of rows of the most square grid of a number of islands.
+   *
+   * @param islands [int] Number of islands.
+   * @return [int] The greatest divisor not above the square root.
+   */
+  static int rows(int islands) {
+    int rows = (int) Math.sqrt(islands);
+    while (islands % rows != 0) {
+      rows--;
+    }
+    return rows;
+  }
+}
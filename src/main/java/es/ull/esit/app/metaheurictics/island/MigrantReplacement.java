@@ -0,0 +1,10 @@
+package es.ull.esit.app.metaheurictics.island;
+
+/**
+ * Enum that defines which member of a population an incoming migrant replaces.
+ */
+public enum MigrantReplacement {
+  WORST,   /** The worst member, only if the migrant is better */
+  RANDOM;  /** A member chosen at random */
+
+}
@@ -0,0 +1,10 @@
+package es.ull.esit.app.metaheurictics.island;
+
+/**
+ * Enum that defines which members of a population leave it as migrants.
+ */
+public enum MigrantSelection {
+  BEST,    /** The best members */
+  RANDOM;  /** Members chosen at random */
+
+}
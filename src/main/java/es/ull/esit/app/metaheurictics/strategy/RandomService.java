@@ -0,0 +1,161 @@
+package es.ull.esit.app.metaheurictics.strategy;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of random numbers of a run. Every generator, operator and acceptance
+ * rule of the library draws its numbers from the service of the current
+ * SearchContext instead of creating its own SecureRandom.
+ *
+ * The service is built from a single master seed. Each thread that asks for a
+ * generator receives its own stream, split from the master one, so the
+ * generators are never shared between threads and no synchronization is
+ * needed when drawing numbers. A run executed in one thread with the same seed
+ * always produces the same sequence; components that need a stream that does
+ * not depend on the order in which threads arrive can use
+ * {@link #getStream(long)}.
+ *
+ * The streams are SplitMix64 generators whose state can be saved with
+ * {@link #getState()} and restored with {@link #setState(long[])}, so a run
+ * resumed from a checkpoint draws the same numbers it would have drawn.
+ *
+ * <pre>
+ * RandomService.reseed(12345L);
+ * Strategy.getStrategy().executeStrategy(...);
+ * </pre>
+ */
+public class RandomService {
+
+  /** Master seed of the run. */
+  private final long seed;
+
+  /** Master stream, from which the stream of each thread is split. */
+  private final SplitMix64 master;
+
+  /** Stream of each thread. */
+  private final ThreadLocal<SplitMix64> generators;
+
+  /**
+   * Default constructor. Uses a seed chosen at random, which can be read with
+   * {@link #getSeed()} to repeat the run.
+   */
+  public RandomService() {
+    this(new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Constructor with the master seed.
+   *
+   * @param seed [long] Master seed of the run.
+   */
+  public RandomService(long seed) {
+    this.seed = seed;
+    this.master = new SplitMix64(seed, SplitMix64.GOLDEN_GAMMA);
+    this.generators = ThreadLocal.withInitial(this::split);
+  }
+
+  /**
+   * Gets the service of the current context, creating it with a random seed on
+   * first use.
+   *
+   * @return [RandomService] The service of the current run.
+   */
+  public static RandomService current() {
+    return SearchContext.current().getAttribute(RandomService.class, RandomService::new);
+  }
+
+  /**
+   * Replaces the service of the current context by a new one built from the
+   * given seed, so the following run is reproducible.
+   *
+   * @param seed [long] Master seed of the run.
+   * @return [RandomService] The new service.
+   */
+  public static RandomService reseed(long seed) {
+    RandomService service = new RandomService(seed);
+    SearchContext.current().setAttribute(RandomService.class, service);
+    return service;
+  }
+
+  /**
+   * Gets the generator of the calling thread in the service of the current
+   * context. It is the one the components of the library draw their numbers
+   * from; tests replace the service of the context to control it.
+   *
+   * @return [RandomGenerator] The generator of the calling thread in the current run.
+   */
+  public static RandomGenerator generator() {
+    return current().getGenerator();
+  }
+
+  /**
+   * Gets the master seed of the service.
+   *
+   * @return [long] The master seed.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the stream of the calling thread. The returned generator must not be
+   * handed to other threads.
+   *
+   * @return [RandomGenerator] The generator of the calling thread.
+   */
+  public RandomGenerator getGenerator() {
+    return generators.get();
+  }
+
+  /**
+   * Creates an independent stream identified by a number. The same seed and
+   * identifier always give the same stream, whatever thread asks for it.
+   *
+   * @param id [long] Identifier of the stream (generator, island, particle...).
+   * @return [RandomGenerator] A new generator for that stream.
+   */
+  public RandomGenerator getStream(long id) {
+    return new SplittableRandom(SplitMix64.mix64(seed ^ SplitMix64.mix64(id + SplitMix64.GOLDEN_GAMMA))).split();
+  }
+
+  /**
+   * Gets the state of the master stream and of the stream of the calling
+   * thread. The independent streams of {@link #getStream(long)} are not part of
+   * it, since their owners create them again from the seed.
+   *
+   * @return [long[]] The state, to be restored with {@link #setState(long[])}.
+   */
+  public synchronized long[] getState() {
+    // El flujo del hilo va primero: si aún no existe, crearlo avanza el maestro.
+    long[] threadState = generators.get().getState();
+    long[] masterState = master.getState();
+    return new long[] {masterState[0], masterState[1], threadState[0], threadState[1]};
+  }
+
+  /**
+   * Restores a state read with {@link #getState()}. The stream of the calling
+   * thread is updated in place, so the components that keep a reference to it
+   * continue from the restored position.
+   *
+   * @param state [long[]] The state.
+   */
+  public synchronized void setState(long[] state) {
+    if (state.length != 4) {
+      throw new IllegalArgumentException("El estado del generador aleatorio debe tener 4 valores");
+    }
+    // Igual que al leerlo: crear el flujo del hilo antes de restaurar el maestro.
+    SplitMix64 thread = generators.get();
+    master.setState(state[0], state[1]);
+    thread.setState(state[2], state[3]);
+  }
+
+  /**
+   * Splits a new stream from the master one.
+   *
+   * @return [SplitMix64] The new stream.
+   */
+  private synchronized SplitMix64 split() {
+    return master.split();
+  }
+}
@@ -0,0 +1,237 @@
+package es.ull.esit.app.metaheurictics.strategy;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Context that owns the state of one run of the library: the Strategy and the
+ * per-run state of the generators and local search components (reference
+ * lists, tabu list, multi-generator pool, PSO bests...).
+ *
+ * The context is bound to the calling thread. Code that does not bind any
+ * context works on the global one, so single runs behave as before, while
+ * several runs can execute in parallel threads of the same JVM, each one inside
+ * its own context:
+ *
+ * <pre>
+ * SearchContext run = new SearchContext();
+ * run.run(() -&gt; {
+ *   Strategy.getStrategy().setProblem(problem);
+ *   Strategy.getStrategy().executeStrategy(...);
+ * });
+ * </pre>
+ *
+ * Worker threads do not inherit the context; tasks submitted to executors must
+ * be wrapped with {@link #wrap(Callable)} or {@link #wrap(Runnable)}.
+ *
+ * Besides the per-run state, the context keeps the settings of the components
+ * (batch sizes, topologies, step sizes...). A context created from another one
+ * with {@link #SearchContext(SearchContext)} starts with its settings, so the
+ * runs it executes are configured as the run that created them.
+ */
+public class SearchContext {
+
+  /** Context used by threads that did not bind one. */
+  private static final SearchContext GLOBAL = new SearchContext();
+
+  /** Context bound to each thread. */
+  private static final ThreadLocal<SearchContext> CURRENT = new ThreadLocal<>();
+
+  /** Strategy of the run, created on first use. */
+  private Strategy strategy;
+
+  /** Per-run state of the components, by owner type. */
+  private final Map<Class<?>, Object> attributes = new ConcurrentHashMap<>();
+
+  /** Immutable settings of the components, by owner type. */
+  private final Map<Class<?>, Object> settings = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a context with the default settings.
+   */
+  public SearchContext() {
+    // Sin ajustes: los componentes usan sus valores por defecto.
+  }
+
+  /**
+   * Creates a context with the settings of another one. The new context has
+   * its own Strategy and per-run state.
+   *
+   * @param parent [SearchContext] Context whose settings are taken.
+   */
+  public SearchContext(SearchContext parent) {
+    settings.putAll(parent.settings);
+  }
+
+  /**
+   * Gets the context bound to the calling thread.
+   *
+   * @return [SearchContext] The bound context, or the global one if none is bound.
+   */
+  public static SearchContext current() {
+    SearchContext context = CURRENT.get();
+    return (context != null) ? context : GLOBAL;
+  }
+
+  /**
+   * Gets the global context.
+   *
+   * @return [SearchContext] The context used by threads that did not bind one.
+   */
+  public static SearchContext global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Gets the Strategy of the run, creating it on first use.
+   *
+   * @return [Strategy] The Strategy of this context.
+   */
+  public synchronized Strategy getStrategy() {
+    if (strategy == null) {
+      strategy = new Strategy();
+    }
+    return strategy;
+  }
+
+  /**
+   * Discards the Strategy of the run; the next call to {@link #getStrategy()}
+   * creates a new one.
+   */
+  public synchronized void resetStrategy() {
+    strategy = null;
+  }
+
+  /**
+   * Gets the per-run state registered under the given type, creating it with
+   * the supplier on first use.
+   *
+   * @param <T> Type of the state.
+   * @param type [Class] Type used as key, usually a holder class private to the owner.
+   * @param initial [Supplier] Supplier of the initial state.
+   * @return [T] The state of this context.
+   */
+  public <T> T getAttribute(Class<T> type, Supplier<? extends T> initial) {
+    return type.cast(attributes.computeIfAbsent(type, key -> initial.get()));
+  }
+
+  /**
+   * Replaces the per-run state registered under the given type.
+   *
+   * @param <T> Type of the state.
+   * @param type [Class] Type used as key.
+   * @param value [T] The new state.
+   */
+  public <T> void setAttribute(Class<T> type, T value) {
+    attributes.put(type, type.cast(value));
+  }
+
+  /**
+   * Gets the settings registered under the given type. Settings are immutable,
+   * so contexts created from this one can share them.
+   *
+   * @param <T> Type of the settings.
+   * @param type [Class] Type used as key, usually a holder class private to the owner.
+   * @param defaults [T] Settings returned when none are registered.
+   * @return [T] The settings of this context.
+   */
+  public <T> T getSetting(Class<T> type, T defaults) {
+    Object value = settings.get(type);
+    return (value != null) ? type.cast(value) : defaults;
+  }
+
+  /**
+   * Replaces the settings registered under the given type.
+   *
+   * @param <T> Type of the settings.
+   * @param type [Class] Type used as key.
+   * @param value [T] The new settings, which must not be changed afterwards.
+   */
+  public <T> void setSetting(Class<T> type, T value) {
+    settings.put(type, type.cast(value));
+  }
+
+  /**
+   * Discards the Strategy and every per-run state of the context. The settings
+   * are kept.
+   */
+  public synchronized void clear() {
+    strategy = null;
+    attributes.clear();
+  }
+
+  /**
+   * Runs the task with this context bound to the calling thread, restoring the
+   * previous binding afterwards.
+   *
+   * @param task [Runnable] The task to run.
+   */
+  public void run(Runnable task) {
+    SearchContext previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      task.run();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * Calls the task with this context bound to the calling thread, restoring the
+   * previous binding afterwards.
+   *
+   * @param <T> Type of the result.
+   * @param task [Callable] The task to call.
+   * @return [T] The result of the task.
+   * @throws Exception If the task fails.
+   */
+  public <T> T call(Callable<T> task) throws Exception {
+    SearchContext previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return task.call();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * Wraps a task so it runs inside the context that is current when this
+   * method is called. Used to hand work to other threads.
+   *
+   * @param task [Runnable] The task to wrap.
+   * @return [Runnable] The wrapped task.
+   */
+  public static Runnable wrap(Runnable task) {
+    SearchContext context = current();
+    return () -> context.run(task);
+  }
+
+  /**
+   * Wraps a task so it is called inside the context that is current when this
+   * method is called. Used to hand work to other threads.
+   *
+   * @param <T> Type of the result.
+   * @param task [Callable] The task to wrap.
+   * @return [Callable] The wrapped task.
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    SearchContext context = current();
+    return () -> context.call(task);
+  }
+
+  /**
+   * Restores the previous binding of the calling thread.
+   *
+   * @param previous [SearchContext] Context bound before, or null.
+   */
+  private static void restore(SearchContext previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
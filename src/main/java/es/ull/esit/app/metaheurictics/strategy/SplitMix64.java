@@ -0,0 +1,102 @@
+package es.ull.esit.app.metaheurictics.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64 generator, the algorithm of {@link java.util.SplittableRandom},
+ * whose state can be read and restored so a checkpointed run continues with
+ * the same sequence. The state is a seed advanced by an odd gamma on every
+ * draw; the bounded, floating point and Gaussian draws are the default ones of
+ * {@link RandomGenerator}, all built on {@link #nextLong()}.
+ */
+final class SplitMix64 implements RandomGenerator {
+
+  /** Gamma of the root streams. */
+  static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  /** Current seed. */
+  private long seed;
+
+  /** Odd increment of the seed. */
+  private long gamma;
+
+  /**
+   * Constructor.
+   *
+   * @param seed [long] Initial seed.
+   * @param gamma [long] Increment of the seed; it is made odd.
+   */
+  SplitMix64(long seed, long gamma) {
+    this.seed = seed;
+    this.gamma = gamma | 1L;
+  }
+
+  @Override
+  public long nextLong() {
+    seed += gamma;
+    return mix64(seed);
+  }
+
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  /**
+   * Splits a new stream, with its own seed and gamma taken from this one.
+   *
+   * @return [SplitMix64] The new stream.
+   */
+  SplitMix64 split() {
+    long newSeed = nextLong();
+    seed += gamma;
+    return new SplitMix64(newSeed, mixGamma(seed));
+  }
+
+  /**
+   * Gets the state of the stream.
+   *
+   * @return [long[]] The seed and the gamma.
+   */
+  long[] getState() {
+    return new long[] {seed, gamma};
+  }
+
+  /**
+   * Restores a state read with {@link #getState()}.
+   *
+   * @param newSeed [long] The seed.
+   * @param newGamma [long] The gamma.
+   */
+  void setState(long newSeed, long newGamma) {
+    this.seed = newSeed;
+    this.gamma = newGamma | 1L;
+  }
+
+  /**
+   * Mixes the bits of a value (finalizer of SplitMix64).
+   *
+   * @param value [long] Value to mix.
+   * @return [long] The mixed value.
+   */
+  static long mix64(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Derives the gamma of a new stream, odd and with enough bit transitions.
+   *
+   * @param value [long] Value to derive it from.
+   * @return [long] The gamma.
+   */
+  private static long mixGamma(long value) {
+    long z = value;
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    return (Long.bitCount(z ^ (z >>> 1)) < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+  }
+}
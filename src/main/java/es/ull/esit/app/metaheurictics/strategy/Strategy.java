@@ -1,6 +1,10 @@
 package es.ull.esit.app.metaheurictics.strategy;
 
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -12,8 +16,16 @@ import java.util.logging.Logger;
 import es.ull.esit.app.factory_interface.IFFactoryGenerator;
 import es.ull.esit.app.factory_method.FactoryGenerator;
 import es.ull.esit.app.local_search.acceptation_type.Dominance;
+import es.ull.esit.app.local_search.acceptation_type.ParetoArchive;
+import es.ull.esit.app.local_search.acceptation_type.TruncationType;
 import es.ull.esit.app.local_search.complement.StopExecute;
+import es.ull.esit.app.local_search.complement.TabuSolutions;
 import es.ull.esit.app.local_search.complement.UpdateParameter;
+import es.ull.esit.app.metaheurictics.checkpoint.Checkpoint;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.history.IterationHistory;
+import es.ull.esit.app.metaheurictics.telemetry.Telemetry;
 import es.ull.esit.app.metaheuristics.generators.DistributionEstimationAlgorithm;
 import es.ull.esit.app.metaheuristics.generators.EvolutionStrategies;
 import es.ull.esit.app.metaheuristics.generators.Generator;
@@ -27,13 +39,12 @@ import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
 
 /**
- * Singleton class that manages the execution strategy of metaheuristic
- * algorithms.
+ * Class that manages the execution strategy of metaheuristic algorithms.
+ * There is one instance per {@link SearchContext}; getStrategy() returns the
+ * one of the context bound to the calling thread.
  */
 public class Strategy {
 
-  /** Singleton instance of the Strategy class */
-  private static Strategy strategy = null;
   /** Best state found during the execution */
   private State bestState;
   /** Problem instance associated with the strategy */
@@ -70,6 +81,25 @@ public class Strategy {
   private boolean calculateTime = false;
   /** List of reference non-dominated population */
   private List<State> listRefPoblacFinal;
+  /** Maximum number of non-dominated solutions kept, 0 if unbounded */
+  private int archiveCapacity = 0;
+  /** Rule that chooses the solution removed when the archive is full */
+  private TruncationType archiveTruncation = TruncationType.CrowdingTruncation;
+  /** Telemetry that records the sampled iterations, or null */
+  private Telemetry telemetry;
+  /** Time spent evaluating the last sampled candidate, in nanoseconds */
+  private long evaluationNanos;
+  /** Compact history of the iterations, or null */
+  private IterationHistory history;
+  /** File where the run is checkpointed, or null */
+  private Path checkpointFile;
+  /** Iterations between two checkpoints */
+  private int checkpointPeriod;
+  /** Iteration of the last checkpoint, so each one is saved once */
+  private int lastCheckpoint = -1;
+  /** Reusable arrays with the evaluations of the last recorded iteration */
+  private double[] candidateBuffer;
+  private double[] bestBuffer;
 
   /** Logger for logging information */
   private final Logger logger = Logger.getLogger(getClass().getName());
@@ -86,21 +116,26 @@ public class Strategy {
 
   /** Period counter to control the saving period */
   private int periodo;
-
-  /** Private constructor to enforce singleton pattern */
-  private Strategy() {
+  /** Iteration at which the next change occurs */
+  private int countChange;
+  /** Iteration at which the next period of the generator statistics starts */
+  private int countPeriodo;
+  /** Sum of the best evaluations since the last change, for the offline performance */
+  private float sumMax;
+  /** Number of changes occurred, for the offline performance */
+  private int countOff;
+
+  /** Constructor reserved to SearchContext, which owns the instances */
+  Strategy() {
     super();
   }
 
   /**
-   * Gets the singleton instance of the Strategy class.
-   * @return [Strategy] The singleton instance.
+   * Gets the Strategy of the current search context.
+   * @return [Strategy] The Strategy of the context bound to the calling thread.
    */
-  public static synchronized Strategy getStrategy() {
-    if (strategy == null) {
-      strategy = new Strategy();
-    }
-    return strategy;
+  public static Strategy getStrategy() {
+    return SearchContext.current().getStrategy();
   }
 
   /**
@@ -121,6 +156,62 @@ public class Strategy {
                               GeneratorType generatorType)
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
              IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    try {
+      execute(countmaxIterations, countIterationsChange, operatornumber, generatorType, null);
+    } catch (IOException e) {
+      // Sin punto de control de partida no se lee ningún fichero.
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Resumes a run from a checkpoint saved by a run configured with
+   * {@link #setCheckpoint(Path, int)}. The problem and the configuration of
+   * the components must be set as in the interrupted run and the parameters
+   * must be the same; the run then continues from the iteration of the
+   * checkpoint, with the same random numbers, and ends as the uninterrupted
+   * run would have ended.
+   * @param checkpoint [Path] File of the checkpoint.
+   * @param countmaxIterations [int] Maximum number of iterations.
+   * @param countIterationsChange [int] Number of iterations before a change occurs.
+   * @param operatornumber [int] Number of operators to be used.
+   * @param generatorType [GeneratorType] Type of generator to be used.
+   * @throws IOException If the checkpoint cannot be read or belongs to another kind of run.
+   * @throws IllegalArgumentException If an illegal argument is provided.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void resumeStrategy(Path checkpoint, int countmaxIterations, int countIterationsChange, int operatornumber,
+                             GeneratorType generatorType)
+      throws IOException, IllegalArgumentException, SecurityException, ClassNotFoundException,
+             InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    execute(countmaxIterations, countIterationsChange, operatornumber, generatorType, checkpoint);
+  }
+
+  /**
+   * Executes a run, from the beginning or from a checkpoint.
+   * @param countmaxIterations [int] Maximum number of iterations.
+   * @param countIterationsChange [int] Number of iterations before a change occurs.
+   * @param operatornumber [int] Number of operators to be used.
+   * @param generatorType [GeneratorType] Type of generator to be used.
+   * @param checkpoint [Path] Checkpoint to resume from, or null to start a new run.
+   * @throws IOException If the checkpoint cannot be read.
+   * @throws IllegalArgumentException If an illegal argument is provided.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void execute(int countmaxIterations, int countIterationsChange, int operatornumber,
+                       GeneratorType generatorType, Path checkpoint)
+      throws IOException, IllegalArgumentException, SecurityException, ClassNotFoundException,
+             InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
 
     if (calculateTime) {
       initialTime = System.currentTimeMillis();
@@ -147,11 +238,13 @@ public class Strategy {
     generator.setInitialReference(initialState);
     bestState = initialState;
     countCurrent = 0;
-    listRefPoblacFinal = new ArrayList<>();
+    listRefPoblacFinal = (archiveCapacity > 0)
+        ? new ParetoArchive(archiveCapacity, archiveTruncation)
+        : new ParetoArchive();
     MultiGenerator multiGenerator = null;
     countPeriodChange = countIterationsChange;
-    int countChange = countIterationsChange;
-    int countPeriodo = countIterationsChange / 10;
+    countChange = countIterationsChange;
+    countPeriodo = countIterationsChange / 10;
 
     if (generatorType.equals(GeneratorType.MultiGenerator)) {
       initializeGenerators();
@@ -163,10 +256,22 @@ public class Strategy {
     }
     update(countCurrent);
 
-    float sumMax = 0;
-    int countOff = 0;
+    sumMax = 0;
+    countOff = 0;
+    lastCheckpoint = -1;
+    if (checkpoint != null) {
+      try (CheckpointInput in = Checkpoint.open(checkpoint)) {
+        readCheckpoint(in, generatorType);
+      }
+    }
 
     while (countCurrent < countmaxIterations) {
+      if (checkpointFile != null && countCurrent > 0 && countCurrent % checkpointPeriod == 0
+          && countCurrent != lastCheckpoint) {
+        saveCheckpoint(generatorType);
+      }
+      boolean sampled = telemetry != null && telemetry.isSampled(countCurrent);
+      long allocationStart = sampled ? Telemetry.allocatedBytes() : -1;
       if (countCurrent == countChange) {
         // Cambio detectado
         calculateOffLinePerformance(sumMax, countOff);
@@ -195,14 +300,14 @@ public class Strategy {
           if (stateCandidate == null) {
             throw new IllegalStateException("El MultiGenerator devolvió un estado nulo.");
           }
-          problem.evaluate(stateCandidate);
+          evaluateCandidate(stateCandidate, sampled);
           stateCandidate.setEvaluation(stateCandidate.getEvaluation());
           stateCandidate.setNumber(countCurrent);
           stateCandidate.setTypeGenerator(generatorType);
           multiGenerator.updateReference(stateCandidate, countCurrent);
         } else {
           stateCandidate = generator.generate(operatornumber);
-          problem.evaluate(stateCandidate);
+          evaluateCandidate(stateCandidate, sampled);
           stateCandidate.setEvaluation(stateCandidate.getEvaluation());
           stateCandidate.setNumber(countCurrent);
           stateCandidate.setTypeGenerator(generatorType);
@@ -213,6 +318,12 @@ public class Strategy {
         }
 
         updateBestState(stateCandidate);
+        if (sampled) {
+          recordIteration(stateCandidate, allocationStart, multiGenerator != null);
+        }
+        if (history != null) {
+          recordHistory(stateCandidate, multiGenerator != null);
+        }
 
         if (saveListBestStates) {
           listBest.add(bestState);
@@ -230,14 +341,14 @@ public class Strategy {
             MultiGenerator.getActiveGenerator().countBetterGender = 0;
           }
           stateCandidate = multiGenerator.generate(operatornumber);
-          problem.evaluate(stateCandidate);
+          evaluateCandidate(stateCandidate, sampled);
           stateCandidate.setEvaluation(stateCandidate.getEvaluation());
           stateCandidate.setNumber(countCurrent);
           stateCandidate.setTypeGenerator(generatorType);
           multiGenerator.updateReference(stateCandidate, countCurrent);
         } else {
           stateCandidate = generator.generate(operatornumber);
-          problem.evaluate(stateCandidate);
+          evaluateCandidate(stateCandidate, sampled);
           stateCandidate.setEvaluation(stateCandidate.getEvaluation());
           stateCandidate.setNumber(countCurrent);
           stateCandidate.setTypeGenerator(generatorType);
@@ -252,6 +363,12 @@ public class Strategy {
 
         countCurrent = UpdateParameter.updateParameter(countCurrent);
         updateBestState(stateCandidate);
+        if (sampled) {
+          recordIteration(stateCandidate, allocationStart, multiGenerator != null);
+        }
+        if (history != null) {
+          recordHistory(stateCandidate, multiGenerator != null);
+        }
 
         if (saveListBestStates) {
           listBest.add(bestState);
@@ -278,6 +395,219 @@ public class Strategy {
     }
   }
 
+  /**
+   * Saves a checkpoint of the run at the start of an iteration.
+   * @param generatorType [GeneratorType] Type of generator of the run.
+   */
+  private void saveCheckpoint(GeneratorType generatorType) {
+    try {
+      Checkpoint.save(checkpointFile, out -> writeCheckpoint(out, generatorType));
+      lastCheckpoint = countCurrent;
+    } catch (IOException e) {
+      throw new UncheckedIOException("No se pudo guardar el punto de control en " + checkpointFile, e);
+    }
+  }
+
+  /**
+   * Writes the state of the run: counters, random numbers, best state, the
+   * state of the generators, the tabu memory and the non-dominated solutions.
+   * The telemetry and the history are not part of it.
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @param generatorType [GeneratorType] Type of generator of the run.
+   * @throws IOException If the stream fails.
+   */
+  private void writeCheckpoint(CheckpointOutput out, GeneratorType generatorType) throws IOException {
+    out.writeGeneratorType(generatorType);
+    out.writeInt(countCurrent);
+    out.writeInt(countChange);
+    out.writeInt(countPeriodo);
+    out.writeInt(periodo);
+    out.writeInt(countPeriodChange);
+    out.writeFloat(sumMax);
+    out.writeInt(countOff);
+    for (float value : listOfflineError) {
+      out.writeFloat(value);
+    }
+    for (long value : RandomService.current().getState()) {
+      out.writeLong(value);
+    }
+    out.writeState(problem.getState());
+    out.writeState(bestState);
+    out.writeStates(RandomSearch.getListStateReference());
+    out.writeGeneratorType(generator.getType());
+    generator.writeCheckpoint(out);
+    out.writeInt((mapGenerators != null) ? mapGenerators.size() : 0);
+    if (mapGenerators != null) {
+      for (Generator mapped : mapGenerators.values()) {
+        out.writeGeneratorType(mapped.getType());
+        mapped.writeCheckpoint(out);
+      }
+    }
+    TabuSolutions.getListTabu().writeCheckpoint(out);
+    out.writeStates(listRefPoblacFinal);
+    out.writeStates(saveListStates ? listStates : null);
+    out.writeStates(saveListBestStates ? listBest : null);
+  }
+
+  /**
+   * Restores the state of the run written by
+   * {@link #writeCheckpoint(CheckpointOutput, GeneratorType)}, once the
+   * components have been created again.
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param generatorType [GeneratorType] Type of generator of the run.
+   * @throws IOException If the stream fails or the checkpoint belongs to another kind of run.
+   * @throws IllegalArgumentException If an illegal argument is provided.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void readCheckpoint(CheckpointInput in, GeneratorType generatorType)
+      throws IOException, IllegalArgumentException, SecurityException, ClassNotFoundException,
+             InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    GeneratorType saved = in.readGeneratorType();
+    if (saved != generatorType) {
+      throw new StreamCorruptedException("El punto de control es de una ejecución con " + saved
+          + " y no con " + generatorType);
+    }
+    countCurrent = in.readInt();
+    countChange = in.readInt();
+    countPeriodo = in.readInt();
+    periodo = in.readInt();
+    countPeriodChange = in.readInt();
+    sumMax = in.readFloat();
+    countOff = in.readInt();
+    for (int i = 0; i < listOfflineError.length; i++) {
+      listOfflineError[i] = in.readFloat();
+    }
+    long[] random = new long[4];
+    for (int i = 0; i < random.length; i++) {
+      random[i] = in.readLong();
+    }
+    RandomService.current().setState(random);
+    problem.setState(in.readState());
+    bestState = in.readState();
+    List<State> references = in.readStates();
+    RandomSearch.setListStateReference((references != null) ? references : new ArrayList<>());
+    GeneratorType current = in.readGeneratorType();
+    if (generator.getType() != current) {
+      generator = newGenerator(current);
+    }
+    generator.readCheckpoint(in);
+    int mapped = in.readInt();
+    for (int i = 0; i < mapped; i++) {
+      GeneratorType type = in.readGeneratorType();
+      Generator generatorMapped = mapGenerators.get(type);
+      if (generatorMapped == null) {
+        generatorMapped = newGenerator(type);
+        mapGenerators.put(type, generatorMapped);
+      }
+      generatorMapped.readCheckpoint(in);
+    }
+    TabuSolutions.getListTabu().readCheckpoint(in);
+    List<State> front = in.readStates();
+    listRefPoblacFinal.clear();
+    if (front != null && listRefPoblacFinal instanceof ParetoArchive) {
+      ((ParetoArchive) listRefPoblacFinal).offerAll(front);
+    } else if (front != null) {
+      listRefPoblacFinal.addAll(front);
+    }
+    replaceContents(listStates, in.readStates());
+    replaceContents(listBest, in.readStates());
+    lastCheckpoint = countCurrent;
+  }
+
+  /**
+   * Replaces the contents of a list kept by the run, keeping the list, which
+   * may be shared with the generators.
+   * @param target [List<State>] The list, may be null if it is not kept.
+   * @param values [List<State>] The new contents, may be null.
+   */
+  private static void replaceContents(List<State> target, List<State> values) {
+    if (target != null && target != values) {
+      target.clear();
+      if (values != null) {
+        target.addAll(values);
+      }
+    }
+  }
+
+  /**
+   * Evaluates a candidate, timing the evaluation when the iteration is sampled
+   * by the telemetry. Candidates already evaluated by their generator are
+   * left as they are.
+   * @param stateCandidate [State] Candidate state to evaluate.
+   * @param sampled [boolean] Whether the iteration is recorded.
+   * @throws IllegalArgumentException If an illegal argument is provided.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void evaluateCandidate(State stateCandidate, boolean sampled)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (generator != null && generator.evaluatesCandidates()) {
+      // El generador ya evaluó la candidata, por ejemplo con toda su generación.
+      return;
+    }
+    if (!sampled) {
+      problem.evaluate(stateCandidate);
+      return;
+    }
+    long start = System.nanoTime();
+    problem.evaluate(stateCandidate);
+    evaluationNanos = System.nanoTime() - start;
+  }
+
+  /**
+   * Records the metrics of a sampled iteration in the telemetry. The candidate
+   * is accepted when the generator took it as its new reference.
+   * @param stateCandidate [State] Candidate state of the iteration.
+   * @param allocationStart [long] Bytes allocated by the thread when the iteration started, -1 if unknown.
+   * @param multi [boolean] Whether the run uses the MultiGenerator.
+   */
+  private void recordIteration(State stateCandidate, long allocationStart, boolean multi) {
+    Generator active = multi ? MultiGenerator.getActiveGenerator() : generator;
+    State reference = (active != null) ? active.getReference() : null;
+    boolean accepted = reference != null && (reference == stateCandidate || reference.comparator(stateCandidate));
+    long allocated = (allocationStart >= 0) ? Telemetry.allocatedBytes() - allocationStart : -1;
+    candidateBuffer = toArray(stateCandidate.getEvaluation(), candidateBuffer);
+    bestBuffer = toArray(bestState.getEvaluation(), bestBuffer);
+    telemetry.record(stateCandidate.getNumber(), (active != null) ? active.getType() : null, candidateBuffer,
+        bestBuffer, accepted, evaluationNanos, allocated);
+  }
+
+  /**
+   * Records an iteration in the history, with the generator that produced the
+   * candidate and the best state found so far.
+   * @param stateCandidate [State] Candidate state of the iteration.
+   * @param multi [boolean] Whether the run uses the MultiGenerator.
+   */
+  private void recordHistory(State stateCandidate, boolean multi) {
+    Generator active = multi ? MultiGenerator.getActiveGenerator() : generator;
+    history.record(stateCandidate.getNumber(), (active != null) ? active.getType() : null,
+        stateCandidate.getEvaluation(), bestState);
+  }
+
+  /**
+   * Copies an evaluation into a reusable array.
+   * @param evaluation [List<Double>] The evaluation.
+   * @param buffer [double[]] Array to reuse if it has the right length.
+   * @return [double[]] The array with the evaluation.
+   */
+  private static double[] toArray(List<Double> evaluation, double[] buffer) {
+    double[] values = (buffer != null && buffer.length == evaluation.size()) ? buffer : new double[evaluation.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = evaluation.get(i);
+    }
+    return values;
+  }
+
   /**
    * Updates the best state found based on the candidate state.
    * @param stateCandidate [State] Candidate state to compare with the best state.
@@ -548,10 +878,10 @@ public class Strategy {
   }
 
   /**
-   * Destroys the singleton instance and clears references.
+   * Destroys the Strategy of the current search context and clears references.
    */
   public static void destroyExecute() {
-    strategy = null;
+    SearchContext.current().resetStrategy();
     RandomSearch.setListStateReference(null);
   }
 
@@ -692,4 +1022,104 @@ public class Strategy {
   public void setListRefPoblacFinal(List<State> listRefPoblacFinal) {
     this.listRefPoblacFinal = listRefPoblacFinal;
   }
+
+  /**
+   * Gets the maximum number of non-dominated solutions kept by the next execution.
+   * @return [int] The capacity of the archive, 0 if it is unbounded.
+   */
+  public int getArchiveCapacity() {
+    return archiveCapacity;
+  }
+
+  /**
+   * Sets the maximum number of non-dominated solutions kept by the next execution.
+   * @param archiveCapacity [int] The capacity of the archive, 0 if it is unbounded.
+   */
+  public void setArchiveCapacity(int archiveCapacity) {
+    if (archiveCapacity < 0) {
+      throw new IllegalArgumentException("La capacidad del archivo no puede ser negativa");
+    }
+    this.archiveCapacity = archiveCapacity;
+  }
+
+  /**
+   * Gets the rule that chooses the solution removed when the archive is full.
+   * @return [TruncationType] The truncation rule.
+   */
+  public TruncationType getArchiveTruncation() {
+    return archiveTruncation;
+  }
+
+  /**
+   * Sets the rule that chooses the solution removed when the archive is full.
+   * @param archiveTruncation [TruncationType] The truncation rule.
+   */
+  public void setArchiveTruncation(TruncationType archiveTruncation) {
+    this.archiveTruncation = archiveTruncation;
+  }
+
+  /**
+   * Gets the telemetry that records the iterations of the runs.
+   * @return [Telemetry] The telemetry, or null if the runs are not recorded.
+   */
+  public Telemetry getTelemetry() {
+    return telemetry;
+  }
+
+  /**
+   * Sets the telemetry that records the iterations of the runs.
+   * @param telemetry [Telemetry] The telemetry, or null to stop recording.
+   */
+  public void setTelemetry(Telemetry telemetry) {
+    this.telemetry = telemetry;
+  }
+
+  /**
+   * Gets the file where the runs are checkpointed.
+   * @return [Path] The file, or null if the runs are not checkpointed.
+   */
+  public Path getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /**
+   * Gets the number of iterations between two checkpoints.
+   * @return [int] The period.
+   */
+  public int getCheckpointPeriod() {
+    return checkpointPeriod;
+  }
+
+  /**
+   * Makes the runs save a checkpoint every given number of iterations, from
+   * which an interrupted run can be resumed with
+   * {@link #resumeStrategy(Path, int, int, int, GeneratorType)}. Each
+   * checkpoint replaces the previous one atomically.
+   * @param file [Path] File of the checkpoint, or null to stop checkpointing.
+   * @param period [int] Iterations between two checkpoints.
+   */
+  public void setCheckpoint(Path file, int period) {
+    if (file != null && period <= 0) {
+      throw new IllegalArgumentException("El periodo de los puntos de control debe ser positivo");
+    }
+    this.checkpointFile = file;
+    this.checkpointPeriod = period;
+  }
+
+  /**
+   * Gets the compact history of the iterations.
+   * @return [IterationHistory] The history, or null if it is not recorded.
+   */
+  public IterationHistory getHistory() {
+    return history;
+  }
+
+  /**
+   * Sets the compact history where the iterations of the runs are recorded.
+   * Unlike the lists of states, it does not keep the states themselves.
+   * @param history [IterationHistory] The history, or null to stop recording.
+   */
+  public void setHistory(IterationHistory history) {
+    this.history = history;
+  }
 }
@@ -0,0 +1,146 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+/**
+ * Sink that aggregates the events in counters, timers and gauges, in the
+ * style of a metrics registry: the number of iterations (in total and by
+ * generator), the accepted candidates, the evaluation time (total and
+ * maximum), the allocated bytes and the best evaluation so far. The values can
+ * be read from any thread while the run executes, for example to publish them
+ * in a monitoring system.
+ */
+public class CounterTelemetrySink implements TelemetrySink {
+
+  /** Recorded iterations. */
+  private final LongAdder iterations = new LongAdder();
+  /** Accepted candidates. */
+  private final LongAdder accepted = new LongAdder();
+  /** Recorded iterations by generator. */
+  private final Map<GeneratorType, LongAdder> byGenerator = new EnumMap<>(GeneratorType.class);
+  /** Total evaluation time, in nanoseconds. */
+  private final LongAdder evaluationNanos = new LongAdder();
+  /** Maximum evaluation time, in nanoseconds. */
+  private final AtomicLong maxEvaluationNanos = new AtomicLong();
+  /** Total allocated bytes, of the iterations where they are known. */
+  private final LongAdder allocatedBytes = new LongAdder();
+  /** Best evaluation so far. */
+  private volatile double[] best = new double[0];
+  /** Last recorded iteration. */
+  private volatile int lastIteration = -1;
+
+  /**
+   * Default constructor.
+   */
+  public CounterTelemetrySink() {
+    for (GeneratorType type : GeneratorType.values()) {
+      byGenerator.put(type, new LongAdder());
+    }
+  }
+
+  @Override
+  public void accept(IterationEvent event) {
+    iterations.increment();
+    if (event.isAccepted()) {
+      accepted.increment();
+    }
+    if (event.getGenerator() != null) {
+      byGenerator.get(event.getGenerator()).increment();
+    }
+    evaluationNanos.add(event.getEvaluationNanos());
+    maxEvaluationNanos.accumulateAndGet(event.getEvaluationNanos(), Math::max);
+    if (event.getAllocatedBytes() > 0) {
+      allocatedBytes.add(event.getAllocatedBytes());
+    }
+    best = event.getBest().clone();
+    lastIteration = event.getIteration();
+  }
+
+  /**
+   * Gets the number of recorded iterations.
+   *
+   * @return [long] The iterations.
+   */
+  public long getIterations() {
+    return iterations.sum();
+  }
+
+  /**
+   * Gets the number of recorded iterations of a generator.
+   *
+   * @param type [GeneratorType] The generator.
+   * @return [long] The iterations.
+   */
+  public long getIterations(GeneratorType type) {
+    return byGenerator.get(type).sum();
+  }
+
+  /**
+   * Gets the number of accepted candidates.
+   *
+   * @return [long] The accepted candidates.
+   */
+  public long getAccepted() {
+    return accepted.sum();
+  }
+
+  /**
+   * Gets the total evaluation time.
+   *
+   * @return [long] The time, in nanoseconds.
+   */
+  public long getEvaluationNanos() {
+    return evaluationNanos.sum();
+  }
+
+  /**
+   * Gets the maximum evaluation time.
+   *
+   * @return [long] The time, in nanoseconds.
+   */
+  public long getMaxEvaluationNanos() {
+    return maxEvaluationNanos.get();
+  }
+
+  /**
+   * Gets the mean evaluation time.
+   *
+   * @return [double] The time, in nanoseconds, 0 if nothing was recorded.
+   */
+  public double getMeanEvaluationNanos() {
+    long count = iterations.sum();
+    return (count == 0) ? 0 : (double) evaluationNanos.sum() / count;
+  }
+
+  /**
+   * Gets the total allocated bytes.
+   *
+   * @return [long] The bytes.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  /**
+   * Gets the best evaluation so far.
+   *
+   * @return [double[]] A copy of the evaluation, empty if nothing was recorded.
+   */
+  public double[] getBest() {
+    return best.clone();
+  }
+
+  /**
+   * Gets the last recorded iteration.
+   *
+   * @return [int] The iteration, -1 if nothing was recorded.
+   */
+  public int getLastIteration() {
+    return lastIteration;
+  }
+}
@@ -0,0 +1,82 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sink that writes one CSV row per event. The header is written with the
+ * first event, with one column per objective of the candidate and of the best
+ * state: iteration, generator, accepted, evaluation_nanos, allocated_bytes,
+ * elapsed_nanos, candidate_1..m, best_1..m.
+ */
+public class CsvTelemetrySink implements TelemetrySink {
+
+  /** Destination of the rows. */
+  private final Writer writer;
+
+  /** Whether the header was written. */
+  private boolean header;
+
+  /**
+   * Constructor.
+   *
+   * @param writer [Writer] Destination of the rows; it is closed with the sink.
+   */
+  public CsvTelemetrySink(Writer writer) {
+    this.writer = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer);
+  }
+
+  /**
+   * Constructor that writes to a file, replacing it.
+   *
+   * @param path [Path] The file.
+   * @throws IOException If the file cannot be opened.
+   */
+  public CsvTelemetrySink(Path path) throws IOException {
+    this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void accept(IterationEvent event) throws IOException {
+    if (!header) {
+      writer.write("iteration,generator,accepted,evaluation_nanos,allocated_bytes,elapsed_nanos");
+      for (int i = 1; i <= event.getCandidate().length; i++) {
+        writer.write(",candidate_" + i);
+      }
+      for (int i = 1; i <= event.getBest().length; i++) {
+        writer.write(",best_" + i);
+      }
+      writer.write('\n');
+      header = true;
+    }
+    StringBuilder row = new StringBuilder(128);
+    row.append(event.getIteration()).append(',')
+        .append(event.getGenerator()).append(',')
+        .append(event.isAccepted()).append(',')
+        .append(event.getEvaluationNanos()).append(',')
+        .append(event.getAllocatedBytes()).append(',')
+        .append(event.getElapsedNanos());
+    for (double value : event.getCandidate()) {
+      row.append(',').append(value);
+    }
+    for (double value : event.getBest()) {
+      row.append(',').append(value);
+    }
+    row.append('\n');
+    writer.write(row.toString());
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
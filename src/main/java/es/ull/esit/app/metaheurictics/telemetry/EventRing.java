@@ -0,0 +1,134 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring of events, with several producers and one consumer.
+ * Each slot has a sequence number that tells whether it is free for the
+ * producer of a position or full for the consumer, so neither side ever
+ * blocks: when the ring is full the event is dropped and counted.
+ */
+final class EventRing {
+
+  /** The slots, reused. */
+  private final IterationEvent[] slots;
+
+  /** Sequence of each slot. */
+  private final AtomicLongArray sequences;
+
+  /** Mask of the positions, capacity - 1. */
+  private final int mask;
+
+  /** Next position to write. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Next position to read; only the consumer changes it. */
+  private long head;
+
+  /** Number of events dropped because the ring was full. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param capacity [int] Minimum number of slots, rounded up to a power of two.
+   */
+  EventRing(int capacity) {
+    if (capacity < 1 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("La capacidad del buffer de telemetría no es válida: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    slots = new IterationEvent[size];
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      slots[i] = new IterationEvent();
+      sequences.set(i, i);
+    }
+    mask = size - 1;
+  }
+
+  /**
+   * Claims a free slot for writing.
+   *
+   * @return [long] Position of the slot, or -1 if the ring is full.
+   */
+  long claim() {
+    while (true) {
+      long position = tail.get();
+      long sequence = sequences.get((int) position & mask);
+      if (sequence == position) {
+        if (tail.compareAndSet(position, position + 1)) {
+          return position;
+        }
+      } else if (sequence < position) {
+        dropped.incrementAndGet();
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Gets the slot of a claimed position.
+   *
+   * @param position [long] Position returned by {@link #claim()}.
+   * @return [IterationEvent] The slot.
+   */
+  IterationEvent slot(long position) {
+    return slots[(int) position & mask];
+  }
+
+  /**
+   * Publishes a written slot to the consumer.
+   *
+   * @param position [long] Position returned by {@link #claim()}.
+   */
+  void publish(long position) {
+    sequences.set((int) position & mask, position + 1);
+  }
+
+  /**
+   * Consumes the published events, in order. Only one thread may call it at a time.
+   *
+   * @param consumer [Consumer<IterationEvent>] Receives each event.
+   * @return [int] Number of events consumed.
+   */
+  int drain(Consumer<IterationEvent> consumer) {
+    int count = 0;
+    while (true) {
+      int index = (int) head & mask;
+      if (sequences.get(index) != head + 1) {
+        return count;
+      }
+      try {
+        consumer.accept(slots[index]);
+      } finally {
+        sequences.set(index, head + slots.length);
+        head++;
+      }
+      count++;
+    }
+  }
+
+  /**
+   * Gets the number of slots.
+   *
+   * @return [int] The capacity of the ring.
+   */
+  int capacity() {
+    return slots.length;
+  }
+
+  /**
+   * Gets the number of events dropped because the ring was full.
+   *
+   * @return [long] The dropped events.
+   */
+  long dropped() {
+    return dropped.get();
+  }
+}
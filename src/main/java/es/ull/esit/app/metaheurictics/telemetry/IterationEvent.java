@@ -0,0 +1,154 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.util.Arrays;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+/**
+ * Metrics of one iteration of a run, as recorded by {@link Telemetry}.
+ *
+ * The events are slots of the ring buffer of the telemetry, reused once they
+ * are consumed, so a run does not allocate one object per iteration. Sinks
+ * must copy whatever they keep after {@link TelemetrySink#accept} returns.
+ */
+public final class IterationEvent {
+
+  /** Number of the iteration. */
+  private int iteration;
+  /** Generator that produced the candidate. */
+  private GeneratorType generator;
+  /** Evaluation of the candidate. */
+  private double[] candidate = new double[0];
+  /** Evaluation of the best state found so far. */
+  private double[] best = new double[0];
+  /** Whether the generator accepted the candidate as its new reference. */
+  private boolean accepted;
+  /** Time spent evaluating the candidate, in nanoseconds. */
+  private long evaluationNanos;
+  /** Bytes allocated by the search thread during the iteration, -1 if unknown. */
+  private long allocatedBytes;
+  /** Time since the run started, in nanoseconds. */
+  private long elapsedNanos;
+
+  /** Constructor reserved to the ring buffer, which owns the slots. */
+  IterationEvent() {
+    super();
+  }
+
+  /**
+   * Copies the metrics of an iteration into this slot.
+   *
+   * @param iteration [int] Number of the iteration.
+   * @param generator [GeneratorType] Generator that produced the candidate.
+   * @param candidate [double[]] Evaluation of the candidate.
+   * @param best [double[]] Evaluation of the best state found so far.
+   * @param accepted [boolean] Whether the candidate was accepted.
+   * @param evaluationNanos [long] Time spent evaluating the candidate.
+   * @param allocatedBytes [long] Bytes allocated during the iteration.
+   * @param elapsedNanos [long] Time since the run started.
+   */
+  void fill(int iteration, GeneratorType generator, double[] candidate, double[] best, boolean accepted,
+      long evaluationNanos, long allocatedBytes, long elapsedNanos) {
+    this.iteration = iteration;
+    this.generator = generator;
+    this.candidate = copyInto(this.candidate, candidate);
+    this.best = copyInto(this.best, best);
+    this.accepted = accepted;
+    this.evaluationNanos = evaluationNanos;
+    this.allocatedBytes = allocatedBytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Copies a vector, reusing the array of the slot when it has the same length.
+   *
+   * @param target [double[]] Array of the slot.
+   * @param source [double[]] Values to copy.
+   * @return [double[]] The array holding the copy.
+   */
+  private static double[] copyInto(double[] target, double[] source) {
+    if (target.length != source.length) {
+      return source.clone();
+    }
+    System.arraycopy(source, 0, target, 0, source.length);
+    return target;
+  }
+
+  /**
+   * Gets the number of the iteration.
+   *
+   * @return [int] The iteration.
+   */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /**
+   * Gets the generator that produced the candidate.
+   *
+   * @return [GeneratorType] The generator.
+   */
+  public GeneratorType getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Gets the evaluation of the candidate. The array belongs to the slot.
+   *
+   * @return [double[]] The evaluation.
+   */
+  public double[] getCandidate() {
+    return candidate;
+  }
+
+  /**
+   * Gets the evaluation of the best state found so far. The array belongs to the slot.
+   *
+   * @return [double[]] The evaluation.
+   */
+  public double[] getBest() {
+    return best;
+  }
+
+  /**
+   * Tells whether the generator accepted the candidate as its new reference.
+   *
+   * @return [boolean] True if it was accepted.
+   */
+  public boolean isAccepted() {
+    return accepted;
+  }
+
+  /**
+   * Gets the time spent evaluating the candidate.
+   *
+   * @return [long] The time, in nanoseconds.
+   */
+  public long getEvaluationNanos() {
+    return evaluationNanos;
+  }
+
+  /**
+   * Gets the bytes allocated by the search thread during the iteration.
+   *
+   * @return [long] The bytes, or -1 if the JVM does not measure them.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Gets the time since the run started.
+   *
+   * @return [long] The time, in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "IterationEvent[iteration=" + iteration + ", generator=" + generator + ", candidate="
+        + Arrays.toString(candidate) + ", best=" + Arrays.toString(best) + ", accepted=" + accepted + "]";
+  }
+}
@@ -0,0 +1,92 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sink that writes one JSON object per line and event, with the fields
+ * iteration, generator, accepted, evaluationNanos, allocatedBytes,
+ * elapsedNanos, candidate and best. Values that are not finite are written as
+ * null, since JSON has no representation for them.
+ */
+public class JsonLinesTelemetrySink implements TelemetrySink {
+
+  /** Destination of the lines. */
+  private final Writer writer;
+
+  /**
+   * Constructor.
+   *
+   * @param writer [Writer] Destination of the lines; it is closed with the sink.
+   */
+  public JsonLinesTelemetrySink(Writer writer) {
+    this.writer = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer);
+  }
+
+  /**
+   * Constructor that writes to a file, replacing it.
+   *
+   * @param path [Path] The file.
+   * @throws IOException If the file cannot be opened.
+   */
+  public JsonLinesTelemetrySink(Path path) throws IOException {
+    this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void accept(IterationEvent event) throws IOException {
+    StringBuilder line = new StringBuilder(160);
+    line.append("{\"iteration\":").append(event.getIteration())
+        .append(",\"generator\":");
+    if (event.getGenerator() == null) {
+      line.append("null");
+    } else {
+      line.append('"').append(event.getGenerator().name()).append('"');
+    }
+    line.append(",\"accepted\":").append(event.isAccepted())
+        .append(",\"evaluationNanos\":").append(event.getEvaluationNanos())
+        .append(",\"allocatedBytes\":").append(event.getAllocatedBytes())
+        .append(",\"elapsedNanos\":").append(event.getElapsedNanos())
+        .append(",\"candidate\":");
+    appendArray(line, event.getCandidate());
+    line.append(",\"best\":");
+    appendArray(line, event.getBest());
+    line.append("}\n");
+    writer.write(line.toString());
+  }
+
+  /**
+   * Appends a JSON array of numbers.
+   *
+   * @param line [StringBuilder] The line.
+   * @param values [double[]] The numbers.
+   */
+  private static void appendArray(StringBuilder line, double[] values) {
+    line.append('[');
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+      if (Double.isFinite(values[i])) {
+        line.append(values[i]);
+      } else {
+        line.append("null");
+      }
+    }
+    line.append(']');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
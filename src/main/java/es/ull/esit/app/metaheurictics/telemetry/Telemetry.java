@@ -0,0 +1,305 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+/**
+ * Telemetry of the runs of a Strategy. The search thread records the metrics
+ * of each sampled iteration in a bounded lock-free ring buffer and returns at
+ * once; a consumer thread, started with {@link #start()}, drains the buffer
+ * into the sinks (CSV, JSON lines, counters...) and flushes them whenever it
+ * runs out of events, so long runs can be watched live without keeping their
+ * states in memory. If the sinks fall behind and the buffer fills up, the new
+ * events are dropped and counted instead of slowing down the search.
+ *
+ * Without a consumer thread the events stay in the buffer until
+ * {@link #drain()} or {@link #flush()} is called.
+ *
+ * <pre>
+ * try (Telemetry telemetry = new Telemetry(8192, 10)) {
+ *   telemetry.addSink(new CsvTelemetrySink(Paths.get("run.csv")));
+ *   telemetry.start();
+ *   Strategy.getStrategy().setTelemetry(telemetry);
+ *   Strategy.getStrategy().executeStrategy(...);
+ * }
+ * </pre>
+ */
+public class Telemetry implements AutoCloseable {
+
+  /** Default number of slots of the buffer. */
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  /** Logger for the Telemetry class. */
+  private static final Logger LOGGER = Logger.getLogger(Telemetry.class.getName());
+
+  /** Time the consumer waits when the buffer is empty. */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /** Buffer of events. */
+  private final EventRing ring;
+
+  /** Period of the sampled iterations. */
+  private final int samplingPeriod;
+
+  /** Destinations of the events. */
+  private final List<TelemetrySink> sinks = new CopyOnWriteArrayList<>();
+
+  /** Origin of the elapsed times. */
+  private final long origin = System.nanoTime();
+
+  /** Number of errors raised by the sinks. */
+  private final AtomicLong sinkErrors = new AtomicLong();
+
+  /** Lock that keeps a single thread draining the buffer. */
+  private final Object drainLock = new Object();
+
+  /** Whether events were consumed since the sinks were last flushed. */
+  private boolean dirty;
+
+  /** Consumer thread, or null if it was not started. */
+  private Thread consumer;
+
+  /** Whether the consumer thread must keep running. */
+  private volatile boolean running;
+
+  /**
+   * Default constructor: {@link #DEFAULT_CAPACITY} slots and every iteration sampled.
+   */
+  public Telemetry() {
+    this(DEFAULT_CAPACITY, 1);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param capacity [int] Number of slots of the buffer, rounded up to a power of two.
+   * @param samplingPeriod [int] Only the iterations multiple of this period are recorded.
+   */
+  public Telemetry(int capacity, int samplingPeriod) {
+    if (samplingPeriod < 1) {
+      throw new IllegalArgumentException("El periodo de muestreo debe ser positivo");
+    }
+    this.ring = new EventRing(capacity);
+    this.samplingPeriod = samplingPeriod;
+  }
+
+  /**
+   * Adds a destination of the events.
+   *
+   * @param sink [TelemetrySink] The sink.
+   */
+  public void addSink(TelemetrySink sink) {
+    sinks.add(sink);
+  }
+
+  /**
+   * Tells whether an iteration is sampled, so the caller only measures the
+   * iterations that are recorded.
+   *
+   * @param iteration [int] Number of the iteration.
+   * @return [boolean] True if the iteration must be recorded.
+   */
+  public boolean isSampled(int iteration) {
+    return iteration % samplingPeriod == 0;
+  }
+
+  /**
+   * Records the metrics of an iteration. Never blocks: if the buffer is full
+   * the event is dropped.
+   *
+   * @param iteration [int] Number of the iteration.
+   * @param generator [GeneratorType] Generator that produced the candidate.
+   * @param candidate [double[]] Evaluation of the candidate.
+   * @param best [double[]] Evaluation of the best state found so far.
+   * @param accepted [boolean] Whether the candidate was accepted.
+   * @param evaluationNanos [long] Time spent evaluating the candidate.
+   * @param allocatedBytes [long] Bytes allocated during the iteration, -1 if unknown.
+   * @return [boolean] True if the event was buffered, false if it was dropped.
+   */
+  public boolean record(int iteration, GeneratorType generator, double[] candidate, double[] best,
+      boolean accepted, long evaluationNanos, long allocatedBytes) {
+    long position = ring.claim();
+    if (position < 0) {
+      return false;
+    }
+    ring.slot(position).fill(iteration, generator, candidate, best, accepted, evaluationNanos, allocatedBytes,
+        System.nanoTime() - origin);
+    ring.publish(position);
+    return true;
+  }
+
+  /**
+   * Sends the buffered events to the sinks.
+   *
+   * @return [int] Number of events sent.
+   */
+  public int drain() {
+    synchronized (drainLock) {
+      int count = ring.drain(this::dispatch);
+      dirty |= count > 0;
+      return count;
+    }
+  }
+
+  /**
+   * Sends the buffered events to the sinks and flushes them.
+   */
+  public void flush() {
+    synchronized (drainLock) {
+      drain();
+      if (dirty) {
+        for (TelemetrySink sink : sinks) {
+          try {
+            sink.flush();
+          } catch (IOException e) {
+            sinkFailed(sink, e);
+          }
+        }
+        dirty = false;
+      }
+    }
+  }
+
+  /**
+   * Starts the consumer thread, a daemon that drains the buffer while the
+   * telemetry is open.
+   */
+  public synchronized void start() {
+    if (consumer != null) {
+      return;
+    }
+    running = true;
+    consumer = new Thread(this::consume, "telemetry-consumer");
+    consumer.setDaemon(true);
+    consumer.start();
+  }
+
+  /**
+   * Stops the consumer thread, sends the remaining events and closes the sinks.
+   */
+  @Override
+  public void close() {
+    Thread thread;
+    synchronized (this) {
+      running = false;
+      thread = consumer;
+      consumer = null;
+    }
+    if (thread != null) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    flush();
+    for (TelemetrySink sink : sinks) {
+      try {
+        sink.close();
+      } catch (IOException e) {
+        sinkFailed(sink, e);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of events dropped because the buffer was full.
+   *
+   * @return [long] The dropped events.
+   */
+  public long getDropped() {
+    return ring.dropped();
+  }
+
+  /**
+   * Gets the number of errors raised by the sinks.
+   *
+   * @return [long] The errors.
+   */
+  public long getSinkErrors() {
+    return sinkErrors.get();
+  }
+
+  /**
+   * Gets the number of slots of the buffer.
+   *
+   * @return [int] The capacity.
+   */
+  public int getCapacity() {
+    return ring.capacity();
+  }
+
+  /**
+   * Gets the period of the sampled iterations.
+   *
+   * @return [int] The period.
+   */
+  public int getSamplingPeriod() {
+    return samplingPeriod;
+  }
+
+  /**
+   * Gets the bytes allocated so far by the calling thread.
+   *
+   * @return [long] The bytes, or -1 if the JVM does not measure them.
+   */
+  public static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+      if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+        return threads.getCurrentThreadAllocatedBytes();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Body of the consumer thread.
+   */
+  private void consume() {
+    while (running) {
+      if (drain() == 0) {
+        flush();
+        LockSupport.parkNanos(this, IDLE_NANOS);
+      }
+    }
+  }
+
+  /**
+   * Sends an event to every sink.
+   *
+   * @param event [IterationEvent] The event.
+   */
+  private void dispatch(IterationEvent event) {
+    for (TelemetrySink sink : sinks) {
+      try {
+        sink.accept(event);
+      } catch (IOException e) {
+        sinkFailed(sink, e);
+      }
+    }
+  }
+
+  /**
+   * Counts and logs an error of a sink.
+   *
+   * @param sink [TelemetrySink] The sink.
+   * @param e [IOException] The error.
+   */
+  private void sinkFailed(TelemetrySink sink, IOException e) {
+    if (sinkErrors.getAndIncrement() == 0) {
+      LOGGER.log(Level.WARNING, "Error al escribir la telemetría en " + sink.getClass().getSimpleName(), e);
+    }
+  }
+}
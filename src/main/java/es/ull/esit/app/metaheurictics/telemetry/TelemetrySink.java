@@ -0,0 +1,40 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import java.io.IOException;
+
+/**
+ * Destination of the events recorded by {@link Telemetry}. The sinks are
+ * called from the consumer thread of the telemetry, one event at a time, so
+ * they do not need to be thread-safe, but they must not keep the events: the
+ * slots are reused once the call returns.
+ */
+public interface TelemetrySink extends AutoCloseable {
+
+  /**
+   * Consumes an event.
+   *
+   * @param event [IterationEvent] The event, valid only during the call.
+   * @throws IOException If the event cannot be written.
+   */
+  void accept(IterationEvent event) throws IOException;
+
+  /**
+   * Writes the buffered events. Called whenever the telemetry runs out of
+   * events, so a run can be watched while it executes.
+   *
+   * @throws IOException If the events cannot be written.
+   */
+  default void flush() throws IOException {
+    // Nada que escribir por defecto.
+  }
+
+  /**
+   * Releases the resources of the sink.
+   *
+   * @throws IOException If the sink cannot be closed.
+   */
+  @Override
+  default void close() throws IOException {
+    flush();
+  }
+}
@@ -0,0 +1,1188 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Covariance matrix adaptation evolution strategy (CMA-ES) of Hansen and
+ * Ostermeier for continuous problems. Each generation samples a population
+ * from a normal distribution, evaluates it as one batch through
+ * {@link Problem#evaluateAll(List)}, in parallel when the problem has an
+ * executor, and moves the mean towards the best half of the population. The
+ * step size follows the length of the evolution path and the covariance
+ * matrix learns the directions of the successful steps.
+ * <p>
+ * The population, the mean, the paths and the matrices are primitive double
+ * arrays, one row per individual. The eigendecomposition of the covariance
+ * matrix, needed to sample it, costs O(n^3), so it is only recomputed when
+ * the matrix has changed enough: every 1 / (10 n (c1 + cmu)) generations,
+ * which is O(n) generations. The diagonal variant (sep-CMA-ES of Ros and
+ * Hansen) only adapts the variances, in O(n) per individual, and learns
+ * faster, so it suits problems of many variables.
+ * <p>
+ * When the search stagnates it can be restarted with a larger population
+ * (IPOP) or alternating larger and smaller ones (BIPOP), keeping the best
+ * state found by all the runs. The random numbers are drawn before the
+ * parallel passes, so the run does not depend on the scheduling.
+ */
+public final class CmaEngine {
+
+  /** Largest number of cells of the arrays of the population. */
+  private static final int MAX_CELLS = 1 << 22;
+
+  /** Range of the fitness under which the search is considered stagnated. */
+  private static final double TOL_FUN = 1e-12;
+
+  /** Size of the steps, relative to the initial one, under which the search is considered stagnated. */
+  private static final double TOL_X = 1e-12;
+
+  /** Largest condition number of the covariance matrix. */
+  private static final double MAX_CONDITION = 1e14;
+
+  /** Problem to optimize. */
+  private final Problem problem;
+
+  /** Number of variables. */
+  private final int dimensions;
+
+  /** Whether the problem is maximized. */
+  private final boolean maximize;
+
+  /** Expected length of a standard normal vector of the dimension. */
+  private final double chiN;
+
+  /** Whether only the variances are adapted. */
+  private boolean diagonal;
+
+  /** Restart policy. */
+  private CmaRestart restart = CmaRestart.NONE;
+
+  /** Whether the population is sampled and the matrix updated in parallel. */
+  private boolean parallel;
+
+  /** Population of the first run. */
+  private int baseLambda;
+
+  /** Initial step size, NaN to derive it from the bounds. */
+  private double initialSigma = Double.NaN;
+
+  /** Lower bound of every variable. */
+  private double lower = Double.NEGATIVE_INFINITY;
+
+  /** Upper bound of every variable. */
+  private double upper = Double.POSITIVE_INFINITY;
+
+  /** Mean of the first run, or null to draw it at random. */
+  private double[] initialMean;
+
+  /** Size of the population. */
+  private int lambda;
+
+  /** Number of selected individuals. */
+  private int mu;
+
+  /** Recombination weights of the selected individuals. */
+  private double[] weights;
+
+  /** Variance effective selection mass. */
+  private double mueff;
+
+  /** Learning rate of the evolution path of the matrix. */
+  private double cc;
+
+  /** Learning rate of the evolution path of the step size. */
+  private double cs;
+
+  /** Learning rate of the rank-one update. */
+  private double c1;
+
+  /** Learning rate of the rank-mu update. */
+  private double cmu;
+
+  /** Damping of the step size. */
+  private double damps;
+
+  /** Step size used in the first generation of the current run. */
+  private double sigma0;
+
+  /** Step size. */
+  private double sigma;
+
+  /** Mean of the distribution. */
+  private double[] mean;
+
+  /** Evolution path of the covariance matrix. */
+  private double[] pc;
+
+  /** Conjugate evolution path of the step size. */
+  private double[] ps;
+
+  /** Covariance matrix by rows, or its diagonal in the diagonal variant. */
+  private double[] cov;
+
+  /** Eigenvectors of the matrix by rows, one per column; null in the diagonal variant. */
+  private double[] basis;
+
+  /** Square roots of the eigenvalues of the matrix. */
+  private double[] scale;
+
+  /** Standard normal numbers of each individual, one row per individual. */
+  private double[] z;
+
+  /** Steps of each individual before multiplying by the step size. */
+  private double[] y;
+
+  /** Variables of each individual. */
+  private double[] x;
+
+  /** Evaluation of each individual. */
+  private double[] fitness;
+
+  /** Individuals of the generation from the best to the worst. */
+  private Integer[] ranking;
+
+  /** States through which the individuals are evaluated, reused at every generation. */
+  private DoubleState[] states;
+
+  /** The states as the batch given to the problem. */
+  private List<State> batch;
+
+  /** Best fitness of the last generations of the run, as a ring. */
+  private double[] history;
+
+  /** Generations of the current run. */
+  private int generation;
+
+  /** Generation of the last eigendecomposition. */
+  private int eigenGeneration;
+
+  /** Number of eigendecompositions. */
+  private int decompositions;
+
+  /** Number of evaluations of all the runs. */
+  private long evaluations;
+
+  /** Number of restarts. */
+  private int restarts;
+
+  /** Number of restarts with a doubled population. */
+  private int largeRuns;
+
+  /** Evaluations spent with doubled populations, for BIPOP. */
+  private long largeEvaluations;
+
+  /** Evaluations spent with small populations, for BIPOP. */
+  private long smallEvaluations;
+
+  /** Whether the current run uses a small population. */
+  private boolean smallRegime;
+
+  /** Whether the next generation starts a new run. */
+  private boolean stagnated;
+
+  /** Best variables found by all the runs, or null before the first generation. */
+  private double[] best;
+
+  /** Evaluation of the best variables. */
+  private double bestFitness = Double.NaN;
+
+  /**
+   * Constructor.
+   *
+   * @param problem [Problem] Problem to optimize, with continuous variables.
+   * @param dimensions [int] Number of variables.
+   */
+  public CmaEngine(Problem problem, int dimensions) {
+    if (problem == null) {
+      throw new IllegalArgumentException("El problema no puede ser nulo");
+    }
+    if (dimensions < 1) {
+      throw new IllegalArgumentException("El número de dimensiones debe ser positivo: " + dimensions);
+    }
+    this.problem = problem;
+    this.dimensions = dimensions;
+    this.maximize = problem.getTypeProblem() != ProblemType.MINIMIZAR;
+    this.chiN = Math.sqrt(dimensions) * (1 - 1.0 / (4 * dimensions) + 1.0 / (21.0 * dimensions * dimensions));
+    this.baseLambda = defaultPopulation(dimensions);
+  }
+
+  /**
+   * Gets the usual population for a number of variables, 4 + 3 ln(n).
+   *
+   * @param dimensions [int] Number of variables.
+   * @return [int] The population.
+   */
+  public static int defaultPopulation(int dimensions) {
+    return 4 + (int) Math.floor(3 * Math.log(dimensions));
+  }
+
+  /**
+   * Sets the population of the first run, used from the next initialization.
+   *
+   * @param lambda [int] The population, 2 or more.
+   */
+  public void setPopulationSize(int lambda) {
+    if (lambda < 2) {
+      throw new IllegalArgumentException("La población debe tener al menos 2 individuos: " + lambda);
+    }
+    this.baseLambda = lambda;
+  }
+
+  /**
+   * Sets the initial step size, used from the next initialization. By
+   * default it is 0.3 times the width of the bounds, or 1 without bounds.
+   *
+   * @param sigma [double] The step size, positive.
+   */
+  public void setSigma(double sigma) {
+    if (!(sigma > 0) || Double.isInfinite(sigma)) {
+      throw new IllegalArgumentException("El paso inicial debe ser positivo: " + sigma);
+    }
+    this.initialSigma = sigma;
+  }
+
+  /**
+   * Sets the bounds of every variable. The individuals are clamped to them
+   * before their evaluation, and the steps are taken from the clamped ones.
+   *
+   * @param lower [double] Lower bound.
+   * @param upper [double] Upper bound.
+   */
+  public void setBounds(double lower, double upper) {
+    if (!(lower <= upper)) {
+      throw new IllegalArgumentException("Límites inválidos: [" + lower + ", " + upper + "]");
+    }
+    this.lower = lower;
+    this.upper = upper;
+  }
+
+  /**
+   * Sets the mean of the first run, used from the next initialization. By
+   * default it is drawn at random, as the means of the restarts.
+   *
+   * @param mean [double[]] The mean, or null to draw it.
+   */
+  public void setInitialMean(double[] mean) {
+    if (mean != null && mean.length != dimensions) {
+      throw new IllegalArgumentException("La media tiene " + mean.length + " variables y el problema " + dimensions);
+    }
+    this.initialMean = (mean != null) ? mean.clone() : null;
+  }
+
+  /**
+   * Sets whether only the variances are adapted (sep-CMA-ES), used from the
+   * next initialization.
+   *
+   * @param diagonal [boolean] True for the diagonal variant.
+   */
+  public void setDiagonal(boolean diagonal) {
+    this.diagonal = diagonal;
+  }
+
+  /**
+   * Checks whether only the variances are adapted.
+   *
+   * @return [boolean] True in the diagonal variant.
+   */
+  public boolean isDiagonal() {
+    return diagonal;
+  }
+
+  /**
+   * Sets the restart policy.
+   *
+   * @param restart [CmaRestart] The policy.
+   */
+  public void setRestart(CmaRestart restart) {
+    if (restart == null) {
+      throw new IllegalArgumentException("La política de reinicio no puede ser nula");
+    }
+    this.restart = restart;
+  }
+
+  /**
+   * Gets the restart policy.
+   *
+   * @return [CmaRestart] The policy.
+   */
+  public CmaRestart getRestart() {
+    return restart;
+  }
+
+  /**
+   * Sets whether the population is sampled and the covariance matrix updated
+   * in parallel, in the common fork-join pool. The evaluations follow the
+   * executor of the problem either way.
+   *
+   * @param parallel [boolean] True to use parallel passes.
+   */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /**
+   * Starts the search: the first run begins at the initial mean, or at a
+   * random one, with the identity as covariance matrix. No individual is
+   * evaluated until the first step.
+   *
+   * @throws IllegalArgumentException If the operator creates shorter states.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void initialize()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    evaluations = 0;
+    restarts = 0;
+    largeRuns = 0;
+    largeEvaluations = 0;
+    smallEvaluations = 0;
+    smallRegime = false;
+    stagnated = false;
+    decompositions = 0;
+    best = null;
+    bestFitness = Double.NaN;
+    double[] start;
+    if (initialMean != null) {
+      start = initialMean.clone();
+      for (int i = 0; i < dimensions; i++) {
+        start[i] = Math.max(lower, Math.min(upper, start[i]));
+      }
+    } else {
+      start = randomMean();
+    }
+    start(baseLambda, defaultSigma(), start);
+  }
+
+  /**
+   * Samples and evaluates a generation and updates the distribution. If the
+   * previous generation stagnated, a new run starts first, following the
+   * restart policy.
+   *
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void step()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (mean == null) {
+      throw new IllegalStateException("La estrategia no está inicializada");
+    }
+    if (stagnated) {
+      // El reinicio se aplica aquí para no invalidar la generación que aún se está sirviendo.
+      restart();
+    }
+    sample();
+    evaluate();
+    update();
+    stagnated = restart != CmaRestart.NONE && stagnated();
+  }
+
+  /**
+   * Initializes the search and runs a number of generations.
+   *
+   * @param generations [int] Number of generations.
+   * @return [State] The best state found, with its evaluation.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public State run(int generations)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    initialize();
+    for (int g = 0; g < generations; g++) {
+      step();
+    }
+    return getBestState();
+  }
+
+  /**
+   * Starts a run: sets the parameters of the population and resets the
+   * distribution around a mean.
+   *
+   * @param populationSize [int] Size of the population.
+   * @param stepSize [double] Initial step size.
+   * @param start [double[]] Initial mean.
+   */
+  private void start(int populationSize, double stepSize, double[] start) {
+    parameters(populationSize);
+    int cells = Math.multiplyExact(lambda, dimensions);
+    if (x == null || x.length != cells) {
+      z = new double[cells];
+      y = new double[cells];
+      x = new double[cells];
+      fitness = new double[lambda];
+      ranking = new Integer[lambda];
+      states = new DoubleState[lambda];
+      for (int k = 0; k < lambda; k++) {
+        states[k] = new DoubleState(dimensions);
+      }
+      batch = Arrays.asList(states);
+    }
+    mean = start;
+    sigma0 = stepSize;
+    sigma = stepSize;
+    pc = new double[dimensions];
+    ps = new double[dimensions];
+    scale = new double[dimensions];
+    Arrays.fill(scale, 1);
+    if (diagonal) {
+      cov = new double[dimensions];
+      Arrays.fill(cov, 1);
+      basis = null;
+    } else {
+      cov = new double[dimensions * dimensions];
+      basis = new double[dimensions * dimensions];
+      for (int i = 0; i < dimensions; i++) {
+        cov[i * dimensions + i] = 1;
+        basis[i * dimensions + i] = 1;
+      }
+    }
+    history = new double[10 + (int) Math.ceil(30.0 * dimensions / lambda)];
+    generation = 0;
+    eigenGeneration = 0;
+  }
+
+  /**
+   * Sets the default parameters of the strategy for a population.
+   *
+   * @param populationSize [int] Size of the population.
+   */
+  private void parameters(int populationSize) {
+    int n = dimensions;
+    lambda = populationSize;
+    mu = lambda / 2;
+    weights = new double[mu];
+    double sum = 0;
+    for (int i = 0; i < mu; i++) {
+      weights[i] = Math.log(mu + 0.5) - Math.log(i + 1.0);
+      sum += weights[i];
+    }
+    double squares = 0;
+    for (int i = 0; i < mu; i++) {
+      weights[i] /= sum;
+      squares += weights[i] * weights[i];
+    }
+    mueff = 1 / squares;
+    cc = (4 + mueff / n) / (n + 4 + 2 * mueff / n);
+    cs = (mueff + 2) / (n + mueff + 5);
+    c1 = 2 / ((n + 1.3) * (n + 1.3) + mueff);
+    cmu = Math.min(1 - c1, 2 * (mueff - 2 + 1 / mueff) / ((n + 2) * (n + 2) + mueff));
+    if (diagonal) {
+      // sep-CMA-ES: la matriz diagonal tiene n parámetros y se aprende más deprisa.
+      c1 = Math.min(1, c1 * (n + 2) / 3.0);
+      cmu = Math.min(1 - c1, cmu * (n + 2) / 3.0);
+    }
+    damps = 1 + 2 * Math.max(0, Math.sqrt((mueff - 1) / (n + 1)) - 1) + cs;
+  }
+
+  /**
+   * Samples the population: x = m + sigma B D z. The normal numbers are drawn
+   * in order before the parallel pass.
+   */
+  private void sample() {
+    RandomGenerator generator = RandomService.generator();
+    for (int i = 0; i < z.length; i++) {
+      z[i] = generator.nextGaussian();
+    }
+    if (parallel) {
+      IntStream.range(0, lambda).parallel().forEach(this::sample);
+    } else {
+      for (int k = 0; k < lambda; k++) {
+        sample(k);
+      }
+    }
+  }
+
+  /**
+   * Computes the step and the variables of an individual from its normal
+   * numbers, clamped to the bounds.
+   *
+   * @param individual [int] The individual.
+   */
+  private void sample(int individual) {
+    int row = individual * dimensions;
+    int n = dimensions;
+    double[] d = scale;
+    if (basis == null) {
+      for (int i = 0; i < n; i++) {
+        y[row + i] = d[i] * z[row + i];
+      }
+    } else {
+      double[] b = basis;
+      for (int i = 0; i < n; i++) {
+        double sum = 0;
+        int bRow = i * n;
+        for (int j = 0; j < n; j++) {
+          sum += b[bRow + j] * d[j] * z[row + j];
+        }
+        y[row + i] = sum;
+      }
+    }
+    double s = sigma;
+    double min = lower;
+    double max = upper;
+    for (int i = 0; i < n; i++) {
+      double xi = mean[i] + s * y[row + i];
+      double clamped = Math.max(min, Math.min(max, xi));
+      if (clamped != xi) {
+        y[row + i] = (clamped - mean[i]) / s;
+      }
+      x[row + i] = clamped;
+    }
+  }
+
+  /**
+   * Evaluates the population as one batch and keeps the best individual.
+   *
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void evaluate()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    for (int k = 0; k < lambda; k++) {
+      states[k].setValues(x, k * dimensions, dimensions);
+    }
+    problem.evaluateAll(batch);
+    for (int k = 0; k < lambda; k++) {
+      fitness[k] = states[k].getEvaluation().get(0);
+      ranking[k] = k;
+    }
+    evaluations += lambda;
+    if (smallRegime) {
+      smallEvaluations += lambda;
+    } else {
+      largeEvaluations += lambda;
+    }
+    Arrays.sort(ranking, (a, b) -> better(fitness[a], fitness[b]) ? -1 : (better(fitness[b], fitness[a]) ? 1 : 0));
+    int first = ranking[0];
+    if (best == null || better(fitness[first], bestFitness)) {
+      best = Arrays.copyOfRange(x, first * dimensions, (first + 1) * dimensions);
+      bestFitness = fitness[first];
+    }
+    history[generation % history.length] = fitness[first];
+  }
+
+  /**
+   * Updates the mean, the evolution paths, the covariance matrix and the
+   * step size from the best half of the population.
+   */
+  private void update() {
+    int n = dimensions;
+    double[] yw = new double[n];
+    for (int i = 0; i < mu; i++) {
+      int row = ranking[i] * n;
+      double w = weights[i];
+      for (int j = 0; j < n; j++) {
+        yw[j] += w * y[row + j];
+      }
+    }
+    for (int j = 0; j < n; j++) {
+      mean[j] += sigma * yw[j];
+    }
+
+    // Camino conjugado: C^(-1/2) yw = B D^(-1) B^T yw.
+    double[] whitened = whiten(yw);
+    double factor = Math.sqrt(cs * (2 - cs) * mueff);
+    double norm = 0;
+    for (int j = 0; j < n; j++) {
+      ps[j] = (1 - cs) * ps[j] + factor * whitened[j];
+      norm += ps[j] * ps[j];
+    }
+    norm = Math.sqrt(norm);
+    boolean hsig = norm / Math.sqrt(1 - Math.pow(1 - cs, 2.0 * (generation + 1))) / chiN < 1.4 + 2.0 / (n + 1);
+    factor = hsig ? Math.sqrt(cc * (2 - cc) * mueff) : 0;
+    for (int j = 0; j < n; j++) {
+      pc[j] = (1 - cc) * pc[j] + factor * yw[j];
+    }
+
+    double decay = 1 - c1 - cmu + (hsig ? 0 : c1 * cc * (2 - cc));
+    if (diagonal) {
+      for (int j = 0; j < n; j++) {
+        double rankMu = 0;
+        for (int i = 0; i < mu; i++) {
+          double value = y[ranking[i] * n + j];
+          rankMu += weights[i] * value * value;
+        }
+        cov[j] = decay * cov[j] + c1 * pc[j] * pc[j] + cmu * rankMu;
+      }
+    } else if (parallel) {
+      IntStream.range(0, n).parallel().forEach(r -> updateRow(r, decay));
+    } else {
+      for (int r = 0; r < n; r++) {
+        updateRow(r, decay);
+      }
+    }
+
+    sigma *= Math.exp(Math.min(1, (cs / damps) * (norm / chiN - 1)));
+    generation++;
+
+    if (diagonal) {
+      for (int j = 0; j < n; j++) {
+        scale[j] = Math.sqrt(Math.max(cov[j], Double.MIN_NORMAL));
+      }
+    } else if (generation - eigenGeneration >= eigenInterval()) {
+      decompose();
+    }
+  }
+
+  /**
+   * Updates a row of the covariance matrix with the rank-one and the
+   * rank-mu terms.
+   *
+   * @param r [int] The row.
+   * @param decay [double] Factor of the previous matrix.
+   */
+  private void updateRow(int r, double decay) {
+    int n = dimensions;
+    int row = r * n;
+    double pr = c1 * pc[r];
+    for (int c = 0; c < n; c++) {
+      cov[row + c] = decay * cov[row + c] + pr * pc[c];
+    }
+    for (int i = 0; i < mu; i++) {
+      int individual = ranking[i] * n;
+      double wr = cmu * weights[i] * y[individual + r];
+      for (int c = 0; c < n; c++) {
+        cov[row + c] += wr * y[individual + c];
+      }
+    }
+  }
+
+  /**
+   * Gets the number of generations between two eigendecompositions, so
+   * their cost stays in O(n^2) per generation.
+   *
+   * @return [int] The number of generations, at least 1.
+   */
+  private int eigenInterval() {
+    return Math.max(1, (int) (1 / ((c1 + cmu) * dimensions * 10)));
+  }
+
+  /**
+   * Computes the eigenvectors and the square roots of the eigenvalues of the
+   * covariance matrix, after making it exactly symmetric.
+   */
+  private void decompose() {
+    int n = dimensions;
+    double[][] matrix = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j <= i; j++) {
+        double value = (cov[i * n + j] + cov[j * n + i]) / 2;
+        cov[i * n + j] = value;
+        cov[j * n + i] = value;
+        matrix[i][j] = value;
+        matrix[j][i] = value;
+      }
+    }
+    double[] values = new double[n];
+    SymmetricEigensolver.decompose(matrix, values);
+    for (int i = 0; i < n; i++) {
+      scale[i] = Math.sqrt(Math.max(values[i], Double.MIN_NORMAL));
+      for (int j = 0; j < n; j++) {
+        basis[i * n + j] = matrix[i][j];
+      }
+    }
+    eigenGeneration = generation;
+    decompositions++;
+  }
+
+  /**
+   * Multiplies a vector by the inverse square root of the covariance matrix.
+   *
+   * @param vector [double[]] The vector.
+   * @return [double[]] B D^(-1) B^T times the vector.
+   */
+  private double[] whiten(double[] vector) {
+    int n = dimensions;
+    double[] result = new double[n];
+    if (basis == null) {
+      for (int j = 0; j < n; j++) {
+        result[j] = vector[j] / scale[j];
+      }
+      return result;
+    }
+    double[] projected = new double[n];
+    for (int c = 0; c < n; c++) {
+      double sum = 0;
+      for (int r = 0; r < n; r++) {
+        sum += basis[r * n + c] * vector[r];
+      }
+      projected[c] = sum / scale[c];
+    }
+    for (int r = 0; r < n; r++) {
+      double sum = 0;
+      for (int c = 0; c < n; c++) {
+        sum += basis[r * n + c] * projected[c];
+      }
+      result[r] = sum;
+    }
+    return result;
+  }
+
+  /**
+   * Checks the usual stopping criteria of CMA-ES: flat fitness along the
+   * last generations, steps negligible compared with the initial one, an
+   * ill-conditioned matrix or steps that no longer change the mean.
+   *
+   * @return [boolean] True if the run should be restarted.
+   */
+  private boolean stagnated() {
+    if (!Double.isFinite(sigma)) {
+      return true;
+    }
+    int n = dimensions;
+    if (generation >= history.length) {
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for (double value : history) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      for (double value : fitness) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      if (max - min < TOL_FUN) {
+        return true;
+      }
+    }
+    boolean small = true;
+    for (int i = 0; i < n; i++) {
+      double deviation = Math.sqrt(diagonal ? cov[i] : cov[i * n + i]);
+      if (sigma * Math.max(Math.abs(pc[i]), deviation) >= TOL_X * sigma0) {
+        small = false;
+      }
+      if (mean[i] == mean[i] + 0.2 * sigma * deviation) {
+        return true;
+      }
+    }
+    if (small) {
+      return true;
+    }
+    double minScale = Double.POSITIVE_INFINITY;
+    double maxScale = 0;
+    for (double value : scale) {
+      minScale = Math.min(minScale, value);
+      maxScale = Math.max(maxScale, value);
+    }
+    return (maxScale / minScale) * (maxScale / minScale) > MAX_CONDITION;
+  }
+
+  /**
+   * Starts a new run from a random mean. IPOP doubles the population; BIPOP
+   * does it when the runs with small populations have spent at least as
+   * many evaluations, and otherwise draws a population between the default
+   * and half the last doubled one, with a smaller step size.
+   *
+   * @throws IllegalArgumentException If the operator creates shorter states.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void restart()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    restarts++;
+    stagnated = false;
+    RandomGenerator generator = RandomService.generator();
+    int limit = Math.max(baseLambda, MAX_CELLS / dimensions);
+    double stepSize = defaultSigma();
+    int populationSize;
+    if (restart == CmaRestart.BIPOP && smallEvaluations < largeEvaluations && largeRuns > 0) {
+      smallRegime = true;
+      double largest = baseLambda * Math.pow(2, largeRuns);
+      double u = generator.nextDouble();
+      populationSize = (int) Math.floor(baseLambda * Math.pow(0.5 * largest / baseLambda, u * u));
+      stepSize *= Math.pow(10, -2 * generator.nextDouble());
+    } else {
+      smallRegime = false;
+      largeRuns++;
+      populationSize = (int) Math.min(limit, baseLambda * Math.pow(2, largeRuns));
+    }
+    start(Math.max(2, Math.min(limit, populationSize)), stepSize, randomMean());
+  }
+
+  /**
+   * Gets the initial step size.
+   *
+   * @return [double] The configured one, or 0.3 times the width of the bounds, or 1.
+   */
+  private double defaultSigma() {
+    if (!Double.isNaN(initialSigma)) {
+      return initialSigma;
+    }
+    if (Double.isFinite(lower) && Double.isFinite(upper) && upper > lower) {
+      return 0.3 * (upper - lower);
+    }
+    return 1;
+  }
+
+  /**
+   * Draws a mean: uniform inside the bounds when both are finite, and taken
+   * from a random state of the operator of the problem otherwise.
+   *
+   * @return [double[]] The mean.
+   * @throws IllegalArgumentException If the operator creates shorter states.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private double[] randomMean()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    double[] values = new double[dimensions];
+    if (Double.isFinite(lower) && Double.isFinite(upper)) {
+      RandomGenerator generator = RandomService.generator();
+      for (int i = 0; i < dimensions; i++) {
+        values[i] = lower + (upper - lower) * generator.nextDouble();
+      }
+      return values;
+    }
+    State state = problem.getOperator().generateRandomState(1).get(0);
+    if (state.size() < dimensions) {
+      throw new IllegalArgumentException("El operador creó un estado de " + state.size()
+          + " variables y la estrategia tiene " + dimensions);
+    }
+    for (int i = 0; i < dimensions; i++) {
+      values[i] = Math.max(lower, Math.min(upper, state.getDouble(i)));
+    }
+    return values;
+  }
+
+  /**
+   * Checks if an evaluation improves another one.
+   *
+   * @param candidate [double] The new evaluation.
+   * @param current [double] The current evaluation.
+   * @return [boolean] True if the new evaluation is strictly better.
+   */
+  private boolean better(double candidate, double current) {
+    return maximize ? candidate > current : candidate < current;
+  }
+
+  /**
+   * Gets the best state found by all the runs.
+   *
+   * @return [State] A copy of the variables, with their evaluation, or null
+   *         before the first generation.
+   */
+  public State getBestState() {
+    if (best == null) {
+      return null;
+    }
+    DoubleState state = new DoubleState(best);
+    state.setEvaluation(List.of(bestFitness));
+    state.setTypeGenerator(GeneratorType.CovarianceMatrixAdaptation);
+    return state;
+  }
+
+  /**
+   * Gets the evaluation of the best state found by all the runs.
+   *
+   * @return [double] The evaluation, or NaN before the first generation.
+   */
+  public double getBestFitness() {
+    return bestFitness;
+  }
+
+  /**
+   * Gets an individual of the last generation as a state.
+   *
+   * @param individual [int] Position of the individual in the generation.
+   * @return [State] A copy of its variables, with its evaluation.
+   */
+  public State getIndividualState(int individual) {
+    DoubleState state = new DoubleState(Arrays.copyOfRange(x, individual * dimensions, (individual + 1) * dimensions));
+    state.setEvaluation(List.of(fitness[individual]));
+    state.setTypeGenerator(GeneratorType.CovarianceMatrixAdaptation);
+    return state;
+  }
+
+  /**
+   * Gets the size of the population of the current run.
+   *
+   * @return [int] The population, 0 before the initialization.
+   */
+  public int getPopulationSize() {
+    return lambda;
+  }
+
+  /**
+   * Gets the mean of the distribution.
+   *
+   * @return [double[]] A copy of the mean, or null before the initialization.
+   */
+  public double[] getMean() {
+    return (mean != null) ? mean.clone() : null;
+  }
+
+  /**
+   * Gets the step size.
+   *
+   * @return [double] The step size.
+   */
+  public double getSigma() {
+    return sigma;
+  }
+
+  /**
+   * Gets the number of variables.
+   *
+   * @return [int] The number of dimensions.
+   */
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  /**
+   * Gets the number of generations of the current run.
+   *
+   * @return [int] The number of generations.
+   */
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Gets the number of evaluations of all the runs.
+   *
+   * @return [long] The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  /**
+   * Gets the number of restarts.
+   *
+   * @return [int] The number of restarts.
+   */
+  public int getRestarts() {
+    return restarts;
+  }
+
+  /**
+   * Gets the number of eigendecompositions of the covariance matrix.
+   *
+   * @return [int] The number of decompositions.
+   */
+  public int getDecompositions() {
+    return decompositions;
+  }
+
+  /**
+   * Saves the configuration and the distribution of the search, with its
+   * last generation.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    out.writeInt(dimensions);
+    out.writeBoolean(diagonal);
+    out.writeInt(restart.ordinal());
+    out.writeBoolean(parallel);
+    out.writeInt(baseLambda);
+    out.writeDouble(initialSigma);
+    out.writeDouble(lower);
+    out.writeDouble(upper);
+    writeOptional(out, initialMean);
+    out.writeBoolean(mean != null);
+    if (mean == null) {
+      return;
+    }
+    out.writeInt(lambda);
+    out.writeDouble(sigma0);
+    out.writeDouble(sigma);
+    writeDoubles(out, mean);
+    writeDoubles(out, pc);
+    writeDoubles(out, ps);
+    writeDoubles(out, cov);
+    if (basis != null) {
+      writeDoubles(out, basis);
+    }
+    writeDoubles(out, scale);
+    writeDoubles(out, x);
+    writeDoubles(out, y);
+    writeDoubles(out, fitness);
+    writeDoubles(out, history);
+    out.writeInt(generation);
+    out.writeInt(eigenGeneration);
+    out.writeInt(decompositions);
+    out.writeLong(evaluations);
+    out.writeInt(restarts);
+    out.writeInt(largeRuns);
+    out.writeLong(largeEvaluations);
+    out.writeLong(smallEvaluations);
+    out.writeBoolean(smallRegime);
+    out.writeBoolean(stagnated);
+    writeOptional(out, best);
+    out.writeDouble(bestFitness);
+  }
+
+  /**
+   * Creates a search from a checkpoint written by {@link #writeCheckpoint}.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param problem [Problem] Problem of the search.
+   * @return [CmaEngine] The search, in the same generation as when it was saved.
+   * @throws IOException If the stream fails or does not hold a search.
+   */
+  public static CmaEngine readCheckpoint(CheckpointInput in, Problem problem) throws IOException {
+    CmaEngine engine;
+    try {
+      engine = new CmaEngine(problem, in.readInt());
+      engine.setDiagonal(in.readBoolean());
+      int restart = in.readInt();
+      if (restart < 0 || restart >= CmaRestart.values().length) {
+        throw new StreamCorruptedException("Política de reinicio desconocida: " + restart);
+      }
+      engine.setRestart(CmaRestart.values()[restart]);
+      engine.setParallel(in.readBoolean());
+      engine.setPopulationSize(in.readInt());
+      engine.initialSigma = in.readDouble();
+      engine.setBounds(in.readDouble(), in.readDouble());
+      engine.setInitialMean(readOptional(in, engine.dimensions));
+    } catch (IllegalArgumentException e) {
+      StreamCorruptedException corrupted = new StreamCorruptedException("Estrategia no válida en el checkpoint");
+      corrupted.initCause(e);
+      throw corrupted;
+    }
+    if (!in.readBoolean()) {
+      return engine;
+    }
+    int lambda = in.readInt();
+    if (lambda < 2) {
+      throw new StreamCorruptedException("Población no válida en el checkpoint: " + lambda);
+    }
+    double sigma0 = in.readDouble();
+    engine.start(lambda, in.readDouble(), new double[engine.dimensions]);
+    engine.sigma0 = sigma0;
+    readDoubles(in, engine.mean);
+    readDoubles(in, engine.pc);
+    readDoubles(in, engine.ps);
+    readDoubles(in, engine.cov);
+    if (engine.basis != null) {
+      readDoubles(in, engine.basis);
+    }
+    readDoubles(in, engine.scale);
+    readDoubles(in, engine.x);
+    readDoubles(in, engine.y);
+    readDoubles(in, engine.fitness);
+    readDoubles(in, engine.history);
+    engine.generation = in.readInt();
+    engine.eigenGeneration = in.readInt();
+    engine.decompositions = in.readInt();
+    engine.evaluations = in.readLong();
+    engine.restarts = in.readInt();
+    engine.largeRuns = in.readInt();
+    engine.largeEvaluations = in.readLong();
+    engine.smallEvaluations = in.readLong();
+    engine.smallRegime = in.readBoolean();
+    engine.stagnated = in.readBoolean();
+    engine.best = readOptional(in, engine.dimensions);
+    engine.bestFitness = in.readDouble();
+    for (int k = 0; k < engine.lambda; k++) {
+      engine.states[k].setValues(engine.x, k * engine.dimensions, engine.dimensions);
+      engine.states[k].setEvaluation(List.of(engine.fitness[k]));
+    }
+    return engine;
+  }
+
+  /**
+   * Writes an array of doubles of known length.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @param values [double[]] The values.
+   * @throws IOException If the stream fails.
+   */
+  private static void writeDoubles(CheckpointOutput out, double[] values) throws IOException {
+    for (double value : values) {
+      out.writeDouble(value);
+    }
+  }
+
+  /**
+   * Reads an array of doubles of known length.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param target [double[]] Array to fill.
+   * @throws IOException If the stream fails.
+   */
+  private static void readDoubles(CheckpointInput in, double[] target) throws IOException {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = in.readDouble();
+    }
+  }
+
+  /**
+   * Writes an optional array of doubles of known length.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @param values [double[]] The values, or null.
+   * @throws IOException If the stream fails.
+   */
+  private static void writeOptional(CheckpointOutput out, double[] values) throws IOException {
+    out.writeBoolean(values != null);
+    if (values != null) {
+      writeDoubles(out, values);
+    }
+  }
+
+  /**
+   * Reads an optional array of doubles of known length.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param length [int] Length of the array.
+   * @return [double[]] The values, or null.
+   * @throws IOException If the stream fails.
+   */
+  private static double[] readOptional(CheckpointInput in, int length) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    double[] values = new double[length];
+    readDoubles(in, values);
+    return values;
+  }
+}
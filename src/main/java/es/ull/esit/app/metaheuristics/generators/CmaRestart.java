@@ -0,0 +1,22 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+/**
+ * Restart policy of a {@link CmaEngine}, applied when the search stagnates:
+ * its fitness stops changing, its steps become too small or its covariance
+ * matrix becomes ill-conditioned.
+ */
+public enum CmaRestart {
+
+  /** The search goes on without restarts. */
+  NONE,
+
+  /** IPOP-CMA-ES: each restart doubles the population, from a new random mean. */
+  IPOP,
+
+  /**
+   * BIPOP-CMA-ES: restarts alternate between doubling populations and small
+   * populations with smaller steps, giving both regimes the same number of
+   * evaluations.
+   */
+  BIPOP
+}
@@ -0,0 +1,507 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Generator that runs a {@link CmaEngine} on the continuous variables of the
+ * problem. The engine samples and evaluates a whole generation at once; the
+ * generator then returns its individuals one by one, already evaluated, and
+ * moves to the next generation when all of them were returned. The search
+ * starts at the reference of the generator, or at the state of the problem,
+ * and keeps the best state it has returned as its reference.
+ * <p>
+ * The problems do not declare the bounds of their variables, so they are set
+ * here with the rest of the configuration, in the settings of the current
+ * run.
+ */
+public class CovarianceMatrixAdaptation extends Generator {
+
+  /**
+   * Settings of CMA-ES, kept in the current SearchContext so runs executed in
+   * parallel can be configured apart.
+   */
+  private static final class Settings {
+    /** Settings of a context that did not configure the generator. */
+    private static final Settings DEFAULT = new Settings(false, CmaRestart.NONE, 0, 0,
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    /** Whether only the variances are adapted (sep-CMA-ES). */
+    private final boolean diagonal;
+
+    /** Restart policy. */
+    private final CmaRestart restart;
+
+    /** Population of the first run; 0 uses 4 + 3 ln(n). */
+    private final int populationSize;
+
+    /** Initial step size; 0 derives it from the bounds. */
+    private final double sigma;
+
+    /** Lower bound of every variable. */
+    private final double lowerBound;
+
+    /** Upper bound of every variable. */
+    private final double upperBound;
+
+    /**
+     * Constructor.
+     * @param diagonal [boolean] Whether only the variances are adapted.
+     * @param restart [CmaRestart] Restart policy.
+     * @param populationSize [int] Population of the first run.
+     * @param sigma [double] Initial step size.
+     * @param lowerBound [double] Lower bound of every variable.
+     * @param upperBound [double] Upper bound of every variable.
+     */
+    private Settings(boolean diagonal, CmaRestart restart, int populationSize, double sigma,
+        double lowerBound, double upperBound) {
+      this.diagonal = diagonal;
+      this.restart = restart;
+      this.populationSize = populationSize;
+      this.sigma = sigma;
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+    }
+  }
+
+  /** Best state returned by the generator. */
+  private State stateReferenceCMA;
+
+  /** List of reference states. */
+  private List<State> listStateReference = new ArrayList<>();
+
+  /** Generator type. */
+  private GeneratorType generatorType;
+
+  /** Search of the generator, created at the first generation. */
+  private CmaEngine engine;
+
+  /** Individuals of the current generation already returned to the run. */
+  private int served;
+
+  /** Weight of the generator. */
+  private float weight = 50.0f;
+
+  /** List of counts of better genders. */
+  private int[] listCountBetterGender = new int[10];
+
+  /** List of counts of genders. */
+  private int[] listCountGender = new int[10];
+
+  /**
+   * Constructor.
+   */
+  public CovarianceMatrixAdaptation() {
+    super();
+    this.generatorType = GeneratorType.CovarianceMatrixAdaptation;
+  }
+
+  /**
+   * Returns the next individual of the current generation. When all the
+   * individuals were returned, the engine samples and evaluates the next
+   * generation as one batch.
+   *
+   * @param operatornumber [Integer] Not used: the size of the generations is fixed by the engine.
+   * @return [State] The individual, already evaluated.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  @Override
+  public State generate(Integer operatornumber)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (engine == null) {
+      engine = createEngine();
+      served = engine.getPopulationSize();
+    }
+    if (served >= engine.getPopulationSize()) {
+      engine.step();
+      served = 0;
+    }
+    return engine.getIndividualState(served++);
+  }
+
+  /**
+   * Creates the engine around the reference of the generator, or the state
+   * of the problem, with the settings of the current run.
+   *
+   * @return [CmaEngine] The engine, initialized.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private CmaEngine createEngine()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    Problem problem = Strategy.getStrategy().getProblem();
+    State start = (stateReferenceCMA != null) ? stateReferenceCMA : problem.getState();
+    int dimensions;
+    if (start != null && start.size() > 0) {
+      dimensions = start.size();
+    } else if (problem.getCodification() != null) {
+      dimensions = problem.getCodification().getVariableCount();
+      start = null;
+    } else {
+      throw new IllegalStateException("No se conoce el número de variables del problema");
+    }
+    Settings settings = settings();
+    CmaEngine cma = new CmaEngine(problem, dimensions);
+    cma.setDiagonal(settings.diagonal);
+    cma.setRestart(settings.restart);
+    cma.setBounds(settings.lowerBound, settings.upperBound);
+    if (settings.populationSize > 0) {
+      cma.setPopulationSize(settings.populationSize);
+    }
+    if (settings.sigma > 0) {
+      cma.setSigma(settings.sigma);
+    }
+    if (start != null) {
+      double[] mean = new double[dimensions];
+      for (int i = 0; i < dimensions; i++) {
+        mean[i] = start.getDouble(i);
+      }
+      cma.setInitialMean(mean);
+    }
+    // Si el problema evalúa en paralelo, también se muestrea en paralelo.
+    cma.setParallel(problem.getEvaluationExecutor() != null);
+    cma.initialize();
+    return cma;
+  }
+
+  /**
+   * Keeps the candidate as reference if it improves it.
+   *
+   * @param stateCandidate [State] The candidate state.
+   * @param countIterationsCurrent [Integer] The current iteration count.
+   */
+  @Override
+  public void updateReference(State stateCandidate, Integer countIterationsCurrent) {
+    if (stateReferenceCMA == null || stateReferenceCMA.getEvaluation() == null
+        || stateReferenceCMA.getEvaluation().isEmpty() || awardUpdateREF(stateCandidate)) {
+      stateReferenceCMA = stateCandidate;
+    }
+  }
+
+  /**
+   * Gets the reference state.
+   *
+   * @return [State] The best state returned by the generator.
+   */
+  @Override
+  public State getReference() {
+    return stateReferenceCMA;
+  }
+
+  /**
+   * Sets the initial reference state, where the search starts.
+   *
+   * @param stateInitialRef [State] The initial reference state.
+   */
+  @Override
+  public void setInitialReference(State stateInitialRef) {
+    this.stateReferenceCMA = stateInitialRef;
+  }
+
+  /**
+   * Gets the type of generator.
+   *
+   * @return [GeneratorType] The type of generator.
+   */
+  @Override
+  public GeneratorType getType() {
+    return this.generatorType;
+  }
+
+  /**
+   * Gets the list of reference states.
+   *
+   * @return [List<State>] The list of reference states.
+   */
+  @Override
+  public List<State> getReferenceList() {
+    if (stateReferenceCMA != null && !listStateReference.contains(stateReferenceCMA)) {
+      listStateReference.add(stateReferenceCMA);
+    }
+    return new ArrayList<>(listStateReference);
+  }
+
+  /**
+   * Gets the list of son states.
+   *
+   * @return [List<State>] An empty list: the generations are kept by the engine.
+   */
+  @Override
+  public List<State> getSonList() {
+    return new ArrayList<>();
+  }
+
+  /**
+   * Checks whether a candidate improves the reference.
+   *
+   * @param stateCandidate [State] The candidate state.
+   * @return [boolean] True if the candidate is strictly better.
+   */
+  @Override
+  public boolean awardUpdateREF(State stateCandidate) {
+    if (stateReferenceCMA == null) {
+      return true;
+    }
+    double candidate = stateCandidate.getEvaluation().get(0);
+    double reference = stateReferenceCMA.getEvaluation().get(0);
+    if (Strategy.getStrategy().getProblem().getTypeProblem().equals(ProblemType.MAXIMIZAR)) {
+      return candidate > reference;
+    }
+    return candidate < reference;
+  }
+
+  /**
+   * Checks whether the states returned by generate are already evaluated,
+   * which they always are.
+   *
+   * @return [boolean] True.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return true;
+  }
+
+  /**
+   * Gets the engine of the generator.
+   *
+   * @return [CmaEngine] The engine, or null before the first generation.
+   */
+  public CmaEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Gets the weight of the generator.
+   *
+   * @return [float] The weight of the generator.
+   */
+  @Override
+  public float getWeight() {
+    return this.weight;
+  }
+
+  /**
+   * Sets the weight of the generator.
+   *
+   * @param weight [float] The weight to set.
+   */
+  @Override
+  public void setWeight(float weight) {
+    this.weight = weight;
+  }
+
+  /**
+   * Gets the list of counts of better genders.
+   *
+   * @return [int[]] The list of counts of better genders.
+   */
+  @Override
+  public int[] getListCountBetterGender() {
+    return this.listCountBetterGender;
+  }
+
+  /**
+   * Gets the list of counts of genders.
+   *
+   * @return [int[]] The list of counts of genders.
+   */
+  @Override
+  public int[] getListCountGender() {
+    return this.listCountGender;
+  }
+
+  /**
+   * Gets the settings of the current run.
+   *
+   * @return [Settings] The settings, or the defaults if the run set none.
+   */
+  private static Settings settings() {
+    return SearchContext.current().getSetting(Settings.class, Settings.DEFAULT);
+  }
+
+  /**
+   * Replaces the settings of the current run.
+   *
+   * @param settings [Settings] The new settings.
+   */
+  private static void configure(Settings settings) {
+    SearchContext.current().setSetting(Settings.class, settings);
+  }
+
+  /**
+   * Checks whether only the variances are adapted in the current run.
+   *
+   * @return [boolean] True in the diagonal variant.
+   */
+  public static boolean isDiagonal() {
+    return settings().diagonal;
+  }
+
+  /**
+   * Sets whether only the variances are adapted (sep-CMA-ES) in the current
+   * run, which suits problems of many variables.
+   *
+   * @param diagonal [boolean] True for the diagonal variant.
+   */
+  public static void setDiagonal(boolean diagonal) {
+    Settings s = settings();
+    configure(new Settings(diagonal, s.restart, s.populationSize, s.sigma, s.lowerBound, s.upperBound));
+  }
+
+  /**
+   * Gets the restart policy of the current run.
+   *
+   * @return [CmaRestart] The policy.
+   */
+  public static CmaRestart getRestart() {
+    return settings().restart;
+  }
+
+  /**
+   * Sets the restart policy of the current run.
+   *
+   * @param restart [CmaRestart] The policy.
+   */
+  public static void setRestart(CmaRestart restart) {
+    if (restart == null) {
+      throw new IllegalArgumentException("La política de reinicio no puede ser nula");
+    }
+    Settings s = settings();
+    configure(new Settings(s.diagonal, restart, s.populationSize, s.sigma, s.lowerBound, s.upperBound));
+  }
+
+  /**
+   * Gets the population of the first run of CMA-ES in the current run.
+   *
+   * @return [int] The population; 0 uses 4 + 3 ln(n).
+   */
+  public static int getPopulationSize() {
+    return settings().populationSize;
+  }
+
+  /**
+   * Sets the population of the first run of CMA-ES in the current run.
+   *
+   * @param populationSize [int] The population, 2 or more; 0 uses 4 + 3 ln(n).
+   */
+  public static void setPopulationSize(int populationSize) {
+    if (populationSize != 0 && populationSize < 2) {
+      throw new IllegalArgumentException("La población debe tener al menos 2 individuos: " + populationSize);
+    }
+    Settings s = settings();
+    configure(new Settings(s.diagonal, s.restart, populationSize, s.sigma, s.lowerBound, s.upperBound));
+  }
+
+  /**
+   * Gets the initial step size of the current run.
+   *
+   * @return [double] The step size; 0 derives it from the bounds.
+   */
+  public static double getSigma() {
+    return settings().sigma;
+  }
+
+  /**
+   * Sets the initial step size of the current run.
+   *
+   * @param sigma [double] The step size; 0 derives it from the bounds.
+   */
+  public static void setSigma(double sigma) {
+    if (!(sigma >= 0) || Double.isInfinite(sigma)) {
+      throw new IllegalArgumentException("El paso inicial debe ser positivo: " + sigma);
+    }
+    Settings s = settings();
+    configure(new Settings(s.diagonal, s.restart, s.populationSize, sigma, s.lowerBound, s.upperBound));
+  }
+
+  /**
+   * Gets the lower bound of every variable in the current run.
+   *
+   * @return [double] The lower bound.
+   */
+  public static double getLowerBound() {
+    return settings().lowerBound;
+  }
+
+  /**
+   * Gets the upper bound of every variable in the current run.
+   *
+   * @return [double] The upper bound.
+   */
+  public static double getUpperBound() {
+    return settings().upperBound;
+  }
+
+  /**
+   * Sets the bounds of every variable in the current run.
+   *
+   * @param lowerBound [double] Lower bound.
+   * @param upperBound [double] Upper bound.
+   */
+  public static void setBounds(double lowerBound, double upperBound) {
+    if (!(lowerBound <= upperBound)) {
+      throw new IllegalArgumentException("Límites inválidos: [" + lowerBound + ", " + upperBound + "]");
+    }
+    Settings s = settings();
+    configure(new Settings(s.diagonal, s.restart, s.populationSize, s.sigma, lowerBound, upperBound));
+  }
+
+  /**
+   * Writes the state of the generator: its reference, the engine and the
+   * position of the next individual to return.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    writeCounters(out);
+    out.writeState(stateReferenceCMA);
+    out.writeBoolean(engine != null);
+    if (engine != null) {
+      engine.writeCheckpoint(out);
+      out.writeInt(served);
+    }
+  }
+
+  /**
+   * Restores the state of the generator.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    readCounters(in);
+    stateReferenceCMA = in.readState();
+    if (in.readBoolean()) {
+      engine = CmaEngine.readCheckpoint(in, Strategy.getStrategy().getProblem());
+      served = in.readInt();
+    } else {
+      engine = null;
+    }
+  }
+}
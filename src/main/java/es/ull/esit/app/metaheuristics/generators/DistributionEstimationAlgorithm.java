@@ -1,14 +1,19 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 
 import es.ull.esit.app.problem.definition.State;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
 
+import es.ull.esit.app.evolutionary_algorithms.complement.Distribution;
 import es.ull.esit.app.evolutionary_algorithms.complement.DistributionType;
 import es.ull.esit.app.evolutionary_algorithms.complement.FatherSelection;
 import es.ull.esit.app.evolutionary_algorithms.complement.Replace;
@@ -17,10 +22,12 @@ import es.ull.esit.app.evolutionary_algorithms.complement.Sampling;
 import es.ull.esit.app.evolutionary_algorithms.complement.SamplingType;
 import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
 import es.ull.esit.app.factory_interface.IFFSampling;
+import es.ull.esit.app.factory_interface.IFFactoryDistribution;
 import es.ull.esit.app.factory_interface.IFFactoryFatherSelection;
 import es.ull.esit.app.factory_interface.IFFactoryReplace;
 import es.ull.esit.app.factory_method.FactoryFatherSelection;
 import es.ull.esit.app.factory_method.FactoryReplace;
+import es.ull.esit.app.factory_method.FactoryDistribution;
 import es.ull.esit.app.factory_method.FactorySampling;
 
 /**
@@ -32,8 +39,6 @@ public class DistributionEstimationAlgorithm extends Generator {
   private State stateReferenceDA;
   /** List of reference states for the DEA. */
   private List<State> referenceList = new ArrayList<>();
-  /** List of son states generated by the DEA. */
-  private static List<State> sonList = new ArrayList<>();
   /** Type of distribution used in the DEA. */
   private DistributionType distributionType;
   /** Type of sampling used in the DEA. */
@@ -51,15 +56,21 @@ public class DistributionEstimationAlgorithm extends Generator {
   /** Weight parameter for the DEA. */
   private float weight;
 
-  /** Counter for reference states. */
-  private static int countRef = 0;
+  /**
+   * Per-run state of the generator, kept in the current SearchContext so runs
+   * executed in parallel do not share it.
+   */
+  private static final class RunState {
+    /** Counter for reference states. */
+    private int countRef = 0;
+    /** List of son states generated by the DEA. */
+    private List<State> sonList = new ArrayList<>();
+  }
 
   /** List of counts for better gender evaluations. */
   private int[] listCountBetterGenderDistribution = new int[10];
   /** List of counts for gender evaluations. */
   private int[] listCountGender = new int[10];
-  /** Trace list for recording weight changes. */
-  private float[] listTrace = new float[1200000];
 
   /**
    * Constructor method.
@@ -76,10 +87,8 @@ public class DistributionEstimationAlgorithm extends Generator {
     // Por claridad re-inicializamos los arrays (aunque ya tienen new en la declaración)
     this.listCountBetterGenderDistribution = new int[10];
     this.listCountGender = new int[10];
-    this.listTrace = new float[1200000];
 
     // Valores iniciales
-    this.listTrace[0] = this.weight;
     this.listCountBetterGenderDistribution[0] = 0;
     this.listCountGender[0] = 0;
   }
@@ -92,12 +101,12 @@ public class DistributionEstimationAlgorithm extends Generator {
    * @return [State] Individual with the maximum evaluation.
    */
   public State maxValue(List<State> listInd) {
-    State state = new State(listInd.get(0));
+    State state = listInd.get(0).copy();
     double max = state.getEvaluation().get(0);
     for (int i = 1; i < listInd.size(); i++) {
       if (listInd.get(i).getEvaluation().get(0) > max) {
         max = listInd.get(i).getEvaluation().get(0);
-        state = new State(listInd.get(i));
+        state = listInd.get(i).copy();
       }
     }
     return state;
@@ -125,7 +134,14 @@ public class DistributionEstimationAlgorithm extends Generator {
     fathers = getfathersList();
     IFFSampling iffsampling = new FactorySampling();
     Sampling samplingG = iffsampling.createSampling(samplingType);
-    List<State> ind = samplingG.sampling(fathers, operatornumber);
+    List<State> ind;
+    if (samplingG.usesDistribution()) {
+      IFFactoryDistribution iffdistribution = new FactoryDistribution();
+      Distribution distribution = iffdistribution.createDistribution(distributionType);
+      ind = samplingG.sampling(fathers, operatornumber, distribution);
+    } else {
+      ind = samplingG.sampling(fathers, operatornumber);
+    }
     State candidate = null;
     if (ind.size() > 1) {
       for (int i = 0; i < ind.size(); i++) {
@@ -244,6 +260,15 @@ public class DistributionEstimationAlgorithm extends Generator {
     return referenceList;
   }
 
+  /**
+   * Gets the population from which the distribution is estimated.
+   * @return [List<State>] List of reference states.
+   */
+  @Override
+  public List<State> getPopulation() {
+    return referenceList;
+  }
+
   /**
    * Sets the list of reference states.
    * @param listReference [List<State>] List of reference states.
@@ -293,7 +318,7 @@ public class DistributionEstimationAlgorithm extends Generator {
    */
   @Override
   public List<State> getSonList() {
-    return sonList;
+    return runState().sonList;
   }
 
   /**
@@ -351,6 +376,22 @@ public class DistributionEstimationAlgorithm extends Generator {
    * Gets the sampling type used in the DEA.
    * @return [SamplingType] Sampling type used in the DEA.
    */
+  public SamplingType getSamplingType() {
+    return samplingType;
+  }
+
+  /**
+   * Sets the sampling type used in the DEA.
+   * @param samplingType [SamplingType] Sampling type used in the DEA.
+   */
+  public void setSamplingType(SamplingType samplingType) {
+    this.samplingType = samplingType;
+  }
+
+  /**
+   * Gets the list of better gender counts.
+   * @return [int[]] List of better gender counts.
+   */
   @Override
   public int[] getListCountBetterGender() {
     return this.listCountBetterGenderDistribution;
@@ -365,15 +406,6 @@ public class DistributionEstimationAlgorithm extends Generator {
     return this.listCountGender;
   }
 
-  /**
-   * Gets the trace of weight changes.
-   * @return [float[]] Trace of weight changes.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
   /**
    * Gets the replacement type used in the DEA.
    * @return [ReplaceType] Replacement type used in the DEA.
@@ -407,19 +439,58 @@ public class DistributionEstimationAlgorithm extends Generator {
   }
 
   /**
-   * Gets the counter for reference states.
+   * Gets the counter for reference states of the current run.
    * @return [int] Counter for reference states.
    */
   public static int getCountRef() {
-    return countRef;
+    return runState().countRef;
   }
 
 
   /**
-   * Sets the counter for reference states.
+   * Sets the counter for reference states of the current run.
    * @param countRef [int] Counter for reference states.
    */
   public static void setCountRef(int countRef) {
-    DistributionEstimationAlgorithm.countRef = countRef;
+    runState().countRef = countRef;
+  }
+
+  /**
+   * Gets the per-run state of the current context.
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
+
+  /**
+   * Writes the state of the generator: its reference, its population and the
+   * sampled individuals.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    writeCounters(out);
+    out.writeState(stateReferenceDA);
+    out.writeStates(referenceList);
+    out.writeStates(runState().sonList);
+  }
+
+  /**
+   * Restores the state of the generator, with its population.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    readCounters(in);
+    stateReferenceDA = in.readState();
+    List<State> population = in.readStates();
+    referenceList = (population != null) ? population : new ArrayList<>();
+    List<State> sons = in.readStates();
+    runState().sonList = (sons != null) ? sons : new ArrayList<>();
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,11 +1,15 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -32,9 +36,6 @@ public class EvolutionStrategies extends Generator {
   /** List of reference states for the Evolution Strategies. */
 	private List<State> listStateReference = new ArrayList<>();
 
-  /** Random number generator. */
-  private SecureRandom random = new SecureRandom();
-  
   /** Type of generator. */
 	private GeneratorType generatorType;
   /** Mutation probability. */
@@ -45,8 +46,14 @@ public class EvolutionStrategies extends Generator {
 	private static ReplaceType replaceType;
   /** Type of selection strategy. */
 	private static SelectionType selectionType;
-  /** Count reference for the generator. */
-	private static int countRef = 0;
+  /**
+   * Per-run state of the generator, kept in the current SearchContext so runs
+   * executed in parallel do not share it.
+   */
+  private static final class RunState {
+    /** Count reference for the generator. */
+    private int countRef = 0;
+  }
   /** Truncation parameter. */
 	private static int truncation;
   /** Weight for the generator. */
@@ -56,21 +63,17 @@ public class EvolutionStrategies extends Generator {
 	private int[] listCountBetterGenderEvolutionStrategies = new int[10];
   /** List for tracking gender counts. */
 	private int[] listCountGender = new int[10];
-  /** Trace list for the generator. */
-	private float[] listTrace = new float[1200000];
 	
 	public EvolutionStrategies() {
 		super();
     
     this.listCountBetterGenderEvolutionStrategies = new int[10];
     this.listCountGender = new int[10];
-    this.listTrace = new float[1200000];
 
     this.listStateReference = getListStateRef(); 
     this.generatorType = GeneratorType.EvolutionStrategies;
     this.weight = 50.0f;
 
-    this.listTrace[0] = this.weight;
     this.listCountBetterGenderEvolutionStrategies[0] = 0;
     this.listCountGender[0] = 0;
 	}
@@ -93,9 +96,15 @@ public class EvolutionStrategies extends Generator {
     	IFFactoryFatherSelection iffatherselection = new FactoryFatherSelection();
     	FatherSelection selection = iffatherselection.createSelectFather(selectionType);
     	List<State> fathers = selection.selection(this.listStateReference, truncation);
-    	int pos1 = random.nextInt(fathers.size());
-    	State candidate = (State) Strategy.getStrategy().getProblem().getState().getCopy();
-    	candidate.setCode(new ArrayList<>(fathers.get(pos1).getCode()));
+    	int pos1 = RandomService.generator().nextInt(fathers.size());
+    	State template = Strategy.getStrategy().getProblem().getState();
+    	State candidate;
+    	if (fathers.get(pos1).getClass() == template.getClass()) {
+    		candidate = (State) fathers.get(pos1).getCopy();
+    	} else {
+    		candidate = (State) template.getCopy();
+    		candidate.setCode(new ArrayList<>(fathers.get(pos1).getCode()));
+    	}
     	candidate.setEvaluation(fathers.get(pos1).getEvaluation());
     	candidate.setNumber(fathers.get(pos1).getNumber());
     	candidate.setTypeGenerator(fathers.get(pos1).getTypeGenerator());
@@ -214,6 +223,15 @@ public class EvolutionStrategies extends Generator {
 		return listStateReference;
 	}
 
+  /**
+   * Gets the population evolved by the Evolution Strategies.
+   * @return [List<State>] The list of reference states.
+   */
+	@Override
+	public List<State> getPopulation() {
+		return listStateReference;
+	}
+
   /**
    * Sets the list of reference states.
    * @param listStateReference [List<State>] The list of reference states to set.
@@ -310,28 +328,27 @@ public class EvolutionStrategies extends Generator {
 	}
 
   /**
-   * Gets the trace of the generator.
-   * @return [float[]] The trace of the generator.
-   */
-	@Override
-	public float[] getTrace() {
-		return this.listTrace;
-	}
-
-  /**
-   * Gets the count reference for the generator.
+   * Gets the count reference for the generator in the current run.
    * @return [int] The count reference for the generator.
    */
   public static int getCountRef() {
-    return countRef;
+    return runState().countRef;
   }
 
   /**
-   * Sets the count reference for the generator.
+   * Sets the count reference for the generator in the current run.
    * @param countRef [int] The count reference to set.
    */
   public static void setCountRef(int countRef) {
-    EvolutionStrategies.countRef = countRef;
+    runState().countRef = countRef;
+  }
+
+  /**
+   * Gets the per-run state of the current context.
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
   }
 
   /**
@@ -344,4 +361,30 @@ public class EvolutionStrategies extends Generator {
     return new ArrayList<>();
   }
 
+  /**
+   * Writes the state of the generator: its reference and its population.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    writeCounters(out);
+    out.writeState(stateReferenceES);
+    out.writeStates(listStateReference);
+  }
+
+  /**
+   * Restores the state of the generator, with its population.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    readCounters(in);
+    stateReferenceES = in.readState();
+    List<State> population = in.readStates();
+    listStateReference = (population != null) ? population : new ArrayList<>();
+  }
 }
@@ -0,0 +1,149 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+/**
+ * Discrete distribution over positions with weights that change one at a
+ * time, kept in a Fenwick tree: changing a weight and drawing a position take
+ * O(log n) and neither allocates. The tree is rebuilt from the weights every
+ * so many changes, so the rounding errors of the updates do not pile up.
+ */
+final class FenwickSampler {
+
+  /** Number of changes after which the tree is rebuilt. */
+  private static final int REBUILD_PERIOD = 1024;
+
+  /** Weight of each position. */
+  private final double[] weights;
+
+  /** Partial sums of the tree, from position 1. */
+  private final double[] tree;
+
+  /** Changes since the tree was rebuilt. */
+  private int changes;
+
+  /**
+   * Constructor. Every weight starts at zero.
+   *
+   * @param size [int] Number of positions.
+   */
+  FenwickSampler(int size) {
+    weights = new double[size];
+    tree = new double[size + 1];
+  }
+
+  /**
+   * Gets the number of positions.
+   *
+   * @return [int] The number of positions.
+   */
+  int size() {
+    return weights.length;
+  }
+
+  /**
+   * Gets the weight of a position.
+   *
+   * @param index [int] The position.
+   * @return [double] The weight.
+   */
+  double get(int index) {
+    return weights[index];
+  }
+
+  /**
+   * Changes the weight of a position.
+   *
+   * @param index [int] The position.
+   * @param weight [double] The weight; negative or undefined weights count as zero.
+   */
+  void set(int index, double weight) {
+    double value = (weight > 0 && weight < Double.POSITIVE_INFINITY) ? weight : 0;
+    double delta = value - weights[index];
+    weights[index] = value;
+    if (++changes >= REBUILD_PERIOD) {
+      rebuild();
+    } else if (delta != 0) {
+      for (int i = index + 1; i < tree.length; i += i & -i) {
+        tree[i] += delta;
+      }
+    }
+  }
+
+  /**
+   * Gets the sum of the weights.
+   *
+   * @return [double] The total weight.
+   */
+  double total() {
+    double sum = 0;
+    for (int i = weights.length; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+  /**
+   * Gets the probability of drawing a position.
+   *
+   * @param index [int] The position.
+   * @return [double] The probability, or zero if every weight is zero.
+   */
+  double probability(int index) {
+    double total = total();
+    return (total > 0) ? weights[index] / total : 0;
+  }
+
+  /**
+   * Draws a position with probability proportional to its weight.
+   *
+   * @param uniform [double] A uniform number in [0, 1).
+   * @return [int] The position. If every weight is zero, or the number is out
+   *         of range, the last position with weight, or the last one.
+   */
+  int sample(double uniform) {
+    double total = total();
+    double target = uniform * total;
+    if (!(total > 0) || !(target >= 0) || target >= total) {
+      return lastWithWeight();
+    }
+    // Mayor posición cuyo prefijo no supera el objetivo: los pesos cero se saltan.
+    int position = 0;
+    for (int step = Integer.highestOneBit(weights.length); step > 0; step >>= 1) {
+      int next = position + step;
+      if (next < tree.length && tree[next] <= target) {
+        position = next;
+        target -= tree[next];
+      }
+    }
+    return (position < weights.length) ? position : lastWithWeight();
+  }
+
+  /**
+   * Gets the last position with a positive weight.
+   *
+   * @return [int] The position, or the last one if every weight is zero.
+   */
+  private int lastWithWeight() {
+    for (int i = weights.length - 1; i > 0; i--) {
+      if (weights[i] > 0) {
+        return i;
+      }
+    }
+    return (weights.length > 0 && weights[0] > 0) ? 0 : weights.length - 1;
+  }
+
+  /**
+   * Rebuilds the partial sums from the weights in O(n).
+   */
+  private void rebuild() {
+    changes = 0;
+    for (int i = 1; i < tree.length; i++) {
+      tree[i] = weights[i - 1];
+    }
+    for (int i = 1; i < tree.length; i++) {
+      int parent = i + (i & -i);
+      if (parent < tree.length) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+}
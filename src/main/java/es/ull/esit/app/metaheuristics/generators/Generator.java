@@ -1,9 +1,12 @@
 package es.ull.esit.app.metaheuristics.generators;
 
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
 import es.ull.esit.app.problem.definition.State;
 
 
@@ -12,6 +15,9 @@ import es.ull.esit.app.problem.definition.State;
  */
 public abstract class Generator {
 
+  /** Trace of the weight of the generator along a multi-generator run. */
+	private final TraceBuffer listTrace = new TraceBuffer();
+
   /** Abstract method to generate a new state. 
    * @param operatornumber [Integer] Number of the operator to be used.
    * @throws NoSuchMethodException If the method does not exist.
@@ -88,10 +94,91 @@ public abstract class Generator {
 	public abstract float getWeight();
 
 	/**
-   * Abstract method to get the trace of the generator.
+   * Gets the trace of the generator, a copy of the weights recorded with
+   * {@link #recordTrace(int, float)}.
    * @return [float[]] The trace of the generator.
    */
-	public abstract float[] getTrace();
+	public float[] getTrace() {
+		return listTrace.toArray();
+	}
+
+  /**
+   * Records the weight of the generator at an iteration of a multi-generator
+   * run in the trace of the generator.
+   * @param iteration [int] Iteration of the value.
+   * @param weight [float] Weight of the generator at that iteration.
+   */
+	public void recordTrace(int iteration, float weight) {
+		listTrace.set(iteration, weight);
+	}
+
+  /**
+   * Gets the population evolved by the generator. The list is the one the
+   * generator works on, so changing its members changes the search; since an
+   * update may replace it, it must be asked for again after each update.
+   * @return [List<State>] The population, or null if the generator does not keep one.
+   */
+	public List<State> getPopulation() {
+		return null;
+	}
+
+  /**
+   * Checks whether the states returned by {@link #generate(Integer)} are
+   * already evaluated, so the run must not evaluate them again.
+   * @return [boolean] True if the generator evaluates its candidates; false by default.
+   */
+	public boolean evaluatesCandidates() {
+		return false;
+	}
+
+  /**
+   * Writes the state of the generator that a resumed run needs to continue
+   * where it stopped. By default it writes the weight, the counters and the
+   * reference; generators with more state (populations, temperatures...)
+   * extend it.
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+		writeCounters(out);
+		out.writeState(getReference());
+	}
+
+  /**
+   * Restores the state written by {@link #writeCheckpoint(CheckpointOutput)}.
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+	public void readCheckpoint(CheckpointInput in) throws IOException {
+		readCounters(in);
+		setInitialReference(in.readState());
+	}
+
+  /**
+   * Writes the weight and the counters of the generator.
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+	protected final void writeCounters(CheckpointOutput out) throws IOException {
+		out.writeFloat(getWeight());
+		out.writeInt(countGender);
+		out.writeInt(countBetterGender);
+		out.writeInts(getListCountGender());
+		out.writeInts(getListCountBetterGender());
+	}
+
+  /**
+   * Restores the weight and the counters of the generator.
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+	protected final void readCounters(CheckpointInput in) throws IOException {
+		setWeight(in.readFloat());
+		countGender = in.readInt();
+		countBetterGender = in.readInt();
+		in.readInts(getListCountGender());
+		in.readInts(getListCountBetterGender());
+	}
 
   /** Counter for gender statistics. */
 	public int countGender;
@@ -21,5 +21,6 @@ public enum GeneratorType {
   MultiCaseSimulatedAnnealing,          /** Multi-case Simulated Annealing generator type. */
   MultiobjectiveHillClimbingRestart,    /** Multi-objective Hill Climbing with Restart generator type. */
   MultiobjectiveHillClimbingDistance,   /** Multi-objective Hill Climbing with Distance generator type. */
-  HillClimbing;                         /** Hill Climbing generator type. */
+  HillClimbing,                         /** Hill Climbing generator type. */
+  CovarianceMatrixAdaptation;           /** Covariance Matrix Adaptation Evolution Strategy generator type. */
 }
@@ -1,11 +1,17 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Random;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 
 import es.ull.esit.app.problem.definition.State;
@@ -40,9 +46,6 @@ public class GeneticAlgorithm extends Generator {
   /** List of states in the Genetic Algorithm. */
   private List<State> listState = new ArrayList<>();
 
-  /** Random number generator. */
-  private SecureRandom random = new SecureRandom();
-
   /** Static configuration parameters for the Genetic Algorithm. */
   private static MutationType mutationType;
   private static CrossoverType crossoverType;
@@ -51,20 +54,51 @@ public class GeneticAlgorithm extends Generator {
 
   /** Type of the generator. */
   private GeneratorType generatorType;
-  /** Static configuration parameters for the Genetic Algorithm. */
-  private static double pc;
-  private static double pm;
-  /** Reference count for the Genetic Algorithm. */
-  private static int countRef = 0;
+  /** Crossover and mutation probabilities of this generator. */
+  private double pc;
+  private double pm;
   private static int truncation;
 
+  /**
+   * Per-run state of the Genetic Algorithm, kept in the current SearchContext
+   * so runs executed in parallel do not share it.
+   */
+  private static final class RunState {
+    /** Reference count for the Genetic Algorithm. */
+    private int countRef = 0;
+  }
+
+  /**
+   * Settings of the Genetic Algorithm, kept in the current SearchContext so
+   * runs executed in parallel can be configured apart.
+   */
+  private static final class Settings {
+    /** Settings of a context that did not configure the generator. */
+    private static final Settings DEFAULT = new Settings(1);
+
+    /** Children bred per generation; 1 breeds one child per iteration. */
+    private final int batchSize;
+
+    /**
+     * Constructor.
+     * @param batchSize [int] Children bred per generation.
+     */
+    private Settings(int batchSize) {
+      this.batchSize = batchSize;
+    }
+  }
+
+  /** Evaluated children of the current generation not returned yet. */
+  private final Deque<State> pending = new ArrayDeque<>();
+  /** Children of the current generation already returned to the run. */
+  private final List<State> offspring = new ArrayList<>();
+
   /** Weight parameter for the Genetic Algorithm. */
   private float weight;
 
   /** Static counters for gender statistics. */
   private int[] listCountBetterGenderGeneticAlgorithm = new int[10];
   private int[] listCountGender = new int[10];
-  private float[] listTrace = new float[1200000];
 
   /** Constructor */
   public GeneticAlgorithm() {
@@ -73,8 +107,7 @@ public class GeneticAlgorithm extends Generator {
     this.generatorType = GeneratorType.GeneticAlgorithm;
     this.weight = 50;
 
-    // Inicializamos trazas y contadores sobre los arrays CORRECTOS
-    listTrace[0] = this.weight;
+    // Inicializamos contadores sobre los arrays CORRECTOS
     listCountBetterGenderGeneticAlgorithm[0] = 0;
     listCountGender[0] = 0;
 
@@ -100,34 +133,122 @@ public class GeneticAlgorithm extends Generator {
   public State generate(Integer operatornumber)
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    int batchSize = getBatchSize();
+    if (batchSize > 1) {
+      if (pending.isEmpty()) {
+        List<State> batch = generateBatch(batchSize);
+        Strategy.getStrategy().getProblem().evaluateAll(batch);
+        pending.addAll(batch);
+      }
+      return pending.poll();
+    }
+    List<State> fathers = selectFathers();
+    IFFactoryCrossover iffactorycrossover = new FactoryCrossover();
+    IFFactoryMutation iffactorymutation = new FactoryMutation();
+    return breed(fathers, iffactorycrossover.createCrossover(crossoverType),
+        iffactorymutation.createMutation(mutationType));
+  }
+
+  /**
+   * Breeds a whole generation of children from the current population, which
+   * is not modified. The fathers are selected and the operators created once
+   * for the whole batch. The children are not evaluated.
+   *
+   * @param size [int] Number of children.
+   * @return [List<State>] The children.
+   * @throws IllegalArgumentException  If an illegal argument is provided.
+   * @throws SecurityException         If a security violation occurs.
+   * @throws ClassNotFoundException    If the class is not found.
+   * @throws InstantiationException    If there is an error during the
+   *                                   instantiation.
+   * @throws IllegalAccessException    If there is no access to the method.
+   * @throws InvocationTargetException If the method cannot be invoked.
+   * @throws NoSuchMethodException     If the method does not exist.
+   */
+  public List<State> generateBatch(int size)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+      IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    List<State> fathers = selectFathers();
+    IFFactoryCrossover iffactorycrossover = new FactoryCrossover();
+    Crossover crossover = iffactorycrossover.createCrossover(crossoverType);
+    IFFactoryMutation iffactorymutation = new FactoryMutation();
+    Mutation mutation = iffactorymutation.createMutation(mutationType);
+    List<State> children = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      children.add(breed(fathers, crossover, mutation));
+    }
+    return children;
+  }
 
+  /**
+   * Selects the fathers from the current population.
+   *
+   * @return [List<State>] The fathers.
+   * @throws IllegalArgumentException  If an illegal argument is provided.
+   * @throws SecurityException         If a security violation occurs.
+   * @throws ClassNotFoundException    If the class is not found.
+   * @throws InstantiationException    If there is an error during the
+   *                                   instantiation.
+   * @throws IllegalAccessException    If there is no access to the method.
+   * @throws InvocationTargetException If the method cannot be invoked.
+   * @throws NoSuchMethodException     If the method does not exist.
+   */
+  private List<State> selectFathers()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+      IllegalAccessException, InvocationTargetException, NoSuchMethodException {
     List<State> refList = new ArrayList<>(this.listState);
     IFFactoryFatherSelection iffatherselection = new FactoryFatherSelection();
     FatherSelection selection = iffatherselection.createSelectFather(selectionType);
-    List<State> fathers = selection.selection(refList, truncation);
-    int pos1 = random.nextInt(fathers.size());
-    int pos2 = random.nextInt(fathers.size());
-
-    State auxState1 = (State) Strategy.getStrategy().getProblem().getState().getCopy();
-    auxState1.setCode(new ArrayList<>(fathers.get(pos1).getCode()));
-    auxState1.setEvaluation(fathers.get(pos1).getEvaluation());
-    auxState1.setNumber(fathers.get(pos1).getNumber());
-    auxState1.setTypeGenerator(fathers.get(pos1).getTypeGenerator());
-
-    State auxState2 = (State) Strategy.getStrategy().getProblem().getState().getCopy();
-    auxState2.setCode(new ArrayList<>(fathers.get(pos2).getCode()));
-    auxState2.setEvaluation(fathers.get(pos2).getEvaluation());
-    auxState2.setNumber(fathers.get(pos2).getNumber());
-    auxState2.setTypeGenerator(fathers.get(pos2).getTypeGenerator());
+    return selection.selection(refList, truncation);
+  }
 
-    IFFactoryCrossover iffactorycrossover = new FactoryCrossover();
-    Crossover crossover = iffactorycrossover.createCrossover(crossoverType);
+  /**
+   * Breeds a child of two fathers chosen at random.
+   *
+   * @param fathers [List<State>] The selected fathers.
+   * @param crossover [Crossover] The crossover operator.
+   * @param mutation [Mutation] The mutation operator.
+   * @return [State] The child, not evaluated.
+   */
+  private State breed(List<State> fathers, Crossover crossover, Mutation mutation) {
+    int pos1 = RandomService.generator().nextInt(fathers.size());
+    int pos2 = RandomService.generator().nextInt(fathers.size());
+    State auxState1 = copyFather(fathers.get(pos1));
+    State auxState2 = copyFather(fathers.get(pos2));
     auxState1 = crossover.crossover(auxState1, auxState2, pc);
+    return mutation.mutation(auxState1, pm);
+  }
 
-    IFFactoryMutation iffactorymutation = new FactoryMutation();
-    Mutation mutation = iffactorymutation.createMutation(mutationType);
-    auxState1 = mutation.mutation(auxState1, pm);
-    return auxState1;
+  /**
+   * Copies a father into a new state of the class of the problem.
+   *
+   * @param father [State] The father.
+   * @return [State] The copy.
+   */
+  private static State copyFather(State father) {
+    State template = Strategy.getStrategy().getProblem().getState();
+    State copy;
+    if (father.getClass() == template.getClass()) {
+      copy = (State) father.getCopy();
+    } else {
+      copy = (State) template.getCopy();
+      copy.setCode(new ArrayList<>(father.getCode()));
+    }
+    copy.setEvaluation(father.getEvaluation());
+    copy.setNumber(father.getNumber());
+    copy.setTypeGenerator(father.getTypeGenerator());
+    return copy;
+  }
+
+  /**
+   * Checks whether the children returned by generate are already evaluated,
+   * which happens when a whole generation is bred and evaluated at once.
+   *
+   * @return [boolean] True in generational mode.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return getBatchSize() > 1;
   }
 
   /**
@@ -186,11 +307,44 @@ public class GeneticAlgorithm extends Generator {
   public void updateReference(State stateCandidate, Integer countIterationsCurrent)
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    int batchSize = getBatchSize();
+    if (batchSize > 1) {
+      // La generación entra en la población cuando se han devuelto todos sus hijos.
+      offspring.add(stateCandidate);
+      if (offspring.size() >= batchSize) {
+        updateReferenceBatch(new ArrayList<>(offspring), countIterationsCurrent);
+        offspring.clear();
+      }
+      return;
+    }
     IFFactoryReplace iffreplace = new FactoryReplace();
     Replace replace = iffreplace.createReplace(replaceType);
     listState = replace.replace(stateCandidate, listState);
   }
 
+  /**
+   * Puts a whole generation of evaluated children in the population with the
+   * batch replacement of the configured strategy.
+   *
+   * @param children                [List<State>] The children, evaluated.
+   * @param countIterationsCurrent  [Integer] The current iteration count.
+   * @throws IllegalArgumentException  If an illegal argument is provided.
+   * @throws SecurityException         If a security violation occurs.
+   * @throws ClassNotFoundException    If the class is not found.
+   * @throws InstantiationException    If there is an error during the
+   *                                   instantiation.
+   * @throws IllegalAccessException    If there is no access to the method.
+   * @throws InvocationTargetException If the method cannot be invoked.
+   * @throws NoSuchMethodException     If the method does not exist.
+   */
+  public void updateReferenceBatch(List<State> children, Integer countIterationsCurrent)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+      IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    IFFactoryReplace iffreplace = new FactoryReplace();
+    Replace replace = iffreplace.createReplace(replaceType);
+    listState = replace.replaceBatch(children, listState);
+  }
+
   /**
    * Gets the list of states in the Genetic Algorithm.
    * @return [List<State>] The list of states.
@@ -199,6 +353,15 @@ public class GeneticAlgorithm extends Generator {
     return listState;
   }
 
+  /**
+   * Gets the population of the Genetic Algorithm.
+   * @return [List<State>] The list of states.
+   */
+  @Override
+  public List<State> getPopulation() {
+    return listState;
+  }
+
   /**
    * Sets the list of states in the Genetic Algorithm.
    * @param listState [List<State>] The list of states to set.
@@ -330,26 +493,105 @@ public class GeneticAlgorithm extends Generator {
     return this.listCountGender;
   }
 
-  /**
-   * Gets the list of trace values.
-   * @return [float[]] The list of trace values.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
-  /** Gets the reference count for the Genetic Algorithm.
+  /** Gets the reference count for the Genetic Algorithm in the current run.
    * @return [int] The reference count.
    */
   public static int getCountRef() {
-    return countRef;
+    return runState().countRef;
   }
 
-  /** Sets the reference count for the Genetic Algorithm.
+  /** Sets the reference count for the Genetic Algorithm in the current run.
    * @param countRef [int] The reference count to set.
    */
   public static void setCountRef(int countRef) {
-    GeneticAlgorithm.countRef = countRef;
+    runState().countRef = countRef;
+  }
+
+  /** Gets the per-run state of the current context.
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
+
+  /** Gets the crossover probability of this generator.
+   * @return [double] The crossover probability.
+   */
+  public double getPc() {
+    return pc;
+  }
+
+  /** Sets the crossover probability of this generator.
+   * @param pc [double] The crossover probability.
+   */
+  public void setPc(double pc) {
+    this.pc = pc;
+  }
+
+  /** Gets the mutation probability of this generator.
+   * @return [double] The mutation probability.
+   */
+  public double getPm() {
+    return pm;
+  }
+
+  /** Sets the mutation probability of this generator.
+   * @param pm [double] The mutation probability.
+   */
+  public void setPm(double pm) {
+    this.pm = pm;
+  }
+
+  /** Gets the number of children bred per generation in the current run.
+   * @return [int] The batch size, 1 if one child is bred per iteration.
+   */
+  public static int getBatchSize() {
+    return SearchContext.current().getSetting(Settings.class, Settings.DEFAULT).batchSize;
+  }
+
+  /** Sets the number of children bred per generation in the current run. With more than one,
+   * each generation is bred from the same population, evaluated in parallel
+   * through Problem.evaluateAll and put in the population as a batch once
+   * the run has taken all its children.
+   * @param batchSize [int] The batch size, 1 to breed one child per iteration.
+   */
+  public static void setBatchSize(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("El tamaño de la generación debe ser positivo");
+    }
+    SearchContext.current().setSetting(Settings.class, new Settings(batchSize));
+  }
+
+  /**
+   * Writes the state of the generator: its reference and its population.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    writeCounters(out);
+    out.writeState(stateReferenceGA);
+    out.writeStates(listState);
+    out.writeStates(new ArrayList<>(pending));
+    out.writeStates(offspring);
+  }
+
+  /**
+   * Restores the state of the generator, with its population.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    readCounters(in);
+    stateReferenceGA = in.readState();
+    List<State> population = in.readStates();
+    listState = (population != null) ? population : new ArrayList<>();
+    pending.clear();
+    pending.addAll(in.readStates());
+    offspring.clear();
+    offspring.addAll(in.readStates());
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
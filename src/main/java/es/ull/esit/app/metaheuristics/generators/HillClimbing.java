@@ -47,7 +47,6 @@ public class HillClimbing extends Generator {
   /** Counters and traces for dynamic problems / portfolio. */
   private final int[] listCountBetterGenderHillClimbing = new int[10];
   private final int[] listCountGender = new int[10];
-  private final float[] listTrace = new float[1200000];
 
   /**
    * Default constructor.
@@ -71,8 +70,7 @@ public class HillClimbing extends Generator {
     // Link the specific array with the protected field of the superclass
     this.listCountBetterGender = this.listCountBetterGenderHillClimbing;
 
-    // Initialize traces and counters
-    listTrace[0] = this.weight;
+    // Initialize counters
     this.countBetterGender = 0;
     this.countGender = 0;
     this.listCountBetterGenderHillClimbing[0] = 0;
@@ -105,6 +103,17 @@ public class HillClimbing extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference state using the configured acceptance policy.
    */
@@ -259,12 +268,4 @@ public class HillClimbing extends Generator {
   public int[] getListCountGender() {
     return this.listCountGender;
   }
-
-  /**
-   * Gets the trace array.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
 }
@@ -1,5 +1,6 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +12,8 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -54,7 +57,6 @@ public class HillClimbingRestart extends Generator {
   /** Counters and traces for dynamic problems. */
   private final int[] listCountBetterGenderHillClimbingRestart = new int[10];
   private final int[] listCountGender = new int[10];
-  private final float[] listTrace = new float[1200000];
 
 
   /**
@@ -81,8 +83,7 @@ public class HillClimbingRestart extends Generator {
     this.generatorType = GeneratorType.HillClimbing;
     this.weight = 50.0f;
 
-    // Initialize trace and counters
-    listTrace[0] = this.weight;
+    // Initialize counters
     listCountBetterGenderHillClimbingRestart[0] = 0;
     listCountGender[0] = 0;
 
@@ -107,7 +108,7 @@ public class HillClimbingRestart extends Generator {
     if (count == Strategy.getStrategy().getCountCurrent()) {
       // Store current reference if available
       if (stateReferenceHC != null) {
-        restartReferences.add(new State(stateReferenceHC));
+        restartReferences.add(stateReferenceHC.copy());
       }
 
       // New random reference state
@@ -137,6 +138,17 @@ public class HillClimbingRestart extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference state if the candidate is accepted
    * according to the acceptance policy.
@@ -312,16 +324,6 @@ public class HillClimbingRestart extends Generator {
     return this.listCountGender;
   }
 
-  /**
-   * Gets the trace of this generator.
-   * 
-   * @return [float[]] The trace of the generator.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
   /**
    * Static counter for restarts.
    * 
@@ -390,5 +392,35 @@ public class HillClimbingRestart extends Generator {
   public void setCountBetterGender(int countBetterGenderValue) {
     countBetterGender = countBetterGenderValue;
   }
+
+  /**
+   * Writes the state of the generator, with the restart counters and the
+   * references kept at each restart.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    super.writeCheckpoint(out);
+    out.writeInt(count);
+    out.writeInt(countCurrent);
+    out.writeStates(restartReferences);
+  }
+
+  /**
+   * Restores the state of the generator, with its restart counters.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    super.readCheckpoint(in);
+    count = in.readInt();
+    countCurrent = in.readInt();
+    restartReferences.clear();
+    restartReferences.addAll(in.readStates());
+  }
 }
 
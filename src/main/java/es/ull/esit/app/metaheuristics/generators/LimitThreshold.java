@@ -51,7 +51,6 @@ public class LimitThreshold extends Generator {
   /** Local counters and traces (for dynamic problems/statistics). */
   private final int[] listCountBetterGenderLimitThreshold = new int[10];
   private final int[] listCountGender = new int[10];
-  private final float[] listTrace = new float[1_200_000];
 
   /**
    * Default constructor.
@@ -75,8 +74,7 @@ public class LimitThreshold extends Generator {
     this.generatorType = GeneratorType.LimitThreshold;
     this.weight = 50.0f;
 
-    // Initialise trace and counters
-    listTrace[0] = this.weight;
+    // Initialise counters
     listCountBetterGenderLimitThreshold[0] = 0;
     listCountGender[0] = 0;
 
@@ -115,6 +113,17 @@ public class LimitThreshold extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference state according to the configured acceptance rule.
    *
@@ -300,14 +309,4 @@ public class LimitThreshold extends Generator {
   public int[] getListCountGender() {
     return this.listCountGender;
   }
-
-  /**
-   * Returns the trace array used to store the weight evolution.
-   * 
-   * @return [float[]] Trace array.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
 }
@@ -1,5 +1,6 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +12,9 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -36,14 +40,20 @@ public class MultiCaseSimulatedAnnealing extends Generator {
   /** Current reference state of the algorithm. */
   private State stateReferenceSA;
 
-  /** Cooling factor (α) for simulated annealing. */
-  private static double alpha;
+  /**
+   * Per-run state of the temperatures, kept in the current SearchContext so
+   * runs executed in parallel cool down independently.
+   */
+  private static final class RunState {
+    /** Cooling factor (α) for simulated annealing. */
+    private double alpha;
 
-  /** Initial temperature. */
-  private static double tinitial;
+    /** Initial temperature, lowered at each cooling step. */
+    private double tinitial;
 
-  /** Final temperature (may be used externally by the strategy). */
-  private static double tfinal;
+    /** Final temperature (may be used externally by the strategy). */
+    private double tfinal;
+  }
 
   /** Iteration count at which the temperature must be updated. */
   private int countIterationsT;
@@ -63,9 +73,6 @@ public class MultiCaseSimulatedAnnealing extends Generator {
   /** Local counter of genders for statistics (size 10). */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weights during the execution (for statistics). */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Gets the type of generator.
    *
@@ -97,7 +104,6 @@ public class MultiCaseSimulatedAnnealing extends Generator {
     this.typeGenerator = GeneratorType.MultiCaseSimulatedAnnealing;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderMultiCaseSA[0] = 0;
     listCountGender[0] = 0;
 
@@ -140,6 +146,17 @@ public class MultiCaseSimulatedAnnealing extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Returns the current reference state.
    *
@@ -203,8 +220,9 @@ public class MultiCaseSimulatedAnnealing extends Generator {
 
     if (countIterationsCurrent != null && countIterationsCurrent.equals(countIterationsT)) {
       // Classical geometric cooling schedule
-      if (getTinitial() != 0.0 && alpha != 0.0) {
-       setTinitial(getTinitial() * alpha);
+      RunState run = runState();
+      if (run.tinitial != 0.0 && run.alpha != 0.0) {
+        run.tinitial = run.tinitial * run.alpha;
       }
       // Next temperature update will happen after another 'countRept' iterations
       countIterationsT = countIterationsT + countRept;
@@ -327,53 +345,96 @@ public class MultiCaseSimulatedAnnealing extends Generator {
   }
 
   /**
-   * Returns the trace of weight changes over time.
+   * Gets the cooling factor of the current run.
    *
-   * @return [float[]] Trace values.
+   * @return [double] The cooling factor.
    */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
+  public static double getAlpha() {
+    return runState().alpha;
+  }
+
+  /**
+   * Sets the cooling factor of the current run.
+   *
+   * @param coolingFactor [double] The cooling factor to set.
+   */
+  public static void setAlpha(double coolingFactor) {
+    runState().alpha = coolingFactor;
   }
 
   /**
-   * Gets the final temperature used in the simulated annealing process.
+   * Gets the final temperature used in the simulated annealing process of the current run.
    *
    * @return [double] The final temperature.
    */
   public static double tfinal() {
-    return tfinal;
+    return runState().tfinal;
   }
 
 
   /**
-   * Sets the final temperature used in the simulated annealing process.
+   * Sets the final temperature used in the simulated annealing process of the current run.
    * 
    * @param finalTemperature [double] The final temperature to set.
    */
   public static void setTfinal(double finalTemperature) {
-    tfinal = finalTemperature;
+    runState().tfinal = finalTemperature;
   }
 
   /**
-   * Gets the initial temperature used in the simulated annealing process.
+   * Gets the initial temperature used in the simulated annealing process of the current run.
    *
    * @return [double] The initial temperature.
    */  
   public static double getTinitial() {
-    return tinitial;  
+    return runState().tinitial;  
   }
 
   /**
-   * Sets the initial temperature used in the simulated annealing process.
+   * Sets the initial temperature used in the simulated annealing process of the current run.
    * 
    * @param initialTemperature [double] The initial temperature to set.
    */
   public static void setTinitial(double initialTemperature) {
-    tinitial = initialTemperature;
+    runState().tinitial = initialTemperature;
   }
 
   
    
 
+  /**
+   * Writes the state of the generator, with the temperature and the next
+   * iteration at which it cools down.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    super.writeCheckpoint(out);
+    out.writeDouble(runState().tinitial);
+    out.writeInt(countIterationsT);
+  }
+
+  /**
+   * Restores the state of the generator, with its temperature.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    super.readCheckpoint(in);
+    runState().tinitial = in.readDouble();
+    countIterationsT = in.readInt();
+  }
+
+  /**
+   * Gets the per-run state of the temperatures of the current context.
+   *
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
 }
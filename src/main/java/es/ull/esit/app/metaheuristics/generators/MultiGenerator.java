@@ -1,7 +1,8 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
+import java.io.StreamCorruptedException;
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -10,6 +11,10 @@ import java.util.logging.Level;
 
 import es.ull.esit.app.factory_method.FactoryGenerator;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -25,17 +30,56 @@ public class MultiGenerator extends Generator {
   
   /** Generator type identifier. */
   private GeneratorType generatorType;
-  /** List of generators managed by the multi-generator. */
-  private static Generator[] listGenerators = new Generator[GeneratorType.values().length];
-  /** List of states generated for the Bin Packing Problem. */
-  private static List<State> listGeneratedPP = new ArrayList<>();
-  /** Currently active generator within the multi-generator framework. */
-  private static Generator activeGenerator;
-  /** List of reference states visited by the multi-generator. */
-  private static List<State> listStateReference = new ArrayList<>();
+  /**
+   * Per-run state of the multi-generator, kept in the current SearchContext so
+   * runs executed in parallel do not share their generator pool.
+   */
+  private static final class RunState {
+    /** List of generators managed by the multi-generator. */
+    private Generator[] listGenerators = new Generator[GeneratorType.values().length];
+    /** List of states generated for the Bin Packing Problem. */
+    private List<State> listGeneratedPP = new ArrayList<>();
+    /** Currently active generator within the multi-generator framework. */
+    private Generator activeGenerator;
+    /** List of reference states visited by the multi-generator. */
+    private List<State> listStateReference = new ArrayList<>();
+    /** Roulette of the generators, built from their weights. */
+    private FenwickSampler sampler;
+    /** Pool of generators of the roulette. */
+    private Generator[] sampled;
+  }
+
+  /**
+   * Settings of the multi-generator, kept in the current SearchContext so runs
+   * executed in parallel can be configured apart.
+   */
+  private static final class Settings {
+    /** Settings of a context that did not configure the multi-generator. */
+    private static final Settings DEFAULT = new Settings(false);
+
+    /**
+     * Whether the problems of the run have continuous variables, so the pool
+     * also includes a {@link CovarianceMatrixAdaptation} generator.
+     */
+    private final boolean continuous;
+
+    /**
+     * Constructor.
+     * @param continuous [boolean] Whether the pool includes CMA-ES.
+     */
+    private Settings(boolean continuous) {
+      this.continuous = continuous;
+    }
+  }
 
-  /** Random number generator for selecting generators. */
-  private static SecureRandom random = new SecureRandom();
+  /**
+   * Gets the per-run state of the multi-generator of the current context.
+   *
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
 
   /**
    * Gets the list of reference states.
@@ -43,7 +87,7 @@ public class MultiGenerator extends Generator {
    * @return [List<State>] List of reference states.
    */
   public static List<State> getListStateReference() {
-    return listStateReference;
+    return runState().listStateReference;
   }
 
   /**
@@ -52,7 +96,7 @@ public class MultiGenerator extends Generator {
    * @param listStateReference [List<State>] List of reference states to set.
    */
   public static void setListStateReference(List<State> listStateReference) {
-    MultiGenerator.listStateReference = listStateReference;
+    runState().listStateReference = listStateReference;
   }
 
   /**
@@ -76,10 +120,11 @@ public class MultiGenerator extends Generator {
    * Destroys the multi-generator framework by clearing its state.
    */
   public static void destroyMultiGenerator() {
-    listGeneratedPP.clear();
-    listStateReference.clear();
-    activeGenerator = null;
-    listGenerators = null;
+    RunState run = runState();
+    run.listGeneratedPP.clear();
+    run.listStateReference.clear();
+    run.activeGenerator = null;
+    run.listGenerators = null;
   }
 
   /**
@@ -96,15 +141,34 @@ public class MultiGenerator extends Generator {
   public static void initializeListGenerator()
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-    listGenerators = new Generator[4];
+    RunState run = runState();
+    boolean continuous = isContinuous();
+    run.listGenerators = new Generator[continuous ? 5 : 4];
     Generator generator1 = new HillClimbing();
     Generator generator2 = new EvolutionStrategies();
     Generator generator3 = new LimitThreshold();
     Generator generator4 = new GeneticAlgorithm();
-    listGenerators[0] = generator1;
-    listGenerators[1] = generator2;
-    listGenerators[2] = generator3;
-    listGenerators[3] = generator4;
+    run.listGenerators[0] = generator1;
+    run.listGenerators[1] = generator2;
+    run.listGenerators[2] = generator3;
+    run.listGenerators[3] = generator4;
+    if (continuous) {
+      run.listGenerators[4] = new CovarianceMatrixAdaptation();
+    }
+    recordInitialWeights(run);
+  }
+
+  /**
+   * Records the weight of every generator of the run at iteration 0. Only the
+   * generators of a multi-generator run keep a trace, so the generators do not
+   * record anything when they are built.
+   *
+   * @param run [RunState] The state of the current run.
+   */
+  private static void recordInitialWeights(RunState run) {
+    for (Generator generator : run.listGenerators) {
+      generator.recordTrace(0, generator.getWeight());
+    }
   }
 
   /**
@@ -120,16 +184,18 @@ public class MultiGenerator extends Generator {
    */
   public static void initializeGenerators() throws IllegalArgumentException, SecurityException, ClassNotFoundException,
       InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    RunState run = runState();
     initializeListGenerator();
-    State stateREF = new State(Strategy.getStrategy().getProblem().getState());
-    listStateReference.add(stateREF);
-    for (int i = 0; i < listGenerators.length; i++) {
-      if ((listGenerators[i].getType().equals(GeneratorType.HillClimbing))
-          || (listGenerators[i].getType().equals(GeneratorType.RandomSearch))
-          || (listGenerators[i].getType().equals(GeneratorType.TabuSearch))
-          || (listGenerators[i].getType().equals(GeneratorType.SimulatedAnnealing)
-              || (listGenerators[i].getType().equals(GeneratorType.LimitThreshold)))) {
-        listGenerators[i].setInitialReference(stateREF);
+    State stateREF = Strategy.getStrategy().getProblem().getState().copy();
+    run.listStateReference.add(stateREF);
+    for (int i = 0; i < run.listGenerators.length; i++) {
+      if ((run.listGenerators[i].getType().equals(GeneratorType.HillClimbing))
+          || (run.listGenerators[i].getType().equals(GeneratorType.RandomSearch))
+          || (run.listGenerators[i].getType().equals(GeneratorType.TabuSearch))
+          || (run.listGenerators[i].getType().equals(GeneratorType.SimulatedAnnealing)
+              || (run.listGenerators[i].getType().equals(GeneratorType.LimitThreshold)))
+          || (run.listGenerators[i].getType().equals(GeneratorType.CovarianceMatrixAdaptation))) {
+        run.listGenerators[i].setInitialReference(stateREF);
       }
     }
     createInstanceGeneratorsBPP();
@@ -155,6 +221,7 @@ public class MultiGenerator extends Generator {
         MultiGenerator.getListGenerators()[i] = generatorEDA;
       }
     }
+    recordInitialWeights(run);
   }
 
   /**
@@ -171,7 +238,7 @@ public class MultiGenerator extends Generator {
         Strategy.getStrategy().getProblem().evaluate(stateCandidate);
         stateCandidate.setNumber(j);
         stateCandidate.setTypeGenerator(generator.getType());
-        listGeneratedPP.add(stateCandidate);
+        runState().listGeneratedPP.add(stateCandidate);
       } catch (Exception e) {
          LOGGER.log(Level.SEVERE, "Error generating state candidate", e);
       }
@@ -185,7 +252,28 @@ public class MultiGenerator extends Generator {
    * @return [List<State>] List of generated states.
    */
   public static List<State> getListGeneratedPP() {
-    return listGeneratedPP;
+    return runState().listGeneratedPP;
+  }
+
+  /**
+   * Checks whether the pool of the current run includes a CMA-ES generator.
+   *
+   * @return [boolean] True if the problems have continuous variables.
+   */
+  public static boolean isContinuous() {
+    return SearchContext.current().getSetting(Settings.class, Settings.DEFAULT).continuous;
+  }
+
+  /**
+   * Sets whether the problems of the current run have continuous variables. From
+   * the next initialization, the pool then includes a
+   * {@link CovarianceMatrixAdaptation} generator, which starts at the
+   * reference of the multi-generator as the local searches.
+   *
+   * @param continuous [boolean] True to add CMA-ES to the pool.
+   */
+  public static void setContinuous(boolean continuous) {
+    SearchContext.current().setSetting(Settings.class, new Settings(continuous));
   }
 
   /**
@@ -194,7 +282,7 @@ public class MultiGenerator extends Generator {
    * @return [Generator[]] List of generators.
    */
   public static Generator[] getListGenerators() {
-    return listGenerators;
+    return runState().listGenerators;
   }
 
   /**
@@ -203,7 +291,7 @@ public class MultiGenerator extends Generator {
    * @param listGenerators [Generator[]] List of generators to set.
    */
   public static void setListGenerators(Generator[] listGenerators) {
-    MultiGenerator.listGenerators = listGenerators;
+    runState().listGenerators = listGenerators;
   }
 
   /**
@@ -212,7 +300,7 @@ public class MultiGenerator extends Generator {
    * @return [Generator] Currently active generator.
    */
   public static Generator getActiveGenerator() {
-    return activeGenerator;
+    return runState().activeGenerator;
   }
 
   /**
@@ -221,7 +309,7 @@ public class MultiGenerator extends Generator {
    * @param activeGenerator [Generator] Generator to set as active.
    */
   public static void setActiveGenerator(Generator activeGenerator) {
-    MultiGenerator.activeGenerator = activeGenerator;
+    runState().activeGenerator = activeGenerator;
   }
 
   /**
@@ -230,7 +318,7 @@ public class MultiGenerator extends Generator {
    * @param listGeneratedPP [List<State>] List of generated states to set.
    */
   public static void setListGeneratedPP(List<State> listGeneratedPP) {
-    MultiGenerator.listGeneratedPP = listGeneratedPP;
+    runState().listGeneratedPP = listGeneratedPP;
   }
 
   /**
@@ -246,9 +334,10 @@ public class MultiGenerator extends Generator {
       ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException,
       NoSuchMethodException {
+    RunState run = runState();
     Strategy.getStrategy().setGenerator(roulette());
-    activeGenerator = Strategy.getStrategy().getGenerator();
-    activeGenerator.countGender++;
+    run.activeGenerator = Strategy.getStrategy().getGenerator();
+    run.activeGenerator.countGender++;
     return Strategy.getStrategy().getGenerator().generate(1);
 
   }
@@ -260,10 +349,11 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public State getReference() {
+    RunState run = runState();
     // Return the most recent reference state, or the current problem state if none
     // exists.
-    if (!listStateReference.isEmpty()) {
-      return listStateReference.get(listStateReference.size() - 1);
+    if (!run.listStateReference.isEmpty()) {
+      return run.listStateReference.get(run.listStateReference.size() - 1);
     }
     return Strategy.getStrategy().getProblem().getState();
   }
@@ -276,7 +366,7 @@ public class MultiGenerator extends Generator {
   @Override
   public List<State> getReferenceList() {
     // Return a copy of the reference list to avoid exposing internal state.
-    return new ArrayList<>(listStateReference);
+    return new ArrayList<>(runState().listStateReference);
   }
 
   /**
@@ -309,7 +399,7 @@ public class MultiGenerator extends Generator {
   public void setInitialReference(State stateInitialRef) {
     // Initialize the reference list with the provided initial reference state.
     if (stateInitialRef != null) {
-      listStateReference.add(stateInitialRef);
+      runState().listStateReference.add(stateInitialRef);
     }
   }
 
@@ -358,17 +448,18 @@ public class MultiGenerator extends Generator {
    *         false otherwise.
    */
   public boolean searchState(State stateCandidate) {
+    RunState run = runState();
     if (Strategy.getStrategy().getProblem().getTypeProblem().equals(ProblemType.MAXIMIZAR)) {
       if (stateCandidate.getEvaluation().get(0) > Strategy.getStrategy().getBestState().getEvaluation().get(0)) {
         if (stateCandidate.getEvaluation().get(0) > Strategy.getStrategy().getBestState().getEvaluation().get(0))
-          activeGenerator.countBetterGender++;
+          run.activeGenerator.countBetterGender++;
         return true;
       } else
         return false;
     } else {
       if (stateCandidate.getEvaluation().get(0) < Strategy.getStrategy().getBestState().getEvaluation().get(0)) {
         if (stateCandidate.getEvaluation().get(0) < Strategy.getStrategy().getBestState().getEvaluation().get(0))
-          activeGenerator.countBetterGender++;
+          run.activeGenerator.countBetterGender++;
         return true;
       } else
         return false;
@@ -383,49 +474,73 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public float getWeight() {
-    return activeGenerator != null ? activeGenerator.getWeight() : 0f;
+    RunState run = runState();
+    return run.activeGenerator != null ? run.activeGenerator.getWeight() : 0f;
   }
 
   /**
    * Selects a generator using roulette wheel selection based on their weights.
+   * The wheel is a Fenwick tree kept with the run, so only the weights that
+   * changed since the last spin are updated and nothing is allocated.
    * 
    * @return [Generator] Selected generator.
    */
   public Generator roulette() {
-    float totalWeight = 0;
-    for (int i = 0; i < listGenerators.length; i++) {
-      totalWeight = listGenerators[i].getWeight() + totalWeight;
+    RunState run = runState();
+    return run.listGenerators[sampler(run).sample(RandomService.generator().nextDouble())];
+  }
+
+  /**
+   * Gets the probability of the roulette choosing each generator of the pool.
+   * 
+   * @return [double[]] The probability of each generator, in the order of the
+   *         pool, or an empty array if there is no pool.
+   */
+  public static double[] getSelectionProbabilities() {
+    RunState run = runState();
+    if (run.listGenerators == null) {
+      return new double[0];
     }
-    List<Float> listProb = new ArrayList<>();
-    for (int i = 0; i < listGenerators.length; i++) {
-      float probF = listGenerators[i].getWeight() / totalWeight;
-      listProb.add(probF);
+    FenwickSampler sampler = sampler(run);
+    double[] probabilities = new double[sampler.size()];
+    for (int i = 0; i < probabilities.length; i++) {
+      probabilities[i] = sampler.probability(i);
     }
-    List<LimitRoulette> listLimit = new ArrayList<>();
-    float limitHigh = 0;
-    float limitLow = 0;
-    for (int i = 0; i < listProb.size(); i++) {
-      LimitRoulette limitRoulette = new LimitRoulette();
-      limitHigh = listProb.get(i) + limitHigh;
-      limitRoulette.setLimitHigh(limitHigh);
-      limitRoulette.setLimitLow(limitLow);
-      limitLow = limitHigh;
-      limitRoulette.setGenerator(listGenerators[i]);
-      listLimit.add(limitRoulette);
+    return probabilities;
+  }
+
+  /**
+   * Gets the probability of the roulette choosing a generator of the pool,
+   * without allocating.
+   * 
+   * @param index [int] Position of the generator in the pool.
+   * @return [double] The probability.
+   */
+  public static double getSelectionProbability(int index) {
+    return sampler(runState()).probability(index);
+  }
+
+  /**
+   * Gets the roulette of the run, up to date with the weights of the pool. The
+   * weights can also change outside the multi-generator, for instance when the
+   * strategy resets them, so they are compared with the ones of the roulette.
+   * 
+   * @param run [RunState] State of the run.
+   * @return [FenwickSampler] The roulette.
+   */
+  private static FenwickSampler sampler(RunState run) {
+    Generator[] pool = run.listGenerators;
+    if (run.sampler == null || run.sampled != pool || run.sampler.size() != pool.length) {
+      run.sampler = new FenwickSampler(pool.length);
+      run.sampled = pool;
     }
-    float numbAleatory = (float) (random.nextDouble() * 1.0);
-    boolean find = false;
-    int i = 0;
-    while ((!find) && (i < listLimit.size())) {
-      if ((listLimit.get(i).getLimitLow() <= numbAleatory) && (numbAleatory <= listLimit.get(i).getLimitHigh())) {
-        find = true;
-      } else
-        i++;
+    for (int i = 0; i < pool.length; i++) {
+      double weight = pool[i].getWeight();
+      if (run.sampler.get(i) != weight) {
+        run.sampler.set(i, weight);
+      }
     }
-    if (find) {
-      return listLimit.get(i).getGenerator();
-    } else
-      return listLimit.get(listLimit.size() - 1).getGenerator();
+    return run.sampler;
   }
 
   /**
@@ -441,7 +556,7 @@ public class MultiGenerator extends Generator {
     // Update the reference list if the candidate improves over the current best.
     boolean improved = searchState(stateCandidate);
     if (improved) {
-      listStateReference.add(new State(stateCandidate));
+      runState().listStateReference.add(stateCandidate.copy());
     }
     return improved;
   }
@@ -452,16 +567,17 @@ public class MultiGenerator extends Generator {
    */
   @SuppressWarnings("static-access")
   public void updateAwardSC() {
-    float weightLast = activeGenerator.getWeight();
+    RunState run = runState();
+    float weightLast = run.activeGenerator.getWeight();
     float weightUpdate = (float) (weightLast * (1 - 0.1) + 10);
-    activeGenerator.setWeight(weightUpdate);
-    for (int i = 0; i < listGenerators.length; i++) {
-      if (listGenerators[i].equals(activeGenerator))
-        activeGenerator.getTrace()[Strategy.getStrategy().getCountCurrent()] = weightUpdate;
+    run.activeGenerator.setWeight(weightUpdate);
+    for (int i = 0; i < run.listGenerators.length; i++) {
+      if (run.listGenerators[i].equals(run.activeGenerator))
+        run.activeGenerator.recordTrace(Strategy.getStrategy().getCountCurrent(), weightUpdate);
       else {
-        if (!listGenerators[i].getType().equals(generatorType.MultiGenerator)) {
-          float trace = listGenerators[i].getWeight();
-          listGenerators[i].getTrace()[Strategy.getStrategy().getCountCurrent()] = trace;
+        if (!run.listGenerators[i].getType().equals(generatorType.MultiGenerator)) {
+          float trace = run.listGenerators[i].getWeight();
+          run.listGenerators[i].recordTrace(Strategy.getStrategy().getCountCurrent(), trace);
         }
       }
     }
@@ -474,16 +590,17 @@ public class MultiGenerator extends Generator {
    */
   @SuppressWarnings("static-access")
   public void updateAwardImp() {
-    float weightLast = activeGenerator.getWeight();
+    RunState run = runState();
+    float weightLast = run.activeGenerator.getWeight();
     float weightUpdate = (float) (weightLast * (1 - 0.1));
-    activeGenerator.setWeight(weightUpdate);
-    for (int i = 0; i < listGenerators.length; i++) {
-      if (listGenerators[i].equals(activeGenerator))
-        activeGenerator.getTrace()[Strategy.getStrategy().getCountCurrent()] = weightUpdate;
+    run.activeGenerator.setWeight(weightUpdate);
+    for (int i = 0; i < run.listGenerators.length; i++) {
+      if (run.listGenerators[i].equals(run.activeGenerator))
+        run.activeGenerator.recordTrace(Strategy.getStrategy().getCountCurrent(), weightUpdate);
       else {
-        if (!listGenerators[i].getType().equals(generatorType.MultiGenerator)) {
-          float trace = listGenerators[i].getWeight();
-          listGenerators[i].getTrace()[Strategy.getStrategy().getCountCurrent()] = trace;
+        if (!run.listGenerators[i].getType().equals(generatorType.MultiGenerator)) {
+          float trace = run.listGenerators[i].getWeight();
+          run.listGenerators[i].recordTrace(Strategy.getStrategy().getCountCurrent(), trace);
         }
       }
     }
@@ -496,8 +613,9 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public void setWeight(float weight) {
-    if (activeGenerator != null) {
-      activeGenerator.setWeight(weight);
+    RunState run = runState();
+    if (run.activeGenerator != null) {
+      run.activeGenerator.setWeight(weight);
     }
   }
 
@@ -508,9 +626,9 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public float[] getTrace() {
-    return activeGenerator != null && activeGenerator.getTrace() != null
-        ? activeGenerator.getTrace()
-        : new float[0];
+    Generator active = runState().activeGenerator;
+    float[] trace = (active != null) ? active.getTrace() : null;
+    return (trace != null) ? trace : new float[0];
   }
 
   /**
@@ -531,9 +649,9 @@ public class MultiGenerator extends Generator {
   public void tournament(State stateCandidate, Integer countIterationsCurrent)
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-    State stateTem = new State(stateCandidate);
+    State stateTem = stateCandidate.copy();
     for (int i = 0; i < MultiGenerator.getListGenerators().length; i++) {
-      if (!listGenerators[i].getType().equals(generatorType.MultiGenerator))
+      if (!runState().listGenerators[i].getType().equals(generatorType.MultiGenerator))
         MultiGenerator.getListGenerators()[i].updateReference(stateTem, countIterationsCurrent);
     }
   }
@@ -564,12 +682,13 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public int[] getListCountBetterGender() {
-    if (listGenerators == null) {
+    RunState run = runState();
+    if (run.listGenerators == null) {
       return new int[0];
     }
-    int[] result = new int[listGenerators.length];
-    for (int i = 0; i < listGenerators.length; i++) {
-      result[i] = listGenerators[i] != null ? listGenerators[i].countBetterGender : 0;
+    int[] result = new int[run.listGenerators.length];
+    for (int i = 0; i < run.listGenerators.length; i++) {
+      result[i] = run.listGenerators[i] != null ? run.listGenerators[i].countBetterGender : 0;
     }
     return result;
   }
@@ -581,14 +700,93 @@ public class MultiGenerator extends Generator {
    */
   @Override
   public int[] getListCountGender() {
-    if (listGenerators == null) {
+    RunState run = runState();
+    if (run.listGenerators == null) {
       return new int[0];
     }
-    int[] result = new int[listGenerators.length];
-    for (int i = 0; i < listGenerators.length; i++) {
-      result[i] = listGenerators[i] != null ? listGenerators[i].countGender : 0;
+    int[] result = new int[run.listGenerators.length];
+    for (int i = 0; i < run.listGenerators.length; i++) {
+      result[i] = run.listGenerators[i] != null ? run.listGenerators[i].countGender : 0;
     }
     return result;
   }
 
+  /**
+   * Writes the state of the multi-generator: its reference lists, the state
+   * of every generator of the pool, with its weight, and the active one.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    RunState run = runState();
+    out.writeStates(run.listStateReference);
+    out.writeStates(run.listGeneratedPP);
+    int active = -1;
+    if (run.listGenerators == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(run.listGenerators.length);
+      for (int i = 0; i < run.listGenerators.length; i++) {
+        Generator generator = run.listGenerators[i];
+        out.writeGeneratorType((generator != null) ? generator.getType() : null);
+        if (generator != null) {
+          generator.writeCheckpoint(out);
+        }
+        if (generator != null && generator == run.activeGenerator) {
+          active = i;
+        }
+      }
+    }
+    out.writeInt(active);
+  }
+
+  /**
+   * Restores the state of the multi-generator. The pool must have been created
+   * again, with the same generators, before reading it.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails or the pool does not match.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    RunState run = runState();
+    replace(run.listStateReference, in.readStates());
+    replace(run.listGeneratedPP, in.readStates());
+    int size = in.readInt();
+    if (size >= 0) {
+      if (run.listGenerators == null || run.listGenerators.length != size) {
+        throw new StreamCorruptedException("El punto de control tiene " + size
+            + " generadores y el MultiGenerator " + ((run.listGenerators == null) ? 0 : run.listGenerators.length));
+      }
+      for (int i = 0; i < size; i++) {
+        GeneratorType type = in.readGeneratorType();
+        Generator generator = run.listGenerators[i];
+        if (type != null) {
+          if (generator == null || !type.equals(generator.getType())) {
+            throw new StreamCorruptedException("El generador " + i + " del punto de control es " + type);
+          }
+          generator.readCheckpoint(in);
+        }
+      }
+    }
+    int active = in.readInt();
+    run.activeGenerator = (active >= 0) ? run.listGenerators[active] : null;
+  }
+
+  /**
+   * Replaces the contents of a list, keeping the list, which may be shared.
+   *
+   * @param target [List<State>] The list.
+   * @param values [List<State>] The new contents, may be null.
+   */
+  private static void replace(List<State> target, List<State> values) {
+    if (target != values) {
+      target.clear();
+      if (values != null) {
+        target.addAll(values);
+      }
+    }
+  }
 }
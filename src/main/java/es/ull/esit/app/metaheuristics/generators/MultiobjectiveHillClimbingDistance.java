@@ -1,5 +1,6 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -7,9 +8,13 @@ import java.util.List;
 import es.ull.esit.app.factory_interface.IFFactoryAcceptCandidate;
 import es.ull.esit.app.factory_method.FactoryAcceptCandidate;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.problem.definition.State;
 import es.ull.esit.app.local_search.acceptation_type.AcceptType;
 import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
+import es.ull.esit.app.local_search.acceptation_type.ParetoArchive;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
@@ -42,12 +47,17 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
   protected List<Float> listTrace = new ArrayList<>();
   /** List of visited states to avoid cycles. */
   private List<State> visitedState = new ArrayList<>();
-  /** Size of the neighborhood to be generated. */
-  public static int sizeNeighbors;
+
   /**
-   * List containing the distances of each solution in the estimated Pareto front.
+   * Per-run state of the generator, kept in the current SearchContext so runs
+   * executed in parallel do not share it.
    */
-  public static List<Double> distanceSolution = new ArrayList<>();
+  private static final class RunState {
+    /** Size of the neighborhood to be generated. */
+    private int sizeNeighbors;
+    /** Distances of each solution in the estimated Pareto front. */
+    private List<Double> distanceSolution = new ArrayList<>();
+  }
 
   /**
    * Default constructor. It initialises the internal configuration and
@@ -89,6 +99,17 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
     return candidatevalue.stateCandidate(stateReferenceHC, typeCandidate, strategy, operatornumber, neighborhood);
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference state based on the candidate state and the current
    * iteration count.
@@ -126,7 +147,7 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
     }
 
     List<State> neighborhood = Strategy.getStrategy().getProblem().getOperator()
-        .generatedNewState(stateReferenceHC, sizeNeighbors);
+        .generatedNewState(stateReferenceHC, getSizeNeighbors());
 
     if (tryFallbackFromNeighborhood(neighborhood)) {
       getReferenceList();
@@ -154,7 +175,11 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
       if (stateReferenceHC != null) {
         Strategy.getStrategy().getListRefPoblacFinal().add(stateReferenceHC.copy());
       }
-      distanceSolution.add(0.0d);
+      if (Strategy.getStrategy().getListRefPoblacFinal() instanceof ParetoArchive) {
+        distanceCalculateAdd(Strategy.getStrategy().getListRefPoblacFinal());
+      } else {
+        getDistanceSolution().add(0.0d);
+      }
     }
   }
 
@@ -178,7 +203,7 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
   private boolean tryFallbackFromNeighborhood(List<State> neighborhood) {
     for (int i = 0; i < neighborhood.size(); i++) {
       if (!contains(neighborhood.get(i))) {
-        State mostDistant = solutionMoreDistance(Strategy.getStrategy().getListRefPoblacFinal(), distanceSolution);
+        State mostDistant = solutionMoreDistance(Strategy.getStrategy().getListRefPoblacFinal(), getDistanceSolution());
         if (mostDistant != null) {
           stateReferenceHC = mostDistant;
           visitedState.add(stateReferenceHC);
@@ -209,7 +234,7 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
       throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
       IllegalAccessException, InvocationTargetException, NoSuchMethodException {
     int attempts = 0;
-    while (attempts < sizeNeighbors) {
+    while (attempts < getSizeNeighbors()) {
       State randomState = Strategy.getStrategy().getProblem().getOperator().generateRandomState(1).get(0);
       if (!contains(randomState)) {
         Strategy.getStrategy().getProblem().evaluate(randomState);
@@ -332,10 +357,18 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
   /**
    * Calculates the updated distances when a new solution is added.
    * 
+   * A {@link ParetoArchive} keeps the distances of its members itself, also
+   * when members are removed, so they are just read from it.
+   * 
    * @param solution [List<State>] List of current solutions including the new one.
    * @return [List<Double>] Updated list of distances.
    */
   public static List<Double> distanceCalculateAdd(List<State> solution) {
+    RunState run = runState();
+    if (solution instanceof ParetoArchive) {
+      run.distanceSolution = ((ParetoArchive) solution).getDistances();
+      return run.distanceSolution;
+    }
     State[] solutions = solution.toArray(new State[solution.size()]);
     Double distance;
     List<Double> listDist = new ArrayList<>();
@@ -343,11 +376,11 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
     for (int k = 0; k < solutions.length - 1; k++) {
       State solA = solutions[k];
       distance = solA.distance(lastSolution);
-      listDist.add(distanceSolution.get(k) + distance);
+      listDist.add(run.distanceSolution.get(k) + distance);
     }
     distance = 0.0;
     if (solutions.length == 1) {
-      return distanceSolution;
+      return run.distanceSolution;
 
     } else {
 
@@ -356,9 +389,9 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
         distance += lastSolution.distance(solB);
       }
       listDist.add(distance);
-      distanceSolution = listDist;
+      run.distanceSolution = listDist;
 
-      return distanceSolution;
+      return run.distanceSolution;
     }
 
   }
@@ -454,4 +487,89 @@ public class MultiobjectiveHillClimbingDistance extends Generator {
     }
     return out;
   }
+
+  /**
+   * Records the weight of the generator at an iteration, appending it to the
+   * trace of weights of the execution.
+   * 
+   * @param iteration [int] Iteration of the value.
+   * @param weight    [float] Weight of the generator at that iteration.
+   */
+  @Override
+  public void recordTrace(int iteration, float weight) {
+    listTrace.add(weight);
+  }
+
+  /**
+   * Gets the size of the neighbourhood generated in the current run.
+   * 
+   * @return [int] Size of the neighbourhood.
+   */
+  public static int getSizeNeighbors() {
+    return runState().sizeNeighbors;
+  }
+
+  /**
+   * Sets the size of the neighbourhood generated in the current run.
+   * 
+   * @param sizeNeighbors [int] Size of the neighbourhood.
+   */
+  public static void setSizeNeighbors(int sizeNeighbors) {
+    runState().sizeNeighbors = sizeNeighbors;
+  }
+
+  /**
+   * Gets the distances of each solution in the estimated Pareto front of the
+   * current run.
+   * 
+   * @return [List<Double>] The distances, in the order of the front.
+   */
+  public static List<Double> getDistanceSolution() {
+    return runState().distanceSolution;
+  }
+
+  /**
+   * Sets the distances of each solution in the estimated Pareto front of the
+   * current run.
+   * 
+   * @param distanceSolution [List<Double>] The distances, in the order of the front.
+   */
+  public static void setDistanceSolution(List<Double> distanceSolution) {
+    runState().distanceSolution = distanceSolution;
+  }
+
+  /**
+   * Gets the per-run state of the current context.
+   * 
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
+
+  /**
+   * Writes the state of the generator, with the solutions visited since the
+   * last restart.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    super.writeCheckpoint(out);
+    out.writeStates(visitedState);
+  }
+
+  /**
+   * Restores the state of the generator, with the visited solutions.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    super.readCheckpoint(in);
+    List<State> visited = in.readStates();
+    visitedState = (visited != null) ? visited : new ArrayList<>();
+  }
 }
@@ -1,5 +1,6 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -12,6 +13,9 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 import es.ull.esit.app.problem.definition.Problem;
@@ -51,14 +55,17 @@ public class MultiobjectiveHillClimbingRestart extends Generator {
   /** Local counter of genders for statistics. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weights during the execution. */
-  private float[] listTrace = new float[1200000];
-
   /** List of visited states, used to avoid revisiting neighbours. */
   private List<State> visitedStates = new ArrayList<>();
 
-  /** Neighbourhood size used in the restart logic. */
-  private static int sizeNeighbors;
+  /**
+   * Per-run state of the generator, kept in the current SearchContext so runs
+   * executed in parallel do not share it.
+   */
+  private static final class RunState {
+    /** Neighbourhood size used in the restart logic. */
+    private int sizeNeighbors;
+  }
 
   /**
    * Default constructor. It initialises the internal configuration and
@@ -74,7 +81,6 @@ public class MultiobjectiveHillClimbingRestart extends Generator {
     this.generatorType = GeneratorType.MultiobjectiveHillClimbingRestart;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderMultiObjHC[0] = 0;
     listCountGender[0] = 0;
 
@@ -114,6 +120,17 @@ public class MultiobjectiveHillClimbingRestart extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference solution according to the multiobjective acceptance
    * rule and restart logic.
@@ -157,7 +174,7 @@ public class MultiobjectiveHillClimbingRestart extends Generator {
 
     // Neighbourhood of current reference
     List<State> neighbourhood =
-        problem.getOperator().generatedNewState(stateReferenceHC, sizeNeighbors);
+        problem.getOperator().generatedNewState(stateReferenceHC, getSizeNeighbors());
 
     boolean accept = candidate.acceptCandidate(lastState, stateCandidate.copy());
 
@@ -363,30 +380,55 @@ public class MultiobjectiveHillClimbingRestart extends Generator {
   }
 
   /**
-   * Returns the trace of weight changes.
+   * Returns the neighbourhood size used in the restart logic of the current run.
    *
-   * @return [float[]] Trace values.
+   * @return [int] Neighbourhood size.
    */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
+  public static int getSizeNeighbors() {
+    return runState().sizeNeighbors;
   }
 
   /**
-   * Returns the neighbourhood size used in the restart logic.
+   * Sets the neighbourhood size used in the restart logic of the current run.
    *
-   * @return [int] Neighbourhood size.
+   * @param sizeNeighbors [int] Neighbourhood size.
    */
-  public static int getSizeNeighbors() {
-    return sizeNeighbors;
+  public static void setSizeNeighbors(int sizeNeighbors) {
+    runState().sizeNeighbors = sizeNeighbors;
   }
 
   /**
-   * Sets the neighbourhood size used in the restart logic.
+   * Gets the per-run state of the current context.
    *
-   * @param sizeNeighbors [int] Neighbourhood size.
+   * @return [RunState] The state of the current run.
    */
-  public static void setSizeNeighbors(int sizeNeighbors) {
-    MultiobjectiveHillClimbingRestart.sizeNeighbors = sizeNeighbors;
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
+
+  /**
+   * Writes the state of the generator, with the solutions visited since the
+   * last restart.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    super.writeCheckpoint(out);
+    out.writeStates(visitedStates);
+  }
+
+  /**
+   * Restores the state of the generator, with the visited solutions.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    super.readCheckpoint(in);
+    List<State> visited = in.readStates();
+    visitedStates = (visited != null) ? visited : new ArrayList<>();
   }
 }
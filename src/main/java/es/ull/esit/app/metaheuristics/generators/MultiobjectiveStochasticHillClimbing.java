@@ -51,9 +51,6 @@ public class MultiobjectiveStochasticHillClimbing extends Generator {
   /** Local counter of genders for statistics. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weights during the execution. */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Default constructor. It initialises the internal configuration and
    * statistics arrays for the multiobjective Stochastic Hill Climbing.
@@ -67,7 +64,6 @@ public class MultiobjectiveStochasticHillClimbing extends Generator {
     this.generatorType = GeneratorType.MultiobjectiveStochasticHillClimbing;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderMultiObjSHC[0] = 0;
     listCountGender[0] = 0;
 
@@ -107,6 +103,17 @@ public class MultiobjectiveStochasticHillClimbing extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference solution according to the multiobjective acceptance
    * rule.
@@ -295,14 +302,4 @@ public class MultiobjectiveStochasticHillClimbing extends Generator {
   public int[] getListCountGender() {
     return this.listCountGender;
   }
-
-  /**
-   * Returns the trace of weight changes.
-   *
-   * @return [float[]] Trace values.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
 }
@@ -51,9 +51,6 @@ public class MultiobjectiveTabuSearch extends Generator {
   /** Local counter of genders for statistics. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weights during the execution. */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Default constructor. It initialises the internal configuration and
    * statistics arrays for the multiobjective Tabu Search.
@@ -67,7 +64,6 @@ public class MultiobjectiveTabuSearch extends Generator {
     this.typeGenerator = GeneratorType.MultiobjectiveTabuSearch;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderMultiObjTS[0] = 0;
     listCountGender[0] = 0;
 
@@ -146,6 +142,17 @@ public class MultiobjectiveTabuSearch extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Updates the reference solution according to the multiobjective Tabu
    * acceptance rule and maintains the tabu list.
@@ -170,11 +177,13 @@ public class MultiobjectiveTabuSearch extends Generator {
     boolean accept = candidate.acceptCandidate(stateReferenceTS, stateCandidate);
 
     if (accept) {
+      State previous = stateReferenceTS;
       stateReferenceTS = stateCandidate;
 
       // If TABU strategy is active, update the tabu list
       if (strategy.equals(StrategyType.TABU)) {
         updateTabuList(stateCandidate);
+        TabuSolutions.getListTabu().recordMove(previous, stateCandidate);
       }
     }
 
@@ -192,22 +201,7 @@ public class MultiobjectiveTabuSearch extends Generator {
       return;
     }
 
-    List<State> tabu = TabuSolutions.getListTabu();
-    int max = TabuSolutions.maxelements;
-
-    if (tabu.size() < max) {
-      if (!tabu.contains(stateCandidate)) {
-        tabu.add(stateCandidate);
-      }
-    } else {
-      // Remove oldest element and then try to add if not already present
-      if (!tabu.isEmpty()) {
-        tabu.remove(0);
-      }
-      if (!tabu.contains(stateCandidate)) {
-        tabu.add(stateCandidate);
-      }
-    }
+    TabuSolutions.getListTabu().offer(stateCandidate, TabuSolutions.maxelements);
   }
 
   /**
@@ -337,14 +331,4 @@ public class MultiobjectiveTabuSearch extends Generator {
   public int[] getListCountGender() {
     return this.listCountGender;
   }
-
-  /**
-   * Returns the trace of weight changes.
-   *
-   * @return [float[]] Trace values.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
 }
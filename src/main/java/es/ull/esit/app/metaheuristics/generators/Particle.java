@@ -1,10 +1,10 @@
 package es.ull.esit.app.metaheuristics.generators;
 
 import java.lang.reflect.InvocationTargetException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -43,12 +43,6 @@ public class Particle extends Generator {
   /** Local counters for gender statistics. */
   private final int[] listCountGender = new int[10];
 
-  /** Trace of weight values. */
-  private final float[] listTrace = new float[1200000];
-
-  /** Random number generator for internal use. */
-  private SecureRandom random = new SecureRandom();
-
   /**
    * Default constructor.
    * Creates empty states and an empty velocity vector,
@@ -61,7 +55,6 @@ public class Particle extends Generator {
     this.velocity = new ArrayList<>();
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderParticle[0] = 0;
     listCountGender[0] = 0;
 
@@ -187,8 +180,8 @@ public class Particle extends Generator {
           / strategy.getCountMax())
           * ParticleSwarmOptimization.getCountCurrentIterPSO();
 
-    double rand1 = random.nextDouble();
-    double rand2 = random.nextDouble();
+    double rand1 = RandomService.generator().nextDouble();
+    double rand2 = RandomService.generator().nextDouble();
 
     // Learning factors (cognitive + social)
     int learning = ParticleSwarmOptimization.getLearning1()
@@ -225,18 +218,16 @@ public class Particle extends Generator {
       double social;
 
       if (ParticleSwarmOptimization.isBinary()) {
-        int xPBest = (Integer) statePBest.getCode().get(i);
-        int xActual = (Integer) stateActual.getCode().get(i);
-        int xLBest = (Integer) (ParticleSwarmOptimization.getLBest()[swarm])
-            .getCode().get(i);
+        int xPBest = statePBest.getInt(i);
+        int xActual = stateActual.getInt(i);
+        int xLBest = ParticleSwarmOptimization.getLBest()[swarm].getInt(i);
 
         cognitive = ParticleSwarmOptimization.getLearning1() * rand1 * (xPBest - xActual);
         social = ParticleSwarmOptimization.getLearning2() * rand2 * (xLBest - xActual);
       } else {
-        double xPBest = (Double) statePBest.getCode().get(i);
-        double xActual = (Double) stateActual.getCode().get(i);
-        double xLBest = (Double) (ParticleSwarmOptimization.getLBest()[swarm])
-            .getCode().get(i);
+        double xPBest = statePBest.getDouble(i);
+        double xActual = stateActual.getDouble(i);
+        double xLBest = ParticleSwarmOptimization.getLBest()[swarm].getDouble(i);
 
         cognitive = ParticleSwarmOptimization.getLearning1() * rand1 * (xPBest - xActual);
         social = ParticleSwarmOptimization.getLearning2() * rand2 * (xLBest - xActual);
@@ -264,12 +255,12 @@ public class Particle extends Generator {
       return newCode;
     }
 
-    int size = stateActual.getCode().size();
+    int size = stateActual.size();
 
     // Continuous case
     if (!ParticleSwarmOptimization.isBinary()) {
       for (int i = 0; i < size; i++) {
-        double x = (Double) stateActual.getCode().get(i);
+        double x = stateActual.getDouble(i);
         double v = (Double) actualVelocity.get(i);
         newCode.add(x + v);
       }
@@ -278,7 +269,7 @@ public class Particle extends Generator {
 
     // Binary case
     for (int i = 0; i < size; i++) {
-      double rand = random.nextDouble();
+      double rand = RandomService.generator().nextDouble();
       double v = (Double) actualVelocity.get(i);
       double s = 1.0 / (1.0 + 1.72 * v);
       if (rand < s) {
@@ -462,16 +453,6 @@ public class Particle extends Generator {
     return this.weight;
   }
 
-  /**
-   * Returns the trace of weight values.
-   * 
-   * @return [float[]] The trace array.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
   /**
    * Returns the local counters for “better gender” statistics.
    * 
@@ -1,9 +1,14 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -30,12 +35,6 @@ public class ParticleSwarmOptimization extends Generator {
   /** Generator type. */
   private GeneratorType generatorType;
 
-  /** Total number of particles (coutSwarm * countParticleBySwarm). */
-  private static int countRef = 0;
-
-  /** Index of the current particle being updated (global). */
-  private static int countParticle = 0;
-
   /** Number of swarms. */
   private static int coutSwarm = 0;
 
@@ -61,14 +60,62 @@ public class ParticleSwarmOptimization extends Generator {
   /** Flag indicating whether PSO works in binary mode. */
   private static boolean binary = false;
 
-  /** Local best per swarm (shared by particles). */
-  private static State[] lBest;
+  /** Swarm of the synchronous mode, created at the first step. */
+  private SwarmEngine engine;
+
+  /** Particles of the current synchronous step already returned to the run. */
+  private int served;
+
+  /**
+   * Per-run state of the swarms, kept in the current SearchContext so runs
+   * executed in parallel do not share their bests and counters.
+   */
+  private static final class RunState {
+    /** Total number of particles (coutSwarm * countParticleBySwarm). */
+    private int countRef = 0;
+
+    /** Index of the current particle being updated (global). */
+    private int countParticle = 0;
 
-  /** Global best among all swarms. */
-  private static State gBest;
+    /** Local best per swarm (shared by particles). */
+    private State[] lBest;
 
-  /** Current iteration counter for PSO. */
-  private static int countCurrentIterPSO;
+    /** Global best among all swarms. */
+    private State gBest;
+
+    /** Current iteration counter for PSO. */
+    private int countCurrentIterPSO;
+  }
+
+  /**
+   * Settings of the synchronous mode, kept in the current SearchContext so
+   * runs executed in parallel can be configured apart.
+   */
+  private static final class Settings {
+    /** Settings of a context that did not configure the generator. */
+    private static final Settings DEFAULT = new Settings(false, SwarmTopology.PARTITIONED, 0);
+
+    /** Flag indicating whether the particles move together in a {@link SwarmEngine}. */
+    private final boolean synchronous;
+
+    /** Neighbourhood of the particles in synchronous mode. */
+    private final SwarmTopology topology;
+
+    /** Parameter of the topology in synchronous mode; 0 uses its usual value. */
+    private final int neighbours;
+
+    /**
+     * Constructor.
+     * @param synchronous [boolean] Whether the particles move together.
+     * @param topology [SwarmTopology] Neighbourhood of the particles.
+     * @param neighbours [int] Parameter of the topology.
+     */
+    private Settings(boolean synchronous, SwarmTopology topology, int neighbours) {
+      this.synchronous = synchronous;
+      this.topology = topology;
+      this.neighbours = neighbours;
+    }
+  }
 
   /** Local “better gender” statistics. */
   private int[] listCountBetterGenderPSO = new int[10];
@@ -76,9 +123,6 @@ public class ParticleSwarmOptimization extends Generator {
   /** Local gender statistics. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weight values over time. */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Default constructor.
    * Initialises the PSO generator with particles from RandomSearch reference states
@@ -94,9 +138,10 @@ public class ParticleSwarmOptimization extends Generator {
    */
   public ParticleSwarmOptimization() {
     super();
+    RunState run = runState();
 
     // Total number of particles = number of swarms * particles per swarm
-    countRef = coutSwarm * countParticleBySwarm;
+    run.countRef = coutSwarm * countParticleBySwarm;
 
     // Build particle list from reference states (or reuse existing list)
     this.listParticle = getListStateRef();
@@ -105,7 +150,6 @@ public class ParticleSwarmOptimization extends Generator {
     this.weight = 50.0f;
 
     // Statistics initialisation
-    listTrace[0] = this.weight;
     listCountBetterGenderPSO[0] = 0;
     listCountGender[0] = 0;
 
@@ -114,19 +158,19 @@ public class ParticleSwarmOptimization extends Generator {
 
     // Initialise lBest and gBest only if there are particles and swarms
     if (!listParticle.isEmpty() && coutSwarm > 0) {
-      lBest = new State[coutSwarm];
-      countCurrentIterPSO++;
+      run.lBest = new State[coutSwarm];
+      run.countCurrentIterPSO++;
       inicialiceLBest();
-      gBest = gBestInicial();
-      stateReferencePSO = gBest;
+      run.gBest = gBestInicial();
+      stateReferencePSO = run.gBest;
     } else {
-      lBest = new State[0];
-      gBest = null;
+      run.lBest = new State[0];
+      run.gBest = null;
       stateReferencePSO = null;
     }
 
     // Reset current particle counter
-    countParticle = 0;
+    run.countParticle = 0;
   }
 
   /**
@@ -141,20 +185,99 @@ public class ParticleSwarmOptimization extends Generator {
              ClassNotFoundException, InstantiationException,
              IllegalAccessException, InvocationTargetException,
              NoSuchMethodException {
+    RunState run = runState();
 
-    if (listParticle.isEmpty() || countRef == 0) {
+    if (listParticle.isEmpty() || run.countRef == 0) {
       return null;
     }
 
-    if (countParticle >= countRef) {
-      countParticle = 0;
+    if (isSynchronous()) {
+      return generateSynchronous();
+    }
+
+    if (run.countParticle >= run.countRef) {
+      run.countParticle = 0;
     }
 
-    Particle currentParticle = listParticle.get(countParticle);
+    Particle currentParticle = listParticle.get(run.countParticle);
     currentParticle.generate(1);
     return currentParticle.getStateActual();
   }
 
+  /**
+   * Returns the next particle of the current synchronous step. When all the
+   * particles of the step were returned, the whole swarm moves once and is
+   * evaluated as one batch.
+   *
+   * @return [State] The new position of the particle, already evaluated.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private State generateSynchronous()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (binary) {
+      throw new IllegalStateException("El modo síncrono del PSO solo admite variables continuas");
+    }
+    if (engine == null) {
+      engine = createEngine();
+      served = engine.getParticleCount();
+    }
+    if (served >= engine.getParticleCount()) {
+      engine.step();
+      served = 0;
+    }
+    return engine.getParticleState(served++);
+  }
+
+  /**
+   * Creates the swarm of the synchronous mode from the current positions of
+   * the particles. The swarms keep their sizes if they add up to the number
+   * of particles; otherwise all the particles form one swarm.
+   *
+   * @return [SwarmEngine] The swarm, initialized.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private SwarmEngine createEngine()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    Strategy strategy = Strategy.getStrategy();
+    Problem problem = strategy.getProblem();
+    List<State> positions = new ArrayList<>(listParticle.size());
+    for (Particle particle : listParticle) {
+      positions.add(particle.getStateActual());
+    }
+    boolean partitioned = coutSwarm * countParticleBySwarm == positions.size();
+    SwarmEngine swarm = new SwarmEngine(problem,
+        partitioned ? coutSwarm : 1,
+        partitioned ? countParticleBySwarm : positions.size(),
+        positions.get(0).size());
+    swarm.setInertia(wmax, wmin);
+    swarm.setLearning(learning1, learning2);
+    swarm.setIterations(strategy.getCountMax() / positions.size());
+    Settings settings = settings();
+    if (settings.neighbours > 0) {
+      swarm.setTopology(settings.topology, settings.neighbours);
+    } else {
+      swarm.setTopology(settings.topology);
+    }
+    // Si el problema evalúa en paralelo, también se mueven las partículas en paralelo.
+    swarm.setParallel(problem.getEvaluationExecutor() != null);
+    swarm.initialize(positions);
+    return swarm;
+  }
+
   /**
    * Initialises the local best (lBest) for each swarm from the personal
    * best of the particles.
@@ -185,7 +308,7 @@ public class ParticleSwarmOptimization extends Generator {
         }
       }
 
-      lBest[j] = reference;
+      runState().lBest[j] = reference;
       localCount = end;
     }
   }
@@ -198,7 +321,8 @@ public class ParticleSwarmOptimization extends Generator {
    */
   @Override
   public State getReference() {
-    return (gBest != null) ? gBest : stateReferencePSO;
+    RunState run = runState();
+    return (run.gBest != null) ? run.gBest : stateReferencePSO;
   }
 
   /**
@@ -211,6 +335,7 @@ public class ParticleSwarmOptimization extends Generator {
   private List<Particle> getListStateRef() {
     boolean found = false;
     Strategy strategy = Strategy.getStrategy();
+    int countRef = getCountRef();
 
     if (strategy == null) {
       return this.setListParticle(new ArrayList<>());
@@ -241,11 +366,9 @@ public class ParticleSwarmOptimization extends Generator {
             State baseState = RandomSearch.getListStateReference().get(j);
 
             State stateAct = (State) baseState.getCopy();
-            stateAct.setCode(new ArrayList<>(baseState.getCode()));
             stateAct.setEvaluation(baseState.getEvaluation());
 
             State statePBest = (State) baseState.getCopy();
-            statePBest.setCode(new ArrayList<>(baseState.getCode()));
             statePBest.setEvaluation(baseState.getEvaluation());
 
             Particle particle = new Particle(statePBest, stateAct, velocity);
@@ -342,7 +465,7 @@ public class ParticleSwarmOptimization extends Generator {
    * @return [int] The total number of particles.
   */
   public static int getCountParticle() {
-    return countParticle;
+    return runState().countParticle;
   }
 
   /**
@@ -358,7 +481,7 @@ public class ParticleSwarmOptimization extends Generator {
    * @return [State[]] The local best array.
    */
   public static State[] getLBest() {
-    return lBest;
+    return runState().lBest;
   }
 
   /**
@@ -381,64 +504,75 @@ public class ParticleSwarmOptimization extends Generator {
              ClassNotFoundException, InstantiationException,
              IllegalAccessException, InvocationTargetException,
              NoSuchMethodException {
+    RunState run = runState();
 
     if (listParticle.isEmpty() || countParticleBySwarm == 0 || coutSwarm == 0) {
       return;
     }
 
+    if (isSynchronous() && engine != null) {
+      // Los mejores ya se redujeron en el paso; se publican al devolver la última partícula.
+      if (served == engine.getParticleCount()) {
+        run.gBest = engine.getBestState();
+        stateReferencePSO = run.gBest;
+        listStateReference.add(run.gBest);
+      }
+      run.countParticle = served;
+      run.countCurrentIterPSO++;
+      return;
+    }
+
     Strategy strategy = Strategy.getStrategy();
     Problem problem = (strategy == null) ? null : strategy.getProblem();
     ProblemType type = (problem == null) ? null : problem.getTypeProblem();
 
-    Particle particle = listParticle.get(countParticle);
-    int swarm = countParticle / countParticleBySwarm;
+    Particle particle = listParticle.get(run.countParticle);
+    int swarm = run.countParticle / countParticleBySwarm;
 
-    if (lBest == null || lBest.length == 0 || swarm >= lBest.length) {
+    if (run.lBest == null || run.lBest.length == 0 || swarm >= run.lBest.length) {
       return;
     }
 
     if (type == null || type.equals(ProblemType.MAXIMIZAR)) {
       // Maximisation: update lBest if particle's personal best is better
-      if (lBest[swarm].getEvaluation().get(0)
+      if (run.lBest[swarm].getEvaluation().get(0)
           < particle.getStatePBest().getEvaluation().get(0)) {
-        lBest[swarm] = particle.getStatePBest();
+        run.lBest[swarm] = particle.getStatePBest();
         if (!getReferenceList().isEmpty()
-            && lBest[swarm].getEvaluation().get(0)
+            && run.lBest[swarm].getEvaluation().get(0)
                > getReferenceList().get(getReferenceList().size() - 1)
                    .getEvaluation().get(0)) {
-          gBest = new State();
-          gBest.setCode(new ArrayList<>(lBest[swarm].getCode()));
-          gBest.setEvaluation(lBest[swarm].getEvaluation());
-          gBest.setTypeGenerator(lBest[swarm].getTypeGenerator());
-          stateReferencePSO = gBest;
+          run.gBest = (State) run.lBest[swarm].getCopy();
+          run.gBest.setEvaluation(run.lBest[swarm].getEvaluation());
+          run.gBest.setTypeGenerator(run.lBest[swarm].getTypeGenerator());
+          stateReferencePSO = run.gBest;
         }
       }
     } else {
       // Minimisation: first let the particle update its personal best
       particle.updateReference(stateCandidate, countIterationsCurrent);
-      if (lBest[swarm].getEvaluation().get(0)
+      if (run.lBest[swarm].getEvaluation().get(0)
           > particle.getStatePBest().getEvaluation().get(0)) {
-        lBest[swarm] = particle.getStatePBest();
+        run.lBest[swarm] = particle.getStatePBest();
         if (!getReferenceList().isEmpty()
-            && lBest[swarm].getEvaluation().get(0)
+            && run.lBest[swarm].getEvaluation().get(0)
                < getReferenceList().get(getReferenceList().size() - 1)
                    .getEvaluation().get(0)) {
-          gBest = new State();
-          gBest.setCode(new ArrayList<>(lBest[swarm].getCode()));
-          gBest.setEvaluation(lBest[swarm].getEvaluation());
-          gBest.setTypeGenerator(lBest[swarm].getTypeGenerator());
-          stateReferencePSO = gBest;
+          run.gBest = (State) run.lBest[swarm].getCopy();
+          run.gBest.setEvaluation(run.lBest[swarm].getEvaluation());
+          run.gBest.setTypeGenerator(run.lBest[swarm].getTypeGenerator());
+          stateReferencePSO = run.gBest;
         }
       }
     }
 
-    if (gBest != null) {
-      listStateReference.add(gBest);
+    if (run.gBest != null) {
+      listStateReference.add(run.gBest);
     }
 
     // Advance to next particle and increase PSO iteration counter
-    countParticle++;
-    countCurrentIterPSO++;
+    run.countParticle++;
+    run.countCurrentIterPSO++;
   }
 
   /**
@@ -447,7 +581,8 @@ public class ParticleSwarmOptimization extends Generator {
    * @return [State] The initial gBest state.
    */
   public State gBestInicial() {
-    if (lBest == null || lBest.length == 0) {
+    RunState run = runState();
+    if (run.lBest == null || run.lBest.length == 0) {
       return null;
     }
 
@@ -455,17 +590,17 @@ public class ParticleSwarmOptimization extends Generator {
     Problem problem = (strategy == null) ? null : strategy.getProblem();
     ProblemType type = (problem == null) ? null : problem.getTypeProblem();
 
-    State stateBest = lBest[0];
-    for (int i = 1; i < lBest.length; i++) {
+    State stateBest = run.lBest[0];
+    for (int i = 1; i < run.lBest.length; i++) {
       if (type == null || type.equals(ProblemType.MAXIMIZAR)) {
-        if (lBest[i].getEvaluation().get(0)
+        if (run.lBest[i].getEvaluation().get(0)
             > stateBest.getEvaluation().get(0)) {
-          stateBest = lBest[i];
+          stateBest = run.lBest[i];
         }
       } else {
-        if (lBest[i].getEvaluation().get(0)
+        if (run.lBest[i].getEvaluation().get(0)
             < stateBest.getEvaluation().get(0)) {
-          stateBest = lBest[i];
+          stateBest = run.lBest[i];
         }
       }
     }
@@ -480,9 +615,10 @@ public class ParticleSwarmOptimization extends Generator {
    */
   @Override
   public void setInitialReference(State stateInitialRef) {
+    RunState run = runState();
     this.stateReferencePSO = stateInitialRef;
-    if (gBest == null) {
-      gBest = stateInitialRef;
+    if (run.gBest == null) {
+      run.gBest = stateInitialRef;
     }
   }
 
@@ -527,6 +663,7 @@ public class ParticleSwarmOptimization extends Generator {
    */
   @Override
   public boolean awardUpdateREF(State stateCandidate) {
+    RunState run = runState();
     if (stateCandidate == null
         || stateCandidate.getEvaluation() == null
         || stateCandidate.getEvaluation().isEmpty()) {
@@ -538,9 +675,9 @@ public class ParticleSwarmOptimization extends Generator {
     ProblemType type = (problem == null) ? null : problem.getTypeProblem();
 
     double evalCand = stateCandidate.getEvaluation().get(0);
-    double evalRef = (gBest != null && gBest.getEvaluation() != null
-        && !gBest.getEvaluation().isEmpty())
-        ? gBest.getEvaluation().get(0)
+    double evalRef = (run.gBest != null && run.gBest.getEvaluation() != null
+        && !run.gBest.getEvaluation().isEmpty())
+        ? run.gBest.getEvaluation().get(0)
         : evalCand;
 
     if (type == null || type.equals(ProblemType.MAXIMIZAR)) {
@@ -586,15 +723,6 @@ public class ParticleSwarmOptimization extends Generator {
     return this.listCountGender;
   }
 
-  /** Returns the trace of weight values. 
-   * 
-   * @return [float[]] The trace array.
-  */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
   /** Convenience getters/setters for static fields (used by Particle). 
    * 
    * @return [double] The constriction factor.
@@ -616,7 +744,7 @@ public class ParticleSwarmOptimization extends Generator {
    * @return [int] The current iteration count.
   */
   public static int getCountCurrentIterPSO() {
-    return countCurrentIterPSO;
+    return runState().countCurrentIterPSO;
   }
 
   /** Sets the count of the current iteration in PSO. 
@@ -624,7 +752,24 @@ public class ParticleSwarmOptimization extends Generator {
    * @param countCurrentIterPSO [int] The new current iteration count.
   */
   public static void setCountCurrentIterPSO(int countCurrentIterPSO) {
-    ParticleSwarmOptimization.countCurrentIterPSO = countCurrentIterPSO;
+    runState().countCurrentIterPSO = countCurrentIterPSO;
+  }
+
+  /** Sets the local best array (lBest). 
+   * 
+   * @param lBest [State[]] The new local best array.
+  */
+  public static void setLBest(State[] lBest) {
+    runState().lBest = lBest;
+  }
+
+  /**
+   * Gets the per-run state of the swarms of the current context.
+   *
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
   }
 
   /** Maximum inertia weight accessors. 
@@ -712,12 +857,99 @@ public class ParticleSwarmOptimization extends Generator {
     ParticleSwarmOptimization.binary = binary;
   }
 
+  /**
+   * Gets the settings of the synchronous mode in the current run.
+   *
+   * @return [Settings] The settings, or the defaults if the run set none.
+   */
+  private static Settings settings() {
+    return SearchContext.current().getSetting(Settings.class, Settings.DEFAULT);
+  }
+
+  /**
+   * Checks whether the particles of the current run move together in a
+   * {@link SwarmEngine}.
+   *
+   * @return [boolean] True in synchronous mode.
+   */
+  public static boolean isSynchronous() {
+    return settings().synchronous;
+  }
+
+  /**
+   * Sets whether the particles of the current run move together. In synchronous mode every step
+   * moves all the particles, evaluates them as one batch, in parallel when the
+   * problem has an executor, and reduces the bests once; the run then takes
+   * the particles one by one. It only supports continuous variables.
+   *
+   * @param synchronous [boolean] True to use the synchronous mode.
+   */
+  public static void setSynchronous(boolean synchronous) {
+    Settings s = settings();
+    SearchContext.current().setSetting(Settings.class, new Settings(synchronous, s.topology, s.neighbours));
+  }
+
+  /**
+   * Gets the neighbourhood of the particles in synchronous mode in the current run.
+   *
+   * @return [SwarmTopology] The topology.
+   */
+  public static SwarmTopology getTopology() {
+    return settings().topology;
+  }
+
+  /**
+   * Sets the neighbourhood of the particles in synchronous mode in the current run.
+   *
+   * @param topology [SwarmTopology] The topology.
+   */
+  public static void setTopology(SwarmTopology topology) {
+    if (topology == null) {
+      throw new IllegalArgumentException("La topología no puede ser nula");
+    }
+    Settings s = settings();
+    SearchContext.current().setSetting(Settings.class, new Settings(s.synchronous, topology, s.neighbours));
+  }
+
+  /**
+   * Gets the parameter of the topology in synchronous mode in the current run.
+   *
+   * @return [int] Neighbours on each side of the ring or random links, 0 for the usual value.
+   */
+  public static int getNeighbours() {
+    return settings().neighbours;
+  }
+
+  /**
+   * Sets the parameter of the topology in synchronous mode in the current run.
+   *
+   * @param neighbours [int] Neighbours on each side of the ring or random links, 0 for the usual value.
+   */
+  public static void setNeighbours(int neighbours) {
+    if (neighbours < 0) {
+      throw new IllegalArgumentException("El número de vecinos no puede ser negativo: " + neighbours);
+    }
+    Settings s = settings();
+    SearchContext.current().setSetting(Settings.class, new Settings(s.synchronous, s.topology, neighbours));
+  }
+
+  /**
+   * Checks whether the states returned by generate are already evaluated,
+   * which happens in synchronous mode.
+   *
+   * @return [boolean] True in synchronous mode.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return isSynchronous();
+  }
+
   /** Gets the global best state (gBest). 
    * 
    * @return [State] The global best state.
   */
   public State getGBest() {
-    return gBest;
+    return runState().gBest;
   }
 
   /** Sets the global best state (gBest). 
@@ -725,24 +957,86 @@ public class ParticleSwarmOptimization extends Generator {
    * @param gBest [State] The new global best state.
   */
   public static void setGBest(State gBest) {
-    ParticleSwarmOptimization.gBest = gBest;
+    runState().gBest = gBest;
   }
 
   /**
-   * Gets the total number of particles (countRef).
+   * Gets the total number of particles (countRef) of the current run.
    * 
    * @return [int] The total number of particles.
    */
   public static int getCountRef() {
-    return countRef;
+    return runState().countRef;
   }
 
   /**
-   * Sets the total number of particles (countRef).
+   * Sets the total number of particles (countRef) of the current run.
    * 
    * @param countRef [int] The new total number of particles.
    */
   public static void setCountRef(int countRef) {
-    ParticleSwarmOptimization.countRef = countRef;
+    runState().countRef = countRef;
+  }
+
+  /**
+   * Writes the state of the swarms: the particles with their bests and
+   * velocities, the local and global bests, the position of the next
+   * particle to move and the swarm of the synchronous mode.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    RunState run = runState();
+    writeCounters(out);
+    out.writeState(stateReferencePSO);
+    out.writeInt(listParticle.size());
+    for (Particle particle : listParticle) {
+      out.writeState(particle.getStatePBest());
+      out.writeState(particle.getStateActual());
+      out.writeValues(particle.getVelocity());
+    }
+    out.writeInt(run.countParticle);
+    out.writeInt(run.countCurrentIterPSO);
+    out.writeState(run.gBest);
+    out.writeStates((run.lBest != null) ? Arrays.asList(run.lBest) : null);
+    out.writeBoolean(engine != null);
+    if (engine != null) {
+      engine.writeCheckpoint(out);
+      out.writeInt(served);
+    }
+  }
+
+  /**
+   * Restores the state of the swarms.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    RunState run = runState();
+    readCounters(in);
+    stateReferencePSO = in.readState();
+    int size = in.readInt();
+    List<Particle> particles = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      State pBest = in.readState();
+      State actual = in.readState();
+      particles.add(new Particle(pBest, actual, in.readValues()));
+    }
+    listParticle = particles;
+    run.countParticle = in.readInt();
+    run.countCurrentIterPSO = in.readInt();
+    run.gBest = in.readState();
+    List<State> lBest = in.readStates();
+    run.lBest = (lBest != null) ? lBest.toArray(new State[0]) : null;
+    if (in.readBoolean()) {
+      engine = SwarmEngine.readCheckpoint(in, Strategy.getStrategy().getProblem());
+      served = in.readInt();
+    } else {
+      engine = null;
+    }
   }
 }
@@ -11,6 +11,7 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 
@@ -40,13 +41,18 @@ public class RandomSearch extends Generator {
   /** Weight associated with this generator. */
   private float weight;
 
-  /** Global list of reference states for population-based algorithms. */
-  private static List<State> listStateReference;
+  /**
+   * Per-run state of Random Search, kept in the current SearchContext so runs
+   * executed in parallel do not share their reference list.
+   */
+  private static final class RunState {
+    /** Global list of reference states for population-based algorithms. */
+    private List<State> listStateReference;
+  }
 
  
   private int[] listCountBetterGenderRandomSearch = new int[10];
   private int[] listCountGender = new int[10];
-  private float[] listTrace = new float[1200000];
 
   /**
    * Default constructor.
@@ -60,14 +66,13 @@ public class RandomSearch extends Generator {
     this.typeGenerator = GeneratorType.RandomSearch;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderRandomSearch[0] = 0;
     listCountGender[0] = 0;
 
     // Link superclass stats array to local one
     this.listCountBetterGender = this.listCountBetterGenderRandomSearch;
 
-    listStateReference = new ArrayList<>();
+    runState().listStateReference = new ArrayList<>();
   }
 
   /**
@@ -94,12 +99,23 @@ public class RandomSearch extends Generator {
         || EvolutionStrategies.getCountRef() != 0
         || DistributionEstimationAlgorithm.getCountRef() != 0
         || ParticleSwarmOptimization.getCountRef() != 0) {
-      listStateReference.add(statecandidate);
+      runState().listStateReference.add(statecandidate);
     }
 
     return statecandidate;
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Gets the current reference state for Random Search.
    * 
@@ -184,10 +200,13 @@ public class RandomSearch extends Generator {
    */
   @Override
   public List<State> getReferenceList() {
-    if (stateReferenceRS != null) {
-      listStateReference.add(stateReferenceRS);
+    RunState run = runState();
+    List<State> list = run.listStateReference;
+    // Solo se añade si cambió desde la última consulta, para no repetirla en cada llamada.
+    if (stateReferenceRS != null && (list.isEmpty() || list.get(list.size() - 1) != stateReferenceRS)) {
+      list.add(stateReferenceRS);
     }
-    return listStateReference;
+    return run.listStateReference;
   }
 
   /**
@@ -252,23 +271,13 @@ public class RandomSearch extends Generator {
     return this.listCountGender;
   }
 
-  /**
-   * Gets the trace of weights over iterations.
-   * 
-   * @return float[] trace of weights.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
   /**
    * Gets the global list of reference states.
    * 
    * @return [State] list of reference states.
    */
   public static List<State> getListStateReference() {
-    return listStateReference;
+    return runState().listStateReference;
   }
 
   /**
@@ -277,6 +286,15 @@ public class RandomSearch extends Generator {
    * @param listStateReference [State] list of reference states.
    */
   public static void setListStateReference(List<State> listStateReference) {
-    RandomSearch.listStateReference = listStateReference;
+    runState().listStateReference = listStateReference;
+  }
+
+  /**
+   * Gets the per-run state of Random Search of the current context.
+   *
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
   }
 }
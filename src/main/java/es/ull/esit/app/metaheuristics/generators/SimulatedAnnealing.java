@@ -1,5 +1,6 @@
 package es.ull.esit.app.metaheuristics.generators;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +12,9 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 
@@ -34,17 +38,23 @@ public class SimulatedAnnealing extends Generator {
   /** Current reference state for Simulated Annealing. */
   private State stateReferenceSA;
 
-  /** Cooling factor (T_{k+1} = alpha * T_k). */
-  private static Double alpha;
+  /**
+   * Per-run state of the cooling schedule, kept in the current SearchContext
+   * so runs executed in parallel cool down independently.
+   */
+  private static final class RunState {
+    /** Cooling factor (T_{k+1} = alpha * T_k). */
+    private Double alpha;
 
-  /** Initial temperature. */
-  private static Double tinitial;
+    /** Initial temperature, lowered at each cooling step. */
+    private Double tinitial;
 
-  /** Final temperature (possibly used externally as stopping condition). */
-  private static Double tfinal;
+    /** Final temperature (possibly used externally as stopping condition). */
+    private Double tfinal;
 
-  /* Iteration index (global) at which the next temperature update must be performed. */
-  private static int countIterationsT;
+    /* Iteration index (global) at which the next temperature update must be performed. */
+    private int countIterationsT;
+  }
 
   /* Stores the repetition period of the temperature (how many iterations before decreasing temperature again). */
   private int countRept;
@@ -64,9 +74,6 @@ public class SimulatedAnnealing extends Generator {
   /** Local gender statistics array. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weight values during the execution. */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Default constructor.
    *
@@ -81,7 +88,6 @@ public class SimulatedAnnealing extends Generator {
     this.typeGenerator = GeneratorType.SimulatedAnnealing;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderSA[0] = 0;
     listCountGender[0] = 0;
 
@@ -125,6 +131,17 @@ public class SimulatedAnnealing extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Returns the current reference state.
    *
@@ -184,19 +201,20 @@ public class SimulatedAnnealing extends Generator {
     // Cooling schedule:
     // If we reach the iteration in which temperature must be updated,
     // reduce T and set the next update at current + countRept.
+    RunState run = runState();
     if (countIterationsCurrent != null
-        && countIterationsT > 0
-        && alpha != null
-        && tinitial != null) {
+        && run.countIterationsT > 0
+        && run.alpha != null
+        && run.tinitial != null) {
 
       // First time we enter, store the period
       if (countRept == 0) {
-        countRept = countIterationsT;
+        countRept = run.countIterationsT;
       }
 
-      if (countIterationsCurrent.equals(countIterationsT)) {
-        tinitial = tinitial * alpha;
-        countIterationsT = countIterationsT + countRept;
+      if (countIterationsCurrent.equals(run.countIterationsT)) {
+        run.tinitial = run.tinitial * run.alpha;
+        run.countIterationsT = run.countIterationsT + countRept;
       }
     }
   }
@@ -237,7 +255,9 @@ public class SimulatedAnnealing extends Generator {
    */
   @Override
   public List<State> getReferenceList() {
-    if (stateReferenceSA != null) {
+    // Solo se añade si cambió desde la última consulta, para no repetirla en cada llamada.
+    if (stateReferenceSA != null
+        && (listStateReference.isEmpty() || listStateReference.get(listStateReference.size() - 1) != stateReferenceSA)) {
       listStateReference.add(stateReferenceSA);
     }
     return new ArrayList<>(listStateReference);
@@ -307,86 +327,115 @@ public class SimulatedAnnealing extends Generator {
   }
 
   /**
-   * Returns the trace of weight values.
-   *
-   * @return [float[]] Weight trace.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
-
-  /**
-   * Gets the cooling factor.
+   * Gets the cooling factor of the current run.
    * 
    * @return [Double] Cooling factor.
    */
   public static Double getAlpha() {
-    return alpha;
+    return runState().alpha;
   }
 
   /**
-   * Sets the cooling factor.
+   * Sets the cooling factor of the current run.
    * 
    * @param aAlpha [Double] New cooling factor.
    */  
   public static void setAlpha(Double aAlpha) {
-    alpha = aAlpha;
+    runState().alpha = aAlpha;
   }
 
 
   /**
-   * Gets the initial temperature.
+   * Gets the initial temperature of the current run.
    * 
    * @return [Double] Initial temperature.
    */
   public static Double getTinitial() {
-    return tinitial;
+    return runState().tinitial;
   }
 
   /**
-   * Sets the initial temperature.
+   * Sets the initial temperature of the current run.
    * 
    * @param aTinitial [Double] New initial temperature.
    */
   public static void setTinitial(Double aTinitial) {
-    tinitial = aTinitial;
+    runState().tinitial = aTinitial;
   }
 
   /**
-   * Gets the final temperature.
+   * Gets the final temperature of the current run.
    * 
    * @return [Double] Final temperature.
    */
   public static Double getTfinal() {
-    return tfinal;
+    return runState().tfinal;
   }
 
   /**
-   * Sets the final temperature.
+   * Sets the final temperature of the current run.
    * 
    * @param aTfinal [Double] New final temperature.
    */
   public static void setTfinal(Double aTfinal) {
-    tfinal = aTfinal;
+    runState().tfinal = aTfinal;
   }
 
   /**
-   * Gets the iteration index for the next temperature update.
+   * Gets the iteration index for the next temperature update of the current run.
    * 
    * @return [int] Iteration index.
    */
   public static int getCountIterationsT() {
-    return countIterationsT;
+    return runState().countIterationsT;
   }
 
   /**
-   * Sets the iteration index for the next temperature update.
+   * Sets the iteration index for the next temperature update of the current run.
    * 
    * @param aCountIterationsT [int] New iteration index.
    */
   public static void setCountIterationsT(int aCountIterationsT) {
-    countIterationsT = aCountIterationsT;
+    runState().countIterationsT = aCountIterationsT;
   }
 
+  /**
+   * Writes the state of the generator, with the temperature and the next
+   * iteration at which it cools down.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    super.writeCheckpoint(out);
+    RunState run = runState();
+    out.writeInt(countRept);
+    out.writeNullableDouble(run.tinitial);
+    out.writeInt(run.countIterationsT);
+  }
+
+  /**
+   * Restores the state of the generator, with its temperature.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  @Override
+  public void readCheckpoint(CheckpointInput in) throws IOException {
+    super.readCheckpoint(in);
+    RunState run = runState();
+    countRept = in.readInt();
+    run.tinitial = in.readNullableDouble();
+    run.countIterationsT = in.readInt();
+  }
+
+  /**
+   * Gets the per-run state of the cooling schedule of the current context.
+   *
+   * @return [RunState] The state of the current run.
+   */
+  private static RunState runState() {
+    return SearchContext.current().getAttribute(RunState.class, RunState::new);
+  }
 }
@@ -0,0 +1,841 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+/**
+ * Particle swarm for continuous problems stored as a structure of arrays: the
+ * positions, velocities and personal bests of all the particles live in
+ * contiguous double arrays, one row per particle. Each step moves every
+ * particle with the same equations as {@link Particle}, evaluates the whole
+ * swarm as one batch through {@link Problem#evaluateAll(List)}, in parallel
+ * when the problem has an executor, and then updates the bests.
+ * <p>
+ * Each particle follows the personal best of its best informant, chosen among
+ * its neighbours in the {@link SwarmTopology} of the engine; by default the
+ * particles are split in disjoint swarms. In parallel mode the particles are
+ * moved and the bests reduced in parallel passes; the random numbers are
+ * drawn before, so the run does not depend on the scheduling.
+ * <p>
+ * The inner loop over the dimensions has no branches and no boxing, so the
+ * JIT compiles it to vector instructions.
+ */
+public final class SwarmEngine {
+
+  /** Problem to optimize. */
+  private final Problem problem;
+
+  /** Number of swarms. */
+  private final int swarms;
+
+  /** Number of particles of each swarm. */
+  private final int particlesBySwarm;
+
+  /** Number of particles of all the swarms. */
+  private final int particles;
+
+  /** Number of variables of each position. */
+  private final int dimensions;
+
+  /** Whether the problem is maximized. */
+  private final boolean maximize;
+
+  /** Position of each particle, one row per particle. */
+  private final double[] position;
+
+  /** Velocity of each particle, one row per particle. */
+  private final double[] velocity;
+
+  /** Personal best position of each particle, one row per particle. */
+  private final double[] pBest;
+
+  /** Evaluation of the personal best of each particle. */
+  private final double[] pBestFitness;
+
+  /** Evaluation of the current position of each particle. */
+  private final double[] fitness;
+
+  /** Best informant of each particle, whose personal best it follows. */
+  private final int[] informant;
+
+  /** Cognitive factor times its random number, for each particle in the current step. */
+  private final double[] cognitive;
+
+  /** Social factor times its random number, for each particle in the current step. */
+  private final double[] social;
+
+  /** States through which the particles are evaluated, reused at every step. */
+  private final DoubleState[] states;
+
+  /** The states as the batch given to the problem. */
+  private final List<State> batch;
+
+  /** Particle with the global best, or -1 before the initialization. */
+  private int gBest = -1;
+
+  /** Neighbourhood of the particles. */
+  private SwarmTopology topology = SwarmTopology.PARTITIONED;
+
+  /** Parameter of the topology: neighbours on each side of the ring, or random links. */
+  private int neighbours = 1;
+
+  /** Neighbours of each particle, or null for disjoint swarms. */
+  private int[][] neighbourhoods;
+
+  /** Whether the particles are moved and the bests reduced in parallel. */
+  private boolean parallel;
+
+  /** Maximum inertia weight. */
+  private double wmax = ParticleSwarmOptimization.getWmax();
+
+  /** Minimum inertia weight. */
+  private double wmin = ParticleSwarmOptimization.getWmin();
+
+  /** Cognitive learning factor. */
+  private double learning1 = ParticleSwarmOptimization.getLearning1();
+
+  /** Social learning factor. */
+  private double learning2 = ParticleSwarmOptimization.getLearning2();
+
+  /** Constriction factor, computed once from the learning factors. */
+  private double constriction = constriction(learning1, learning2);
+
+  /** Lower bound of every variable. */
+  private double lower = Double.NEGATIVE_INFINITY;
+
+  /** Upper bound of every variable. */
+  private double upper = Double.POSITIVE_INFINITY;
+
+  /** Largest absolute value of every component of the velocities. */
+  private double velocityLimit = Double.POSITIVE_INFINITY;
+
+  /** Number of steps over which the inertia decreases, 0 to keep it at its maximum. */
+  private int iterations;
+
+  /** Number of steps done. */
+  private int iteration;
+
+  /**
+   * Constructor.
+   *
+   * @param problem [Problem] Problem to optimize, with continuous variables.
+   * @param swarms [int] Number of swarms.
+   * @param particlesBySwarm [int] Number of particles of each swarm.
+   * @param dimensions [int] Number of variables of each position.
+   */
+  public SwarmEngine(Problem problem, int swarms, int particlesBySwarm, int dimensions) {
+    if (problem == null) {
+      throw new IllegalArgumentException("El problema no puede ser nulo");
+    }
+    if (swarms < 1 || particlesBySwarm < 1 || dimensions < 1) {
+      throw new IllegalArgumentException("El número de enjambres, de partículas y de dimensiones debe ser positivo");
+    }
+    this.problem = problem;
+    this.swarms = swarms;
+    this.particlesBySwarm = particlesBySwarm;
+    this.particles = Math.multiplyExact(swarms, particlesBySwarm);
+    this.dimensions = dimensions;
+    this.maximize = problem.getTypeProblem() != ProblemType.MINIMIZAR;
+    int cells = Math.multiplyExact(particles, dimensions);
+    this.position = new double[cells];
+    this.velocity = new double[cells];
+    this.pBest = new double[cells];
+    this.pBestFitness = new double[particles];
+    this.fitness = new double[particles];
+    this.informant = new int[particles];
+    this.cognitive = new double[particles];
+    this.social = new double[particles];
+    this.states = new DoubleState[particles];
+    for (int i = 0; i < particles; i++) {
+      states[i] = new DoubleState(dimensions);
+    }
+    this.batch = Arrays.asList(states);
+  }
+
+  /**
+   * Sets the inertia weights. The inertia goes down linearly from the maximum
+   * to the minimum over the iterations of the run.
+   *
+   * @param wmax [double] Maximum inertia weight.
+   * @param wmin [double] Minimum inertia weight.
+   */
+  public void setInertia(double wmax, double wmin) {
+    this.wmax = wmax;
+    this.wmin = wmin;
+  }
+
+  /**
+   * Sets the learning factors and computes the constriction factor from them.
+   *
+   * @param learning1 [double] Cognitive learning factor.
+   * @param learning2 [double] Social learning factor.
+   */
+  public void setLearning(double learning1, double learning2) {
+    this.learning1 = learning1;
+    this.learning2 = learning2;
+    this.constriction = constriction(learning1, learning2);
+  }
+
+  /**
+   * Sets the bounds of every variable. The particles are created inside them
+   * and never leave them.
+   *
+   * @param lower [double] Lower bound.
+   * @param upper [double] Upper bound.
+   */
+  public void setBounds(double lower, double upper) {
+    if (!(lower <= upper)) {
+      throw new IllegalArgumentException("Límites inválidos: [" + lower + ", " + upper + "]");
+    }
+    this.lower = lower;
+    this.upper = upper;
+  }
+
+  /**
+   * Sets the largest absolute value of every component of the velocities.
+   *
+   * @param velocityLimit [double] The limit, positive.
+   */
+  public void setVelocityLimit(double velocityLimit) {
+    if (!(velocityLimit > 0)) {
+      throw new IllegalArgumentException("El límite de velocidad debe ser positivo: " + velocityLimit);
+    }
+    this.velocityLimit = velocityLimit;
+  }
+
+  /**
+   * Sets the neighbourhood of the particles with its usual parameter: one
+   * neighbour on each side of the ring, or three random links per particle.
+   *
+   * @param topology [SwarmTopology] The topology.
+   */
+  public void setTopology(SwarmTopology topology) {
+    setTopology(topology, (topology == SwarmTopology.RANDOM) ? 3 : 1);
+  }
+
+  /**
+   * Sets the neighbourhood of the particles, used from the next
+   * initialization. The ring and the random topologies join the particles of
+   * all the swarms.
+   *
+   * @param topology [SwarmTopology] The topology.
+   * @param neighbours [int] Neighbours on each side of the ring, or particles
+   *        informed by each one in the random topology; ignored by the others.
+   */
+  public void setTopology(SwarmTopology topology, int neighbours) {
+    if (topology == null) {
+      throw new IllegalArgumentException("La topología no puede ser nula");
+    }
+    if (neighbours < 1) {
+      throw new IllegalArgumentException("El número de vecinos debe ser positivo: " + neighbours);
+    }
+    this.topology = topology;
+    this.neighbours = neighbours;
+  }
+
+  /**
+   * Gets the neighbourhood of the particles.
+   *
+   * @return [SwarmTopology] The topology.
+   */
+  public SwarmTopology getTopology() {
+    return topology;
+  }
+
+  /**
+   * Sets whether the particles are moved and the bests reduced in parallel,
+   * in the common fork-join pool. The evaluations follow the executor of the
+   * problem either way.
+   *
+   * @param parallel [boolean] True to use parallel passes.
+   */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /**
+   * Sets the number of steps over which the inertia decreases.
+   *
+   * @param iterations [int] The number of steps, 0 to keep the maximum inertia.
+   */
+  public void setIterations(int iterations) {
+    this.iterations = Math.max(iterations, 0);
+  }
+
+  /**
+   * Creates the particles, evaluates them and computes the bests. The
+   * positions are uniform inside the bounds when both are finite and are
+   * taken from the random states of the operator of the problem otherwise.
+   * The velocities start at zero.
+   *
+   * @throws IllegalArgumentException If the operator creates shorter states.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void initialize()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (Double.isFinite(lower) && Double.isFinite(upper)) {
+      RandomGenerator generator = RandomService.generator();
+      for (int i = 0; i < position.length; i++) {
+        position[i] = lower + (upper - lower) * generator.nextDouble();
+      }
+    } else {
+      List<State> initial = problem.getOperator().generateRandomState(particles);
+      for (int p = 0; p < particles; p++) {
+        State state = initial.get(p);
+        if (state.size() < dimensions) {
+          throw new IllegalArgumentException("El operador creó un estado de " + state.size()
+              + " variables y el enjambre tiene " + dimensions);
+        }
+        for (int d = 0; d < dimensions; d++) {
+          position[p * dimensions + d] = state.getDouble(d);
+        }
+      }
+    }
+    evaluate();
+    start();
+  }
+
+  /**
+   * Creates the particles at the given positions and computes the bests. The
+   * positions already evaluated keep their evaluation; if any is missing the
+   * whole swarm is evaluated. The velocities start at zero.
+   *
+   * @param positions [List<State>] Position of each particle, swarm after swarm.
+   * @throws IllegalArgumentException If the number or the size of the positions do not match.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void initialize(List<State> positions)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (positions.size() != particles) {
+      throw new IllegalArgumentException("Se esperaban " + particles + " posiciones y hay " + positions.size());
+    }
+    boolean evaluated = true;
+    for (int p = 0; p < particles; p++) {
+      State state = positions.get(p);
+      if (state.size() < dimensions) {
+        throw new IllegalArgumentException("La posición " + p + " tiene " + state.size()
+            + " variables y el enjambre tiene " + dimensions);
+      }
+      for (int d = 0; d < dimensions; d++) {
+        position[p * dimensions + d] = state.getDouble(d);
+      }
+      List<Double> evaluation = state.getEvaluation();
+      if (evaluation == null || evaluation.isEmpty()) {
+        evaluated = false;
+      } else {
+        fitness[p] = evaluation.get(0);
+      }
+    }
+    if (evaluated) {
+      for (int p = 0; p < particles; p++) {
+        states[p].setValues(position, p * dimensions, dimensions);
+        states[p].setEvaluation(List.of(fitness[p]));
+      }
+    } else {
+      evaluate();
+    }
+    start();
+  }
+
+  /**
+   * Starts the run from the evaluated positions: the velocities are zero, the
+   * personal bests are the positions and the neighbourhoods are built.
+   */
+  private void start() {
+    Arrays.fill(velocity, 0);
+    System.arraycopy(position, 0, pBest, 0, position.length);
+    System.arraycopy(fitness, 0, pBestFitness, 0, particles);
+    iteration = 0;
+    link();
+    gBest = reduceBest();
+    updateInformants();
+  }
+
+  /**
+   * Moves every particle once, evaluates the swarm and updates the bests.
+   *
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public void step()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    if (gBest < 0) {
+      throw new IllegalStateException("El enjambre no está inicializado");
+    }
+    double w = (iterations > 0)
+        ? wmax - (wmax - wmin) * Math.min(iteration, iterations) / iterations
+        : wmax;
+    RandomGenerator generator = RandomService.generator();
+    for (int p = 0; p < particles; p++) {
+      // Dos números por partícula, como Particle, sacados antes de mover en paralelo.
+      cognitive[p] = learning1 * generator.nextDouble();
+      social[p] = learning2 * generator.nextDouble();
+    }
+    if (parallel) {
+      IntStream.range(0, particles).parallel().forEach(p -> move(p, w));
+    } else {
+      for (int p = 0; p < particles; p++) {
+        move(p, w);
+      }
+    }
+    evaluate();
+    updateBests();
+    iteration++;
+  }
+
+  /**
+   * Initializes the swarm and runs a number of steps.
+   *
+   * @param iterations [int] Number of steps.
+   * @return [State] The best position found, with its evaluation.
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  public State run(int iterations)
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    setIterations(iterations);
+    initialize();
+    for (int i = 0; i < iterations; i++) {
+      step();
+    }
+    return getBestState();
+  }
+
+  /**
+   * Moves one particle: the new velocity is the constriction factor times the
+   * inertia plus the attraction to its personal best and to the one of its
+   * best informant, and it is added to the position. Both are clamped to
+   * their limits.
+   *
+   * @param particle [int] The particle.
+   * @param w [double] Inertia weight.
+   */
+  private void move(int particle, double w) {
+    double[] x = position;
+    double[] v = velocity;
+    double[] p = pBest;
+    int row = particle * dimensions;
+    int local = informant[particle] * dimensions;
+    double c = cognitive[particle];
+    double s = social[particle];
+    double chi = constriction;
+    double vmax = velocityLimit;
+    double min = lower;
+    double max = upper;
+    for (int d = 0; d < dimensions; d++) {
+      int i = row + d;
+      double xi = x[i];
+      double vi = chi * (w * v[i] + c * (p[i] - xi) + s * (p[local + d] - xi));
+      vi = Math.max(-vmax, Math.min(vmax, vi));
+      v[i] = vi;
+      x[i] = Math.max(min, Math.min(max, xi + vi));
+    }
+  }
+
+  /**
+   * Evaluates the current positions of all the particles as one batch.
+   *
+   * @throws IllegalArgumentException If an argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class is not found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method is not found.
+   */
+  private void evaluate()
+      throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException,
+             IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+    for (int p = 0; p < particles; p++) {
+      states[p].setValues(position, p * dimensions, dimensions);
+    }
+    problem.evaluateAll(batch);
+    for (int p = 0; p < particles; p++) {
+      fitness[p] = states[p].getEvaluation().get(0);
+    }
+  }
+
+  /**
+   * Updates the personal bests with the new positions, then the global best
+   * and the best informant of each particle. In the random topology the
+   * links are drawn again if the global best did not improve.
+   */
+  private void updateBests() {
+    if (parallel) {
+      IntStream.range(0, particles).parallel().forEach(this::updatePersonalBest);
+    } else {
+      for (int p = 0; p < particles; p++) {
+        updatePersonalBest(p);
+      }
+    }
+    int best = reduceBest();
+    if (topology == SwarmTopology.RANDOM && !better(pBestFitness[best], pBestFitness[gBest])) {
+      link();
+    }
+    gBest = best;
+    updateInformants();
+  }
+
+  /**
+   * Keeps the new position of a particle as its personal best if it improves it.
+   *
+   * @param particle [int] The particle.
+   */
+  private void updatePersonalBest(int particle) {
+    if (better(fitness[particle], pBestFitness[particle])) {
+      pBestFitness[particle] = fitness[particle];
+      System.arraycopy(position, particle * dimensions, pBest, particle * dimensions, dimensions);
+    }
+  }
+
+  /**
+   * Gets the particle with the best personal best; on ties, the first one.
+   *
+   * @return [int] The particle.
+   */
+  private int reduceBest() {
+    if (parallel) {
+      return IntStream.range(0, particles).parallel().reduce(this::bestOf).orElse(0);
+    }
+    int best = 0;
+    for (int p = 1; p < particles; p++) {
+      best = bestOf(best, p);
+    }
+    return best;
+  }
+
+  /**
+   * Chooses the particle with the better personal best; on ties, the first
+   * one, so the reduction gives the same particle in any order.
+   *
+   * @param a [int] A particle.
+   * @param b [int] Another particle.
+   * @return [int] The chosen particle.
+   */
+  private int bestOf(int a, int b) {
+    if (better(pBestFitness[b], pBestFitness[a])) {
+      return b;
+    }
+    if (better(pBestFitness[a], pBestFitness[b])) {
+      return a;
+    }
+    return Math.min(a, b);
+  }
+
+  /**
+   * Updates the best informant of every particle from the personal bests of
+   * its neighbours.
+   */
+  private void updateInformants() {
+    if (neighbourhoods == null) {
+      // Enjambres disjuntos: un solo recorrido por enjambre.
+      IntStream swarmRange = IntStream.range(0, swarms);
+      (parallel ? swarmRange.parallel() : swarmRange).forEach(swarm -> {
+        int first = swarm * particlesBySwarm;
+        int best = first;
+        for (int p = first + 1; p < first + particlesBySwarm; p++) {
+          best = bestOf(best, p);
+        }
+        Arrays.fill(informant, first, first + particlesBySwarm, best);
+      });
+      return;
+    }
+    IntStream particleRange = IntStream.range(0, particles);
+    (parallel ? particleRange.parallel() : particleRange).forEach(particle -> {
+      int[] members = neighbourhoods[particle];
+      int best = members[0];
+      for (int i = 1; i < members.length; i++) {
+        best = bestOf(best, members[i]);
+      }
+      informant[particle] = best;
+    });
+  }
+
+  /**
+   * Builds the neighbourhoods of the topology; the disjoint swarms need none.
+   */
+  private void link() {
+    neighbourhoods = (topology == SwarmTopology.PARTITIONED)
+        ? null
+        : topology.neighbourhoods(particles, particlesBySwarm, neighbours, RandomService.generator());
+  }
+
+  /**
+   * Checks if an evaluation improves another one.
+   *
+   * @param candidate [double] The new evaluation.
+   * @param current [double] The current evaluation.
+   * @return [boolean] True if the new evaluation is strictly better.
+   */
+  private boolean better(double candidate, double current) {
+    return maximize ? candidate > current : candidate < current;
+  }
+
+  /**
+   * Gets the best position found by the swarms.
+   *
+   * @return [State] A copy of the position, with its evaluation, or null
+   *         before the initialization.
+   */
+  public State getBestState() {
+    if (gBest < 0) {
+      return null;
+    }
+    DoubleState best = new DoubleState(Arrays.copyOfRange(pBest, gBest * dimensions, (gBest + 1) * dimensions));
+    best.setEvaluation(List.of(pBestFitness[gBest]));
+    best.setTypeGenerator(GeneratorType.ParticleSwarmOptimization);
+    return best;
+  }
+
+  /**
+   * Gets the current position of a particle as a state.
+   *
+   * @param particle [int] Position of the particle, swarm after swarm.
+   * @return [State] A copy of the position, with its evaluation.
+   */
+  public State getParticleState(int particle) {
+    DoubleState state = new DoubleState(getPosition(particle));
+    state.setEvaluation(List.of(fitness[particle]));
+    state.setTypeGenerator(GeneratorType.ParticleSwarmOptimization);
+    return state;
+  }
+
+  /**
+   * Gets the best informant of a particle, whose personal best it follows.
+   *
+   * @param particle [int] Position of the particle, swarm after swarm.
+   * @return [int] Position of the informant.
+   */
+  public int getInformant(int particle) {
+    return informant[particle];
+  }
+
+  /**
+   * Gets the evaluation of the best position found by the swarms.
+   *
+   * @return [double] The evaluation, or NaN before the initialization.
+   */
+  public double getBestFitness() {
+    return (gBest < 0) ? Double.NaN : pBestFitness[gBest];
+  }
+
+  /**
+   * Gets the current position of a particle.
+   *
+   * @param particle [int] Position of the particle, swarm after swarm.
+   * @return [double[]] A copy of the position.
+   */
+  public double[] getPosition(int particle) {
+    return Arrays.copyOfRange(position, particle * dimensions, (particle + 1) * dimensions);
+  }
+
+  /**
+   * Gets the current velocity of a particle.
+   *
+   * @param particle [int] Position of the particle, swarm after swarm.
+   * @return [double[]] A copy of the velocity.
+   */
+  public double[] getVelocity(int particle) {
+    return Arrays.copyOfRange(velocity, particle * dimensions, (particle + 1) * dimensions);
+  }
+
+  /**
+   * Gets the number of particles of all the swarms.
+   *
+   * @return [int] The number of particles.
+   */
+  public int getParticleCount() {
+    return particles;
+  }
+
+  /**
+   * Gets the number of variables of each position.
+   *
+   * @return [int] The number of dimensions.
+   */
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  /**
+   * Gets the number of steps done since the initialization.
+   *
+   * @return [int] The number of steps.
+   */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /**
+   * Saves the configuration and the arrays of the swarm.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @throws IOException If the stream fails.
+   */
+  public void writeCheckpoint(CheckpointOutput out) throws IOException {
+    out.writeInt(swarms);
+    out.writeInt(particlesBySwarm);
+    out.writeInt(dimensions);
+    out.writeDouble(wmax);
+    out.writeDouble(wmin);
+    out.writeDouble(learning1);
+    out.writeDouble(learning2);
+    out.writeDouble(lower);
+    out.writeDouble(upper);
+    out.writeDouble(velocityLimit);
+    out.writeInt(topology.ordinal());
+    out.writeInt(neighbours);
+    out.writeBoolean(parallel);
+    out.writeInt(iterations);
+    out.writeInt(iteration);
+    out.writeInt(gBest);
+    if (gBest < 0) {
+      return;
+    }
+    writeDoubles(out, position);
+    writeDoubles(out, velocity);
+    writeDoubles(out, pBest);
+    writeDoubles(out, pBestFitness);
+    writeDoubles(out, fitness);
+    // Los vecindarios aleatorios no se pueden reconstruir, así que se guardan todos.
+    out.writeInt((neighbourhoods != null) ? particles : -1);
+    if (neighbourhoods != null) {
+      for (int[] members : neighbourhoods) {
+        out.writeInts(members);
+      }
+    }
+  }
+
+  /**
+   * Creates a swarm from a checkpoint written by {@link #writeCheckpoint}.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param problem [Problem] Problem of the swarm.
+   * @return [SwarmEngine] The swarm, in the same step as when it was saved.
+   * @throws IOException If the stream fails or does not hold a swarm.
+   */
+  public static SwarmEngine readCheckpoint(CheckpointInput in, Problem problem) throws IOException {
+    SwarmEngine engine;
+    try {
+      engine = new SwarmEngine(problem, in.readInt(), in.readInt(), in.readInt());
+      engine.setInertia(in.readDouble(), in.readDouble());
+      engine.setLearning(in.readDouble(), in.readDouble());
+      engine.setBounds(in.readDouble(), in.readDouble());
+      engine.setVelocityLimit(in.readDouble());
+      int topology = in.readInt();
+      if (topology < 0 || topology >= SwarmTopology.values().length) {
+        throw new StreamCorruptedException("Topología desconocida: " + topology);
+      }
+      engine.setTopology(SwarmTopology.values()[topology], in.readInt());
+      engine.setParallel(in.readBoolean());
+      engine.setIterations(in.readInt());
+    } catch (IllegalArgumentException e) {
+      StreamCorruptedException corrupted = new StreamCorruptedException("Enjambre no válido en el checkpoint");
+      corrupted.initCause(e);
+      throw corrupted;
+    }
+    engine.iteration = in.readInt();
+    engine.gBest = in.readInt();
+    if (engine.gBest < 0) {
+      return engine;
+    }
+    readDoubles(in, engine.position);
+    readDoubles(in, engine.velocity);
+    readDoubles(in, engine.pBest);
+    readDoubles(in, engine.pBestFitness);
+    readDoubles(in, engine.fitness);
+    int rows = in.readInt();
+    if (rows >= 0) {
+      engine.neighbourhoods = new int[rows][];
+      for (int p = 0; p < rows; p++) {
+        engine.neighbourhoods[p] = in.readInts();
+      }
+    }
+    for (int p = 0; p < engine.particles; p++) {
+      engine.states[p].setValues(engine.position, p * engine.dimensions, engine.dimensions);
+      engine.states[p].setEvaluation(List.of(engine.fitness[p]));
+    }
+    engine.updateInformants();
+    return engine;
+  }
+
+  /**
+   * Writes an array of doubles of known length.
+   *
+   * @param out [CheckpointOutput] Stream of the checkpoint.
+   * @param values [double[]] The values.
+   * @throws IOException If the stream fails.
+   */
+  private static void writeDoubles(CheckpointOutput out, double[] values) throws IOException {
+    for (double value : values) {
+      out.writeDouble(value);
+    }
+  }
+
+  /**
+   * Reads an array of doubles of known length.
+   *
+   * @param in [CheckpointInput] Stream of the checkpoint.
+   * @param target [double[]] Array to fill.
+   * @throws IOException If the stream fails.
+   */
+  private static void readDoubles(CheckpointInput in, double[] target) throws IOException {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = in.readDouble();
+    }
+  }
+
+  /**
+   * Computes the constriction factor of Clerc and Kennedy, as {@link Particle}.
+   * The factor is only defined when the learning factors add up to 4 or more;
+   * below that the velocities are not constricted.
+   *
+   * @param learning1 [double] Cognitive learning factor.
+   * @param learning2 [double] Social learning factor.
+   * @return [double] The constriction factor.
+   */
+  static double constriction(double learning1, double learning2) {
+    double learning = learning1 + learning2;
+    if (!(learning >= 4)) {
+      return 1;
+    }
+    return 2.0 / Math.abs(2.0 - learning - Math.sqrt((learning * learning) - 4.0 * learning));
+  }
+}
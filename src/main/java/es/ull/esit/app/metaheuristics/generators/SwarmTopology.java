@@ -0,0 +1,141 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Neighbourhood of the particles of a {@link SwarmEngine}: the particles whose
+ * personal best a particle follows. Every neighbourhood includes the particle
+ * itself.
+ */
+public enum SwarmTopology {
+
+  /** Disjoint swarms: each particle follows the best of its swarm. */
+  PARTITIONED {
+    @Override
+    int[][] neighbourhoods(int particles, int swarmSize, int neighbours, RandomGenerator random) {
+      int[][] result = new int[particles][];
+      for (int p = 0; p < particles; p++) {
+        int first = (p / swarmSize) * swarmSize;
+        result[p] = new int[swarmSize];
+        for (int i = 0; i < swarmSize; i++) {
+          result[p][i] = first + i;
+        }
+      }
+      return result;
+    }
+  },
+
+  /** Ring of all the particles: each one follows the given number of neighbours on each side. */
+  RING {
+    @Override
+    int[][] neighbourhoods(int particles, int swarmSize, int neighbours, RandomGenerator random) {
+      int radius = Math.min(Math.max(neighbours, 1), particles / 2);
+      int[][] result = new int[particles][];
+      for (int p = 0; p < particles; p++) {
+        int[] members = new int[2 * radius + 1];
+        for (int i = -radius; i <= radius; i++) {
+          members[i + radius] = Math.floorMod(p + i, particles);
+        }
+        result[p] = distinct(members);
+      }
+      return result;
+    }
+  },
+
+  /** Torus grid as square as possible: each particle follows the four around it. */
+  VON_NEUMANN {
+    @Override
+    int[][] neighbourhoods(int particles, int swarmSize, int neighbours, RandomGenerator random) {
+      int rows = rows(particles);
+      int columns = particles / rows;
+      int[][] result = new int[particles][];
+      for (int p = 0; p < particles; p++) {
+        int row = p / columns;
+        int column = p % columns;
+        result[p] = distinct(new int[] {
+            p,
+            Math.floorMod(row - 1, rows) * columns + column,
+            Math.floorMod(row + 1, rows) * columns + column,
+            row * columns + Math.floorMod(column - 1, columns),
+            row * columns + Math.floorMod(column + 1, columns)});
+      }
+      return result;
+    }
+  },
+
+  /**
+   * Random links of the standard PSO of Clerc: each particle informs itself
+   * and the given number of particles drawn at random. The engine draws them
+   * again after every step that does not improve the global best.
+   */
+  RANDOM {
+    @Override
+    int[][] neighbourhoods(int particles, int swarmSize, int neighbours, RandomGenerator random) {
+      int links = Math.max(neighbours, 1);
+      int[] informed = new int[particles * links];
+      int[] counts = new int[particles];
+      for (int i = 0; i < informed.length; i++) {
+        informed[i] = random.nextInt(particles);
+        counts[informed[i]]++;
+      }
+      int[][] result = new int[particles][];
+      for (int p = 0; p < particles; p++) {
+        result[p] = new int[counts[p] + 1];
+        result[p][0] = p;
+        counts[p] = 1;
+      }
+      for (int i = 0; i < informed.length; i++) {
+        int target = informed[i];
+        result[target][counts[target]++] = i / links;
+      }
+      for (int p = 0; p < particles; p++) {
+        result[p] = distinct(result[p]);
+      }
+      return result;
+    }
+  };
+
+  /**
+   * Gets the neighbourhood of every particle.
+   *
+   * @param particles [int] Number of particles.
+   * @param swarmSize [int] Number of particles of each swarm, for the partitioned topology.
+   * @param neighbours [int] Neighbours on each side of the ring, or links of each particle in the random topology.
+   * @param random [RandomGenerator] Source of the random links.
+   * @return [int[][]] The particles followed by each particle, in ascending order and without repetitions.
+   */
+  abstract int[][] neighbourhoods(int particles, int swarmSize, int neighbours, RandomGenerator random);
+
+  /**
+   * Sorts positions and removes the repeated ones.
+   *
+   * @param members [int[]] The positions.
+   * @return [int[]] The distinct positions in ascending order.
+   */
+  private static int[] distinct(int[] members) {
+    int[] sorted = members.clone();
+    Arrays.sort(sorted);
+    int size = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1]) {
+        sorted[size++] = sorted[i];
+      }
+    }
+    return Arrays.copyOf(sorted, size);
+  }
+
+  /**
+   * Gets the number of rows of the most square grid of particles.
+   *
+   * @param particles [int] Number of particles.
+   * @return [int] The largest divisor not above the square root.
+   */
+  static int rows(int particles) {
+    int rows = (int) Math.sqrt(particles);
+    while (particles % rows != 0) {
+      rows--;
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,201 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+/**
+ * Eigendecomposition of symmetric matrices: a reduction to tridiagonal form
+ * with Householder transformations followed by the implicit QL algorithm, as
+ * in EISPACK and JAMA. Used by {@link CmaEngine} to sample its distribution.
+ */
+final class SymmetricEigensolver {
+
+  /** Relative precision of the doubles. */
+  private static final double EPSILON = Math.ulp(1.0);
+
+  /**
+   * Constructor, not used.
+   */
+  private SymmetricEigensolver() {
+  }
+
+  /**
+   * Decomposes a symmetric matrix A = V diag(d) V^T.
+   *
+   * @param matrix [double[][]] The matrix; it is replaced by V, whose columns are the eigenvectors.
+   * @param values [double[]] Array where the eigenvalues are written, in any order.
+   */
+  static void decompose(double[][] matrix, double[] values) {
+    double[] off = new double[values.length];
+    tridiagonalize(matrix, values, off);
+    diagonalize(matrix, values, off);
+  }
+
+  /**
+   * Reduces the matrix to tridiagonal form with Householder transformations.
+   *
+   * @param v [double[][]] The matrix, replaced by the accumulated transformations.
+   * @param d [double[]] Diagonal of the tridiagonal matrix.
+   * @param e [double[]] Subdiagonal of the tridiagonal matrix, from position 1.
+   */
+  private static void tridiagonalize(double[][] v, double[] d, double[] e) {
+    int n = d.length;
+    for (int j = 0; j < n; j++) {
+      d[j] = v[n - 1][j];
+    }
+    for (int i = n - 1; i > 0; i--) {
+      double scale = 0;
+      double h = 0;
+      for (int k = 0; k < i; k++) {
+        scale += Math.abs(d[k]);
+      }
+      if (scale == 0) {
+        e[i] = d[i - 1];
+        for (int j = 0; j < i; j++) {
+          d[j] = v[i - 1][j];
+          v[i][j] = 0;
+          v[j][i] = 0;
+        }
+      } else {
+        for (int k = 0; k < i; k++) {
+          d[k] /= scale;
+          h += d[k] * d[k];
+        }
+        double f = d[i - 1];
+        double g = (f > 0) ? -Math.sqrt(h) : Math.sqrt(h);
+        e[i] = scale * g;
+        h -= f * g;
+        d[i - 1] = f - g;
+        for (int j = 0; j < i; j++) {
+          e[j] = 0;
+        }
+        for (int j = 0; j < i; j++) {
+          f = d[j];
+          v[j][i] = f;
+          g = e[j] + v[j][j] * f;
+          for (int k = j + 1; k <= i - 1; k++) {
+            g += v[k][j] * d[k];
+            e[k] += v[k][j] * f;
+          }
+          e[j] = g;
+        }
+        f = 0;
+        for (int j = 0; j < i; j++) {
+          e[j] /= h;
+          f += e[j] * d[j];
+        }
+        double hh = f / (h + h);
+        for (int j = 0; j < i; j++) {
+          e[j] -= hh * d[j];
+        }
+        for (int j = 0; j < i; j++) {
+          f = d[j];
+          g = e[j];
+          for (int k = j; k <= i - 1; k++) {
+            v[k][j] -= (f * e[k] + g * d[k]);
+          }
+          d[j] = v[i - 1][j];
+          v[i][j] = 0;
+        }
+      }
+      d[i] = h;
+    }
+    for (int i = 0; i < n - 1; i++) {
+      v[n - 1][i] = v[i][i];
+      v[i][i] = 1;
+      double h = d[i + 1];
+      if (h != 0) {
+        for (int k = 0; k <= i; k++) {
+          d[k] = v[k][i + 1] / h;
+        }
+        for (int j = 0; j <= i; j++) {
+          double g = 0;
+          for (int k = 0; k <= i; k++) {
+            g += v[k][i + 1] * v[k][j];
+          }
+          for (int k = 0; k <= i; k++) {
+            v[k][j] -= g * d[k];
+          }
+        }
+      }
+      for (int k = 0; k <= i; k++) {
+        v[k][i + 1] = 0;
+      }
+    }
+    for (int j = 0; j < n; j++) {
+      d[j] = v[n - 1][j];
+      v[n - 1][j] = 0;
+    }
+    v[n - 1][n - 1] = 1;
+    e[0] = 0;
+  }
+
+  /**
+   * Diagonalizes the tridiagonal matrix with the implicit QL algorithm.
+   *
+   * @param v [double[][]] The accumulated transformations, replaced by the eigenvectors.
+   * @param d [double[]] Diagonal, replaced by the eigenvalues.
+   * @param e [double[]] Subdiagonal, from position 1; it is overwritten.
+   */
+  private static void diagonalize(double[][] v, double[] d, double[] e) {
+    int n = d.length;
+    for (int i = 1; i < n; i++) {
+      e[i - 1] = e[i];
+    }
+    e[n - 1] = 0;
+    double f = 0;
+    double tst1 = 0;
+    for (int l = 0; l < n; l++) {
+      tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+      int m = l;
+      while (m < n && Math.abs(e[m]) > EPSILON * tst1) {
+        m++;
+      }
+      if (m > l) {
+        do {
+          double g = d[l];
+          double p = (d[l + 1] - g) / (2 * e[l]);
+          double r = Math.hypot(p, 1);
+          if (p < 0) {
+            r = -r;
+          }
+          d[l] = e[l] / (p + r);
+          d[l + 1] = e[l] * (p + r);
+          double dl1 = d[l + 1];
+          double h = g - d[l];
+          for (int i = l + 2; i < n; i++) {
+            d[i] -= h;
+          }
+          f += h;
+          p = d[m];
+          double c = 1;
+          double c2 = c;
+          double c3 = c;
+          double el1 = e[l + 1];
+          double s = 0;
+          double s2 = 0;
+          for (int i = m - 1; i >= l; i--) {
+            c3 = c2;
+            c2 = c;
+            s2 = s;
+            g = c * e[i];
+            h = c * p;
+            r = Math.hypot(p, e[i]);
+            e[i + 1] = s * r;
+            s = e[i] / r;
+            c = p / r;
+            p = c * d[i] - s * g;
+            d[i + 1] = h + s * (c * g + s * d[i]);
+            for (int k = 0; k < n; k++) {
+              h = v[k][i + 1];
+              v[k][i + 1] = s * v[k][i] + c * h;
+              v[k][i] = c * v[k][i] - s * h;
+            }
+          }
+          p = -s * s2 * c3 * el1 * e[l] / dl1;
+          e[l] = s * p;
+          d[l] = c * p;
+        } while (Math.abs(e[l]) > EPSILON * tst1);
+      }
+      d[l] += f;
+      e[l] = 0;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
 import es.ull.esit.app.local_search.complement.StrategyType;
+import es.ull.esit.app.local_search.complement.TabuMemory;
 import es.ull.esit.app.local_search.complement.TabuSolutions;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
@@ -57,9 +58,6 @@ public class TabuSearch extends Generator {
   /** Local gender statistics array. */
   private int[] listCountGender = new int[10];
 
-  /** Trace of weight values. */
-  private float[] listTrace = new float[1200000];
-
   /**
    * Default constructor.
    *
@@ -93,7 +91,6 @@ public class TabuSearch extends Generator {
     this.typeGenerator = GeneratorType.TabuSearch;
 
     this.weight = 50.0f;
-    listTrace[0] = this.weight;
     listCountBetterGenderTS[0] = 0;
     listCountGender[0] = 0;
 
@@ -138,6 +135,17 @@ public class TabuSearch extends Generator {
     );
   }
 
+  /**
+   * Checks whether the candidate returned by generate is already evaluated,
+   * which happens when its neighbourhood is evaluated as a batch to compare it.
+   *
+   * @return [boolean] True unless the candidate is drawn at random.
+   */
+  @Override
+  public boolean evaluatesCandidates() {
+    return CandidateValue.evaluatesNeighborhood(typeCandidate);
+  }
+
   /**
    * Returns the current reference state.
    *
@@ -194,48 +202,16 @@ public class TabuSearch extends Generator {
     AcceptableCandidate candidate = ifacceptCandidate.createAcceptCandidate(typeAcceptation);
 
     boolean accept = candidate.acceptCandidate(stateReferenceTS, stateCandidate);
+    State previous = stateReferenceTS;
     if (accept) {
       stateReferenceTS = stateCandidate;
     }
 
     // Tabu list management
     if (strategy.equals(StrategyType.TABU) && accept) {
-      // If there is still room, just check if it's already Tabu
-      if (TabuSolutions.getListTabu().size() < TabuSolutions.maxelements) {
-        boolean found = false;
-        int count = 0;
-
-        while (!found && count < TabuSolutions.getListTabu().size()) {
-          if (TabuSolutions.getListTabu().get(count).comparator(stateCandidate)) {
-            found = true;
-          }
-          count++;
-        }
-
-        if (!found) {
-          TabuSolutions.getListTabu().add(stateCandidate);
-        }
-
-      } else {
-        // Remove oldest element and then insert if not present
-        if (!TabuSolutions.getListTabu().isEmpty()) {
-          TabuSolutions.getListTabu().remove(0);
-        }
-
-        boolean found = false;
-        int count = 0;
-
-        while (!found && count < TabuSolutions.getListTabu().size()) {
-          if (TabuSolutions.getListTabu().get(count).comparator(stateCandidate)) {
-            found = true;
-          }
-          count++;
-        }
-
-        if (!found) {
-          TabuSolutions.getListTabu().add(stateCandidate);
-        }
-      }
+      TabuMemory tabu = TabuSolutions.getListTabu();
+      tabu.offer(stateCandidate, TabuSolutions.maxelements);
+      tabu.recordMove(previous, stateCandidate);
     }
   }
 
@@ -352,16 +328,6 @@ public class TabuSearch extends Generator {
   public int[] getListCountGender() {
     return this.listCountGender;
   }
-
-  /**
-   * Returns the trace of weight values.
-   *
-   * @return [float[]] Weight trace.
-   */
-  @Override
-  public float[] getTrace() {
-    return this.listTrace;
-  }
 }
 
 
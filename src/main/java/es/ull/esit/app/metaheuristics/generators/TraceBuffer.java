@@ -0,0 +1,321 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Trace of the weight of a generator along the iterations, used by the
+ * multi-generator scheme.
+ *
+ * The values are stored in a primitive array that is only allocated when the
+ * first value is recorded and grows with the trace, so generators that never
+ * take part in a multi-generator run (every particle of a swarm, for instance)
+ * do not pay for it. The array never holds more than the configured capacity:
+ * when a value falls beyond it, the oldest half of the window is written to a
+ * spill file, if a spill directory is configured, or discarded otherwise.
+ *
+ * Tracing can be switched off for every generator with
+ * {@link #setEnabled(boolean)}.
+ */
+public class TraceBuffer {
+
+  /** Logger for the TraceBuffer class. */
+  private static final Logger LOGGER = Logger.getLogger(TraceBuffer.class.getName());
+
+  /** Size of the first allocation. */
+  private static final int INITIAL_SIZE = 16;
+
+  /** Bytes used by each value in the spill file. */
+  private static final int VALUE_BYTES = Float.BYTES;
+
+  /** Whether the generators record their trace. */
+  private static volatile boolean enabled = true;
+
+  /** Capacity of the buffers created from now on. */
+  private static volatile int defaultCapacity = 1_200_000;
+
+  /** Directory for the spill files, or null to discard the oldest values. */
+  private static volatile Path spillDirectory;
+
+  /** Maximum number of values held in memory. */
+  private final int capacity;
+
+  /** Values of the window, allocated on first use. */
+  private float[] values;
+
+  /** Iteration of the first value of the window. */
+  private int offset;
+
+  /** Number of iterations of the trace (last recorded iteration + 1). */
+  private int size;
+
+  /** File holding the values before the window, or null if none were spilled. */
+  private Path spillFile;
+
+  /** Iteration of the first value of the spill file. */
+  private int spillStart;
+
+  /**
+   * Default constructor. Uses the default capacity.
+   */
+  public TraceBuffer() {
+    this(defaultCapacity);
+  }
+
+  /**
+   * Constructor with the maximum number of values held in memory.
+   *
+   * @param capacity [int] Maximum number of values held in memory.
+   */
+  public TraceBuffer(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("La capacidad debe ser al menos 2");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Records the value of an iteration. Nothing is recorded when tracing is
+   * disabled or when the iteration was already spilled or discarded.
+   *
+   * @param iteration [int] Iteration of the value.
+   * @param value [float] Value to record.
+   */
+  public synchronized void set(int iteration, float value) {
+    if (!enabled || iteration < offset) {
+      return;
+    }
+    if (iteration - offset >= capacity) {
+      evict(iteration - offset - capacity + 1);
+    }
+    ensureSize(iteration - offset + 1);
+    values[iteration - offset] = value;
+    size = Math.max(size, iteration + 1);
+  }
+
+  /**
+   * Gets the value recorded for an iteration, reading the spill file if needed.
+   *
+   * @param iteration [int] Iteration of the value.
+   * @return [float] The value, or 0 if none was recorded or it was discarded.
+   */
+  public synchronized float get(int iteration) {
+    if (iteration < 0 || iteration >= size) {
+      return 0f;
+    }
+    if (iteration >= offset) {
+      return (values == null || iteration - offset >= values.length) ? 0f : values[iteration - offset];
+    }
+    return (spillFile == null || iteration < spillStart) ? 0f : readSpilled(iteration, 1)[0];
+  }
+
+  /**
+   * Gets the number of iterations of the trace.
+   *
+   * @return [int] Last recorded iteration + 1.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Gets the first iteration whose value is still available, either in the
+   * spill file or in memory. It is 0 unless some values were discarded.
+   *
+   * @return [int] The first available iteration.
+   */
+  public synchronized int getFirstIteration() {
+    return (spillFile != null) ? spillStart : offset;
+  }
+
+  /**
+   * Returns a copy of the available values, from {@link #getFirstIteration()}
+   * to the last recorded iteration.
+   *
+   * @return [float[]] The values of the trace.
+   */
+  public synchronized float[] toArray() {
+    int first = getFirstIteration();
+    float[] out = new float[size - first];
+    if (first < offset) {
+      float[] spilled = readSpilled(first, offset - first);
+      System.arraycopy(spilled, 0, out, 0, spilled.length);
+    }
+    if (values != null) {
+      System.arraycopy(values, 0, out, offset - first, Math.min(values.length, size - offset));
+    }
+    return out;
+  }
+
+  /**
+   * Discards every value and deletes the spill file.
+   */
+  public synchronized void clear() {
+    values = null;
+    offset = 0;
+    size = 0;
+    deleteSpillFile();
+  }
+
+  /**
+   * Checks whether the generators record their trace.
+   *
+   * @return [boolean] True if tracing is enabled.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables tracing for every generator. Tracing is only used by
+   * the multi-generator scheme, so it can be disabled for any other run.
+   *
+   * @param enabled [boolean] True to record the traces.
+   */
+  public static void setEnabled(boolean enabled) {
+    TraceBuffer.enabled = enabled;
+  }
+
+  /**
+   * Gets the capacity of the buffers created from now on.
+   *
+   * @return [int] Maximum number of values held in memory.
+   */
+  public static int getDefaultCapacity() {
+    return defaultCapacity;
+  }
+
+  /**
+   * Sets the capacity of the buffers created from now on.
+   *
+   * @param capacity [int] Maximum number of values held in memory.
+   */
+  public static void setDefaultCapacity(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("La capacidad debe ser al menos 2");
+    }
+    TraceBuffer.defaultCapacity = capacity;
+  }
+
+  /**
+   * Gets the directory for the spill files.
+   *
+   * @return [Path] The directory, or null if the oldest values are discarded.
+   */
+  public static Path getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  /**
+   * Sets the directory where the buffers write the values that do not fit in
+   * memory. With null, those values are discarded.
+   *
+   * @param directory [Path] The directory, or null.
+   */
+  public static void setSpillDirectory(Path directory) {
+    TraceBuffer.spillDirectory = directory;
+  }
+
+  /**
+   * Makes sure the array can hold the given number of values.
+   *
+   * @param needed [int] Number of values of the window.
+   */
+  private void ensureSize(int needed) {
+    if (values == null) {
+      values = new float[Math.min(capacity, Math.max(INITIAL_SIZE, needed))];
+    } else if (needed > values.length) {
+      int grown = Math.max(needed, values.length * 2);
+      values = Arrays.copyOf(values, Math.min(capacity, grown));
+    }
+  }
+
+  /**
+   * Moves the window forward, spilling or discarding its oldest values. At
+   * least half of the capacity is evicted so the cost is amortized.
+   *
+   * @param needed [int] Minimum number of values to evict.
+   */
+  private void evict(int needed) {
+    int count = Math.max(needed, capacity / 2);
+    int held = (values == null) ? 0 : Math.min(values.length, size - offset);
+    int evicted = Math.min(count, held);
+    if (spillDirectory != null || spillFile != null) {
+      spill(evicted, count);
+    }
+    if (evicted < held) {
+      System.arraycopy(values, evicted, values, 0, held - evicted);
+      Arrays.fill(values, held - evicted, held, 0f);
+    } else if (values != null) {
+      Arrays.fill(values, 0f);
+    }
+    offset += count;
+  }
+
+  /**
+   * Appends the oldest values of the window to the spill file.
+   *
+   * @param held [int] Number of values taken from the window.
+   * @param count [int] Number of iterations evicted (the rest are written as 0).
+   */
+  private void spill(int held, int count) {
+    try {
+      if (spillFile == null) {
+        spillFile = Files.createTempFile(spillDirectory, "trace", ".bin");
+        spillFile.toFile().deleteOnExit();
+        spillStart = offset;
+      }
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(spillFile, StandardOpenOption.APPEND)))) {
+        for (int i = 0; i < count; i++) {
+          out.writeFloat(i < held ? values[i] : 0f);
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Error spilling the trace, the oldest values are discarded", e);
+      deleteSpillFile();
+    }
+  }
+
+  /**
+   * Reads values from the spill file.
+   *
+   * @param from [int] First iteration to read.
+   * @param count [int] Number of values to read.
+   * @return [float[]] The values read, 0 where they could not be read.
+   */
+  private float[] readSpilled(int from, int count) {
+    float[] out = new float[count];
+    try (RandomAccessFile in = new RandomAccessFile(spillFile.toFile(), "r")) {
+      in.seek((long) (from - spillStart) * VALUE_BYTES);
+      for (int i = 0; i < count; i++) {
+        out[i] = in.readFloat();
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Error reading the spilled trace", e);
+    }
+    return out;
+  }
+
+  /**
+   * Deletes the spill file, if any.
+   */
+  private void deleteSpillFile() {
+    if (spillFile != null) {
+      try {
+        Files.deleteIfExists(spillFile);
+      } catch (IOException e) {
+        LOGGER.log(Level.FINE, "Error deleting the spilled trace", e);
+      }
+      spillFile = null;
+    }
+  }
+}
@@ -0,0 +1,393 @@
+package es.ull.esit.app.problem.definition;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * State whose code is a bit string packed in an array of longs (64 variables
+ * per word). Through the List<Object> view the bits are seen as the integers
+ * 1 and 0, which is the representation used by the binary codifications of the
+ * library, so generic operators keep working on it.
+ */
+public class BitState extends State {
+
+  /** Number of bits stored in each word. */
+  private static final int WORD_SIZE = 64;
+
+  /** Words holding the bits of the code. */
+  private long[] words;
+
+  /** Number of bits of the code. */
+  private int length;
+
+  /** Cached fingerprint of the code, valid while {@link #hashed} is true. */
+  private long fingerprint;
+
+  /** Whether the cached fingerprint is up to date. */
+  private boolean hashed;
+
+  /**
+   * Default constructor. Creates an empty code.
+   */
+  public BitState() {
+    this(0);
+  }
+
+  /**
+   * Constructor with the length of the code. All bits start cleared.
+   *
+   * @param length [int] Number of variables of the code.
+   */
+  public BitState(int length) {
+    super((List<Object>) null);
+    this.words = new long[wordCount(length)];
+    this.length = length;
+    this.code = new CodeView();
+  }
+
+  /**
+   * Constructor with code initialization.
+   *
+   * @param values [boolean[]] Bits of the code.
+   */
+  public BitState(boolean[] values) {
+    this(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i]) {
+        words[i / WORD_SIZE] |= 1L << i;
+      }
+    }
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param ps [BitState] State to copy.
+   */
+  public BitState(BitState ps) {
+    this(0);
+    this.words = Arrays.copyOf(ps.words, wordCount(ps.length));
+    this.length = ps.length;
+    typeGenerator = ps.getTypeGenerator();
+    evaluation = ps.getEvaluation();
+    number = ps.getNumber();
+    fingerprint = ps.fingerprint;
+    hashed = ps.hashed;
+  }
+
+  /**
+   * Sets the code of the state. Any non zero value is stored as a set bit.
+   *
+   * @param listCode [List<Object>] The code to set for the state.
+   */
+  @Override
+  public void setCode(List<Object> listCode) {
+    long[] values = new long[wordCount(listCode.size())];
+    for (int i = 0; i < listCode.size(); i++) {
+      if (toDouble(listCode.get(i)) != 0) {
+        values[i / WORD_SIZE] |= 1L << i;
+      }
+    }
+    this.words = values;
+    this.length = listCode.size();
+    this.hashed = false;
+  }
+
+  /**
+   * Gets the number of set bits of the code.
+   *
+   * @return [int] The number of bits equal to 1.
+   */
+  public int cardinality() {
+    int count = 0;
+    for (int i = 0; i < wordCount(length); i++) {
+      count += Long.bitCount(words[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of variables in the code of the state.
+   *
+   * @return [int] The length of the code.
+   */
+  @Override
+  public int size() {
+    return length;
+  }
+
+  /**
+   * Gets the bit at the given position as the Integer 1 or 0.
+   *
+   * @param index [int] Position of the variable.
+   * @return [Object] The value at that position.
+   */
+  @Override
+  public Object getValue(int index) {
+    return getInt(index);
+  }
+
+  /**
+   * Sets the bit at the given position. Any non zero value sets the bit.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [Object] The value to store.
+   */
+  @Override
+  public void setValue(int index, Object value) {
+    setBit(index, toDouble(value) != 0);
+  }
+
+  /**
+   * Gets the bit at the given position as 1 or 0.
+   *
+   * @param index [int] Position of the variable.
+   * @return [int] The value at that position.
+   */
+  @Override
+  public int getInt(int index) {
+    return getBit(index) ? 1 : 0;
+  }
+
+  /**
+   * Gets the bit at the given position as 1 or 0.
+   *
+   * @param index [int] Position of the variable.
+   * @return [double] The value at that position.
+   */
+  @Override
+  public double getDouble(int index) {
+    return getInt(index);
+  }
+
+  /**
+   * Gets the bit at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @return [boolean] True if the bit is set.
+   */
+  @Override
+  public boolean getBit(int index) {
+    checkIndex(index);
+    return (words[index / WORD_SIZE] & (1L << index)) != 0;
+  }
+
+  /**
+   * Sets the bit at the given position. Any non zero value sets the bit.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [int] The value to store.
+   */
+  @Override
+  public void setInt(int index, int value) {
+    setBit(index, value != 0);
+  }
+
+  /**
+   * Sets the bit at the given position. Any non zero value sets the bit.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [double] The value to store.
+   */
+  @Override
+  public void setDouble(int index, double value) {
+    setBit(index, value != 0);
+  }
+
+  /**
+   * Sets the bit at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [boolean] The bit to store.
+   */
+  @Override
+  public void setBit(int index, boolean value) {
+    checkIndex(index);
+    if (hashed && value != getBit(index)) {
+      fingerprint ^= zobrist(index, 0) ^ zobrist(index, 1);
+    }
+    if (value) {
+      words[index / WORD_SIZE] |= 1L << index;
+    } else {
+      words[index / WORD_SIZE] &= ~(1L << index);
+    }
+  }
+
+  /**
+   * Flips the bit at the given position.
+   *
+   * @param index [int] Position of the variable.
+   */
+  public void flip(int index) {
+    checkIndex(index);
+    if (hashed) {
+      fingerprint ^= zobrist(index, 0) ^ zobrist(index, 1);
+    }
+    words[index / WORD_SIZE] ^= 1L << index;
+  }
+
+  /**
+   * Copies the values of a range of positions from another state as bits.
+   *
+   * @param source [State] State whose values are copied.
+   * @param from [int] First position of the range (inclusive).
+   * @param to [int] Last position of the range (exclusive).
+   */
+  @Override
+  public void copyValues(State source, int from, int to) {
+    for (int i = from; i < to; i++) {
+      setBit(i, source.getBit(i));
+    }
+  }
+
+  /**
+   * Creates a copy of the current state, including its evaluation.
+   *
+   * @return [State] A new BitState with its own words.
+   */
+  @Override
+  public State copy() {
+    return new BitState(this);
+  }
+
+  /**
+   * Creates a new state with a copy of the code.
+   *
+   * @return [Object] A new BitState with its own words.
+   */
+  @Override
+  public Object getCopy() {
+    BitState copy = new BitState(0);
+    copy.words = Arrays.copyOf(words, wordCount(length));
+    copy.length = length;
+    return copy;
+  }
+
+  /**
+   * Compares the current state with another state.
+   *
+   * @param state [State] The state to compare with.
+   * @return [boolean] True if the codes are equal, false otherwise.
+   */
+  @Override
+  public boolean comparator(State state) {
+    if (state instanceof BitState) {
+      BitState other = (BitState) state;
+      int count = wordCount(length);
+      return length == other.length
+          && Arrays.equals(words, 0, count, other.words, 0, count);
+    }
+    return super.comparator(state);
+  }
+
+  /**
+   * Calculates the Hamming distance between both codes.
+   *
+   * @param state [State] The state to calculate the distance to.
+   * @return [double] The distance between the two states.
+   */
+  @Override
+  public double distance(State state) {
+    if (state instanceof BitState) {
+      BitState other = (BitState) state;
+      int distancia = 0;
+      int count = Math.min(wordCount(length), wordCount(other.length));
+      for (int i = 0; i < count; i++) {
+        distancia += Long.bitCount(words[i] ^ other.words[i]);
+      }
+      return distancia;
+    }
+    return super.distance(state);
+  }
+
+  /**
+   * Gets the number of words needed to store the given number of bits.
+   *
+   * @param bits [int] Number of bits.
+   * @return [int] Number of words.
+   */
+  private static int wordCount(int bits) {
+    return (bits + WORD_SIZE - 1) / WORD_SIZE;
+  }
+
+  /**
+   * Gets the fingerprint of the code. It is calculated once and then kept up to
+   * date by the setters, so tabu and archive lookups do not traverse the code.
+   *
+   * @return [long] The fingerprint of the code.
+   */
+  @Override
+  public long fingerprint() {
+    if (!hashed) {
+      fingerprint = super.fingerprint();
+      hashed = true;
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Checks that the index is inside the code.
+   *
+   * @param index [int] Index to check.
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+    }
+  }
+
+  /**
+   * Live view of the code as a list of the integers 1 and 0.
+   */
+  private class CodeView extends AbstractList<Object> implements RandomAccess {
+
+    @Override
+    public Object get(int index) {
+      return getInt(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+      Object previous = getInt(index);
+      setValue(index, element);
+      return previous;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+      if (index < 0 || index > length) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+      }
+      hashed = false;
+      if (wordCount(length + 1) > words.length) {
+        words = Arrays.copyOf(words, Math.max(1, words.length * 2));
+      }
+      length++;
+      for (int i = length - 1; i > index; i--) {
+        setBit(i, getBit(i - 1));
+      }
+      setValue(index, element);
+      modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+      Object previous = getInt(index);
+      hashed = false;
+      for (int i = index; i < length - 1; i++) {
+        setBit(i, getBit(i + 1));
+      }
+      setBit(length - 1, false);
+      length--;
+      modCount++;
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+  }
+}
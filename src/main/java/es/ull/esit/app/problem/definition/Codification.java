@@ -1,5 +1,8 @@
 package es.ull.esit.app.problem.definition;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstract class representing a codification of a problem.
  */
@@ -35,4 +38,31 @@ public abstract class Codification {
    */
 	public abstract int getVariableCount();
 
+  /**
+   * Creates a state with room for the given number of variables, to be filled
+   * with {@link #setRandomValue(State, int)}. The default state keeps its code
+   * as a list; codifications with a primitive representation override it to
+   * return an {@link IntState}, {@link DoubleState} or {@link BitState}.
+   * 
+   * @param length [int] Number of variables of the state.
+   * @return [State] The new state.
+   */
+	public State newState(int length) {
+		List<Object> code = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			code.add(null);
+		}
+		return new State(code);
+	}
+
+  /**
+   * Stores a random value of the given variable in a state.
+   * 
+   * @param state [State] State to modify.
+   * @param key [int] The key or index of the variable.
+   */
+	public void setRandomValue(State state, int key) {
+		state.setValue(key, getVariableAleatoryValue(key));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package es.ull.esit.app.problem.definition;
+
+/**
+ * Optional contract of the objective functions that can evaluate a state from
+ * the evaluation of its parent and the move that produced it. An
+ * ObjetiveFunction that implements it is used incrementally by
+ * {@link Problem#evaluate(State)} whenever the state carries an applicable
+ * {@link Move}; otherwise {@link ObjetiveFunction#evaluation(State)} is used.
+ *
+ * For separable objectives, where every variable adds its own term, the new
+ * value is the parent value minus the term of the old value plus the term of
+ * the new one, so each neighbour is evaluated in constant time.
+ */
+public interface DeltaObjetiveFunction {
+
+  /**
+   * Evaluates a state reached from an evaluated parent with a single move.
+   *
+   * @param state [State] The state to evaluate.
+   * @param parentValue [double] Objective value of the parent state.
+   * @param move [Move] The move applied to the parent.
+   * @return [Double] The objective value of the state.
+   */
+  Double deltaEvaluation(State state, double parentValue, Move move);
+}
@@ -0,0 +1,367 @@
+package es.ull.esit.app.problem.definition;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * State whose code is stored in a primitive double array, intended for
+ * continuous problems. The code is still exposed as a List<Object> through a
+ * live view, so every operator that works on generic states can be used with
+ * it, while the typed accessors avoid boxing in the hot paths.
+ */
+public class DoubleState extends State {
+
+  /** Values of the code. */
+  private double[] genes;
+
+  /** Number of values used in the array. */
+  private int length;
+
+  /** Cached fingerprint of the code, valid while {@link #hashed} is true. */
+  private long fingerprint;
+
+  /** Whether the cached fingerprint is up to date. */
+  private boolean hashed;
+
+  /**
+   * Default constructor. Creates an empty code.
+   */
+  public DoubleState() {
+    this(new double[0]);
+  }
+
+  /**
+   * Constructor with the length of the code. All values start at zero.
+   *
+   * @param length [int] Number of variables of the code.
+   */
+  public DoubleState(int length) {
+    this(new double[length]);
+  }
+
+  /**
+   * Constructor with code initialization. The values are copied.
+   *
+   * @param values [double[]] Values of the code.
+   */
+  public DoubleState(double[] values) {
+    super((List<Object>) null);
+    this.genes = values.clone();
+    this.length = values.length;
+    this.code = new CodeView();
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param ps [DoubleState] State to copy.
+   */
+  public DoubleState(DoubleState ps) {
+    this(Arrays.copyOf(ps.genes, ps.length));
+    typeGenerator = ps.getTypeGenerator();
+    evaluation = ps.getEvaluation();
+    number = ps.getNumber();
+    fingerprint = ps.fingerprint;
+    hashed = ps.hashed;
+  }
+
+  /**
+   * Sets the code of the state. The values are copied into the primitive array.
+   *
+   * @param listCode [List<Object>] The code to set for the state.
+   */
+  @Override
+  public void setCode(List<Object> listCode) {
+    double[] values = new double[listCode.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = toDouble(listCode.get(i));
+    }
+    this.genes = values;
+    this.length = values.length;
+    this.hashed = false;
+  }
+
+  /**
+   * Copies a range of an array into the code, which takes its length. The
+   * array of the state is reused when it is large enough, so states refilled
+   * on every iteration do not allocate.
+   *
+   * @param values [double[]] Source of the values.
+   * @param offset [int] Position of the first value in the source.
+   * @param count [int] Number of values.
+   */
+  public void setValues(double[] values, int offset, int count) {
+    if (genes.length < count) {
+      genes = new double[count];
+    }
+    System.arraycopy(values, offset, genes, 0, count);
+    this.length = count;
+    this.hashed = false;
+  }
+
+  /**
+   * Returns a copy of the values of the code.
+   *
+   * @return [double[]] The values of the code.
+   */
+  public double[] toDoubleArray() {
+    return Arrays.copyOf(genes, length);
+  }
+
+  /**
+   * Gets the number of variables in the code of the state.
+   *
+   * @return [int] The length of the code.
+   */
+  @Override
+  public int size() {
+    return length;
+  }
+
+  /**
+   * Gets the value at the given position boxed as a Double.
+   *
+   * @param index [int] Position of the variable.
+   * @return [Object] The value at that position.
+   */
+  @Override
+  public Object getValue(int index) {
+    return getDouble(index);
+  }
+
+  /**
+   * Sets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [Object] The value to store.
+   */
+  @Override
+  public void setValue(int index, Object value) {
+    setDouble(index, toDouble(value));
+  }
+
+  /**
+   * Gets the value at the given position truncated to an integer.
+   *
+   * @param index [int] Position of the variable.
+   * @return [int] The value at that position.
+   */
+  @Override
+  public int getInt(int index) {
+    return (int) getDouble(index);
+  }
+
+  /**
+   * Gets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @return [double] The value at that position.
+   */
+  @Override
+  public double getDouble(int index) {
+    checkIndex(index);
+    return genes[index];
+  }
+
+  /**
+   * Gets the value at the given position as a bit.
+   *
+   * @param index [int] Position of the variable.
+   * @return [boolean] True if the value is not zero.
+   */
+  @Override
+  public boolean getBit(int index) {
+    return getDouble(index) != 0;
+  }
+
+  /**
+   * Sets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [int] The value to store.
+   */
+  @Override
+  public void setInt(int index, int value) {
+    setDouble(index, value);
+  }
+
+  /**
+   * Sets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [double] The value to store.
+   */
+  @Override
+  public void setDouble(int index, double value) {
+    checkIndex(index);
+    if (hashed) {
+      fingerprint ^= zobrist(index, Double.hashCode(genes[index])) ^ zobrist(index, Double.hashCode(value));
+    }
+    genes[index] = value;
+  }
+
+  /**
+   * Sets the value at the given position to 1 or 0.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [boolean] The bit to store.
+   */
+  @Override
+  public void setBit(int index, boolean value) {
+    setDouble(index, value ? 1 : 0);
+  }
+
+  /**
+   * Copies the values of a range of positions from another state. Values of
+   * another DoubleState are copied without boxing.
+   *
+   * @param source [State] State whose values are copied.
+   * @param from [int] First position of the range (inclusive).
+   * @param to [int] Last position of the range (exclusive).
+   */
+  @Override
+  public void copyValues(State source, int from, int to) {
+    if (source instanceof DoubleState && from < to) {
+      checkIndex(from);
+      checkIndex(to - 1);
+      System.arraycopy(((DoubleState) source).genes, from, genes, from, to - from);
+      hashed = false;
+      return;
+    }
+    for (int i = from; i < to; i++) {
+      setDouble(i, source.getDouble(i));
+    }
+  }
+
+  /**
+   * Creates a copy of the current state, including its evaluation.
+   *
+   * @return [State] A new DoubleState with its own array.
+   */
+  @Override
+  public State copy() {
+    return new DoubleState(this);
+  }
+
+  /**
+   * Creates a new state with a copy of the code.
+   *
+   * @return [Object] A new DoubleState with its own array.
+   */
+  @Override
+  public Object getCopy() {
+    return new DoubleState(Arrays.copyOf(genes, length));
+  }
+
+  /**
+   * Compares the current state with another state.
+   *
+   * @param state [State] The state to compare with.
+   * @return [boolean] True if the codes are equal, false otherwise.
+   */
+  @Override
+  public boolean comparator(State state) {
+    if (state instanceof DoubleState) {
+      DoubleState other = (DoubleState) state;
+      return Arrays.equals(genes, 0, length, other.genes, 0, other.length);
+    }
+    return super.comparator(state);
+  }
+
+  /**
+   * Calculates the number of positions in which both codes differ.
+   *
+   * @param state [State] The state to calculate the distance to.
+   * @return [double] The distance between the two states.
+   */
+  @Override
+  public double distance(State state) {
+    if (state instanceof DoubleState) {
+      DoubleState other = (DoubleState) state;
+      double distancia = 0;
+      for (int i = 0; i < other.length; i++) {
+        if (Double.compare(other.genes[i], genes[i]) != 0) {
+          distancia++;
+        }
+      }
+      return distancia;
+    }
+    return super.distance(state);
+  }
+
+  /**
+   * Gets the fingerprint of the code. It is calculated once and then kept up to
+   * date by the setters, so tabu and archive lookups do not traverse the code.
+   *
+   * @return [long] The fingerprint of the code.
+   */
+  @Override
+  public long fingerprint() {
+    if (!hashed) {
+      fingerprint = super.fingerprint();
+      hashed = true;
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Checks that the index is inside the code.
+   *
+   * @param index [int] Index to check.
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+    }
+  }
+
+  /**
+   * Live view of the code as a list of boxed doubles.
+   */
+  private class CodeView extends AbstractList<Object> implements RandomAccess {
+
+    @Override
+    public Object get(int index) {
+      return getDouble(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+      Object previous = getDouble(index);
+      setValue(index, element);
+      return previous;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+      if (index < 0 || index > length) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+      }
+      if (length == genes.length) {
+        genes = Arrays.copyOf(genes, Math.max(4, length * 2));
+      }
+      System.arraycopy(genes, index, genes, index + 1, length - index);
+      genes[index] = toDouble(element);
+      length++;
+      hashed = false;
+      modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+      Object previous = getDouble(index);
+      System.arraycopy(genes, index + 1, genes, index, length - index - 1);
+      length--;
+      hashed = false;
+      modCount++;
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package es.ull.esit.app.problem.definition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the evaluations of the states, used by
+ * {@link Problem#evaluate(State)} to avoid evaluating again the solutions that
+ * a run revisits (random restarts, duplicated samples, children equal to their
+ * parents...).
+ *
+ * The states are looked up by their fingerprint ({@link State#fingerprint()})
+ * and confirmed with {@link State#comparator(State)}, so two different codes
+ * never share an evaluation. When the cache is full the least recently used
+ * evaluation is discarded. The cache is thread-safe, so it can be used while
+ * evaluating batches in parallel.
+ */
+public class EvaluationCache {
+
+  /** Maximum number of evaluations kept. */
+  private final int capacity;
+
+  /** Evaluations by state, in access order. */
+  private final Map<Key, List<Double>> entries;
+
+  /** Number of lookups that found the evaluation. */
+  private long hits;
+
+  /** Number of lookups that did not find the evaluation. */
+  private long misses;
+
+  /** Number of evaluations discarded because the cache was full. */
+  private long evictions;
+
+  /**
+   * Constructor with the maximum number of evaluations kept.
+   *
+   * @param capacity [int] Maximum number of evaluations kept.
+   */
+  public EvaluationCache(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("La capacidad de la caché debe ser al menos 1");
+    }
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, List<Double>> eldest) {
+        boolean full = size() > EvaluationCache.this.capacity;
+        if (full) {
+          evictions++;
+        }
+        return full;
+      }
+    };
+  }
+
+  /**
+   * Gets the evaluation of a state with the same code as the given one.
+   *
+   * @param state [State] The state to look up.
+   * @return [List<Double>] A copy of the cached evaluation, or null if it is not cached.
+   */
+  public synchronized List<Double> get(State state) {
+    List<Double> evaluation = entries.get(new Key(state));
+    if (evaluation == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return new ArrayList<>(evaluation);
+  }
+
+  /**
+   * Stores the evaluation of a state. A copy of the code is kept, so later
+   * changes to the state do not affect the cache.
+   *
+   * @param state [State] The evaluated state.
+   * @param evaluation [List<Double>] Its evaluation.
+   */
+  public synchronized void put(State state, List<Double> evaluation) {
+    Object copy = state.getCopy();
+    if (copy instanceof State && evaluation != null) {
+      entries.put(new Key((State) copy), new ArrayList<>(evaluation));
+    }
+  }
+
+  /**
+   * Discards every evaluation and resets the statistics.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    hits = 0;
+    misses = 0;
+    evictions = 0;
+  }
+
+  /**
+   * Gets the maximum number of evaluations kept.
+   *
+   * @return [int] The capacity of the cache.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of evaluations currently kept.
+   *
+   * @return [int] The number of cached evaluations.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the number of lookups that found the evaluation.
+   *
+   * @return [long] The number of hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of lookups that did not find the evaluation.
+   *
+   * @return [long] The number of misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the number of evaluations discarded because the cache was full.
+   *
+   * @return [long] The number of evictions.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Gets the fraction of lookups that found the evaluation.
+   *
+   * @return [double] The hit rate, 0 if there were no lookups.
+   */
+  public synchronized double getHitRate() {
+    long lookups = hits + misses;
+    return (lookups == 0) ? 0 : (double) hits / lookups;
+  }
+
+  /**
+   * Key of the cache: a state hashed by its fingerprint and compared by code.
+   */
+  private static final class Key {
+
+    /** The state. */
+    private final State state;
+
+    /** Fingerprint of the state. */
+    private final long fingerprint;
+
+    /**
+     * Constructor with the state.
+     *
+     * @param state [State] The state.
+     */
+    Key(State state) {
+      this.state = state;
+      this.fingerprint = state.fingerprint();
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(fingerprint);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return fingerprint == key.fingerprint && key.state.comparator(state);
+    }
+  }
+}
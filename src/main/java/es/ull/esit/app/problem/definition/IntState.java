@@ -0,0 +1,349 @@
+package es.ull.esit.app.problem.definition;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * State whose code is stored in a primitive int array. The code is still
+ * exposed as a List<Object> through a live view, so every operator that works
+ * on generic states can be used with it, while the typed accessors avoid
+ * boxing in the hot paths.
+ */
+public class IntState extends State {
+
+  /** Values of the code. */
+  private int[] genes;
+
+  /** Number of values used in the array. */
+  private int length;
+
+  /** Cached fingerprint of the code, valid while {@link #hashed} is true. */
+  private long fingerprint;
+
+  /** Whether the cached fingerprint is up to date. */
+  private boolean hashed;
+
+  /**
+   * Default constructor. Creates an empty code.
+   */
+  public IntState() {
+    this(new int[0]);
+  }
+
+  /**
+   * Constructor with the length of the code. All values start at zero.
+   *
+   * @param length [int] Number of variables of the code.
+   */
+  public IntState(int length) {
+    this(new int[length]);
+  }
+
+  /**
+   * Constructor with code initialization. The values are copied.
+   *
+   * @param values [int[]] Values of the code.
+   */
+  public IntState(int[] values) {
+    super((List<Object>) null);
+    this.genes = values.clone();
+    this.length = values.length;
+    this.code = new CodeView();
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param ps [IntState] State to copy.
+   */
+  public IntState(IntState ps) {
+    this(Arrays.copyOf(ps.genes, ps.length));
+    typeGenerator = ps.getTypeGenerator();
+    evaluation = ps.getEvaluation();
+    number = ps.getNumber();
+    fingerprint = ps.fingerprint;
+    hashed = ps.hashed;
+  }
+
+  /**
+   * Sets the code of the state. The values are copied into the primitive array.
+   *
+   * @param listCode [List<Object>] The code to set for the state.
+   */
+  @Override
+  public void setCode(List<Object> listCode) {
+    int[] values = new int[listCode.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (int) toDouble(listCode.get(i));
+    }
+    this.genes = values;
+    this.length = values.length;
+    this.hashed = false;
+  }
+
+  /**
+   * Returns a copy of the values of the code.
+   *
+   * @return [int[]] The values of the code.
+   */
+  public int[] toIntArray() {
+    return Arrays.copyOf(genes, length);
+  }
+
+  /**
+   * Gets the number of variables in the code of the state.
+   *
+   * @return [int] The length of the code.
+   */
+  @Override
+  public int size() {
+    return length;
+  }
+
+  /**
+   * Gets the value at the given position boxed as an Integer.
+   *
+   * @param index [int] Position of the variable.
+   * @return [Object] The value at that position.
+   */
+  @Override
+  public Object getValue(int index) {
+    return getInt(index);
+  }
+
+  /**
+   * Sets the value at the given position. Numbers are truncated.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [Object] The value to store.
+   */
+  @Override
+  public void setValue(int index, Object value) {
+    setInt(index, (int) toDouble(value));
+  }
+
+  /**
+   * Gets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @return [int] The value at that position.
+   */
+  @Override
+  public int getInt(int index) {
+    checkIndex(index);
+    return genes[index];
+  }
+
+  /**
+   * Gets the value at the given position as a double.
+   *
+   * @param index [int] Position of the variable.
+   * @return [double] The value at that position.
+   */
+  @Override
+  public double getDouble(int index) {
+    return getInt(index);
+  }
+
+  /**
+   * Gets the value at the given position as a bit.
+   *
+   * @param index [int] Position of the variable.
+   * @return [boolean] True if the value is not zero.
+   */
+  @Override
+  public boolean getBit(int index) {
+    return getInt(index) != 0;
+  }
+
+  /**
+   * Sets the value at the given position.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [int] The value to store.
+   */
+  @Override
+  public void setInt(int index, int value) {
+    checkIndex(index);
+    if (hashed) {
+      fingerprint ^= zobrist(index, genes[index]) ^ zobrist(index, value);
+    }
+    genes[index] = value;
+  }
+
+  /**
+   * Sets the value at the given position, truncating the double.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [double] The value to store.
+   */
+  @Override
+  public void setDouble(int index, double value) {
+    setInt(index, (int) value);
+  }
+
+  /**
+   * Sets the value at the given position to 1 or 0.
+   *
+   * @param index [int] Position of the variable.
+   * @param value [boolean] The bit to store.
+   */
+  @Override
+  public void setBit(int index, boolean value) {
+    setInt(index, value ? 1 : 0);
+  }
+
+  /**
+   * Copies the values of a range of positions from another state. Values of
+   * another IntState are copied without boxing.
+   *
+   * @param source [State] State whose values are copied.
+   * @param from [int] First position of the range (inclusive).
+   * @param to [int] Last position of the range (exclusive).
+   */
+  @Override
+  public void copyValues(State source, int from, int to) {
+    if (source instanceof IntState && from < to) {
+      checkIndex(from);
+      checkIndex(to - 1);
+      System.arraycopy(((IntState) source).genes, from, genes, from, to - from);
+      hashed = false;
+      return;
+    }
+    for (int i = from; i < to; i++) {
+      setInt(i, source.getInt(i));
+    }
+  }
+
+  /**
+   * Creates a copy of the current state, including its evaluation.
+   *
+   * @return [State] A new IntState with its own array.
+   */
+  @Override
+  public State copy() {
+    return new IntState(this);
+  }
+
+  /**
+   * Creates a new state with a copy of the code.
+   *
+   * @return [Object] A new IntState with its own array.
+   */
+  @Override
+  public Object getCopy() {
+    return new IntState(Arrays.copyOf(genes, length));
+  }
+
+  /**
+   * Compares the current state with another state.
+   *
+   * @param state [State] The state to compare with.
+   * @return [boolean] True if the codes are equal, false otherwise.
+   */
+  @Override
+  public boolean comparator(State state) {
+    if (state instanceof IntState) {
+      IntState other = (IntState) state;
+      return Arrays.equals(genes, 0, length, other.genes, 0, other.length);
+    }
+    return super.comparator(state);
+  }
+
+  /**
+   * Calculates the number of positions in which both codes differ.
+   *
+   * @param state [State] The state to calculate the distance to.
+   * @return [double] The distance between the two states.
+   */
+  @Override
+  public double distance(State state) {
+    if (state instanceof IntState) {
+      IntState other = (IntState) state;
+      double distancia = 0;
+      for (int i = 0; i < other.length; i++) {
+        if (other.genes[i] != genes[i]) {
+          distancia++;
+        }
+      }
+      return distancia;
+    }
+    return super.distance(state);
+  }
+
+  /**
+   * Gets the fingerprint of the code. It is calculated once and then kept up to
+   * date by the setters, so tabu and archive lookups do not traverse the code.
+   *
+   * @return [long] The fingerprint of the code.
+   */
+  @Override
+  public long fingerprint() {
+    if (!hashed) {
+      fingerprint = super.fingerprint();
+      hashed = true;
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Checks that the index is inside the code.
+   *
+   * @param index [int] Index to check.
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+    }
+  }
+
+  /**
+   * Live view of the code as a list of boxed integers.
+   */
+  private class CodeView extends AbstractList<Object> implements RandomAccess {
+
+    @Override
+    public Object get(int index) {
+      return getInt(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+      Object previous = getInt(index);
+      setValue(index, element);
+      return previous;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+      if (index < 0 || index > length) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+      }
+      if (length == genes.length) {
+        genes = Arrays.copyOf(genes, Math.max(4, length * 2));
+      }
+      System.arraycopy(genes, index, genes, index + 1, length - index);
+      genes[index] = (int) toDouble(element);
+      length++;
+      hashed = false;
+      modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+      Object previous = getInt(index);
+      System.arraycopy(genes, index + 1, genes, index, length - index - 1);
+      length--;
+      hashed = false;
+      modCount++;
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return length;
+    }
+  }
+}
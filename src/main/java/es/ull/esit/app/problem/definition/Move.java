@@ -0,0 +1,89 @@
+package es.ull.esit.app.problem.definition;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Descriptor of a move that changes a single variable of a state: the
+ * position, the value it had and the value it has now, together with the
+ * evaluation of the state the move was applied to. Operators attach it to the
+ * neighbours they create so a {@link DeltaObjetiveFunction} can evaluate them
+ * without traversing the whole code.
+ */
+public final class Move {
+
+  /** Position of the changed variable. */
+  private final int index;
+
+  /** Value of the variable before the move. */
+  private final Object oldValue;
+
+  /** Value of the variable after the move. */
+  private final Object newValue;
+
+  /** Evaluation of the state the move was applied to, or null if it was not evaluated. */
+  private final List<Double> parentEvaluation;
+
+  /**
+   * Constructor with all the fields.
+   *
+   * @param index [int] Position of the changed variable.
+   * @param oldValue [Object] Value of the variable before the move.
+   * @param newValue [Object] Value of the variable after the move.
+   * @param parentEvaluation [List<Double>] Evaluation of the parent state, or null.
+   */
+  public Move(int index, Object oldValue, Object newValue, List<Double> parentEvaluation) {
+    this.index = index;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+    this.parentEvaluation = parentEvaluation;
+  }
+
+  /**
+   * Gets the position of the changed variable.
+   *
+   * @return [int] The position of the variable.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the value of the variable before the move.
+   *
+   * @return [Object] The old value.
+   */
+  public Object getOldValue() {
+    return oldValue;
+  }
+
+  /**
+   * Gets the value of the variable after the move.
+   *
+   * @return [Object] The new value.
+   */
+  public Object getNewValue() {
+    return newValue;
+  }
+
+  /**
+   * Gets the evaluation of the state the move was applied to.
+   *
+   * @return [List<Double>] The evaluation of the parent, or null.
+   */
+  public List<Double> getParentEvaluation() {
+    return parentEvaluation;
+  }
+
+  /**
+   * Checks whether the move can be used to evaluate the given state: the parent
+   * was evaluated and the variable still holds the value set by the move.
+   *
+   * @param state [State] The state reached with the move.
+   * @return [boolean] True if the state can be evaluated incrementally.
+   */
+  public boolean appliesTo(State state) {
+    return parentEvaluation != null && !parentEvaluation.isEmpty() && parentEvaluation.get(0) != null
+        && index >= 0 && index < state.size() && Objects.equals(state.getValue(index), newValue);
+  }
+}
@@ -2,13 +2,19 @@ package es.ull.esit.app.problem.definition;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import es.ull.esit.app.problem.extension.SolutionMethod;
 import es.ull.esit.app.problem.extension.TypeSolutionMethod;
 
 
 import es.ull.esit.app.factory_interface.IFFactorySolutionMethod;
+import es.ull.esit.app.factory_method.FactoryRegistry;
 import es.ull.esit.app.factory_method.FactorySolutionMethod;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 
 /**
  * Class that defines the problem to be solved.
@@ -32,6 +38,14 @@ public class Problem {
 	private TypeSolutionMethod typeSolutionMethod;
   /* Factory for creating solution methods. */
 	private IFFactorySolutionMethod factorySolutionMethod;
+  /* Executor used to evaluate batches of states, null to evaluate them sequentially. */
+	private ExecutorService evaluationExecutor;
+  /* Pool created by setEvaluationParallelism, owned and shut down by the problem. */
+	private ForkJoinPool ownedExecutor;
+  /* Cache of the evaluations of the states, null to evaluate every state. */
+	private EvaluationCache evaluationCache;
+  /* Number of tasks in which a batch is split per worker of the executor. */
+	private static final int TASKS_PER_WORKER = 4;
 	
   /**
    * Constructor for the Problem class.
@@ -138,6 +152,8 @@ public class Problem {
 
   /**
    * Evaluates the given state using the defined objective functions or solution method.
+   * When an evaluation cache is configured, a state with the same code as one
+   * evaluated before receives the cached evaluation instead.
    * 
    * @param state [State] The state to be evaluated.
    * @throws IllegalArgumentException If the argument is invalid.
@@ -149,10 +165,19 @@ public class Problem {
    * @throws NoSuchMethodException If a method cannot be found.
    */
 	public void evaluate(State state) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		EvaluationCache cache = evaluationCache;
+		if (cache != null) {
+			List<Double> cached = cache.get(state);
+			if (cached != null) {
+				state.setMove(null);
+				state.setEvaluation(cached);
+				return;
+			}
+		}
 		double eval = 0;       
 		ArrayList<Double> evaluation = new ArrayList<>(this.function.size());
 		if (typeSolutionMethod == null) {
-			eval= function.get(0).evaluation(state);
+			eval= evaluateObjective(function.get(0), state);
 			evaluation.add(evaluation.size(), eval);
 			state.setEvaluation(evaluation);
 		}
@@ -160,8 +185,224 @@ public class Problem {
 			SolutionMethod method = newSolutionMethod(typeSolutionMethod);
 			method.evaluationState(state);
 		}
+		if (cache != null) {
+			cache.put(state, state.getEvaluation());
+		}
 	}
 	
+  /**
+   * Evaluates a state with an objective function, incrementally when the
+   * function implements DeltaObjetiveFunction and the state carries a move
+   * from an evaluated parent. The move is consumed in any case.
+   * 
+   * @param objective [ObjetiveFunction] The objective function.
+   * @param state [State] The state to be evaluated.
+   * @return [double] The objective value of the state.
+   */
+	private static double evaluateObjective(ObjetiveFunction objective, State state) {
+		Move move = state.getMove();
+		if (move == null) {
+			return objective.evaluation(state);
+		}
+		state.setMove(null);
+		if (objective instanceof DeltaObjetiveFunction && move.appliesTo(state)) {
+			return ((DeltaObjetiveFunction) objective).deltaEvaluation(state, move.getParentEvaluation().get(0), move);
+		}
+		return objective.evaluation(state);
+	}
+
+  /**
+   * Evaluates all the given states. When an evaluation executor is configured
+   * the list is split in contiguous chunks that are evaluated in parallel;
+   * otherwise the states are evaluated sequentially. Each state receives its
+   * own evaluation, so the result does not depend on the scheduling, and the
+   * exception of the first failing state (in list order) is rethrown.
+   * 
+   * @param states [List<State>] The states to be evaluated.
+   * @throws IllegalArgumentException If the argument is invalid.
+   * @throws SecurityException If a security violation occurs.
+   * @throws ClassNotFoundException If the class cannot be found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method cannot be found.
+   */
+	public void evaluateAll(List<State> states) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		ExecutorService executor = evaluationExecutor;
+		if (executor == null || states.size() < 2) {
+			for (State current : states) {
+				evaluate(current);
+			}
+			return;
+		}
+		int workers = (executor instanceof ForkJoinPool)
+				? ((ForkJoinPool) executor).getParallelism()
+				: Runtime.getRuntime().availableProcessors();
+		int tasks = Math.min(states.size(), Math.max(1, workers * TASKS_PER_WORKER));
+		int chunk = (states.size() + tasks - 1) / tasks;
+		List<Future<Throwable>> futures = new ArrayList<>(tasks);
+		for (int from = 0; from < states.size(); from += chunk) {
+			List<State> part = states.subList(from, Math.min(states.size(), from + chunk));
+			futures.add(executor.submit(SearchContext.wrap(() -> evaluateChunk(part))));
+		}
+		Throwable failure = null;
+		for (Future<Throwable> future : futures) {
+			try {
+				Throwable chunkFailure = future.get();
+				if (failure == null) {
+					failure = chunkFailure;
+				}
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while evaluating states", e);
+			}
+		}
+		if (failure != null) {
+			rethrowEvaluationFailure(failure);
+		}
+	}
+
+  /**
+   * Evaluates a chunk of a batch in a worker thread. The exception is returned
+   * instead of thrown so the caller receives the original instance.
+   * 
+   * @param part [List<State>] The states of the chunk.
+   * @return [Throwable] The exception raised by the first failing state, or null.
+   */
+	private Throwable evaluateChunk(List<State> part) {
+		try {
+			for (State current : part) {
+				evaluate(current);
+			}
+			return null;
+		} catch (Exception | Error e) {
+			return e;
+		}
+	}
+
+  /**
+   * Rethrows the exception raised while evaluating a state in a worker thread.
+   * 
+   * @param failure [Throwable] The exception raised by the evaluation.
+   * @throws ClassNotFoundException If the class cannot be found.
+   * @throws InstantiationException If an instantiation error occurs.
+   * @throws IllegalAccessException If access to a class or method is denied.
+   * @throws InvocationTargetException If an exception occurs during method invocation.
+   * @throws NoSuchMethodException If a method cannot be found.
+   */
+	private static void rethrowEvaluationFailure(Throwable failure) throws ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure instanceof ClassNotFoundException) {
+			throw (ClassNotFoundException) failure;
+		}
+		if (failure instanceof InstantiationException) {
+			throw (InstantiationException) failure;
+		}
+		if (failure instanceof IllegalAccessException) {
+			throw (IllegalAccessException) failure;
+		}
+		if (failure instanceof InvocationTargetException) {
+			throw (InvocationTargetException) failure;
+		}
+		if (failure instanceof NoSuchMethodException) {
+			throw (NoSuchMethodException) failure;
+		}
+		throw new IllegalStateException(failure);
+	}
+
+  /**
+   * Gets the executor used to evaluate batches of states.
+   * @return [ExecutorService] The executor, or null if batches are evaluated sequentially.
+   */
+	public ExecutorService getEvaluationExecutor() {
+		return evaluationExecutor;
+	}
+
+  /**
+   * Sets the executor used to evaluate batches of states. A ForkJoinPool suits
+   * CPU-bound objective functions; a thread-per-task executor suits objective
+   * functions that wait on I/O. The objective functions must be thread-safe.
+   * The executor stays owned by the caller and is not shut down by the problem;
+   * a pool created before by {@link #setEvaluationParallelism(int)} is shut down.
+   * @param evaluationExecutor [ExecutorService] The executor, or null to evaluate sequentially.
+   */
+	public void setEvaluationExecutor(ExecutorService evaluationExecutor) {
+		if (evaluationExecutor != ownedExecutor) {
+			shutdownOwnedExecutor();
+		}
+		this.evaluationExecutor = evaluationExecutor;
+	}
+
+  /**
+   * Configures a ForkJoinPool with the given parallelism to evaluate batches of states.
+   * The pool is owned by the problem: it is shut down when it is replaced or
+   * when {@link #shutdownEvaluation()} is called.
+   * @param parallelism [int] Number of worker threads, 1 or less to evaluate sequentially.
+   */
+	public void setEvaluationParallelism(int parallelism) {
+		shutdownOwnedExecutor();
+		if (parallelism > 1) {
+			ownedExecutor = new ForkJoinPool(parallelism);
+			this.evaluationExecutor = ownedExecutor;
+		} else {
+			this.evaluationExecutor = null;
+		}
+	}
+
+  /**
+   * Goes back to sequential evaluation, shutting down the pool created by
+   * {@link #setEvaluationParallelism(int)}. An executor given to
+   * {@link #setEvaluationExecutor(ExecutorService)} is released but not shut down.
+   */
+	public void shutdownEvaluation() {
+		shutdownOwnedExecutor();
+		this.evaluationExecutor = null;
+	}
+
+  /**
+   * Shuts down the pool created by the problem, if any.
+   */
+	private void shutdownOwnedExecutor() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+			ownedExecutor = null;
+		}
+	}
+
+  /**
+   * Gets the cache of the evaluations of the states.
+   * @return [EvaluationCache] The cache, or null if every state is evaluated.
+   */
+	public EvaluationCache getEvaluationCache() {
+		return evaluationCache;
+	}
+
+  /**
+   * Sets the cache of the evaluations of the states. It only pays off when
+   * the objective functions are expensive and deterministic.
+   * @param evaluationCache [EvaluationCache] The cache, or null to evaluate every state.
+   */
+	public void setEvaluationCache(EvaluationCache evaluationCache) {
+		this.evaluationCache = evaluationCache;
+	}
+
+  /**
+   * Configures an evaluation cache that keeps the given number of evaluations.
+   * @param capacity [int] Number of evaluations kept, 0 or less to disable the cache.
+   */
+	public void setEvaluationCacheSize(int capacity) {
+		this.evaluationCache = (capacity > 0) ? new EvaluationCache(capacity) : null;
+	}
+
   /**
    * Gets the type of solution method used in the problem.
    * @return [TypeSolutionMethod] The type of solution method.
@@ -199,7 +440,7 @@ public class Problem {
    * Creates a new solution method based on the specified type.
    * 
    * @param typeSolutionMethod [TypeSolutionMethod] The type of solution method to create.
-   * @return [SolutionMethod] The newly created solution method.
+   * @return [SolutionMethod] The solution method, shared when its type is registered in FactoryRegistry.
    * @throws IllegalArgumentException If the argument is invalid.
    * @throws SecurityException If a security violation occurs.
    * @throws ClassNotFoundException If the class cannot be found.
@@ -209,8 +450,11 @@ public class Problem {
    * @throws NoSuchMethodException If a method cannot be found.
    */
 	public SolutionMethod newSolutionMethod(TypeSolutionMethod typeSolutionMethod) throws IllegalArgumentException, SecurityException, ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
-		factorySolutionMethod = new FactorySolutionMethod();
-		return factorySolutionMethod.createdSolutionMethod(typeSolutionMethod);
+		Object registered = FactoryRegistry.resolve(typeSolutionMethod);
+		if (registered != null) {
+			return (SolutionMethod) registered;
+		}
+		return new FactorySolutionMethod().createdSolutionMethod(typeSolutionMethod);
 	
 	}
 }
@@ -2,6 +2,7 @@ package es.ull.esit.app.problem.definition;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import es.ull.esit.app.metaheuristics.generators.GeneratorType;
 
@@ -18,6 +19,8 @@ public class State {
   protected int number;
   /* Code representation of the state. */
   protected List<Object> code;
+  /* Move that produced the state from an evaluated parent, pending evaluation. */
+  protected Move move;
 
   /**
    * Copy constructor.
@@ -122,6 +125,25 @@ public class State {
     this.number = number;
   }
 
+  /**
+   * Gets the move that produced the state, used to evaluate it incrementally.
+   * 
+   * @return [Move] The move, or null if the state must be fully evaluated.
+   */
+  public Move getMove() {
+    return move;
+  }
+
+  /**
+   * Sets the move that produced the state from its parent. It is discarded
+   * once the state is evaluated, and it is not copied with the state.
+   * 
+   * @param move [Move] The move, or null.
+   */
+  public void setMove(Move move) {
+    this.move = move;
+  }
+
   /**
    * Creates a copy of the current state.
    * 
@@ -132,12 +154,12 @@ public class State {
   }
 
   /**
-   * Creates a copy of the current state.
+   * Creates a new state with a copy of the code.
    * 
-   * @return [Object] A new Object that is a copy of the current state.
+   * @return [Object] A new State with its own code list.
    */
   public Object getCopy() {
-    return new State(this.getCode());
+    return new State(new ArrayList<>(this.getCode()));
   }
 
   /**
@@ -155,6 +177,160 @@ public class State {
     return result;
   }
 
+  /**
+   * Calculates the fingerprint of the code: the XOR of one Zobrist key per
+   * position, derived from the position and the hash of the value. States
+   * whose codes are equal for {@link #comparator(State)} always have the same
+   * fingerprint, so it can be used to index states in hash tables. Changing a
+   * single value changes the fingerprint by XOR-ing out the old key and XOR-ing
+   * in the new one, which lets the typed states keep it cached.
+   * 
+   * @return [long] The fingerprint of the code.
+   */
+  public long fingerprint() {
+    long hash = 0;
+    for (int i = 0; i < size(); i++) {
+      hash ^= zobrist(i, Objects.hashCode(getValue(i)));
+    }
+    return hash;
+  }
+
+  /**
+   * Gets the Zobrist key of a value at a position of the code. The keys are
+   * obtained by mixing the position and the hash of the value, so no table is
+   * needed for unbounded domains.
+   * 
+   * @param index [int] Position of the variable.
+   * @param valueHash [int] Hash of the value.
+   * @return [long] The key of the value at that position.
+   */
+  public static long zobrist(int index, int valueHash) {
+    long z = (((long) index << 32) | (valueHash & 0xffffffffL)) + 0x9e3779b97f4a7c15L;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Gets the number of variables in the code of the state.
+   * 
+   * @return [int] The length of the code.
+   */
+  public int size() {
+    return getCode().size();
+  }
+
+  /**
+   * Gets the value stored at the given position of the code.
+   * 
+   * @param index [int] Position of the variable.
+   * @return [Object] The value at that position.
+   */
+  public Object getValue(int index) {
+    return getCode().get(index);
+  }
+
+  /**
+   * Sets the value stored at the given position of the code.
+   * 
+   * @param index [int] Position of the variable.
+   * @param value [Object] The value to store.
+   */
+  public void setValue(int index, Object value) {
+    getCode().set(index, value);
+  }
+
+  /**
+   * Gets the value at the given position as an integer. Numeric values are
+   * truncated and booleans are mapped to 1 or 0.
+   * 
+   * @param index [int] Position of the variable.
+   * @return [int] The integer value at that position.
+   */
+  public int getInt(int index) {
+    return (int) toDouble(getCode().get(index));
+  }
+
+  /**
+   * Gets the value at the given position as a double. Booleans are mapped to
+   * 1 or 0.
+   * 
+   * @param index [int] Position of the variable.
+   * @return [double] The double value at that position.
+   */
+  public double getDouble(int index) {
+    return toDouble(getCode().get(index));
+  }
+
+  /**
+   * Gets the value at the given position as a bit. Any non zero number is
+   * considered a set bit.
+   * 
+   * @param index [int] Position of the variable.
+   * @return [boolean] True if the bit is set, false otherwise.
+   */
+  public boolean getBit(int index) {
+    return toDouble(getCode().get(index)) != 0;
+  }
+
+  /**
+   * Sets an integer value at the given position of the code.
+   * 
+   * @param index [int] Position of the variable.
+   * @param value [int] The value to store.
+   */
+  public void setInt(int index, int value) {
+    getCode().set(index, value);
+  }
+
+  /**
+   * Sets a double value at the given position of the code.
+   * 
+   * @param index [int] Position of the variable.
+   * @param value [double] The value to store.
+   */
+  public void setDouble(int index, double value) {
+    getCode().set(index, value);
+  }
+
+  /**
+   * Sets a bit at the given position of the code. Bits are stored as the
+   * integers 1 and 0, as the binary codifications of the library expect.
+   * 
+   * @param index [int] Position of the variable.
+   * @param value [boolean] The bit to store.
+   */
+  public void setBit(int index, boolean value) {
+    getCode().set(index, value ? 1 : 0);
+  }
+
+  /**
+   * Copies the values of a range of positions from another state, keeping
+   * the representation of this state.
+   * 
+   * @param source [State] State whose values are copied.
+   * @param from [int] First position of the range (inclusive).
+   * @param to [int] Last position of the range (exclusive).
+   */
+  public void copyValues(State source, int from, int to) {
+    for (int i = from; i < to; i++) {
+      setValue(i, source.getValue(i));
+    }
+  }
+
+  /**
+   * Converts a code value to a double.
+   * 
+   * @param value [Object] Value of the code (Number or Boolean).
+   * @return [double] The numeric value.
+   */
+  protected static double toDouble(Object value) {
+    if (value instanceof Boolean) {
+      return Boolean.TRUE.equals(value) ? 1 : 0;
+    }
+    return ((Number) value).doubleValue();
+  }
+
   /**
    * Calculates the distance between the current state and another state.
    * 
@@ -0,0 +1,270 @@
+package es.ull.esit.app.problem.extension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Hypervolume indicator of a front: the volume of the objective space
+ * dominated by the front and bounded by a reference point. Every objective is
+ * minimized; the points are rows of a matrix (see
+ * {@link MetricasMultiobjetivo#objetivos}).
+ *
+ * Up to {@link #MAX_OBJETIVOS_EXACTO} objectives the volume is computed
+ * exactly with the WFG algorithm, which adds the exclusive contribution of
+ * each point, computed from the hypervolume of its limit set, and solves two
+ * objectives with a sweep in O(n log n). With more objectives it is estimated
+ * by Monte Carlo sampling of the box between the ideal and the reference
+ * points.
+ */
+public final class Hipervolumen {
+
+  /** Greatest number of objectives whose hypervolume is computed exactly. */
+  public static final int MAX_OBJETIVOS_EXACTO = 5;
+
+  /** Default number of samples of the Monte Carlo estimation. */
+  public static final int MUESTRAS_POR_DEFECTO = 100000;
+
+  /** Default seed of the Monte Carlo estimation, so the results can be repeated. */
+  public static final long SEMILLA_POR_DEFECTO = 0x5DEECE66DL;
+
+  private Hipervolumen() {
+    // Utility class.
+  }
+
+  /**
+   * Calculates the hypervolume of a front, exactly up to
+   * {@link #MAX_OBJETIVOS_EXACTO} objectives and estimated otherwise.
+   *
+   * @param frente [double[][]] Points of the front, every objective minimized.
+   * @param referencia [double[]] Reference point.
+   * @return [double] The hypervolume.
+   */
+  public static double calcular(double[][] frente, double[] referencia) {
+    if (referencia.length <= MAX_OBJETIVOS_EXACTO) {
+      return exacto(frente, referencia);
+    }
+    return montecarlo(frente, referencia, MUESTRAS_POR_DEFECTO, SEMILLA_POR_DEFECTO);
+  }
+
+  /**
+   * Calculates the exact hypervolume of a front with the WFG algorithm.
+   *
+   * @param frente [double[][]] Points of the front, every objective minimized.
+   * @param referencia [double[]] Reference point.
+   * @return [double] The hypervolume.
+   */
+  public static double exacto(double[][] frente, double[] referencia) {
+    double[][] puntos = noDominados(frente, referencia);
+    if (puntos.length == 0) {
+      return 0;
+    }
+    return wfg(puntos, referencia);
+  }
+
+  /**
+   * Estimates the hypervolume of a front by Monte Carlo sampling of the box
+   * between the ideal point of the front and the reference point.
+   *
+   * @param frente [double[][]] Points of the front, every objective minimized.
+   * @param referencia [double[]] Reference point.
+   * @param muestras [int] Number of samples.
+   * @param semilla [long] Seed of the samples.
+   * @return [double] The estimated hypervolume.
+   */
+  public static double montecarlo(double[][] frente, double[] referencia, int muestras, long semilla) {
+    if (muestras < 1) {
+      throw new IllegalArgumentException("El número de muestras debe ser positivo");
+    }
+    double[][] puntos = noDominados(frente, referencia);
+    if (puntos.length == 0) {
+      return 0;
+    }
+    int m = referencia.length;
+    double[] ideal = puntos[0].clone();
+    for (double[] punto : puntos) {
+      for (int i = 0; i < m; i++) {
+        ideal[i] = Math.min(ideal[i], punto[i]);
+      }
+    }
+    double caja = 1;
+    for (int i = 0; i < m; i++) {
+      caja *= referencia[i] - ideal[i];
+    }
+    SplittableRandom random = new SplittableRandom(semilla);
+    double[] muestra = new double[m];
+    int dominadas = 0;
+    for (int s = 0; s < muestras; s++) {
+      for (int i = 0; i < m; i++) {
+        muestra[i] = ideal[i] + random.nextDouble() * (referencia[i] - ideal[i]);
+      }
+      for (double[] punto : puntos) {
+        if (debilmenteDomina(punto, muestra)) {
+          dominadas++;
+          break;
+        }
+      }
+    }
+    return caja * dominadas / muestras;
+  }
+
+  /**
+   * WFG algorithm: adds the exclusive hypervolume of every point, which is
+   * its inclusive volume minus the hypervolume of its limit set.
+   *
+   * @param puntos [double[][]] Non-dominated points, all better than the reference.
+   * @param referencia [double[]] Reference point.
+   * @return [double] The hypervolume.
+   */
+  private static double wfg(double[][] puntos, double[] referencia) {
+    int m = referencia.length;
+    if (m == 1) {
+      double min = Double.POSITIVE_INFINITY;
+      for (double[] punto : puntos) {
+        min = Math.min(min, punto[0]);
+      }
+      return referencia[0] - min;
+    }
+    if (m == 2) {
+      return barrido(puntos, referencia);
+    }
+    // Ordenando por el último objetivo, de peor a mejor, los conjuntos límite son más pequeños
+    Arrays.sort(puntos, Comparator.comparingDouble((double[] p) -> p[m - 1]).reversed());
+    double volumen = 0;
+    for (int i = 0; i < puntos.length; i++) {
+      volumen += inclusivo(puntos[i], referencia);
+      if (i + 1 < puntos.length) {
+        double[][] limite = conjuntoLimite(puntos, i);
+        if (limite.length > 0) {
+          volumen -= wfg(limite, referencia);
+        }
+      }
+    }
+    return volumen;
+  }
+
+  /**
+   * Hypervolume of two objectives: the points are swept by the first
+   * objective and each one adds the strip between its second objective and
+   * the best one seen so far.
+   *
+   * @param puntos [double[][]] Points, all better than the reference.
+   * @param referencia [double[]] Reference point.
+   * @return [double] The hypervolume.
+   */
+  private static double barrido(double[][] puntos, double[] referencia) {
+    double[][] ordenados = puntos.clone();
+    Arrays.sort(ordenados, Comparator.comparingDouble((double[] p) -> p[0]).thenComparingDouble(p -> p[1]));
+    double volumen = 0;
+    double mejor = referencia[1];
+    for (double[] punto : ordenados) {
+      if (punto[1] < mejor) {
+        volumen += (referencia[0] - punto[0]) * (mejor - punto[1]);
+        mejor = punto[1];
+      }
+    }
+    return volumen;
+  }
+
+  /**
+   * Volume of the box between a point and the reference point.
+   *
+   * @param punto [double[]] The point.
+   * @param referencia [double[]] Reference point.
+   * @return [double] The volume.
+   */
+  private static double inclusivo(double[] punto, double[] referencia) {
+    double volumen = 1;
+    for (int i = 0; i < punto.length; i++) {
+      volumen *= referencia[i] - punto[i];
+    }
+    return volumen;
+  }
+
+  /**
+   * Limit set of a point: the following points, each one made worse so that
+   * it does not improve the point in any objective, without the dominated
+   * ones.
+   *
+   * @param puntos [double[][]] The points.
+   * @param indice [int] Position of the point.
+   * @return [double[][]] The non-dominated limited points.
+   */
+  private static double[][] conjuntoLimite(double[][] puntos, int indice) {
+    double[] punto = puntos[indice];
+    List<double[]> limite = new ArrayList<>(puntos.length - indice - 1);
+    for (int j = indice + 1; j < puntos.length; j++) {
+      double[] limitado = new double[punto.length];
+      for (int k = 0; k < punto.length; k++) {
+        limitado[k] = Math.max(punto[k], puntos[j][k]);
+      }
+      limite.add(limitado);
+    }
+    return filtrar(limite);
+  }
+
+  /**
+   * Keeps the points of a front that are better than the reference point in
+   * every objective and not dominated by another one.
+   *
+   * @param frente [double[][]] Points of the front.
+   * @param referencia [double[]] Reference point.
+   * @return [double[][]] The points that add volume.
+   */
+  private static double[][] noDominados(double[][] frente, double[] referencia) {
+    List<double[]> validos = new ArrayList<>(frente.length);
+    for (double[] punto : frente) {
+      if (punto.length != referencia.length) {
+        throw new IllegalArgumentException("El punto de referencia y el frente tienen distinto número de objetivos");
+      }
+      boolean mejor = true;
+      for (int i = 0; i < punto.length && mejor; i++) {
+        mejor = punto[i] < referencia[i];
+      }
+      if (mejor) {
+        validos.add(punto.clone());
+      }
+    }
+    return filtrar(validos);
+  }
+
+  /**
+   * Removes the dominated and repeated points.
+   *
+   * @param puntos [List<double[]>] The points.
+   * @return [double[][]] The non-dominated points.
+   */
+  private static double[][] filtrar(List<double[]> puntos) {
+    // En orden lexicográfico ningún punto domina débilmente a uno anterior distinto
+    puntos.sort(Arrays::compare);
+    List<double[]> frente = new ArrayList<>(puntos.size());
+    for (double[] punto : puntos) {
+      boolean dominado = false;
+      for (int j = frente.size() - 1; j >= 0 && !dominado; j--) {
+        dominado = debilmenteDomina(frente.get(j), punto);
+      }
+      if (!dominado) {
+        frente.add(punto);
+      }
+    }
+    return frente.toArray(new double[0][]);
+  }
+
+  /**
+   * Checks whether a point is not worse than another one in any objective.
+   *
+   * @param a [double[]] First point.
+   * @param b [double[]] Second point.
+   * @return [boolean] True if a[i] &lt;= b[i] for every objective.
+   */
+  private static boolean debilmenteDomina(double[] a, double[] b) {
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] > b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
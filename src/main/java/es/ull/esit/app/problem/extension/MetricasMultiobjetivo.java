@@ -1,14 +1,23 @@
 package es.ull.esit.app.problem.extension;
 
-import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import jxl.read.biff.BiffException;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
 
 /**
  * Class that implements multi-objective metrics.
+ *
+ * Besides the metrics over lists of solutions, the quality indicators
+ * (hypervolume, IGD, IGD+ and additive epsilon) are computed over primitive
+ * matrices with one row per solution and every objective minimized, as
+ * {@link #objetivos(List, ProblemType)} builds them, and
+ * {@link #evaluarFrentes(List, ToDoubleFunction)} computes an indicator for
+ * many fronts in parallel.
  */
 public class MetricasMultiobjetivo {
 
@@ -19,10 +28,8 @@ public class MetricasMultiobjetivo {
    * @param solutionsFPcurrent [List<State>] Current Pareto front solutions.
    * @param solutionsFPtrue [List<State>] True Pareto front solutions.
    * @return [double] Error rate.
-   * @throws BiffException If an error occurs while reading the Excel file.
-   * @throws IOException If an I/O error occurs.
    */
-	public double calcularTasaError(List<State> solutionsFPcurrent, List<State> solutionsFPtrue) throws BiffException, IOException{
+	public double calcularTasaError(List<State> solutionsFPcurrent, List<State> solutionsFPtrue){
 		float tasaError = 0;
 		for (int i = 0; i < solutionsFPcurrent.size() ; i++) { 
 			State solutionVO = solutionsFPcurrent.get(i);
@@ -39,10 +46,8 @@ public class MetricasMultiobjetivo {
    * @param solutionsFPcurrent [List<State>] Current Pareto front solutions.
    * @param solutionsFPtrue [List<State>] True Pareto front solutions.
    * @return [double] Generational distance.
-   * @throws BiffException If an error occurs while reading the Excel file.
-   * @throws IOException If an I/O error occurs.
    */
-	public double calcularDistanciaGeneracional(List<State> solutionsFPcurrent, List<State> solutionsFPtrue) throws BiffException, IOException{
+	public double calcularDistanciaGeneracional(List<State> solutionsFPcurrent, List<State> solutionsFPtrue){
 		float min;
 		float distancia = 0;
 		float distanciaGeneracional = 0;
@@ -71,10 +76,8 @@ public class MetricasMultiobjetivo {
    * 
    * @param solutions [List<State>] List of solutions.
    * @return [double] Dispersion value.
-   * @throws BiffException If an error occurs while reading the Excel file.
-   * @throws IOException If an I/O error occurs.
    */
-	public double calcularDispersion(List<State> solutions) throws BiffException, IOException{
+	public double calcularDispersion(List<State> solutions){
 		LinkedList<Float> distancias = new LinkedList<>();
 		float distancia = 0;
 		float min;
@@ -130,6 +133,172 @@ public class MetricasMultiobjetivo {
 		return result;
 	}
 
+  /**
+   * Gets the objectives of a list of solutions as a matrix where every
+   * objective is minimized: maximized objectives are negated.
+   *
+   * @param solutions [List<State>] Evaluated solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [double[][]] One row per solution.
+   */
+	public static double[][] objetivos(List<State> solutions, ProblemType type){
+		double[][] puntos = new double[solutions.size()][];
+		boolean maximizar = ProblemType.MAXIMIZAR.equals(type);
+		for (int i = 0; i < puntos.length; i++) {
+			List<Double> evaluation = solutions.get(i).getEvaluation();
+			puntos[i] = new double[evaluation.size()];
+			for (int j = 0; j < puntos[i].length; j++) {
+				double value = evaluation.get(j);
+				puntos[i][j] = maximizar ? -value : value;
+			}
+		}
+		return puntos;
+	}
+
+  /**
+   * Calculates the hypervolume of a front (see {@link Hipervolumen}).
+   *
+   * @param solutions [List<State>] Solutions of the front.
+   * @param referencia [double[]] Reference point, in the orientation of the problem.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [double] The hypervolume.
+   */
+	public double calcularHipervolumen(List<State> solutions, double[] referencia, ProblemType type){
+		double[] ref = referencia.clone();
+		if (ProblemType.MAXIMIZAR.equals(type)) {
+			for (int i = 0; i < ref.length; i++) {
+				ref[i] = -ref[i];
+			}
+		}
+		return Hipervolumen.calcular(objetivos(solutions, type), ref);
+	}
+
+  /**
+   * Calculates the inverted generational distance (IGD) between the current
+   * and the true Pareto front solutions.
+   *
+   * @param solutionsFPcurrent [List<State>] Current Pareto front solutions.
+   * @param solutionsFPtrue [List<State>] True Pareto front solutions.
+   * @return [double] IGD.
+   */
+	public double calcularIGD(List<State> solutionsFPcurrent, List<State> solutionsFPtrue){
+		return igd(objetivos(solutionsFPcurrent, ProblemType.MINIMIZAR), objetivos(solutionsFPtrue, ProblemType.MINIMIZAR));
+	}
+
+  /**
+   * Calculates the IGD+ between the current and the true Pareto front solutions.
+   *
+   * @param solutionsFPcurrent [List<State>] Current Pareto front solutions.
+   * @param solutionsFPtrue [List<State>] True Pareto front solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [double] IGD+.
+   */
+	public double calcularIGDPlus(List<State> solutionsFPcurrent, List<State> solutionsFPtrue, ProblemType type){
+		return igdPlus(objetivos(solutionsFPcurrent, type), objetivos(solutionsFPtrue, type));
+	}
+
+  /**
+   * Calculates the additive epsilon indicator of the current front with
+   * respect to the true Pareto front.
+   *
+   * @param solutionsFPcurrent [List<State>] Current Pareto front solutions.
+   * @param solutionsFPtrue [List<State>] True Pareto front solutions.
+   * @param type [ProblemType] Whether the objectives are maximized or minimized.
+   * @return [double] Additive epsilon.
+   */
+	public double calcularEpsilon(List<State> solutionsFPcurrent, List<State> solutionsFPtrue, ProblemType type){
+		return epsilonAditivo(objetivos(solutionsFPcurrent, type), objetivos(solutionsFPtrue, type));
+	}
+
+  /**
+   * IGD: mean Euclidean distance from each reference point to the closest
+   * point of the front.
+   *
+   * @param frente [double[][]] Points of the front.
+   * @param referencia [double[][]] Points of the reference front.
+   * @return [double] IGD, infinite if the front is empty.
+   */
+	public static double igd(double[][] frente, double[][] referencia){
+		double suma = 0;
+		for (double[] z : referencia) {
+			double min = Double.POSITIVE_INFINITY;
+			for (double[] a : frente) {
+				double distancia = 0;
+				for (int k = 0; k < z.length; k++) {
+					double d = a[k] - z[k];
+					distancia += d * d;
+				}
+				min = Math.min(min, distancia);
+			}
+			suma += Math.sqrt(min);
+		}
+		return suma / referencia.length;
+	}
+
+  /**
+   * IGD+: as IGD, but only the objectives where the point of the front is
+   * worse than the reference point count, so the indicator is weakly Pareto
+   * compliant.
+   *
+   * @param frente [double[][]] Points of the front, every objective minimized.
+   * @param referencia [double[][]] Points of the reference front, every objective minimized.
+   * @return [double] IGD+, infinite if the front is empty.
+   */
+	public static double igdPlus(double[][] frente, double[][] referencia){
+		double suma = 0;
+		for (double[] z : referencia) {
+			double min = Double.POSITIVE_INFINITY;
+			for (double[] a : frente) {
+				double distancia = 0;
+				for (int k = 0; k < z.length; k++) {
+					double d = Math.max(a[k] - z[k], 0);
+					distancia += d * d;
+				}
+				min = Math.min(min, distancia);
+			}
+			suma += Math.sqrt(min);
+		}
+		return suma / referencia.length;
+	}
+
+  /**
+   * Additive epsilon: smallest value that, subtracted from every objective of
+   * the front, makes it weakly dominate the whole reference front.
+   *
+   * @param frente [double[][]] Points of the front, every objective minimized.
+   * @param referencia [double[][]] Points of the reference front, every objective minimized.
+   * @return [double] Additive epsilon, infinite if the front is empty.
+   */
+	public static double epsilonAditivo(double[][] frente, double[][] referencia){
+		double epsilon = Double.NEGATIVE_INFINITY;
+		for (double[] z : referencia) {
+			double min = Double.POSITIVE_INFINITY;
+			for (double[] a : frente) {
+				double max = Double.NEGATIVE_INFINITY;
+				for (int k = 0; k < z.length && max < min; k++) {
+					max = Math.max(max, a[k] - z[k]);
+				}
+				min = Math.min(min, max);
+			}
+			epsilon = Math.max(epsilon, min);
+		}
+		return epsilon;
+	}
+
+  /**
+   * Computes an indicator for many fronts in parallel.
+   *
+   * @param frentes [List<double[][]>] The fronts.
+   * @param indicador [ToDoubleFunction<double[][]>] The indicator, for example
+   *        {@code f -> Hipervolumen.calcular(f, referencia)}.
+   * @return [double[]] The value of the indicator for each front, in the order of the list.
+   */
+	public static double[] evaluarFrentes(List<double[][]> frentes, ToDoubleFunction<double[][]> indicador){
+		return IntStream.range(0, frentes.size()).parallel()
+				.mapToDouble(i -> indicador.applyAsDouble(frentes.get(i)))
+				.toArray();
+	}
+
   /**
    * Calculates the minimum value from a list of metrics.
    * 
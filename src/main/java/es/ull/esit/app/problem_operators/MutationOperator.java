@@ -5,6 +5,8 @@ import java.util.List;
 
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 
+import es.ull.esit.app.problem.definition.Codification;
+import es.ull.esit.app.problem.definition.Move;
 import es.ull.esit.app.problem.definition.Operator;
 import es.ull.esit.app.problem.definition.State;
 
@@ -14,7 +16,8 @@ import es.ull.esit.app.problem.definition.State;
 public class MutationOperator extends Operator {
 
   /**
-   * Generates new states by applying the mutation operator.
+   * Generates new states by applying the mutation operator. Each neighbour
+   * carries the move that produced it, so it can be evaluated incrementally.
    * 
    * @param stateCurrent [State] Current state.
    * @param operatornumber [Integer] Number of new states to generate.
@@ -26,7 +29,9 @@ public class MutationOperator extends Operator {
 			int key = Strategy.getStrategy().getProblem().getCodification().getAleatoryKey();
 			Object candidate = Strategy.getStrategy().getProblem().getCodification().getVariableAleatoryValue(key);
 			State state = (State) stateCurrent.getCopy();
-			state.getCode().set(key, candidate);
+			Object previous = state.getValue(key);
+			state.setValue(key, candidate);
+			state.setMove(new Move(key, previous, candidate, stateCurrent.getEvaluation()));
 			listNeigborhood.add(state);
 		}
 		return listNeigborhood;
@@ -41,11 +46,11 @@ public class MutationOperator extends Operator {
 	@Override
 	public List<State> generateRandomState(Integer operatornumber) {
     List<State> listRandomStates = new ArrayList<>();
+    Codification codification = Strategy.getStrategy().getProblem().getCodification();
     for (int i = 0; i < operatornumber; i++){
-      State state = new State();
-      for (int j = 0; j < Strategy.getStrategy().getProblem().getCodification().getVariableCount(); j++){
-        Object candidate = Strategy.getStrategy().getProblem().getCodification().getVariableAleatoryValue(j);
-        state.getCode().add(candidate);
+      State state = codification.newState(codification.getVariableCount());
+      for (int j = 0; j < state.size(); j++){
+        codification.setRandomValue(state, j);
       }
       listRandomStates.add(state);
     }
@@ -0,0 +1,45 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+  @Test
+  void sampleShouldFollowTheWeights() {
+    double[] weights = {1, 0, 3, 4, 2};
+    AliasTable table = new AliasTable(weights);
+    assertEquals(weights.length, table.size());
+
+    SplittableRandom random = new SplittableRandom(7);
+    int draws = 200_000;
+    int[] counts = new int[weights.length];
+    for (int i = 0; i < draws; i++) {
+      counts[table.sample(random)]++;
+    }
+    assertEquals(0, counts[1], "Un peso cero nunca debe salir");
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(weights[i] / 10, (double) counts[i] / draws, 0.01, "Frecuencia del peso " + i);
+    }
+  }
+
+  @Test
+  void singleWeightShouldAlwaysBeDrawn() {
+    AliasTable table = new AliasTable(new double[] {0.25});
+    SplittableRandom random = new SplittableRandom(1);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, table.sample(random));
+    }
+  }
+
+  @Test
+  void constructorShouldRejectInvalidWeights() {
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, Double.NaN}));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0}));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+  }
+}
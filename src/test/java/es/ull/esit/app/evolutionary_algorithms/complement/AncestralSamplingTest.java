@@ -0,0 +1,75 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for AncestralSampling operator.
+ */
+class AncestralSamplingTest {
+
+  private static List<State> copies() {
+    SplittableRandom random = new SplittableRandom(21);
+    List<State> fathers = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      int value = random.nextInt(4);
+      fathers.add(new IntState(new int[] {value, random.nextInt(4), value}));
+    }
+    return fathers;
+  }
+
+  private static Strategy strategy(MockedStatic<Strategy> strategyStatic) {
+    Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+    strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+    when(strategyMock.getProblem().getPossibleValue()).thenReturn(4);
+    when(strategyMock.getProblem().getCodification().getVariableCount()).thenReturn(3);
+    return strategyMock;
+  }
+
+  @Test
+  void samplingShouldKeepTheLearnedDependencies() {
+    AncestralSampling sampler = new AncestralSampling();
+    assertTrue(sampler.usesDistribution());
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategy(strategyStatic);
+
+      List<State> offspring = sampler.sampling(copies(), 40, new DependencyTree());
+
+      assertEquals(40, offspring.size());
+      for (State child : offspring) {
+        assertEquals(3, child.getCode().size());
+        assertEquals(child.getCode().get(0), child.getCode().get(2), "La copia debe conservarse");
+      }
+    }
+  }
+
+  @Test
+  void samplingShouldFallBackToTheMarginalsWithoutAMultivariateDistribution() {
+    AncestralSampling sampler = new AncestralSampling();
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategy(strategyStatic);
+
+      List<State> offspring = sampler.sampling(copies(), 10, new Univariate());
+
+      assertEquals(10, offspring.size());
+      for (State child : offspring) {
+        for (Object gene : child.getCode()) {
+          assertTrue((Integer) gene >= 0 && (Integer) gene < 4);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoltzmannSelectionTest {
+
+  private State state(double value) {
+    State state = mock(State.class);
+    ArrayList<Double> evaluation = new ArrayList<>();
+    evaluation.add(value);
+    when(state.getEvaluation()).thenReturn(evaluation);
+    return state;
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios del generador dado. */
+  private static void useRandom(RandomGenerator generator) {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+  }
+
+  private int[] counts(BoltzmannSelection selection, List<State> population) throws Exception {
+    useRandom(new SplittableRandom(9));
+    int[] counts = new int[population.size()];
+    for (int round = 0; round < 5000; round++) {
+      for (State parent : selection.selection(population, 0)) {
+        counts[population.indexOf(parent)]++;
+      }
+    }
+    return counts;
+  }
+
+  @Test
+  void temperatureShouldControlTheSelectivePressure() throws Exception {
+    // Diferencias enormes: sin restar el mejor, exp desbordaría.
+    List<State> population = List.of(state(-1000), state(0), state(1000), state(1001));
+    BoltzmannSelection selection = new BoltzmannSelection();
+    assertEquals(1.0, selection.getTemperature());
+
+    int[] cold = counts(selection, population);
+    assertEquals(0, cold[0] + cold[1], "Los estados lejanos del mejor no deben salir");
+    assertEquals(1 / (1 + Math.exp(1)), cold[2] / 20000.0, 0.01);
+
+    selection.setTemperature(1e6);
+    int[] hot = counts(selection, population);
+    for (int count : hot) {
+      assertEquals(0.25, count / 20000.0, 0.01, "Con mucha temperatura la selección es casi uniforme");
+    }
+  }
+
+  @Test
+  void invalidTemperatureShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new BoltzmannSelection(0));
+    assertThrows(IllegalArgumentException.class, () -> new BoltzmannSelection(-1));
+    assertTrue(new BoltzmannSelection().selection(new ArrayList<>(), 0).isEmpty());
+  }
+}
@@ -0,0 +1,47 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyModelTest {
+
+  @Test
+  void sampleShouldFollowTheParents() {
+    // x1 = x0 y x2 = 2 - x1; x0 toma cualquier valor
+    int[][] codes = new int[30][];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = new int[] {i % 3, i % 3, 2 - i % 3};
+    }
+    DependencyModel model = new DependencyModel(new int[][] {{1}, {}, {1}}, codes, 3);
+
+    assertEquals(1, model.getOrder()[0]);
+    int[][] individuals = model.sampleIndividuals(50, new SplittableRandom(5));
+    for (int[] individual : individuals) {
+      assertEquals(individual[1], individual[0]);
+      assertEquals(2 - individual[1], individual[2]);
+    }
+  }
+
+  @Test
+  void sampleShouldSkipTheValuesThatAreNotValid() {
+    int[][] codes = {{0, -1}, {-1, -1}};
+    DependencyModel model = new DependencyModel(new int[][] {{}, {0}}, codes, 2);
+
+    for (int i = 0; i < 10; i++) {
+      int[] individual = model.sample(new SplittableRandom(i));
+      assertEquals(0, individual[0]);
+      // Sin valores válidos en ningún padre, la variable queda sin valor
+      assertEquals(-1, individual[1]);
+    }
+  }
+
+  @Test
+  void constructorShouldRejectCycles() {
+    int[][] codes = {{0, 0}};
+    assertThrows(IllegalArgumentException.class, () -> new DependencyModel(new int[][] {{1}, {0}}, codes, 2));
+    assertThrows(IllegalArgumentException.class, () -> new DependencyModel(new int[][] {{0}, {}}, codes, 2));
+  }
+}
@@ -0,0 +1,134 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencyModelTest {
+
+  private static State state(Object... values) {
+    State state = new State();
+    ArrayList<Object> code = new ArrayList<>();
+    for (Object value : values) {
+      code.add(value);
+    }
+    state.setCode(code);
+    return state;
+  }
+
+  private static List<State> population(int size, int variables, int values, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      int[] code = new int[variables];
+      for (int v = 0; v < variables; v++) {
+        code[v] = random.nextInt(values);
+      }
+      population.add(new IntState(code));
+    }
+    return population;
+  }
+
+  private static void assertSameCounts(FrequencyModel expected, FrequencyModel actual) {
+    for (int v = 0; v < expected.getVariables(); v++) {
+      assertEquals(expected.total(v), actual.total(v), "Total de la variable " + v);
+      for (int k = 0; k < expected.getValues(); k++) {
+        assertEquals(expected.count(v, k), actual.count(v, k), "Variable " + v + ", valor " + k);
+      }
+    }
+  }
+
+  @Test
+  void rebuildShouldCountOnlyTheValidValues() {
+    FrequencyModel model = new FrequencyModel(3, 3);
+
+    model.rebuild(List.of(state(0, 1, 2), state(0, -1, 7), state(2, "a", 2.0)));
+
+    assertEquals(2, model.count(0, 0));
+    assertEquals(1, model.count(0, 2));
+    assertEquals(3, model.total(0));
+    // -1, los textos y los valores fuera de rango no cuentan
+    assertEquals(1, model.total(1));
+    assertEquals(1, model.total(2));
+    assertEquals(2.0 / 3.0, model.probability(0, 0), 1e-12);
+    assertEquals(0, model.probability(1, 0));
+  }
+
+  @Test
+  void updateShouldMatchARebuildAfterEveryGeneration() {
+    List<State> pool = population(40, 12, 5, 1);
+    SplittableRandom random = new SplittableRandom(2);
+    FrequencyModel incremental = new FrequencyModel(12, 5);
+    List<State> selected = new ArrayList<>(pool.subList(0, 20));
+    incremental.update(selected);
+
+    for (int generation = 0; generation < 30; generation++) {
+      // Cambian pocos padres por generación, algunos repetidos
+      selected.set(random.nextInt(selected.size()), pool.get(random.nextInt(pool.size())));
+      selected.set(random.nextInt(selected.size()), selected.get(0));
+      incremental.update(selected);
+
+      FrequencyModel rebuilt = new FrequencyModel(12, 5);
+      rebuilt.rebuild(selected);
+      assertSameCounts(rebuilt, incremental);
+    }
+  }
+
+  @Test
+  void removeShouldUseTheValuesCountedWhenTheStateEntered() {
+    FrequencyModel model = new FrequencyModel(2, 2);
+    State state = state(1, 0);
+    model.add(state);
+    model.add(state);
+    state.getCode().set(0, 0);
+
+    assertTrue(model.remove(state));
+    assertEquals(1, model.count(0, 1));
+    assertTrue(model.remove(state));
+    assertEquals(0, model.total(0));
+    assertFalse(model.remove(state), "Ya no queda ninguna copia contada");
+  }
+
+  @Test
+  void sampleShouldFollowTheCounts() {
+    FrequencyModel model = new FrequencyModel(2, 4);
+    model.rebuild(List.of(state(3, -1), state(3, -1), state(1, -1), state(3, -1)));
+    SplittableRandom random = new SplittableRandom(7);
+
+    int ones = 0;
+    for (int i = 0; i < 4000; i++) {
+      int value = model.sample(0, random);
+      assertTrue(value == 1 || value == 3, "Solo se sacan valores con frecuencia");
+      if (value == 1) {
+        ones++;
+      }
+    }
+    assertEquals(1000, ones, 100);
+    assertEquals(-1, model.sample(1, random), "Una variable sin valores no se puede muestrear");
+  }
+
+  @Test
+  void largeModelsShouldBeSampledTheSameInEveryRun() {
+    int variables = 2000;
+    List<State> fathers = population(30, variables, 16, 3);
+    FrequencyModel model = new FrequencyModel(variables, 16);
+    model.rebuild(fathers);
+    assertTrue((long) variables * 30 >= FrequencyModel.PARALLEL_THRESHOLD, "La prueba debe usar el camino paralelo");
+
+    int[][] first = model.sampleIndividuals(30, new SplittableRandom(11));
+    int[][] second = model.sampleIndividuals(30, new SplittableRandom(11));
+
+    for (int i = 0; i < first.length; i++) {
+      assertArrayEquals(first[i], second[i]);
+      for (int v = 0; v < variables; v++) {
+        assertTrue(model.count(v, first[i][v]) > 0, "Cada valor sale de algún padre");
+      }
+    }
+  }
+}
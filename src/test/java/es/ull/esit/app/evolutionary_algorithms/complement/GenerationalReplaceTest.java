@@ -63,4 +63,27 @@ class GenerationalReplaceTest {
         assertSame(candidate, result.get(0));
         assertFalse(result.contains(original));
     }
+
+    @Test
+    void replaceBatchShouldMatchReplacingOneByOne() throws Exception {
+        GenerationalReplace replaceOperator = new GenerationalReplace();
+        List<State> population = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            population.add(mock(State.class));
+        }
+
+        for (int size : new int[] {2, 5, 8}) {
+            List<State> offspring = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                offspring.add(mock(State.class));
+            }
+            List<State> sequential = new ArrayList<>(population);
+            for (State candidate : offspring) {
+                sequential = replaceOperator.replace(candidate, sequential);
+            }
+
+            assertEquals(sequential, replaceOperator.replaceBatch(offspring, new ArrayList<>(population)),
+                    "Con " + size + " hijos el lote debe dejar la misma población");
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JointFrequencyModelTest {
+
+  private static List<State> population(int size, int variables, int values, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      int[] code = new int[variables];
+      for (int v = 0; v < variables; v++) {
+        code[v] = random.nextInt(values);
+      }
+      population.add(new IntState(code));
+    }
+    return population;
+  }
+
+  @Test
+  void updateShouldMatchARebuildOfThePairs() {
+    List<State> pool = population(60, 7, 4, 3);
+    SplittableRandom random = new SplittableRandom(4);
+    JointFrequencyModel incremental = new JointFrequencyModel(7, 4);
+    List<State> selected = new ArrayList<>(pool.subList(0, 30));
+    incremental.update(selected);
+
+    for (int generation = 0; generation < 20; generation++) {
+      selected.set(random.nextInt(selected.size()), pool.get(random.nextInt(pool.size())));
+      incremental.update(selected);
+
+      JointFrequencyModel rebuilt = new JointFrequencyModel(7, 4);
+      rebuilt.rebuild(selected);
+      for (int i = 0; i < 7; i++) {
+        for (int j = 0; j < 7; j++) {
+          if (i == j) {
+            continue;
+          }
+          for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+              assertEquals(rebuilt.count(i, a, j, b), incremental.count(i, a, j, b),
+                  "Par " + i + "-" + j + ", valores " + a + "-" + b);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void informationShouldMeasureTheDependencies() {
+    // x1 copia a x0; x2 es independiente de ambos
+    List<State> states = new ArrayList<>();
+    for (int a = 0; a < 2; a++) {
+      for (int b = 0; b < 2; b++) {
+        states.add(new IntState(new int[] {a, a, b}));
+      }
+    }
+    JointFrequencyModel model = new JointFrequencyModel(3, 2);
+    model.update(states);
+
+    assertEquals(Math.log(2), model.entropy(0), 1e-12);
+    assertEquals(0, model.conditionalEntropy(1, 0), 1e-12);
+    assertEquals(Math.log(2), model.conditionalEntropy(2, 0), 1e-12);
+    assertEquals(Math.log(2), model.mutualInformation(0, 1), 1e-12);
+    assertEquals(0, model.mutualInformation(2, 1), 1e-12);
+    assertEquals(model.mutualInformation(0, 1), model.mutualInformation()[model.pair(1, 0)], 1e-12);
+    assertEquals(2, model.count(1, 1, 0, 1));
+    assertEquals(4, model.pairTotal(0, 2));
+  }
+
+  @Test
+  void constructorShouldRejectTablesThatAreTooLarge() {
+    assertThrows(IllegalArgumentException.class, () -> new JointFrequencyModel(1000, 100));
+  }
+}
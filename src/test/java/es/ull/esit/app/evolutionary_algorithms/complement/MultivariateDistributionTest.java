@@ -0,0 +1,116 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the structures of MIMIC, BMDA and the Bayesian network.
+ */
+class MultivariateDistributionTest {
+
+  private JointFrequencyModel statistics;
+  private int[][] codes;
+
+  /** x2 = x1 = x0 y x3 independiente, con 3 valores. */
+  private void copies() {
+    SplittableRandom random = new SplittableRandom(11);
+    List<State> states = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      int value = random.nextInt(3);
+      states.add(new IntState(new int[] {value, value, value, random.nextInt(3)}));
+    }
+    statistics = new JointFrequencyModel(4, 3);
+    statistics.update(states);
+    codes = new int[states.size()][];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = statistics.code(states.get(i));
+    }
+  }
+
+  private static int linksAmongCopies(int[][] parents) {
+    int links = 0;
+    for (int v = 0; v < 3; v++) {
+      for (int parent : parents[v]) {
+        if (parent < 3) {
+          links++;
+        }
+      }
+    }
+    return links;
+  }
+
+  private static void assertIsolated(int[][] parents, int variable) {
+    assertEquals(0, parents[variable].length, "La variable independiente no debe tener padres");
+    for (int[] members : parents) {
+      for (int parent : members) {
+        assertNotEquals(variable, parent, "La variable independiente no debe tener hijos");
+      }
+    }
+  }
+
+  @Test
+  void mimicShouldChainTheCopies() {
+    copies();
+    int[][] parents = new Mimic().structure(statistics, codes);
+
+    int roots = 0;
+    for (int[] members : parents) {
+      assertTrue(members.length <= 1);
+      roots += (members.length == 0) ? 1 : 0;
+    }
+    assertEquals(1, roots, "Una cadena tiene una sola raíz");
+    assertEquals(2, linksAmongCopies(parents));
+  }
+
+  @Test
+  void dependencyTreeShouldLeaveTheIndependentVariableAlone() {
+    copies();
+    int[][] parents = new DependencyTree().structure(statistics, codes);
+
+    assertEquals(2, linksAmongCopies(parents));
+    assertIsolated(parents, 3);
+  }
+
+  @Test
+  void bayesianNetworkShouldLinkOnlyTheCopies() {
+    copies();
+    int[][] parents = new BayesianNetwork().structure(statistics, codes);
+
+    assertEquals(2, linksAmongCopies(parents));
+    assertIsolated(parents, 3);
+    // El resultado debe ser acíclico
+    assertDoesNotThrow(() -> new DependencyModel(parents, codes, 3));
+  }
+
+  @Test
+  void bayesianNetworkShouldBoundTheParents() {
+    SplittableRandom random = new SplittableRandom(12);
+    List<State> states = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      int a = random.nextInt(2);
+      int b = random.nextInt(2);
+      int c = random.nextInt(2);
+      // x3 depende de tres variables
+      states.add(new IntState(new int[] {a, b, c, a ^ b ^ c, a, b}));
+    }
+    statistics = new JointFrequencyModel(6, 2);
+    statistics.update(states);
+    codes = new int[states.size()][];
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = statistics.code(states.get(i));
+    }
+
+    int[][] parents = new BayesianNetwork(1).structure(statistics, codes);
+    for (int[] members : parents) {
+      assertTrue(members.length <= 1);
+    }
+    assertThrows(IllegalArgumentException.class, () -> new BayesianNetwork(0));
+  }
+}
@@ -1,16 +1,19 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.IntState;
 import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
-import java.lang.reflect.Field;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -50,13 +53,19 @@ class OnePointCrossoverTest {
         }
     }
 
-    /**
-     * Inyecta un Random controlado en la instancia de OnePointCrossover, usando reflexión.
-     */
-    private void injectRandom(OnePointCrossover crossover, Random random) throws Exception {
-        Field randomField = OnePointCrossover.class.getDeclaredField("random");
-        randomField.setAccessible(true);
-        randomField.set(crossover, random);
+    /** Hace que la ejecución actual, y con ella OnePointCrossover, saque sus números aleatorios del generador dado. */
+    private static void useRandom(RandomGenerator generator) {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+            @Override
+            public RandomGenerator getGenerator() {
+                return generator;
+            }
+        });
+    }
+
+    @AfterEach
+    void restoreRandom() {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService());
     }
 
     @Test
@@ -64,7 +73,7 @@ class OnePointCrossoverTest {
         OnePointCrossover crossover = new OnePointCrossover();
 
         // Random que siempre produce number > pc (0.9 > 0.5)
-        injectRandom(crossover, new TestRandom(0.9, 0, 0));
+        useRandom(new TestRandom(0.9, 0, 0));
 
         State father1 = mock(State.class);
         State father2 = mock(State.class);
@@ -86,11 +95,7 @@ class OnePointCrossoverTest {
         OnePointCrossover crossover = new OnePointCrossover();
 
         // number = 0.1 (<= pc), pos = 1, choice = 0 -> usa ind1
-        injectRandom(crossover, new TestRandom(0.1, 1, 0));
-
-        State father1 = mock(State.class);
-        State father2 = mock(State.class);
-        State newInd = mock(State.class);
+        useRandom(new TestRandom(0.1, 1, 0));
 
         // Códigos de los padres
         ArrayList<Object> codeFather1 = new ArrayList<>();
@@ -105,9 +110,8 @@ class OnePointCrossoverTest {
         codeFather2.add("c");
         codeFather2.add("d");
 
-        when(father1.getCode()).thenReturn(codeFather1);
-        when(father2.getCode()).thenReturn(codeFather2);
-        when(father1.getCopy()).thenReturn(newInd);
+        State father1 = new State(codeFather1);
+        State father2 = new State(codeFather2);
 
         try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
             Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
@@ -120,13 +124,9 @@ class OnePointCrossoverTest {
             State result = crossover.crossover(father1, father2, 0.8);
 
             // Devuelve la copia modificada
-            assertSame(newInd, result);
-
-            // Capturamos el código que se le pasa a setCode
-            ArgumentCaptor<ArrayList> captor = ArgumentCaptor.forClass(ArrayList.class);
-            verify(newInd).setCode(captor.capture());
+            assertNotSame(father1, result);
 
-            ArrayList<Object> offspringCode = captor.getValue();
+            List<Object> offspringCode = result.getCode();
 
             /*
              * father1: [A, B, C, D]
@@ -150,11 +150,7 @@ class OnePointCrossoverTest {
         OnePointCrossover crossover = new OnePointCrossover();
 
         // number = 0.1 (<= pc), pos = 1, choice = 1 -> usa ind2
-        injectRandom(crossover, new TestRandom(0.1, 1, 1));
-
-        State father1 = mock(State.class);
-        State father2 = mock(State.class);
-        State newInd = mock(State.class);
+        useRandom(new TestRandom(0.1, 1, 1));
 
         // Códigos de los padres
         ArrayList<Object> codeFather1 = new ArrayList<>();
@@ -169,9 +165,8 @@ class OnePointCrossoverTest {
         codeFather2.add("c");
         codeFather2.add("d");
 
-        when(father1.getCode()).thenReturn(codeFather1);
-        when(father2.getCode()).thenReturn(codeFather2);
-        when(father1.getCopy()).thenReturn(newInd);
+        State father1 = new State(codeFather1);
+        State father2 = new State(codeFather2);
 
         try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
             Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
@@ -182,13 +177,9 @@ class OnePointCrossoverTest {
             // Act
             State result = crossover.crossover(father1, father2, 0.8);
 
-            assertSame(newInd, result);
-
-            // Capturamos el código que se le pasa a setCode
-            ArgumentCaptor<ArrayList> captor = ArgumentCaptor.forClass(ArrayList.class);
-            verify(newInd).setCode(captor.capture());
+            assertNotSame(father1, result);
 
-            ArrayList<Object> offspringCode = captor.getValue();
+            List<Object> offspringCode = result.getCode();
 
             /*
              * ind2 (para choice = 1):
@@ -203,4 +194,27 @@ class OnePointCrossoverTest {
             assertEquals("D", offspringCode.get(3));
         }
     }
+
+    @Test
+    void crossoverShouldKeepThePrimitiveStateOfTheParents() throws Exception {
+        OnePointCrossover crossover = new OnePointCrossover();
+
+        // number = 0.1 (<= pc), pos = 2, choice = 0 -> [1, 2, 3, 40, 50]
+        useRandom(new TestRandom(0.1, 2, 0));
+
+        IntState father1 = new IntState(new int[] {1, 2, 3, 4, 5});
+        IntState father2 = new IntState(new int[] {10, 20, 30, 40, 50});
+
+        try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+            Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+            strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+            when(strategyMock.getProblem().getCodification().getVariableCount()).thenReturn(5);
+
+            State result = crossover.crossover(father1, father2, 0.8);
+
+            assertInstanceOf(IntState.class, result, "El hijo debe conservar la representación primitiva");
+            assertArrayEquals(new int[] {1, 2, 3, 40, 50}, ((IntState) result).toIntArray());
+            assertArrayEquals(new int[] {1, 2, 3, 4, 5}, father1.toIntArray(), "Los padres no deben modificarse");
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 import org.junit.jupiter.api.Test;
@@ -7,7 +8,7 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,15 +25,17 @@ class OnePointMutationTest {
         code.add("B");
         code.add("C");
 
-        State state = mock(State.class);
+        State state = mock(State.class, CALLS_REAL_METHODS);
         when(state.getCode()).thenReturn(code);
 
-        try (MockedStatic<ThreadLocalRandom> tlrStatic = Mockito.mockStatic(ThreadLocalRandom.class);
+        try (MockedStatic<RandomService> serviceStatic = Mockito.mockStatic(RandomService.class);
              MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
 
-            // Mock de ThreadLocalRandom.current().nextDouble() -> probM = 0.2
-            ThreadLocalRandom randomMock = mock(ThreadLocalRandom.class);
-            tlrStatic.when(ThreadLocalRandom::current).thenReturn(randomMock);
+            // Mock de RandomService.current().getGenerator().nextDouble() -> probM = 0.2
+            RandomService serviceMock = mock(RandomService.class);
+            RandomGenerator randomMock = mock(RandomGenerator.class);
+            serviceStatic.when(RandomService::current).thenReturn(serviceMock);
+            when(serviceMock.getGenerator()).thenReturn(randomMock);
             when(randomMock.nextDouble()).thenReturn(0.2);
 
             // Mock de Strategy y encadenado hasta Codification
@@ -67,15 +70,17 @@ class OnePointMutationTest {
         code.add("B");
         code.add("C");
 
-        State state = mock(State.class);
+        State state = mock(State.class, CALLS_REAL_METHODS);
         when(state.getCode()).thenReturn(code);
 
-        try (MockedStatic<ThreadLocalRandom> tlrStatic = Mockito.mockStatic(ThreadLocalRandom.class);
+        try (MockedStatic<RandomService> serviceStatic = Mockito.mockStatic(RandomService.class);
              MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
 
             // probM = 0.9, pm = 0.5 -> pm >= probM es falso → NO hay mutación
-            ThreadLocalRandom randomMock = mock(ThreadLocalRandom.class);
-            tlrStatic.when(ThreadLocalRandom::current).thenReturn(randomMock);
+            RandomService serviceMock = mock(RandomService.class);
+            RandomGenerator randomMock = mock(RandomGenerator.class);
+            serviceStatic.when(RandomService::current).thenReturn(serviceMock);
+            when(serviceMock.getGenerator()).thenReturn(randomMock);
             when(randomMock.nextDouble()).thenReturn(0.9);
 
             // Aun si Strategy estuviese mal, no debe llamarse en esta rama
@@ -22,17 +22,14 @@ class ProbabilisticSamplingTest {
         ProbabilisticSampling sampler = new ProbabilisticSampling();
 
         // Padres: ambos con el mismo código [0,0,0]
-        State father1 = mock(State.class);
-        State father2 = mock(State.class);
-
         ArrayList<Object> code1 = new ArrayList<>();
         ArrayList<Object> code2 = new ArrayList<>();
         // 3 variables, todas con valor 0
         code1.add(0); code1.add(0); code1.add(0);
         code2.add(0); code2.add(0); code2.add(0);
 
-        when(father1.getCode()).thenReturn(code1);
-        when(father2.getCode()).thenReturn(code2);
+        State father1 = new State(code1);
+        State father2 = new State(code2);
 
         List<State> fathers = new ArrayList<>();
         fathers.add(father1);
@@ -77,11 +74,10 @@ class ProbabilisticSamplingTest {
         ProbabilisticSampling sampler = new ProbabilisticSampling();
 
         // Solo un padre con valores que NO coinciden con los posibles (porque posibles = 0 elementos)
-        State father = mock(State.class);
         ArrayList<Object> code = new ArrayList<>();
         code.add(7);
         code.add(8);
-        when(father.getCode()).thenReturn(code);
+        State father = new State(code);
 
         List<State> fathers = new ArrayList<>();
         fathers.add(father);
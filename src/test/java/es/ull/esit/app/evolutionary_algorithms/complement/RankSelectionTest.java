@@ -0,0 +1,61 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RankSelectionTest {
+
+  private State state(double value) {
+    State state = mock(State.class);
+    ArrayList<Double> evaluation = new ArrayList<>();
+    evaluation.add(value);
+    when(state.getEvaluation()).thenReturn(evaluation);
+    return state;
+  }
+
+  @Test
+  void rankWeightsShouldDependOnlyOnTheOrder() {
+    List<State> population = List.of(state(100), state(-5), state(7), state(7));
+    RankSelection selection = new RankSelection(2);
+
+    // Rangos 3, 0, 1.5 y 1.5 de 0 a 3: pesos 0 + (2/3) * rango.
+    assertArrayEquals(new double[] {2, 0, 1, 1}, selection.rankWeights(population), 1e-12);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      when(strategyMock.getProblem().getTypeProblem()).thenReturn(ProblemType.MINIMIZAR);
+
+      assertArrayEquals(new double[] {0, 2, 1, 1}, selection.rankWeights(population), 1e-12);
+    }
+  }
+
+  @Test
+  void selectionShouldReturnMembersOfThePopulation() {
+    List<State> population = List.of(state(1), state(2), state(3));
+    RankSelection selection = new RankSelection();
+    assertEquals(1.5, selection.getPressure());
+
+    List<State> parents = selection.selection(population, 0);
+
+    assertEquals(population.size(), parents.size());
+    assertTrue(population.containsAll(parents));
+    assertEquals(1, new RankSelection(2).selection(List.of(state(4)), 0).size());
+  }
+
+  @Test
+  void invalidPressureShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new RankSelection(0.5));
+    assertThrows(IllegalArgumentException.class, () -> new RankSelection(2.5));
+  }
+}
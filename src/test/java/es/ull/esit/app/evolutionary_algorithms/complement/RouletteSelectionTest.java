@@ -1,16 +1,39 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class RouletteSelectionTest {
 
+    /** Hace que la ejecución actual saque sus números aleatorios del generador dado. */
+    private static void useRandom(RandomGenerator generator) {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+            @Override
+            public RandomGenerator getGenerator() {
+                return generator;
+            }
+        });
+    }
+
+    @AfterEach
+    void restoreRandom() {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService());
+    }
+
     @Test
     void selectionShouldReturnParentsFromPopulation() {
         RouletteSelection selectionOperator = new RouletteSelection();
@@ -65,4 +88,38 @@ class RouletteSelectionTest {
         assertTrue(parents.isEmpty(),
                 "Si la población está vacía, la lista de padres también debe estar vacía");
     }
+
+    @Test
+    void selectionShouldHandleNegativeFitnessAndMinimization() throws Exception {
+        State worst = mock(State.class);
+        State middle = mock(State.class);
+        State best = mock(State.class);
+        when(worst.getEvaluation()).thenReturn(new ArrayList<>(List.of(-4.0)));
+        when(middle.getEvaluation()).thenReturn(new ArrayList<>(List.of(-2.0)));
+        when(best.getEvaluation()).thenReturn(new ArrayList<>(List.of(0.0)));
+        List<State> population = List.of(worst, middle, best);
+
+        RouletteSelection selectionOperator = new RouletteSelection();
+        useRandom(new SplittableRandom(4));
+
+        // Al maximizar el peso es la distancia al peor, así que el peor nunca sale
+        int bestCount = 0;
+        for (int round = 0; round < 1000; round++) {
+            List<State> parents = selectionOperator.selection(population, 0);
+            assertFalse(parents.contains(worst), "El peor estado tiene peso cero");
+            bestCount += (int) parents.stream().filter(parent -> parent == best).count();
+        }
+        assertEquals(2.0 / 3, bestCount / 3000.0, 0.03, "El mejor pesa el doble que el intermedio");
+
+        try (MockedStatic<Strategy> strategyStatic = mockStatic(Strategy.class)) {
+            Strategy strategyMock = mock(Strategy.class, RETURNS_DEEP_STUBS);
+            strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+            when(strategyMock.getProblem().getTypeProblem()).thenReturn(ProblemType.MINIMIZAR);
+
+            for (int round = 0; round < 100; round++) {
+                assertFalse(selectionOperator.selection(population, 0).contains(best),
+                    "Al minimizar, el de mayor evaluación es el peor");
+            }
+        }
+    }
 }
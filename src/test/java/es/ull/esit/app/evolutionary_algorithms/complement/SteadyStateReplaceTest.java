@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -183,4 +184,42 @@ class SteadyStateReplaceTest {
 
     assertSame(s2, maxState, "maxValue debe devolver el estado con evaluación máxima");
   }
+
+  private State real(double value) {
+    State state = new State();
+    state.setEvaluation(eval(value));
+    return state;
+  }
+
+  @Test
+  void replaceBatchShouldMatchReplacingOneByOne() {
+    SteadyStateReplace replaceOperator = new SteadyStateReplace();
+    SplittableRandom random = new SplittableRandom(5);
+
+    for (ProblemType type : ProblemType.values()) {
+      List<State> population = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        // Valores repetidos para comprobar también los empates
+        population.add(real(random.nextInt(10)));
+      }
+      List<State> offspring = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        offspring.add(real(random.nextInt(12)));
+      }
+
+      try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+        Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+        strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+        when(strategyMock.getProblem().getTypeProblem()).thenReturn(type);
+
+        List<State> sequential = new ArrayList<>(population);
+        for (State candidate : offspring) {
+          sequential = replaceOperator.replace(candidate, sequential);
+        }
+        List<State> batch = replaceOperator.replaceBatch(offspring, new ArrayList<>(population));
+
+        assertEquals(sequential, batch, "El lote debe dejar la misma población, en el mismo orden");
+      }
+    }
+  }
 }
@@ -0,0 +1,87 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StochasticUniversalSamplingTest {
+
+  private State state(double value) {
+    State state = mock(State.class);
+    ArrayList<Double> evaluation = new ArrayList<>();
+    evaluation.add(value);
+    when(state.getEvaluation()).thenReturn(evaluation);
+    return state;
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios del generador dado. */
+  private static void useRandom(RandomGenerator generator) {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+  }
+
+  @Test
+  void eachStateShouldBeSelectedCloseToItsExpectedCount() throws Exception {
+    // Pesos 1, 2, 3, 6 sobre 4 punteros: esperados 1/3, 2/3, 1 y 2 copias.
+    List<State> population = List.of(state(1), state(2), state(3), state(6));
+    double[] expected = {1.0 / 3, 2.0 / 3, 1, 2};
+    StochasticUniversalSampling selection = new StochasticUniversalSampling();
+    SplittableRandom random = new SplittableRandom(5);
+    for (int round = 0; round < 200; round++) {
+      useRandom(random.split());
+      List<State> parents = selection.selection(population, 0);
+      assertEquals(population.size(), parents.size());
+      for (int i = 0; i < population.size(); i++) {
+        State member = population.get(i);
+        long count = parents.stream().filter(parent -> parent == member).count();
+        assertTrue(count >= Math.floor(expected[i]) && count <= Math.ceil(expected[i]),
+            "Cada estado sale el número esperado de veces redondeado: " + i);
+      }
+    }
+  }
+
+  @Test
+  void minimizationShouldNeverSelectTheWorstState() throws Exception {
+    List<State> population = List.of(state(-3), state(5), state(-1));
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      when(strategyMock.getProblem().getTypeProblem()).thenReturn(ProblemType.MINIMIZAR);
+      StochasticUniversalSampling selection = new StochasticUniversalSampling();
+      useRandom(new SplittableRandom(2));
+
+      List<State> parents = selection.selection(population, 0);
+
+      assertEquals(3, parents.size());
+      assertFalse(parents.contains(population.get(1)), "El peor estado tiene peso cero");
+    }
+  }
+
+  @Test
+  void emptyPopulationShouldReturnEmptyList() {
+    assertTrue(new StochasticUniversalSampling().selection(new ArrayList<>(), 0).isEmpty());
+  }
+}
@@ -0,0 +1,96 @@
+package es.ull.esit.app.evolutionary_algorithms.complement;
+
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TournamentSelectionTest {
+
+  private State state(double value) {
+    State state = mock(State.class);
+    ArrayList<Double> evaluation = new ArrayList<>();
+    evaluation.add(value);
+    when(state.getEvaluation()).thenReturn(evaluation);
+    return state;
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios del generador dado. */
+  private static void useRandom(RandomGenerator generator) {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+  }
+
+  @Test
+  void largeTournamentsShouldSelectTheBestState() throws Exception {
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      population.add(state(i - 2.0));
+    }
+    for (ProblemType type : ProblemType.values()) {
+      try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+        Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+        strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+        when(strategyMock.getProblem().getTypeProblem()).thenReturn(type);
+
+        TournamentSelection selection = new TournamentSelection(200);
+        useRandom(new SplittableRandom(3));
+        List<State> parents = selection.selection(population, 0);
+
+        State best = population.get(type == ProblemType.MAXIMIZAR ? 4 : 0);
+        assertEquals(population.size(), parents.size());
+        for (State parent : parents) {
+          assertSame(best, parent, "Con torneos grandes siempre debe ganar el mejor en " + type);
+        }
+      }
+    }
+  }
+
+  @Test
+  void tournamentsShouldFavourBetterStates() throws Exception {
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      population.add(state(i));
+    }
+    TournamentSelection selection = new TournamentSelection();
+    assertEquals(2, selection.getSize());
+    useRandom(new SplittableRandom(11));
+    int[] counts = new int[population.size()];
+    for (int round = 0; round < 2000; round++) {
+      for (State parent : selection.selection(population, 0)) {
+        counts[population.indexOf(parent)]++;
+      }
+    }
+    // Con torneo binario el peor solo gana contra sí mismo: 1/n² de las veces.
+    assertTrue(counts[9] > 5 * counts[1], "El mejor debe ganar mucho más que los peores");
+    assertEquals(2000 * 10 / 100.0, counts[0], 60);
+  }
+
+  @Test
+  void emptyPopulationAndInvalidSizeShouldBeHandled() {
+    assertTrue(new TournamentSelection().selection(new ArrayList<>(), 0).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> new TournamentSelection(0));
+  }
+}
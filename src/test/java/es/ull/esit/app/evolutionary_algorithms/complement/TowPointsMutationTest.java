@@ -23,7 +23,7 @@ class TowPointsMutationTest {
     code.add(2); // índice 1
     code.add(3); // índice 2
 
-    State individual = mock(State.class);
+    State individual = mock(State.class, CALLS_REAL_METHODS);
     when(individual.getCode()).thenReturn(code);
 
     try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
@@ -9,6 +9,7 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -146,4 +147,38 @@ class TruncationSelectionTest {
       assertSame(s4, selected.get(1));
     }
   }
+
+  @Test
+  void selectionShouldMatchSortingAndLeaveTheListUnchanged() {
+    TruncationSelection selection = new TruncationSelection();
+    SplittableRandom random = new SplittableRandom(12);
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      State state = mock(State.class);
+      when(state.getEvaluation()).thenReturn(eval(random.nextInt(15)));
+      population.add(state);
+    }
+    List<State> original = new ArrayList<>(population);
+
+    for (ProblemType type : new ProblemType[] {ProblemType.MAXIMIZAR, ProblemType.MINIMIZAR}) {
+      try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+        Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+        strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+        when(strategyMock.getProblem().getTypeProblem()).thenReturn(type);
+
+        List<State> expected = new ArrayList<>(population);
+        if (type == ProblemType.MAXIMIZAR) {
+          selection.orderBetter(expected);
+        } else {
+          selection.ascOrderBetter(expected);
+        }
+        for (int truncation : new int[] {0, 1, 7, 40, 50}) {
+          List<State> selected = selection.selection(population, truncation);
+          // Los empates se resuelven por posición, como la ordenación estable.
+          assertEquals(expected.subList(0, Math.min(truncation, 40)), selected, type + " " + truncation);
+        }
+        assertEquals(original, population, "La selección no debe reordenar la población");
+      }
+    }
+  }
 }
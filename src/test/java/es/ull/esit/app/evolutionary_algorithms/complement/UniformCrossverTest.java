@@ -1,12 +1,14 @@
 package es.ull.esit.app.evolutionary_algorithms.complement;
 
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,13 +29,19 @@ class UniformCrossoverTest {
         }
     }
 
-    /**
-     * Inyecta un Random controlado en la instancia de UniformCrossover mediante reflexión.
-     */
-    private void injectRandom(UniformCrossover crossover, Random random) throws Exception {
-        Field randomField = UniformCrossover.class.getDeclaredField("r");
-        randomField.setAccessible(true);
-        randomField.set(crossover, random);
+    /** Hace que la ejecución actual, y con ella UniformCrossover, saque sus números aleatorios del generador dado. */
+    private static void useRandom(RandomGenerator generator) {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+            @Override
+            public RandomGenerator getGenerator() {
+                return generator;
+            }
+        });
+    }
+
+    @AfterEach
+    void restoreRandom() {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService());
     }
 
     @Test
@@ -41,7 +49,7 @@ class UniformCrossoverTest {
         UniformCrossover crossover = new UniformCrossover();
 
         // Inyectamos nuestro Random determinista
-        injectRandom(crossover, new TestRandom());
+        useRandom(new TestRandom());
 
         int length = 3;
         int[] mask = crossover.mascara(length);
@@ -68,10 +76,10 @@ class UniformCrossoverTest {
         UniformCrossover crossover = new UniformCrossover();
 
         // Inyectamos el Random determinista para que la máscara sea [1,0,0,...]
-        injectRandom(crossover, new TestRandom());
+        useRandom(new TestRandom());
 
         // Padre 1: genes "A1", "A2", "A3"
-        State father1 = mock(State.class);
+        State father1 = mock(State.class, CALLS_REAL_METHODS);
         ArrayList<Object> codeFather1 = new ArrayList<>();
         codeFather1.add("A1");
         codeFather1.add("A2");
@@ -79,7 +87,7 @@ class UniformCrossoverTest {
         when(father1.getCode()).thenReturn(codeFather1);
 
         // Padre 2: genes "B1", "B2", "B3"
-        State father2 = mock(State.class);
+        State father2 = mock(State.class, CALLS_REAL_METHODS);
         ArrayList<Object> codeFather2 = new ArrayList<>();
         codeFather2.add("B1");
         codeFather2.add("B2");
@@ -87,7 +95,7 @@ class UniformCrossoverTest {
         when(father2.getCode()).thenReturn(codeFather2);
 
         // Copia del padre1 que se usará como base del hijo
-        State child = mock(State.class);
+        State child = mock(State.class, CALLS_REAL_METHODS);
         ArrayList<Object> codeChild = new ArrayList<>();
         codeChild.add("X1");
         codeChild.add("X2");
@@ -2,17 +2,24 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.local_search.acceptation_type.AcceptType;
 import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
+import es.ull.esit.app.local_search.acceptation_type.AcceptBest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.InvocationTargetException;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class FactoryAcceptCandidateTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createAcceptCandidateShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -22,6 +29,7 @@ class FactoryAcceptCandidateTest {
 
         // Usamos cualquier valor del enum (por ejemplo, el primero)
         AcceptType type = AcceptType.values()[0];
+        FactoryRegistry.unregister(type);
 
         // IMPORTANTE: mismo paquete que usa FactoryAcceptCandidate
         String expectedClassName =
@@ -41,5 +49,20 @@ class FactoryAcceptCandidateTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
-}
 
+    @Test
+    void createAcceptCandidateShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactoryAcceptCandidate factory = new FactoryAcceptCandidate();
+        AcceptType type = AcceptType.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            AcceptableCandidate first = factory.createAcceptCandidate(type);
+            AcceptableCandidate second = factory.createAcceptCandidate(type);
+
+            assertTrue(first instanceof AcceptBest,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.local_search.candidate_type.CandidateType;
 import es.ull.esit.app.local_search.candidate_type.SearchCandidate;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +14,11 @@ import static org.mockito.Mockito.*;
 
 class FactoryCandidateTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createSearchCandidateShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +27,8 @@ class FactoryCandidateTest {
         FactoryCandidate factory = new FactoryCandidate();
 
         CandidateType type = CandidateType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "local_search.candidate_type." + type.toString();
 
         SearchCandidate expectedInstance = mock(SearchCandidate.class);
@@ -2,6 +2,8 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.Crossover;
 import es.ull.esit.app.evolutionary_algorithms.complement.CrossoverType;
+import es.ull.esit.app.evolutionary_algorithms.complement.OnePointCrossover;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +15,11 @@ import static org.mockito.Mockito.*;
 
 class FactoryCrossoverTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createCrossoverShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +28,8 @@ class FactoryCrossoverTest {
         FactoryCrossover factory = new FactoryCrossover();
 
         CrossoverType type = CrossoverType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         Crossover expectedInstance = mock(Crossover.class);
@@ -35,4 +44,20 @@ class FactoryCrossoverTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
+
+    @Test
+    void createCrossoverShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactoryCrossover factory = new FactoryCrossover();
+        CrossoverType type = CrossoverType.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            Crossover first = factory.createCrossover(type);
+            Crossover second = factory.createCrossover(type);
+
+            assertTrue(first instanceof OnePointCrossover,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.Sampling;
 import es.ull.esit.app.evolutionary_algorithms.complement.SamplingType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +14,11 @@ import static org.mockito.Mockito.*;
 
 class FactorySamplingTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createSamplingShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +27,8 @@ class FactorySamplingTest {
         FactorySampling factory = new FactorySampling();
 
         SamplingType type = SamplingType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         Sampling expectedInstance = mock(Sampling.class);
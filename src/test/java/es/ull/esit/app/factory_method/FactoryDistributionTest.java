@@ -2,6 +2,7 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.Distribution;
 import es.ull.esit.app.evolutionary_algorithms.complement.DistributionType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +14,11 @@ import static org.mockito.Mockito.*;
 
 class FactoryDistributionTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createDistributionShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +27,8 @@ class FactoryDistributionTest {
         FactoryDistribution factory = new FactoryDistribution();
 
         DistributionType type = DistributionType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         Distribution expectedInstance = mock(Distribution.class);
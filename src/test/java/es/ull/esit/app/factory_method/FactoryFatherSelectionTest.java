@@ -2,6 +2,8 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.FatherSelection;
 import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
+import es.ull.esit.app.evolutionary_algorithms.complement.RouletteSelection;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +15,11 @@ import static org.mockito.Mockito.*;
 
 class FactoryFatherSelectionTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createSelectFatherShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +28,8 @@ class FactoryFatherSelectionTest {
         FactoryFatherSelection factory = new FactoryFatherSelection();
 
         SelectionType type = SelectionType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         FatherSelection expectedInstance = mock(FatherSelection.class);
@@ -35,5 +44,20 @@ class FactoryFatherSelectionTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
-}
 
+    @Test
+    void createSelectFatherShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactoryFatherSelection factory = new FactoryFatherSelection();
+        SelectionType type = SelectionType.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            FatherSelection first = factory.createSelectFather(type);
+            FatherSelection second = factory.createSelectFather(type);
+
+            assertTrue(first instanceof RouletteSelection,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
+}
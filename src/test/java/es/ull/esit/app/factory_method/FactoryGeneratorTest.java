@@ -2,6 +2,7 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.metaheuristics.generators.Generator;
 import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -13,6 +14,11 @@ import static org.mockito.Mockito.*;
 
 class FactoryGeneratorTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createGeneratorShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +27,8 @@ class FactoryGeneratorTest {
         FactoryGenerator factory = new FactoryGenerator();
 
         GeneratorType type = GeneratorType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "metaheuristics.generators." + type.toString();
 
         Generator expectedInstance = mock(Generator.class);
@@ -2,17 +2,24 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.Mutation;
 import es.ull.esit.app.evolutionary_algorithms.complement.MutationType;
+import es.ull.esit.app.evolutionary_algorithms.complement.TowPointsMutation;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.InvocationTargetException;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class FactoryMutationTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createMutationShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +28,8 @@ class FactoryMutationTest {
         FactoryMutation factory = new FactoryMutation();
 
         MutationType type = MutationType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         Mutation expectedInstance = mock(Mutation.class);
@@ -35,5 +44,20 @@ class FactoryMutationTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
-}
 
+    @Test
+    void createMutationShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactoryMutation factory = new FactoryMutation();
+        MutationType type = MutationType.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            Mutation first = factory.createMutation(type);
+            Mutation second = factory.createMutation(type);
+
+            assertTrue(first instanceof TowPointsMutation,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package es.ull.esit.app.factory_method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.evolutionary_algorithms.complement.Crossover;
+import es.ull.esit.app.evolutionary_algorithms.complement.CrossoverType;
+import es.ull.esit.app.evolutionary_algorithms.complement.DistributionType;
+import es.ull.esit.app.evolutionary_algorithms.complement.MutationType;
+import es.ull.esit.app.evolutionary_algorithms.complement.ReplaceType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SamplingType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
+import es.ull.esit.app.local_search.acceptation_type.AcceptType;
+import es.ull.esit.app.local_search.candidate_type.CandidateType;
+import es.ull.esit.app.metaheuristics.generators.Generator;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.metaheuristics.generators.Particle;
+import es.ull.esit.app.problem.definition.State;
+import es.ull.esit.app.problem.extension.TypeSolutionMethod;
+
+class FactoryRegistryTest {
+
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
+    @Test
+    void everyStatelessComponentShouldBeRegistered() {
+        for (Enum<?>[] values : new Enum<?>[][] {AcceptType.values(), CrossoverType.values(),
+                MutationType.values(), ReplaceType.values(), SelectionType.values(),
+                DistributionType.values(), SamplingType.values(), CandidateType.values(),
+                TypeSolutionMethod.values()}) {
+            for (Enum<?> type : values) {
+                assertNotNull(FactoryRegistry.resolve(type),
+                        "Falta la implementación de " + type);
+            }
+        }
+    }
+
+    @Test
+    void everyImplementedGeneratorShouldBeRegistered() {
+        for (GeneratorType type : GeneratorType.values()) {
+            if (type == GeneratorType.StochasticHillClimbing || type == GeneratorType.HillClimbingDistance) {
+                // No tienen implementación en la librería.
+                assertFalse(FactoryRegistry.isRegistered(type));
+            } else {
+                assertTrue(FactoryRegistry.isRegistered(type), "Falta el generador " + type);
+            }
+        }
+    }
+
+    @Test
+    void registerShouldOverrideTheDefaultImplementation() throws Exception {
+        Crossover custom = new Crossover() {
+            @Override
+            public State crossover(State father1, State father2, double pc) {
+                return father1;
+            }
+        };
+        FactoryRegistry.registerShared(CrossoverType.UNIFORM_CROSSOVER, () -> custom);
+
+        assertSame(custom, new FactoryCrossover().createCrossover(CrossoverType.UNIFORM_CROSSOVER));
+
+        FactoryRegistry.reset();
+        assertNotSame(custom, new FactoryCrossover().createCrossover(CrossoverType.UNIFORM_CROSSOVER),
+                "reset debe restaurar la implementación de la librería");
+    }
+
+    @Test
+    void suppliersShouldCreateANewInstancePerRequest() throws Exception {
+        FactoryRegistry.register(GeneratorType.ParticleSwarmOptimization, Particle::new);
+
+        FactoryGenerator factory = new FactoryGenerator();
+        Generator first = factory.createGenerator(GeneratorType.ParticleSwarmOptimization);
+        Generator second = factory.createGenerator(GeneratorType.ParticleSwarmOptimization);
+
+        assertTrue(first instanceof Particle);
+        assertNotSame(first, second, "Los generadores tienen estado y no se comparten");
+
+        FactoryRegistry.unregister(GeneratorType.ParticleSwarmOptimization);
+        assertNull(FactoryRegistry.resolve(GeneratorType.ParticleSwarmOptimization));
+    }
+
+    @Test
+    void registerShouldRejectNullArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FactoryRegistry.register(null, Object::new));
+        assertThrows(IllegalArgumentException.class,
+                () -> FactoryRegistry.registerShared(AcceptType.AcceptBest, null));
+    }
+}
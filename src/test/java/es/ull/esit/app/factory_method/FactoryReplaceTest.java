@@ -2,17 +2,24 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.evolutionary_algorithms.complement.Replace;
 import es.ull.esit.app.evolutionary_algorithms.complement.ReplaceType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SteadyStateReplace;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.InvocationTargetException;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class FactoryReplaceTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createReplaceShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +28,8 @@ class FactoryReplaceTest {
         FactoryReplace factory = new FactoryReplace();
 
         ReplaceType type = ReplaceType.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "evolutionary_algorithms.complement." + type.toString();
 
         Replace expectedInstance = mock(Replace.class);
@@ -35,4 +44,20 @@ class FactoryReplaceTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
+
+    @Test
+    void createReplaceShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactoryReplace factory = new FactoryReplace();
+        ReplaceType type = ReplaceType.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            Replace first = factory.createReplace(type);
+            Replace second = factory.createReplace(type);
+
+            assertTrue(first instanceof SteadyStateReplace,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
 }
@@ -2,17 +2,24 @@ package es.ull.esit.app.factory_method;
 
 import es.ull.esit.app.problem.extension.SolutionMethod;
 import es.ull.esit.app.problem.extension.TypeSolutionMethod;
+import es.ull.esit.app.problem.extension.FactoresPonderados;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.InvocationTargetException;
 
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class FactorySolutionMethodTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     @Test
     void createdSolutionMethodShouldUseFactoryLoaderWithCorrectClassName()
             throws ClassNotFoundException, InvocationTargetException,
@@ -21,6 +28,8 @@ class FactorySolutionMethodTest {
         FactorySolutionMethod factory = new FactorySolutionMethod();
 
         TypeSolutionMethod type = TypeSolutionMethod.values()[0];
+
+        FactoryRegistry.unregister(type);
         String expectedClassName = "problem.extension." + type.toString();
 
         SolutionMethod expectedInstance = mock(SolutionMethod.class);
@@ -35,5 +44,20 @@ class FactorySolutionMethodTest {
             loaderStatic.verify(() -> FactoryLoader.getInstance(expectedClassName), times(1));
         }
     }
-}
 
+    @Test
+    void createdSolutionMethodShouldReuseRegisteredInstanceWithoutReflection() throws Exception {
+        FactorySolutionMethod factory = new FactorySolutionMethod();
+        TypeSolutionMethod type = TypeSolutionMethod.values()[0];
+
+        try (MockedStatic<FactoryLoader> loaderStatic = Mockito.mockStatic(FactoryLoader.class)) {
+            SolutionMethod first = factory.createdSolutionMethod(type);
+            SolutionMethod second = factory.createdSolutionMethod(type);
+
+            assertTrue(first instanceof FactoresPonderados,
+                    "El registro debe resolver la implementación de la constante");
+            assertSame(first, second, "Los componentes sin estado deben reutilizarse");
+            loaderStatic.verifyNoInteractions();
+        }
+    }
+}
@@ -3,12 +3,13 @@ package es.ull.esit.app.local_search.acceptation_type;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.lang.reflect.Field;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import java.util.Random;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -17,6 +18,8 @@ import org.mockito.Mockito;
 import es.ull.esit.app.metaheuristics.generators.Generator;
 import es.ull.esit.app.metaheuristics.generators.GeneratorType;
 import es.ull.esit.app.metaheuristics.generators.MultiCaseSimulatedAnnealing;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -42,16 +45,24 @@ class AcceptMulticaseTest {
     void setUp() throws Exception {
         acceptMulticase = new AcceptMulticase();
 
-        // Inject a deterministic Random into the private field "rdm"
-        Field rdmField = AcceptMulticase.class.getDeclaredField("rdm");
-        rdmField.setAccessible(true);
-        rdmField.set(acceptMulticase, new TestRandom());
+        // Make the current run draw from a deterministic Random
+        SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+            @Override
+            public RandomGenerator getGenerator() {
+                return new TestRandom();
+            }
+        });
 
         // Reasonable temperatures for MC-SA logic
         MultiCaseSimulatedAnnealing.setTinitial(1.0);
         MultiCaseSimulatedAnnealing.setTfinal(0.1);
     }
 
+    @AfterEach
+    void restoreRandom() {
+        SearchContext.current().setAttribute(RandomService.class, new RandomService());
+    }
+
     /** Helper: build an ArrayList<Double> (no List → avoids cast issues) */
     private ArrayList<Double> eval(double... values) {
         ArrayList<Double> list = new ArrayList<>();
@@ -0,0 +1,43 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrowdingTruncationTest {
+
+    @Test
+    void selectShouldReturnTheMostCrowdedInnerMember() {
+        CrowdingTruncation truncation = new CrowdingTruncation();
+        State a = new State();
+        State b = new State();
+        State c = new State();
+        State d = new State();
+
+        truncation.added(a, new float[] {0f, 10f});
+        truncation.added(b, new float[] {1f, 9f});
+        truncation.added(c, new float[] {2f, 8f});
+        truncation.added(d, new float[] {10f, 0f});
+
+        // b tiene a sus vecinos más cerca que c; los extremos nunca se eligen
+        assertSame(b, truncation.select());
+
+        truncation.removed(b, new float[] {1f, 9f});
+        assertSame(c, truncation.select());
+    }
+
+    @Test
+    void extremesShouldNeverBeSelected() {
+        CrowdingTruncation truncation = new CrowdingTruncation();
+        State a = new State();
+        State b = new State();
+
+        truncation.added(a, new float[] {0f, 1f});
+        truncation.added(b, new float[] {1f, 0f});
+
+        assertNotNull(truncation.select());
+        truncation.clear();
+        assertNull(truncation.select());
+    }
+}
@@ -2,6 +2,7 @@ package es.ull.esit.app.local_search.acceptation_type;
 
 import es.ull.esit.app.metaheuristics.generators.Generator;
 import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.metaheuristics.generators.MultiobjectiveHillClimbingDistance;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -19,6 +20,15 @@ import static org.mockito.Mockito.*;
 
 class DominanceTest {
 
+    // Helper para crear un estado con código [id] y la evaluación dada
+    private State state(int id, double... values) {
+        List<Object> code = new ArrayList<>();
+        code.add(id);
+        State state = new State(code);
+        state.setEvaluation(eval(values));
+        return state;
+    }
+
     // Helper para crear evaluaciones (IMPORTANTE: ArrayList<Double>)
     private ArrayList<Double> eval(double... values) {
         ArrayList<Double> list = new ArrayList<>();
@@ -34,18 +44,25 @@ class DominanceTest {
      * - Generator con un tipo cualquiera (no MultiobjectiveHillClimbingDistance)
      */
     private void prepareStrategy(Strategy strategyMock, ProblemType typeProblem) throws Exception {
+        // Elegimos un tipo distinto de MultiobjectiveHillClimbingDistance para
+        // no ejecutar distanceCalculateAdd en estos tests.
+        prepareStrategy(strategyMock, typeProblem, GeneratorType.DistributionEstimationAlgorithm);
+    }
+
+    /** Igual que el anterior, con el tipo de generador dado. */
+    private void prepareStrategy(Strategy strategyMock, ProblemType typeProblem, GeneratorType generatorType)
+            throws Exception {
         Problem problemMock = mock(Problem.class);
         when(strategyMock.getProblem()).thenReturn(problemMock);
         when(problemMock.getTypeProblem()).thenReturn(typeProblem);
 
         Generator generatorMock = mock(Generator.class);
-        // Elegimos un tipo distinto de MultiobjectiveHillClimbingDistance para
-        // no ejecutar distanceCalculateAdd en estos tests.
-        when(generatorMock.getType()).thenReturn(GeneratorType.DistributionEstimationAlgorithm);
+        when(generatorMock.getType()).thenReturn(generatorType);
 
         Field genField = Strategy.class.getDeclaredField("generator");
         genField.setAccessible(true);
         genField.set(strategyMock, generatorMock);
+        when(strategyMock.getGenerator()).thenReturn(generatorMock);
     }
 
     // ------------------- Tests de dominance(...) -------------------
@@ -235,4 +252,32 @@ class DominanceTest {
             assertSame(existing, list.get(0));
         }
     }
+
+    @Test
+    void listDominanceShouldOnlyRefreshDistancesWhenTheArchiveChanges() throws Exception {
+        Dominance dominance = new Dominance();
+        ParetoArchive archive = new ParetoArchive(ProblemType.MAXIMIZAR);
+
+        try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+            Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+            strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+
+            prepareStrategy(strategyMock, ProblemType.MAXIMIZAR, GeneratorType.MultiobjectiveHillClimbingDistance);
+
+            assertTrue(dominance.listDominance(state(1, 1.0, 4.0), archive));
+            assertTrue(dominance.listDominance(state(2, 4.0, 1.0), archive));
+            List<Double> distances = MultiobjectiveHillClimbingDistance.getDistanceSolution();
+            assertEquals(2, distances.size(), "Las distancias siguen al archivo");
+
+            assertFalse(dominance.listDominance(state(3, 0.5, 0.5), archive));
+            assertFalse(dominance.listDominance(state(1, 1.0, 4.0), archive));
+            assertSame(distances, MultiobjectiveHillClimbingDistance.getDistanceSolution(),
+                    "Si el archivo no cambia, las distancias no se recalculan");
+
+            assertTrue(dominance.listDominance(state(4, 3.0, 3.0), archive));
+            assertEquals(3, MultiobjectiveHillClimbingDistance.getDistanceSolution().size());
+        } finally {
+            MultiobjectiveHillClimbingDistance.setDistanceSolution(new ArrayList<>());
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridTruncationTest {
+
+    @Test
+    void selectShouldReturnTheLastMemberOfTheMostCrowdedCell() {
+        GridTruncation truncation = new GridTruncation(4);
+        State a = new State();
+        State b = new State();
+        State c = new State();
+        State d = new State();
+
+        truncation.added(a, new float[] {0f, 10f});
+        truncation.added(d, new float[] {10f, 0f});
+        truncation.added(b, new float[] {5f, 5f});
+        truncation.added(c, new float[] {5.5f, 5.2f});
+
+        assertEquals(2, truncation.crowding(b));
+        assertEquals(1, truncation.crowding(a));
+        assertSame(c, truncation.select());
+
+        truncation.removed(c, new float[] {5.5f, 5.2f});
+        assertEquals(1, truncation.crowding(b));
+        assertEquals(0, truncation.crowding(c));
+    }
+
+    @Test
+    void gridShouldAdaptWhenAPointFallsOutside() {
+        GridTruncation truncation = new GridTruncation(2);
+        State a = new State();
+        State b = new State();
+        State far = new State();
+
+        truncation.added(a, new float[] {0f, 1f});
+        truncation.added(b, new float[] {1f, 0f});
+        assertEquals(1, truncation.crowding(a));
+
+        // Con los nuevos límites a y b comparten celda
+        truncation.added(far, new float[] {100f, -100f});
+        assertEquals(2, truncation.crowding(a));
+        assertSame(b, truncation.select());
+    }
+
+    @Test
+    void constructorShouldRejectNonPositiveDivisions() {
+        assertThrows(IllegalArgumentException.class, () -> new GridTruncation(0));
+    }
+}
@@ -0,0 +1,47 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HypervolumeTruncationTest {
+
+    @Test
+    void selectShouldReturnTheSmallestExclusiveArea() {
+        HypervolumeTruncation truncation = new HypervolumeTruncation();
+        State a = new State();
+        State b = new State();
+        State c = new State();
+        State d = new State();
+
+        truncation.added(a, new float[] {0f, 10f});
+        // Área exclusiva de b: (4 - 1) * (10 - 5) = 15
+        truncation.added(b, new float[] {1f, 5f});
+        // Área exclusiva de c: (10 - 4) * (5 - 4) = 6
+        truncation.added(c, new float[] {4f, 4f});
+        truncation.added(d, new float[] {10f, 0f});
+
+        assertSame(c, truncation.select());
+
+        // Sin c, el área de b pasa a ser (10 - 1) * (10 - 5) = 45
+        truncation.removed(c, new float[] {4f, 4f});
+        assertSame(b, truncation.select());
+    }
+
+    @Test
+    void equalPointsShouldContributeNothing() {
+        HypervolumeTruncation truncation = new HypervolumeTruncation();
+        State a = new State();
+        State b = new State();
+        State c = new State();
+        State twin = new State();
+
+        truncation.added(a, new float[] {0f, 10f});
+        truncation.added(b, new float[] {5f, 5f});
+        truncation.added(twin, new float[] {5f, 5f});
+        truncation.added(c, new float[] {10f, 0f});
+
+        assertSame(b, truncation.select());
+    }
+}
@@ -0,0 +1,94 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NonDominatedSortingTest {
+
+    private State state(double... values) {
+        State state = new State();
+        ArrayList<Double> evaluation = new ArrayList<>();
+        for (double v : values) {
+            evaluation.add(v);
+        }
+        state.setEvaluation(evaluation);
+        return state;
+    }
+
+    // Frente de cada solución por definición: 1 + el mayor frente de las que la dominan
+    private int[] bruteForceRanks(List<State> states) {
+        int n = states.size();
+        int[] ranks = new int[n];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    float[] a = NonDominatedSorting.objectives(states.get(j), ProblemType.MINIMIZAR);
+                    float[] b = NonDominatedSorting.objectives(states.get(i), ProblemType.MINIMIZAR);
+                    if (NonDominatedSorting.dominates(a, b) && ranks[i] <= ranks[j]) {
+                        ranks[i] = ranks[j] + 1;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return ranks;
+    }
+
+    @Test
+    void sortShouldSplitSolutionsInFronts() {
+        State a = state(1.0, 4.0);
+        State b = state(4.0, 1.0);
+        State c = state(2.0, 5.0);
+        State d = state(5.0, 5.0);
+        List<List<State>> fronts = NonDominatedSorting.sort(List.of(d, c, b, a), ProblemType.MINIMIZAR);
+
+        assertEquals(3, fronts.size());
+        assertEquals(List.of(b, a), fronts.get(0));
+        assertEquals(List.of(c), fronts.get(1));
+        assertEquals(List.of(d), fronts.get(2));
+    }
+
+    @Test
+    void equalPointsShouldShareTheirFront() {
+        List<State> states = List.of(state(1.0, 1.0), state(1.0, 1.0), state(-0.0, 2.0), state(0.0, 2.0));
+        assertArrayEquals(new int[] {0, 0, 0, 0}, NonDominatedSorting.ranks(states, ProblemType.MINIMIZAR));
+    }
+
+    @Test
+    void maximizationShouldReverseTheFronts() {
+        State low = state(1.0, 1.0);
+        State high = state(2.0, 2.0);
+        assertEquals(List.of(high), NonDominatedSorting.firstFront(List.of(low, high), ProblemType.MAXIMIZAR));
+        assertEquals(List.of(low), NonDominatedSorting.firstFront(List.of(low, high), ProblemType.MINIMIZAR));
+    }
+
+    @Test
+    void ranksShouldMatchBruteForce() {
+        for (int objectives = 2; objectives <= 4; objectives++) {
+            Random random = new Random(objectives);
+            List<State> states = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                double[] values = new double[objectives];
+                for (int j = 0; j < objectives; j++) {
+                    values[j] = random.nextInt(10);
+                }
+                states.add(state(values));
+            }
+            assertArrayEquals(bruteForceRanks(states), NonDominatedSorting.ranks(states, ProblemType.MINIMIZAR));
+        }
+    }
+
+    @Test
+    void emptyListShouldHaveNoFronts() {
+        assertTrue(NonDominatedSorting.sort(new ArrayList<>(), ProblemType.MINIMIZAR).isEmpty());
+    }
+}
@@ -0,0 +1,222 @@
+package es.ull.esit.app.local_search.acceptation_type;
+
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParetoArchiveTest {
+
+    // Helper para crear un estado con código [id] y la evaluación dada
+    private State state(int id, double... values) {
+        List<Object> code = new ArrayList<>();
+        code.add(id);
+        State state = new State(code);
+        ArrayList<Double> evaluation = new ArrayList<>();
+        for (double v : values) {
+            evaluation.add(v);
+        }
+        state.setEvaluation(evaluation);
+        return state;
+    }
+
+    // Dominancia por fuerza bruta, minimizando
+    private boolean dominates(State a, State b) {
+        boolean better = false;
+        for (int i = 0; i < a.getEvaluation().size(); i++) {
+            float x = a.getEvaluation().get(i).floatValue();
+            float y = b.getEvaluation().get(i).floatValue();
+            if (x > y) {
+                return false;
+            }
+            if (x < y) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    @Test
+    void offerShouldRejectDominatedAndRemoveDominatedMembers() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+
+        assertTrue(archive.offer(state(1, 1.0, 4.0)));
+        assertTrue(archive.offer(state(2, 4.0, 1.0)));
+        assertFalse(archive.offer(state(3, 5.0, 5.0)), "Una solución dominada no debe añadirse");
+        assertEquals(2, archive.size());
+
+        assertTrue(archive.offer(state(4, 0.5, 0.5)));
+        assertEquals(1, archive.size(), "La nueva solución domina a todo el archivo");
+        assertEquals(4, archive.get(0).getCode().get(0));
+    }
+
+    @Test
+    void offerShouldStoreCopiesAndRejectDuplicatedCodes() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+        State original = state(1, 1.0, 2.0);
+
+        assertTrue(archive.offer(original));
+        assertNotSame(original, archive.get(0));
+        assertFalse(archive.offer(state(1, 1.0, 2.0)), "No se admiten dos soluciones con el mismo código");
+        assertTrue(archive.offer(state(2, 1.0, 2.0)), "Se admiten puntos iguales con códigos distintos");
+        assertEquals(2, archive.size());
+    }
+
+    @Test
+    void maximizationShouldReverseDominance() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MAXIMIZAR);
+
+        assertTrue(archive.offer(state(1, 1.0, 1.0)));
+        assertTrue(archive.offer(state(2, 2.0, 2.0)));
+        assertEquals(1, archive.size());
+        assertTrue(archive.isDominated(state(3, 1.5, 2.0)));
+        assertFalse(archive.isDominated(state(4, 3.0, 0.0)));
+    }
+
+    @Test
+    void queriesShouldMatchBruteForceForTwoAndThreeObjectives() {
+        for (int objectives = 2; objectives <= 3; objectives++) {
+            Random random = new Random(objectives);
+            ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+            List<State> expected = new ArrayList<>();
+
+            for (int i = 0; i < 400; i++) {
+                double[] values = new double[objectives];
+                for (int j = 0; j < objectives; j++) {
+                    values[j] = random.nextInt(30);
+                }
+                State candidate = state(i, values);
+
+                int rank = 0;
+                int dominated = 0;
+                for (State member : expected) {
+                    rank += dominates(member, candidate) ? 1 : 0;
+                    dominated += dominates(candidate, member) ? 1 : 0;
+                }
+                assertEquals(rank, archive.dominanceRank(candidate));
+                assertEquals(dominated, archive.dominatedCount(candidate));
+
+                boolean added = archive.offer(candidate);
+                assertEquals(rank == 0, added);
+                if (added) {
+                    expected.removeIf(member -> dominates(candidate, member));
+                    expected.add(candidate);
+                }
+                assertEquals(expected.size(), archive.size());
+            }
+        }
+    }
+
+    @Test
+    void rawAddBreakingDominanceShouldFallBackToLinearScans() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+        archive.add(state(1, 1.0, 1.0));
+        archive.add(state(2, 2.0, 2.0));
+
+        assertEquals(2, archive.dominanceRank(state(3, 3.0, 3.0)));
+        assertEquals(2, archive.dominatedCount(state(4, 0.0, 0.0)));
+
+        assertTrue(archive.offer(state(5, 0.0, 0.0)));
+        assertEquals(1, archive.size());
+        archive.clear();
+        assertTrue(archive.isEmpty());
+        assertTrue(archive.offer(state(6, 1.0, 1.0)));
+    }
+
+    @Test
+    void offerAllShouldOnlyAddTheFirstFrontOfTheBatch() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+        List<State> batch = List.of(state(1, 1.0, 3.0), state(2, 3.0, 1.0), state(3, 4.0, 4.0), state(4, 2.0, 2.0));
+
+        assertEquals(3, archive.offerAll(batch));
+        assertEquals(3, archive.size());
+    }
+
+    @Test
+    void defaultArchiveShouldFollowTheProblemOfTheStrategy() {
+        try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+            Strategy strategyMock = mock(Strategy.class);
+            Problem problemMock = mock(Problem.class);
+            strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+            when(strategyMock.getProblem()).thenReturn(problemMock);
+            when(problemMock.getTypeProblem()).thenReturn(ProblemType.MINIMIZAR);
+
+            ParetoArchive archive = new ParetoArchive();
+            archive.offer(state(1, 1.0, 1.0));
+            assertTrue(archive.isDominated(state(2, 2.0, 2.0)));
+
+            when(problemMock.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+            assertFalse(archive.isDominated(state(2, 2.0, 2.0)));
+            assertTrue(archive.isDominated(state(3, 0.0, 0.0)));
+        }
+    }
+
+    @Test
+    void boundedArchiveShouldKeepItsCapacity() {
+        for (TruncationType type : TruncationType.values()) {
+            ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR, 10,
+                    type == TruncationType.GridTruncation ? new GridTruncation()
+                            : type == TruncationType.HypervolumeTruncation ? new HypervolumeTruncation()
+                            : new CrowdingTruncation());
+            for (int i = 0; i < 100; i++) {
+                archive.offer(state(i, i, 99 - i));
+                assertTrue(archive.size() <= 10, "El archivo no debe superar su capacidad con " + type);
+            }
+            assertEquals(10, archive.size());
+            assertEquals(10, archive.getCapacity());
+            assertFalse(archive.isDominated(state(1000, 49.5, 49.5)));
+        }
+    }
+
+    @Test
+    void boundedArchiveShouldKeepTheExtremesWithCrowding() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR, 3, new CrowdingTruncation());
+        archive.offer(state(1, 0.0, 10.0));
+        archive.offer(state(2, 10.0, 0.0));
+        archive.offer(state(3, 5.0, 5.0));
+
+        assertFalse(archive.offer(state(4, 5.5, 4.5)), "La candidata más apiñada debe descartarse");
+        assertEquals(3, archive.size());
+        assertEquals(1, archive.get(0).getCode().get(0));
+        assertEquals(2, archive.get(1).getCode().get(0));
+    }
+
+    @Test
+    void constructorShouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ParetoArchive(ProblemType.MINIMIZAR, 0, new CrowdingTruncation()));
+        assertThrows(IllegalArgumentException.class, () -> new ParetoArchive(ProblemType.MINIMIZAR, 5, null));
+    }
+
+    @Test
+    void trackedDistancesShouldFollowInsertionsAndRemovals() {
+        ParetoArchive archive = new ParetoArchive(ProblemType.MINIMIZAR);
+        archive.offer(state(0, 0.0, 10.0));
+        archive.offer(state(4, 10.0, 0.0));
+        assertEquals(List.of(1.0, 1.0), archive.getDistances());
+
+        archive.offer(state(1, 5.0, 5.0));
+        assertEquals(List.of(2.0, 2.0, 2.0), archive.getDistances());
+
+        // (1, 1) domina a (5, 5), que sale del archivo
+        archive.offer(state(2, 1.0, 1.0));
+        assertEquals(3, archive.size());
+        List<Double> distances = archive.getDistances();
+        for (int i = 0; i < archive.size(); i++) {
+            double expected = 0;
+            for (int j = 0; j < archive.size(); j++) {
+                expected += archive.get(i).distance(archive.get(j));
+            }
+            assertEquals(expected, distances.get(i), 1e-9);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package es.ull.esit.app.local_search.candidate_type;
 
 import es.ull.esit.app.factory_method.FactoryLoader;
+import es.ull.esit.app.factory_method.FactoryRegistry;
 import es.ull.esit.app.local_search.complement.StrategyType;
 import es.ull.esit.app.local_search.complement.TabuSolutions;
 import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -17,6 +19,11 @@ import static org.mockito.Mockito.*;
 
 class CandidateValueTest {
 
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
     /**
      * Testea que newSearchCandidate use la Factory internamente y devuelva
      * la instancia de SearchCandidate que recibimos de FactoryLoader.
@@ -31,6 +38,7 @@ class CandidateValueTest {
 
         // Cogemos cualquier CandidateType existente sin asumir el nombre
         CandidateType type = CandidateType.values()[0];
+        FactoryRegistry.unregister(type);
 
         // Preparamos el SearchCandidate que queremos que devuelva la factoría
         SearchCandidate expectedSearchCandidate = mock(SearchCandidate.class);
@@ -132,4 +140,13 @@ class CandidateValueTest {
         assertSame(tabu, candidateValue.getTabusolution(),
                 "getTabusolution debe devolver exactamente la instancia seteada");
     }
+
+    @Test
+    void evaluatesNeighborhoodShouldBeFalseOnlyForRandomCandidates() {
+        assertTrue(CandidateValue.evaluatesNeighborhood(CandidateType.GreaterCandidate));
+        assertTrue(CandidateValue.evaluatesNeighborhood(CandidateType.SmallerCandidate));
+        assertTrue(CandidateValue.evaluatesNeighborhood(CandidateType.NotDominatedCandidate));
+        assertFalse(CandidateValue.evaluatesNeighborhood(CandidateType.RandomCandidate));
+        assertFalse(CandidateValue.evaluatesNeighborhood(null));
+    }
 }
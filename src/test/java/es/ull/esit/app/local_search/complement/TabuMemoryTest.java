@@ -0,0 +1,152 @@
+package es.ull.esit.app.local_search.complement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.problem.definition.BitState;
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.Move;
+import es.ull.esit.app.problem.definition.State;
+
+class TabuMemoryTest {
+
+    @Test
+    void offerShouldEvictTheOldestSolutionWhenFull() {
+        TabuMemory memory = new TabuMemory();
+        State first = new IntState(new int[] {1});
+        State second = new IntState(new int[] {2});
+        State third = new IntState(new int[] {3});
+
+        memory.offer(first, 2);
+        memory.offer(second, 2);
+        memory.offer(third, 2);
+
+        assertEquals(List.of(second, third), memory, "Debe descartarse la solución más antigua");
+        assertFalse(memory.isTabu(new IntState(new int[] {1})), "La solución descartada ya no es tabu");
+        assertTrue(memory.isTabu(new IntState(new int[] {3})), "Las soluciones con el mismo código son tabu");
+    }
+
+    @Test
+    void offerShouldNotDuplicateSolutions() {
+        TabuMemory memory = new TabuMemory();
+
+        memory.offer(new IntState(new int[] {4, 2}), 10);
+        memory.offer(new IntState(new int[] {4, 2}), 10);
+
+        assertEquals(1, memory.size(), "Una solución ya tabu no debe añadirse de nuevo");
+    }
+
+    @Test
+    void ringBufferShouldKeepTheOrderWhenGrowing() {
+        TabuMemory memory = new TabuMemory();
+        List<State> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            State state = new IntState(new int[] {i});
+            expected.add(state);
+            memory.offer(state, 40);
+        }
+
+        assertEquals(expected.subList(10, 50), memory, "Deben quedar las 40 soluciones más recientes en orden");
+        memory.remove(5);
+        assertFalse(memory.isTabu(expected.get(15)), "La solución eliminada no debe seguir indexada");
+        assertTrue(memory.isTabu(expected.get(16)), "El resto de soluciones deben seguir indexadas");
+    }
+
+    @Test
+    void cachedFingerprintShouldFollowTheChangesOfTheCode() {
+        IntState state = new IntState(new int[] {1, 2, 3});
+        long initial = state.fingerprint();
+
+        state.setInt(1, 7);
+        assertEquals(new IntState(new int[] {1, 7, 3}).fingerprint(), state.fingerprint(),
+                "El fingerprint debe actualizarse al cambiar un valor");
+        state.getCode().set(1, 2);
+        assertEquals(initial, state.fingerprint(), "Volver al código original debe restaurar el fingerprint");
+        assertEquals(new State(new ArrayList<>(List.of(1, 2, 3))).fingerprint(), initial,
+                "Los estados genéricos con el mismo código deben tener el mismo fingerprint");
+
+        BitState bits = new BitState(new boolean[] {true, false});
+        long bitsInitial = bits.fingerprint();
+        bits.flip(1);
+        bits.setBit(1, false);
+        assertEquals(bitsInitial, bits.fingerprint(), "flip y setBit deben mantener el fingerprint");
+    }
+
+    @Test
+    void movesShouldStayTabuDuringTheTenure() {
+        TabuMemory memory = new TabuMemory();
+        memory.setTenure(2);
+        State start = new IntState(new int[] {0, 0});
+        State moved = new IntState(new int[] {1, 0});
+        State back = new IntState(new int[] {0, 0});
+
+        memory.recordMove(start, moved);
+        assertTrue(memory.isMoveTabu(moved, back), "Deshacer el movimiento debe ser tabu");
+        assertFalse(memory.isMoveTabu(moved, new IntState(new int[] {1, 1})), "Otros movimientos no son tabu");
+
+        memory.recordMove(moved, new IntState(new int[] {1, 1}));
+        memory.recordMove(new IntState(new int[] {1, 1}), moved);
+        assertFalse(memory.isMoveTabu(moved, back), "Tras la permanencia el movimiento deja de ser tabu");
+        assertThrows(IllegalArgumentException.class, () -> memory.setTenure(-1));
+    }
+
+    @Test
+    void movesCarriedByTheNeighbourShouldOnlyLookAtTheChangedVariable() {
+        TabuMemory memory = new TabuMemory();
+        memory.setTenure(2);
+        State start = new IntState(new int[] {0, 0, 0});
+        start.setEvaluation(new ArrayList<>(List.of(1.0)));
+        // El resto del código no se compara: solo cuenta la variable del movimiento.
+        State moved = new IntState(new int[] {1, 0, 7});
+        moved.setMove(new Move(0, 0, 1, start.getEvaluation()));
+
+        memory.recordMove(start, moved);
+
+        moved.setEvaluation(new ArrayList<>(List.of(2.0)));
+        State back = new IntState(new int[] {0, 0, 7});
+        back.setMove(new Move(0, 1, 0, moved.getEvaluation()));
+        State other = new IntState(new int[] {1, 0, 0});
+        other.setMove(new Move(2, 7, 0, moved.getEvaluation()));
+        assertTrue(memory.isMoveTabu(moved, back), "Deshacer el movimiento debe ser tabu");
+        assertFalse(memory.isMoveTabu(moved, other), "Solo la variable cambiada queda tabu");
+
+        State unrelated = new IntState(new int[] {0, 0, 7});
+        unrelated.setMove(new Move(0, 1, 0, List.of(5.0)));
+        assertTrue(memory.isMoveTabu(moved, unrelated),
+                "Un movimiento de otro padre se comprueba comparando los códigos");
+    }
+
+    @Test
+    void checkpointShouldRestoreSolutionsAndTabuMoves() throws Exception {
+        TabuMemory memory = new TabuMemory();
+        memory.setTenure(3);
+        memory.offer(new IntState(new int[] {1, 2}), 10);
+        memory.offer(new IntState(new int[] {3, 4}), 10);
+        memory.recordMove(new IntState(new int[] {1, 2}), new IntState(new int[] {5, 2}));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+            memory.writeCheckpoint(out);
+        }
+        TabuMemory restored = new TabuMemory();
+        restored.offer(new IntState(new int[] {9}), 10);
+        try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored.readCheckpoint(in);
+        }
+
+        assertEquals(2, restored.size());
+        assertEquals(3, restored.getTenure());
+        assertFalse(restored.isTabu(new IntState(new int[] {9})), "El contenido anterior debe descartarse");
+        assertTrue(restored.isTabu(new IntState(new int[] {3, 4})));
+        assertTrue(restored.isMoveTabu(new IntState(new int[] {5, 2}), new IntState(new int[] {1, 2})),
+                "Los movimientos tabu deben conservarse");
+    }
+}
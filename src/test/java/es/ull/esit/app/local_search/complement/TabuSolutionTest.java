@@ -1,5 +1,6 @@
 package es.ull.esit.app.local_search.complement;
 
+import es.ull.esit.app.problem.definition.IntState;
 import es.ull.esit.app.problem.definition.State;
 import org.junit.jupiter.api.Test;
 
@@ -39,8 +40,8 @@ class TabuSolutionsTest {
 
         TabuSolutions tabuSolutions = new TabuSolutions();
 
-        State tabu = new State();
-        State allowed = new State();
+        State tabu = new State(new ArrayList<>(List.of(1, 2)));
+        State allowed = new State(new ArrayList<>(List.of(2, 1)));
 
         // El mismo objeto "tabu" está en la lista tabu y en el vecindario
         TabuSolutions.getListTabu().add(tabu);
@@ -55,6 +56,46 @@ class TabuSolutionsTest {
         assertSame(allowed, result.get(0));
     }
 
+    @Test
+    void filterNeighborhoodShouldRemoveStatesWithTheSameCodeAsATabuState() {
+        TabuSolutions.getListTabu().clear();
+
+        TabuSolutions tabuSolutions = new TabuSolutions();
+        TabuSolutions.getListTabu().add(new IntState(new int[] {1, 2, 3}));
+
+        State sameCode = new IntState(new int[] {1, 2, 3});
+        State other = new IntState(new int[] {3, 2, 1});
+        List<State> neighborhood = new ArrayList<>(List.of(sameCode, other));
+
+        List<State> result = tabuSolutions.filterNeighborhood(neighborhood);
+
+        assertEquals(List.of(other), result, "Un estado con el mismo código que uno tabu también es tabu");
+    }
+
+    @Test
+    void filterNeighborhoodShouldRemoveTabuMovesFromTheReference() {
+        TabuMemory memory = TabuSolutions.getListTabu();
+        memory.clear();
+        memory.setTenure(3);
+        try {
+            TabuSolutions tabuSolutions = new TabuSolutions();
+            State before = new IntState(new int[] {0, 0});
+            State reference = new IntState(new int[] {1, 0});
+            memory.recordMove(before, reference);
+
+            State back = new IntState(new int[] {0, 5});
+            State forward = new IntState(new int[] {1, 5});
+            List<State> neighborhood = new ArrayList<>(List.of(back, forward));
+
+            List<State> result = tabuSolutions.filterNeighborhood(reference, neighborhood);
+
+            assertEquals(List.of(forward), result, "Devolver una variable a su valor anterior debe ser tabu");
+        } finally {
+            memory.setTenure(0);
+            memory.clear();
+        }
+    }
+
     @Test
     void filterNeighborhoodShouldThrowWhenAllStatesAreTabu() {
         TabuSolutions.getListTabu().clear();
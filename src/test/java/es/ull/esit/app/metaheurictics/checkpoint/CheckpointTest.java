@@ -0,0 +1,102 @@
+package es.ull.esit.app.metaheurictics.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.IntState;
+import es.ull.esit.app.problem.definition.State;
+
+class CheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    private static State state(double evaluation, Object... code) {
+        State state = new State(new ArrayList<>(List.of(code)));
+        state.setEvaluation(new ArrayList<>(List.of(evaluation)));
+        state.setTypeGenerator(GeneratorType.HillClimbing);
+        return state;
+    }
+
+    @Test
+    void statesShouldKeepTheirValuesAndSharing() throws IOException {
+        State first = state(2.5, 1, 2L, 3.0, "a", true);
+        State shared = new State(first);
+        IntState compact = new IntState(new int[] {4, 5, 6});
+        List<State> list = new ArrayList<>(List.of(first, compact));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+            out.writeState(first);
+            out.writeState(shared);
+            out.writeStates(list);
+            out.writeStates(list);
+            out.writeStates(null);
+            out.writeGeneratorType(null);
+            out.writeNullableDouble(1.5);
+            out.writeInts(new int[] {7, 8});
+        }
+
+        try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            State readFirst = in.readState();
+            State readShared = in.readState();
+            List<State> readList = in.readStates();
+
+            assertEquals(first.getCode(), readFirst.getCode());
+            assertEquals(first.getEvaluation(), readFirst.getEvaluation());
+            assertEquals(GeneratorType.HillClimbing, readFirst.getTypeGenerator());
+            assertNotSame(readFirst, readShared);
+            assertEquals(readFirst.getEvaluation(), readShared.getEvaluation());
+            assertSame(readFirst, readList.get(0), "Los estados repetidos deben ser el mismo objeto");
+            assertInstanceOf(IntState.class, readList.get(1));
+            assertEquals(compact.getCode(), readList.get(1).getCode());
+            assertSame(readList, in.readStates(), "Las listas repetidas deben ser la misma lista");
+            assertNull(in.readStates());
+            assertNull(in.readGeneratorType());
+            assertEquals(1.5, in.readNullableDouble());
+            int[] target = new int[2];
+            in.readInts(target);
+            assertArrayEquals(new int[] {7, 8}, target);
+        }
+    }
+
+    @Test
+    void unsupportedValuesShouldBeRejected() {
+        State state = new State(new ArrayList<>(List.of(new Object())));
+        CheckpointOutput out = new CheckpointOutput(new ByteArrayOutputStream());
+
+        assertThrows(IllegalArgumentException.class, () -> out.writeState(state));
+    }
+
+    @Test
+    void saveShouldReplaceTheFileAndOpenShouldCheckIt() throws IOException {
+        Path file = directory.resolve("run.ckp");
+
+        Checkpoint.save(file, out -> out.writeInt(1));
+        Checkpoint.save(file, out -> out.writeInt(2));
+
+        try (CheckpointInput in = Checkpoint.open(file)) {
+            assertEquals(2, in.readInt(), "Debe leerse el último punto de control");
+        }
+        assertFalse(Files.exists(directory.resolve("run.ckp.tmp")));
+
+        Path other = directory.resolve("other.ckp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(other))) {
+            out.writeInt(0x12345678);
+        }
+        assertThrows(StreamCorruptedException.class, () -> Checkpoint.open(other));
+    }
+}
@@ -0,0 +1,156 @@
+package es.ull.esit.app.metaheurictics.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.State;
+
+class IterationHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    private static State state(double evaluation, Object... code) {
+        State state = new State(new ArrayList<>(List.of(code)));
+        state.setEvaluation(new ArrayList<>(List.of(evaluation)));
+        return state;
+    }
+
+    @ParameterizedTest
+    @EnumSource(HistoryStorage.class)
+    void columnsShouldKeepEveryIteration(HistoryStorage storage) {
+        // Bloques pequeños para que las columnas ocupen varios
+        try (IterationHistory history = new IterationHistory(storage, directory, false, 32)) {
+            State best = state(0.0, 0);
+            for (int i = 0; i < 100; i++) {
+                history.record(i, (i % 2 == 0) ? GeneratorType.HillClimbing : null, List.of(i * 0.5), best);
+            }
+
+            assertEquals(100, history.size());
+            assertEquals(1, history.getObjectives());
+            assertEquals(37, history.getIteration(37));
+            assertEquals(GeneratorType.HillClimbing, history.getGenerator(36));
+            assertNull(history.getGenerator(37));
+            assertEquals(49.5, history.getEvaluation(99, 0), 0.0);
+            assertArrayEquals(new double[] {10.0}, history.getEvaluation(20), 0.0);
+        }
+    }
+
+    @Test
+    void mappedStorageShouldWriteItsFiles() {
+        try (IterationHistory history = new IterationHistory(HistoryStorage.MAPPED, directory, true)) {
+            history.record(0, GeneratorType.RandomSearch, List.of(1.0), state(1.0, 1));
+        }
+        assertTrue(Files.exists(directory.resolve("iterations.bin")));
+        assertTrue(Files.exists(directory.resolve("snapshots.bin")));
+    }
+
+    @Test
+    void mappedStorageShouldNeedADirectory() {
+        assertThrows(IllegalArgumentException.class, () -> new IterationHistory(HistoryStorage.MAPPED, null, false));
+    }
+
+    @Test
+    void unchangedBestShouldTakeASingleRun() {
+        IterationHistory history = new IterationHistory();
+        State first = state(5.0, 1);
+        State second = state(8.0, 2);
+        for (int i = 0; i < 1000; i++) {
+            history.record(i, null, List.of(1.0), (i < 600) ? first : second);
+        }
+
+        assertEquals(2, history.getBestRuns());
+        assertArrayEquals(new double[] {5.0}, history.getBest(599), 0.0);
+        assertArrayEquals(new double[] {8.0}, history.getBest(600), 0.0);
+        assertArrayEquals(new double[] {8.0}, history.getBest(999), 0.0);
+    }
+
+    @Test
+    void bestShouldBeNullBeforeTheFirstOne() {
+        IterationHistory history = new IterationHistory();
+        history.record(0, null, List.of(1.0), null);
+        history.record(1, null, List.of(2.0), state(2.0, 1));
+
+        assertNull(history.getBest(0));
+        assertArrayEquals(new double[] {2.0}, history.getBest(1), 0.0);
+    }
+
+    @Test
+    void snapshotsShouldRebuildTheBestSolutions() {
+        IterationHistory history = new IterationHistory(HistoryStorage.HEAP, null, true, 64);
+        List<List<Object>> codes = new ArrayList<>();
+        State best = null;
+        // Más mejoras que el intervalo entre fotos completas
+        for (int i = 0; i < 3 * IterationHistory.KEYFRAME_INTERVAL; i++) {
+            if (i % 2 == 0) {
+                best = state(i, i, i % 5, true, 0.25 * i);
+            }
+            codes.add(best.getCode());
+            history.record(i, GeneratorType.HillClimbing, List.of((double) i), best);
+        }
+
+        assertEquals(3 * IterationHistory.KEYFRAME_INTERVAL / 2, history.getSnapshots());
+        for (int row = 0; row < history.size(); row++) {
+            assertEquals(codes.get(row), history.getBestCode(row), "fila " + row);
+        }
+        State rebuilt = history.getBestSolution(11);
+        assertEquals(codes.get(11), rebuilt.getCode());
+        assertEquals(List.of(10.0), rebuilt.getEvaluation());
+    }
+
+    @Test
+    void snapshotsShouldFollowChangesOfLength() {
+        IterationHistory history = new IterationHistory(HistoryStorage.DIRECT, null, true);
+        history.record(0, null, List.of(1.0), state(1.0, 1, 2));
+        history.record(1, null, List.of(2.0), state(2.0, 1, 2, 3));
+
+        assertEquals(List.of(1, 2), history.getBestCode(0));
+        assertEquals(List.of(1, 2, 3), history.getBestCode(1));
+    }
+
+    @Test
+    void equalCodesShouldNotTakeNewSnapshots() {
+        IterationHistory history = new IterationHistory(HistoryStorage.HEAP, null, true);
+        history.record(0, null, List.of(1.0), state(1.0, 7L));
+        history.record(1, null, List.of(1.0), state(1.0, 7L));
+
+        assertEquals(1, history.getSnapshots());
+        assertEquals(List.of(7L), history.getBestCode(1));
+    }
+
+    @Test
+    void snapshotsShouldRejectCodesThatAreNotNumbers() {
+        IterationHistory history = new IterationHistory(HistoryStorage.HEAP, null, true);
+        State best = state(1.0, "a");
+        assertThrows(IllegalArgumentException.class, () -> history.record(0, null, List.of(1.0), best));
+    }
+
+    @Test
+    void withoutSnapshotsTheCodeIsNotKept() {
+        IterationHistory history = new IterationHistory();
+        history.record(0, null, List.of(1.0), state(1.0, 1));
+
+        assertNull(history.getBestCode(0));
+        assertNull(history.getBestSolution(0));
+    }
+
+    @Test
+    void evaluationsShouldKeepTheirNumberOfObjectives() {
+        IterationHistory history = new IterationHistory();
+        history.record(0, null, List.of(1.0, 2.0), null);
+
+        assertThrows(IllegalArgumentException.class, () -> history.record(1, null, List.of(1.0), null));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getIteration(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getEvaluation(0, 2));
+    }
+}
@@ -0,0 +1,218 @@
+package es.ull.esit.app.metaheurictics.island;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.factory_method.FactoryRegistry;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheuristics.generators.GeneticAlgorithm;
+import es.ull.esit.app.metaheuristics.generators.Generator;
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Operator;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+
+class IslandModelTest {
+
+    @AfterEach
+    void restoreRegistry() {
+        FactoryRegistry.reset();
+    }
+
+    /** Problema cuyo valor es el único gen del estado, elegido al azar entre 0 y 999. */
+    private static Problem problem() {
+        Problem problem = new Problem();
+        problem.setTypeProblem(ProblemType.MAXIMIZAR);
+        ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+        functions.add(new ObjetiveFunction() {
+            @Override
+            public Double evaluation(State state) {
+                return ((Integer) state.getValue(0)).doubleValue();
+            }
+        });
+        problem.setFunction(functions);
+        problem.setOperator(new Operator() {
+            @Override
+            public List<State> generatedNewState(State stateCurrent, Integer operatornumber) {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<State> generateRandomState(Integer operatornumber) {
+                List<State> states = new ArrayList<>();
+                for (int i = 0; i < operatornumber; i++) {
+                    int value = RandomService.current().getGenerator().nextInt(1000);
+                    states.add(new State(new ArrayList<>(List.of(value))));
+                }
+                return states;
+            }
+        });
+        return problem;
+    }
+
+    /** Generador con población propia cuyos hijos nunca mejoran, así solo la migración propaga el mejor. */
+    private static Generator populationGenerator() {
+        List<State> population = new ArrayList<>();
+        Generator generator = mock(Generator.class);
+        when(generator.getPopulation()).thenReturn(population);
+        try {
+            when(generator.generate(anyInt())).thenAnswer(inv -> new State(new ArrayList<>(List.of(-1))));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return generator;
+    }
+
+    private static double value(State state) {
+        return state.getEvaluation().get(0);
+    }
+
+    @Test
+    void topologiesShouldConnectTheExpectedIslands() {
+        assertArrayEquals(new int[] {0}, IslandTopology.RING.neighbours(3, 4));
+        assertArrayEquals(new int[0], IslandTopology.RING.neighbours(0, 1));
+        assertArrayEquals(new int[] {0, 2, 3}, IslandTopology.FULLY_CONNECTED.neighbours(1, 4));
+        // Rejilla de 2 x 3: arriba y abajo son la misma isla
+        assertArrayEquals(new int[] {1, 2, 3}, IslandTopology.TORUS.neighbours(0, 6));
+        assertArrayEquals(new int[] {5, 3, 7, 1}, IslandTopology.TORUS.neighbours(4, 9));
+        assertEquals(3, IslandTopology.rows(12));
+        assertEquals(1, IslandTopology.rows(7));
+    }
+
+    @Test
+    void synchronousMigrationShouldSpreadTheBestAroundTheRing() throws Exception {
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, IslandModelTest::populationGenerator);
+        IslandModel model = new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 4);
+        model.setPopulationSize(5);
+        model.setMigrationInterval(5);
+        model.setSynchronous(true);
+
+        State best = new SearchContext().call(() -> {
+            RandomService.reseed(3L);
+            return model.run(30, 1);
+        });
+
+        // 5 migraciones de un individuo en cada una de las 4 islas
+        assertEquals(20, model.getMigrantsReceived());
+        for (State islandBest : model.getIslandBestStates()) {
+            assertEquals(value(best), value(islandBest), 0.0,
+                    "Tras dar la vuelta al anillo todas las islas deben tener el mejor");
+        }
+    }
+
+    @Test
+    void synchronousRunsWithTheSameSeedShouldGiveTheSameResult() throws Exception {
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, IslandModelTest::populationGenerator);
+        IslandModel model = new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 3);
+        model.setMigrantSelection(MigrantSelection.RANDOM);
+        model.setMigrantReplacement(MigrantReplacement.RANDOM);
+        model.setSynchronous(true);
+
+        List<Double> first = new ArrayList<>();
+        List<Double> second = new ArrayList<>();
+        for (List<Double> values : List.of(first, second)) {
+            new SearchContext().call(() -> {
+                RandomService.reseed(11L);
+                return model.run(40, 1);
+            });
+            model.getIslandBestStates().forEach(state -> values.add(value(state)));
+        }
+
+        assertEquals(first, second, "Con la misma semilla cada isla debe acabar igual");
+    }
+
+    @Test
+    void asynchronousRunShouldReturnTheBestOfAllIslands() throws Exception {
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, IslandModelTest::populationGenerator);
+        IslandModel model = new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 6);
+        model.setTopology(IslandTopology.FULLY_CONNECTED);
+        model.setThreads(2);
+        model.setMigrants(2);
+
+        State best = model.run(50, 1);
+
+        assertEquals(6, model.getIslandBestStates().size());
+        for (State islandBest : model.getIslandBestStates()) {
+            assertTrue(value(best) >= value(islandBest));
+        }
+    }
+
+    @Test
+    void candidatesEvaluatedByTheGeneratorShouldNotBeEvaluatedAgain() throws Exception {
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, () -> {
+            Generator generator = populationGenerator();
+            when(generator.evaluatesCandidates()).thenReturn(true);
+            try {
+                when(generator.generate(anyInt())).thenAnswer(inv -> {
+                    State child = new State(new ArrayList<>(List.of(-1)));
+                    child.setEvaluation(new ArrayList<>(List.of(-1.0)));
+                    return child;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return generator;
+        });
+        AtomicInteger evaluations = new AtomicInteger();
+        Problem problem = problem();
+        ObjetiveFunction value = problem.getFunction().get(0);
+        problem.setFunction(new ArrayList<>(List.of(new ObjetiveFunction() {
+            @Override
+            public Double evaluation(State state) {
+                evaluations.incrementAndGet();
+                return value.evaluation(state);
+            }
+        })));
+        IslandModel model = new IslandModel(problem, GeneratorType.GeneticAlgorithm, 2);
+        model.setPopulationSize(5);
+
+        model.run(20, 1);
+
+        assertEquals(10, evaluations.get(), "Solo se evalúan las poblaciones iniciales");
+    }
+
+    @Test
+    void islandsShouldTakeTheSettingsOfTheRunThatCreatesThem() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, () -> {
+            synchronized (batchSizes) {
+                batchSizes.add(GeneticAlgorithm.getBatchSize());
+            }
+            return populationGenerator();
+        });
+        IslandModel model = new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 3);
+
+        new SearchContext().call(() -> {
+            GeneticAlgorithm.setBatchSize(4);
+            return model.run(10, 1);
+        });
+
+        assertEquals(List.of(4, 4, 4), batchSizes, "Cada isla debe heredar los ajustes de quien la crea");
+        assertEquals(1, GeneticAlgorithm.getBatchSize(), "Los ajustes de la ejecución no deben salir de su contexto");
+    }
+
+    @Test
+    void generatorsWithoutPopulationShouldBeRejected() {
+        // Mockito devolvería una lista vacía, no null
+        FactoryRegistry.register(GeneratorType.GeneticAlgorithm, () -> {
+            Generator generator = mock(Generator.class);
+            when(generator.getPopulation()).thenReturn(null);
+            return generator;
+        });
+        IslandModel model = new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> model.run(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new IslandModel(problem(), GeneratorType.GeneticAlgorithm, 0));
+        assertThrows(IllegalArgumentException.class, () -> model.setMigrationInterval(-1));
+    }
+}
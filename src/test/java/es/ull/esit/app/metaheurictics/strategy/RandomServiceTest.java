@@ -0,0 +1,119 @@
+package es.ull.esit.app.metaheurictics.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.local_search.candidate_type.RandomCandidate;
+import es.ull.esit.app.problem.definition.State;
+
+class RandomServiceTest {
+
+    private static double[] draw(RandomGenerator generator, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = generator.nextDouble();
+        }
+        return values;
+    }
+
+    @Test
+    void sameSeedShouldGiveTheSameSequence() {
+        RandomService first = new RandomService(42L);
+        RandomService second = new RandomService(42L);
+
+        assertEquals(42L, first.getSeed(), "La semilla debe conservarse");
+        assertArrayEquals(draw(first.getGenerator(), 20), draw(second.getGenerator(), 20),
+                "Con la misma semilla la secuencia debe repetirse");
+        assertFalse(Arrays.equals(draw(new RandomService(43L).getGenerator(), 20),
+                draw(new RandomService(42L).getGenerator(), 20)),
+                "Semillas distintas deben dar secuencias distintas");
+    }
+
+    @Test
+    void everyThreadShouldReceiveItsOwnGenerator() throws Exception {
+        RandomService service = new RandomService(7L);
+        RandomGenerator own = service.getGenerator();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RandomGenerator other = executor.submit(service::getGenerator).get(10, TimeUnit.SECONDS);
+
+            assertSame(own, service.getGenerator(), "Cada hilo debe reutilizar su generador");
+            assertNotSame(own, other, "Hilos distintos no deben compartir generador");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void streamsShouldOnlyDependOnSeedAndIdentifier() {
+        RandomService service = new RandomService(99L);
+
+        assertArrayEquals(draw(service.getStream(3), 10), draw(new RandomService(99L).getStream(3), 10),
+                "El mismo identificador debe dar el mismo flujo");
+        assertFalse(Arrays.equals(draw(service.getStream(3), 10), draw(service.getStream(4), 10)),
+                "Identificadores distintos deben dar flujos distintos");
+    }
+
+    @Test
+    void reseedShouldOnlyReplaceTheServiceOfTheCurrentContext() throws Exception {
+        RandomService global = RandomService.current();
+        SearchContext context = new SearchContext();
+
+        RandomService seeded = context.call(() -> RandomService.reseed(5L));
+
+        assertSame(seeded, context.call(RandomService::current), "reseed debe instalar el servicio");
+        assertSame(global, RandomService.current(), "El contexto global no debe cambiar");
+    }
+
+    @Test
+    void seededRunsShouldMakeTheSameChoices() throws Exception {
+        List<State> neighborhood = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            neighborhood.add(new State());
+        }
+        RandomCandidate candidate = new RandomCandidate();
+
+        List<State> first = new SearchContext().call(() -> {
+            RandomService.reseed(2024L);
+            List<State> chosen = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                chosen.add(candidate.stateSearch(neighborhood));
+            }
+            return chosen;
+        });
+        List<State> second = new SearchContext().call(() -> {
+            RandomService.reseed(2024L);
+            List<State> chosen = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                chosen.add(candidate.stateSearch(neighborhood));
+            }
+            return chosen;
+        });
+
+        assertEquals(first, second, "Dos ejecuciones con la misma semilla deben elegir igual");
+    }
+
+    @Test
+    void restoredStateShouldContinueTheSameSequence() {
+        RandomService service = new RandomService(7L);
+        draw(service.getGenerator(), 5);
+        long[] state = service.getState();
+        double[] expected = draw(service.getGenerator(), 20);
+
+        RandomService restored = new RandomService(99L);
+        restored.setState(state);
+
+        assertArrayEquals(expected, draw(restored.getGenerator(), 20),
+                "Tras restaurar el estado la secuencia debe continuar igual");
+        assertThrows(IllegalArgumentException.class, () -> restored.setState(new long[2]));
+    }
+}
@@ -0,0 +1,151 @@
+package es.ull.esit.app.metaheurictics.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.local_search.complement.TabuSolutions;
+import es.ull.esit.app.metaheuristics.generators.GeneticAlgorithm;
+import es.ull.esit.app.metaheuristics.generators.MultiGenerator;
+import es.ull.esit.app.metaheuristics.generators.ParticleSwarmOptimization;
+import es.ull.esit.app.metaheuristics.generators.RandomSearch;
+import es.ull.esit.app.problem.definition.State;
+
+class SearchContextTest {
+
+    @Test
+    void threadsWithoutContextShouldShareTheGlobalStrategy() {
+        assertSame(SearchContext.global(), SearchContext.current(),
+                "Sin contexto enlazado se debe usar el global");
+        assertSame(SearchContext.global().getStrategy(), Strategy.getStrategy(),
+                "La estrategia sin contexto debe ser la del contexto global");
+    }
+
+    @Test
+    void runShouldBindTheContextOnlyDuringTheTask() {
+        SearchContext context = new SearchContext();
+        Strategy[] inside = new Strategy[1];
+
+        context.run(() -> inside[0] = Strategy.getStrategy());
+
+        assertSame(context.getStrategy(), inside[0],
+                "Dentro de run se debe usar la estrategia del contexto");
+        assertNotSame(inside[0], Strategy.getStrategy(),
+                "Fuera de run se debe volver al contexto global");
+    }
+
+    @Test
+    void destroyExecuteShouldOnlyResetTheCurrentContext() {
+        SearchContext context = new SearchContext();
+        Strategy global = Strategy.getStrategy();
+        Strategy[] strategies = new Strategy[2];
+
+        context.run(() -> {
+            strategies[0] = Strategy.getStrategy();
+            Strategy.destroyExecute();
+            strategies[1] = Strategy.getStrategy();
+        });
+
+        assertNotSame(strategies[0], strategies[1],
+                "destroyExecute debe crear una estrategia nueva en el contexto");
+        assertSame(global, Strategy.getStrategy(),
+                "destroyExecute no debe afectar al contexto global");
+    }
+
+    @Test
+    void parallelRunsShouldKeepTheirStateIsolated() throws Exception {
+        int runs = 4;
+        int globalTabu = TabuSolutions.getListTabu().size();
+        CyclicBarrier barrier = new CyclicBarrier(runs);
+        ExecutorService executor = Executors.newFixedThreadPool(runs);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                SearchContext context = new SearchContext();
+                results.add(executor.submit(() -> context.call(() -> {
+                    State own = new State();
+                    Strategy strategy = Strategy.getStrategy();
+                    TabuSolutions.getListTabu().add(own);
+                    ParticleSwarmOptimization.setLBest(new State[] { own });
+                    ParticleSwarmOptimization.setGBest(own);
+                    MultiGenerator.setListStateReference(new ArrayList<>(List.of(own)));
+                    RandomSearch.setListStateReference(new ArrayList<>(List.of(own)));
+
+                    // Todas las ejecuciones escriben antes de que ninguna compruebe.
+                    barrier.await(10, TimeUnit.SECONDS);
+
+                    return strategy == Strategy.getStrategy()
+                            && TabuSolutions.getListTabu().size() == 1
+                            && TabuSolutions.getListTabu().get(0) == own
+                            && ParticleSwarmOptimization.getLBest()[0] == own
+                            && MultiGenerator.getListStateReference().get(0) == own
+                            && RandomSearch.getListStateReference().get(0) == own;
+                })));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS),
+                        "Cada ejecución debe ver solo su propio estado");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(globalTabu, TabuSolutions.getListTabu().size(),
+                "El contexto global no debe verse afectado");
+    }
+
+    @Test
+    void wrapShouldPropagateTheContextToWorkerThreads() throws Exception {
+        SearchContext context = new SearchContext();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Callable<Strategy> task = context.call(() -> SearchContext.wrap(Strategy::getStrategy));
+            assertSame(context.getStrategy(), executor.submit(task).get(10, TimeUnit.SECONDS),
+                    "La tarea envuelta debe ejecutarse en el contexto que la creó");
+            assertSame(SearchContext.global().getStrategy(),
+                    executor.submit(Strategy::getStrategy).get(10, TimeUnit.SECONDS),
+                    "Una tarea sin envolver debe usar el contexto global");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void clearShouldDiscardThePerRunState() throws Exception {
+        SearchContext context = new SearchContext();
+        Strategy before = context.call(Strategy::getStrategy);
+        context.run(() -> TabuSolutions.getListTabu().add(new State()));
+
+        context.clear();
+
+        assertNotSame(before, context.call(Strategy::getStrategy),
+                "clear debe descartar la estrategia");
+        assertTrue(context.call(TabuSolutions::getListTabu).isEmpty(),
+                "clear debe descartar la lista tabú");
+    }
+
+    @Test
+    void derivedContextsShouldStartWithTheSettingsOfTheirParent() throws Exception {
+        SearchContext parent = new SearchContext();
+        parent.run(() -> GeneticAlgorithm.setBatchSize(4));
+        SearchContext child = new SearchContext(parent);
+
+        assertEquals(4, child.call(GeneticAlgorithm::getBatchSize), "El hijo debe empezar con los ajustes del padre");
+        assertEquals(1, new SearchContext().call(GeneticAlgorithm::getBatchSize),
+                "Un contexto nuevo debe usar los valores por defecto");
+
+        child.run(() -> GeneticAlgorithm.setBatchSize(2));
+        parent.clear();
+        assertEquals(4, parent.call(GeneticAlgorithm::getBatchSize),
+                "Los ajustes del hijo no deben cambiar los del padre y clear debe conservarlos");
+        assertEquals(1, GeneticAlgorithm.getBatchSize(), "El contexto global no debe cambiar");
+    }
+}
@@ -3,14 +3,19 @@ package es.ull.esit.app.metaheurictics.strategy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.DataInputStream;
+import java.io.StreamCorruptedException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -18,6 +23,10 @@ import org.mockito.Mockito;
 import es.ull.esit.app.factory_method.FactoryGenerator;
 import es.ull.esit.app.local_search.complement.UpdateParameter;
 import es.ull.esit.app.metaheuristics.generators.*;
+import es.ull.esit.app.metaheurictics.checkpoint.Checkpoint;
+import es.ull.esit.app.metaheurictics.history.IterationHistory;
+import es.ull.esit.app.metaheurictics.telemetry.CounterTelemetrySink;
+import es.ull.esit.app.metaheurictics.telemetry.Telemetry;
 import es.ull.esit.app.problem.definition.ObjetiveFunction;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -457,4 +466,187 @@ class StrategyTest {
             assertEquals(2.0, s.getBestState().getEvaluation().get(0), 1e-6);
         }
     }
+
+    @Test
+    void executeStrategyShouldRecordSampledIterationsInTheTelemetry() throws Exception {
+
+        Strategy s = Strategy.getStrategy();
+
+        Problem p = mock(Problem.class);
+        s.setProblem(p);
+        when(p.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+        doAnswer(inv -> {
+            State st = inv.getArgument(0);
+            var ev = new ArrayList<Double>();
+            ev.add(3.0);
+            st.setEvaluation(ev);
+            return null;
+        }).when(p).evaluate(any(State.class));
+        setPrivateInt(s, "countPeriodChange", 10);
+
+        State initial = new State();
+        State candidate = new State();
+
+        Telemetry telemetry = new Telemetry(16, 2);
+        CounterTelemetrySink counters = new CounterTelemetrySink();
+        telemetry.addSink(counters);
+        s.setTelemetry(telemetry);
+
+        try (MockedStatic<UpdateParameter> updStatic = Mockito.mockStatic(UpdateParameter.class);
+             MockedConstruction<RandomSearch> randomMocked =
+                     Mockito.mockConstruction(RandomSearch.class, (mockRS, context) -> {
+                         when(mockRS.generate(anyInt())).thenReturn(initial);
+                     });
+             MockedConstruction<FactoryGenerator> factoryMocked =
+                     Mockito.mockConstruction(FactoryGenerator.class, (mockFG, context) -> {
+                         Generator gen = mock(Generator.class);
+                         when(gen.generate(anyInt())).thenReturn(candidate);
+                         when(gen.getReference()).thenReturn(candidate);
+                         when(gen.getReferenceList()).thenReturn(new ArrayList<>());
+                         when(gen.getType()).thenReturn(GeneratorType.RandomSearch);
+                         when(mockFG.createGenerator(any())).thenReturn(gen);
+                     })) {
+
+            updStatic.when(() -> UpdateParameter.updateParameter(anyInt()))
+                     .thenAnswer(inv -> ((Integer) inv.getArgument(0)) + 1);
+
+            s.executeStrategy(6, 10, 1, GeneratorType.RandomSearch);
+        }
+        telemetry.close();
+
+        // Se muestrean las iteraciones 0, 2 y 4
+        assertEquals(3, counters.getIterations());
+        assertEquals(3, counters.getIterations(GeneratorType.RandomSearch));
+        assertEquals(3, counters.getAccepted());
+        assertEquals(4, counters.getLastIteration());
+        assertArrayEquals(new double[] {3.0}, counters.getBest(), 1e-12);
+        assertEquals(0, telemetry.getDropped());
+    }
+
+    @Test
+    void executeStrategyShouldRecordEveryIterationInTheHistory() throws Exception {
+
+        Strategy s = Strategy.getStrategy();
+
+        Problem p = mock(Problem.class);
+        s.setProblem(p);
+        when(p.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+        doAnswer(inv -> {
+            State st = inv.getArgument(0);
+            var ev = new ArrayList<Double>();
+            ev.add(3.0);
+            st.setEvaluation(ev);
+            return null;
+        }).when(p).evaluate(any(State.class));
+        setPrivateInt(s, "countPeriodChange", 10);
+
+        State initial = new State();
+        State candidate = new State();
+
+        IterationHistory history = new IterationHistory();
+        s.setHistory(history);
+        assertSame(history, s.getHistory());
+
+        try (MockedStatic<UpdateParameter> updStatic = Mockito.mockStatic(UpdateParameter.class);
+             MockedConstruction<RandomSearch> randomMocked =
+                     Mockito.mockConstruction(RandomSearch.class, (mockRS, context) -> {
+                         when(mockRS.generate(anyInt())).thenReturn(initial);
+                     });
+             MockedConstruction<FactoryGenerator> factoryMocked =
+                     Mockito.mockConstruction(FactoryGenerator.class, (mockFG, context) -> {
+                         Generator gen = mock(Generator.class);
+                         when(gen.generate(anyInt())).thenReturn(candidate);
+                         when(gen.getReference()).thenReturn(candidate);
+                         when(gen.getReferenceList()).thenReturn(new ArrayList<>());
+                         when(gen.getType()).thenReturn(GeneratorType.RandomSearch);
+                         when(mockFG.createGenerator(any())).thenReturn(gen);
+                     })) {
+
+            updStatic.when(() -> UpdateParameter.updateParameter(anyInt()))
+                     .thenAnswer(inv -> ((Integer) inv.getArgument(0)) + 1);
+
+            s.executeStrategy(6, 10, 1, GeneratorType.RandomSearch);
+        }
+
+        assertTrue(history.size() > 0);
+        assertEquals(GeneratorType.RandomSearch, history.getGenerator(0));
+        assertEquals(3.0, history.getEvaluation(history.size() - 1, 0), 1e-12);
+        // El mejor no cambia en toda la ejecución
+        assertEquals(1, history.getBestRuns());
+        assertArrayEquals(new double[] {3.0}, history.getBest(history.size() - 1), 1e-12);
+    }
+
+    @Test
+    void setCheckpointShouldRejectNonPositivePeriods(@TempDir Path directory) {
+        Strategy s = Strategy.getStrategy();
+        Path file = directory.resolve("run.ckp");
+
+        assertThrows(IllegalArgumentException.class, () -> s.setCheckpoint(file, 0));
+        s.setCheckpoint(file, 5);
+        assertSame(file, s.getCheckpointFile());
+        assertEquals(5, s.getCheckpointPeriod());
+        s.setCheckpoint(null, 0);
+        assertNull(s.getCheckpointFile());
+    }
+
+    @Test
+    void executeStrategyShouldSaveCheckpointsThatCanBeResumed(@TempDir Path directory) throws Exception {
+
+        Strategy s = Strategy.getStrategy();
+
+        Problem p = mock(Problem.class);
+        s.setProblem(p);
+        when(p.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+        doAnswer(inv -> {
+            State st = inv.getArgument(0);
+            var ev = new ArrayList<Double>();
+            ev.add(3.0);
+            st.setEvaluation(ev);
+            return null;
+        }).when(p).evaluate(any(State.class));
+        setPrivateInt(s, "countPeriodChange", 10);
+
+        Path file = directory.resolve("run.ckp");
+        s.setCheckpoint(file, 2);
+
+        State initial = new State();
+        State candidate = new State();
+
+        try (MockedStatic<UpdateParameter> updStatic = Mockito.mockStatic(UpdateParameter.class);
+             MockedConstruction<RandomSearch> randomMocked =
+                     Mockito.mockConstruction(RandomSearch.class, (mockRS, context) -> {
+                         when(mockRS.generate(anyInt())).thenReturn(initial);
+                     });
+             MockedConstruction<FactoryGenerator> factoryMocked =
+                     Mockito.mockConstruction(FactoryGenerator.class, (mockFG, context) -> {
+                         Generator gen = mock(Generator.class);
+                         when(gen.generate(anyInt())).thenReturn(candidate);
+                         when(gen.getReference()).thenReturn(candidate);
+                         when(gen.getReferenceList()).thenReturn(new ArrayList<>());
+                         when(gen.getType()).thenReturn(GeneratorType.RandomSearch);
+                         when(mockFG.createGenerator(any())).thenReturn(gen);
+                     })) {
+
+            updStatic.when(() -> UpdateParameter.updateParameter(anyInt()))
+                     .thenAnswer(inv -> ((Integer) inv.getArgument(0)) + 1);
+
+            s.executeStrategy(6, 10, 1, GeneratorType.RandomSearch);
+
+            assertTrue(Files.exists(file), "Debe haberse guardado un punto de control");
+            assertFalse(Files.exists(directory.resolve("run.ckp.tmp")), "No deben quedar ficheros temporales");
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                assertEquals(Checkpoint.MAGIC, in.readInt());
+            }
+
+            assertThrows(StreamCorruptedException.class,
+                    () -> s.resumeStrategy(file, 6, 10, 1, GeneratorType.HillClimbing),
+                    "No debe reanudarse una ejecución de otro tipo");
+
+            s.setCheckpoint(null, 0);
+            s.resumeStrategy(file, 6, 10, 1, GeneratorType.RandomSearch);
+        }
+
+        assertEquals(6, s.getCountCurrent(), "La ejecución reanudada debe terminar igual");
+        assertEquals(3.0, s.getBestState().getEvaluation().get(0), 1e-12);
+    }
 }
@@ -0,0 +1,36 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+class CounterTelemetrySinkTest {
+
+    @Test
+    void countersShouldAggregateTheEvents() {
+        Telemetry telemetry = new Telemetry(8, 1);
+        CounterTelemetrySink counters = new CounterTelemetrySink();
+        telemetry.addSink(counters);
+
+        assertEquals(0.0, counters.getMeanEvaluationNanos(), 0.0);
+        assertEquals(-1, counters.getLastIteration());
+
+        telemetry.record(0, GeneratorType.HillClimbing, new double[] {1.0}, new double[] {1.0}, true, 10, 100);
+        telemetry.record(1, GeneratorType.TabuSearch, new double[] {0.5}, new double[] {1.0}, false, 30, -1);
+        telemetry.record(2, GeneratorType.HillClimbing, new double[] {2.0}, new double[] {2.0}, true, 20, 50);
+        telemetry.drain();
+
+        assertEquals(3, counters.getIterations());
+        assertEquals(2, counters.getIterations(GeneratorType.HillClimbing));
+        assertEquals(1, counters.getIterations(GeneratorType.TabuSearch));
+        assertEquals(2, counters.getAccepted());
+        assertEquals(60, counters.getEvaluationNanos());
+        assertEquals(30, counters.getMaxEvaluationNanos());
+        assertEquals(20.0, counters.getMeanEvaluationNanos(), 1e-12);
+        assertEquals(150, counters.getAllocatedBytes());
+        assertArrayEquals(new double[] {2.0}, counters.getBest(), 0.0);
+        assertEquals(2, counters.getLastIteration());
+    }
+}
@@ -0,0 +1,31 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+class CsvTelemetrySinkTest {
+
+    @Test
+    void rowsShouldFollowTheHeader() throws Exception {
+        StringWriter out = new StringWriter();
+        Telemetry telemetry = new Telemetry(8, 1);
+        telemetry.addSink(new CsvTelemetrySink(out));
+
+        telemetry.record(0, GeneratorType.TabuSearch, new double[] {1.5, 2.0}, new double[] {1.5, 2.0}, false, 7, 64);
+        telemetry.record(1, GeneratorType.TabuSearch, new double[] {3.0, 1.0}, new double[] {3.0, 1.0}, true, 8, -1);
+        telemetry.flush();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("iteration,generator,accepted,evaluation_nanos,allocated_bytes,elapsed_nanos,"
+                + "candidate_1,candidate_2,best_1,best_2", lines[0]);
+        assertTrue(lines[1].startsWith("0,TabuSearch,false,7,64,"));
+        assertTrue(lines[1].endsWith(",1.5,2.0,1.5,2.0"));
+        assertTrue(lines[2].startsWith("1,TabuSearch,true,8,-1,"));
+    }
+}
@@ -0,0 +1,30 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+class JsonLinesTelemetrySinkTest {
+
+    @Test
+    void eachEventShouldBeOneJsonObject() throws Exception {
+        StringWriter out = new StringWriter();
+        Telemetry telemetry = new Telemetry(8, 1);
+        telemetry.addSink(new JsonLinesTelemetrySink(out));
+
+        telemetry.record(5, GeneratorType.HillClimbing, new double[] {1.0}, new double[] {Double.NaN}, true, 3, 16);
+        telemetry.record(6, null, new double[] {2.0}, new double[] {2.0}, false, 4, -1);
+        telemetry.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"iteration\":5,\"generator\":\"HillClimbing\",\"accepted\":true,"
+                + "\"evaluationNanos\":3,\"allocatedBytes\":16,\"elapsedNanos\":"));
+        assertTrue(lines[0].endsWith(",\"candidate\":[1.0],\"best\":[null]}"));
+        assertTrue(lines[1].contains("\"generator\":null"));
+    }
+}
@@ -0,0 +1,139 @@
+package es.ull.esit.app.metaheurictics.telemetry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+class TelemetryTest {
+
+    // Sumidero que copia lo que recibe
+    private static class ListSink implements TelemetrySink {
+        final List<Integer> iterations = new ArrayList<>();
+        final List<double[]> candidates = new ArrayList<>();
+        int flushes;
+        boolean closed;
+
+        @Override
+        public void accept(IterationEvent event) {
+            iterations.add(event.getIteration());
+            candidates.add(event.getCandidate().clone());
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private boolean record(Telemetry telemetry, int iteration) {
+        return telemetry.record(iteration, GeneratorType.HillClimbing, new double[] {iteration},
+                new double[] {iteration}, true, 10, -1);
+    }
+
+    @Test
+    void eventsShouldReachTheSinksInOrder() {
+        Telemetry telemetry = new Telemetry(8, 1);
+        ListSink sink = new ListSink();
+        telemetry.addSink(sink);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(record(telemetry, i));
+        }
+        assertEquals(5, telemetry.drain());
+
+        assertEquals(List.of(0, 1, 2, 3, 4), sink.iterations);
+        assertEquals(3.0, sink.candidates.get(3)[0], 0.0);
+    }
+
+    @Test
+    void fullBufferShouldDropEventsInsteadOfBlocking() {
+        Telemetry telemetry = new Telemetry(4, 1);
+        ListSink sink = new ListSink();
+        telemetry.addSink(sink);
+
+        for (int i = 0; i < 6; i++) {
+            record(telemetry, i);
+        }
+        assertEquals(4, telemetry.getCapacity());
+        assertEquals(2, telemetry.getDropped());
+
+        telemetry.drain();
+        assertTrue(record(telemetry, 6), "Tras vaciar el buffer se vuelven a admitir eventos");
+        telemetry.drain();
+        assertEquals(List.of(0, 1, 2, 3, 6), sink.iterations);
+    }
+
+    @Test
+    void samplingShouldOnlySelectMultiplesOfThePeriod() {
+        Telemetry telemetry = new Telemetry(8, 3);
+        assertTrue(telemetry.isSampled(0));
+        assertFalse(telemetry.isSampled(1));
+        assertTrue(telemetry.isSampled(3));
+        assertThrows(IllegalArgumentException.class, () -> new Telemetry(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Telemetry(0, 1));
+    }
+
+    @Test
+    void consumerThreadShouldDrainWhileProducersRecord() throws Exception {
+        Telemetry telemetry = new Telemetry(1024, 1);
+        ListSink sink = new ListSink();
+        telemetry.addSink(sink);
+        telemetry.start();
+
+        Thread[] producers = new Thread[4];
+        int[] accepted = new int[producers.length];
+        for (int t = 0; t < producers.length; t++) {
+            final int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    if (record(telemetry, i)) {
+                        accepted[id]++;
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        telemetry.close();
+
+        int total = 0;
+        for (int count : accepted) {
+            total += count;
+        }
+        assertEquals(total, sink.iterations.size());
+        assertEquals(4 * 5000, total + telemetry.getDropped());
+        assertTrue(sink.closed);
+        assertTrue(sink.flushes > 0);
+    }
+
+    @Test
+    void sinkErrorsShouldBeCountedWithoutStoppingTheOtherSinks() {
+        Telemetry telemetry = new Telemetry(8, 1);
+        ListSink sink = new ListSink();
+        telemetry.addSink(event -> {
+            throw new IOException("fallo");
+        });
+        telemetry.addSink(sink);
+
+        record(telemetry, 0);
+        record(telemetry, 1);
+        telemetry.drain();
+
+        assertEquals(2, telemetry.getSinkErrors());
+        assertEquals(List.of(0, 1), sink.iterations);
+    }
+}
@@ -0,0 +1,328 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CmaEngineTest {
+
+  /** Problema a minimizar con la función dada. */
+  private static Problem problem(ToDoubleFunction<State> function) {
+    Problem problem = new Problem();
+    problem.setTypeProblem(ProblemType.MINIMIZAR);
+    ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(new ObjetiveFunction() {
+      @Override
+      public Double evaluation(State state) {
+        return function.applyAsDouble(state);
+      }
+    });
+    problem.setFunction(functions);
+    return problem;
+  }
+
+  /** Función esfera. */
+  private static Problem sphere() {
+    return problem(state -> {
+      double sum = 0;
+      for (int i = 0; i < state.size(); i++) {
+        sum += state.getDouble(i) * state.getDouble(i);
+      }
+      return sum;
+    });
+  }
+
+  /** Elipsoide con condición 10^4, separable. */
+  private static Problem ellipsoid() {
+    return problem(state -> {
+      double sum = 0;
+      int n = state.size();
+      for (int i = 0; i < n; i++) {
+        double value = state.getDouble(i);
+        sum += Math.pow(1e4, i / (n - 1.0)) * value * value;
+      }
+      return sum;
+    });
+  }
+
+  /** Elipsoide girado: solo se resuelve bien aprendiendo las covarianzas. */
+  private static Problem rotatedEllipsoid() {
+    return problem(state -> {
+      double sum = 0;
+      for (int i = 0; i + 1 < state.size(); i += 2) {
+        double a = state.getDouble(i) + state.getDouble(i + 1);
+        double b = state.getDouble(i) - state.getDouble(i + 1);
+        sum += 1e4 * a * a + b * b;
+      }
+      return sum;
+    });
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios de un flujo con la semilla dada. */
+  private static void useRandom(long seed) {
+    RandomGenerator generator = new SplittableRandom(seed);
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+  }
+
+  @Test
+  void runShouldMinimizeTheSphereInsideTheBounds() throws Exception {
+    CmaEngine engine = new CmaEngine(sphere(), 5);
+    engine.setBounds(-5, 5);
+    useRandom(1);
+
+    State best = engine.run(200);
+
+    assertEquals(CmaEngine.defaultPopulation(5), engine.getPopulationSize());
+    assertEquals(200L * engine.getPopulationSize(), engine.getEvaluations());
+    assertEquals(5, best.size());
+    assertEquals(GeneratorType.CovarianceMatrixAdaptation, best.getTypeGenerator());
+    assertEquals(engine.getBestFitness(), best.getEvaluation().get(0));
+    assertTrue(engine.getBestFitness() < 1e-10, "La estrategia debe llegar al óptimo: " + engine.getBestFitness());
+    for (int k = 0; k < engine.getPopulationSize(); k++) {
+      for (double value : ((DoubleState) engine.getIndividualState(k)).toDoubleArray()) {
+        assertTrue(value >= -5 && value <= 5, "Los individuos no salen de los límites");
+      }
+    }
+  }
+
+  @Test
+  void fullMatrixShouldLearnARotatedEllipsoid() throws Exception {
+    CmaEngine engine = new CmaEngine(rotatedEllipsoid(), 6);
+    engine.setInitialMean(new double[] {1, 2, 3, -1, -2, -3});
+    useRandom(2);
+
+    engine.run(400);
+
+    assertTrue(engine.getBestFitness() < 1e-8, "La matriz completa debe aprender el giro: " + engine.getBestFitness());
+  }
+
+  @Test
+  void diagonalVariantShouldMinimizeASeparableEllipsoid() throws Exception {
+    CmaEngine engine = new CmaEngine(ellipsoid(), 40);
+    engine.setDiagonal(true);
+    engine.setBounds(-5, 5);
+    useRandom(3);
+
+    engine.run(1500);
+
+    assertTrue(engine.isDiagonal());
+    assertEquals(0, engine.getDecompositions(), "La variante diagonal no descompone la matriz");
+    assertTrue(engine.getBestFitness() < 1e-8, "sep-CMA-ES debe llegar al óptimo: " + engine.getBestFitness());
+  }
+
+  @Test
+  void eigendecompositionShouldBeLazyInHighDimensions() throws Exception {
+    CmaEngine engine = new CmaEngine(sphere(), 200);
+    engine.setBounds(-5, 5);
+    useRandom(4);
+
+    engine.run(20);
+
+    assertTrue(engine.getDecompositions() > 0);
+    assertTrue(engine.getDecompositions() < 20,
+        "Con 200 variables la matriz no se descompone en cada generación: " + engine.getDecompositions());
+  }
+
+  @Test
+  void eigensolverShouldDiagonalizeASymmetricMatrix() {
+    double[][] original = {{4, 1, -2}, {1, 2, 0}, {-2, 0, 3}};
+    double[][] matrix = new double[3][];
+    for (int i = 0; i < 3; i++) {
+      matrix[i] = original[i].clone();
+    }
+    double[] values = new double[3];
+
+    SymmetricEigensolver.decompose(matrix, values);
+
+    for (int k = 0; k < 3; k++) {
+      for (int i = 0; i < 3; i++) {
+        double product = 0;
+        for (int j = 0; j < 3; j++) {
+          product += original[i][j] * matrix[j][k];
+        }
+        assertEquals(values[k] * matrix[i][k], product, 1e-12, "A v = λ v");
+      }
+      for (int l = 0; l < 3; l++) {
+        double dot = 0;
+        for (int i = 0; i < 3; i++) {
+          dot += matrix[i][k] * matrix[i][l];
+        }
+        assertEquals((k == l) ? 1 : 0, dot, 1e-12, "Los vectores propios son ortonormales");
+      }
+    }
+    assertEquals(9, values[0] + values[1] + values[2], 1e-12, "La traza se conserva");
+  }
+
+  @Test
+  void parallelPassesShouldGiveTheSameRun() throws Exception {
+    CmaEngine sequential = new CmaEngine(rotatedEllipsoid(), 12);
+    sequential.setBounds(-10, 10);
+    useRandom(5);
+    sequential.run(60);
+
+    Problem problem = rotatedEllipsoid();
+    problem.setEvaluationParallelism(4);
+    try {
+      CmaEngine parallel = new CmaEngine(problem, 12);
+      parallel.setBounds(-10, 10);
+      parallel.setParallel(true);
+      useRandom(5);
+      parallel.run(60);
+
+      assertEquals(sequential.getBestFitness(), parallel.getBestFitness());
+      assertEquals(sequential.getSigma(), parallel.getSigma());
+      assertArrayEquals(sequential.getMean(), parallel.getMean());
+    } finally {
+      problem.shutdownEvaluation();
+    }
+  }
+
+  @Test
+  void ipopShouldDoubleThePopulationWhenTheSearchStagnates() throws Exception {
+    CmaEngine engine = new CmaEngine(problem(state -> 1.0), 2);
+    engine.setRestart(CmaRestart.IPOP);
+    engine.setBounds(-1, 1);
+    useRandom(6);
+    engine.initialize();
+    int base = engine.getPopulationSize();
+
+    for (int g = 0; g < 100; g++) {
+      engine.step();
+    }
+
+    assertTrue(engine.getRestarts() >= 2, "Una función plana se estanca: " + engine.getRestarts());
+    assertEquals(base << engine.getRestarts(), engine.getPopulationSize());
+    assertEquals(1.0, engine.getBestFitness());
+
+    CmaEngine plain = new CmaEngine(problem(state -> 1.0), 2);
+    plain.setBounds(-1, 1);
+    useRandom(6);
+    plain.run(100);
+    assertEquals(0, plain.getRestarts(), "Sin política de reinicio no se reinicia");
+  }
+
+  @Test
+  void bipopShouldAlternateLargeAndSmallPopulations() throws Exception {
+    CmaEngine engine = new CmaEngine(problem(state -> 1.0), 2);
+    engine.setRestart(CmaRestart.BIPOP);
+    engine.setBounds(-1, 1);
+    useRandom(7);
+    engine.initialize();
+    int base = engine.getPopulationSize();
+
+    int largest = base;
+    boolean shrank = false;
+    int previous = base;
+    for (int g = 0; g < 300; g++) {
+      engine.step();
+      int size = engine.getPopulationSize();
+      largest = Math.max(largest, size);
+      shrank |= size < previous;
+      previous = size;
+    }
+
+    assertTrue(engine.getRestarts() >= 3, "Una función plana se estanca: " + engine.getRestarts());
+    assertTrue(largest > base, "Algunas ejecuciones duplican la población");
+    assertTrue(shrank, "Tras una ejecución grande vienen ejecuciones pequeñas");
+  }
+
+  @Test
+  void restartsShouldKeepTheBestStateOfAllTheRuns() throws Exception {
+    CmaEngine engine = new CmaEngine(sphere(), 3);
+    engine.setRestart(CmaRestart.IPOP);
+    engine.setBounds(-5, 5);
+    useRandom(8);
+    engine.initialize();
+
+    double best = Double.POSITIVE_INFINITY;
+    for (int g = 0; g < 600; g++) {
+      engine.step();
+      assertTrue(engine.getBestFitness() <= best, "El mejor estado no empeora con los reinicios");
+      best = engine.getBestFitness();
+    }
+    assertTrue(engine.getRestarts() > 0, "La esfera converge y se reinicia");
+  }
+
+  @Test
+  void checkpointShouldResumeTheSameRun() throws Exception {
+    for (boolean diagonal : new boolean[] {false, true}) {
+      CmaEngine engine = new CmaEngine(rotatedEllipsoid(), 4);
+      engine.setDiagonal(diagonal);
+      engine.setRestart(CmaRestart.BIPOP);
+      engine.setBounds(-3, 3);
+      useRandom(9);
+      engine.initialize();
+      for (int i = 0; i < 7; i++) {
+        engine.step();
+      }
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+        engine.writeCheckpoint(out);
+      }
+      CmaEngine resumed;
+      try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+        resumed = CmaEngine.readCheckpoint(in, rotatedEllipsoid());
+      }
+
+      assertEquals(engine.getGeneration(), resumed.getGeneration());
+      assertEquals(engine.getBestFitness(), resumed.getBestFitness());
+      assertEquals(CmaRestart.BIPOP, resumed.getRestart());
+      assertEquals(diagonal, resumed.isDiagonal());
+      assertEquals(engine.getIndividualState(2).getEvaluation(), resumed.getIndividualState(2).getEvaluation());
+      useRandom(10);
+      for (int i = 0; i < 7; i++) {
+        engine.step();
+      }
+      useRandom(10);
+      for (int i = 0; i < 7; i++) {
+        resumed.step();
+      }
+      assertArrayEquals(engine.getMean(), resumed.getMean());
+      assertEquals(engine.getSigma(), resumed.getSigma());
+      assertEquals(engine.getBestFitness(), resumed.getBestFitness());
+    }
+  }
+
+  @Test
+  void invalidArgumentsShouldBeRejected() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> new CmaEngine(null, 1));
+    assertThrows(IllegalArgumentException.class, () -> new CmaEngine(sphere(), 0));
+    CmaEngine engine = new CmaEngine(sphere(), 2);
+    assertThrows(IllegalArgumentException.class, () -> engine.setBounds(1, -1));
+    assertThrows(IllegalArgumentException.class, () -> engine.setPopulationSize(1));
+    assertThrows(IllegalArgumentException.class, () -> engine.setSigma(0));
+    assertThrows(IllegalArgumentException.class, () -> engine.setRestart(null));
+    assertThrows(IllegalArgumentException.class, () -> engine.setInitialMean(new double[3]));
+    assertThrows(IllegalStateException.class, engine::step);
+    assertNull(engine.getBestState());
+    assertTrue(Double.isNaN(engine.getBestFitness()));
+  }
+}
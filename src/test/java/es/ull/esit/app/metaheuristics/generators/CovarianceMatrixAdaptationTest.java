@@ -0,0 +1,233 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for the {@link CovarianceMatrixAdaptation} class.
+ */
+class CovarianceMatrixAdaptationTest {
+
+  /** Función esfera a minimizar, empezando en (2, 2, 2). */
+  private static Problem sphere() {
+    Problem problem = new Problem();
+    problem.setTypeProblem(ProblemType.MINIMIZAR);
+    ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(new ObjetiveFunction() {
+      @Override
+      public Double evaluation(State state) {
+        double sum = 0;
+        for (int i = 0; i < state.size(); i++) {
+          sum += state.getDouble(i) * state.getDouble(i);
+        }
+        return sum;
+      }
+    });
+    problem.setFunction(functions);
+    problem.setState(new DoubleState(new double[] {2, 2, 2}));
+    return problem;
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios de un flujo con la semilla dada. */
+  private static void useRandom(long seed) {
+    RandomGenerator generator = new SplittableRandom(seed);
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void resetConfiguration() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+    CovarianceMatrixAdaptation.setDiagonal(false);
+    CovarianceMatrixAdaptation.setRestart(CmaRestart.NONE);
+    CovarianceMatrixAdaptation.setPopulationSize(0);
+    CovarianceMatrixAdaptation.setSigma(0);
+    CovarianceMatrixAdaptation.setBounds(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  void generateShouldServeWholeGenerationsAlreadyEvaluated() throws Exception {
+    Problem problem = sphere();
+    Strategy strategyMock = mock(Strategy.class);
+    when(strategyMock.getProblem()).thenReturn(problem);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      CovarianceMatrixAdaptation.setPopulationSize(6);
+      CovarianceMatrixAdaptation.setSigma(0.5);
+      CovarianceMatrixAdaptation cma = new CovarianceMatrixAdaptation();
+
+      assertEquals(GeneratorType.CovarianceMatrixAdaptation, cma.getType());
+      assertTrue(cma.evaluatesCandidates(), "Las candidatas llegan evaluadas en lote");
+      assertNull(cma.getEngine());
+
+      List<State> generation = new ArrayList<>();
+      for (int k = 0; k < 6; k++) {
+        State candidate = cma.generate(1);
+        assertEquals(3, candidate.size());
+        assertEquals(GeneratorType.CovarianceMatrixAdaptation, candidate.getTypeGenerator());
+        assertNotNull(candidate.getEvaluation(), "La candidata llega evaluada");
+        for (double value : ((DoubleState) candidate).toDoubleArray()) {
+          assertEquals(2, value, 3, "La primera generación se muestrea alrededor del estado del problema");
+        }
+        generation.add(candidate);
+        cma.updateReference(candidate, k);
+      }
+      CmaEngine engine = cma.getEngine();
+      assertEquals(1, engine.getGeneration(), "Una generación sirve a 6 candidatas");
+      assertEquals(6, engine.getPopulationSize());
+      double best = generation.stream().mapToDouble(s -> s.getEvaluation().get(0)).min().getAsDouble();
+      assertEquals(best, cma.getReference().getEvaluation().get(0));
+      assertEquals(1, cma.getReferenceList().size());
+
+      cma.generate(1);
+      assertEquals(2, engine.getGeneration(), "La siguiente candidata empieza otra generación");
+    }
+  }
+
+  @Test
+  void generateShouldApproachTheOptimumFromTheReference() throws Exception {
+    Problem problem = sphere();
+    Strategy strategyMock = mock(Strategy.class);
+    when(strategyMock.getProblem()).thenReturn(problem);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      CovarianceMatrixAdaptation.setDiagonal(true);
+      CovarianceMatrixAdaptation.setBounds(-5, 5);
+      CovarianceMatrixAdaptation cma = new CovarianceMatrixAdaptation();
+      DoubleState start = new DoubleState(new double[] {1, -1, 3});
+      start.setEvaluation(List.of(11.0));
+      cma.setInitialReference(start);
+
+      cma.generate(1);
+      useRandom(1);
+      for (int i = 0; i < 2000; i++) {
+        State candidate = cma.generate(1);
+        cma.updateReference(candidate, i);
+      }
+
+      assertTrue(cma.getEngine().isDiagonal());
+      assertTrue(cma.getSonList().isEmpty());
+      assertTrue(cma.getReference().getEvaluation().get(0) < 1e-8,
+          "CMA-ES debe acercarse al óptimo: " + cma.getReference().getEvaluation().get(0));
+    }
+  }
+
+  @Test
+  void awardUpdateREFShouldFollowTheTypeOfProblem() {
+    Problem problem = mock(Problem.class);
+    Strategy strategyMock = mock(Strategy.class);
+    when(strategyMock.getProblem()).thenReturn(problem);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      CovarianceMatrixAdaptation cma = new CovarianceMatrixAdaptation();
+      DoubleState reference = new DoubleState(new double[] {0});
+      reference.setEvaluation(List.of(5.0));
+      DoubleState higher = new DoubleState(new double[] {1});
+      higher.setEvaluation(List.of(7.0));
+      assertTrue(cma.awardUpdateREF(higher), "Sin referencia cualquier candidata la mejora");
+      cma.setInitialReference(reference);
+
+      when(problem.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+      assertTrue(cma.awardUpdateREF(higher));
+      when(problem.getTypeProblem()).thenReturn(ProblemType.MINIMIZAR);
+      assertFalse(cma.awardUpdateREF(higher));
+      cma.updateReference(higher, 0);
+      assertSame(reference, cma.getReference());
+    }
+  }
+
+  @Test
+  void checkpointShouldResumeTheGeneration() throws Exception {
+    Problem problem = sphere();
+    Strategy strategyMock = mock(Strategy.class);
+    when(strategyMock.getProblem()).thenReturn(problem);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      CovarianceMatrixAdaptation.setRestart(CmaRestart.IPOP);
+      CovarianceMatrixAdaptation cma = new CovarianceMatrixAdaptation();
+      for (int i = 0; i < 10; i++) {
+        cma.updateReference(cma.generate(1), i);
+      }
+      cma.setWeight(30);
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+        cma.writeCheckpoint(out);
+      }
+      CovarianceMatrixAdaptation resumed = new CovarianceMatrixAdaptation();
+      try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+        resumed.readCheckpoint(in);
+      }
+
+      assertEquals(30, resumed.getWeight());
+      assertEquals(cma.getReference().getEvaluation(), resumed.getReference().getEvaluation());
+      assertEquals(CmaRestart.IPOP, resumed.getEngine().getRestart());
+      useRandom(2);
+      List<List<Double>> expected = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        expected.add(cma.generate(1).getEvaluation());
+      }
+      useRandom(2);
+      for (int i = 0; i < 10; i++) {
+        assertEquals(expected.get(i), resumed.generate(1).getEvaluation());
+      }
+    }
+  }
+
+  @Test
+  void invalidConfigurationShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> CovarianceMatrixAdaptation.setRestart(null));
+    assertThrows(IllegalArgumentException.class, () -> CovarianceMatrixAdaptation.setPopulationSize(1));
+    assertThrows(IllegalArgumentException.class, () -> CovarianceMatrixAdaptation.setSigma(-1));
+    assertThrows(IllegalArgumentException.class, () -> CovarianceMatrixAdaptation.setBounds(1, 0));
+  }
+
+  @Test
+  void configurationShouldOnlyApplyToTheRunThatSetsIt() throws Exception {
+    SearchContext run = new SearchContext();
+    run.run(() -> {
+      CovarianceMatrixAdaptation.setDiagonal(true);
+      CovarianceMatrixAdaptation.setSigma(0.5);
+      CovarianceMatrixAdaptation.setBounds(-5, 5);
+    });
+
+    assertTrue(run.call(CovarianceMatrixAdaptation::isDiagonal));
+    assertEquals(0.5, run.call(CovarianceMatrixAdaptation::getSigma));
+    assertEquals(-5, run.call(CovarianceMatrixAdaptation::getLowerBound));
+    assertEquals(5, run.call(CovarianceMatrixAdaptation::getUpperBound));
+    assertEquals(CmaRestart.NONE, run.call(CovarianceMatrixAdaptation::getRestart),
+        "Cambiar un ajuste debe conservar los demás");
+    assertFalse(CovarianceMatrixAdaptation.isDiagonal(), "Los ajustes de otra ejecución no deben verse aquí");
+    assertEquals(0, CovarianceMatrixAdaptation.getSigma());
+  }
+}
@@ -239,7 +239,7 @@ class DistributionEstimationAlgorithmTest {
 
         assertEquals(10, better.length, "listCountBetterGenderDistribution tiene tamaño 10");
         assertEquals(10, gender.length, "listCountGender tiene tamaño 10");
-        assertEquals(1200000, trace.length, "listTrace tiene tamaño 1.200.000");
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 
     @Test
@@ -335,12 +335,8 @@ class EvolutionStrategiesTest {
           "listCountBetterGenderEvolutionStrategies debe tener longitud 10");
       assertEquals(10, gender.length,
           "listCountGender debe tener longitud 10");
-      assertEquals(1200000, trace.length,
-          "listTrace debe tener longitud 1.200.000");
+      assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
 
-      // Además, comprobamos que el primer elemento del trace coincide con el peso
-      assertEquals(es.getWeight(), trace[0], 1e-6,
-          "El primer elemento de trace debe ser el peso inicial");
     }
   }
 
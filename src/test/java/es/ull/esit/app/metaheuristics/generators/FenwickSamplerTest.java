@@ -0,0 +1,72 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenwickSamplerTest {
+
+  /** Sorteo por búsqueda lineal, como hacía la ruleta original. */
+  private int linearSample(double[] weights, double uniform) {
+    double total = 0;
+    for (double weight : weights) {
+      total += weight;
+    }
+    double target = uniform * total;
+    double limit = 0;
+    for (int i = 0; i < weights.length; i++) {
+      limit += weights[i];
+      if (target < limit) {
+        return i;
+      }
+    }
+    return weights.length - 1;
+  }
+
+  @Test
+  void sampleShouldMatchALinearSearchWhileWeightsChange() {
+    SplittableRandom random = new SplittableRandom(21);
+    for (int size : new int[] {1, 2, 5, 8, 13}) {
+      FenwickSampler sampler = new FenwickSampler(size);
+      // Pesos enteros: las sumas son exactas y el resultado debe coincidir siempre.
+      double[] weights = new double[size];
+      for (int step = 0; step < 3000; step++) {
+        int index = random.nextInt(size);
+        weights[index] = random.nextInt(4) == 0 ? 0 : random.nextInt(1, 100);
+        sampler.set(index, weights[index]);
+        double uniform = random.nextDouble();
+        double total = 0;
+        for (double weight : weights) {
+          total += weight;
+        }
+        if (total > 0) {
+          assertEquals(linearSample(weights, uniform), sampler.sample(uniform), "Tamaño " + size);
+          assertEquals(weights[index] / total, sampler.probability(index), 1e-12);
+        }
+      }
+    }
+  }
+
+  @Test
+  void zeroWeightsShouldNeverBeDrawn() {
+    FenwickSampler sampler = new FenwickSampler(4);
+    sampler.set(1, 2);
+    sampler.set(2, -5);
+    sampler.set(3, Double.NaN);
+    for (double uniform = 0; uniform < 1; uniform += 0.01) {
+      assertEquals(1, sampler.sample(uniform));
+    }
+    assertEquals(1, sampler.sample(1.5), "Fuera de rango sale el último con peso");
+    assertEquals(0.0, sampler.get(2), "Los pesos negativos cuentan como cero");
+    assertEquals(2.0, sampler.total());
+  }
+
+  @Test
+  void withoutWeightsShouldReturnTheLastPosition() {
+    FenwickSampler sampler = new FenwickSampler(3);
+    assertEquals(2, sampler.sample(0.3));
+    assertEquals(0.0, sampler.probability(0));
+  }
+}
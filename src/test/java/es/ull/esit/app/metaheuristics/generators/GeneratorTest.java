@@ -25,10 +25,16 @@ class GeneratorTest {
     private State reference = new State();
     private final List<State> referenceList = new ArrayList<>();
     private float weight;
-    private final float[] trace = new float[] { 1.0f, 2.0f, 3.0f };
     private final int[] better = new int[] { 1, 2 };
     private final int[] gender = new int[] { 3, 4 };
 
+    DummyGenerator() {
+      // La traza es la de Generator
+      recordTrace(0, 1.0f);
+      recordTrace(1, 2.0f);
+      recordTrace(2, 3.0f);
+    }
+
     @Override
     public State generate(Integer operatornumber)
         throws IllegalArgumentException, SecurityException, ClassNotFoundException,
@@ -94,11 +100,6 @@ class GeneratorTest {
       return this.weight;
     }
 
-    @Override
-    public float[] getTrace() {
-      return this.trace;
-    }
-
     @Override
     public int[] getListCountBetterGender() {
       return this.better;
@@ -206,6 +207,23 @@ class GeneratorTest {
     assertEquals(2, gender.length, "En DummyGenerator el array de géneros tiene longitud 2");
   }
 
+  @Test
+  void recordTraceShouldBeKeptInTheTrace() {
+    DummyGenerator gen = new DummyGenerator();
+
+    gen.recordTrace(1, 7.5f);
+    gen.recordTrace(5, 9.0f);
+
+    float[] trace = gen.getTrace();
+    assertEquals(6, trace.length, "La traza llega hasta la última iteración registrada");
+    assertEquals(1.0f, trace[0], 0.0001);
+    assertEquals(7.5f, trace[1], 0.0001, "recordTrace debe sobrescribir el valor de la iteración");
+    assertEquals(9.0f, trace[5], 0.0001, "recordTrace no debe perder valores fuera de la traza inicial");
+
+    trace[0] = -1.0f;
+    assertEquals(1.0f, gen.getTrace()[0], 0.0001, "getTrace devuelve una copia");
+  }
+
   @Test
   void publicCountersShouldBeReadableAndWritable() {
     DummyGenerator gen = new DummyGenerator();
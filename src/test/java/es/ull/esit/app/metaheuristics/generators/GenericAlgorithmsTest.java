@@ -13,6 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import es.ull.esit.app.evolutionary_algorithms.complement.Crossover;
+import es.ull.esit.app.evolutionary_algorithms.complement.CrossoverType;
+import es.ull.esit.app.evolutionary_algorithms.complement.FatherSelection;
+import es.ull.esit.app.evolutionary_algorithms.complement.GenerationalReplace;
+import es.ull.esit.app.evolutionary_algorithms.complement.Mutation;
+import es.ull.esit.app.evolutionary_algorithms.complement.MutationType;
+import es.ull.esit.app.evolutionary_algorithms.complement.ReplaceType;
+import es.ull.esit.app.evolutionary_algorithms.complement.SelectionType;
+import es.ull.esit.app.factory_method.FactoryRegistry;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
@@ -365,8 +374,7 @@ class GeneticAlgorithmTest {
           "listCountBetterGenderGeneticAlgorithm tiene tamaño 10");
       assertEquals(10, gender.length,
           "listCountGender tiene tamaño 10");
-      assertEquals(1200000, trace.length,
-          "listTrace tiene tamaño 1.200.000");
+      assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
   }
 
@@ -428,4 +436,66 @@ class GeneticAlgorithmTest {
     }
   }
 
+  @Test
+  void generationalModeShouldEvaluateAndReplaceWholeGenerations() throws Exception {
+    List<State> population = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      population.add(createState(i, i));
+    }
+    setPrivateStaticField(GeneticAlgorithm.class, "selectionType", SelectionType.TRUNCATION_SELECTION);
+    setPrivateStaticField(GeneticAlgorithm.class, "crossoverType", CrossoverType.ONE_POINT_CROSSOVER);
+    setPrivateStaticField(GeneticAlgorithm.class, "mutationType", MutationType.ONE_POINT_MUTATION);
+    setPrivateStaticField(GeneticAlgorithm.class, "replaceType", ReplaceType.GENERATIONAL_REPLACE);
+    FatherSelection selection = mock(FatherSelection.class);
+    when(selection.selection(anyList(), anyInt())).thenAnswer(inv -> inv.getArgument(0));
+    Crossover crossover = mock(Crossover.class);
+    when(crossover.crossover(any(), any(), anyDouble())).thenAnswer(inv -> inv.getArgument(0));
+    Mutation mutation = mock(Mutation.class);
+    when(mutation.mutation(any(), anyDouble())).thenAnswer(inv -> inv.getArgument(0));
+    FactoryRegistry.registerShared(SelectionType.TRUNCATION_SELECTION, () -> selection);
+    FactoryRegistry.registerShared(CrossoverType.ONE_POINT_CROSSOVER, () -> crossover);
+    FactoryRegistry.registerShared(MutationType.ONE_POINT_MUTATION, () -> mutation);
+    FactoryRegistry.registerShared(ReplaceType.GENERATIONAL_REPLACE, GenerationalReplace::new);
+
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      Strategy strategyMock = mock(Strategy.class, Mockito.RETURNS_DEEP_STUBS);
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      when(strategyMock.getListKey()).thenReturn(new ArrayList<>());
+      when(strategyMock.getMapGenerators()).thenReturn(new TreeMap<>());
+      Problem problemMock = mock(Problem.class);
+      when(strategyMock.getProblem()).thenReturn(problemMock);
+      when(problemMock.getState()).thenReturn(new State());
+
+      GeneticAlgorithm.setBatchSize(3);
+      GeneticAlgorithm ga = new GeneticAlgorithm();
+      ga.setListState(population);
+      assertTrue(ga.evaluatesCandidates(), "En modo generacional el GA evalúa sus hijos");
+
+      List<State> children = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        State child = ga.generate(1);
+        children.add(child);
+        if (i < 2) {
+          ga.updateReference(child, i);
+          assertSame(population, ga.getListState());
+          assertEquals(4, population.size());
+          assertFalse(population.contains(child), "La generación no entra hasta estar completa");
+        }
+      }
+      // Una sola evaluación en paralelo para toda la generación
+      verify(problemMock, times(1)).evaluateAll(anyList());
+      verify(selection, times(1)).selection(anyList(), anyInt());
+
+      ga.updateReference(children.get(2), 2);
+      assertEquals(List.of(population.get(0), children.get(0), children.get(1), children.get(2)),
+          ga.getListState(), "La generación completa sustituye a los más antiguos");
+    } finally {
+      GeneticAlgorithm.setBatchSize(1);
+      FactoryRegistry.unregister(SelectionType.TRUNCATION_SELECTION);
+      FactoryRegistry.unregister(CrossoverType.ONE_POINT_CROSSOVER);
+      FactoryRegistry.unregister(MutationType.ONE_POINT_MUTATION);
+      FactoryRegistry.unregister(ReplaceType.GENERATIONAL_REPLACE);
+    }
+    assertThrows(IllegalArgumentException.class, () -> GeneticAlgorithm.setBatchSize(0));
+  }
 }
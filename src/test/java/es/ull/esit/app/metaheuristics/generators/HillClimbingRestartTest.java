@@ -354,7 +354,7 @@ class HillClimbingRestartTest {
 
             assertEquals(10, better.length, "Better gender array length must be 10");
             assertEquals(10, gender.length, "Gender array length must be 10");
-            assertEquals(1200000, trace.length, "Trace array length must be 1,200,000");
+            assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
         }
     }
 
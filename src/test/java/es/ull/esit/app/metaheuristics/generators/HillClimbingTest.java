@@ -81,7 +81,7 @@ class HillClimbingTest {
 
       float[] trace = hcMax.getTrace();
       assertNotNull(trace);
-      assertEquals(50.0f, trace[0], 0.0001f);
+      assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
 
       int[] better = hcMax.getListCountBetterGender();
       int[] gender = hcMax.getListCountGender();
@@ -92,6 +92,23 @@ class HillClimbingTest {
     }
   }
 
+  @Test
+  void evaluatesCandidatesShouldDependOnTheCandidateType() {
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      Strategy strategyMock = mock(Strategy.class);
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      Problem problemMock = mock(Problem.class);
+      when(strategyMock.getProblem()).thenReturn(problemMock);
+      when(problemMock.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+
+      HillClimbing hc = new HillClimbing();
+      assertTrue(hc.evaluatesCandidates(), "El vecindario ya se evalúa en lote al compararlo");
+
+      hc.setTypeCandidate(CandidateType.RandomCandidate);
+      assertFalse(hc.evaluatesCandidates(), "Un candidato aleatorio no se evalúa al elegirlo");
+    }
+  }
+
   @Test
   void generateShouldUseCandidateValueAndReturnCandidate() throws Exception {
     // Mock estático de Strategy.getStrategy() y todo lo que el constructor necesita
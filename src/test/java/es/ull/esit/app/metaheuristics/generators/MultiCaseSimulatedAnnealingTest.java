@@ -39,13 +39,6 @@ class MultiCaseSimulatedAnnealingTest {
     return f.getInt(target);
   }
 
-  /** Utilidad para cambiar un double estático privado por reflexión (alpha). */
-  private void setPrivateStaticDoubleField(Class<?> clazz, String fieldName, double value) throws Exception {
-    Field f = clazz.getDeclaredField(fieldName);
-    f.setAccessible(true);
-    f.setDouble(null, value);
-  }
-
   /** Crea un State con una evaluación simple de un solo valor. */
   private State createStateWithEval(double value) {
     State s = new State();
@@ -77,10 +70,8 @@ class MultiCaseSimulatedAnnealingTest {
 
     assertEquals(10, better.length);
     assertEquals(10, gender.length);
-    assertEquals(1_200_000, trace.length);
+    assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
 
-    // trace[0] se inicializa con el peso
-    assertEquals(50.0f, trace[0], 0.0001);
     // Los contadores se inicializan a cero
     assertEquals(0, better[0]);
     assertEquals(0, gender[0]);
@@ -201,7 +192,7 @@ class MultiCaseSimulatedAnnealingTest {
 
     // Preparamos temperatura y alpha
     MultiCaseSimulatedAnnealing.setTinitial(10.0);
-    setPrivateStaticDoubleField(MultiCaseSimulatedAnnealing.class, "alpha", 0.5);
+    MultiCaseSimulatedAnnealing.setAlpha(0.5);
 
     // countIterationsT = 5
     setPrivateIntField(sa, "countIterationsT", 5);
@@ -242,7 +233,7 @@ class MultiCaseSimulatedAnnealingTest {
 
     // Temperatura inicial
     MultiCaseSimulatedAnnealing.setTinitial(20.0);
-    setPrivateStaticDoubleField(MultiCaseSimulatedAnnealing.class, "alpha", 0.5);
+    MultiCaseSimulatedAnnealing.setAlpha(0.5);
 
     // countIterationsT = 5, pero pasamos 3 -> no debe actualizar T
     setPrivateIntField(sa, "countIterationsT", 5);
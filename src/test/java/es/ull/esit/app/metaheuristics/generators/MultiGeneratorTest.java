@@ -10,12 +10,15 @@ import java.lang.reflect.Field;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import org.junit.jupiter.api.*;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 
 import es.ull.esit.app.factory_method.FactoryGenerator;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
@@ -23,16 +26,6 @@ import es.ull.esit.app.problem.definition.State;
 class MultiGeneratorTest {
 
   // ---------- Helpers reflexión ----------
-  private static void setStaticField(Class<?> clazz, String name, Object value) {
-    try {
-      Field f = clazz.getDeclaredField(name);
-      f.setAccessible(true);
-      f.set(null, value);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-  }
-
   private static Object getStaticField(Class<?> clazz, String name) {
     try {
       Field f = clazz.getDeclaredField(name);
@@ -43,6 +36,16 @@ class MultiGeneratorTest {
     }
   }
 
+  /** Hace que la ejecución actual saque sus números aleatorios del generador dado. */
+  private static void useRandom(RandomGenerator generator) {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
   /** SecureRandom determinista para forzar ramas de roulette() */
   static class FixedSecureRandom extends SecureRandom {
     private final double value;
@@ -61,13 +64,12 @@ class MultiGeneratorTest {
   static class DummyGenerator extends Generator {
     private final GeneratorType type;
     private float weight;
-    private final float[] trace = new float[50];
     private State toReturn;
 
     DummyGenerator(GeneratorType type, float weight) {
       this.type = type;
       this.weight = weight;
-      this.trace[0] = weight;
+      recordTrace(0, weight);
     }
 
     void setReturn(State s) {
@@ -133,28 +135,28 @@ class MultiGeneratorTest {
     public int[] getListCountGender() {
       return new int[0];
     }
-
-    @Override
-    public float[] getTrace() {
-      return trace;
-    }
   }
 
   @BeforeEach
   void resetStatics() {
     // Evita contaminación entre tests
-    setStaticField(MultiGenerator.class, "listGeneratedPP", new ArrayList<State>());
-    setStaticField(MultiGenerator.class, "listStateReference", new ArrayList<State>());
-    setStaticField(MultiGenerator.class, "activeGenerator", null);
+    MultiGenerator.setListGeneratedPP(new ArrayList<State>());
+    MultiGenerator.setListStateReference(new ArrayList<State>());
+    MultiGenerator.setActiveGenerator(null);
 
     // listGenerators por defecto no null para la mayoría de tests
-    setStaticField(MultiGenerator.class, "listGenerators", new Generator[] {
+    MultiGenerator.setListGenerators(new Generator[] {
         new DummyGenerator(GeneratorType.HillClimbing, 1f),
         new DummyGenerator(GeneratorType.GeneticAlgorithm, 1f)
     });
 
     // random determinista por defecto
-    setStaticField(MultiGenerator.class, "random", new FixedSecureRandom(0.0));
+    useRandom(new FixedSecureRandom(0.0));
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
   }
 
   // ---------------- destroyMultiGenerator ----------------
@@ -252,7 +254,7 @@ class MultiGeneratorTest {
     MultiGenerator.setListGenerators(new Generator[] { g1, g2 });
 
     // nextDouble = 0.10 => cae en g1
-    setStaticField(MultiGenerator.class, "random", new FixedSecureRandom(0.10));
+    useRandom(new FixedSecureRandom(0.10));
 
     MultiGenerator mg = new MultiGenerator();
     Generator picked = mg.roulette();
@@ -266,7 +268,7 @@ class MultiGeneratorTest {
     MultiGenerator.setListGenerators(new Generator[] { g1, g2 });
 
     // nextDouble > 1 (forzamos) => no entra en ningún intervalo y devuelve el último
-    setStaticField(MultiGenerator.class, "random", new FixedSecureRandom(1.5));
+    useRandom(new FixedSecureRandom(1.5));
 
     MultiGenerator mg = new MultiGenerator();
     Generator picked = mg.roulette();
@@ -283,7 +285,7 @@ class MultiGeneratorTest {
     MultiGenerator.setListGenerators(new Generator[] { g1, g2 });
 
     // forzar roulette a g1
-    setStaticField(MultiGenerator.class, "random", new FixedSecureRandom(0.10));
+    useRandom(new FixedSecureRandom(0.10));
 
     Strategy strategyMock = mock(Strategy.class, RETURNS_DEEP_STUBS);
     when(strategyMock.getGenerator()).thenReturn(g1);
@@ -433,7 +435,7 @@ class MultiGeneratorTest {
       mg.setWeight(123f);
       assertEquals(123f, active.getWeight(), 1e-6);
 
-      assertSame(active.getTrace(), mg.getTrace());
+      assertArrayEquals(active.getTrace(), mg.getTrace());
     }
   }
 
@@ -463,7 +465,7 @@ class MultiGeneratorTest {
 
     MultiGenerator.setListGenerators(new Generator[] { g1, g2, g3 });
 
-    State cand = mock(State.class);
+    State cand = new State();
     mg.tournament(cand, 7);
 
     verify(g1).updateReference(any(State.class), eq(7));
@@ -572,6 +574,32 @@ class MultiGeneratorTest {
 
       assertNotNull(MultiGenerator.getListGenerators());
       assertEquals(4, MultiGenerator.getListGenerators().length);
+      for (Generator generator : MultiGenerator.getListGenerators()) {
+        assertArrayEquals(new float[] {generator.getWeight()}, generator.getTrace(),
+            "El MultiGenerator registra el peso inicial de sus generadores");
+      }
+    }
+  }
+
+  @Test
+  void initializeListGeneratorShouldAddCmaEsForContinuousProblems() throws Exception {
+    Strategy strategyMock = mock(Strategy.class, RETURNS_DEEP_STUBS);
+    var problemMock = strategyMock.getProblem();
+    when(problemMock.getTypeProblem()).thenReturn(ProblemType.MAXIMIZAR);
+    when(problemMock.getState()).thenReturn(mock(State.class));
+    when(problemMock.getOperator()).thenReturn(mock(es.ull.esit.app.problem.definition.Operator.class, RETURNS_DEEP_STUBS));
+
+    try (MockedStatic<Strategy> st = mockStatic(Strategy.class)) {
+      st.when(Strategy::getStrategy).thenReturn(strategyMock);
+      MultiGenerator.setContinuous(true);
+
+      MultiGenerator.initializeListGenerator();
+
+      assertTrue(MultiGenerator.isContinuous());
+      assertEquals(5, MultiGenerator.getListGenerators().length);
+      assertEquals(GeneratorType.CovarianceMatrixAdaptation, MultiGenerator.getListGenerators()[4].getType());
+    } finally {
+      MultiGenerator.setContinuous(false);
     }
   }
 
@@ -605,4 +633,28 @@ class MultiGeneratorTest {
       verify(strategyMock).setListStates(anyList());
     }
   }
+
+  @Test
+  void rouletteShouldFollowWeightsChangedOutsideTheMultiGenerator() throws Exception {
+    DummyGenerator g1 = new DummyGenerator(GeneratorType.HillClimbing, 1f);
+    DummyGenerator g2 = new DummyGenerator(GeneratorType.GeneticAlgorithm, 3f);
+    MultiGenerator.setListGenerators(new Generator[] { g1, g2 });
+    useRandom(new FixedSecureRandom(0.5));
+    MultiGenerator mg = new MultiGenerator();
+
+    assertSame(g2, mg.roulette());
+    assertArrayEquals(new double[] { 0.25, 0.75 }, MultiGenerator.getSelectionProbabilities(), 1e-12);
+
+    // Como hace Strategy.updateWeight, sin pasar por el MultiGenerator
+    g1.setWeight(9f);
+    assertSame(g1, mg.roulette());
+    assertEquals(0.75, MultiGenerator.getSelectionProbability(0), 1e-12);
+
+    MultiGenerator.setListGenerators(new Generator[] { g2 });
+    assertSame(g2, mg.roulette());
+    assertArrayEquals(new double[] { 1.0 }, MultiGenerator.getSelectionProbabilities(), 1e-12);
+
+    MultiGenerator.destroyMultiGenerator();
+    assertEquals(0, MultiGenerator.getSelectionProbabilities().length);
+  }
 }
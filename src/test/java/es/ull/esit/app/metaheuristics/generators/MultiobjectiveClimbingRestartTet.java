@@ -50,9 +50,7 @@ class MultiobjectiveHillClimbingRestartTest {
 
         assertEquals(10, better.length, "better gender debe tener longitud 10");
         assertEquals(10, gender.length, "gender debe tener longitud 10");
-        assertEquals(1_200_000, trace.length, "trace debe tener longitud 1.200.000");
-        assertEquals(gen.getWeight(), trace[0], 0.0001,
-                "El primer valor de la traza debe ser el peso inicial");
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 
     @Test
@@ -249,7 +247,7 @@ class MultiobjectiveHillClimbingRestartTest {
 
         assertEquals(10, better.length);
         assertEquals(10, gender.length);
-        assertEquals(1_200_000, trace.length);
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 
     @Test
@@ -20,6 +20,7 @@ import es.ull.esit.app.factory_interface.IFFactoryAcceptCandidate;
 import es.ull.esit.app.factory_method.FactoryAcceptCandidate;
 import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.State;
 
@@ -63,8 +64,8 @@ class MultiobjectiveHillClimbingDistanceTest {
 
   @BeforeEach
   void resetStatics() {
-    MultiobjectiveHillClimbingDistance.sizeNeighbors = 3;
-    MultiobjectiveHillClimbingDistance.distanceSolution = new ArrayList<>();
+    MultiobjectiveHillClimbingDistance.setSizeNeighbors(3);
+    MultiobjectiveHillClimbingDistance.setDistanceSolution(new ArrayList<>());
   }
 
   private static void setField(Object target, String fieldName, Object value) {
@@ -162,18 +163,18 @@ class MultiobjectiveHillClimbingDistanceTest {
 
   @Test
   void distanceCalculateAddShouldReturnStaticDistanceSolutionWhenOnlyOneSolution() {
-    MultiobjectiveHillClimbingDistance.distanceSolution.add(0.0);
+    MultiobjectiveHillClimbingDistance.getDistanceSolution().add(0.0);
 
     List<State> sols = List.of(new TestState(1));
     List<Double> out = MultiobjectiveHillClimbingDistance.distanceCalculateAdd(sols);
 
-    assertSame(MultiobjectiveHillClimbingDistance.distanceSolution, out);
+    assertSame(MultiobjectiveHillClimbingDistance.getDistanceSolution(), out);
     assertEquals(List.of(0.0), out);
   }
 
   @Test
   void distanceCalculateAddShouldUpdateDistancesWhenMoreThanOneSolution() {
-    MultiobjectiveHillClimbingDistance.distanceSolution = new ArrayList<>(List.of(10.0));
+    MultiobjectiveHillClimbingDistance.setDistanceSolution(new ArrayList<>(List.of(10.0)));
 
     List<State> sols = new ArrayList<>();
     sols.add(new TestState(1));
@@ -182,7 +183,21 @@ class MultiobjectiveHillClimbingDistanceTest {
     List<Double> out = MultiobjectiveHillClimbingDistance.distanceCalculateAdd(sols);
 
     assertEquals(List.of(13.0, 3.0), out);
-    assertEquals(List.of(13.0, 3.0), MultiobjectiveHillClimbingDistance.distanceSolution);
+    assertEquals(List.of(13.0, 3.0), MultiobjectiveHillClimbingDistance.getDistanceSolution());
+  }
+
+  @Test
+  void distanceSolutionAndSizeNeighborsShouldBeKeptPerRun() throws Exception {
+    MultiobjectiveHillClimbingDistance.setDistanceSolution(new ArrayList<>(List.of(1.0)));
+
+    List<Double> other = new SearchContext().call(() -> {
+      MultiobjectiveHillClimbingDistance.setSizeNeighbors(7);
+      return MultiobjectiveHillClimbingDistance.getDistanceSolution();
+    });
+
+    assertTrue(other.isEmpty(), "Otra ejecución no debe ver las distancias de esta");
+    assertEquals(List.of(1.0), MultiobjectiveHillClimbingDistance.getDistanceSolution());
+    assertEquals(3, MultiobjectiveHillClimbingDistance.getSizeNeighbors());
   }
 
   @Test
@@ -269,7 +284,7 @@ class MultiobjectiveHillClimbingDistanceTest {
 
       assertFalse(refFinal.isEmpty());
       assertEquals(1, refFinal.size());
-      assertEquals(0.0, MultiobjectiveHillClimbingDistance.distanceSolution.get(0));
+      assertEquals(0.0, MultiobjectiveHillClimbingDistance.getDistanceSolution().get(0));
 
       assertEquals(10, ((TestState) gen.getReference()).getId());
 
@@ -288,7 +303,7 @@ class MultiobjectiveHillClimbingDistanceTest {
 
     List<State> refFinal = new ArrayList<>(List.of(new TestState(1), new TestState(9), new TestState(3)));
     when(strategyMock.getListRefPoblacFinal()).thenReturn(refFinal);
-    MultiobjectiveHillClimbingDistance.distanceSolution = new ArrayList<>(List.of(1.0, 100.0, 2.0));
+    MultiobjectiveHillClimbingDistance.setDistanceSolution(new ArrayList<>(List.of(1.0, 100.0, 2.0)));
 
     AcceptableCandidate acceptable = mock(AcceptableCandidate.class);
     when(acceptable.acceptCandidate(any(), any())).thenReturn(false);
@@ -68,7 +68,7 @@ class MultiobjectiveStochasticHillClimbingTest {
 
         float[] trace = hc.getTrace();
         assertNotNull(trace);
-        assertEquals(50.0f, trace[0], 0.0001);
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 
     // --------------------------------------------------------
@@ -223,7 +223,7 @@ class MultiobjectiveStochasticHillClimbingTest {
 
         assertEquals(10, hc.getListCountBetterGender().length);
         assertEquals(10, hc.getListCountGender().length);
-        assertEquals(1200000, hc.getTrace().length);
+        assertEquals(0, hc.getTrace().length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 
     // --------------------------------------------------------
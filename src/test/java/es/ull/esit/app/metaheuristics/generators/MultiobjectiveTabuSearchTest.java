@@ -54,9 +54,7 @@ class MultiobjectiveTabuSearchTest {
         // Traza
         float[] trace = ts.getTrace();
         assertNotNull(trace);
-        assertTrue(trace.length >= 1);
-        assertEquals(50.0f, trace[0], 0.0001,
-                "La traza en la posición 0 debe inicializarse con el peso");
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
 
         // Contadores
         int[] better = ts.getListCountBetterGender();
@@ -320,6 +318,6 @@ class MultiobjectiveTabuSearchTest {
 
         float[] trace = ts.getTrace();
         assertNotNull(trace);
-        assertTrue(trace.length >= 1);
+        assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
     }
 }
@@ -10,7 +10,10 @@ import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
@@ -50,7 +53,7 @@ class ParticleSwarmOptimizationTest {
     // Force zero swarms and zero particles per swarm
     setStaticIntField(ParticleSwarmOptimization.class, "coutSwarm", 0);
     setStaticIntField(ParticleSwarmOptimization.class, "countParticleBySwarm", 0);
-    setStaticIntField(ParticleSwarmOptimization.class, "countRef", 0);
+    ParticleSwarmOptimization.setCountRef(0);
 
     // Ensure RandomSearch reference list is empty
     RandomSearch.setListStateReference(new ArrayList<>());
@@ -178,13 +181,7 @@ class ParticleSwarmOptimizationTest {
     State s2 = new State();
     s2.setEvaluation(eval(7.0));
 
-    try {
-      Field lBestField = ParticleSwarmOptimization.class.getDeclaredField("lBest");
-      lBestField.setAccessible(true);
-      lBestField.set(null, new State[] { s1, s2 });
-    } catch (Exception e) {
-      fail("Failed to set static lBest via reflection: " + e.getMessage());
-    }
+    ParticleSwarmOptimization.setLBest(new State[] { s1, s2 });
 
     // 3) Ahora testeamos gBestInicial() para Max y Min con mocks separados
 
@@ -222,7 +219,7 @@ class ParticleSwarmOptimizationTest {
     // Force zero swarms and zero particles per swarm
     setStaticIntField(ParticleSwarmOptimization.class, "coutSwarm", 0);
     setStaticIntField(ParticleSwarmOptimization.class, "countParticleBySwarm", 0);
-    setStaticIntField(ParticleSwarmOptimization.class, "countRef", 0);
+    ParticleSwarmOptimization.setCountRef(0);
 
     RandomSearch.setListStateReference(new ArrayList<>());
 
@@ -301,4 +298,80 @@ class ParticleSwarmOptimizationTest {
     State result = pso.generate(1);
     assertNull(result, "generate should return null when there are no particles");
   }
+
+  @Test
+  void synchronousModeShouldMoveTheWholeSwarmAndPublishTheBest() throws Exception {
+    Strategy strategyMock = mock(Strategy.class);
+    when(strategyMock.getListKey()).thenReturn(new ArrayList<>());
+    when(strategyMock.getMapGenerators()).thenReturn(new TreeMap<>());
+    Problem problem = new Problem();
+    problem.setTypeProblem(ProblemType.MINIMIZAR);
+    ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(new ObjetiveFunction() {
+      @Override
+      public Double evaluation(State state) {
+        return Math.abs(state.getDouble(0)) + Math.abs(state.getDouble(1));
+      }
+    });
+    problem.setFunction(functions);
+    when(strategyMock.getProblem()).thenReturn(problem);
+    when(strategyMock.getCountMax()).thenReturn(40);
+
+    ParticleSwarmOptimization pso;
+    try (MockedStatic<Strategy> strategyStatic = Mockito.mockStatic(Strategy.class)) {
+      strategyStatic.when(Strategy::getStrategy).thenReturn(strategyMock);
+      setStaticIntField(ParticleSwarmOptimization.class, "coutSwarm", 2);
+      setStaticIntField(ParticleSwarmOptimization.class, "countParticleBySwarm", 2);
+      pso = new ParticleSwarmOptimization();
+      List<Particle> particles = new ArrayList<>();
+      for (double x : new double[] {4, -3, 2, 5}) {
+        State state = new DoubleState(new double[] {x, x});
+        state.setEvaluation(eval(2 * Math.abs(x)));
+        particles.add(new Particle(state, state, new ArrayList<>()));
+      }
+      pso.setListParticle(particles);
+      ParticleSwarmOptimization.setCountRef(4);
+      ParticleSwarmOptimization.setSynchronous(true);
+      ParticleSwarmOptimization.setTopology(SwarmTopology.RING);
+
+      assertTrue(pso.evaluatesCandidates(), "En modo síncrono las candidatas llegan evaluadas");
+      for (int round = 0; round < 2; round++) {
+        for (int p = 0; p < 4; p++) {
+          State candidate = pso.generate(1);
+          assertEquals(2, candidate.size());
+          assertNotNull(candidate.getEvaluation(), "La partícula ya viene evaluada");
+          pso.updateReference(candidate, round * 4 + p);
+        }
+        assertNotNull(pso.getGBest(), "El mejor global se publica al terminar el paso");
+        assertTrue(pso.getGBest().getEvaluation().get(0) <= 4.0, "El mejor global no empeora");
+      }
+      assertEquals(2, pso.getReferenceList().size(), "Un mejor global por paso");
+
+      ParticleSwarmOptimization.setBinary(true);
+      assertThrows(IllegalStateException.class, () -> pso.generate(1));
+    } finally {
+      ParticleSwarmOptimization.setBinary(false);
+      ParticleSwarmOptimization.setSynchronous(false);
+      ParticleSwarmOptimization.setTopology(SwarmTopology.PARTITIONED);
+      setStaticIntField(ParticleSwarmOptimization.class, "coutSwarm", 0);
+      setStaticIntField(ParticleSwarmOptimization.class, "countParticleBySwarm", 0);
+      ParticleSwarmOptimization.setCountRef(0);
+    }
+  }
+
+  @Test
+  void synchronousSettingsShouldOnlyApplyToTheRunThatSetsThem() throws Exception {
+    SearchContext run = new SearchContext();
+    run.run(() -> {
+      ParticleSwarmOptimization.setSynchronous(true);
+      ParticleSwarmOptimization.setNeighbours(2);
+    });
+
+    assertTrue(run.call(ParticleSwarmOptimization::isSynchronous));
+    assertEquals(2, run.call(ParticleSwarmOptimization::getNeighbours));
+    assertEquals(SwarmTopology.PARTITIONED, run.call(ParticleSwarmOptimization::getTopology),
+        "Cambiar un ajuste debe conservar los demás");
+    assertFalse(ParticleSwarmOptimization.isSynchronous(), "Los ajustes de otra ejecución no deben verse aquí");
+    assertEquals(0, ParticleSwarmOptimization.getNeighbours());
+  }
 }
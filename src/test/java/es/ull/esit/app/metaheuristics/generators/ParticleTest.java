@@ -102,15 +102,7 @@ class ParticleTest {
       lBestState.setCode(lBestCode);
       lBestState.setEvaluation(eval(1.0));
 
-      // Set static lBest via reflection (there is only a getter in the class)
-      try {
-        java.lang.reflect.Field lBestField =
-            ParticleSwarmOptimization.class.getDeclaredField("lBest");
-        lBestField.setAccessible(true);
-        lBestField.set(null, new State[] { lBestState });
-      } catch (Exception e) {
-        fail("Failed to set static lBest via reflection: " + e.getMessage());
-      }
+      ParticleSwarmOptimization.setLBest(new State[] { lBestState });
 
       // ---- Create a particle with pBest and actual states ----
       State pBest = new State();
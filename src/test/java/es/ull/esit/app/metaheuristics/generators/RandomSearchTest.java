@@ -249,6 +249,22 @@ class RandomSearchTest {
         assertSame(ref, list.get(0));
     }
 
+    @Test
+    void getReferenceListShouldNotRepeatUnchangedReference() {
+        RandomSearch rs = new RandomSearch();
+        State ref = new State();
+        rs.setInitialReference(ref);
+
+        rs.getReferenceList();
+        assertEquals(1, rs.getReferenceList().size());
+
+        State next = new State();
+        rs.setInitialReference(next);
+        List<State> list = rs.getReferenceList();
+        assertEquals(2, list.size());
+        assertSame(next, list.get(1));
+    }
+
     @Test
     void awardUpdateREFShouldAlwaysReturnFalse() {
         RandomSearch rs = new RandomSearch();
@@ -6,6 +6,11 @@ import static org.mockito.Mockito.*;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.*;
 import org.mockito.MockedConstruction;
@@ -15,7 +20,10 @@ import es.ull.esit.app.factory_interface.IFFactoryAcceptCandidate;
 import es.ull.esit.app.factory_method.FactoryAcceptCandidate;
 import es.ull.esit.app.local_search.acceptation_type.AcceptableCandidate;
 import es.ull.esit.app.local_search.candidate_type.CandidateValue;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
 
 class SimulatedAnnealingTest {
@@ -87,8 +95,7 @@ class SimulatedAnnealingTest {
     // trace y contadores inicializados
     float[] trace = sa.getTrace();
     assertNotNull(trace);
-    assertTrue(trace.length >= 1);
-    assertEquals(50.0f, trace[0], 0.0001f);
+    assertEquals(0, trace.length, "El generador no registra su traza hasta que lo usa el MultiGenerator");
 
     assertNotNull(sa.getListCountBetterGender());
     assertNotNull(sa.getListCountGender());
@@ -129,7 +136,15 @@ class SimulatedAnnealingTest {
     // cada llamada devuelve copia de lista (nueva instancia)
     List<State> l2 = sa.getReferenceList();
     assertNotSame(l1, l2);
-    assertEquals(2, l2.size());
+    // la misma referencia no se repite
+    assertEquals(1, l2.size());
+
+    // una referencia nueva sí se añade
+    TestState s2 = new TestState(2);
+    sa.setStateRef(s2);
+    List<State> l3 = sa.getReferenceList();
+    assertEquals(2, l3.size());
+    assertSame(s2, l3.get(1));
   }
 
   @Test
@@ -396,6 +411,58 @@ class SimulatedAnnealingTest {
     }
   }
 
+  // ---------------- enfriamiento independiente por ejecución ----------------
+  @Test
+  void coolingScheduleShouldBeIndependentBetweenParallelRuns() throws Exception {
+    int steps = 20;
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      Future<Double> slow = pool.submit(() -> cool(0.5, 100.0, steps, barrier));
+      Future<Double> fast = pool.submit(() -> cool(0.9, 50.0, steps, barrier));
+
+      assertEquals(100.0 * Math.pow(0.5, steps), slow.get(30, TimeUnit.SECONDS), 1e-12);
+      assertEquals(50.0 * Math.pow(0.9, steps), fast.get(30, TimeUnit.SECONDS), 1e-12);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs a Simulated Annealing that cools at every iteration inside its own
+   * context, waiting for the other run after each step so both interleave.
+   */
+  private static double cool(double alpha, double tinitial, int steps, CyclicBarrier barrier)
+      throws Exception {
+    return new SearchContext().call(() -> {
+      Problem problem = new Problem();
+      problem.setTypeProblem(ProblemType.MAXIMIZAR);
+      Strategy.getStrategy().setProblem(problem);
+
+      SimulatedAnnealing.setAlpha(alpha);
+      SimulatedAnnealing.setTinitial(tinitial);
+      SimulatedAnnealing.setCountIterationsT(1);
+
+      SimulatedAnnealing sa = new SimulatedAnnealing();
+      sa.setStateRef(evaluated(0, 1.0));
+      double expected = tinitial;
+      for (int i = 1; i <= steps; i++) {
+        sa.updateReference(evaluated(i, 1.0), i);
+        expected = expected * alpha;
+        assertEquals(expected, SimulatedAnnealing.getTinitial(), 1e-12);
+        assertEquals(i + 1, SimulatedAnnealing.getCountIterationsT());
+        barrier.await(30, TimeUnit.SECONDS);
+      }
+      return SimulatedAnnealing.getTinitial();
+    });
+  }
+
+  private static State evaluated(int id, double value) {
+    State state = new TestState(id);
+    state.setEvaluation(new ArrayList<>(List.of(value)));
+    return state;
+  }
+
   // ---------------- getReferenceList devuelve copia nueva ----------------
   @Test
   void getReferenceListShouldReturnNewListInstanceAndNotNull() {
@@ -408,7 +475,7 @@ class SimulatedAnnealingTest {
     assertNotNull(a);
     assertNotNull(b);
     assertNotSame(a, b);
-    assertEquals(2, b.size());
+    assertEquals(1, b.size());
   }
 
   // ---------------- setWeight / getWeight ----------------
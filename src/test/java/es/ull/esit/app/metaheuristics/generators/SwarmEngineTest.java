@@ -0,0 +1,260 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointInput;
+import es.ull.esit.app.metaheurictics.checkpoint.CheckpointOutput;
+import es.ull.esit.app.metaheurictics.strategy.RandomService;
+import es.ull.esit.app.metaheurictics.strategy.SearchContext;
+import es.ull.esit.app.problem.definition.DoubleState;
+import es.ull.esit.app.problem.definition.ObjetiveFunction;
+import es.ull.esit.app.problem.definition.Problem;
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.definition.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwarmEngineTest {
+
+  /** Función esfera, a minimizar. */
+  private static Problem sphere() {
+    Problem problem = new Problem();
+    problem.setTypeProblem(ProblemType.MINIMIZAR);
+    ArrayList<ObjetiveFunction> functions = new ArrayList<>();
+    functions.add(new ObjetiveFunction() {
+      @Override
+      public Double evaluation(State state) {
+        double sum = 0;
+        for (int i = 0; i < state.size(); i++) {
+          sum += state.getDouble(i) * state.getDouble(i);
+        }
+        return sum;
+      }
+    });
+    problem.setFunction(functions);
+    return problem;
+  }
+
+  /** Hace que la ejecución actual saque sus números aleatorios de un flujo con la semilla dada. */
+  private static void useRandom(long seed) {
+    RandomGenerator generator = new SplittableRandom(seed);
+    SearchContext.current().setAttribute(RandomService.class, new RandomService() {
+      @Override
+      public RandomGenerator getGenerator() {
+        return generator;
+      }
+    });
+  }
+
+  @AfterEach
+  void restoreRandom() {
+    SearchContext.current().setAttribute(RandomService.class, new RandomService());
+  }
+
+  private static double sphere(double[] x) {
+    double sum = 0;
+    for (double value : x) {
+      sum += value * value;
+    }
+    return sum;
+  }
+
+  @Test
+  void runShouldMinimizeTheSphereInsideTheBounds() throws Exception {
+    SwarmEngine engine = new SwarmEngine(sphere(), 2, 10, 5);
+    engine.setBounds(-5, 5);
+    engine.setVelocityLimit(2);
+    useRandom(1);
+
+    State best = engine.run(300);
+
+    assertEquals(300, engine.getIteration());
+    assertEquals(5, best.size());
+    assertEquals(engine.getBestFitness(), best.getEvaluation().get(0));
+    assertEquals(sphere(((DoubleState) best).toDoubleArray()),
+        engine.getBestFitness(), 1e-12, "La evaluación guardada es la de la posición");
+    assertTrue(engine.getBestFitness() < 1e-3, "El enjambre debe acercarse al óptimo: " + engine.getBestFitness());
+    for (int p = 0; p < engine.getParticleCount(); p++) {
+      for (double value : engine.getPosition(p)) {
+        assertTrue(value >= -5 && value <= 5, "Las partículas no salen de los límites");
+      }
+      for (double value : engine.getVelocity(p)) {
+        assertTrue(Math.abs(value) <= 2, "Las velocidades respetan su límite");
+      }
+    }
+  }
+
+  @Test
+  void stepShouldApplyTheEquationsOfParticle() throws Exception {
+    SwarmEngine engine = new SwarmEngine(sphere(), 1, 2, 3);
+    engine.setBounds(-1, 1);
+    engine.setInertia(0.7, 0.7);
+    engine.setLearning(2.05, 2.05);
+    useRandom(4);
+    engine.initialize();
+    double[] x0 = engine.getPosition(0);
+    double[] x1 = engine.getPosition(1);
+    double[] local = (sphere(x0) <= sphere(x1)) ? x0 : x1;
+
+    // Misma secuencia: 6 números de la inicialización y luego dos por partícula
+    SplittableRandom random = new SplittableRandom(4);
+    for (int i = 0; i < 6; i++) {
+      random.nextDouble();
+    }
+    double chi = SwarmEngine.constriction(2.05, 2.05);
+    assertEquals(0.7298, chi, 1e-4);
+    double r1 = random.nextDouble();
+    double r2 = random.nextDouble();
+
+    engine.step();
+
+    double[] v = engine.getVelocity(0);
+    double[] x = engine.getPosition(0);
+    for (int d = 0; d < 3; d++) {
+      double expected = chi * (0.7 * 0 + 2.05 * r1 * (x0[d] - x0[d]) + 2.05 * r2 * (local[d] - x0[d]));
+      assertEquals(expected, v[d], 1e-12);
+      assertEquals(Math.max(-1, Math.min(1, x0[d] + expected)), x[d], 1e-12);
+    }
+  }
+
+  @Test
+  void parallelEvaluationShouldGiveTheSameRun() throws Exception {
+    SwarmEngine sequential = new SwarmEngine(sphere(), 3, 8, 20);
+    sequential.setBounds(-10, 10);
+    useRandom(9);
+    sequential.run(50);
+
+    Problem problem = sphere();
+    problem.setEvaluationParallelism(4);
+    try {
+      SwarmEngine parallel = new SwarmEngine(problem, 3, 8, 20);
+      parallel.setBounds(-10, 10);
+      useRandom(9);
+      parallel.run(50);
+
+      assertEquals(sequential.getBestFitness(), parallel.getBestFitness());
+      assertArrayEquals(sequential.getPosition(17), parallel.getPosition(17));
+    } finally {
+      problem.shutdownEvaluation();
+    }
+  }
+
+  @Test
+  void eachParticleShouldFollowTheBestOfItsNeighbourhood() throws Exception {
+    SwarmEngine engine = new SwarmEngine(sphere(), 1, 6, 1);
+    engine.setTopology(SwarmTopology.RING);
+    List<State> positions = new ArrayList<>();
+    for (double x : new double[] {5, 1, 4, 3, 6, 2}) {
+      positions.add(new DoubleState(new double[] {x}));
+    }
+
+    engine.initialize(positions);
+
+    // Anillo de radio 1: cada partícula ve a su izquierda, a sí misma y a su derecha
+    int[] expected = {1, 1, 1, 3, 5, 5};
+    for (int p = 0; p < 6; p++) {
+      assertEquals(expected[p], engine.getInformant(p), "Informante de la partícula " + p);
+    }
+    assertEquals(1, engine.getBestFitness());
+    assertEquals(36, engine.getParticleState(4).getEvaluation().get(0));
+  }
+
+  @Test
+  void initializeShouldKeepTheGivenEvaluations() throws Exception {
+    SwarmEngine engine = new SwarmEngine(sphere(), 1, 2, 1);
+    DoubleState first = new DoubleState(new double[] {3});
+    first.setEvaluation(List.of(-1.0));
+    DoubleState second = new DoubleState(new double[] {1});
+    second.setEvaluation(List.of(1.0));
+
+    engine.initialize(List.of(first, second));
+
+    assertEquals(-1, engine.getBestFitness(), "Se usan las evaluaciones recibidas");
+    assertEquals(0, engine.getInformant(1));
+    assertThrows(IllegalArgumentException.class, () -> engine.initialize(List.of(first)));
+  }
+
+  @Test
+  void parallelPassesShouldGiveTheSameRunForEveryTopology() throws Exception {
+    for (SwarmTopology topology : SwarmTopology.values()) {
+      SwarmEngine sequential = new SwarmEngine(sphere(), 4, 9, 10);
+      sequential.setBounds(-10, 10);
+      sequential.setTopology(topology);
+      useRandom(21);
+      sequential.run(40);
+
+      SwarmEngine parallel = new SwarmEngine(sphere(), 4, 9, 10);
+      parallel.setBounds(-10, 10);
+      parallel.setTopology(topology);
+      parallel.setParallel(true);
+      useRandom(21);
+      parallel.run(40);
+
+      assertEquals(sequential.getBestFitness(), parallel.getBestFitness(), "Topología " + topology);
+      for (int p = 0; p < sequential.getParticleCount(); p++) {
+        assertArrayEquals(sequential.getPosition(p), parallel.getPosition(p), "Topología " + topology);
+        assertEquals(sequential.getInformant(p), parallel.getInformant(p), "Topología " + topology);
+      }
+    }
+  }
+
+  @Test
+  void checkpointShouldResumeTheSameRun() throws Exception {
+    SwarmEngine engine = new SwarmEngine(sphere(), 2, 5, 4);
+    engine.setBounds(-3, 3);
+    engine.setLearning(2.05, 2.05);
+    engine.setTopology(SwarmTopology.RANDOM, 2);
+    engine.setIterations(20);
+    useRandom(3);
+    engine.initialize();
+    for (int i = 0; i < 5; i++) {
+      engine.step();
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+      engine.writeCheckpoint(out);
+    }
+    SwarmEngine resumed;
+    try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+      resumed = SwarmEngine.readCheckpoint(in, sphere());
+    }
+
+    assertEquals(engine.getIteration(), resumed.getIteration());
+    assertEquals(engine.getBestFitness(), resumed.getBestFitness());
+    assertEquals(SwarmTopology.RANDOM, resumed.getTopology());
+    useRandom(8);
+    for (int i = 0; i < 5; i++) {
+      engine.step();
+    }
+    useRandom(8);
+    for (int i = 0; i < 5; i++) {
+      resumed.step();
+    }
+    for (int p = 0; p < engine.getParticleCount(); p++) {
+      assertArrayEquals(engine.getPosition(p), resumed.getPosition(p));
+      assertArrayEquals(engine.getVelocity(p), resumed.getVelocity(p));
+    }
+  }
+
+  @Test
+  void invalidArgumentsShouldBeRejected() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> new SwarmEngine(null, 1, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new SwarmEngine(sphere(), 0, 1, 1));
+    SwarmEngine engine = new SwarmEngine(sphere(), 1, 1, 1);
+    assertThrows(IllegalArgumentException.class, () -> engine.setBounds(1, -1));
+    assertThrows(IllegalArgumentException.class, () -> engine.setVelocityLimit(0));
+    assertThrows(IllegalArgumentException.class, () -> engine.setTopology(null, 1));
+    assertThrows(IllegalArgumentException.class, () -> engine.setTopology(SwarmTopology.RING, 0));
+    assertThrows(IllegalStateException.class, engine::step);
+    assertNull(engine.getBestState());
+    assertTrue(Double.isNaN(engine.getBestFitness()));
+  }
+}
@@ -0,0 +1,60 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwarmTopologyTest {
+
+  @Test
+  void partitionedShouldJoinTheParticlesOfEachSwarm() {
+    int[][] neighbourhoods = SwarmTopology.PARTITIONED.neighbourhoods(6, 3, 1, null);
+
+    assertArrayEquals(new int[] {0, 1, 2}, neighbourhoods[1]);
+    assertArrayEquals(new int[] {3, 4, 5}, neighbourhoods[5]);
+  }
+
+  @Test
+  void ringShouldWrapAroundAndNotRepeatParticles() {
+    int[][] neighbourhoods = SwarmTopology.RING.neighbourhoods(8, 8, 2, null);
+
+    assertArrayEquals(new int[] {0, 1, 2, 6, 7}, neighbourhoods[0]);
+    assertArrayEquals(new int[] {2, 3, 4, 5, 6}, neighbourhoods[4]);
+    // Con dos partículas cada una ve a la otra una sola vez
+    assertArrayEquals(new int[] {0, 1}, SwarmTopology.RING.neighbourhoods(2, 2, 1, null)[0]);
+  }
+
+  @Test
+  void vonNeumannShouldUseTheMostSquareTorus() {
+    assertEquals(3, SwarmTopology.rows(12));
+    assertEquals(1, SwarmTopology.rows(7));
+
+    // Rejilla de 3 filas y 4 columnas
+    int[][] neighbourhoods = SwarmTopology.VON_NEUMANN.neighbourhoods(12, 12, 1, null);
+
+    assertArrayEquals(new int[] {0, 1, 3, 4, 8}, neighbourhoods[0]);
+    assertArrayEquals(new int[] {2, 5, 6, 7, 10}, neighbourhoods[6]);
+  }
+
+  @Test
+  void randomShouldIncludeEachParticleAndItsInformers() {
+    int particles = 20;
+    int links = 3;
+    int[][] neighbourhoods = SwarmTopology.RANDOM.neighbourhoods(particles, particles, links, new SplittableRandom(5));
+
+    int memberships = 0;
+    for (int p = 0; p < particles; p++) {
+      int[] members = neighbourhoods[p];
+      assertTrue(Arrays.binarySearch(members, p) >= 0, "Cada partícula se informa a sí misma");
+      for (int i = 1; i < members.length; i++) {
+        assertTrue(members[i - 1] < members[i], "Ordenados y sin repetir");
+      }
+      memberships += members.length - 1;
+    }
+    // Cada partícula informa a lo sumo a links otras
+    assertTrue(memberships <= particles * links);
+  }
+}
@@ -0,0 +1,102 @@
+package es.ull.esit.app.metaheuristics.generators;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceBufferTest {
+
+    @AfterEach
+    void restoreDefaults() {
+        TraceBuffer.setEnabled(true);
+        TraceBuffer.setSpillDirectory(null);
+    }
+
+    @Test
+    void emptyBufferShouldHaveNoValues() {
+        TraceBuffer buffer = new TraceBuffer();
+
+        assertEquals(0, buffer.size(), "Un buffer nuevo no debe tener valores");
+        assertEquals(0, buffer.toArray().length, "Un buffer nuevo debe devolver un array vacío");
+        assertEquals(0f, buffer.get(5), "Las iteraciones sin valor deben valer 0");
+    }
+
+    @Test
+    void setShouldGrowTheBufferUpToTheLastIteration() {
+        TraceBuffer buffer = new TraceBuffer(1000);
+
+        buffer.set(0, 50f);
+        buffer.set(100, 7f);
+
+        assertEquals(101, buffer.size(), "El tamaño debe llegar a la última iteración");
+        float[] values = buffer.toArray();
+        assertEquals(101, values.length, "El array debe cubrir todas las iteraciones");
+        assertEquals(50f, values[0], "Debe conservarse el primer valor");
+        assertEquals(0f, values[50], "Los huecos deben valer 0");
+        assertEquals(7f, buffer.get(100), "Debe conservarse el último valor");
+    }
+
+    @Test
+    void bufferWithoutSpillShouldDiscardTheOldestValues() {
+        TraceBuffer buffer = new TraceBuffer(4);
+
+        for (int i = 0; i < 10; i++) {
+            buffer.set(i, i);
+        }
+
+        assertEquals(10, buffer.size(), "El tamaño debe contar todas las iteraciones");
+        int first = buffer.getFirstIteration();
+        assertTrue(first > 0, "Debe haberse descartado el principio de la traza");
+        float[] values = buffer.toArray();
+        assertEquals(10 - first, values.length, "Solo deben devolverse los valores disponibles");
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(first + i, values[i], "Los valores disponibles deben conservarse");
+        }
+        assertEquals(0f, buffer.get(0), "Los valores descartados deben valer 0");
+    }
+
+    @Test
+    void bufferWithSpillDirectoryShouldKeepTheWholeTrace(@TempDir Path directory) throws Exception {
+        TraceBuffer.setSpillDirectory(directory);
+        TraceBuffer buffer = new TraceBuffer(4);
+
+        for (int i = 0; i < 25; i++) {
+            buffer.set(i, i * 2f);
+        }
+
+        assertEquals(0, buffer.getFirstIteration(), "No debe descartarse ningún valor");
+        float[] values = buffer.toArray();
+        assertEquals(25, values.length, "Debe devolverse la traza completa");
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i * 2f, values[i], "Los valores volcados deben recuperarse");
+        }
+        assertEquals(6f, buffer.get(3), "get debe leer los valores volcados");
+
+        buffer.clear();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count(), "clear debe borrar el fichero de volcado");
+        }
+    }
+
+    @Test
+    void disabledTracingShouldNotRecordAnything() {
+        TraceBuffer.setEnabled(false);
+        TraceBuffer buffer = new TraceBuffer();
+
+        buffer.set(0, 50f);
+
+        assertEquals(0, buffer.size(), "Con la traza desactivada no debe guardarse nada");
+    }
+
+    @Test
+    void invalidCapacityShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TraceBuffer(1));
+        assertThrows(IllegalArgumentException.class, () -> TraceBuffer.setDefaultCapacity(0));
+    }
+}
@@ -0,0 +1,71 @@
+package es.ull.esit.app.problem.definition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class BitStateTest {
+
+    @Test
+    void bitsShouldBeSeenAsIntegersThroughTheView() {
+        BitState s = new BitState(new boolean[] {true, false, true});
+
+        assertEquals(Arrays.asList(1, 0, 1), s.getCode());
+        assertEquals(2, s.cardinality());
+
+        s.getCode().set(1, 1);
+        s.flip(0);
+        assertFalse(s.getBit(0));
+        assertTrue(s.getBit(1));
+    }
+
+    @Test
+    void shouldHandleCodesLongerThanOneWord() {
+        BitState s = new BitState(130);
+        s.setBit(0, true);
+        s.setBit(64, true);
+        s.setBit(129, true);
+
+        assertEquals(3, s.cardinality());
+        assertTrue(s.getBit(64));
+        assertFalse(s.getBit(63));
+
+        BitState other = (BitState) s.getCopy();
+        other.setBit(129, false);
+        other.setBit(100, true);
+        assertEquals(2.0, s.distance(other), 0.0001,
+                "La distancia debe ser la de Hamming");
+        assertTrue(s.getBit(129), "getCopy no debe compartir las palabras");
+    }
+
+    @Test
+    void insertionsShouldShiftBits() {
+        BitState s = new BitState();
+        for (int i = 0; i < 70; i++) {
+            s.getCode().add(i % 2);
+        }
+        s.getCode().add(0, 1);
+
+        assertEquals(71, s.size());
+        assertTrue(s.getBit(0));
+        assertFalse(s.getBit(1));
+        assertTrue(s.getBit(2));
+
+        s.getCode().remove(0);
+        assertEquals(70, s.size());
+        assertFalse(s.getBit(0));
+        assertTrue(s.getBit(69));
+    }
+
+    @Test
+    void comparatorShouldAcceptGenericStates() {
+        BitState s = new BitState(new boolean[] {true, true});
+        State generic = new State(new ArrayList<>(Arrays.asList(1, 1)));
+
+        assertTrue(s.comparator(generic));
+        assertTrue(s.comparator(s.copy()));
+    }
+}
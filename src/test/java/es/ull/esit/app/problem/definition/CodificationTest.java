@@ -2,6 +2,8 @@ package es.ull.esit.app.problem.definition;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
 class CodificationTest {
@@ -55,4 +57,16 @@ class CodificationTest {
 
         assertFalse(cod.validState(null), "validState debe devolver false para estado null");
     }
+
+    @Test
+    void newStateShouldBeFilledWithRandomValues() {
+        DummyCodification cod = new DummyCodification(3, 0);
+
+        State s = cod.newState(3);
+        assertEquals(3, s.size(), "El estado debe tener una posición por variable");
+        for (int i = 0; i < s.size(); i++) {
+            cod.setRandomValue(s, i);
+        }
+        assertEquals(Arrays.asList(0, 1, 2), s.getCode());
+    }
 }
@@ -0,0 +1,61 @@
+package es.ull.esit.app.problem.definition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleStateTest {
+
+    @Test
+    void typedAccessorsShouldReadAndWriteTheArray() {
+        DoubleState s = new DoubleState(3);
+
+        s.setDouble(0, 1.5);
+        s.setValue(1, 2);
+        s.getCode().set(2, -0.5);
+
+        assertArrayEquals(new double[] {1.5, 2.0, -0.5}, s.toDoubleArray(), 0.0);
+        assertEquals(1, s.getInt(0), "getInt debe truncar el valor");
+        assertEquals(Arrays.asList(1.5, 2.0, -0.5), s.getCode());
+    }
+
+    @Test
+    void getCopyShouldNotShareTheArray() {
+        DoubleState s = new DoubleState(new double[] {0.1, 0.2});
+
+        DoubleState copy = (DoubleState) s.getCopy();
+        copy.setDouble(1, 5.0);
+
+        assertEquals(0.2, s.getDouble(1), 0.0);
+        assertEquals(1.0, s.distance(copy), 0.0001);
+        assertFalse(s.comparator(copy));
+    }
+
+    @Test
+    void outOfRangeAccessShouldFail() {
+        DoubleState s = new DoubleState(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> s.getDouble(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> s.getCode().get(-1));
+    }
+
+    @Test
+    void setValuesShouldCopyARangeAndUpdateTheFingerprint() {
+        DoubleState s = new DoubleState(new double[] {9, 9, 9});
+        long before = s.fingerprint();
+        double[] source = {1, 2, 3, 4, 5};
+
+        s.setValues(source, 1, 2);
+        assertEquals(2, s.size());
+        assertEquals(List.of(2.0, 3.0), s.getCode());
+        assertEquals(new DoubleState(new double[] {2, 3}).fingerprint(), s.fingerprint());
+        assertNotEquals(before, s.fingerprint());
+
+        source[1] = 7;
+        assertEquals(2.0, s.getDouble(0), "El estado no debe compartir el array de origen");
+        s.setValues(source, 0, 5);
+        assertArrayEquals(new double[] {1, 7, 3, 4, 5}, s.toDoubleArray());
+    }
+}
@@ -0,0 +1,54 @@
+package es.ull.esit.app.problem.definition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EvaluationCacheTest {
+
+    @Test
+    void getShouldFindStatesWithTheSameCode() {
+        EvaluationCache cache = new EvaluationCache(10);
+        State evaluated = new IntState(new int[] {1, 2, 3});
+        cache.put(evaluated, List.of(6.0));
+
+        assertEquals(List.of(6.0), cache.get(new IntState(new int[] {1, 2, 3})),
+                "Un estado con el mismo código debe encontrar la evaluación");
+        assertNull(cache.get(new IntState(new int[] {3, 2, 1})), "Otro código no debe encontrarla");
+        assertEquals(1, cache.getHits(), "Debe contarse un acierto");
+        assertEquals(1, cache.getMisses(), "Debe contarse un fallo");
+        assertEquals(0.5, cache.getHitRate(), 0.0001, "La tasa de aciertos debe ser 0.5");
+    }
+
+    @Test
+    void cacheShouldKeepACopyOfTheCode() {
+        EvaluationCache cache = new EvaluationCache(10);
+        State evaluated = new State(new ArrayList<>(List.of(1, 2)));
+        cache.put(evaluated, List.of(3.0));
+
+        evaluated.getCode().set(0, 5);
+
+        assertNull(cache.get(evaluated), "Cambiar el estado después no debe afectar a la caché");
+        assertEquals(List.of(3.0), cache.get(new State(new ArrayList<>(List.of(1, 2)))),
+                "El código original debe seguir en la caché");
+    }
+
+    @Test
+    void fullCacheShouldEvictTheLeastRecentlyUsedEvaluation() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.put(new IntState(new int[] {1}), List.of(1.0));
+        cache.put(new IntState(new int[] {2}), List.of(2.0));
+        cache.get(new IntState(new int[] {1}));
+
+        cache.put(new IntState(new int[] {3}), List.of(3.0));
+
+        assertEquals(2, cache.size(), "La caché no debe superar su capacidad");
+        assertEquals(1, cache.getEvictions(), "Debe contarse un descarte");
+        assertNull(cache.get(new IntState(new int[] {2})), "Debe descartarse el menos usado");
+        assertNotNull(cache.get(new IntState(new int[] {1})), "El usado recientemente debe seguir");
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(0));
+    }
+}
@@ -0,0 +1,102 @@
+package es.ull.esit.app.problem.definition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import es.ull.esit.app.metaheuristics.generators.GeneratorType;
+
+class IntStateTest {
+
+    @Test
+    void codeViewShouldReflectPrimitiveValues() {
+        IntState s = new IntState(new int[] {3, 1, 2});
+
+        assertEquals(3, s.size());
+        assertEquals(Arrays.asList(3, 1, 2), s.getCode(),
+                "La vista de código debe contener los valores del array");
+
+        s.getCode().set(1, 7);
+        assertEquals(7, s.getInt(1), "Escribir en la vista debe modificar el array");
+
+        s.setInt(2, 9);
+        assertEquals(9, s.getCode().get(2), "La vista debe ser en vivo");
+    }
+
+    @Test
+    void codeViewShouldSupportInsertionsAndRemovals() {
+        IntState s = new IntState();
+        s.getCode().add(1);
+        s.getCode().add(2);
+        s.getCode().add(0, 5);
+
+        assertEquals(Arrays.asList(5, 1, 2), s.getCode());
+
+        s.getCode().add(0, s.getCode().remove(2));
+        assertEquals(Arrays.asList(2, 5, 1), s.getCode());
+    }
+
+    @Test
+    void setCodeShouldCopyValues() {
+        IntState s = new IntState();
+        List<Object> code = new ArrayList<>(Arrays.asList(4, 5.9));
+        s.setCode(code);
+
+        code.set(0, 100);
+        assertArrayEquals(new int[] {4, 5}, s.toIntArray());
+    }
+
+    @Test
+    void copiesShouldNotShareTheArray() {
+        IntState s = new IntState(new int[] {1, 2, 3});
+        s.setNumber(4);
+        s.setTypeGenerator(GeneratorType.HillClimbing);
+        s.setEvaluation(Arrays.asList(10.0));
+
+        IntState neighbour = (IntState) s.getCopy();
+        neighbour.setInt(0, 9);
+        assertEquals(1, s.getInt(0), "getCopy no debe compartir el código");
+
+        State copy = s.copy();
+        assertTrue(copy instanceof IntState);
+        assertEquals(4, copy.getNumber());
+        assertEquals(GeneratorType.HillClimbing, copy.getTypeGenerator());
+        assertEquals(Arrays.asList(10.0), copy.getEvaluation());
+        assertTrue(s.comparator(copy));
+    }
+
+    @Test
+    void comparatorAndDistanceShouldWorkWithTypedAndGenericStates() {
+        IntState a = new IntState(new int[] {1, 2, 3});
+        IntState b = new IntState(new int[] {1, 0, 0});
+        State generic = new State(new ArrayList<>(Arrays.asList(1, 2, 3)));
+
+        assertFalse(a.comparator(b));
+        assertTrue(a.comparator(generic));
+        assertTrue(generic.comparator(a));
+        assertEquals(2.0, a.distance(b), 0.0001);
+        assertEquals(0.0, a.distance(generic), 0.0001);
+    }
+
+    @Test
+    void copyValuesShouldCopyTheRangeFromAnyState() {
+        IntState s = new IntState(new int[] {1, 2, 3, 4});
+        long before = s.fingerprint();
+
+        s.copyValues(new IntState(new int[] {9, 8, 7, 6}), 1, 3);
+        assertArrayEquals(new int[] {1, 8, 7, 4}, s.toIntArray());
+        assertEquals(new IntState(new int[] {1, 8, 7, 4}).fingerprint(), s.fingerprint(),
+                "La huella debe recalcularse tras copiar");
+        assertNotEquals(before, s.fingerprint());
+
+        s.copyValues(new State(new ArrayList<>(Arrays.asList(5, 5, 5, 5))), 0, 1);
+        assertArrayEquals(new int[] {5, 8, 7, 4}, s.toIntArray());
+
+        s.copyValues(new IntState(new int[] {0, 0, 0, 0}), 2, 2);
+        assertArrayEquals(new int[] {5, 8, 7, 4}, s.toIntArray(), "Un rango vacío no copia nada");
+    }
+}
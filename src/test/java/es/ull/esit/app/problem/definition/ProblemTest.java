@@ -5,10 +5,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
 import es.ull.esit.app.problem.definition.Problem.ProblemType;
+import es.ull.esit.app.problem.extension.SolutionMethod;
+import es.ull.esit.app.problem.extension.TypeSolutionMethod;
 
 class ProblemTest {
 
@@ -20,6 +24,26 @@ class ProblemTest {
         }
     }
 
+    /** Función separable (suma del código) con evaluación incremental; cuenta las evaluaciones completas. */
+    static class SumObjetiveFunction extends ObjetiveFunction implements DeltaObjetiveFunction {
+        int fullEvaluations;
+
+        @Override
+        public Double evaluation(State state) {
+            fullEvaluations++;
+            double sum = 0;
+            for (int i = 0; i < state.size(); i++) {
+                sum += state.getInt(i);
+            }
+            return sum;
+        }
+
+        @Override
+        public Double deltaEvaluation(State state, double parentValue, Move move) {
+            return parentValue - ((Integer) move.getOldValue()) + ((Integer) move.getNewValue());
+        }
+    }
+
     /** Codification dummy para setters/getters. */
     static class DummyCodification extends Codification {
         @Override
@@ -122,4 +146,161 @@ class ProblemTest {
         assertEquals(2.0, s.getEvaluation().get(0), 0.0001,
                 "La evaluación debe coincidir con la de la función objetivo");
     }
+
+    @Test
+    void evaluateShouldUseTheDeltaEvaluationWhenTheStateCarriesAMove() throws Exception {
+        Problem p = new Problem();
+        SumObjetiveFunction sum = new SumObjetiveFunction();
+        p.setFunction(List.of(sum));
+
+        State parent = new IntState(new int[] {1, 2, 3});
+        p.evaluate(parent);
+        State neighbour = (State) parent.getCopy();
+        Object previous = neighbour.getCode().set(1, 10);
+        neighbour.setMove(new Move(1, previous, 10, parent.getEvaluation()));
+
+        p.evaluate(neighbour);
+
+        assertEquals(14.0, neighbour.getEvaluation().get(0), 0.0001, "La evaluación incremental debe ser correcta");
+        assertEquals(1, sum.fullEvaluations, "El vecino no debe evaluarse completo");
+        assertNull(neighbour.getMove(), "El movimiento debe consumirse al evaluar");
+    }
+
+    @Test
+    void evaluateShouldFallBackToTheFullEvaluationWhenTheMoveIsStale() throws Exception {
+        Problem p = new Problem();
+        SumObjetiveFunction sum = new SumObjetiveFunction();
+        p.setFunction(List.of(sum));
+
+        State state = new IntState(new int[] {1, 2, 3});
+        state.setMove(new Move(1, 2, 10, List.of(6.0)));
+
+        p.evaluate(state);
+
+        assertEquals(6.0, state.getEvaluation().get(0), 0.0001, "Si el valor no coincide debe evaluarse completo");
+        assertEquals(1, sum.fullEvaluations, "Debe haberse usado la evaluación completa");
+    }
+
+    @Test
+    void evaluateShouldReuseCachedEvaluations() throws Exception {
+        Problem p = new Problem();
+        SumObjetiveFunction sum = new SumObjetiveFunction();
+        p.setFunction(List.of(sum));
+        p.setEvaluationCacheSize(100);
+
+        State first = new IntState(new int[] {1, 2, 3});
+        State revisited = new IntState(new int[] {1, 2, 3});
+        p.evaluate(first);
+        p.evaluate(revisited);
+
+        assertEquals(6.0, revisited.getEvaluation().get(0), 0.0001, "Debe recibir la evaluación en caché");
+        assertEquals(1, sum.fullEvaluations, "El estado repetido no debe evaluarse de nuevo");
+        assertEquals(1, p.getEvaluationCache().getHits(), "Debe contarse el acierto");
+
+        p.setEvaluationCacheSize(0);
+        assertNull(p.getEvaluationCache(), "Con tamaño 0 la caché debe desactivarse");
+    }
+
+    @Test
+    void evaluateAllShouldEvaluateEveryStateInParallel() throws Exception {
+        Problem p = new Problem();
+        List<ObjetiveFunction> functions = new ArrayList<>();
+        functions.add(new LengthObjetiveFunction());
+        p.setFunction(functions);
+
+        List<State> states = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            State s = new State();
+            for (int j = 0; j < i; j++) {
+                s.getCode().add(j);
+            }
+            states.add(s);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            p.setEvaluationExecutor(pool);
+            p.evaluateAll(states);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < states.size(); i++) {
+            assertEquals(List.of((double) i), states.get(i).getEvaluation(),
+                    "Cada estado debe recibir su propia evaluación");
+        }
+    }
+
+    @Test
+    void evaluateAllShouldRethrowTheFirstFailure() {
+        Problem p = new Problem();
+        List<ObjetiveFunction> functions = new ArrayList<>();
+        functions.add(new ObjetiveFunction() {
+            @Override
+            public Double evaluation(State state) {
+                throw new IllegalArgumentException("estado " + state.getNumber());
+            }
+        });
+        p.setFunction(functions);
+        p.setEvaluationParallelism(2);
+
+        List<State> states = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            State s = new State();
+            s.setNumber(i);
+            states.add(s);
+        }
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> p.evaluateAll(states));
+        assertEquals("estado 0", e.getMessage(),
+                "Debe propagarse la excepción del primer estado de la lista");
+        p.shutdownEvaluation();
+    }
+
+    @Test
+    void setEvaluationParallelismShouldShutDownThePoolItReplaces() {
+        Problem p = new Problem();
+        p.setEvaluationParallelism(2);
+        ExecutorService first = p.getEvaluationExecutor();
+
+        p.setEvaluationParallelism(3);
+        ExecutorService second = p.getEvaluationExecutor();
+        assertTrue(first.isShutdown(), "El pool reemplazado debe cerrarse");
+        assertFalse(second.isShutdown());
+
+        p.setEvaluationParallelism(1);
+        assertTrue(second.isShutdown(), "Volver a secuencial debe cerrar el pool");
+        assertNull(p.getEvaluationExecutor());
+    }
+
+    @Test
+    void shutdownEvaluationShouldOnlyShutDownThePoolOfTheProblem() {
+        Problem p = new Problem();
+        p.setEvaluationParallelism(2);
+        ExecutorService owned = p.getEvaluationExecutor();
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            p.setEvaluationExecutor(pool);
+            assertTrue(owned.isShutdown(), "El pool creado por el problema debe cerrarse");
+
+            p.shutdownEvaluation();
+            assertNull(p.getEvaluationExecutor());
+            assertFalse(pool.isShutdown(), "El ejecutor del llamante no debe cerrarse");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void newSolutionMethodShouldReuseRegisteredMethodWithoutTouchingTheFactory() throws Exception {
+        Problem p = new Problem();
+
+        SolutionMethod first = p.newSolutionMethod(TypeSolutionMethod.FactoresPonderados);
+        SolutionMethod second = p.newSolutionMethod(TypeSolutionMethod.FactoresPonderados);
+
+        assertSame(first, second, "El método registrado debe compartirse entre evaluaciones");
+        assertNull(p.getFactorySolutionMethod(), "Evaluar no debe reasignar la factoría del problema");
+    }
 }
@@ -82,6 +82,7 @@ class StateTest {
         State copy = (State) o;
 
         assertEquals(s.getCode(), copy.getCode());
+        assertNotSame(s.getCode(), copy.getCode(), "La copia no debe compartir la lista de código");
     }
 
     @Test
@@ -120,4 +121,22 @@ class StateTest {
         assertEquals(2.0, dist, 0.0001,
                 "La distancia debe contar las posiciones distintas");
     }
+
+    @Test
+    void typedAccessorsShouldConvertGenericCode() {
+        State s = new State();
+        s.getCode().add(2.7);
+        s.getCode().add(Boolean.TRUE);
+        s.getCode().add(0);
+
+        assertEquals(3, s.size());
+        assertEquals(2, s.getInt(0), "getInt debe truncar los números");
+        assertEquals(1.0, s.getDouble(1), 0.0, "Los booleanos se tratan como 1 o 0");
+        assertFalse(s.getBit(2));
+
+        s.setBit(2, true);
+        s.setDouble(0, 0.5);
+        assertEquals(1, s.getValue(2), "Los bits se guardan como enteros");
+        assertEquals(0.5, s.getCode().get(0));
+    }
 }
@@ -0,0 +1,93 @@
+package es.ull.esit.app.problem.extension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HipervolumenTest {
+
+    // Hipervolumen por fuerza bruta en una rejilla entera: cuenta las celdas unitarias dominadas
+    private double bruteForce(double[][] front, int size) {
+        int m = front[0].length;
+        int cells = (int) Math.pow(size, m);
+        int count = 0;
+        for (int c = 0; c < cells; c++) {
+            int[] cell = new int[m];
+            int rest = c;
+            for (int k = 0; k < m; k++) {
+                cell[k] = rest % size;
+                rest /= size;
+            }
+            for (double[] p : front) {
+                boolean dominates = true;
+                for (int k = 0; k < m && dominates; k++) {
+                    dominates = p[k] <= cell[k];
+                }
+                if (dominates) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void twoObjectivesShouldMatchTheStaircaseArea() {
+        double[][] front = {{1, 3}, {2, 2}, {3, 1}, {2.5, 2.5}};
+        // (4-1)*(4-3) + (4-2)*(3-2) + (4-3)*(2-1) = 3 + 2 + 1
+        assertEquals(6.0, Hipervolumen.exacto(front, new double[] {4, 4}), 1e-12);
+    }
+
+    @Test
+    void pointsOutsideTheReferenceShouldAddNothing() {
+        double[][] front = {{5, 0}, {0, 5}, {4, 4}};
+        assertEquals(0.0, Hipervolumen.exacto(front, new double[] {4, 4}), 1e-12);
+        assertEquals(0.0, Hipervolumen.exacto(new double[0][], new double[] {4, 4}), 1e-12);
+    }
+
+    @Test
+    void exactShouldMatchBruteForceUpToFiveObjectives() {
+        Random random = new Random(7);
+        for (int m = 1; m <= 5; m++) {
+            int size = (m <= 3) ? 8 : 5;
+            double[] reference = new double[m];
+            java.util.Arrays.fill(reference, size);
+            double[][] front = new double[12][m];
+            for (double[] p : front) {
+                for (int k = 0; k < m; k++) {
+                    p[k] = random.nextInt(size);
+                }
+            }
+            assertEquals(bruteForce(front, size), Hipervolumen.exacto(front, reference), 1e-9, "m = " + m);
+        }
+    }
+
+    @Test
+    void monteCarloShouldApproximateTheExactValue() {
+        Random random = new Random(3);
+        double[][] front = new double[20][6];
+        for (double[] p : front) {
+            for (int k = 0; k < 6; k++) {
+                p[k] = random.nextDouble();
+            }
+        }
+        double[] reference = {1.5, 1.5, 1.5, 1.5, 1.5, 1.5};
+        double exact = Hipervolumen.exacto(front, reference);
+        double estimate = Hipervolumen.calcular(front, reference);
+
+        assertEquals(exact, estimate, exact * 0.02);
+        assertEquals(estimate, Hipervolumen.montecarlo(front, reference,
+                Hipervolumen.MUESTRAS_POR_DEFECTO, Hipervolumen.SEMILLA_POR_DEFECTO), 0.0);
+    }
+
+    @Test
+    void mismatchedDimensionsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Hipervolumen.exacto(new double[][] {{1, 2, 3}}, new double[] {4, 4}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Hipervolumen.montecarlo(new double[][] {{1, 2}}, new double[] {4, 4}, 0, 1L));
+    }
+}
@@ -9,6 +9,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import es.ull.esit.app.problem.definition.Problem.ProblemType;
 import es.ull.esit.app.problem.definition.State;
 import jxl.read.biff.BiffException;
 
@@ -86,4 +87,58 @@ class MetricasMultiobjetivoTest {
         assertEquals(5.0, max, 1e-6);
         assertEquals((1.0 + 5.0 - 2.0) / 3.0, media, 1e-6);
     }
+
+    @Test
+    void calcularHipervolumenShouldFollowTheProblemType() {
+        MetricasMultiobjetivo m = new MetricasMultiobjetivo();
+
+        List<State> minimize = Arrays.asList(createState(1.0, 3.0), createState(3.0, 1.0));
+        assertEquals(5.0, m.calcularHipervolumen(minimize, new double[] {4.0, 4.0}, ProblemType.MINIMIZAR), 1e-12);
+
+        // En maximización el punto de referencia queda por debajo del frente
+        List<State> maximize = Arrays.asList(createState(3.0, 1.0), createState(1.0, 3.0));
+        assertEquals(5.0, m.calcularHipervolumen(maximize, new double[] {0.0, 0.0}, ProblemType.MAXIMIZAR), 1e-12);
+    }
+
+    @Test
+    void igdAndIgdPlusShouldMeasureTheDistanceToTheTrueFront() {
+        MetricasMultiobjetivo m = new MetricasMultiobjetivo();
+
+        List<State> trueFront = Arrays.asList(createState(0.0, 1.0), createState(1.0, 0.0));
+        List<State> currentFront = Arrays.asList(createState(1.0, 1.0));
+
+        assertEquals(1.0, m.calcularIGD(currentFront, trueFront), 1e-12);
+        assertEquals(1.0, m.calcularIGDPlus(currentFront, trueFront, ProblemType.MINIMIZAR), 1e-12);
+
+        // Un frente que domina al verdadero no está a ninguna distancia en IGD+
+        List<State> better = Arrays.asList(createState(-1.0, -1.0));
+        assertEquals(0.0, m.calcularIGDPlus(better, trueFront, ProblemType.MINIMIZAR), 1e-12);
+        assertTrue(m.calcularIGD(better, trueFront) > 0);
+    }
+
+    @Test
+    void calcularEpsilonShouldBeTheShiftNeededToDominate() {
+        MetricasMultiobjetivo m = new MetricasMultiobjetivo();
+
+        List<State> trueFront = Arrays.asList(createState(0.0, 2.0), createState(2.0, 0.0));
+        List<State> currentFront = Arrays.asList(createState(0.5, 2.5), createState(2.25, 0.0));
+
+        assertEquals(0.5, m.calcularEpsilon(currentFront, trueFront, ProblemType.MINIMIZAR), 1e-12);
+        assertEquals(0.0, m.calcularEpsilon(trueFront, trueFront, ProblemType.MINIMIZAR), 1e-12);
+    }
+
+    @Test
+    void evaluarFrentesShouldKeepTheOrderOfTheFronts() {
+        List<double[][]> fronts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            fronts.add(new double[][] {{i, i}});
+        }
+        double[] reference = {100.0, 100.0};
+
+        double[] values = MetricasMultiobjetivo.evaluarFrentes(fronts, f -> Hipervolumen.calcular(f, reference));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals((100.0 - i) * (100.0 - i), values[i], 1e-9);
+        }
+    }
 }
@@ -11,6 +11,7 @@ import org.mockito.Mockito;
 
 import es.ull.esit.app.metaheurictics.strategy.Strategy;
 import es.ull.esit.app.problem.definition.Codification;
+import es.ull.esit.app.problem.definition.IntState;
 import es.ull.esit.app.problem.definition.Operator;
 import es.ull.esit.app.problem.definition.Problem;
 import es.ull.esit.app.problem.definition.State;
@@ -38,6 +39,8 @@ class MutationOperatorTest {
             staticStrategy.when(Strategy::getStrategy).thenReturn(strategyMock);
             when(strategyMock.getProblem()).thenReturn(problemMock);
             when(problemMock.getCodification()).thenReturn(codificationMock);
+            when(codificationMock.newState(anyInt())).thenCallRealMethod();
+            doCallRealMethod().when(codificationMock).setRandomValue(any(), anyInt());
         }
 
         @Override
@@ -77,18 +80,21 @@ class MutationOperatorTest {
                 // Longitud del código igual
                 assertEquals(current.getCode().size(), n.getCode().size());
 
-                // Posiciones 0 y 2 eran 0 y 2 inicialmente (aunque podrían haberse
-                // visto afectadas por compartir la lista; no lo aseguramos aquí)
+                // Posiciones 0 y 2 no cambian
                 assertEquals(0, n.getCode().get(0));
                 assertEquals(2, n.getCode().get(2));
 
                 // Posición 1 mutada al valor devuelto por la codificación
                 assertEquals(99, n.getCode().get(1));
+
+                // El vecino conoce el movimiento que lo generó
+                assertEquals(1, n.getMove().getIndex(), "El movimiento debe indicar la posición mutada");
+                assertEquals(1, n.getMove().getOldValue(), "El movimiento debe guardar el valor anterior");
+                assertEquals(99, n.getMove().getNewValue(), "El movimiento debe guardar el valor nuevo");
             }
 
-            // ⚠ NO comprobamos que el original permanezca intacto, porque
-            // State.getCopy() reutiliza la misma lista de código y mutar el
-            // vecino también altera el original.
+            // El original permanece intacto
+            assertEquals(List.of(0, 1, 2), current.getCode(), "El estado original no debe modificarse");
         }
     }
 
@@ -132,4 +138,27 @@ class MutationOperatorTest {
         MutationOperator op = new MutationOperator();
         assertTrue(op instanceof Operator, "MutationOperator debe extender Operator");
     }
+
+    @Test
+    void generatedStatesShouldKeepThePrimitiveStateOfTheCodification() {
+        MutationOperator op = new MutationOperator();
+
+        try (StrategyContext ctx = new StrategyContext()) {
+            when(ctx.codificationMock.getVariableCount()).thenReturn(3);
+            when(ctx.codificationMock.newState(3)).thenReturn(new IntState(3));
+            when(ctx.codificationMock.getAleatoryKey()).thenReturn(2);
+            when(ctx.codificationMock.getVariableAleatoryValue(anyInt())).thenReturn(4);
+
+            State random = op.generateRandomState(1).get(0);
+            assertInstanceOf(IntState.class, random, "El estado aleatorio debe ser el de la codificación");
+            assertArrayEquals(new int[] {4, 4, 4}, ((IntState) random).toIntArray());
+
+            random.setInt(2, 1);
+            State neighbour = op.generatedNewState(random, 1).get(0);
+            assertInstanceOf(IntState.class, neighbour, "El vecino debe conservar la representación primitiva");
+            assertArrayEquals(new int[] {4, 4, 4}, ((IntState) neighbour).toIntArray());
+            assertEquals(1, neighbour.getMove().getOldValue());
+            assertArrayEquals(new int[] {4, 4, 1}, ((IntState) random).toIntArray(), "El estado actual no debe modificarse");
+        }
+    }
 }